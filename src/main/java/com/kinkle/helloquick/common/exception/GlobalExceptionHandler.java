@@ -30,6 +30,7 @@ public class GlobalExceptionHandler {
 
     /**
      * 处理业务异常
+     * 依赖的服务未启用时返回503，其余业务异常返回400
      *
      * @param e 业务异常
      * @return 统一响应格式
@@ -37,7 +38,9 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(BusinessException.class)
     public ResponseEntity<Result<Void>> handleBusinessException(BusinessException e) {
         log.warn("业务异常: {}", e.getMessage());
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+        HttpStatus status = e.getResultCode() == ResultCode.SERVICE_UNAVAILABLE
+                ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.BAD_REQUEST;
+        return ResponseEntity.status(status)
                 .body(Result.failure(e.getResultCode(), e.getMessage()));
     }
 
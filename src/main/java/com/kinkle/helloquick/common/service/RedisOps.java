@@ -0,0 +1,226 @@
+package com.kinkle.helloquick.common.service;
+
+import org.springframework.data.redis.core.RedisOperations;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis管道命令集
+ *
+ * <p>由 {@link RedisService#pipeline(java.util.function.Consumer)} 传给调用方，在管道内排队命令。
+ * 每个有返回值的命令返回一个 {@link Response}，管道执行完成后才能读取结果；
+ * 管道执行前或执行失败时读取会抛出 {@link IllegalStateException}。</p>
+ *
+ * <p>HMSET的状态回复（OK）不会出现在管道结果中，{@link #hmset(String, Map)} 因此没有返回值。</p>
+ *
+ * @author Hello Quick Team
+ * @version 0.0.1-SNAPSHOT
+ */
+public class RedisOps {
+
+    private final RedisOperations<String, Object> operations;
+
+    private final List<Response<?>> responses = new ArrayList<>();
+
+    RedisOps(RedisOperations<String, Object> operations) {
+        this.operations = operations;
+    }
+
+    /**
+     * 获取缓存
+     *
+     * @param key 键
+     * @return 值
+     */
+    public Response<Object> get(String key) {
+        operations.opsForValue().get(key);
+        return track(new Response<>());
+    }
+
+    /**
+     * 放入缓存
+     *
+     * @param key   键
+     * @param value 值
+     * @param time  时间(秒)，小于等于0表示不过期
+     * @return 是否成功
+     */
+    public Response<Boolean> set(String key, Object value, long time) {
+        if (time > 0) {
+            operations.opsForValue().set(key, value, time, TimeUnit.SECONDS);
+        } else {
+            operations.opsForValue().set(key, value);
+        }
+        return track(new Response<>());
+    }
+
+    /**
+     * 指定缓存失效时间
+     *
+     * @param key  键
+     * @param time 时间(秒)
+     * @return 键存在并设置成功时为true
+     */
+    public Response<Boolean> expire(String key, long time) {
+        operations.expire(key, time, TimeUnit.SECONDS);
+        return track(new Response<>());
+    }
+
+    /**
+     * 判断key是否存在
+     *
+     * @param key 键
+     * @return 是否存在
+     */
+    public Response<Boolean> hasKey(String key) {
+        operations.hasKey(key);
+        return track(new Response<>());
+    }
+
+    /**
+     * 删除缓存
+     *
+     * @param key 键
+     * @return 删除的key数量
+     */
+    public Response<Long> del(String key) {
+        operations.delete(List.of(key));
+        return track(new Response<>());
+    }
+
+    /**
+     * 递增
+     *
+     * @param key   键
+     * @param delta 增量，可为负数
+     * @return 递增后的值
+     */
+    public Response<Long> incr(String key, long delta) {
+        operations.opsForValue().increment(key, delta);
+        return track(new Response<>());
+    }
+
+    /**
+     * HashGet
+     *
+     * @param key  键
+     * @param item 项
+     * @return 值
+     */
+    public Response<Object> hget(String key, String item) {
+        operations.opsForHash().get(key, item);
+        return track(new Response<>());
+    }
+
+    /**
+     * 获取hashKey对应的所有键值
+     *
+     * @param key 键
+     * @return 对应的多个键值，key不存在时为空表
+     */
+    public Response<Map<String, Object>> hmget(String key) {
+        operations.opsForHash().entries(key);
+        return track(new Response<>());
+    }
+
+    /**
+     * 向一张hash表中放入数据,如果不存在将创建
+     *
+     * @param key   键
+     * @param item  项
+     * @param value 值
+     * @return 新建项时为true，覆盖已有项时为false
+     */
+    public Response<Boolean> hset(String key, String item, Object value) {
+        operations.opsForHash().put(key, item, value);
+        return track(new Response<>());
+    }
+
+    /**
+     * HashSet，状态回复不进入管道结果，没有返回值
+     *
+     * @param key 键
+     * @param map 对应多个键值
+     */
+    public void hmset(String key, Map<String, Object> map) {
+        operations.opsForHash().putAll(key, map);
+    }
+
+    /**
+     * 已排队的有返回值命令数
+     *
+     * @return 命令数
+     */
+    public int size() {
+        return responses.size();
+    }
+
+    /**
+     * 按排队顺序把管道结果写入各命令的返回值
+     *
+     * @param results 管道结果
+     * @throws IllegalStateException 结果数与命令数不一致
+     */
+    void complete(List<Object> results) {
+        if (results.size() != responses.size()) {
+            throw new IllegalStateException("Pipeline returned " + results.size()
+                + " results for " + responses.size() + " commands");
+        }
+        for (int i = 0; i < results.size(); i++) {
+            responses.get(i).complete(results.get(i));
+        }
+    }
+
+    private <T> Response<T> track(Response<T> response) {
+        responses.add(response);
+        return response;
+    }
+
+    /**
+     * 管道命令的返回值
+     *
+     * @param <T> 结果类型
+     */
+    public static final class Response<T> {
+
+        private Object value;
+
+        private boolean done;
+
+        private Response() {
+        }
+
+        /**
+         * 获取结果
+         *
+         * @return 结果，命令返回空值时为null
+         * @throws IllegalStateException 管道尚未执行或执行失败
+         */
+        @SuppressWarnings("unchecked")
+        public T get() {
+            if (!done) {
+                throw new IllegalStateException("Pipeline has not been executed");
+            }
+            return (T) value;
+        }
+
+        /**
+         * 管道是否已执行完成
+         *
+         * @return 是否完成
+         */
+        public boolean isDone() {
+            return done;
+        }
+
+        private void complete(Object result) {
+            // 空哈希表在管道结果中可能是未反序列化的原始空表
+            this.value = result instanceof Map<?, ?> map && map.isEmpty() ? Collections.emptyMap() : result;
+            this.done = true;
+        }
+    }
+}
@@ -2,23 +2,36 @@ package com.kinkle.helloquick.common.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.data.redis.core.HashOperations;
 import org.springframework.data.redis.core.SetOperations;
 import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
  * Redis服务类 - 基于Spring Boot最佳实践重构
  * 封装常用的Redis操作，提供类型安全和更好的错误处理
+ * <p>
+ * mget使用MGET；mset（带时间）、batchExpire、multiHget和 {@link #pipeline(Consumer)} 把全部命令
+ * 经 {@code executePipelined} 一次发出。两种方式整批都只有一次网络往返。
+ * </p>
  * 
  * @author Hello Quick Team
  * @version 0.0.1-SNAPSHOT
@@ -28,6 +41,13 @@ import java.util.function.Supplier;
 @RequiredArgsConstructor
 public class RedisService {
 
+    /**
+     * 值等于期望值时替换并设置时间，比较和写入在Redis端原子执行
+     */
+    private static final RedisScript<Long> COMPARE_AND_SET_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('GET', KEYS[1]) == ARGV[1] then "
+            + "redis.call('SET', KEYS[1], ARGV[2], 'EX', ARGV[3]) return 1 end return 0", Long.class);
+
     private final RedisTemplate<String, Object> redisTemplate;
     
     // 预定义操作对象，避免重复获取
@@ -309,6 +329,44 @@ public class RedisService {
         );
     }
 
+    /**
+     * 键不存在时放入并设置时间
+     * 
+     * @param key   键
+     * @param value 值
+     * @param time  时间(秒) 要大于0
+     * @return true放入成功 false键已存在或失败
+     */
+    public boolean setIfAbsent(String key, Object value, long time) {
+        if (key == null || time <= 0) {
+            return false;
+        }
+        return executeSafelyBoolean(
+            () -> Boolean.TRUE.equals(getValueOps().setIfAbsent(key, value, time, TimeUnit.SECONDS)),
+            "不存在时设置缓存", key, value, time
+        );
+    }
+
+    /**
+     * 当前值等于期望值时替换并设置时间
+     *
+     * @param key      键
+     * @param expected 期望的当前值
+     * @param value    新值
+     * @param time     时间(秒) 要大于0
+     * @return true替换成功 false当前值不是期望值、键不存在或失败
+     */
+    public boolean compareAndSet(String key, Object expected, Object value, long time) {
+        if (key == null || expected == null || time <= 0) {
+            return false;
+        }
+        return executeSafelyBoolean(
+            () -> Long.valueOf(1).equals(redisTemplate.execute(COMPARE_AND_SET_SCRIPT,
+                Collections.singletonList(key), expected, value, time)),
+            "比较并设置缓存", key, expected, value, time
+        );
+    }
+
     /**
      * 递增
      * 
@@ -414,16 +472,14 @@ public class RedisService {
      * @return true成功 false失败
      */
     public boolean hmset(String key, Map<String, Object> map, long time) {
-        try {
-            getHashOps().putAll(key, map);
-            if (time > 0) {
-                expire(key, time);
-            }
-            return true;
-        } catch (Exception e) {
-            log.error("HashSet失败，key: {}, map: {}, time: {}", key, map, time, e);
-            return false;
+        if (time <= 0) {
+            return hmset(key, map);
         }
+        // HMSET与EXPIRE在同一管道中发出，只有一次往返
+        return pipeline(ops -> {
+            ops.hmset(key, map);
+            ops.expire(key, time);
+        });
     }
 
     /**
@@ -753,4 +809,129 @@ public class RedisService {
             return 0;
         }
     }
+
+    // ===============================batch================================
+
+    /**
+     * 批量获取缓存（MGET，一次往返）
+     * 
+     * @param keys 键
+     * @return 与keys顺序一致的值，不存在的key对应null；失败时返回空列表
+     */
+    public List<Object> mget(Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Object> result = executeSafely(
+            () -> getValueOps().multiGet(keys),
+            "批量获取缓存", keys.size()
+        );
+        return result != null ? result : Collections.emptyList();
+    }
+
+    /**
+     * 批量放入缓存并设置时间
+     * 
+     * @param map  键值
+     * @param time 时间(秒) time要大于0 如果time小于等于0 使用MSET且不过期，否则在一个管道中逐个SET EX
+     * @return true全部成功 false存在失败
+     */
+    public boolean mset(Map<String, Object> map, long time) {
+        if (map == null || map.isEmpty()) {
+            return false;
+        }
+        if (time <= 0) {
+            return executeSafelyBoolean(() -> {
+                getValueOps().multiSet(map);
+                return true;
+            }, "批量放入缓存", map.size());
+        }
+        List<RedisOps.Response<Boolean>> responses = new ArrayList<>(map.size());
+        if (!pipeline(ops -> map.forEach((key, value) -> responses.add(ops.set(key, value, time))))) {
+            return false;
+        }
+        for (RedisOps.Response<Boolean> response : responses) {
+            if (!Boolean.TRUE.equals(response.get())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 批量指定缓存失效时间
+     * 
+     * @param keys 键
+     * @param time 时间(秒)
+     * @return 设置成功的key数量，不存在的key不计入
+     */
+    public long batchExpire(Collection<String> keys, long time) {
+        if (keys == null || keys.isEmpty() || time <= 0) {
+            return 0;
+        }
+        List<RedisOps.Response<Boolean>> responses = new ArrayList<>(keys.size());
+        if (!pipeline(ops -> keys.forEach(key -> responses.add(ops.expire(key, time))))) {
+            return 0;
+        }
+        long count = 0;
+        for (RedisOps.Response<Boolean> response : responses) {
+            if (Boolean.TRUE.equals(response.get())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 批量获取多张hash表的所有键值
+     * 
+     * @param keys 键
+     * @return 按keys顺序排列的键值，不存在的key对应空表；失败时返回空表
+     */
+    public Map<String, Map<String, Object>> multiHget(Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, RedisOps.Response<Map<String, Object>>> responses = new LinkedHashMap<>();
+        if (!pipeline(ops -> keys.forEach(key -> responses.put(key, ops.hmget(key))))) {
+            return Collections.emptyMap();
+        }
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        responses.forEach((key, response) -> result.put(key, response.get()));
+        return result;
+    }
+
+    /**
+     * 在一个管道中执行多条命令，全部命令一次发出
+     * <p>
+     * 命令返回的 {@link RedisOps.Response} 在本方法返回true之后可读取。
+     * 管道内不能读取结果，也不能依赖前一条命令的结果决定后一条命令。
+     * </p>
+     * 
+     * @param commands 排队命令的回调
+     * @return true成功 false失败
+     */
+    public boolean pipeline(Consumer<RedisOps> commands) {
+        if (commands == null) {
+            return false;
+        }
+        try {
+            List<RedisOps> queued = new ArrayList<>(1);
+            List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOps ops = new RedisOps((RedisOperations<String, Object>) operations);
+                    queued.add(ops);
+                    commands.accept(ops);
+                    return null;
+                }
+            });
+            queued.get(0).complete(results);
+            return true;
+        } catch (Exception e) {
+            log.error("Redis管道执行失败", e);
+            return false;
+        }
+    }
 }
@@ -110,6 +110,25 @@ public class CacheKeyUtil {
         return SESSION_PREFIX + SEPARATOR + "user" + SEPARATOR + userId;
     }
 
+    /**
+     * 生成UDP会话归属节点Key
+     * 
+     * @param sessionKey UDP会话标识（客户端地址）
+     * @return 缓存Key: hello-quick:session:owner:{sessionKey}
+     */
+    public static String getSessionOwnerKey(String sessionKey) {
+        return SESSION_PREFIX + SEPARATOR + "owner" + SEPARATOR + sessionKey;
+    }
+
+    /**
+     * 生成UDP集群节点表Key
+     * 
+     * @return 缓存Key: hello-quick:session:nodes
+     */
+    public static String getSessionNodesKey() {
+        return SESSION_PREFIX + SEPARATOR + "nodes";
+    }
+
     // ========================= 限流相关缓存Key =========================
 
     /**
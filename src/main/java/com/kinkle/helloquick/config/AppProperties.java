@@ -26,6 +26,11 @@ public class AppProperties {
      */
     private Security security = new Security();
 
+    /**
+     * UDP服务配置
+     */
+    private Udp udp = new Udp();
+
     @Data
     public static class Security {
         
@@ -53,4 +58,611 @@ public class AppProperties {
             private long expiration = 86400;
         }
     }
+
+    @Data
+    public static class Udp {
+
+        /**
+         * 是否启动UDP服务
+         */
+        private boolean enabled = false;
+
+        /**
+         * 监听端口
+         */
+        private int port = 9090;
+
+        /**
+         * IO线程数，0表示使用CPU核数
+         */
+        private int ioThreads = 0;
+
+        /**
+         * 套接字接收缓冲区大小（字节）
+         */
+        private int receiveBufferSize = 4 * 1024 * 1024;
+
+        /**
+         * 套接字发送缓冲区大小（字节）
+         */
+        private int sendBufferSize = 4 * 1024 * 1024;
+
+        /**
+         * 批量收发配置
+         */
+        private Batch batch = new Batch();
+
+        /**
+         * 前向纠错配置
+         */
+        private Fec fec = new Fec();
+
+        /**
+         * 多路复用流配置
+         */
+        private Stream stream = new Stream();
+
+        /**
+         * 发送节奏与拥塞控制配置
+         */
+        private Pacing pacing = new Pacing();
+
+        /**
+         * 文件上传配置
+         */
+        private Upload upload = new Upload();
+
+        /**
+         * 数据同步配置
+         */
+        private Sync sync = new Sync();
+
+        /**
+         * 登录配置
+         */
+        private Login login = new Login();
+
+        /**
+         * 抓包日志配置
+         */
+        private Capture capture = new Capture();
+
+        /**
+         * 内核UDP丢包监控配置
+         */
+        private KernelMonitor kernelMonitor = new KernelMonitor();
+
+        /**
+         * 多节点会话路由配置
+         */
+        private Cluster cluster = new Cluster();
+
+        /**
+         * 堆外会话状态存储配置
+         */
+        private Session session = new Session();
+
+        /**
+         * 用户在线状态配置
+         */
+        private Presence presence = new Presence();
+
+        /**
+         * 采样包追踪配置
+         */
+        private Trace trace = new Trace();
+
+        @Data
+        public static class Batch {
+
+            /**
+             * 是否启用批量收发（仅epoll传输生效）
+             */
+            private boolean enabled = true;
+
+            /**
+             * 单个数据报最大长度，用于recvmmsg切分接收缓冲区
+             */
+            private int maxDatagramSize = 2048;
+
+            /**
+             * 单次recvmmsg最多读取的数据报数量
+             */
+            private int readBatchSize = 32;
+
+            /**
+             * 是否对同一目标的连续发送启用UDP GSO
+             */
+            private boolean gso = true;
+
+            /**
+             * 是否启用UDP GRO接收
+             */
+            private boolean gro = true;
+
+            /**
+             * 启用GRO时单次recvmmsg读取的合并数据报数量（每个槽位64KB）
+             */
+            private int groReadBatchSize = 4;
+
+            /**
+             * 单个GSO报文最多包含的分段数
+             */
+            private int maxSegments = 64;
+        }
+
+        @Data
+        public static class Fec {
+
+            /**
+             * 是否启用FEC：接收端恢复丢失的数据帧；同时启用节奏控制时，发送端为受保护的帧附带校验包
+             */
+            private boolean enabled = false;
+
+            /**
+             * 受保护的协议号，按节奏控制帧的内层协议号匹配
+             */
+            private List<Integer> protectedProtocols = List.of(0x0102);
+
+            /**
+             * 每组校验包数量，1为XOR校验，大于1为Reed-Solomon校验
+             */
+            private int parityCount = 1;
+
+            /**
+             * 初始分组大小（数据包数量）
+             */
+            private int initialGroupSize = 8;
+
+            /**
+             * 最小分组大小
+             */
+            private int minGroupSize = 4;
+
+            /**
+             * 最大分组大小
+             */
+            private int maxGroupSize = 32;
+
+            /**
+             * 接收端每个发送方的序列号窗口大小（2的幂），需大于最大分组大小以容纳乱序到达的相邻分组
+             */
+            private int windowSize = 64;
+
+            /**
+             * 接收端缓存的受保护报文最大长度（字节），不小于发送端节奏控制的最大报文段
+             */
+            private int maxPacketSize = 1500;
+
+            /**
+             * 接收端每个通道用于缓存数据包副本与校验包的直接内存预算（字节），
+             * 跟踪的发送方数量按窗口大小与报文长度从预算中推算
+             */
+            private long maxBufferedBytes = 64L * 1024 * 1024;
+        }
+
+        @Data
+        public static class Stream {
+
+            /**
+             * 每个会话最多同时打开的流数量
+             */
+            private int maxStreamsPerSession = 64;
+
+            /**
+             * 每个流的接收窗口（帧数），即发送方可超前于已交付位置的帧数
+             */
+            private int receiveWindow = 64;
+
+            /**
+             * 每个流重排序缓冲区最多占用的字节数
+             */
+            private int maxBufferedBytes = 256 * 1024;
+
+            /**
+             * 最多跟踪的会话数量
+             */
+            private int maxSessions = 10000;
+
+            /**
+             * 会话空闲超时（毫秒）
+             */
+            private long sessionIdleTimeout = 60000;
+
+            /**
+             * 未确认帧的重传超时（毫秒），同一缺口的选择确认也按该间隔重复通告
+             */
+            private long retransmitTimeout = 200;
+
+            /**
+             * 缺口超时（毫秒），超时仍未补齐的帧被接收方跳过
+             */
+            private long gapTimeout = 5000;
+
+            /**
+             * 空闲会话清理间隔（毫秒），0表示只在会话数量达到上限时清理
+             */
+            private long sweepInterval = 30000;
+        }
+
+        @Data
+        public static class Pacing {
+
+            /**
+             * 是否启用节奏控制，启用后批量协议以 PACED_DATA 帧发送，对端需逐帧回复ACK
+             */
+            private boolean enabled = false;
+
+            /**
+             * 拥塞控制算法：cubic 或 bbr
+             */
+            private String algorithm = "cubic";
+
+            /**
+             * 最大报文段（字节），用于计算窗口
+             */
+            private int maxSegmentSize = 1400;
+
+            /**
+             * 初始拥塞窗口（报文段数）
+             */
+            private int initialWindowPackets = 10;
+
+            /**
+             * 令牌桶突发上限（报文段数）
+             */
+            private int burstPackets = 4;
+
+            /**
+             * 每个会话排队数据包上限
+             */
+            private int maxQueuedPackets = 4096;
+
+            /**
+             * RTO下限（毫秒）
+             */
+            private long minRto = 200;
+
+            /**
+             * 最多跟踪的会话数量
+             */
+            private int maxSessions = 10000;
+
+            /**
+             * 会话空闲超时时间（毫秒），无排队和在途数据且超时未发送或确认的会话被淘汰
+             */
+            private long idleTimeout = 60000;
+        }
+
+        @Data
+        public static class Upload {
+
+            /**
+             * 上传文件存放目录
+             */
+            private String directory = "uploads";
+
+            /**
+             * 单个文件最大大小（字节）
+             */
+            private long maxFileSize = 8L * 1024 * 1024 * 1024;
+
+            /**
+             * 最小分块大小（字节）
+             */
+            private int minChunkSize = 512;
+
+            /**
+             * 最大分块大小（字节），需保证分块报文不超过单个数据报
+             */
+            private int maxChunkSize = 1400;
+
+            /**
+             * 同时进行的上传会话上限
+             */
+            private int maxSessions = 64;
+
+            /**
+             * 会话空闲超时时间（毫秒），超时后关闭会话，保留临时文件以便续传
+             */
+            private long sessionIdleTimeout = 600000;
+
+            /**
+             * 空闲会话清理间隔（毫秒），0表示只在会话数量达到上限时清理
+             */
+            private long sweepInterval = 60000;
+
+            /**
+             * 状态回复中接收位图的最大字节数
+             */
+            private int maxStatusBitmapBytes = 1024;
+        }
+
+        @Data
+        public static class Sync {
+
+            /**
+             * 每个数据集保留的变更条数，必须是2的幂
+             */
+            private int changeLogCapacity = 65536;
+
+            /**
+             * 单个响应包体最大字节数
+             */
+            private int maxPacketPayload = 1200;
+
+            /**
+             * 快照每页记录数
+             */
+            private int snapshotPageSize = 256;
+
+            /**
+             * 快照线程数
+             */
+            private int snapshotThreads = 2;
+
+            /**
+             * 快照任务队列长度
+             */
+            private int snapshotQueueSize = 64;
+
+            /**
+             * 每个对端最多排队或正在读取的快照页数
+             */
+            private int maxPendingSnapshotsPerPeer = 2;
+        }
+
+        @Data
+        public static class Login {
+
+            /**
+             * 密码校验线程数，BCrypt为CPU密集计算
+             */
+            private int verifyThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+            /**
+             * 密码校验任务队列长度，队列满时直接拒绝登录
+             */
+            private int verifyQueueSize = 1024;
+
+            /**
+             * 已校验登录缓存有效期（毫秒），期间同一账号密码重复登录不再执行BCrypt
+             */
+            private long verifiedCacheTtl = 30000;
+
+            /**
+             * 已校验登录缓存条数上限
+             */
+            private int verifiedCacheMaxEntries = 100000;
+
+            /**
+             * 会话有效期（秒）
+             */
+            private long sessionTtl = 7200;
+        }
+
+        @Data
+        public static class Capture {
+
+            /**
+             * 是否把收到的原始数据报写入抓包日志
+             */
+            private boolean enabled = false;
+
+            /**
+             * 抓包日志目录
+             */
+            private String directory = "capture";
+
+            /**
+             * 单个日志段文件大小（字节），写满后切换到新段
+             */
+            private int segmentSize = 64 * 1024 * 1024;
+
+            /**
+             * 每个通道保留的日志段数量，超出时删除最早的段
+             */
+            private int maxSegments = 16;
+
+            /**
+             * 保留的运行数（含本次运行），启动抓包时删除更早运行留下的日志段
+             */
+            private int maxRuns = 2;
+        }
+
+        @Data
+        public static class KernelMonitor {
+
+            /**
+             * 是否定期采样/proc中的内核UDP统计
+             */
+            private boolean enabled = true;
+
+            /**
+             * 采样间隔（毫秒）
+             */
+            private long interval = 10000;
+
+            /**
+             * proc文件系统根目录
+             */
+            private String procRoot = "/proc";
+        }
+
+        @Data
+        public static class Cluster {
+
+            /**
+             * 是否启用多节点会话路由
+             */
+            private boolean enabled = false;
+
+            /**
+             * 节点ID，为空时使用 advertiseHost:forwardPort
+             */
+            private String nodeId = "";
+
+            /**
+             * 会话目录实现：redis 或 local（单进程内存目录，仅用于测试和单机调试）
+             */
+            private String directory = "redis";
+
+            /**
+             * 节点间转发端口绑定地址，建议绑定内网地址
+             */
+            private String bindHost = "0.0.0.0";
+
+            /**
+             * 对其他节点公布的转发地址
+             */
+            private String advertiseHost = "127.0.0.1";
+
+            /**
+             * 节点间转发端口
+             */
+            private int forwardPort = 9190;
+
+            /**
+             * 会话归属在目录中的有效期（秒），归属节点有流量时续期
+             */
+            private long ownerTtl = 300;
+
+            /**
+             * 节点心跳间隔（毫秒）
+             */
+            private long heartbeatInterval = 5000;
+
+            /**
+             * 节点心跳超时（毫秒），超时的节点视为下线，其会话由收到数据包的节点接管
+             */
+            private long nodeTimeout = 15000;
+
+            /**
+             * 本地近端缓存有效期（毫秒），过期后继续使用旧值并在后台刷新
+             */
+            private long nearCacheTtl = 10000;
+
+            /**
+             * 本地近端缓存条数上限
+             */
+            private int nearCacheMaxEntries = 100000;
+
+            /**
+             * 目录查询线程数
+             */
+            private int lookupThreads = 2;
+
+            /**
+             * 目录查询队列长度，队列满时数据包在本节点处理
+             */
+            private int lookupQueueSize = 4096;
+
+            /**
+             * 每个转发通道记录的来源节点条数上限
+             */
+            private int maxForwardOrigins = 65536;
+        }
+
+        @Data
+        public static class Session {
+
+            /**
+             * 最大会话数，按每会话128字节预先分配直接内存
+             */
+            private int maxSessions = 100000;
+
+            /**
+             * 分段数（锁条带数），向上取整为2的幂
+             */
+            private int segments = 64;
+
+            /**
+             * 会话快照文件，为空（默认）时不做快照
+             */
+            private String snapshotFile;
+
+            /**
+             * 定时快照间隔（毫秒），不大于0时只在停机时快照
+             */
+            private long snapshotInterval = 60000;
+
+            /**
+             * 恢复时会话最近活跃距今的上限（毫秒），超过的会话丢弃
+             */
+            private long snapshotMaxIdle = 300000;
+
+            /**
+             * 会话空闲上限（毫秒），最近活跃距今超过该值的会话被清理
+             */
+            private long idleTimeout = 300000;
+
+            /**
+             * 空闲会话清理周期（毫秒），不大于0时不清理
+             */
+            private long sweepInterval = 30000;
+        }
+
+        @Data
+        public static class Presence {
+
+            /**
+             * 超过该时长（毫秒）没有心跳的用户视为离线
+             */
+            private long offlineTimeout = 30000;
+
+            /**
+             * 离线检测与变更发布周期（毫秒），周期内的状态变更合并为一次发布
+             */
+            private long publishInterval = 1000;
+
+            /**
+             * 预计在线用户数，在线用户表按需扩容
+             */
+            private int initialCapacity = 4096;
+
+            /**
+             * 在线用户表分段数（锁条带数），向上取整为2的幂
+             */
+            private int segments = 16;
+
+            /**
+             * 批量查询单次最多的用户数
+             */
+            private int maxBulkQuery = 1000;
+        }
+
+        @Data
+        public static class Trace {
+
+            /**
+             * 是否在管道中加入追踪处理器；关闭时管道中没有追踪代码
+             */
+            private boolean enabled = false;
+
+            /**
+             * 每N个数据包随机采样1个，0表示不按比例采样
+             */
+            private int sampleRate = 0;
+
+            /**
+             * 始终追踪的协议号
+             */
+            private List<Integer> protocols = List.of();
+
+            /**
+             * 始终追踪的对端地址，格式为 host:port，只写host时匹配该主机的所有端口
+             */
+            private List<String> addresses = List.of();
+
+            /**
+             * 环形缓冲区保留的追踪记录数
+             */
+            private int capacity = 512;
+
+            /**
+             * 每条记录转储的最大字节数
+             */
+            private int dumpBytes = 256;
+        }
+    }
 }
@@ -0,0 +1,45 @@
+package com.kinkle.helloquick.controller;
+
+import com.kinkle.helloquick.common.result.Result;
+import com.kinkle.helloquick.common.result.ResultCode;
+import com.kinkle.helloquick.udp.monitor.KernelDropMonitor;
+import com.kinkle.helloquick.udp.monitor.KernelDropReport;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * UDP监控控制器
+ * 提供内核UDP丢包与套接字缓冲区状态查询API，仅在 {@code app.udp.enabled=true} 时注册
+ *
+ * @author Hello Quick Team
+ * @version 0.0.1-SNAPSHOT
+ */
+@Slf4j
+@RestController
+@ConditionalOnProperty(prefix = "app.udp", name = "enabled", havingValue = "true")
+@RequestMapping("/api/udp")
+@RequiredArgsConstructor
+public class UdpMonitoringController {
+
+    private final KernelDropMonitor kernelDropMonitor;
+
+    /**
+     * 获取内核UDP丢包统计
+     * refresh为true时立即采样，否则返回最近一次定期采样的结果
+     */
+    @GetMapping("/kernel")
+    public Result<KernelDropReport> getKernelStats(@RequestParam(defaultValue = "false") boolean refresh) {
+        try {
+            KernelDropReport report = refresh ? kernelDropMonitor.sample() : kernelDropMonitor.getLastReport();
+            if (report == null) {
+                return Result.failure(ResultCode.SERVICE_UNAVAILABLE, "内核UDP统计尚未采样");
+            }
+            return Result.success(report);
+        } catch (Exception e) {
+            log.error("获取内核UDP统计失败", e);
+            return Result.failure(ResultCode.INTERNAL_SERVER_ERROR, "获取内核UDP统计失败: " + e.getMessage());
+        }
+    }
+}
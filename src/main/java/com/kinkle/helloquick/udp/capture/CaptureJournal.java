@@ -0,0 +1,271 @@
+package com.kinkle.helloquick.udp.capture;
+
+import io.netty.util.internal.PlatformDependent;
+import lombok.Getter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 抓包日志写入器
+ *
+ * <p>把原始数据报连同到达时间（{@link System#nanoTime()}）和来源地址追加到内存映射的日志段文件，
+ * 写入只是一次内存复制，不经过系统调用。日志段写满后切换到下一个段，超出保留数量时删除最早的段。</p>
+ *
+ * <p>日志段文件名为 {@code <前缀>-<段序号>.cap}，布局（大端）：</p>
+ * <pre>
+ * 段头（32字节）：魔数"HQCP"（4）| 版本（2）| 保留（2）| 基准墙钟毫秒（8）| 基准nanoTime（8）| 保留（8）
+ * 记录：记录长度（4）| 到达nanoTime（8）| 地址长度（1，4或16）| 地址 | 端口（2）| 数据报
+ * </pre>
+ *
+ * <p>记录长度为0表示段结束，映射区域未写入的部分本来就是0，进程崩溃时已写入的记录仍可读出。
+ * 关闭时把当前段截断到实际长度。</p>
+ *
+ * <p>段数量上限只约束本实例写出的段；之前运行留下的日志由 {@link #purgeRuns(Path, String, int)} 按运行清理。</p>
+ *
+ * <p>写入器不是线程安全的，每个通道一个实例，只在通道的事件循环线程调用。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class CaptureJournal implements Closeable {
+
+    /**
+     * 段文件魔数："HQCP"
+     */
+    static final int MAGIC = 0x48514350;
+
+    /**
+     * 段文件格式版本
+     */
+    static final short FORMAT_VERSION = 1;
+
+    /**
+     * 段头长度
+     */
+    static final int SEGMENT_HEADER_LENGTH = 32;
+
+    /**
+     * 记录固定部分长度，不含地址
+     */
+    static final int RECORD_HEADER_LENGTH = 15;
+
+    /**
+     * 段文件扩展名
+     */
+    static final String SEGMENT_SUFFIX = ".cap";
+
+    /**
+     * 最小段大小
+     */
+    public static final int MIN_SEGMENT_SIZE = 4096;
+
+    private final Path directory;
+
+    /**
+     * 段文件名前缀
+     */
+    @Getter
+    private final String prefix;
+
+    private final int segmentSize;
+
+    private final int maxSegments;
+
+    private final Deque<Path> segments = new ArrayDeque<>();
+
+    private FileChannel channel;
+
+    private MappedByteBuffer mapped;
+
+    private int segmentIndex;
+
+    /**
+     * 已写入记录数
+     */
+    @Getter
+    private long recordCount;
+
+    /**
+     * 超过段容量而丢弃的记录数
+     */
+    @Getter
+    private long droppedCount;
+
+    /**
+     * 构造函数，立即创建第一个日志段
+     *
+     * @param directory 日志目录，不存在时创建
+     * @param prefix 段文件名前缀
+     * @param segmentSize 单个段大小（字节）
+     * @param maxSegments 保留的段数量
+     * @throws IOException 创建日志段失败
+     */
+    public CaptureJournal(Path directory, String prefix, int segmentSize, int maxSegments) throws IOException {
+        if (segmentSize < MIN_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("Segment size must be at least " + MIN_SEGMENT_SIZE);
+        }
+        if (maxSegments < 1) {
+            throw new IllegalArgumentException("Max segments must be positive");
+        }
+        this.directory = directory;
+        this.prefix = prefix;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        Files.createDirectories(directory);
+        openSegment();
+    }
+
+    /**
+     * 追加一条记录
+     *
+     * @param arrivalNanos 到达时间（{@link System#nanoTime()}）
+     * @param source 来源地址
+     * @param datagram 数据报内容，读取其剩余字节，位置不变
+     * @return 是否写入；单条记录超过段容量时丢弃并返回false
+     * @throws IOException 切换日志段失败
+     */
+    public boolean append(long arrivalNanos, InetSocketAddress source, ByteBuffer datagram) throws IOException {
+        byte[] address = source.getAddress().getAddress();
+        int length = RECORD_HEADER_LENGTH + address.length + datagram.remaining();
+        if (length > segmentSize - SEGMENT_HEADER_LENGTH - 4) {
+            droppedCount++;
+            return false;
+        }
+        // 段末尾至少留4字节的0作为结束标记
+        if (mapped.position() + length > segmentSize - 4) {
+            closeSegment();
+            openSegment();
+        }
+        mapped.putInt(length);
+        mapped.putLong(arrivalNanos);
+        mapped.put((byte) address.length);
+        mapped.put(address);
+        mapped.putShort((short) source.getPort());
+        mapped.put(datagram.duplicate());
+        recordCount++;
+        return true;
+    }
+
+    /**
+     * 获取当前段序号
+     *
+     * @return 段序号，从0开始
+     */
+    public int getSegmentIndex() {
+        return segmentIndex;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (mapped != null) {
+            closeSegment();
+        }
+    }
+
+    /**
+     * 删除较早运行留下的日志段，保留当前运行和最近的 {@code maxRuns - 1} 个其他运行
+     *
+     * <p>运行按其最新段的修改时间排序，运行标识见 {@link CaptureReader#runOf(String)}。</p>
+     *
+     * @param directory 日志目录
+     * @param currentRun 当前运行标识，不会被删除
+     * @param maxRuns 保留的运行数，含当前运行
+     * @return 删除的段数
+     * @throws IOException 读取目录或删除失败
+     */
+    public static int purgeRuns(Path directory, String currentRun, int maxRuns) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        Map<String, List<Path>> runs = new HashMap<>();
+        Map<String, FileTime> latest = new HashMap<>();
+        for (Map.Entry<String, List<Path>> journal : CaptureReader.listJournals(directory).entrySet()) {
+            String run = CaptureReader.runOf(journal.getKey());
+            if (run.equals(currentRun)) {
+                continue;
+            }
+            for (Path segment : journal.getValue()) {
+                runs.computeIfAbsent(run, key -> new ArrayList<>()).add(segment);
+                latest.merge(run, Files.getLastModifiedTime(segment), (a, b) -> a.compareTo(b) >= 0 ? a : b);
+            }
+        }
+        List<String> older = new ArrayList<>(runs.keySet());
+        older.sort(Comparator.comparing(latest::get, Comparator.reverseOrder()));
+        int deleted = 0;
+        for (int i = Math.max(0, maxRuns - 1); i < older.size(); i++) {
+            for (Path segment : runs.get(older.get(i))) {
+                if (Files.deleteIfExists(segment)) {
+                    deleted++;
+                }
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * 段文件路径
+     *
+     * @param directory 日志目录
+     * @param prefix 段文件名前缀
+     * @param index 段序号
+     * @return 路径
+     */
+    static Path segmentPath(Path directory, String prefix, int index) {
+        return directory.resolve(String.format("%s-%06d%s", prefix, index, SEGMENT_SUFFIX));
+    }
+
+    private void openSegment() throws IOException {
+        if (!segments.isEmpty()) {
+            segmentIndex++;
+        }
+        Path path = segmentPath(directory, prefix, segmentIndex);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        mapped.putInt(MAGIC);
+        mapped.putShort(FORMAT_VERSION);
+        mapped.putShort((short) 0);
+        mapped.putLong(System.currentTimeMillis());
+        mapped.putLong(System.nanoTime());
+        mapped.position(SEGMENT_HEADER_LENGTH);
+
+        segments.addLast(path);
+        while (segments.size() > maxSegments) {
+            Files.deleteIfExists(segments.removeFirst());
+        }
+    }
+
+    private void closeSegment() throws IOException {
+        int end = mapped.position();
+        // 由页缓存异步落盘，不在事件循环线程上force
+        PlatformDependent.freeDirectBuffer(mapped);
+        mapped = null;
+        try {
+            channel.truncate(end);
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.kinkle.helloquick.udp.capture;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 抓包日志读取器
+ *
+ * <p>按段序号顺序读取同一前缀的日志段，格式见 {@link CaptureJournal}。段文件以只读方式映射，
+ * 返回的记录内容是映射区域上的视图；映射由GC回收，记录在读取器推进到下一个段后仍然可用。</p>
+ *
+ * <p>遇到长度为0或不完整的记录时视为段结束，进程异常退出时留下的段也能读出已写完的记录。</p>
+ *
+ * <p>日志前缀的格式为 {@code <运行标识>-<通道序号>}，同一运行标识的日志来自同一个进程，
+ * 到达时间（nanoTime）可以直接比较；不同运行之间只能按段头的墙钟时间排序。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class CaptureReader {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("(.+)-(\\d{6})\\.cap");
+
+    private final List<Path> segments;
+
+    private final String run;
+
+    private int nextSegment;
+
+    private ByteBuffer current;
+
+    private long baseMillis;
+
+    private long baseNanos;
+
+    /**
+     * 构造函数
+     *
+     * @param segments 同一日志的段文件，按段序号排列
+     */
+    public CaptureReader(List<Path> segments) {
+        this.segments = List.copyOf(segments);
+        this.run = segments.isEmpty() ? "" : runOf(prefixOf(segments.get(0)));
+    }
+
+    /**
+     * 获取日志所属的运行标识
+     *
+     * @return 运行标识，即前缀中最后一个'-'之前的部分
+     */
+    public String getRun() {
+        return run;
+    }
+
+    /**
+     * 从日志前缀中取出运行标识
+     *
+     * @param prefix 日志前缀
+     * @return 运行标识，前缀中没有'-'时为前缀本身
+     */
+    public static String runOf(String prefix) {
+        int dash = prefix.lastIndexOf('-');
+        return dash > 0 ? prefix.substring(0, dash) : prefix;
+    }
+
+    /**
+     * 从段文件名中取出日志前缀
+     *
+     * @param segment 段文件
+     * @return 日志前缀，文件名不是段文件格式时返回null
+     */
+    static String prefixOf(Path segment) {
+        Matcher matcher = SEGMENT_NAME.matcher(segment.getFileName().toString());
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    /**
+     * 列出目录中的日志，按前缀分组
+     *
+     * @param directory 日志目录
+     * @return 前缀到段文件列表的映射，段文件按段序号排列
+     * @throws IOException 读取目录失败
+     */
+    public static Map<String, List<Path>> listJournals(Path directory) throws IOException {
+        Map<String, TreeMap<Integer, Path>> grouped = new TreeMap<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(path -> {
+                Matcher matcher = SEGMENT_NAME.matcher(path.getFileName().toString());
+                if (matcher.matches()) {
+                    grouped.computeIfAbsent(matcher.group(1), key -> new TreeMap<>())
+                        .put(Integer.parseInt(matcher.group(2)), path);
+                }
+            });
+        }
+        Map<String, List<Path>> journals = new TreeMap<>();
+        grouped.forEach((prefix, paths) -> journals.put(prefix, new ArrayList<>(paths.values())));
+        return journals;
+    }
+
+    /**
+     * 打开目录中的全部日志
+     *
+     * @param directory 日志目录
+     * @return 每个日志一个读取器
+     * @throws IOException 读取目录失败
+     */
+    public static List<CaptureReader> openAll(Path directory) throws IOException {
+        List<CaptureReader> readers = new ArrayList<>();
+        for (List<Path> segments : listJournals(directory).values()) {
+            readers.add(new CaptureReader(segments));
+        }
+        return readers;
+    }
+
+    /**
+     * 读取下一条记录
+     *
+     * @return 记录；全部段读完时返回null
+     * @throws IOException 段文件无法读取或格式不正确
+     */
+    public CapturedDatagram next() throws IOException {
+        while (true) {
+            if (current != null) {
+                CapturedDatagram datagram = readRecord(current);
+                if (datagram != null) {
+                    return datagram;
+                }
+                current = null;
+            }
+            if (nextSegment >= segments.size()) {
+                return null;
+            }
+            openSegment(segments.get(nextSegment++));
+        }
+    }
+
+    /**
+     * 读取全部剩余记录
+     *
+     * @return 记录列表
+     * @throws IOException 段文件无法读取或格式不正确
+     */
+    public List<CapturedDatagram> readAll() throws IOException {
+        List<CapturedDatagram> datagrams = new ArrayList<>();
+        for (CapturedDatagram datagram = next(); datagram != null; datagram = next()) {
+            datagrams.add(datagram);
+        }
+        return datagrams;
+    }
+
+    private void openSegment(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < CaptureJournal.SEGMENT_HEADER_LENGTH || size > Integer.MAX_VALUE) {
+                throw new IOException("Invalid capture segment size: " + path);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt() != CaptureJournal.MAGIC || buffer.getShort() != CaptureJournal.FORMAT_VERSION) {
+                throw new IOException("Invalid capture segment header: " + path);
+            }
+            buffer.getShort();
+            baseMillis = buffer.getLong();
+            baseNanos = buffer.getLong();
+            buffer.position(CaptureJournal.SEGMENT_HEADER_LENGTH);
+            current = buffer;
+        }
+    }
+
+    private CapturedDatagram readRecord(ByteBuffer buffer) throws IOException {
+        int start = buffer.position();
+        if (buffer.remaining() < 4) {
+            return null;
+        }
+        int length = buffer.getInt(start);
+        if (length < CaptureJournal.RECORD_HEADER_LENGTH + 4 || length > buffer.remaining()) {
+            return null;
+        }
+        long arrivalNanos = buffer.getLong(start + 4);
+        int addressLength = buffer.get(start + 12);
+        if (addressLength != 4 && addressLength != 16
+            || CaptureJournal.RECORD_HEADER_LENGTH + addressLength > length) {
+            return null;
+        }
+        byte[] address = new byte[addressLength];
+        buffer.position(start + 13);
+        buffer.get(address);
+        int port = buffer.getShort() & 0xFFFF;
+        InetSocketAddress source = new InetSocketAddress(InetAddress.getByAddress(address), port);
+
+        ByteBuffer payload = buffer.slice();
+        payload.limit(start + length - buffer.position());
+        buffer.position(start + length);
+
+        long timestampMillis = baseMillis + (arrivalNanos - baseNanos) / 1_000_000L;
+        return new CapturedDatagram(arrivalNanos, timestampMillis, source, payload);
+    }
+}
@@ -0,0 +1,150 @@
+package com.kinkle.helloquick.udp.capture;
+
+import com.kinkle.helloquick.config.AppProperties;
+import com.kinkle.helloquick.udp.protocol.ProtocolHeader;
+import com.kinkle.helloquick.udp.trace.PacketTracer;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.channel.unix.SegmentedDatagramPacket;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * 抓包处理器
+ *
+ * <p>位于管道入站方向的最前面，把收到的原始数据报写入 {@link CaptureJournal} 后原样向后传递，
+ * 不持有数据报。GRO合并的数据报按分段逐条记录，到达时间取读到数据报的时刻。</p>
+ *
+ * <p>与 {@link PacketTracer} 相同，包体含凭据的协议（{@link PacketTracer#REDACTED_PROTOCOLS}）只记录包头，
+ * 明文口令不会落盘；这类记录回放时无法通过CRC校验。</p>
+ *
+ * <p>写入日志失败时记录错误并把自身从管道中移除，不影响正常收包。处理器有状态，每个通道一个实例。</p>
+ *
+ * <p>开启日志前按 {@code maxRuns} 删除较早运行留下的日志段，前缀格式见 {@link CaptureReader}。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+public class CaptureTap extends ChannelInboundHandlerAdapter {
+
+    private final Path directory;
+
+    private final String prefix;
+
+    private final int segmentSize;
+
+    private final int maxSegments;
+
+    private final int maxRuns;
+
+    private CaptureJournal journal;
+
+    /**
+     * 构造函数
+     *
+     * @param config 抓包配置
+     * @param prefix 日志段文件名前缀，同一目录下每个通道必须不同
+     */
+    public CaptureTap(AppProperties.Udp.Capture config, String prefix) {
+        this.directory = Paths.get(config.getDirectory());
+        this.prefix = prefix;
+        this.segmentSize = config.getSegmentSize();
+        this.maxSegments = config.getMaxSegments();
+        this.maxRuns = config.getMaxRuns();
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) throws IOException {
+        try {
+            int purged = CaptureJournal.purgeRuns(directory, CaptureReader.runOf(prefix), maxRuns);
+            if (purged > 0) {
+                log.info("已删除较早运行的抓包日志段，directory: {}, segments: {}", directory.toAbsolutePath(), purged);
+            }
+        } catch (IOException e) {
+            log.warn("清理较早运行的抓包日志失败，directory: {}", directory.toAbsolutePath(), e);
+        }
+        journal = new CaptureJournal(directory, prefix, segmentSize, maxSegments);
+        log.info("抓包日志已开启，directory: {}, prefix: {}", directory.toAbsolutePath(), prefix);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.close();
+            log.info("抓包日志已关闭，prefix: {}, records: {}, dropped: {}",
+                prefix, journal.getRecordCount(), journal.getDroppedCount());
+        } catch (IOException e) {
+            log.warn("关闭抓包日志失败，prefix: {}", prefix, e);
+        }
+        journal = null;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (msg instanceof DatagramPacket) {
+            long arrivalNanos = System.nanoTime();
+            DatagramPacket packet = (DatagramPacket) msg;
+            ByteBuf content = packet.content();
+            try {
+                if (msg instanceof SegmentedDatagramPacket) {
+                    int segmentSize = ((SegmentedDatagramPacket) msg).segmentSize();
+                    for (int index = content.readerIndex(); index < content.writerIndex(); index += segmentSize) {
+                        int length = Math.min(segmentSize, content.writerIndex() - index);
+                        append(arrivalNanos, packet.sender(), content.nioBuffer(index, length));
+                    }
+                } else {
+                    append(arrivalNanos, packet.sender(), content.nioBuffer());
+                }
+            } catch (IOException | RuntimeException e) {
+                log.error("写入抓包日志失败，停止抓包，prefix: {}", prefix, e);
+                ctx.pipeline().remove(this);
+            }
+        }
+        ctx.fireChannelRead(msg);
+    }
+
+    /**
+     * 获取已记录的数据报数量
+     *
+     * @return 数量
+     */
+    public long getRecordCount() {
+        return journal != null ? journal.getRecordCount() : 0;
+    }
+
+    private void append(long arrivalNanos, InetSocketAddress sender, ByteBuffer datagram) throws IOException {
+        journal.append(arrivalNanos, sender, redact(datagram));
+    }
+
+    /**
+     * 包体含凭据的数据报截断到包头
+     *
+     * @param datagram 完整数据报
+     * @return 需要记录的字节
+     */
+    static ByteBuffer redact(ByteBuffer datagram) {
+        ProtocolHeader header;
+        try {
+            header = ProtocolHeader.fromByteBuffer(datagram.duplicate());
+        } catch (RuntimeException e) {
+            return datagram;
+        }
+        if (!PacketTracer.REDACTED_PROTOCOLS.contains(header.getProtocolId())) {
+            return datagram;
+        }
+        int length = Math.min(datagram.remaining(), header.getEncodedLength());
+        return datagram.duplicate().limit(datagram.position() + length);
+    }
+}
@@ -0,0 +1,90 @@
+package com.kinkle.helloquick.udp.capture;
+
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import com.kinkle.helloquick.udp.util.ByteBufferUtil;
+import lombok.Getter;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+
+/**
+ * 抓包日志中的一条记录
+ *
+ * <p>数据报内容是日志段映射区域上的只读视图，读取不复制数据。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+public class CapturedDatagram {
+
+    /**
+     * 到达时间（{@link System#nanoTime()}），只有同一运行内的各通道日志可按此合并排序
+     */
+    private final long arrivalNanos;
+
+    /**
+     * 按日志段基准时间换算的到达墙钟时间（毫秒）
+     */
+    private final long timestampMillis;
+
+    /**
+     * 来源地址
+     */
+    private final InetSocketAddress source;
+
+    private final ByteBuffer payload;
+
+    /**
+     * 构造函数
+     *
+     * @param arrivalNanos 到达时间
+     * @param timestampMillis 到达墙钟时间（毫秒）
+     * @param source 来源地址
+     * @param payload 数据报内容
+     */
+    public CapturedDatagram(long arrivalNanos, long timestampMillis, InetSocketAddress source, ByteBuffer payload) {
+        this.arrivalNanos = arrivalNanos;
+        this.timestampMillis = timestampMillis;
+        this.source = source;
+        this.payload = payload.asReadOnlyBuffer();
+    }
+
+    /**
+     * 获取数据报内容
+     *
+     * @return 只读视图，每次调用返回独立的位置
+     */
+    public ByteBuffer getPayload() {
+        return payload.duplicate();
+    }
+
+    /**
+     * 数据报长度
+     *
+     * @return 字节数
+     */
+    public int getLength() {
+        return payload.remaining();
+    }
+
+    /**
+     * 复制数据报内容
+     *
+     * @return 字节数组
+     */
+    public byte[] toBytes() {
+        return ByteBufferUtil.toBytes(payload.duplicate(), payload.remaining());
+    }
+
+    /**
+     * 按协议格式解析数据报，不校验CRC32
+     *
+     * @return 数据包
+     * @throws IllegalArgumentException 数据报不是合法的协议数据包
+     */
+    public UdpPacket toPacket() {
+        return UdpPacket.fromByteBuffer(payload.duplicate());
+    }
+}
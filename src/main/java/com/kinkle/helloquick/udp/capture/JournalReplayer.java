@@ -0,0 +1,222 @@
+package com.kinkle.helloquick.udp.capture;
+
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+
+/**
+ * 抓包日志回放工具
+ *
+ * <p>把目录中各通道的日志按到达时间合并，依次发往 {@link ReplayTarget}。速度倍率为1时按原始间隔回放，
+ * 大于1时按比例压缩间隔，小于等于0时全速回放。落后于计划时间时不补偿等待，滞后记入统计。</p>
+ *
+ * <p>nanoTime的起点每个进程不同，只有同一运行（见 {@link CaptureReader#getRun()}）内的到达时间可以比较。
+ * 目录中有多次运行的日志时，按各运行首条记录的墙钟时间依次回放，每次运行内部按到达时间合并，
+ * 运行之间的间隔不重现。</p>
+ *
+ * <pre>
+ * JournalReplayer replayer = JournalReplayer.open(Paths.get("capture"));
+ * try (ReplayTarget target = ReplayTarget.udp(new InetSocketAddress("127.0.0.1", 9090))) {
+ *     ReplayReport report = replayer.replay(target, 10);
+ * }
+ * </pre>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+public class JournalReplayer {
+
+    /**
+     * 剩余等待时间低于该值时不再挂起线程，避免挂起的调度误差
+     */
+    private static final long SPIN_THRESHOLD_NANOS = 50_000L;
+
+    private final List<CaptureReader> readers;
+
+    /**
+     * 构造函数
+     *
+     * @param readers 日志读取器，每个通道一个
+     */
+    public JournalReplayer(List<CaptureReader> readers) {
+        this.readers = readers;
+    }
+
+    /**
+     * 打开目录中的全部日志
+     *
+     * @param directory 日志目录
+     * @return 回放工具
+     * @throws IOException 读取目录失败
+     */
+    public static JournalReplayer open(Path directory) throws IOException {
+        return new JournalReplayer(CaptureReader.openAll(directory));
+    }
+
+    /**
+     * 按协议号过滤，无法解析的数据报被跳过
+     *
+     * @param protocolIds 需要回放的协议号
+     * @return 过滤条件
+     */
+    public static Predicate<CapturedDatagram> protocols(short... protocolIds) {
+        return datagram -> {
+            UdpPacket packet;
+            try {
+                packet = datagram.toPacket();
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+            for (short protocolId : protocolIds) {
+                if (packet.getHeader().getProtocolId() == protocolId) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    /**
+     * 回放全部记录
+     *
+     * @param target 回放目标
+     * @param speed 速度倍率，小于等于0为全速
+     * @return 回放统计
+     * @throws IOException 读取日志或发送失败
+     */
+    public ReplayReport replay(ReplayTarget target, double speed) throws IOException {
+        return replay(target, speed, datagram -> true);
+    }
+
+    /**
+     * 回放满足条件的记录
+     *
+     * @param target 回放目标
+     * @param speed 速度倍率，小于等于0为全速
+     * @param filter 过滤条件
+     * @return 回放统计
+     * @throws IOException 读取日志或发送失败
+     */
+    public ReplayReport replay(ReplayTarget target, double speed, Predicate<CapturedDatagram> filter)
+        throws IOException {
+        Map<String, PriorityQueue<Head>> grouped = new LinkedHashMap<>();
+        for (CaptureReader reader : readers) {
+            CapturedDatagram first = reader.next();
+            if (first != null) {
+                grouped.computeIfAbsent(reader.getRun(), run -> new PriorityQueue<>()).add(new Head(reader, first));
+            }
+        }
+        List<PriorityQueue<Head>> runs = new ArrayList<>(grouped.values());
+        runs.sort(Comparator.comparingLong(heads -> heads.peek().datagram.getTimestampMillis()));
+
+        long datagrams = 0;
+        long bytes = 0;
+        long skipped = 0;
+        long maxLag = 0;
+        long start = System.nanoTime();
+
+        for (PriorityQueue<Head> heads : runs) {
+            long firstArrival = heads.peek().datagram.getArrivalNanos();
+            long runStart = System.nanoTime();
+            Head head;
+            while ((head = heads.poll()) != null) {
+                CapturedDatagram datagram = head.datagram;
+                if (filter.test(datagram)) {
+                    if (speed > 0) {
+                        long due = runStart + (long) ((datagram.getArrivalNanos() - firstArrival) / speed);
+                        maxLag = Math.max(maxLag, awaitUntil(due));
+                    }
+                    target.send(datagram);
+                    datagrams++;
+                    bytes += datagram.getLength();
+                } else {
+                    skipped++;
+                }
+
+                CapturedDatagram next = head.reader.next();
+                if (next != null) {
+                    heads.add(new Head(head.reader, next));
+                }
+            }
+        }
+        return new ReplayReport(datagrams, bytes, skipped, System.nanoTime() - start, maxLag);
+    }
+
+    /**
+     * 等待到计划时间
+     *
+     * @return 已经落后的纳秒数
+     */
+    private static long awaitUntil(long due) {
+        long remaining = due - System.nanoTime();
+        if (remaining < 0) {
+            return -remaining;
+        }
+        while (remaining > SPIN_THRESHOLD_NANOS) {
+            LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+            remaining = due - System.nanoTime();
+        }
+        while (due - System.nanoTime() > 0) {
+            Thread.onSpinWait();
+        }
+        return 0;
+    }
+
+    /**
+     * 命令行入口：{@code <日志目录> <host:port> [速度倍率]}
+     *
+     * @param args 命令行参数
+     * @throws IOException 读取日志或发送失败
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: JournalReplayer <directory> <host:port> [speed]");
+            System.exit(1);
+        }
+        int colon = args[1].lastIndexOf(':');
+        InetSocketAddress server = new InetSocketAddress(args[1].substring(0, colon),
+            Integer.parseInt(args[1].substring(colon + 1)));
+        double speed = args.length > 2 ? Double.parseDouble(args[2]) : 1.0;
+
+        JournalReplayer replayer = open(Paths.get(args[0]));
+        try (ReplayTarget target = ReplayTarget.udp(server)) {
+            ReplayReport report = replayer.replay(target, speed);
+            log.info("回放完成，server: {}, speed: {}, {}", server, speed, report);
+        }
+    }
+
+    /**
+     * 合并队列中的日志头部记录
+     */
+    private static final class Head implements Comparable<Head> {
+
+        private final CaptureReader reader;
+
+        private final CapturedDatagram datagram;
+
+        private Head(CaptureReader reader, CapturedDatagram datagram) {
+            this.reader = reader;
+            this.datagram = datagram;
+        }
+
+        @Override
+        public int compareTo(Head other) {
+            // 只在同一运行内比较，nanoTime可能回绕，按差值比较
+            return Long.signum(datagram.getArrivalNanos() - other.datagram.getArrivalNanos());
+        }
+    }
+}
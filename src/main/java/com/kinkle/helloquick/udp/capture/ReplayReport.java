@@ -0,0 +1,71 @@
+package com.kinkle.helloquick.udp.capture;
+
+import lombok.Getter;
+
+/**
+ * 回放统计
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+public class ReplayReport {
+
+    /**
+     * 发送的数据报数量
+     */
+    private final long datagrams;
+
+    /**
+     * 发送的字节数
+     */
+    private final long bytes;
+
+    /**
+     * 被过滤条件跳过的数据报数量
+     */
+    private final long skipped;
+
+    /**
+     * 回放耗时（纳秒）
+     */
+    private final long elapsedNanos;
+
+    /**
+     * 相对计划发送时间的最大滞后（纳秒），全速回放时为0
+     */
+    private final long maxLagNanos;
+
+    /**
+     * 构造函数
+     *
+     * @param datagrams 发送的数据报数量
+     * @param bytes 发送的字节数
+     * @param skipped 跳过的数据报数量
+     * @param elapsedNanos 回放耗时（纳秒）
+     * @param maxLagNanos 最大滞后（纳秒）
+     */
+    public ReplayReport(long datagrams, long bytes, long skipped, long elapsedNanos, long maxLagNanos) {
+        this.datagrams = datagrams;
+        this.bytes = bytes;
+        this.skipped = skipped;
+        this.elapsedNanos = elapsedNanos;
+        this.maxLagNanos = maxLagNanos;
+    }
+
+    /**
+     * 每秒发送的数据报数量
+     *
+     * @return 速率
+     */
+    public double getDatagramsPerSecond() {
+        return elapsedNanos > 0 ? datagrams * 1_000_000_000.0 / elapsedNanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("datagrams=%d, bytes=%d, skipped=%d, elapsed=%.1fms, rate=%.0f/s, maxLag=%.1fms",
+            datagrams, bytes, skipped, elapsedNanos / 1e6, getDatagramsPerSecond(), maxLagNanos / 1e6);
+    }
+}
@@ -0,0 +1,78 @@
+package com.kinkle.helloquick.udp.capture;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.socket.DatagramPacket;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.DatagramChannel;
+
+/**
+ * 回放目标
+ *
+ * <p>{@link #udp(InetSocketAddress)} 通过本地套接字把数据报发往运行中的服务端，来源地址变为本地套接字；
+ * {@link #pipeline(Channel)} 把数据报直接注入进程内通道的管道，保留原始来源地址。
+ * 注入运行中的服务端通道时响应会发往原始来源地址，应只对测试通道使用。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@FunctionalInterface
+public interface ReplayTarget extends Closeable {
+
+    /**
+     * 发送一条记录
+     *
+     * @param datagram 记录
+     * @throws IOException 发送失败
+     */
+    void send(CapturedDatagram datagram) throws IOException;
+
+    @Override
+    default void close() throws IOException {
+    }
+
+    /**
+     * 通过UDP发往服务端
+     *
+     * @param server 服务端地址
+     * @return 回放目标，使用后需关闭
+     * @throws IOException 打开套接字失败
+     */
+    static ReplayTarget udp(InetSocketAddress server) throws IOException {
+        DatagramChannel socket = DatagramChannel.open();
+        socket.connect(server);
+        return new ReplayTarget() {
+            @Override
+            public void send(CapturedDatagram datagram) throws IOException {
+                socket.write(datagram.getPayload());
+            }
+
+            @Override
+            public void close() throws IOException {
+                socket.close();
+            }
+        };
+    }
+
+    /**
+     * 注入进程内通道的管道，数据报从管道头部进入
+     *
+     * @param channel 目标通道
+     * @return 回放目标
+     */
+    static ReplayTarget pipeline(Channel channel) {
+        return datagram -> {
+            DatagramPacket packet = new DatagramPacket(Unpooled.copiedBuffer(datagram.getPayload()),
+                (InetSocketAddress) channel.localAddress(), datagram.getSource());
+            if (channel.eventLoop().inEventLoop()) {
+                channel.pipeline().fireChannelRead(packet);
+            } else {
+                channel.eventLoop().execute(() -> channel.pipeline().fireChannelRead(packet));
+            }
+        };
+    }
+}
@@ -0,0 +1,11 @@
+/**
+ * UDP抓包与回放包
+ *
+ * <p>包含把原始数据报写入内存映射日志段的抓包处理器、日志读取器，
+ * 以及按原始或加速节奏把日志重新注入服务端或进程内管道的回放工具。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.kinkle.helloquick.udp.capture;
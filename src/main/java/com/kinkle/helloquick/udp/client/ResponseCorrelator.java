@@ -0,0 +1,278 @@
+package com.kinkle.helloquick.udp.client;
+
+import com.kinkle.helloquick.udp.codec.PacketEnvelope;
+import com.kinkle.helloquick.udp.pacing.PacedFrame;
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.EventLoop;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.collection.LongObjectHashMap;
+import io.netty.util.collection.LongObjectMap;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 请求响应关联处理器
+ *
+ * <p>发出的请求在包头序列号中写入关联ID，未完成的请求按关联ID存放在基本类型长整型键的哈希表中，
+ * 收到来自同一目标且关联ID相同的数据包时完成对应的 {@link CompletableFuture}。
+ * 错误响应（ERROR_RESPONSE）同样回填序列号，会正常完成，由调用方按协议号区分。
+ * 服务端按节奏发送的 {@link PacedFrame} 先回复ACK，再按内层数据包关联。</p>
+ *
+ * <p>哈希表只在通道的事件循环线程上访问，不需要加锁。超时由进程内共享的时间轮触发，
+ * 到期后投递回事件循环处理，每个请求只占用一个时间轮槽位，不占用线程或独立定时器。</p>
+ *
+ * <p>Future在事件循环线程上完成，回调中不要执行阻塞操作。该处理器有状态，每个通道一个实例。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+public class ResponseCorrelator extends SimpleChannelInboundHandler<PacketEnvelope> {
+
+    /**
+     * 共享时间轮：10ms一格，512格
+     */
+    private static final Timer TIMER = new HashedWheelTimer(
+        new DefaultThreadFactory("udp-request-timer", true), 10, TimeUnit.MILLISECONDS, 512);
+
+    /**
+     * 未完成请求，仅在事件循环线程访问
+     */
+    private final LongObjectMap<PendingRequest> pending = new LongObjectHashMap<>();
+
+    /**
+     * 未完成请求数量，包含已提交但尚未登记的请求
+     */
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    /**
+     * 下一个关联ID，随机起点避免重启后与旧响应冲突
+     */
+    private final AtomicInteger nextCorrelationId = new AtomicInteger(ThreadLocalRandom.current().nextInt());
+
+    /**
+     * 未完成请求上限
+     */
+    private final int maxPending;
+
+    /**
+     * 无法关联到请求的数据包的处理回调
+     */
+    private volatile Consumer<PacketEnvelope> unsolicitedHandler;
+
+    private volatile ChannelHandlerContext ctx;
+
+    /**
+     * 构造函数
+     *
+     * @param maxPending 未完成请求上限
+     */
+    public ResponseCorrelator(int maxPending) {
+        this.maxPending = Math.max(1, maxPending);
+    }
+
+    /**
+     * 设置无法关联到请求的数据包（服务端主动推送、重复响应等）的处理回调
+     *
+     * @param unsolicitedHandler 处理回调，在事件循环线程上调用；为null时丢弃
+     */
+    public void setUnsolicitedHandler(Consumer<PacketEnvelope> unsolicitedHandler) {
+        this.unsolicitedHandler = unsolicitedHandler;
+    }
+
+    /**
+     * 发送请求
+     *
+     * <p>会覆盖数据包的序列号。</p>
+     *
+     * @param packet 请求数据包
+     * @param recipient 目标地址，只接受来自该地址的响应
+     * @param timeoutMillis 超时时间（毫秒）
+     * @return 响应Future，超时以 {@link TimeoutException} 异常完成
+     */
+    public CompletableFuture<UdpPacket> request(UdpPacket packet, InetSocketAddress recipient, long timeoutMillis) {
+        ChannelHandlerContext context = ctx;
+        if (context == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Correlator not attached to a channel"));
+        }
+        if (pendingCount.incrementAndGet() > maxPending) {
+            pendingCount.decrementAndGet();
+            return CompletableFuture.failedFuture(new IllegalStateException("Too many pending requests"));
+        }
+
+        long correlationId = nextCorrelationId.getAndIncrement() & 0xFFFFFFFFL;
+        packet.getHeader().setSequence((int) correlationId);
+        PendingRequest request = new PendingRequest(correlationId, recipient);
+        EventLoop eventLoop = context.channel().eventLoop();
+        // 调用方取消时尽早释放槽位
+        request.future.whenComplete((response, error) -> {
+            if (request.future.isCancelled()) {
+                execute(eventLoop, () -> remove(request));
+            }
+        });
+        if (eventLoop.inEventLoop()) {
+            register(context, request, packet, timeoutMillis);
+        } else if (!execute(eventLoop, () -> register(context, request, packet, timeoutMillis))) {
+            pendingCount.decrementAndGet();
+            request.future.completeExceptionally(new ClosedChannelException());
+        }
+        return request.future;
+    }
+
+    /**
+     * 获取未完成请求数量
+     *
+     * @return 数量
+     */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        this.ctx = ctx;
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, PacketEnvelope msg) {
+        if (msg.content().getHeader().getProtocolId() == ProtocolConstants.SystemProtocols.PACED_DATA) {
+            UdpPacket inner;
+            try {
+                inner = PacedFrame.unwrap(msg.content());
+            } catch (IllegalArgumentException e) {
+                log.debug("丢弃格式错误的节奏控制帧，sender: {}, reason: {}", msg.sender(), e.getMessage());
+                return;
+            }
+            ctx.writeAndFlush(new PacketEnvelope(PacedFrame.ack(msg.content()), msg.sender()), ctx.voidPromise());
+            msg = new PacketEnvelope(inner, msg.recipient(), msg.sender(), msg.getReceivedNanos());
+        }
+        long correlationId = msg.content().getHeader().getCorrelationId();
+        PendingRequest request = pending.get(correlationId);
+        if (request != null && request.recipient.equals(msg.sender()) && remove(request)) {
+            request.future.complete(msg.content());
+            return;
+        }
+        Consumer<PacketEnvelope> handler = unsolicitedHandler;
+        if (handler != null) {
+            handler.accept(msg);
+        } else {
+            log.debug("丢弃无法关联的数据包，sender: {}, correlationId: {}", msg.sender(), correlationId);
+        }
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) {
+        List<PendingRequest> requests = new ArrayList<>(pending.values());
+        for (PendingRequest request : requests) {
+            if (remove(request)) {
+                request.future.completeExceptionally(new ClosedChannelException());
+            }
+        }
+        ctx.fireChannelInactive();
+    }
+
+    /**
+     * 登记请求并写出，在事件循环线程执行
+     */
+    private void register(ChannelHandlerContext context, PendingRequest request, UdpPacket packet, long timeoutMillis) {
+        if (request.future.isDone()) {
+            pendingCount.decrementAndGet();
+            return;
+        }
+        if (!context.channel().isActive()) {
+            pendingCount.decrementAndGet();
+            request.future.completeExceptionally(new ClosedChannelException());
+            return;
+        }
+        if (pending.containsKey(request.correlationId)) {
+            // 关联ID回绕后仍有同ID请求未完成
+            pendingCount.decrementAndGet();
+            request.future.completeExceptionally(new IllegalStateException("Correlation id in use"));
+            return;
+        }
+        pending.put(request.correlationId, request);
+        EventLoop eventLoop = context.channel().eventLoop();
+        request.timeout = TIMER.newTimeout(
+            timeout -> execute(eventLoop, () -> expire(request)), timeoutMillis, TimeUnit.MILLISECONDS);
+        context.writeAndFlush(new PacketEnvelope(packet, request.recipient)).addListener(future -> {
+            if (!future.isSuccess() && remove(request)) {
+                request.future.completeExceptionally(future.cause());
+            }
+        });
+    }
+
+    /**
+     * 超时处理，在事件循环线程执行
+     */
+    private void expire(PendingRequest request) {
+        if (remove(request)) {
+            request.future.completeExceptionally(
+                new TimeoutException("Request timed out, correlationId=" + request.correlationId));
+        }
+    }
+
+    /**
+     * 移除请求，在事件循环线程执行
+     *
+     * @return 请求仍在表中并被本次移除时返回true
+     */
+    private boolean remove(PendingRequest request) {
+        if (pending.get(request.correlationId) != request) {
+            return false;
+        }
+        pending.remove(request.correlationId);
+        pendingCount.decrementAndGet();
+        Timeout timeout = request.timeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        return true;
+    }
+
+    private static boolean execute(EventLoop eventLoop, Runnable task) {
+        try {
+            eventLoop.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            // 事件循环已关闭，通道关闭时会统一失败所有请求
+            return false;
+        }
+    }
+
+    /**
+     * 未完成的请求
+     */
+    private static final class PendingRequest {
+
+        private final long correlationId;
+
+        private final InetSocketAddress recipient;
+
+        private final CompletableFuture<UdpPacket> future = new CompletableFuture<>();
+
+        private Timeout timeout;
+
+        private PendingRequest(long correlationId, InetSocketAddress recipient) {
+            this.correlationId = correlationId;
+            this.recipient = recipient;
+        }
+    }
+}
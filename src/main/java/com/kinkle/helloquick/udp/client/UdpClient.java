@@ -0,0 +1,172 @@
+package com.kinkle.helloquick.udp.client;
+
+import com.kinkle.helloquick.udp.codec.PacketEnvelope;
+import com.kinkle.helloquick.udp.codec.UdpPacketDecoder;
+import com.kinkle.helloquick.udp.codec.UdpPacketEncoder;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * UDP客户端
+ *
+ * <p>绑定一个本地临时端口，向固定服务端发送请求并以 {@link CompletableFuture} 返回响应，
+ * 请求与响应通过包头序列号中的关联ID匹配，见 {@link ResponseCorrelator}。</p>
+ *
+ * <p>事件循环组由调用方提供，多个客户端可以共享；所有客户端共享同一个超时时间轮，
+ * 单个客户端的大量并发请求不会额外占用线程或定时器。</p>
+ *
+ * <pre>
+ * UdpClient client = new UdpClient(group, new InetSocketAddress("127.0.0.1", 9090));
+ * client.start();
+ * client.request(new UdpPacket(ProtocolConstants.SystemProtocols.HEARTBEAT, new byte[0]))
+ *     .thenAccept(response -&gt; ...);
+ * </pre>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+public class UdpClient {
+
+    /**
+     * 默认请求超时时间（毫秒）
+     */
+    public static final long DEFAULT_TIMEOUT_MILLIS = 3000;
+
+    /**
+     * 默认未完成请求上限
+     */
+    public static final int DEFAULT_MAX_PENDING = 65536;
+
+    private static final UdpPacketDecoder DECODER = new UdpPacketDecoder();
+
+    private static final UdpPacketEncoder ENCODER = new UdpPacketEncoder();
+
+    private final EventLoopGroup group;
+
+    private final InetSocketAddress server;
+
+    private final long defaultTimeoutMillis;
+
+    private final ResponseCorrelator correlator;
+
+    private Channel channel;
+
+    /**
+     * 构造函数
+     *
+     * @param group 事件循环组
+     * @param server 服务端地址
+     */
+    public UdpClient(EventLoopGroup group, InetSocketAddress server) {
+        this(group, server, DEFAULT_TIMEOUT_MILLIS, DEFAULT_MAX_PENDING);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param group 事件循环组
+     * @param server 服务端地址
+     * @param defaultTimeoutMillis 默认请求超时时间（毫秒）
+     * @param maxPending 未完成请求上限，超出时请求立即失败
+     */
+    public UdpClient(EventLoopGroup group, InetSocketAddress server, long defaultTimeoutMillis, int maxPending) {
+        this.group = group;
+        this.server = server;
+        this.defaultTimeoutMillis = defaultTimeoutMillis;
+        this.correlator = new ResponseCorrelator(maxPending);
+    }
+
+    /**
+     * 绑定本地端口
+     *
+     * @throws InterruptedException 绑定被中断
+     */
+    public void start() throws InterruptedException {
+        channel = new Bootstrap()
+            .group(group)
+            .channel(NioDatagramChannel.class)
+            .handler(new ChannelInitializer<DatagramChannel>() {
+                @Override
+                protected void initChannel(DatagramChannel ch) {
+                    ch.pipeline()
+                        .addLast("decoder", DECODER)
+                        .addLast("encoder", ENCODER)
+                        .addLast("correlator", correlator);
+                }
+            })
+            .bind(0).sync().channel();
+        log.debug("UDP客户端已启动，local: {}, server: {}", channel.localAddress(), server);
+    }
+
+    /**
+     * 发送请求，使用默认超时时间
+     *
+     * @param packet 请求数据包，序列号会被覆盖为关联ID
+     * @return 响应Future
+     */
+    public CompletableFuture<UdpPacket> request(UdpPacket packet) {
+        return request(packet, defaultTimeoutMillis);
+    }
+
+    /**
+     * 发送请求
+     *
+     * @param packet 请求数据包，序列号会被覆盖为关联ID
+     * @param timeoutMillis 超时时间（毫秒）
+     * @return 响应Future，超时以 {@link java.util.concurrent.TimeoutException} 异常完成
+     */
+    public CompletableFuture<UdpPacket> request(UdpPacket packet, long timeoutMillis) {
+        if (channel == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Client not started"));
+        }
+        return correlator.request(packet, server, timeoutMillis);
+    }
+
+    /**
+     * 设置无法关联到请求的数据包的处理回调
+     *
+     * @param handler 处理回调，在事件循环线程上调用
+     */
+    public void onUnsolicited(Consumer<PacketEnvelope> handler) {
+        correlator.setUnsolicitedHandler(handler);
+    }
+
+    /**
+     * 获取未完成请求数量
+     *
+     * @return 数量
+     */
+    public int getPendingCount() {
+        return correlator.getPendingCount();
+    }
+
+    /**
+     * 获取本地地址
+     *
+     * @return 本地地址，未启动时返回null
+     */
+    public InetSocketAddress getLocalAddress() {
+        return channel != null ? (InetSocketAddress) channel.localAddress() : null;
+    }
+
+    /**
+     * 关闭客户端，未完成的请求以 {@link java.nio.channels.ClosedChannelException} 失败
+     */
+    public void close() {
+        if (channel != null) {
+            channel.close().syncUninterruptibly();
+        }
+    }
+}
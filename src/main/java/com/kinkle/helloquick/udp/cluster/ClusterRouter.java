@@ -0,0 +1,424 @@
+package com.kinkle.helloquick.udp.cluster;
+
+import com.kinkle.helloquick.common.service.RedisService;
+import com.kinkle.helloquick.config.AppProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 多节点UDP会话路由器
+ *
+ * <p>多个UDP节点位于同一负载均衡之后时，负载均衡重新分配或客户端NAT映射变化都可能让数据包落到
+ * 不持有该会话状态的节点。路由器以客户端地址为会话标识，在 {@link SessionDirectory} 中记录会话归属：
+ * 第一个收到某客户端数据包的节点声明归属，之后其他节点收到该客户端的数据包时，用 {@link ForwardHopFormat}
+ * 包装后经节点间转发端口发给归属节点，归属节点按正常流程处理，响应沿原路发回收包节点，
+ * 再从服务端口发给客户端，客户端看到的始终是同一个服务地址。</p>
+ *
+ * <p>IO线程上只读 {@link OwnerNearCache}：命中时不访问目录；记录过期时继续按旧值路由，并在查询线程上刷新，
+ * 归属本节点的会话借这次刷新续期。只有从未见过的客户端的首批数据包需要等待一次目录查询，
+ * 查询在有界线程池上执行，队列满或目录不可用时数据包在本节点处理，退化为单节点行为。</p>
+ *
+ * <p>节点每隔 {@code heartbeatInterval} 上报心跳并拉取存活节点表。归属节点心跳超时后，
+ * 收到其会话数据包的节点接管归属。转发端口只接受存活节点发来的帧，应绑定在内网地址上。</p>
+ *
+ * <p>仅在 {@code app.udp.cluster.enabled=true} 时启用。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.udp", name = "enabled", havingValue = "true")
+public class ClusterRouter {
+
+    private final AppProperties.Udp.Cluster config;
+
+    private final SessionDirectory directory;
+
+    private final String nodeId;
+
+    private final InetSocketAddress advertiseAddress;
+
+    private final OwnerNearCache nearCache;
+
+    private final ThreadPoolExecutor lookupExecutor;
+
+    /**
+     * 进行中的目录查询，同一客户端的数据包共享一次查询
+     */
+    private final ConcurrentMap<InetSocketAddress, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder nearCacheHits = new LongAdder();
+
+    private final LongAdder nearCacheMisses = new LongAdder();
+
+    private final LongAdder lookups = new LongAdder();
+
+    private final LongAdder lookupsRejected = new LongAdder();
+
+    private final LongAdder takeOvers = new LongAdder();
+
+    private final LongAdder forwarded = new LongAdder();
+
+    private final LongAdder forwardReceived = new LongAdder();
+
+    private final LongAdder replies = new LongAdder();
+
+    /**
+     * 除本节点外的存活节点
+     */
+    private volatile Map<String, InetSocketAddress> peers = Map.of();
+
+    /**
+     * 存活节点的转发地址，用于校验转发帧来源
+     */
+    private volatile Set<InetSocketAddress> peerAddresses = Set.of();
+
+    private volatile List<Channel> publicChannels = List.of();
+
+    private volatile Channel forwardChannel;
+
+    private ScheduledExecutorService heartbeatExecutor;
+
+    /**
+     * 构造函数
+     *
+     * @param appProperties 应用配置
+     * @param redisService Redis服务
+     * @param registry 指标注册表
+     */
+    @Autowired
+    public ClusterRouter(AppProperties appProperties, RedisService redisService, MeterRegistry registry) {
+        this(appProperties.getUdp().getCluster(), "local".equalsIgnoreCase(appProperties.getUdp().getCluster().getDirectory())
+            ? new LocalSessionDirectory() : new RedisSessionDirectory(redisService), registry);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param config 集群配置
+     * @param directory 会话归属目录
+     * @param registry 指标注册表
+     */
+    public ClusterRouter(AppProperties.Udp.Cluster config, SessionDirectory directory, MeterRegistry registry) {
+        this.config = config;
+        this.directory = directory;
+        this.advertiseAddress = InetSocketAddress.createUnresolved(config.getAdvertiseHost(), config.getForwardPort());
+        this.nodeId = config.getNodeId() == null || config.getNodeId().isBlank()
+            ? config.getAdvertiseHost() + ":" + config.getForwardPort() : config.getNodeId();
+        this.nearCache = new OwnerNearCache(config.getNearCacheTtl(), config.getNearCacheMaxEntries());
+        this.lookupExecutor = new ThreadPoolExecutor(config.getLookupThreads(), config.getLookupThreads(),
+            0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(config.getLookupQueueSize()),
+            new DefaultThreadFactory("udp-cluster-lookup", true));
+
+        counter(registry, "udp.cluster.nearcache", "归属近端缓存命中", "hit", nearCacheHits);
+        counter(registry, "udp.cluster.nearcache", "归属近端缓存未命中", "miss", nearCacheMisses);
+        counter(registry, "udp.cluster.lookups", "目录查询次数", null, lookups);
+        counter(registry, "udp.cluster.lookups.rejected", "查询队列满在本节点处理的数据包", null, lookupsRejected);
+        counter(registry, "udp.cluster.takeovers", "接管下线节点的会话数", null, takeOvers);
+        counter(registry, "udp.cluster.forwarded", "转发给归属节点的数据包", null, forwarded);
+        counter(registry, "udp.cluster.forward.received", "其他节点转发来的数据包", null, forwardReceived);
+        counter(registry, "udp.cluster.replies", "代归属节点发给客户端的响应", null, replies);
+        Gauge.builder("udp.cluster.nearcache.size", nearCache, OwnerNearCache::size)
+            .description("归属近端缓存条数")
+            .register(registry);
+        Gauge.builder("udp.cluster.peers", this, router -> router.peers.size())
+            .description("存活的其他节点数")
+            .register(registry);
+    }
+
+    /**
+     * 启动心跳
+     */
+    @PostConstruct
+    public void start() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        refreshNodes();
+        heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(
+            new DefaultThreadFactory("udp-cluster-heartbeat", true));
+        long interval = config.getHeartbeatInterval();
+        heartbeatExecutor.scheduleWithFixedDelay(this::heartbeatQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("UDP会话路由已启用: nodeId={}, forward={}, directory={}", nodeId, advertiseAddress,
+            directory.getClass().getSimpleName());
+    }
+
+    /**
+     * 停止心跳和查询线程
+     */
+    @PreDestroy
+    public void stop() {
+        if (heartbeatExecutor != null) {
+            heartbeatExecutor.shutdownNow();
+        }
+        lookupExecutor.shutdownNow();
+    }
+
+    /**
+     * 是否启用
+     *
+     * @return 是否启用
+     */
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * 获取本节点ID
+     *
+     * @return 节点ID
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 关联服务端口通道和转发通道，由 {@code UdpServer} 在绑定完成后调用
+     *
+     * @param publicChannels 服务端口通道，用于发送代归属节点转回的响应
+     * @param forwardChannel 节点间转发通道
+     */
+    public void attach(List<Channel> publicChannels, Channel forwardChannel) {
+        this.publicChannels = List.copyOf(publicChannels);
+        this.forwardChannel = forwardChannel;
+    }
+
+    /**
+     * 从近端缓存读取归属，IO线程调用
+     * 记录过期时返回旧值并提交后台刷新
+     *
+     * @param client 客户端地址
+     * @return 归属节点ID，未缓存时为null
+     */
+    public String cachedOwner(InetSocketAddress client) {
+        OwnerNearCache.Entry entry = nearCache.get(client);
+        if (entry == null) {
+            nearCacheMisses.increment();
+            return null;
+        }
+        nearCacheHits.increment();
+        if (!entry.isFresh(System.nanoTime()) && entry.startRefresh()) {
+            try {
+                lookupExecutor.execute(() -> refresh(client));
+            } catch (RejectedExecutionException e) {
+                entry.cancelRefresh();
+            }
+        }
+        return entry.getOwner();
+    }
+
+    /**
+     * 异步查询归属，同一客户端并发的查询合并为一次
+     *
+     * @param client 客户端地址
+     * @return 归属节点ID，不会异常完成；查询队列已满时返回null
+     */
+    public CompletableFuture<String> resolve(InetSocketAddress client) {
+        CompletableFuture<String> future = inFlight.get(client);
+        if (future != null) {
+            return future;
+        }
+        future = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(client, future);
+        if (existing != null) {
+            return existing;
+        }
+        CompletableFuture<String> pending = future;
+        try {
+            lookupExecutor.execute(() -> {
+                String owner = lookupOwner(client);
+                // 等待中的数据包由 SessionRouteHandler 按到达顺序排队，这里的先后只决定查询何时可以重新发起
+                nearCache.put(client, owner, System.nanoTime());
+                inFlight.remove(client, pending);
+                pending.complete(owner);
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(client, pending);
+            lookupsRejected.increment();
+            return null;
+        }
+        return pending;
+    }
+
+    /**
+     * 是否为本节点
+     *
+     * @param owner 节点ID
+     * @return 是否为本节点
+     */
+    public boolean isLocal(String owner) {
+        return nodeId.equals(owner);
+    }
+
+    /**
+     * 是否为存活节点的转发地址
+     *
+     * @param sender 发送方地址
+     * @return 是否为存活节点
+     */
+    public boolean isPeer(InetSocketAddress sender) {
+        return peerAddresses.contains(sender);
+    }
+
+    /**
+     * 把数据报转发给归属节点
+     * 归属节点不在存活节点表中时不转发，并清除近端缓存，下一个数据包重新查询并接管
+     *
+     * @param client 客户端地址
+     * @param payload 原始数据报，不改变读索引，由调用方释放
+     * @param owner 归属节点ID
+     * @return 是否已转发
+     */
+    public boolean forward(InetSocketAddress client, ByteBuf payload, String owner) {
+        InetSocketAddress peer = peers.get(owner);
+        Channel channel = forwardChannel;
+        if (peer == null || channel == null) {
+            nearCache.invalidate(client);
+            return false;
+        }
+        ByteBuf frame = ForwardHopFormat.encode(channel.alloc(), ForwardHopFormat.TYPE_FORWARD, client, payload);
+        // 从管道最前面写出，转发帧不经过编码器和批量写出处理器
+        channel.pipeline().firstContext().writeAndFlush(new DatagramPacket(frame, peer), channel.voidPromise());
+        forwarded.increment();
+        return true;
+    }
+
+    /**
+     * 从服务端口把归属节点的响应发给客户端
+     *
+     * @param client 客户端地址
+     * @param payload 响应数据报，由本方法负责释放
+     */
+    public void deliverReply(InetSocketAddress client, ByteBuf payload) {
+        List<Channel> channels = publicChannels;
+        if (channels.isEmpty()) {
+            payload.release();
+            return;
+        }
+        Channel channel = channels.get(Math.floorMod(client.hashCode(), channels.size()));
+        channel.writeAndFlush(new DatagramPacket(payload, client), channel.voidPromise());
+        replies.increment();
+    }
+
+    /**
+     * 记录收到一个转发来的数据包
+     */
+    void onForwardReceived() {
+        forwardReceived.increment();
+    }
+
+    /**
+     * 上报心跳并刷新存活节点表
+     */
+    public void refreshNodes() {
+        long now = System.currentTimeMillis();
+        directory.heartbeat(nodeId, advertiseAddress, now);
+        Map<String, InetSocketAddress> live = directory.liveNodes(now, config.getNodeTimeout());
+        if (live == null) {
+            return;
+        }
+        Map<String, InetSocketAddress> others = new HashMap<>();
+        live.forEach((id, address) -> {
+            if (!id.equals(nodeId)) {
+                others.put(id, address.isUnresolved()
+                    ? new InetSocketAddress(address.getHostString(), address.getPort()) : address);
+            }
+        });
+        peers = Map.copyOf(others);
+        peerAddresses = Set.copyOf(others.values());
+    }
+
+    /**
+     * 获取近端缓存
+     *
+     * @return 近端缓存
+     */
+    public OwnerNearCache getNearCache() {
+        return nearCache;
+    }
+
+    private void heartbeatQuietly() {
+        try {
+            refreshNodes();
+            nearCache.evictExpired(System.nanoTime());
+        } catch (Exception e) {
+            log.warn("UDP集群心跳失败: {}", e.getMessage());
+        }
+    }
+
+    private void refresh(InetSocketAddress client) {
+        nearCache.put(client, lookupOwner(client), System.nanoTime());
+    }
+
+    /**
+     * 查询并声明归属，目录不可用时归属本节点
+     */
+    private String lookupOwner(InetSocketAddress client) {
+        lookups.increment();
+        String sessionKey = client.getAddress().getHostAddress() + ":" + client.getPort();
+        try {
+            String owner = directory.claim(sessionKey, nodeId, config.getOwnerTtl());
+            if (owner == null) {
+                return nodeId;
+            }
+            if (owner.equals(nodeId) || peers.containsKey(owner)) {
+                return owner;
+            }
+            // 归属节点不在本地存活表中，先刷新一次节点表，排除新加入节点尚未被看到的情况
+            refreshNodes();
+            if (peers.containsKey(owner)) {
+                return owner;
+            }
+            if (directory.takeOver(sessionKey, owner, nodeId, config.getOwnerTtl())) {
+                takeOvers.increment();
+                log.info("接管下线节点的UDP会话: client={}, from={}", client, owner);
+                return nodeId;
+            }
+            // 其他节点已先接管或归属已过期，重新声明一次，以目录中的结果为准
+            String current = directory.claim(sessionKey, nodeId, config.getOwnerTtl());
+            return current == null ? nodeId : current;
+        } catch (Exception e) {
+            log.warn("查询UDP会话归属失败，在本节点处理: client={}, error={}", client, e.getMessage());
+            return nodeId;
+        }
+    }
+
+    private static void counter(MeterRegistry registry, String name, String description, String result,
+                                LongAdder adder) {
+        FunctionCounter.Builder<LongAdder> builder = FunctionCounter.builder(name, adder, LongAdder::sum)
+            .description(description);
+        if (result != null) {
+            builder.tag("result", result);
+        }
+        builder.register(registry);
+    }
+}
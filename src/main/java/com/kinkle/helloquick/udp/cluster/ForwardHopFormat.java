@@ -0,0 +1,129 @@
+package com.kinkle.helloquick.udp.cluster;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+
+/**
+ * 节点间转发帧格式
+ *
+ * <p>非归属节点把客户端的原始数据报原样包进转发帧发给归属节点，归属节点的响应也以同样的帧发回，
+ * 再由收包节点从服务端口发给客户端。帧头只携带客户端地址，布局如下（大端）：</p>
+ * <pre>
+ * 0  魔数（1字节）：0xC7
+ * 1  帧类型（1字节）：1为转发，2为响应
+ * 2  地址长度（1字节）：4或16
+ * 3  客户端IP地址（4或16字节）
+ * n  客户端端口（2字节）
+ * n+2 原始数据报
+ * </pre>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class ForwardHopFormat {
+
+    /**
+     * 魔数
+     */
+    public static final byte MAGIC = (byte) 0xC7;
+
+    /**
+     * 转发帧：收包节点发往归属节点
+     */
+    public static final int TYPE_FORWARD = 1;
+
+    /**
+     * 响应帧：归属节点发回收包节点
+     */
+    public static final int TYPE_REPLY = 2;
+
+    /**
+     * IPv4帧头长度
+     */
+    public static final int IPV4_HEADER_LENGTH = 3 + 4 + 2;
+
+    /**
+     * IPv6帧头长度
+     */
+    public static final int IPV6_HEADER_LENGTH = 3 + 16 + 2;
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private ForwardHopFormat() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * 编码转发帧
+     *
+     * @param allocator 缓冲区分配器
+     * @param type 帧类型
+     * @param client 客户端地址
+     * @param payload 原始数据报，不改变读索引
+     * @return 完整帧，调用方负责释放
+     */
+    public static ByteBuf encode(ByteBufAllocator allocator, int type, InetSocketAddress client, ByteBuf payload) {
+        if (type != TYPE_FORWARD && type != TYPE_REPLY) {
+            throw new IllegalArgumentException("Invalid forward frame type: " + type);
+        }
+        byte[] address = client.getAddress().getAddress();
+        int length = payload.readableBytes();
+        ByteBuf frame = allocator.directBuffer(3 + address.length + 2 + length);
+        frame.writeByte(MAGIC);
+        frame.writeByte(type);
+        frame.writeByte(address.length);
+        frame.writeBytes(address);
+        frame.writeShort(client.getPort());
+        frame.writeBytes(payload, payload.readerIndex(), length);
+        return frame;
+    }
+
+    /**
+     * 查看帧类型，不改变读索引
+     *
+     * @param frame 数据报内容
+     * @return 帧类型，不是转发帧时返回-1
+     */
+    public static int peekType(ByteBuf frame) {
+        if (frame.readableBytes() < IPV4_HEADER_LENGTH || frame.getByte(frame.readerIndex()) != MAGIC) {
+            return -1;
+        }
+        int type = frame.getUnsignedByte(frame.readerIndex() + 1);
+        return type == TYPE_FORWARD || type == TYPE_REPLY ? type : -1;
+    }
+
+    /**
+     * 读取帧头中的客户端地址，读索引移到原始数据报开头
+     *
+     * @param frame 转发帧
+     * @return 客户端地址
+     */
+    public static InetSocketAddress readClient(ByteBuf frame) {
+        if (peekType(frame) < 0) {
+            throw new IllegalArgumentException("Not a forward frame");
+        }
+        int addressLength = frame.getUnsignedByte(frame.readerIndex() + 2);
+        if (addressLength != 4 && addressLength != 16) {
+            throw new IllegalArgumentException("Invalid address length: " + addressLength);
+        }
+        if (frame.readableBytes() < 3 + addressLength + 2) {
+            throw new IllegalArgumentException("Truncated forward frame");
+        }
+        frame.skipBytes(3);
+        byte[] address = new byte[addressLength];
+        frame.readBytes(address);
+        int port = frame.readUnsignedShort();
+        try {
+            return new InetSocketAddress(InetAddress.getByAddress(address), port);
+        } catch (UnknownHostException e) {
+            // 长度已校验，不会发生
+            throw new IllegalArgumentException("Invalid address", e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.kinkle.helloquick.udp.cluster;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.util.ReferenceCountUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 节点间转发处理器
+ *
+ * <p>位于转发端口管道最前面，后面接与服务端口相同的解码器、编码器和协议分发器。</p>
+ * <ul>
+ *   <li>转发帧：还原为发送方为客户端地址的数据报交给解码器，与客户端直接发来的数据包走同一套处理流程；
+ *   同时记下客户端对应的收包节点</li>
+ *   <li>响应帧：交给 {@link ClusterRouter#deliverReply} 从服务端口发给客户端</li>
+ *   <li>出站数据报：接收方是经转发来的客户端时包装成响应帧发回收包节点</li>
+ * </ul>
+ *
+ * <p>只接受存活节点发来的帧，其余数据报直接丢弃。客户端与收包节点的对应关系按最近访问顺序淘汰，
+ * 处理器有状态，每个通道一个实例。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+public class ForwardHopHandler extends ChannelDuplexHandler {
+
+    private final ClusterRouter router;
+
+    /**
+     * 客户端地址到收包节点转发地址的映射
+     */
+    private final Map<InetSocketAddress, InetSocketAddress> origins;
+
+    private long rejectedCount;
+
+    /**
+     * 构造函数
+     *
+     * @param router 会话路由器
+     * @param maxOrigins 记录的客户端条数上限
+     */
+    public ForwardHopHandler(ClusterRouter router, int maxOrigins) {
+        this.router = router;
+        this.origins = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<InetSocketAddress, InetSocketAddress> eldest) {
+                return size() > maxOrigins;
+            }
+        };
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (!(msg instanceof DatagramPacket)) {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+        DatagramPacket packet = (DatagramPacket) msg;
+        ByteBuf content = packet.content();
+        int type = ForwardHopFormat.peekType(content);
+        if (type < 0 || !router.isPeer(packet.sender())) {
+            if (++rejectedCount == 1 || rejectedCount % 1000 == 0) {
+                log.warn("丢弃非存活节点发来或格式错误的转发帧: sender={}, rejected={}", packet.sender(), rejectedCount);
+            }
+            packet.release();
+            return;
+        }
+        InetSocketAddress client;
+        try {
+            client = ForwardHopFormat.readClient(content);
+        } catch (IllegalArgumentException e) {
+            log.debug("转发帧解析失败: sender={}, error={}", packet.sender(), e.getMessage());
+            packet.release();
+            return;
+        }
+        if (type == ForwardHopFormat.TYPE_REPLY) {
+            router.deliverReply(client, content);
+            return;
+        }
+        origins.put(client, packet.sender());
+        router.onForwardReceived();
+        ctx.fireChannelRead(new DatagramPacket(content, packet.recipient(), client));
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        if (!(msg instanceof DatagramPacket)) {
+            ctx.write(msg, promise);
+            return;
+        }
+        DatagramPacket packet = (DatagramPacket) msg;
+        InetSocketAddress origin = origins.get(packet.recipient());
+        if (origin == null) {
+            // 转发帧由转发通道自身发出时接收方就是节点地址，原样写出
+            ctx.write(msg, promise);
+            return;
+        }
+        ByteBuf frame;
+        try {
+            frame = ForwardHopFormat.encode(ctx.alloc(), ForwardHopFormat.TYPE_REPLY, packet.recipient(), packet.content());
+        } finally {
+            ReferenceCountUtil.release(packet);
+        }
+        ctx.write(new DatagramPacket(frame, origin), promise);
+    }
+}
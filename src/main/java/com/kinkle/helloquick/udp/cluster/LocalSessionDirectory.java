@@ -0,0 +1,116 @@
+package com.kinkle.helloquick.udp.cluster;
+
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 进程内会话归属目录
+ *
+ * <p>与 {@link RedisSessionDirectory} 语义一致的内存实现，多个路由器共享同一个实例即可在单个进程内
+ * 模拟多个节点，用于测试和不依赖Redis的单机调试。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class LocalSessionDirectory implements SessionDirectory {
+
+    private final ConcurrentMap<String, Owner> owners = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Node> nodes = new ConcurrentHashMap<>();
+
+    private final LongSupplier clock;
+
+    /**
+     * 构造函数，使用系统时钟
+     */
+    public LocalSessionDirectory() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param clock 毫秒时钟，用于判断归属过期
+     */
+    public LocalSessionDirectory(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public String claim(String sessionKey, String nodeId, long ttlSeconds) {
+        long now = clock.getAsLong();
+        long expiresAt = now + ttlSeconds * 1000;
+        Owner owner = owners.compute(sessionKey, (key, current) -> {
+            if (current == null || now >= current.expiresAt || current.nodeId.equals(nodeId)) {
+                return new Owner(nodeId, expiresAt);
+            }
+            return current;
+        });
+        return owner.nodeId;
+    }
+
+    @Override
+    public boolean takeOver(String sessionKey, String expectedOwner, String nodeId, long ttlSeconds) {
+        long now = clock.getAsLong();
+        Owner replacement = new Owner(nodeId, now + ttlSeconds * 1000);
+        Owner owner = owners.computeIfPresent(sessionKey, (key, current) ->
+            now < current.expiresAt && current.nodeId.equals(expectedOwner) ? replacement : current);
+        return owner == replacement;
+    }
+
+    @Override
+    public void heartbeat(String nodeId, InetSocketAddress forwardAddress, long nowMillis) {
+        nodes.put(nodeId, new Node(forwardAddress, nowMillis));
+    }
+
+    @Override
+    public Map<String, InetSocketAddress> liveNodes(long nowMillis, long timeoutMillis) {
+        Map<String, InetSocketAddress> live = new HashMap<>();
+        nodes.forEach((nodeId, node) -> {
+            if (nowMillis - node.lastSeen <= timeoutMillis) {
+                live.put(nodeId, node.address);
+            }
+        });
+        return live;
+    }
+
+    /**
+     * 获取会话当前归属，不续期
+     *
+     * @param sessionKey 会话标识
+     * @return 归属节点ID，无归属或已过期时为null
+     */
+    public String ownerOf(String sessionKey) {
+        Owner owner = owners.get(sessionKey);
+        return owner == null || clock.getAsLong() >= owner.expiresAt ? null : owner.nodeId;
+    }
+
+    private static final class Owner {
+
+        private final String nodeId;
+
+        private final long expiresAt;
+
+        private Owner(String nodeId, long expiresAt) {
+            this.nodeId = nodeId;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class Node {
+
+        private final InetSocketAddress address;
+
+        private final long lastSeen;
+
+        private Node(InetSocketAddress address, long lastSeen) {
+            this.address = address;
+            this.lastSeen = lastSeen;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.kinkle.helloquick.udp.cluster;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 会话归属近端缓存
+ *
+ * <p>以客户端地址为键缓存归属节点ID，IO线程上的路由判断只读这份缓存。记录过期后不立即删除：
+ * 路由器继续按旧值处理数据包，同时由第一个看到过期的线程发起一次后台刷新，
+ * 因此活跃会话的数据包永远不会在IO线程上等待目录查询。过期超过一个有效期仍未刷新的记录
+ * 说明会话已不活跃，由 {@link #evictExpired(long)} 清除。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class OwnerNearCache {
+
+    /**
+     * 有效期（纳秒）
+     */
+    private final long ttlNanos;
+
+    /**
+     * 条数上限
+     */
+    private final int maxEntries;
+
+    private final ConcurrentMap<InetSocketAddress, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 构造函数
+     *
+     * @param ttlMillis 有效期（毫秒）
+     * @param maxEntries 条数上限
+     */
+    public OwnerNearCache(long ttlMillis, int maxEntries) {
+        this.ttlNanos = Math.max(1, ttlMillis) * 1_000_000L;
+        this.maxEntries = Math.max(0, maxEntries);
+    }
+
+    /**
+     * 获取缓存记录，可能已过期
+     *
+     * @param client 客户端地址
+     * @return 缓存记录，不存在时为null
+     */
+    public Entry get(InetSocketAddress client) {
+        return entries.get(client);
+    }
+
+    /**
+     * 写入归属
+     *
+     * @param client 客户端地址
+     * @param owner 归属节点ID
+     * @param nowNanos 当前时间（纳秒）
+     * @return 是否已写入，超过条数上限时不写入
+     */
+    public boolean put(InetSocketAddress client, String owner, long nowNanos) {
+        if (entries.size() >= maxEntries && !entries.containsKey(client)) {
+            evictExpired(nowNanos);
+            if (entries.size() >= maxEntries) {
+                return false;
+            }
+        }
+        entries.put(client, new Entry(owner, nowNanos + ttlNanos));
+        return true;
+    }
+
+    /**
+     * 移除归属
+     *
+     * @param client 客户端地址
+     */
+    public void invalidate(InetSocketAddress client) {
+        entries.remove(client);
+    }
+
+    /**
+     * 清除过期超过一个有效期的记录
+     *
+     * @param nowNanos 当前时间（纳秒）
+     * @return 清除的条数
+     */
+    public int evictExpired(long nowNanos) {
+        int before = entries.size();
+        entries.values().removeIf(entry -> nowNanos - entry.expiresAt >= ttlNanos);
+        return Math.max(0, before - entries.size());
+    }
+
+    /**
+     * 获取当前条数
+     *
+     * @return 条数
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 缓存记录
+     */
+    public static final class Entry {
+
+        private final String owner;
+
+        private final long expiresAt;
+
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(String owner, long expiresAt) {
+            this.owner = owner;
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * 获取归属节点ID
+         *
+         * @return 节点ID
+         */
+        public String getOwner() {
+            return owner;
+        }
+
+        /**
+         * 是否仍在有效期内
+         *
+         * @param nowNanos 当前时间（纳秒）
+         * @return 是否有效
+         */
+        public boolean isFresh(long nowNanos) {
+            return nowNanos - expiresAt < 0;
+        }
+
+        /**
+         * 标记开始刷新，同一条记录只有第一次调用返回true
+         *
+         * @return 是否由调用方负责刷新
+         */
+        public boolean startRefresh() {
+            return refreshing.compareAndSet(false, true);
+        }
+
+        /**
+         * 刷新未能提交时撤销标记
+         */
+        public void cancelRefresh() {
+            refreshing.set(false);
+        }
+    }
+}
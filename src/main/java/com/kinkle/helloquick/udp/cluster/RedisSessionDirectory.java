@@ -0,0 +1,110 @@
+package com.kinkle.helloquick.udp.cluster;
+
+import com.kinkle.helloquick.common.service.RedisService;
+import com.kinkle.helloquick.common.util.CacheKeyUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 基于Redis的会话归属目录
+ *
+ * <p>会话归属存为字符串 {@link CacheKeyUtil#getSessionOwnerKey(String)}，值为节点ID，
+ * 首次声明用SET NX写入，归属节点续期只刷新过期时间。节点表存为Hash {@link CacheKeyUtil#getSessionNodesKey()}，
+ * 字段为节点ID，值为 {@code host:port@最近心跳毫秒时间戳}，心跳超时十倍以上的节点在读取时清除。</p>
+ *
+ * <p>接管归属用Lua脚本比较并写入，只有归属仍是下线节点时才替换；两个节点同时接管同一会话时
+ * 只有先执行的一个成功，另一个重新声明后得到新的归属节点。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+public class RedisSessionDirectory implements SessionDirectory {
+
+    /**
+     * 节点表中心跳超时多少倍后清除
+     */
+    private static final int NODE_PURGE_FACTOR = 10;
+
+    private final RedisService redisService;
+
+    /**
+     * 构造函数
+     *
+     * @param redisService Redis服务
+     */
+    public RedisSessionDirectory(RedisService redisService) {
+        this.redisService = redisService;
+    }
+
+    @Override
+    public String claim(String sessionKey, String nodeId, long ttlSeconds) {
+        String key = CacheKeyUtil.getSessionOwnerKey(sessionKey);
+        if (redisService.setIfAbsent(key, nodeId, ttlSeconds)) {
+            return nodeId;
+        }
+        Object owner = redisService.get(key);
+        if (owner == null) {
+            // 键刚好过期或Redis不可用，再尝试一次写入
+            return redisService.setIfAbsent(key, nodeId, ttlSeconds) ? nodeId : null;
+        }
+        String ownerId = owner.toString();
+        if (ownerId.equals(nodeId)) {
+            redisService.expire(key, ttlSeconds);
+        }
+        return ownerId;
+    }
+
+    @Override
+    public boolean takeOver(String sessionKey, String expectedOwner, String nodeId, long ttlSeconds) {
+        return redisService.compareAndSet(CacheKeyUtil.getSessionOwnerKey(sessionKey), expectedOwner, nodeId, ttlSeconds);
+    }
+
+    @Override
+    public void heartbeat(String nodeId, InetSocketAddress forwardAddress, long nowMillis) {
+        String value = forwardAddress.getHostString() + ":" + forwardAddress.getPort() + "@" + nowMillis;
+        redisService.hset(CacheKeyUtil.getSessionNodesKey(), nodeId, value);
+    }
+
+    @Override
+    public Map<String, InetSocketAddress> liveNodes(long nowMillis, long timeoutMillis) {
+        String key = CacheKeyUtil.getSessionNodesKey();
+        Map<String, Object> entries;
+        try {
+            entries = redisService.hmget(key);
+        } catch (Exception e) {
+            log.warn("读取UDP集群节点表失败: {}", e.getMessage());
+            return null;
+        }
+        Map<String, InetSocketAddress> live = new HashMap<>();
+        for (Map.Entry<String, Object> entry : entries.entrySet()) {
+            String value = String.valueOf(entry.getValue());
+            int at = value.lastIndexOf('@');
+            int colon = value.lastIndexOf(':', at);
+            if (at < 0 || colon < 0) {
+                redisService.hdel(key, entry.getKey());
+                continue;
+            }
+            long lastSeen;
+            int port;
+            try {
+                lastSeen = Long.parseLong(value.substring(at + 1));
+                port = Integer.parseInt(value.substring(colon + 1, at));
+            } catch (NumberFormatException e) {
+                redisService.hdel(key, entry.getKey());
+                continue;
+            }
+            long age = nowMillis - lastSeen;
+            if (age <= timeoutMillis) {
+                live.put(entry.getKey(), new InetSocketAddress(value.substring(0, colon), port));
+            } else if (age > timeoutMillis * NODE_PURGE_FACTOR) {
+                redisService.hdel(key, entry.getKey());
+            }
+        }
+        return live;
+    }
+}
@@ -0,0 +1,58 @@
+package com.kinkle.helloquick.udp.cluster;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+
+/**
+ * UDP会话归属目录
+ *
+ * <p>记录每个UDP会话（以客户端地址标识）由哪个节点处理，以及各节点的转发地址和最近心跳。
+ * 目录操作可能是阻塞的网络调用，只能在查询线程或心跳线程上执行，不能在IO线程上调用。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public interface SessionDirectory {
+
+    /**
+     * 声明会话归属
+     * 会话尚无归属时归属到指定节点；已归属本节点时续期；已归属其他节点时不修改
+     *
+     * @param sessionKey 会话标识
+     * @param nodeId 节点ID
+     * @param ttlSeconds 归属有效期（秒）
+     * @return 当前归属节点ID，目录不可用时为null
+     */
+    String claim(String sessionKey, String nodeId, long ttlSeconds);
+
+    /**
+     * 接管会话归属，用于原归属节点已下线的情况
+     * 仅当会话仍归属于期望的下线节点时替换，比较与替换是原子的
+     *
+     * @param sessionKey 会话标识
+     * @param expectedOwner 期望的当前归属节点ID
+     * @param nodeId 节点ID
+     * @param ttlSeconds 归属有效期（秒）
+     * @return 是否已接管；归属已变更、已过期或目录不可用时返回false
+     */
+    boolean takeOver(String sessionKey, String expectedOwner, String nodeId, long ttlSeconds);
+
+    /**
+     * 上报节点心跳
+     *
+     * @param nodeId 节点ID
+     * @param forwardAddress 节点转发地址
+     * @param nowMillis 当前时间（毫秒时间戳）
+     */
+    void heartbeat(String nodeId, InetSocketAddress forwardAddress, long nowMillis);
+
+    /**
+     * 获取存活节点
+     *
+     * @param nowMillis 当前时间（毫秒时间戳）
+     * @param timeoutMillis 心跳超时（毫秒）
+     * @return 节点ID到转发地址的映射，目录不可用时为null
+     */
+    Map<String, InetSocketAddress> liveNodes(long nowMillis, long timeoutMillis);
+}
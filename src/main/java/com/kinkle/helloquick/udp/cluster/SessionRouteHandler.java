@@ -0,0 +1,132 @@
+package com.kinkle.helloquick.udp.cluster;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.channel.unix.SegmentedDatagramPacket;
+import io.netty.util.AttributeKey;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 会话路由处理器
+ *
+ * <p>位于服务端口管道中FEC恢复和解码器之前，按 {@link ClusterRouter} 的归属判断决定数据报
+ * 在本节点处理还是转发给归属节点。近端缓存命中时在IO线程上直接判断；未命中时数据报进入该客户端在本通道上的
+ * 等待队列，只在队列上登记一次查询回调，查询完成后回到本通道的事件循环按队列顺序处理。
+ * 队列存在期间，同一客户端后到的数据报即使近端缓存已经命中也继续排队，不会越过先到的数据报。
+ * 顺序不依赖 {@link CompletableFuture} 回调的执行顺序。GRO合并的数据报需要转发时按分段逐个转发。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@ChannelHandler.Sharable
+public class SessionRouteHandler extends ChannelInboundHandlerAdapter {
+
+    /**
+     * 每个通道上等待归属查询的数据报，只在该通道的事件循环上访问
+     */
+    private static final AttributeKey<Map<InetSocketAddress, ArrayDeque<DatagramPacket>>> WAITING =
+        AttributeKey.valueOf(SessionRouteHandler.class, "waiting");
+
+    private final ClusterRouter router;
+
+    /**
+     * 构造函数
+     *
+     * @param router 会话路由器
+     */
+    public SessionRouteHandler(ClusterRouter router) {
+        this.router = router;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (!(msg instanceof DatagramPacket)) {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+        DatagramPacket packet = (DatagramPacket) msg;
+        InetSocketAddress client = packet.sender();
+        Map<InetSocketAddress, ArrayDeque<DatagramPacket>> waiting = waiting(ctx);
+        ArrayDeque<DatagramPacket> queue = waiting.isEmpty() ? null : waiting.get(client);
+        if (queue != null) {
+            queue.add(packet);
+            return;
+        }
+        String owner = router.cachedOwner(client);
+        if (owner != null) {
+            route(ctx, packet, owner);
+            return;
+        }
+        CompletableFuture<String> lookup = router.resolve(client);
+        if (lookup == null) {
+            ctx.fireChannelRead(packet);
+            return;
+        }
+        queue = new ArrayDeque<>();
+        queue.add(packet);
+        waiting.put(client, queue);
+        lookup.whenComplete((resolved, error) -> ctx.executor().execute(() -> {
+            String target = resolved != null ? resolved : router.getNodeId();
+            ArrayDeque<DatagramPacket> pending = waiting.remove(client);
+            DatagramPacket next;
+            while ((next = pending.poll()) != null) {
+                route(ctx, next, target);
+            }
+            ctx.fireChannelReadComplete();
+        }));
+    }
+
+    private static Map<InetSocketAddress, ArrayDeque<DatagramPacket>> waiting(ChannelHandlerContext ctx) {
+        Map<InetSocketAddress, ArrayDeque<DatagramPacket>> waiting = ctx.channel().attr(WAITING).get();
+        if (waiting == null) {
+            waiting = new HashMap<>();
+            ctx.channel().attr(WAITING).set(waiting);
+        }
+        return waiting;
+    }
+
+    /**
+     * 本节点处理或转发
+     */
+    private void route(ChannelHandlerContext ctx, DatagramPacket packet, String owner) {
+        if (router.isLocal(owner) || !forward(packet, owner)) {
+            ctx.fireChannelRead(packet);
+            return;
+        }
+        packet.release();
+    }
+
+    private boolean forward(DatagramPacket packet, String owner) {
+        InetSocketAddress client = packet.sender();
+        ByteBuf content = packet.content();
+        if (!(packet instanceof SegmentedDatagramPacket)) {
+            return router.forward(client, content, owner);
+        }
+        int segmentSize = ((SegmentedDatagramPacket) packet).segmentSize();
+        if (segmentSize <= 0 || content.readableBytes() <= segmentSize) {
+            return router.forward(client, content, owner);
+        }
+        int start = content.readerIndex();
+        int end = content.writerIndex();
+        for (int offset = start; offset < end; offset += segmentSize) {
+            ByteBuf segment = content.slice(offset, Math.min(segmentSize, end - offset));
+            if (!router.forward(client, segment, owner)) {
+                if (offset == start) {
+                    return false;
+                }
+                // 前面的分段已转发，剩余分段无法转发时丢弃，避免同一批数据报一部分在本节点处理
+                break;
+            }
+        }
+        return true;
+    }
+}
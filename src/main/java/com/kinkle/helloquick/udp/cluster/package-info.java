@@ -0,0 +1,11 @@
+/**
+ * 多节点UDP会话路由包
+ *
+ * <p>以客户端地址为会话标识，在Redis（或进程内替身）中记录会话归属节点，本地近端缓存承担绝大多数归属判断；
+ * 落到非归属节点的数据报经节点间转发端口转给归属节点处理，响应沿原路返回。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.kinkle.helloquick.udp.cluster;
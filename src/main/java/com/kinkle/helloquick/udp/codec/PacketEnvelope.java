@@ -0,0 +1,57 @@
+package com.kinkle.helloquick.udp.codec;
+
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import io.netty.channel.DefaultAddressedEnvelope;
+
+import java.net.InetSocketAddress;
+
+/**
+ * 带地址的UDP数据包信封
+ *
+ * <p>入站时由 {@link UdpPacketDecoder} 产生，携带发送方地址和接收时刻；
+ * 出站时由处理器构造，携带接收方地址，交给 {@link UdpPacketEncoder} 编码。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class PacketEnvelope extends DefaultAddressedEnvelope<UdpPacket, InetSocketAddress> {
+
+    /**
+     * 接收时刻（System.nanoTime），出站包为0
+     */
+    private final long receivedNanos;
+
+    /**
+     * 构造入站信封
+     *
+     * @param packet 数据包
+     * @param recipient 本地地址
+     * @param sender 发送方地址
+     * @param receivedNanos 接收时刻（纳秒）
+     */
+    public PacketEnvelope(UdpPacket packet, InetSocketAddress recipient, InetSocketAddress sender, long receivedNanos) {
+        super(packet, recipient, sender);
+        this.receivedNanos = receivedNanos;
+    }
+
+    /**
+     * 构造出站信封
+     *
+     * @param packet 数据包
+     * @param recipient 接收方地址
+     */
+    public PacketEnvelope(UdpPacket packet, InetSocketAddress recipient) {
+        super(packet, recipient);
+        this.receivedNanos = 0L;
+    }
+
+    /**
+     * 获取接收时刻
+     *
+     * @return 接收时刻（纳秒）
+     */
+    public long getReceivedNanos() {
+        return receivedNanos;
+    }
+}
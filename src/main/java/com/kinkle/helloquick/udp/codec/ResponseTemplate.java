@@ -0,0 +1,140 @@
+package com.kinkle.helloquick.udp.codec;
+
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.ProtocolHeader;
+import com.kinkle.helloquick.udp.util.ByteBufferUtil;
+import com.kinkle.helloquick.udp.util.Crc32Patcher;
+import com.kinkle.helloquick.udp.util.Crc32Util;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 预编码响应模板
+ *
+ * <p>在构造时将时间戳、序列号置零后完成一次完整序列化并计算基准CRC32。
+ * 发送时只需把模板字节复制到池化缓冲区，回填时间戳和序列号，
+ * 再通过 {@link Crc32Patcher} 增量修正CRC32，不再构造 {@code UdpPacket} 对象。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class ResponseTemplate {
+
+    /**
+     * 时间戳偏移量
+     */
+    private static final int TIMESTAMP_OFFSET = ProtocolConstants.HeaderOffsets.TIMESTAMP;
+
+    /**
+     * 序列号偏移量
+     */
+    private static final int SEQUENCE_OFFSET = ProtocolConstants.HeaderOffsets.SEQUENCE;
+
+    /**
+     * 协议号
+     */
+    private final short protocolId;
+
+    /**
+     * 完整数据包字节（时间戳、序列号为0，CRC32为基准值）
+     */
+    private final byte[] encoded;
+
+    /**
+     * 基准CRC32值
+     */
+    private final long baseCrc32;
+
+    /**
+     * CRC32增量修正器
+     */
+    private final Crc32Patcher patcher;
+
+    /**
+     * 构造函数
+     *
+     * @param protocolId 协议号
+     * @param encoding 编码格式
+     * @param body 包体数据
+     */
+    public ResponseTemplate(short protocolId, byte encoding, byte[] body) {
+        if (body == null) {
+            throw new IllegalArgumentException("Body cannot be null");
+        }
+        ProtocolHeader header = new ProtocolHeader(protocolId, encoding, ProtocolConstants.Encryption.NONE, body.length);
+        header.setTimestamp(0L);
+        header.setSequence(0);
+
+        byte[] headerBytes = header.toBytes();
+        this.protocolId = protocolId;
+        this.baseCrc32 = Crc32Util.calculate(headerBytes, body);
+
+        int crcLength = ProtocolConstants.HEADER_LENGTH + body.length;
+        ByteBuffer buffer = ByteBufferUtil.allocate(crcLength + ProtocolConstants.HeaderLengths.CRC32);
+        ByteBufferUtil.putBytes(buffer, headerBytes);
+        ByteBufferUtil.putBytes(buffer, body);
+        ByteBufferUtil.putInt(buffer, (int) baseCrc32);
+        this.encoded = ByteBufferUtil.toBytes(buffer);
+
+        this.patcher = new Crc32Patcher(crcLength, TIMESTAMP_OFFSET,
+            SEQUENCE_OFFSET + ProtocolConstants.HeaderLengths.RESERVED);
+    }
+
+    /**
+     * 渲染响应包到新分配的缓冲区
+     *
+     * @param allocator 缓冲区分配器（通常为池化分配器）
+     * @param sequence 序列号
+     * @param timestamp 时间戳（毫秒）
+     * @return 完整数据包，调用方负责释放
+     */
+    public ByteBuf render(ByteBufAllocator allocator, int sequence, long timestamp) {
+        ByteBuf buf = allocator.directBuffer(encoded.length, encoded.length);
+        try {
+            renderTo(buf, sequence, timestamp);
+            return buf;
+        } catch (RuntimeException e) {
+            buf.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 渲染响应包并追加到目标缓冲区
+     *
+     * @param target 目标缓冲区
+     * @param sequence 序列号
+     * @param timestamp 时间戳（毫秒）
+     */
+    public void renderTo(ByteBuf target, int sequence, long timestamp) {
+        int start = target.writerIndex();
+        target.writeBytes(encoded);
+        target.setLong(start + TIMESTAMP_OFFSET, timestamp);
+        target.setInt(start + SEQUENCE_OFFSET, sequence);
+
+        long crc32 = patcher.patchLong(baseCrc32, TIMESTAMP_OFFSET, 0L, timestamp);
+        crc32 = patcher.patchInt(crc32, SEQUENCE_OFFSET, 0, sequence);
+        target.setInt(start + patcher.getMessageLength(), (int) crc32);
+    }
+
+    /**
+     * 获取协议号
+     *
+     * @return 协议号
+     */
+    public short getProtocolId() {
+        return protocolId;
+    }
+
+    /**
+     * 获取完整数据包长度
+     *
+     * @return 数据包长度
+     */
+    public int getLength() {
+        return encoded.length;
+    }
+}
@@ -0,0 +1,131 @@
+package com.kinkle.helloquick.udp.codec;
+
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.util.TimestampUtil;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 常用响应模板注册表
+ *
+ * <p>为 ACK、HEARTBEAT 以及 {@link ProtocolConstants.ErrorCodes} 中每个错误码的
+ * ERROR_RESPONSE 预先编码模板。错误响应包体为JSON格式：
+ * {@code {"code":<错误码>,"message":"<错误名称>"}}。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class ResponseTemplates {
+
+    /**
+     * 错误码名称，下标即错误码
+     */
+    private static final String[] ERROR_NAMES = {
+        "SUCCESS",
+        "PROTOCOL_ERROR",
+        "AUTH_FAILED",
+        "INVALID_PARAM",
+        "SYSTEM_ERROR",
+        "TIMEOUT"
+    };
+
+    /**
+     * ACK模板
+     */
+    private static final ResponseTemplate ACK = new ResponseTemplate(
+        ProtocolConstants.SystemProtocols.ACK, ProtocolConstants.Encoding.JSON, new byte[0]);
+
+    /**
+     * 心跳回显模板
+     */
+    private static final ResponseTemplate HEARTBEAT = new ResponseTemplate(
+        ProtocolConstants.SystemProtocols.HEARTBEAT, ProtocolConstants.Encoding.JSON, new byte[0]);
+
+    /**
+     * 错误响应模板，下标即错误码
+     */
+    private static final ResponseTemplate[] ERRORS = new ResponseTemplate[ERROR_NAMES.length];
+
+    static {
+        for (int code = 0; code < ERROR_NAMES.length; code++) {
+            String json = "{\"code\":" + code + ",\"message\":\"" + ERROR_NAMES[code] + "\"}";
+            ERRORS[code] = new ResponseTemplate(ProtocolConstants.SystemProtocols.ERROR_RESPONSE,
+                ProtocolConstants.Encoding.JSON, json.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private ResponseTemplates() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * 获取ACK模板
+     *
+     * @return ACK模板
+     */
+    public static ResponseTemplate ack() {
+        return ACK;
+    }
+
+    /**
+     * 获取心跳回显模板
+     *
+     * @return 心跳模板
+     */
+    public static ResponseTemplate heartbeat() {
+        return HEARTBEAT;
+    }
+
+    /**
+     * 获取错误响应模板
+     *
+     * @param errorCode 错误码
+     * @return 错误响应模板
+     */
+    public static ResponseTemplate error(int errorCode) {
+        if (errorCode < 0 || errorCode >= ERRORS.length) {
+            throw new IllegalArgumentException("Unknown error code: " + errorCode);
+        }
+        return ERRORS[errorCode];
+    }
+
+    /**
+     * 渲染ACK响应
+     *
+     * @param allocator 缓冲区分配器
+     * @param sequence 被确认请求的序列号
+     * @return 完整数据包，调用方负责释放
+     */
+    public static ByteBuf renderAck(ByteBufAllocator allocator, int sequence) {
+        return ACK.render(allocator, sequence, TimestampUtil.currentTimestamp());
+    }
+
+    /**
+     * 渲染心跳回显
+     *
+     * @param allocator 缓冲区分配器
+     * @param sequence 心跳请求的序列号
+     * @return 完整数据包，调用方负责释放
+     */
+    public static ByteBuf renderHeartbeat(ByteBufAllocator allocator, int sequence) {
+        return HEARTBEAT.render(allocator, sequence, TimestampUtil.currentTimestamp());
+    }
+
+    /**
+     * 渲染错误响应
+     *
+     * @param allocator 缓冲区分配器
+     * @param errorCode 错误码
+     * @param sequence 出错请求的序列号
+     * @return 完整数据包，调用方负责释放
+     */
+    public static ByteBuf renderError(ByteBufAllocator allocator, int errorCode, int sequence) {
+        return error(errorCode).render(allocator, sequence, TimestampUtil.currentTimestamp());
+    }
+}
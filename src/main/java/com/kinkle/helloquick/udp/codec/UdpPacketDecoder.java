@@ -0,0 +1,125 @@
+package com.kinkle.helloquick.udp.codec;
+
+import com.kinkle.helloquick.udp.metrics.UdpMetrics;
+import com.kinkle.helloquick.udp.protocol.ProtocolHeader;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.channel.unix.SegmentedDatagramPacket;
+import io.netty.handler.codec.MessageToMessageDecoder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * UDP数据包解码器
+ *
+ * <p>将 {@link DatagramPacket} 解码为 {@link PacketEnvelope}。开启UDP GRO时内核会把
+ * 同一来源的多个数据报合并为一个 {@link SegmentedDatagramPacket}，此处按分段长度拆回单个数据包。
+ * 包头非法或CRC32校验失败的数据包记录日志后丢弃。</p>
+ *
+ * <p>v1与紧凑v2包头按每个数据包的首字节识别，走同一条 {@link UdpPacket#decode(ByteBuffer)} 路径：
+ * 包头直接从接收缓冲区读取，CRC32直接对缓冲区中的原始字节计算。</p>
+ *
+ * <p>传入 {@link UdpMetrics} 时按协议统计入站数据包与字节数，解码失败按原因计数；
+ * 区分包头非法与CRC32失败需要重新读取包头，只在失败路径上进行。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@ChannelHandler.Sharable
+public class UdpPacketDecoder extends MessageToMessageDecoder<DatagramPacket> {
+
+    private final UdpMetrics metrics;
+
+    /**
+     * 构造不统计指标的解码器
+     */
+    public UdpPacketDecoder() {
+        this(null);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param metrics UDP指标，null表示不统计
+     */
+    public UdpPacketDecoder(UdpMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, DatagramPacket msg, List<Object> out) {
+        long receivedNanos = System.nanoTime();
+        ByteBuf content = msg.content();
+        WireVersionTable versions = ctx.channel().attr(WireVersionTable.KEY).get();
+
+        if (msg instanceof SegmentedDatagramPacket) {
+            int segmentSize = ((SegmentedDatagramPacket) msg).segmentSize();
+            int index = content.readerIndex();
+            int end = content.writerIndex();
+            while (index < end) {
+                int length = Math.min(segmentSize, end - index);
+                decodeOne(content.nioBuffer(index, length), msg, receivedNanos, versions, out);
+                index += length;
+            }
+            return;
+        }
+
+        decodeOne(content.nioBuffer(), msg, receivedNanos, versions, out);
+    }
+
+    /**
+     * 解码单个数据报
+     */
+    private void decodeOne(ByteBuffer buffer, DatagramPacket msg, long receivedNanos,
+                           WireVersionTable versions, List<Object> out) {
+        int start = buffer.position();
+        int length = buffer.remaining();
+        UdpPacket packet;
+        try {
+            packet = UdpPacket.decode(buffer);
+        } catch (IllegalArgumentException e) {
+            log.debug("丢弃无法解析的数据包，sender: {}, reason: {}", msg.sender(), e.getMessage());
+            if (metrics != null) {
+                metrics.decodeFailure(UdpMetrics.DecodeFailure.MALFORMED, (short) -1);
+            }
+            return;
+        }
+
+        if (packet == null) {
+            log.debug("丢弃校验失败的数据包，sender: {}", msg.sender());
+            if (metrics != null) {
+                recordInvalid(buffer, start);
+            }
+            return;
+        }
+
+        if (metrics != null) {
+            metrics.packetIn(packet.getHeader().getProtocolId(), length);
+        }
+
+        if (versions != null) {
+            versions.record(msg.sender(), packet.getHeader().isCompact());
+        }
+        out.add(new PacketEnvelope(packet, msg.recipient(), msg.sender(), receivedNanos));
+    }
+
+    /**
+     * 重新读取包头，区分包头非法与CRC32失败；包头非法时协议号不可信，计入未知协议
+     */
+    private void recordInvalid(ByteBuffer buffer, int start) {
+        buffer.position(start);
+        ProtocolHeader header = ProtocolHeader.fromByteBuffer(buffer);
+        if (header.isValid()) {
+            metrics.decodeFailure(UdpMetrics.DecodeFailure.CRC_MISMATCH, header.getProtocolId());
+        } else {
+            metrics.decodeFailure(UdpMetrics.DecodeFailure.INVALID_HEADER, (short) -1);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.kinkle.helloquick.udp.codec;
+
+import com.kinkle.helloquick.udp.metrics.UdpMetrics;
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.handler.codec.MessageToMessageEncoder;
+
+import java.util.List;
+
+/**
+ * UDP数据包编码器
+ *
+ * <p>将出站的 {@link PacketEnvelope} 序列化为 {@link DatagramPacket}。
+ * 已经编码好的 {@link DatagramPacket}（如预编码响应模板）直接透传。</p>
+ *
+ * <p>通道上挂有 {@link WireVersionTable} 且接收方最近使用紧凑包头时，v1包头的数据包改用v2格式写出。
+ * 线上格式只在本次编码中选择，不回写数据包的包头，同一个数据包重发或发给其他接收方时不受影响。</p>
+ *
+ * <p>传入 {@link UdpMetrics} 时按协议统计出站数据包与字节数。透传的 {@link DatagramPacket}
+ * 不经过编码，协议号直接从包头位置读取：v1在魔数与版本号之后，v2在版本号与标志位之后。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@ChannelHandler.Sharable
+public class UdpPacketEncoder extends MessageToMessageEncoder<PacketEnvelope> {
+
+    /**
+     * v1包头中协议号的偏移（魔数4字节 + 版本号1字节）
+     */
+    private static final int V1_PROTOCOL_OFFSET = 5;
+
+    /**
+     * v2包头中协议号的偏移（版本号1字节 + 标志位1字节）
+     */
+    private static final int V2_PROTOCOL_OFFSET = 2;
+
+    private final UdpMetrics metrics;
+
+    /**
+     * 构造不统计指标的编码器
+     */
+    public UdpPacketEncoder() {
+        this(null);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param metrics UDP指标，null表示不统计
+     */
+    public UdpPacketEncoder(UdpMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (metrics != null && msg instanceof DatagramPacket) {
+            ByteBuf content = ((DatagramPacket) msg).content();
+            metrics.packetOut(peekProtocolId(content), content.readableBytes());
+        }
+        super.write(ctx, msg, promise);
+    }
+
+    @Override
+    protected void encode(ChannelHandlerContext ctx, PacketEnvelope msg, List<Object> out) {
+        UdpPacket packet = msg.content();
+        WireVersionTable versions = ctx.channel().attr(WireVersionTable.KEY).get();
+        boolean upgrade = versions != null && !packet.getHeader().isCompact() && versions.isCompact(msg.recipient());
+        byte[] bytes = upgrade ? packet.toCompactBytes() : packet.toBytes();
+        ByteBuf buf = ctx.alloc().directBuffer(bytes.length, bytes.length);
+        buf.writeBytes(bytes);
+        out.add(new DatagramPacket(buf, msg.recipient()));
+        if (metrics != null) {
+            metrics.packetOut(packet.getHeader().getProtocolId(), bytes.length);
+        }
+    }
+
+    /**
+     * 读取已编码数据报的协议号，不移动读位置
+     *
+     * @param content 数据报内容
+     * @return 协议号，无法识别时返回-1
+     */
+    public static short peekProtocolId(ByteBuf content) {
+        int index = content.readerIndex();
+        int readable = content.readableBytes();
+        if (readable > 0 && content.getByte(index) == ProtocolConstants.PROTOCOL_VERSION_V2) {
+            int value = 0;
+            for (int i = 0, shift = 0; i < 3 && V2_PROTOCOL_OFFSET + i < readable; i++, shift += 7) {
+                byte b = content.getByte(index + V2_PROTOCOL_OFFSET + i);
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return (short) value;
+                }
+            }
+            return -1;
+        }
+        return readable >= V1_PROTOCOL_OFFSET + 2 ? content.getShort(index + V1_PROTOCOL_OFFSET) : -1;
+    }
+}
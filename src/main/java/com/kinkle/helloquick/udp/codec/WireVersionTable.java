@@ -0,0 +1,84 @@
+package com.kinkle.helloquick.udp.codec;
+
+import io.netty.util.AttributeKey;
+
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 对端包头格式表
+ *
+ * <p>记录最近一个数据包使用紧凑包头（v2）的对端。{@link UdpPacketDecoder} 每收到一个数据包按其版本更新，
+ * {@link UdpPacketEncoder} 写出默认v1包头的响应时查表，对端使用v2时改用紧凑包头，
+ * 从而按数据包协商格式，处理器无需关心版本。</p>
+ *
+ * <p>只记录v2对端，按最近访问顺序淘汰，超出上限的对端回退为v1。
+ * 该表挂在通道属性 {@link #KEY} 上，只在通道的事件循环线程访问，不是线程安全的。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class WireVersionTable {
+
+    /**
+     * 通道属性键
+     */
+    public static final AttributeKey<WireVersionTable> KEY = AttributeKey.valueOf("wireVersionTable");
+
+    /**
+     * 默认最多记录的对端数量
+     */
+    public static final int DEFAULT_MAX_PEERS = 65536;
+
+    private final Map<InetSocketAddress, Boolean> compactPeers;
+
+    /**
+     * 构造函数
+     *
+     * @param maxPeers 最多记录的对端数量
+     */
+    public WireVersionTable(int maxPeers) {
+        int limit = Math.max(1, maxPeers);
+        this.compactPeers = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<InetSocketAddress, Boolean> eldest) {
+                return size() > limit;
+            }
+        };
+    }
+
+    /**
+     * 记录对端最近使用的包头格式
+     *
+     * @param peer 对端地址
+     * @param compact 是否为紧凑包头
+     */
+    public void record(InetSocketAddress peer, boolean compact) {
+        if (compact) {
+            compactPeers.put(peer, Boolean.TRUE);
+        } else if (!compactPeers.isEmpty()) {
+            compactPeers.remove(peer);
+        }
+    }
+
+    /**
+     * 对端是否使用紧凑包头
+     *
+     * @param peer 对端地址
+     * @return 是否使用紧凑包头
+     */
+    public boolean isCompact(InetSocketAddress peer) {
+        return !compactPeers.isEmpty() && compactPeers.containsKey(peer);
+    }
+
+    /**
+     * 获取记录的v2对端数量
+     *
+     * @return 数量
+     */
+    public int size() {
+        return compactPeers.size();
+    }
+}
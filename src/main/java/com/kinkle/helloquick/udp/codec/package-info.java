@@ -0,0 +1,10 @@
+/**
+ * UDP编解码包
+ *
+ * <p>包含基于Netty缓冲区的数据包编码、解码以及预编码响应模板。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.kinkle.helloquick.udp.codec;
@@ -0,0 +1,112 @@
+package com.kinkle.helloquick.udp.fec;
+
+/**
+ * 自适应FEC分组策略
+ *
+ * <p>以指数加权移动平均（EWMA）估计丢包率 p，并按 (k + m) * p ≈ m * {@value #TARGET_UTILIZATION}
+ * 选择分组数据包数量 k：期望丢包数保持在校验能力的一半以内，丢包越多分组越小、
+ * 冗余越高；丢包率趋近于0时分组放大到上限，带宽开销降到最低。</p>
+ *
+ * <p>丢包反馈可能来自任意线程，字段使用volatile保证可见性。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class AdaptiveFecPolicy {
+
+    /**
+     * 目标校验能力利用率
+     */
+    static final double TARGET_UTILIZATION = 0.5;
+
+    /**
+     * EWMA平滑系数
+     */
+    private static final double ALPHA = 0.125;
+
+    private final int minGroupSize;
+
+    private final int maxGroupSize;
+
+    private final int parityCount;
+
+    /**
+     * 丢包率估计值
+     */
+    private volatile double lossRate;
+
+    /**
+     * 当前分组大小
+     */
+    private volatile int groupSize;
+
+    /**
+     * 构造函数
+     *
+     * @param minGroupSize 最小分组大小
+     * @param maxGroupSize 最大分组大小
+     * @param initialGroupSize 初始分组大小
+     * @param parityCount 每组校验包数量
+     */
+    public AdaptiveFecPolicy(int minGroupSize, int maxGroupSize, int initialGroupSize, int parityCount) {
+        if (minGroupSize < 1 || maxGroupSize < minGroupSize) {
+            throw new IllegalArgumentException("Invalid group size range: " + minGroupSize + ".." + maxGroupSize);
+        }
+        if (parityCount < 1 || maxGroupSize + parityCount > FecParityFormat.MAX_GROUP_TOTAL) {
+            throw new IllegalArgumentException("Invalid parity count: " + parityCount);
+        }
+        this.minGroupSize = minGroupSize;
+        this.maxGroupSize = maxGroupSize;
+        this.parityCount = parityCount;
+        this.groupSize = clamp(initialGroupSize);
+    }
+
+    /**
+     * 记录一次丢包反馈
+     *
+     * @param sent 统计周期内发送的数据包数量
+     * @param lost 统计周期内丢失的数据包数量
+     */
+    public void onFeedback(long sent, long lost) {
+        if (sent <= 0) {
+            return;
+        }
+        double sample = Math.min(1.0, Math.max(0.0, (double) lost / sent));
+        double estimate = lossRate + ALPHA * (sample - lossRate);
+        lossRate = estimate;
+        groupSize = estimate <= 0.0 ? maxGroupSize
+            : clamp((int) (parityCount * TARGET_UTILIZATION / estimate) - parityCount);
+    }
+
+    /**
+     * 获取当前分组大小
+     *
+     * @return 每组数据包数量
+     */
+    public int getGroupSize() {
+        return groupSize;
+    }
+
+    /**
+     * 获取每组校验包数量
+     *
+     * @return 校验包数量
+     */
+    public int getParityCount() {
+        return parityCount;
+    }
+
+    /**
+     * 获取丢包率估计值
+     *
+     * @return 丢包率（0~1）
+     */
+    public double getLossRate() {
+        return lossRate;
+    }
+
+    private int clamp(int size) {
+        return Math.max(minGroupSize, Math.min(maxGroupSize, size));
+    }
+}
@@ -0,0 +1,459 @@
+package com.kinkle.helloquick.udp.fec;
+
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FEC接收端解码器
+ *
+ * <p>按传输序列号把最近收到的受保护数据帧记录在固定大小的环形窗口中；收到校验包时
+ * 检查本组缺失的数据包，缺失数量不超过已收到的校验包数量时立即恢复。
+ * 校验包先于数据包到达时分组挂起，等后续数据包到达再尝试。</p>
+ *
+ * <p>数据帧副本只为尚未结束的分组保留：分组结算（无缺失、已恢复或放弃）或被淘汰后，
+ * 以及更新的分组的校验包到达后，之前不属于任何挂起分组的副本立即释放，
+ * 窗口中只留下序列号标记用于识别重复包；已结束分组的迟到数据包也不再复制。
+ * 因此每个发送方占用的直接内存不超过窗口大小个报文加上挂起分组的校验包。</p>
+ *
+ * <p>恢复出的报文不做CRC校验，由后续解码器统一校验。原始数据包在恢复之后才到达时
+ * 视为重复并通知调用方丢弃。</p>
+ *
+ * <p>非线程安全，每个发送方一个实例，在所属事件循环上使用。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class FecDecoder {
+
+    private static final int MIN_PARITY_LENGTH = ProtocolConstants.HEADER_LENGTH + FecParityFormat.PAYLOAD
+        + ProtocolConstants.HeaderLengths.CRC32;
+
+    private final ByteBufAllocator allocator;
+
+    private final int mask;
+
+    private final int maxGroups;
+
+    private final int maxPacketSize;
+
+    private final int[] sequences;
+
+    /**
+     * 槽位是否记录了对应序列号的数据包
+     */
+    private final boolean[] received;
+
+    /**
+     * 数据包副本，分组结束后释放
+     */
+    private final ByteBuf[] packets;
+
+    /**
+     * 槽位中的报文是否由校验包恢复
+     */
+    private final boolean[] recovered;
+
+    /**
+     * 挂起的分组，按到达顺序淘汰
+     */
+    private final Map<Integer, Group> groups = new LinkedHashMap<>();
+
+    /**
+     * 该序列号之前的分组均已结束
+     */
+    private int closedSequence;
+
+    private boolean closed;
+
+    private int bufferedCount;
+
+    private long recoveredCount;
+
+    private long lostCount;
+
+    private long protectedCount;
+
+    /**
+     * 构造函数
+     *
+     * @param allocator 缓冲区分配器
+     * @param windowSize 序列号窗口大小（2的幂）
+     * @param maxGroups 最多挂起的分组数量
+     * @param maxPacketSize 受保护报文的最大长度，更长的报文不会参与分组，不缓存副本
+     */
+    public FecDecoder(ByteBufAllocator allocator, int windowSize, int maxGroups, int maxPacketSize) {
+        if (windowSize <= 0 || Integer.bitCount(windowSize) != 1) {
+            throw new IllegalArgumentException("Window size must be a power of two: " + windowSize);
+        }
+        this.allocator = allocator;
+        this.mask = windowSize - 1;
+        this.maxGroups = Math.max(1, maxGroups);
+        this.maxPacketSize = maxPacketSize;
+        this.sequences = new int[windowSize];
+        this.received = new boolean[windowSize];
+        this.packets = new ByteBuf[windowSize];
+        this.recovered = new boolean[windowSize];
+    }
+
+    /**
+     * 处理受保护的数据帧
+     *
+     * @param packet 完整数据帧（从readerIndex开始，不修改索引，不持有引用），需满足 {@link FecParityFormat#isFrame(ByteBuf)}
+     * @param out 恢复出的报文，调用方负责释放
+     * @return 数据包是否应继续向后传递；已由校验包恢复过的重复包返回false
+     */
+    public boolean onData(ByteBuf packet, List<ByteBuf> out) {
+        int sequence = FecParityFormat.sequence(packet);
+        int slot = sequence & mask;
+        if (received[slot] && sequences[slot] == sequence) {
+            return !recovered[slot];
+        }
+
+        int length = packet.readableBytes();
+        if (length > maxPacketSize || (closed && sequence - closedSequence < 0 && !isPending(sequence))) {
+            store(slot, sequence, null, false);
+            return true;
+        }
+        store(slot, sequence, allocator.directBuffer(length, length).writeBytes(packet, packet.readerIndex(), length), false);
+
+        if (!groups.isEmpty()) {
+            List<Group> settled = null;
+            Iterator<Group> iterator = groups.values().iterator();
+            while (iterator.hasNext()) {
+                Group group = iterator.next();
+                if (group.contains(sequence) && tryRecover(group, out)) {
+                    iterator.remove();
+                    if (settled == null) {
+                        settled = new ArrayList<>(1);
+                    }
+                    settled.add(group);
+                }
+            }
+            if (settled != null) {
+                for (Group group : settled) {
+                    settle(group);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 处理校验包
+     *
+     * @param packet 完整校验包（从readerIndex开始，不修改索引，不持有引用）
+     * @param out 恢复出的报文，调用方负责释放
+     */
+    public void onParity(ByteBuf packet, List<ByteBuf> out) {
+        int start = packet.readerIndex();
+        int length = packet.readableBytes();
+        if (length < MIN_PARITY_LENGTH || FecParityFormat.packetLength(packet, start) != length) {
+            return;
+        }
+        int body = start + ProtocolConstants.HEADER_LENGTH;
+        int baseSequence = packet.getInt(body + FecParityFormat.BASE_SEQUENCE);
+        int dataCount = packet.getUnsignedByte(body + FecParityFormat.DATA_COUNT);
+        int parityCount = packet.getUnsignedByte(body + FecParityFormat.PARITY_COUNT);
+        int parityIndex = packet.getUnsignedByte(body + FecParityFormat.PARITY_INDEX);
+        int payloadLength = length - MIN_PARITY_LENGTH;
+        if (dataCount == 0 || parityIndex >= parityCount || payloadLength == 0
+            || dataCount + parityCount > FecParityFormat.MAX_GROUP_TOTAL || dataCount > mask) {
+            return;
+        }
+
+        // 更新的分组已开始，之前不再有校验包的分组随之结束
+        closeBefore(baseSequence);
+
+        int groupId = FecParityFormat.groupId(packet);
+        Group group = groups.get(groupId);
+        if (group == null) {
+            group = new Group(baseSequence, dataCount, parityCount, payloadLength);
+        } else if (!group.matches(baseSequence, dataCount, parityCount, payloadLength)) {
+            return;
+        }
+        if (group.parity[parityIndex] != null) {
+            return;
+        }
+        group.parity[parityIndex] = allocator.directBuffer(payloadLength, payloadLength)
+            .writeBytes(packet, body + FecParityFormat.PAYLOAD, payloadLength);
+
+        if (tryRecover(group, out)) {
+            groups.remove(groupId);
+            settle(group);
+            return;
+        }
+        if (groups.putIfAbsent(groupId, group) == null && groups.size() > maxGroups) {
+            Iterator<Group> iterator = groups.values().iterator();
+            Group eldest = iterator.next();
+            iterator.remove();
+            lostCount += eldest.missing().size();
+            settle(eldest);
+        }
+    }
+
+    /**
+     * 获取由校验包恢复的报文数量
+     *
+     * @return 恢复数量
+     */
+    public long getRecoveredCount() {
+        return recoveredCount;
+    }
+
+    /**
+     * 获取无法恢复而放弃的报文数量
+     *
+     * @return 丢失数量
+     */
+    public long getLostCount() {
+        return lostCount;
+    }
+
+    /**
+     * 获取已结算分组覆盖的数据包数量
+     *
+     * @return 数据包数量
+     */
+    public long getProtectedCount() {
+        return protectedCount;
+    }
+
+    /**
+     * 获取当前缓存的数据包副本数量
+     *
+     * @return 副本数量
+     */
+    public int getBufferedCount() {
+        return bufferedCount;
+    }
+
+    /**
+     * 释放所有缓存
+     */
+    public void close() {
+        for (int i = 0; i < packets.length; i++) {
+            releasePacket(i);
+        }
+        for (Group group : groups.values()) {
+            group.release();
+        }
+        groups.clear();
+    }
+
+    /**
+     * 尝试结算分组
+     *
+     * @return 分组是否已结算（无缺失或已全部恢复）
+     */
+    private boolean tryRecover(Group group, List<ByteBuf> out) {
+        List<Integer> missing = group.missing();
+        if (missing.isEmpty()) {
+            protectedCount += group.dataCount;
+            return true;
+        }
+        int[] rows = group.availableRows(missing.size());
+        if (rows == null) {
+            return false;
+        }
+        int e = missing.size();
+        for (int i = 0; i < group.dataCount; i++) {
+            if (!missing.contains(i) && packets[(group.baseSequence + i) & mask] == null) {
+                // 已收到的数据包没有副本（超长报文），无法参与恢复
+                lostCount += e;
+                protectedCount += group.dataCount;
+                return true;
+            }
+        }
+
+        int length = group.length;
+        // 残差：校验数据减去已收到数据包的贡献
+        ByteBuf[] residuals = new ByteBuf[e];
+        try {
+            for (int a = 0; a < e; a++) {
+                ByteBuf residual = allocator.directBuffer(length, length).writeBytes(group.parity[rows[a]], 0, length);
+                residuals[a] = residual;
+                for (int i = 0; i < group.dataCount; i++) {
+                    ByteBuf data = packets[(group.baseSequence + i) & mask];
+                    if (missing.contains(i)) {
+                        continue;
+                    }
+                    GaloisField.mulAddInto(residual, 0, data, 0, Math.min(length, data.readableBytes()),
+                        GaloisField.coefficient(rows[a], i, group.parityCount));
+                }
+            }
+
+            int[][] matrix = new int[e][e];
+            for (int a = 0; a < e; a++) {
+                for (int b = 0; b < e; b++) {
+                    matrix[a][b] = GaloisField.coefficient(rows[a], missing.get(b), group.parityCount);
+                }
+            }
+            int[][] inverse = GaloisField.invert(matrix);
+
+            for (int b = 0; b < e; b++) {
+                ByteBuf result = allocator.directBuffer(length, length).writeZero(length);
+                for (int a = 0; a < e; a++) {
+                    GaloisField.mulAddInto(result, 0, residuals[a], 0, length, inverse[b][a]);
+                }
+                int packetLength = FecParityFormat.packetLength(result, 0);
+                if (packetLength < ProtocolConstants.HEADER_LENGTH || packetLength > length) {
+                    // 恢复结果长度非法（数据或校验包已损坏），整组放弃
+                    result.release();
+                    lostCount += e - b;
+                    protectedCount += group.dataCount;
+                    return true;
+                }
+                result.writerIndex(packetLength);
+                int sequence = group.baseSequence + missing.get(b);
+                store(sequence & mask, sequence, result, true);
+                out.add(result.retainedDuplicate());
+                recoveredCount++;
+            }
+            protectedCount += group.dataCount;
+            return true;
+        } finally {
+            for (ByteBuf residual : residuals) {
+                if (residual != null) {
+                    residual.release();
+                }
+            }
+        }
+    }
+
+    private void store(int slot, int sequence, ByteBuf packet, boolean fromParity) {
+        releasePacket(slot);
+        sequences[slot] = sequence;
+        received[slot] = true;
+        packets[slot] = packet;
+        recovered[slot] = fromParity;
+        if (packet != null) {
+            bufferedCount++;
+        }
+    }
+
+    /**
+     * 结束分组，释放其校验包及不再被挂起分组需要的数据包副本
+     */
+    private void settle(Group group) {
+        group.release();
+        for (int i = 0; i < group.dataCount; i++) {
+            int sequence = group.baseSequence + i;
+            int slot = sequence & mask;
+            if (sequences[slot] == sequence && !isPending(sequence)) {
+                releasePacket(slot);
+            }
+        }
+        closeBefore(group.baseSequence + group.dataCount);
+    }
+
+    /**
+     * 标记该序列号之前的分组均已结束，释放不属于挂起分组的副本
+     */
+    private void closeBefore(int sequence) {
+        if (closed && sequence - closedSequence <= 0) {
+            return;
+        }
+        closedSequence = sequence;
+        closed = true;
+        for (int slot = 0; slot < packets.length; slot++) {
+            if (packets[slot] != null && sequences[slot] - closedSequence < 0 && !isPending(sequences[slot])) {
+                releasePacket(slot);
+            }
+        }
+    }
+
+    private boolean isPending(int sequence) {
+        for (Group group : groups.values()) {
+            if (group.contains(sequence)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void releasePacket(int slot) {
+        if (packets[slot] != null) {
+            packets[slot].release();
+            packets[slot] = null;
+            bufferedCount--;
+        }
+    }
+
+    /**
+     * 挂起的分组
+     */
+    private final class Group {
+
+        private final int baseSequence;
+
+        private final int dataCount;
+
+        private final int parityCount;
+
+        private final int length;
+
+        private final ByteBuf[] parity;
+
+        Group(int baseSequence, int dataCount, int parityCount, int length) {
+            this.baseSequence = baseSequence;
+            this.dataCount = dataCount;
+            this.parityCount = parityCount;
+            this.length = length;
+            this.parity = new ByteBuf[parityCount];
+        }
+
+        boolean matches(int baseSequence, int dataCount, int parityCount, int length) {
+            return this.baseSequence == baseSequence && this.dataCount == dataCount
+                && this.parityCount == parityCount && this.length == length;
+        }
+
+        boolean contains(int sequence) {
+            return Integer.compareUnsigned(sequence - baseSequence, dataCount) < 0;
+        }
+
+        List<Integer> missing() {
+            List<Integer> missing = new ArrayList<>();
+            for (int i = 0; i < dataCount; i++) {
+                int sequence = baseSequence + i;
+                int slot = sequence & mask;
+                if (!received[slot] || sequences[slot] != sequence) {
+                    missing.add(i);
+                }
+            }
+            return missing;
+        }
+
+        /**
+         * 选取用于恢复的校验行
+         *
+         * @return 校验包下标，数量不足时返回null
+         */
+        int[] availableRows(int needed) {
+            int[] rows = new int[needed];
+            int found = 0;
+            for (int j = 0; j < parityCount && found < needed; j++) {
+                if (parity[j] != null) {
+                    rows[found++] = j;
+                }
+            }
+            return found == needed ? rows : null;
+        }
+
+        void release() {
+            for (int j = 0; j < parityCount; j++) {
+                if (parity[j] != null) {
+                    parity[j].release();
+                    parity[j] = null;
+                }
+            }
+        }
+    }
+}
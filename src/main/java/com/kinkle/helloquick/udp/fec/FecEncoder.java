@@ -0,0 +1,150 @@
+package com.kinkle.helloquick.udp.fec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+
+import java.util.List;
+
+/**
+ * FEC发送端编码器
+ *
+ * <p>数据帧按发送顺序逐个累加到各校验缓冲区，不缓存原始数据帧；每满一组
+ * （组大小由 {@link AdaptiveFecPolicy} 决定）或传输序列号不连续时输出本组校验包。
+ * 调用方应在发送完数据帧后紧接着发送输出的校验包。</p>
+ *
+ * <p>非线程安全，每个发送流一个实例，在所属事件循环上使用。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class FecEncoder {
+
+    private final ByteBufAllocator allocator;
+
+    private final AdaptiveFecPolicy policy;
+
+    private final int parityCount;
+
+    private final int maxPacketSize;
+
+    /**
+     * 当前分组的校验累加缓冲区
+     */
+    private final ByteBuf[] parity;
+
+    /**
+     * 下一个分组ID
+     */
+    private int groupId;
+
+    private int baseSequence;
+
+    private int nextSequence;
+
+    /**
+     * 当前分组已累加的数据包数量
+     */
+    private int count;
+
+    /**
+     * 当前分组的目标大小
+     */
+    private int groupSize;
+
+    /**
+     * 当前分组最长报文长度
+     */
+    private int maxLength;
+
+    /**
+     * 构造函数
+     *
+     * @param allocator 缓冲区分配器
+     * @param policy 分组策略
+     * @param maxPacketSize 受保护报文的最大长度，超过该长度的报文不参与FEC
+     */
+    public FecEncoder(ByteBufAllocator allocator, AdaptiveFecPolicy policy, int maxPacketSize) {
+        this.allocator = allocator;
+        this.policy = policy;
+        this.parityCount = policy.getParityCount();
+        this.maxPacketSize = maxPacketSize;
+        this.parity = new ByteBuf[parityCount];
+    }
+
+    /**
+     * 处理一个已发送的数据帧
+     *
+     * @param packet 完整数据帧（从readerIndex开始，不修改索引），需满足 {@link FecParityFormat#isFrame(ByteBuf)}
+     * @param out 输出的校验包，调用方负责发送并释放
+     */
+    public void encode(ByteBuf packet, List<ByteBuf> out) {
+        int length = packet.readableBytes();
+        int sequence = FecParityFormat.sequence(packet);
+        if (count > 0 && sequence != nextSequence) {
+            flush(out);
+        }
+        if (length > maxPacketSize) {
+            return;
+        }
+        if (count == 0) {
+            startGroup(sequence);
+        }
+
+        for (int j = 0; j < parityCount; j++) {
+            GaloisField.mulAddInto(parity[j], 0, packet, packet.readerIndex(), length,
+                GaloisField.coefficient(j, count, parityCount));
+        }
+        maxLength = Math.max(maxLength, length);
+        count++;
+        nextSequence = sequence + 1;
+
+        if (count >= groupSize) {
+            flush(out);
+        }
+    }
+
+    /**
+     * 输出当前未满分组的校验包
+     *
+     * @param out 输出的校验包
+     */
+    public void flush(List<ByteBuf> out) {
+        if (count == 0) {
+            return;
+        }
+        for (int j = 0; j < parityCount; j++) {
+            out.add(FecParityFormat.encode(allocator, groupId, baseSequence, count,
+                parityCount, j, parity[j], maxLength));
+        }
+        groupId++;
+        count = 0;
+        releaseParity();
+    }
+
+    /**
+     * 释放校验缓冲区，未输出的分组被丢弃
+     */
+    public void close() {
+        count = 0;
+        releaseParity();
+    }
+
+    private void startGroup(int sequence) {
+        baseSequence = sequence;
+        groupSize = policy.getGroupSize();
+        maxLength = 0;
+        for (int j = 0; j < parityCount; j++) {
+            parity[j] = allocator.directBuffer(maxPacketSize, maxPacketSize).writeZero(maxPacketSize);
+        }
+    }
+
+    private void releaseParity() {
+        for (int j = 0; j < parityCount; j++) {
+            if (parity[j] != null) {
+                parity[j].release();
+                parity[j] = null;
+            }
+        }
+    }
+}
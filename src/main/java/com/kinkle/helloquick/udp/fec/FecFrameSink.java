@@ -0,0 +1,155 @@
+package com.kinkle.helloquick.udp.fec;
+
+import com.kinkle.helloquick.config.AppProperties;
+import com.kinkle.helloquick.udp.codec.PacketEnvelope;
+import com.kinkle.helloquick.udp.pacing.PacedFrame;
+import com.kinkle.helloquick.udp.pacing.PacedSession;
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.socket.DatagramPacket;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 带FEC保护的节奏控制帧输出
+ *
+ * <p>内层协议受保护的帧固定以v1包头编码后写出，同一份报文交给 {@link FecEncoder} 累加，
+ * 分组满或传输序列号不连续时紧接着写出校验包；会话队列排空时补发未满分组的校验包，
+ * 避免突发末尾的数据帧得不到保护。其余帧按普通数据包写出，由编码器选择线上格式。</p>
+ *
+ * <p>每发出一个分组大小的数据帧，按会话的发送与丢包计数向 {@link AdaptiveFecPolicy} 反馈一次丢包率。</p>
+ *
+ * <p>非线程安全，每个发送会话一个实例，在会话所属事件循环上使用。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class FecFrameSink implements PacedSession.Sink {
+
+    private final Channel channel;
+
+    private final InetSocketAddress recipient;
+
+    /**
+     * 受保护协议标记，下标为协议号
+     */
+    private final boolean[] protectedProtocols;
+
+    private final AdaptiveFecPolicy policy;
+
+    private final FecEncoder encoder;
+
+    private final List<ByteBuf> parityBuffer = new ArrayList<>();
+
+    /**
+     * 上次反馈时会话的发送包数
+     */
+    private long feedbackSent;
+
+    /**
+     * 上次反馈时会话的丢包数
+     */
+    private long feedbackLost;
+
+    /**
+     * 构造函数
+     *
+     * @param channel 发送通道
+     * @param recipient 对端地址
+     * @param config FEC配置
+     * @param maxPacketSize 受保护报文的最大长度，超过该长度的帧不参与FEC
+     */
+    public FecFrameSink(Channel channel, InetSocketAddress recipient, AppProperties.Udp.Fec config,
+                        int maxPacketSize) {
+        this.channel = channel;
+        this.recipient = recipient;
+        this.protectedProtocols = new boolean[ProtocolConstants.ProtocolRanges.EXTENSION_END + 1];
+        for (Integer protocolId : config.getProtectedProtocols()) {
+            if (protocolId == null || protocolId < 0 || protocolId >= protectedProtocols.length) {
+                throw new IllegalArgumentException("Invalid protected protocol id: " + protocolId);
+            }
+            protectedProtocols[protocolId] = true;
+        }
+        this.policy = new AdaptiveFecPolicy(config.getMinGroupSize(), config.getMaxGroupSize(),
+            config.getInitialGroupSize(), config.getParityCount());
+        this.encoder = new FecEncoder(channel.alloc(), policy, maxPacketSize);
+    }
+
+    @Override
+    public void write(UdpPacket frame) {
+        short protocolId = ByteBuffer.wrap(frame.getBody()).getShort(PacedFrame.PROTOCOL_ID);
+        if (protocolId < 0 || !protectedProtocols[protocolId]) {
+            channel.write(new PacketEnvelope(frame, recipient), channel.voidPromise());
+            return;
+        }
+        byte[] bytes = frame.toBytes();
+        ByteBuf buf = channel.alloc().directBuffer(bytes.length, bytes.length).writeBytes(bytes);
+        // 先累加再写出，写出后缓冲区可能随时被释放
+        encoder.encode(buf, parityBuffer);
+        channel.write(new DatagramPacket(buf, recipient), channel.voidPromise());
+        writeParity();
+    }
+
+    @Override
+    public void drained() {
+        encoder.flush(parityBuffer);
+        writeParity();
+    }
+
+    @Override
+    public void flush() {
+        channel.flush();
+    }
+
+    /**
+     * 按会话累计计数反馈丢包率，距上次反馈不足一个分组时忽略
+     *
+     * @param sentPackets 会话累计发送包数
+     * @param lostPackets 会话累计丢包数
+     */
+    public void onFeedback(long sentPackets, long lostPackets) {
+        long sent = sentPackets - feedbackSent;
+        if (sent < policy.getGroupSize()) {
+            return;
+        }
+        policy.onFeedback(sent, lostPackets - feedbackLost);
+        feedbackSent = sentPackets;
+        feedbackLost = lostPackets;
+    }
+
+    /**
+     * 获取分组策略
+     *
+     * @return 分组策略
+     */
+    public AdaptiveFecPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * 释放编码器缓冲区，未输出的分组被丢弃
+     */
+    public void close() {
+        encoder.close();
+        for (ByteBuf parity : parityBuffer) {
+            parity.release();
+        }
+        parityBuffer.clear();
+    }
+
+    private void writeParity() {
+        if (parityBuffer.isEmpty()) {
+            return;
+        }
+        for (ByteBuf parity : parityBuffer) {
+            channel.write(new DatagramPacket(parity, recipient), channel.voidPromise());
+        }
+        parityBuffer.clear();
+    }
+}
@@ -0,0 +1,175 @@
+package com.kinkle.helloquick.udp.fec;
+
+import com.kinkle.helloquick.udp.pacing.PacedFrame;
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.ProtocolHeader;
+import com.kinkle.helloquick.udp.util.Crc32Util;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+
+/**
+ * FEC校验包格式
+ *
+ * <p>FEC只保护v1包头的 {@link PacedFrame} 数据帧，按帧的传输序列号分组，包头序列号仍是请求的关联ID。
+ * 校验包协议号为 {@link ProtocolConstants.SystemProtocols#FEC_PARITY}，包头保留字段携带分组ID，
+ * 包体布局如下（大端）：</p>
+ * <pre>
+ * 0  起始序列号（4字节）：本组第一个数据帧的传输序列号，组内传输序列号连续
+ * 4  数据包数量（1字节）
+ * 5  校验包数量（1字节）
+ * 6  校验包下标（1字节）：0为XOR校验，其余为Reed-Solomon校验
+ * 7  保留（1字节）
+ * 8  校验数据：组内各数据包完整报文（包头+包体+CRC32）补零到最长报文后的线性组合
+ * </pre>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class FecParityFormat {
+
+    /**
+     * 起始序列号偏移量（相对包体）
+     */
+    public static final int BASE_SEQUENCE = 0;
+
+    /**
+     * 数据包数量偏移量
+     */
+    public static final int DATA_COUNT = 4;
+
+    /**
+     * 校验包数量偏移量
+     */
+    public static final int PARITY_COUNT = 5;
+
+    /**
+     * 校验包下标偏移量
+     */
+    public static final int PARITY_INDEX = 6;
+
+    /**
+     * 校验数据偏移量
+     */
+    public static final int PAYLOAD = 8;
+
+    /**
+     * 每组数据包与校验包总数上限（受GF(256)系数空间限制）
+     */
+    public static final int MAX_GROUP_TOTAL = GaloisField.FIELD_SIZE;
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private FecParityFormat() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * 编码校验包
+     *
+     * @param allocator 缓冲区分配器
+     * @param groupId 分组ID
+     * @param baseSequence 起始序列号
+     * @param dataCount 数据包数量
+     * @param parityCount 校验包数量
+     * @param parityIndex 校验包下标
+     * @param parity 校验数据
+     * @param length 校验数据长度
+     * @return 完整校验包，调用方负责释放
+     */
+    public static ByteBuf encode(ByteBufAllocator allocator, int groupId, int baseSequence, int dataCount,
+                                 int parityCount, int parityIndex, ByteBuf parity, int length) {
+        int bodyLength = PAYLOAD + length;
+        ProtocolHeader header = new ProtocolHeader(ProtocolConstants.SystemProtocols.FEC_PARITY,
+            ProtocolConstants.Encoding.BINARY, ProtocolConstants.Encryption.NONE, bodyLength);
+        header.setSequence(groupId);
+
+        int crcLength = ProtocolConstants.HEADER_LENGTH + bodyLength;
+        ByteBuf buf = allocator.directBuffer(crcLength + ProtocolConstants.HeaderLengths.CRC32);
+        try {
+            int start = buf.writerIndex();
+            buf.writeBytes(header.toBytes());
+            buf.writeInt(baseSequence);
+            buf.writeByte(dataCount);
+            buf.writeByte(parityCount);
+            buf.writeByte(parityIndex);
+            buf.writeByte(0);
+            buf.writeBytes(parity, 0, length);
+            buf.writeInt((int) Crc32Util.calculate(buf.nioBuffer(start, crcLength)));
+            return buf;
+        } catch (RuntimeException e) {
+            buf.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 判断报文是否为校验包
+     *
+     * @param packet 完整报文（从readerIndex开始）
+     * @return 是否为校验包
+     */
+    public static boolean isParity(ByteBuf packet) {
+        return packet.readableBytes() >= ProtocolConstants.HEADER_LENGTH
+            && packet.getShort(packet.readerIndex() + ProtocolConstants.HeaderOffsets.PROTOCOL_ID)
+                == ProtocolConstants.SystemProtocols.FEC_PARITY;
+    }
+
+    /**
+     * 判断报文是否为可受保护的数据帧，即包体足以容纳帧头的v1 {@link PacedFrame}
+     *
+     * @param packet 完整报文（从readerIndex开始）
+     * @return 是否为数据帧
+     */
+    public static boolean isFrame(ByteBuf packet) {
+        return packet.readableBytes() >= ProtocolConstants.HEADER_LENGTH + PacedFrame.HEADER_LENGTH
+            && packet.getByte(packet.readerIndex()) != ProtocolConstants.PROTOCOL_VERSION_V2
+            && packet.getShort(packet.readerIndex() + ProtocolConstants.HeaderOffsets.PROTOCOL_ID)
+                == ProtocolConstants.SystemProtocols.PACED_DATA
+            && packet.getInt(packet.readerIndex() + ProtocolConstants.HeaderOffsets.BODY_LENGTH)
+                >= PacedFrame.HEADER_LENGTH;
+    }
+
+    /**
+     * 读取数据帧的传输序列号
+     *
+     * @param packet 完整数据帧（从readerIndex开始），需满足 {@link #isFrame(ByteBuf)}
+     * @return 传输序列号
+     */
+    public static int sequence(ByteBuf packet) {
+        return packet.getInt(packet.readerIndex() + ProtocolConstants.HEADER_LENGTH + PacedFrame.SEQUENCE);
+    }
+
+    /**
+     * 读取数据帧的内层协议号
+     *
+     * @param packet 完整数据帧（从readerIndex开始），需满足 {@link #isFrame(ByteBuf)}
+     * @return 内层协议号
+     */
+    public static short innerProtocolId(ByteBuf packet) {
+        return packet.getShort(packet.readerIndex() + ProtocolConstants.HEADER_LENGTH + PacedFrame.PROTOCOL_ID);
+    }
+
+    /**
+     * 读取校验包的分组ID
+     *
+     * @param packet 完整校验包（从readerIndex开始）
+     * @return 分组ID
+     */
+    public static int groupId(ByteBuf packet) {
+        return packet.getInt(packet.readerIndex() + ProtocolConstants.HeaderOffsets.SEQUENCE);
+    }
+
+    /**
+     * 根据报文头中的包体长度计算完整报文长度
+     *
+     * @param packet 报文缓冲区
+     * @param index 报文起始位置
+     * @return 完整报文长度
+     */
+    public static int packetLength(ByteBuf packet, int index) {
+        int bodyLength = packet.getInt(index + ProtocolConstants.HeaderOffsets.BODY_LENGTH);
+        return ProtocolConstants.HEADER_LENGTH + bodyLength + ProtocolConstants.HeaderLengths.CRC32;
+    }
+}
@@ -0,0 +1,191 @@
+package com.kinkle.helloquick.udp.fec;
+
+import com.kinkle.helloquick.config.AppProperties;
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.channel.unix.SegmentedDatagramPacket;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FEC接收处理器
+ *
+ * <p>位于数据包解码器之前，直接在数据报缓冲区上工作：校验包在此消费，内层协议受保护的
+ * {@link com.kinkle.helloquick.udp.pacing.PacedFrame} 数据帧复制一份交给对应发送方的 {@link FecDecoder}
+ * 后继续向后传递，恢复出的报文作为新的数据报向后传递。GRO合并的数据报先按分段拆开。</p>
+ *
+ * <p>发送方解码器按最近访问顺序淘汰。每个解码器最多缓存窗口大小个数据包副本和挂起分组的校验包，
+ * 解码器数量上限由直接内存预算除以单个解码器的最大占用得出，伪造大量源地址也不会超出预算。
+ * 处理器有状态，每个通道一个实例。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+public class FecReceiveHandler extends ChannelInboundHandlerAdapter {
+
+    /**
+     * 每个发送方最多挂起的分组数量
+     */
+    private static final int MAX_PENDING_GROUPS = 16;
+
+    /**
+     * 受保护协议标记，下标为协议号
+     */
+    private final boolean[] protectedProtocols = new boolean[ProtocolConstants.ProtocolRanges.EXTENSION_END + 1];
+
+    private final int windowSize;
+
+    private final int maxPacketSize;
+
+    /**
+     * 最多跟踪的发送方数量
+     */
+    private final int maxSenders;
+
+    private final Map<InetSocketAddress, FecDecoder> decoders;
+
+    private final List<ByteBuf> recoveredBuffer = new ArrayList<>();
+
+    private long recoveredCount;
+
+    /**
+     * 构造函数
+     *
+     * @param config FEC配置
+     */
+    public FecReceiveHandler(AppProperties.Udp.Fec config) {
+        for (Integer protocolId : config.getProtectedProtocols()) {
+            if (protocolId == null || protocolId < 0 || protocolId >= protectedProtocols.length) {
+                throw new IllegalArgumentException("Invalid protected protocol id: " + protocolId);
+            }
+            protectedProtocols[protocolId] = true;
+        }
+        if (config.getWindowSize() <= config.getMaxGroupSize()) {
+            throw new IllegalArgumentException("FEC window size must exceed max group size: " + config.getWindowSize());
+        }
+        this.windowSize = config.getWindowSize();
+        this.maxPacketSize = config.getMaxPacketSize();
+        long perSender = (long) (windowSize + MAX_PENDING_GROUPS * config.getParityCount()) * maxPacketSize;
+        this.maxSenders = (int) Math.max(1, Math.min(Integer.MAX_VALUE, config.getMaxBufferedBytes() / perSender));
+        this.decoders = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<InetSocketAddress, FecDecoder> eldest) {
+                if (size() > maxSenders) {
+                    eldest.getValue().close();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (msg instanceof SegmentedDatagramPacket) {
+            SegmentedDatagramPacket segmented = (SegmentedDatagramPacket) msg;
+            ByteBuf content = segmented.content();
+            int segmentSize = segmented.segmentSize();
+            try {
+                for (int index = content.readerIndex(); index < content.writerIndex(); index += segmentSize) {
+                    int length = Math.min(segmentSize, content.writerIndex() - index);
+                    read(ctx, new DatagramPacket(content.retainedSlice(index, length),
+                        segmented.recipient(), segmented.sender()));
+                }
+            } finally {
+                segmented.release();
+            }
+            return;
+        }
+        if (msg instanceof DatagramPacket) {
+            read(ctx, (DatagramPacket) msg);
+            return;
+        }
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        for (FecDecoder decoder : decoders.values()) {
+            decoder.close();
+        }
+        decoders.clear();
+    }
+
+    /**
+     * 获取最多跟踪的发送方数量
+     *
+     * @return 发送方数量
+     */
+    public int getMaxSenders() {
+        return maxSenders;
+    }
+
+    /**
+     * 获取本通道恢复的报文总数
+     *
+     * @return 恢复数量
+     */
+    public long getRecoveredCount() {
+        return recoveredCount;
+    }
+
+    private void read(ChannelHandlerContext ctx, DatagramPacket packet) {
+        ByteBuf content = packet.content();
+        // FEC按v1包头的固定偏移分组，紧凑包头不参与
+        if (content.readableBytes() < ProtocolConstants.HEADER_LENGTH
+            || content.getByte(content.readerIndex()) == ProtocolConstants.PROTOCOL_VERSION_V2) {
+            ctx.fireChannelRead(packet);
+            return;
+        }
+
+        short protocolId = content.getShort(content.readerIndex() + ProtocolConstants.HeaderOffsets.PROTOCOL_ID);
+        if (protocolId == ProtocolConstants.SystemProtocols.FEC_PARITY) {
+            try {
+                decoder(ctx, packet.sender()).onParity(content, recoveredBuffer);
+            } finally {
+                packet.release();
+            }
+        } else if (FecParityFormat.isFrame(content) && isProtected(FecParityFormat.innerProtocolId(content))) {
+            if (decoder(ctx, packet.sender()).onData(content, recoveredBuffer)) {
+                ctx.fireChannelRead(packet);
+            } else {
+                packet.release();
+            }
+        } else {
+            ctx.fireChannelRead(packet);
+            return;
+        }
+
+        if (!recoveredBuffer.isEmpty()) {
+            for (ByteBuf recovered : recoveredBuffer) {
+                recoveredCount++;
+                log.debug("FEC恢复数据包，sender: {}, sequence: {}", packet.sender(), FecParityFormat.sequence(recovered));
+                ctx.fireChannelRead(new DatagramPacket(recovered, packet.recipient(), packet.sender()));
+            }
+            recoveredBuffer.clear();
+        }
+    }
+
+    private boolean isProtected(short protocolId) {
+        return protocolId >= 0 && protectedProtocols[protocolId];
+    }
+
+    private FecDecoder decoder(ChannelHandlerContext ctx, InetSocketAddress sender) {
+        FecDecoder decoder = decoders.get(sender);
+        if (decoder == null) {
+            decoder = new FecDecoder(ctx.alloc(), windowSize, MAX_PENDING_GROUPS, maxPacketSize);
+            decoders.put(sender, decoder);
+        }
+        return decoder;
+    }
+}
@@ -0,0 +1,205 @@
+package com.kinkle.helloquick.udp.fec;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * GF(2^8) 有限域运算工具类
+ *
+ * <p>使用本原多项式 x^8+x^4+x^3+x^2+1（0x11D），乘法通过预计算的乘法表完成。
+ * 校验系数取归一化的Cauchy矩阵：第0行全为1（即XOR校验），任意方阵子式均可逆，
+ * 因此任意不超过校验包数量的丢包都能恢复。</p>
+ *
+ * <p>系数为1时缓冲区运算按8字节长字执行XOR，其余系数逐字节查表。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class GaloisField {
+
+    /**
+     * 域大小
+     */
+    public static final int FIELD_SIZE = 256;
+
+    /**
+     * 本原多项式
+     */
+    private static final int POLYNOMIAL = 0x11D;
+
+    /**
+     * 指数表（长度翻倍以省去取模）
+     */
+    private static final int[] EXP = new int[FIELD_SIZE * 2];
+
+    /**
+     * 对数表
+     */
+    private static final int[] LOG = new int[FIELD_SIZE];
+
+    /**
+     * 乘法表，MUL[a][b] = a * b
+     */
+    private static final byte[][] MUL = new byte[FIELD_SIZE][FIELD_SIZE];
+
+    static {
+        int x = 1;
+        for (int i = 0; i < FIELD_SIZE - 1; i++) {
+            EXP[i] = x;
+            LOG[x] = i;
+            x <<= 1;
+            if (x >= FIELD_SIZE) {
+                x ^= POLYNOMIAL;
+            }
+        }
+        for (int i = FIELD_SIZE - 1; i < EXP.length; i++) {
+            EXP[i] = EXP[i - (FIELD_SIZE - 1)];
+        }
+        for (int a = 1; a < FIELD_SIZE; a++) {
+            for (int b = 1; b < FIELD_SIZE; b++) {
+                MUL[a][b] = (byte) EXP[LOG[a] + LOG[b]];
+            }
+        }
+    }
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private GaloisField() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * 乘法
+     *
+     * @param a 乘数
+     * @param b 乘数
+     * @return 积
+     */
+    public static int mul(int a, int b) {
+        return MUL[a & 0xFF][b & 0xFF] & 0xFF;
+    }
+
+    /**
+     * 乘法逆元
+     *
+     * @param a 非零元素
+     * @return 逆元
+     */
+    public static int inv(int a) {
+        if ((a & 0xFF) == 0) {
+            throw new ArithmeticException("Zero has no inverse in GF(256)");
+        }
+        return EXP[FIELD_SIZE - 1 - LOG[a & 0xFF]];
+    }
+
+    /**
+     * 获取校验系数
+     *
+     * <p>Cauchy矩阵 C[j][i] = 1 / (j ^ (parityCount + i))，每列再除以 C[0][i] 使第0行全为1。</p>
+     *
+     * @param parityIndex 校验包下标 j
+     * @param dataIndex 数据包下标 i
+     * @param parityCount 每组校验包数量
+     * @return 系数
+     */
+    public static int coefficient(int parityIndex, int dataIndex, int parityCount) {
+        if (parityIndex == 0) {
+            return 1;
+        }
+        int y = parityCount + dataIndex;
+        return mul(inv(parityIndex ^ y), y);
+    }
+
+    /**
+     * 求方阵的逆矩阵
+     *
+     * @param matrix 方阵（会被修改）
+     * @return 逆矩阵
+     * @throws ArithmeticException 矩阵不可逆
+     */
+    public static int[][] invert(int[][] matrix) {
+        int n = matrix.length;
+        int[][] inverse = new int[n][n];
+        for (int i = 0; i < n; i++) {
+            inverse[i][i] = 1;
+        }
+        for (int col = 0; col < n; col++) {
+            int pivot = col;
+            while (pivot < n && matrix[pivot][col] == 0) {
+                pivot++;
+            }
+            if (pivot == n) {
+                throw new ArithmeticException("Singular matrix");
+            }
+            int[] tmp = matrix[pivot];
+            matrix[pivot] = matrix[col];
+            matrix[col] = tmp;
+            tmp = inverse[pivot];
+            inverse[pivot] = inverse[col];
+            inverse[col] = tmp;
+
+            int scale = inv(matrix[col][col]);
+            for (int k = 0; k < n; k++) {
+                matrix[col][k] = mul(matrix[col][k], scale);
+                inverse[col][k] = mul(inverse[col][k], scale);
+            }
+            for (int row = 0; row < n; row++) {
+                int factor = matrix[row][col];
+                if (row == col || factor == 0) {
+                    continue;
+                }
+                for (int k = 0; k < n; k++) {
+                    matrix[row][k] ^= mul(factor, matrix[col][k]);
+                    inverse[row][k] ^= mul(factor, inverse[col][k]);
+                }
+            }
+        }
+        return inverse;
+    }
+
+    /**
+     * 缓冲区乘加：dst[i] ^= coefficient * src[i]
+     *
+     * <p>不修改两个缓冲区的读写索引。</p>
+     *
+     * @param dst 目标缓冲区
+     * @param dstIndex 目标起始位置
+     * @param src 源缓冲区
+     * @param srcIndex 源起始位置
+     * @param length 长度
+     * @param coefficient 系数
+     */
+    public static void mulAddInto(ByteBuf dst, int dstIndex, ByteBuf src, int srcIndex, int length, int coefficient) {
+        if (coefficient == 0) {
+            return;
+        }
+        if (coefficient == 1) {
+            xorInto(dst, dstIndex, src, srcIndex, length);
+            return;
+        }
+        byte[] row = MUL[coefficient & 0xFF];
+        for (int i = 0; i < length; i++) {
+            dst.setByte(dstIndex + i, dst.getByte(dstIndex + i) ^ row[src.getByte(srcIndex + i) & 0xFF]);
+        }
+    }
+
+    /**
+     * 缓冲区异或：dst[i] ^= src[i]，按8字节长字处理，尾部逐字节处理
+     *
+     * @param dst 目标缓冲区
+     * @param dstIndex 目标起始位置
+     * @param src 源缓冲区
+     * @param srcIndex 源起始位置
+     * @param length 长度
+     */
+    public static void xorInto(ByteBuf dst, int dstIndex, ByteBuf src, int srcIndex, int length) {
+        int i = 0;
+        for (; i + Long.BYTES <= length; i += Long.BYTES) {
+            dst.setLong(dstIndex + i, dst.getLong(dstIndex + i) ^ src.getLong(srcIndex + i));
+        }
+        for (; i < length; i++) {
+            dst.setByte(dstIndex + i, dst.getByte(dstIndex + i) ^ src.getByte(srcIndex + i));
+        }
+    }
+}
@@ -0,0 +1,11 @@
+/**
+ * UDP前向纠错包
+ *
+ * <p>按组为受保护的数据包生成XOR/Reed-Solomon校验包，接收端在丢包时直接由校验包恢复，
+ * 无需等待重传。分组大小根据观测到的丢包率自适应调整。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.kinkle.helloquick.udp.fec;
@@ -0,0 +1,40 @@
+package com.kinkle.helloquick.udp.handler;
+
+import com.kinkle.helloquick.udp.codec.PacketEnvelope;
+import com.kinkle.helloquick.udp.pacing.PacedFrame;
+import com.kinkle.helloquick.udp.pacing.PacingService;
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import io.netty.channel.ChannelHandlerContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * ACK确认处理器
+ *
+ * <p>确认 {@link PacedFrame} 的ACK包体为被确认帧的传输序列号，交给节奏控制服务提供RTT与丢包信号；
+ * 不带传输序列号的ACK与节奏控制无关，直接忽略。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Component
+@RequiredArgsConstructor
+public class AckHandler implements ProtocolHandler {
+
+    private final PacingService pacingService;
+
+    @Override
+    public short getProtocolId() {
+        return ProtocolConstants.SystemProtocols.ACK;
+    }
+
+    @Override
+    public void handle(ChannelHandlerContext ctx, PacketEnvelope envelope) {
+        UdpPacket ack = envelope.content();
+        if (PacedFrame.isFrameAck(ack)) {
+            pacingService.onAck(envelope.sender(), PacedFrame.ackedSequence(ack));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.kinkle.helloquick.udp.handler;
+
+import com.kinkle.helloquick.udp.codec.PacketEnvelope;
+import com.kinkle.helloquick.udp.codec.ResponseTemplates;
+import com.kinkle.helloquick.udp.pacing.PacingService;
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import com.kinkle.helloquick.udp.session.UdpSessionManager;
+import com.kinkle.helloquick.udp.sync.DataSyncService;
+import com.kinkle.helloquick.udp.sync.SyncCursor;
+import com.kinkle.helloquick.udp.sync.SyncRequest;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.socket.DatagramPacket;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 数据同步协议处理器
+ *
+ * <p>同步请求中的每个游标单独回复：能从变更日志计算增量时经节奏控制服务回复 DELTA，
+ * 否则回复第一页快照。快照分页请求总是提交到快照线程池，快照数据包同样经节奏控制服务发出。</p>
+ *
+ * <p>同步数据包含用户资料，只对已登录的对端提供；未登录的对端回复 {@code AUTH_FAILED}，
+ * 避免伪造源地址的小请求换来成页的响应。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.udp", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class DataSyncHandler implements ProtocolHandler {
+
+    private final DataSyncService syncService;
+
+    private final PacingService pacingService;
+
+    private final UdpSessionManager sessionManager;
+
+    @Override
+    public short getProtocolId() {
+        return ProtocolConstants.BusinessProtocols.DATA_SYNC;
+    }
+
+    @Override
+    public void handle(ChannelHandlerContext ctx, PacketEnvelope envelope) {
+        int sequence = envelope.content().getHeader().getSequence();
+        if (sessionManager.getUserId(envelope.sender()) == 0) {
+            ctx.write(new DatagramPacket(ResponseTemplates.renderError(ctx.alloc(),
+                ProtocolConstants.ErrorCodes.AUTH_FAILED, sequence), envelope.sender()));
+            return;
+        }
+        try {
+            SyncRequest request = envelope.content().payload(SyncRequest.class);
+            if (request.isSnapshotRequest()) {
+                SyncCursor cursor = request.getCursors().get(0);
+                syncService.snapshot(ctx.channel(), envelope.sender(), cursor.getDatasetId(),
+                    cursor.getVersion(), sequence);
+                return;
+            }
+            for (SyncCursor cursor : request.getCursors()) {
+                handleCursor(ctx, envelope, cursor, sequence);
+            }
+        } catch (IllegalArgumentException e) {
+            log.debug("丢弃格式错误的同步请求，sender: {}, reason: {}", envelope.sender(), e.getMessage());
+        }
+    }
+
+    private void handleCursor(ChannelHandlerContext ctx, PacketEnvelope envelope, SyncCursor cursor, int sequence) {
+        if (!syncService.hasDataset(cursor.getDatasetId())) {
+            log.debug("忽略未知数据集的同步请求，sender: {}, datasetId: {}", envelope.sender(), cursor.getDatasetId());
+            return;
+        }
+        byte[] delta = syncService.delta(cursor);
+        if (delta == null) {
+            syncService.snapshot(ctx.channel(), envelope.sender(), cursor.getDatasetId(), Long.MIN_VALUE, sequence);
+            return;
+        }
+        UdpPacket response = new UdpPacket(ProtocolConstants.BusinessProtocols.DATA_SYNC, delta);
+        response.getHeader().setSequence(sequence);
+        pacingService.send(ctx.channel(), envelope.sender(), response);
+    }
+}
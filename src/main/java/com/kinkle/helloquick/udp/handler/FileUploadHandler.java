@@ -0,0 +1,123 @@
+package com.kinkle.helloquick.udp.handler;
+
+import com.kinkle.helloquick.udp.codec.PacketEnvelope;
+import com.kinkle.helloquick.udp.codec.ResponseTemplates;
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import com.kinkle.helloquick.udp.session.UdpSessionManager;
+import com.kinkle.helloquick.udp.upload.FileUploadFormat;
+import com.kinkle.helloquick.udp.upload.FileUploadService;
+import com.kinkle.helloquick.udp.upload.UploadRequest;
+import com.kinkle.helloquick.udp.upload.UploadSession;
+import com.kinkle.helloquick.udp.upload.UploadStatus;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.socket.DatagramPacket;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.net.InetSocketAddress;
+
+/**
+ * 文件上传协议处理器
+ *
+ * <p>分块数据直接从包体写入上传会话的映射区域。分块不逐个确认，客户端通过 QUERY 获取接收位图后补发缺失分块；
+ * 最后一块到达后异步校验，完成后回复 STATUS。</p>
+ *
+ * <p>上传只对已登录的对端开放，会话绑定到登录用户；未登录的对端回复 {@code AUTH_FAILED}。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.udp", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class FileUploadHandler implements ProtocolHandler {
+
+    private final FileUploadService uploadService;
+
+    private final UdpSessionManager sessionManager;
+
+    @Override
+    public short getProtocolId() {
+        return ProtocolConstants.BusinessProtocols.FILE_UPLOAD;
+    }
+
+    @Override
+    public void handle(ChannelHandlerContext ctx, PacketEnvelope envelope) {
+        long userId = sessionManager.getUserId(envelope.sender());
+        if (userId == 0) {
+            ctx.write(new DatagramPacket(ResponseTemplates.renderError(ctx.alloc(),
+                ProtocolConstants.ErrorCodes.AUTH_FAILED, envelope.content().getHeader().getSequence()),
+                envelope.sender()));
+            return;
+        }
+        try {
+            UploadRequest request = envelope.content().payload(UploadRequest.class);
+            switch (request.getOp()) {
+                case FileUploadFormat.OP_CHUNK:
+                    handleChunk(ctx, envelope, userId, request);
+                    break;
+                case FileUploadFormat.OP_INIT:
+                    reply(ctx, envelope, uploadService.init(userId, request.getInit()));
+                    break;
+                case FileUploadFormat.OP_QUERY:
+                    reply(ctx, envelope, uploadService.query(userId, request.getUploadId(), request.getChunkIndex()));
+                    break;
+                default:
+                    break;
+            }
+        } catch (IllegalArgumentException e) {
+            log.debug("丢弃格式错误的上传报文，sender: {}, reason: {}", envelope.sender(), e.getMessage());
+        }
+    }
+
+    /**
+     * 处理分块数据
+     */
+    private void handleChunk(ChannelHandlerContext ctx, PacketEnvelope envelope, long userId, UploadRequest request) {
+        long uploadId = request.getUploadId();
+        UploadSession session = uploadService.get(userId, uploadId);
+        if (session == null) {
+            reply(ctx, envelope, UploadStatus.rejected(uploadId));
+            return;
+        }
+
+        int chunkIndex = request.getChunkIndex();
+        int length = request.getDataLength();
+        switch (session.writeChunk(chunkIndex, request.getData(), request.getDataOffset(), length)) {
+            case COMPLETE:
+                Channel channel = ctx.channel();
+                InetSocketAddress sender = envelope.sender();
+                int sequence = envelope.content().getHeader().getSequence();
+                uploadService.finish(session)
+                    .thenAccept(status -> channel.writeAndFlush(toEnvelope(status, sender, sequence)));
+                break;
+            case DUPLICATE:
+                // 已完成的上传收到重传分块，说明客户端未收到完成通知
+                if (session.getState() != UploadStatus.RECEIVING) {
+                    reply(ctx, envelope, session.status(0, 0));
+                }
+                break;
+            case INVALID:
+                log.debug("丢弃非法分块，uploadId: {}, chunkIndex: {}, length: {}", uploadId, chunkIndex, length);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void reply(ChannelHandlerContext ctx, PacketEnvelope envelope, UploadStatus status) {
+        ctx.write(toEnvelope(status, envelope.sender(), envelope.content().getHeader().getSequence()));
+    }
+
+    private static PacketEnvelope toEnvelope(UploadStatus status, InetSocketAddress recipient, int sequence) {
+        UdpPacket response = new UdpPacket(ProtocolConstants.BusinessProtocols.FILE_UPLOAD, status.encode());
+        response.getHeader().setSequence(sequence);
+        return new PacketEnvelope(response, recipient);
+    }
+}
@@ -0,0 +1,81 @@
+package com.kinkle.helloquick.udp.handler;
+
+import com.kinkle.helloquick.udp.codec.PacketEnvelope;
+import com.kinkle.helloquick.udp.codec.ResponseTemplates;
+import com.kinkle.helloquick.udp.presence.PresenceService;
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.ProtocolHeader;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import com.kinkle.helloquick.udp.session.UdpSessionManager;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.socket.DatagramPacket;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 心跳协议处理器
+ *
+ * <p>使用预编码模板回显心跳，序列号与请求一致。请求使用紧凑包头（v2）时按v2格式回显，
+ * 预编码模板只覆盖v1格式。</p>
+ *
+ * <p>对端已登录时，心跳同时刷新 {@link UdpSessionManager} 中的会话活跃时间，
+ * 并把会话所属用户记入 {@link PresenceService}。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.udp", name = "enabled", havingValue = "true")
+public class HeartbeatHandler implements ProtocolHandler {
+
+    private final UdpSessionManager sessionManager;
+
+    private final PresenceService presenceService;
+
+    /**
+     * 构造函数，只回显心跳
+     */
+    public HeartbeatHandler() {
+        this(null, null);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param sessionManager 会话管理器，null表示不刷新会话
+     * @param presenceService 在线状态服务，null表示不记录在线状态
+     */
+    @Autowired
+    public HeartbeatHandler(UdpSessionManager sessionManager, PresenceService presenceService) {
+        this.sessionManager = sessionManager;
+        this.presenceService = presenceService;
+    }
+
+    @Override
+    public short getProtocolId() {
+        return ProtocolConstants.SystemProtocols.HEARTBEAT;
+    }
+
+    @Override
+    public void handle(ChannelHandlerContext ctx, PacketEnvelope envelope) {
+        ProtocolHeader header = envelope.content().getHeader();
+        int sequence = header.getSequence();
+        if (sessionManager != null) {
+            long now = System.currentTimeMillis();
+            long userId = sessionManager.touch(envelope.sender(), now);
+            if (userId != 0 && presenceService != null) {
+                presenceService.heartbeat(userId, now);
+            }
+        }
+        if (header.isCompact()) {
+            UdpPacket echo = new UdpPacket(ProtocolConstants.SystemProtocols.HEARTBEAT, new byte[0]);
+            echo.getHeader().setVersion(ProtocolConstants.PROTOCOL_VERSION_V2);
+            echo.getHeader().setSequence(sequence);
+            ctx.write(new PacketEnvelope(echo, envelope.sender()));
+            return;
+        }
+        ctx.write(new DatagramPacket(ResponseTemplates.renderHeartbeat(ctx.alloc(), sequence), envelope.sender()));
+    }
+}
@@ -0,0 +1,58 @@
+package com.kinkle.helloquick.udp.handler;
+
+import com.kinkle.helloquick.udp.codec.PacketEnvelope;
+import com.kinkle.helloquick.udp.pacing.PacedFrame;
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import io.netty.channel.ChannelHandlerContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * 节奏控制数据帧处理器
+ *
+ * <p>对端按节奏发送的批量数据（如文件分块）以 {@link PacedFrame} 到达：先回复带传输序列号的ACK，
+ * 供对端的拥塞控制取得RTT与丢包信号，再把内层数据包交给 {@link ProtocolDispatcher} 分发。</p>
+ *
+ * <p>分发器依赖所有协议处理器，这里通过 {@link ObjectProvider} 延迟获取以避免循环依赖。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+public class PacedDataHandler implements ProtocolHandler {
+
+    private final ObjectProvider<ProtocolDispatcher> dispatcherProvider;
+
+    /**
+     * 构造函数
+     *
+     * @param dispatcherProvider 协议分发器提供者
+     */
+    public PacedDataHandler(ObjectProvider<ProtocolDispatcher> dispatcherProvider) {
+        this.dispatcherProvider = dispatcherProvider;
+    }
+
+    @Override
+    public short getProtocolId() {
+        return ProtocolConstants.SystemProtocols.PACED_DATA;
+    }
+
+    @Override
+    public void handle(ChannelHandlerContext ctx, PacketEnvelope envelope) {
+        UdpPacket frame = envelope.content();
+        UdpPacket inner;
+        try {
+            inner = PacedFrame.unwrap(frame);
+        } catch (IllegalArgumentException e) {
+            log.debug("丢弃格式错误的节奏控制帧，sender: {}, reason: {}", envelope.sender(), e.getMessage());
+            return;
+        }
+        ctx.write(new PacketEnvelope(PacedFrame.ack(frame), envelope.sender()));
+        dispatcherProvider.getObject().dispatch(ctx,
+            new PacketEnvelope(inner, envelope.recipient(), envelope.sender(), envelope.getReceivedNanos()));
+    }
+}
@@ -0,0 +1,163 @@
+package com.kinkle.helloquick.udp.handler;
+
+import com.kinkle.helloquick.udp.codec.PacketEnvelope;
+import com.kinkle.helloquick.udp.codec.ResponseTemplates;
+import com.kinkle.helloquick.udp.metrics.UdpMetrics;
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.socket.DatagramPacket;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 协议分发器
+ *
+ * <p>按协议号把入站数据包路由到对应的 {@link ProtocolHandler}。处理器保存在以协议号为下标的数组中，
+ * 路由无需哈希查找。未注册的协议回复 PROTOCOL_ERROR，处理器抛出异常时回复 SYSTEM_ERROR。</p>
+ *
+ * <p>传入 {@link UdpMetrics} 时记录每个协议的处理器耗时、入站数据包从解码到进入处理器的等待时间，
+ * 以及未注册协议和处理器异常导致的丢弃。处理器返回后按 {@link UdpPacket#isPayloadDecoded()}
+ * 统计非空包体是否被解码过；把数据包交给其他线程的处理器在返回前解码才会计入。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+@ChannelHandler.Sharable
+public class ProtocolDispatcher extends SimpleChannelInboundHandler<PacketEnvelope> {
+
+    /**
+     * 路由表大小，覆盖全部非负协议号
+     */
+    private static final int TABLE_SIZE = ProtocolConstants.ProtocolRanges.EXTENSION_END + 1;
+
+    /**
+     * 协议处理器路由表，下标即协议号
+     */
+    private final ProtocolHandler[] handlers = new ProtocolHandler[TABLE_SIZE];
+
+    private final UdpMetrics metrics;
+
+    /**
+     * 构造不统计指标的分发器
+     *
+     * @param protocolHandlers 所有协议处理器
+     */
+    public ProtocolDispatcher(List<ProtocolHandler> protocolHandlers) {
+        this(protocolHandlers, null);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param protocolHandlers 所有协议处理器
+     * @param metrics UDP指标，null表示不统计
+     */
+    @Autowired
+    public ProtocolDispatcher(List<ProtocolHandler> protocolHandlers, UdpMetrics metrics) {
+        this.metrics = metrics;
+        for (ProtocolHandler handler : protocolHandlers) {
+            short protocolId = handler.getProtocolId();
+            if (protocolId < 0) {
+                throw new IllegalArgumentException("Invalid protocol id: " + protocolId);
+            }
+            if (handlers[protocolId] != null) {
+                throw new IllegalStateException("Duplicate handler for protocol id: " + protocolId);
+            }
+            handlers[protocolId] = handler;
+            log.info("注册UDP协议处理器: protocolId=0x{}, handler={}",
+                Integer.toHexString(protocolId), handler.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * 获取协议处理器
+     *
+     * @param protocolId 协议号
+     * @return 协议处理器，未注册返回null
+     */
+    public ProtocolHandler getHandler(short protocolId) {
+        return protocolId >= 0 ? handlers[protocolId] : null;
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, PacketEnvelope msg) {
+        dispatch(ctx, msg);
+    }
+
+    /**
+     * 将数据包分发给对应协议处理器
+     *
+     * <p>供承载内层协议的处理器（如多路复用流）把解封装后的数据包重新分发。</p>
+     *
+     * @param ctx 通道上下文
+     * @param msg 数据包
+     */
+    public void dispatch(ChannelHandlerContext ctx, PacketEnvelope msg) {
+        short protocolId = msg.content().getHeader().getProtocolId();
+        ProtocolHandler handler = getHandler(protocolId);
+        if (handler == null) {
+            log.debug("未注册的协议号: 0x{}, sender: {}", Integer.toHexString(protocolId & 0xFFFF), msg.sender());
+            if (metrics != null) {
+                metrics.dropped(UdpMetrics.DropReason.UNKNOWN_PROTOCOL, protocolId);
+            }
+            replyError(ctx, msg, ProtocolConstants.ErrorCodes.PROTOCOL_ERROR);
+            return;
+        }
+
+        if (metrics == null) {
+            invoke(ctx, msg, handler, protocolId);
+            return;
+        }
+        long start = System.nanoTime();
+        if (msg.getReceivedNanos() != 0) {
+            metrics.queueWait(protocolId, start - msg.getReceivedNanos());
+        }
+        invoke(ctx, msg, handler, protocolId);
+        metrics.handlerLatency(protocolId, System.nanoTime() - start);
+        UdpPacket packet = msg.content();
+        if (packet.getBody().length > 0) {
+            metrics.payload(protocolId, packet.isPayloadDecoded());
+        }
+    }
+
+    private void invoke(ChannelHandlerContext ctx, PacketEnvelope msg, ProtocolHandler handler, short protocolId) {
+        try {
+            handler.handle(ctx, msg);
+        } catch (Exception e) {
+            log.error("UDP协议处理失败: protocolId=0x{}, sender: {}", Integer.toHexString(protocolId), msg.sender(), e);
+            if (metrics != null) {
+                metrics.dropped(UdpMetrics.DropReason.HANDLER_ERROR, protocolId);
+            }
+            replyError(ctx, msg, ProtocolConstants.ErrorCodes.SYSTEM_ERROR);
+        }
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        // UDP服务端通道不能因单个数据包的异常而关闭
+        log.error("UDP管道异常", cause);
+    }
+
+    /**
+     * 回复错误响应，对端发来的响应类数据包不再回复，避免两端互相回错
+     */
+    private void replyError(ChannelHandlerContext ctx, PacketEnvelope msg, int errorCode) {
+        short protocolId = msg.content().getHeader().getProtocolId();
+        if (protocolId == ProtocolConstants.SystemProtocols.ERROR_RESPONSE
+            || protocolId == ProtocolConstants.SystemProtocols.ACK
+            || protocolId == ProtocolConstants.SystemProtocols.FEC_PARITY) {
+            return;
+        }
+        int sequence = msg.content().getHeader().getSequence();
+        ctx.write(new DatagramPacket(ResponseTemplates.renderError(ctx.alloc(), errorCode, sequence), msg.sender()));
+    }
+}
@@ -0,0 +1,34 @@
+package com.kinkle.helloquick.udp.handler;
+
+import com.kinkle.helloquick.udp.codec.PacketEnvelope;
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * 协议处理器接口
+ *
+ * <p>每个实现负责一个协议号，由 {@link ProtocolDispatcher} 按协议号路由调用。
+ * 处理器运行在IO线程上，不得执行阻塞操作；响应通过 {@code ctx.write} 写出，
+ * 由管道在本轮读取结束时统一flush，异步完成的响应需自行 {@code writeAndFlush}。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public interface ProtocolHandler {
+
+    /**
+     * 获取处理的协议号
+     *
+     * @return 协议号
+     */
+    short getProtocolId();
+
+    /**
+     * 处理数据包
+     *
+     * @param ctx 通道上下文
+     * @param envelope 入站数据包
+     * @throws Exception 处理异常
+     */
+    void handle(ChannelHandlerContext ctx, PacketEnvelope envelope) throws Exception;
+}
@@ -0,0 +1,57 @@
+package com.kinkle.helloquick.udp.handler;
+
+import com.kinkle.helloquick.udp.codec.PacketEnvelope;
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import com.kinkle.helloquick.udp.stream.StreamCredit;
+import com.kinkle.helloquick.udp.stream.StreamFrame;
+import com.kinkle.helloquick.udp.stream.StreamSession;
+import com.kinkle.helloquick.udp.stream.StreamSessionRegistry;
+import io.netty.channel.ChannelHandlerContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 流信用额度更新处理器
+ *
+ * <p>对端通告的信用上限推进本端对应流的发送额度，确认释放已送达的帧，
+ * 选择确认位图暴露的缺失帧以流数据包重传给对端。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StreamCreditHandler implements ProtocolHandler {
+
+    private final StreamSessionRegistry registry;
+
+    @Override
+    public short getProtocolId() {
+        return ProtocolConstants.SystemProtocols.STREAM_CREDIT;
+    }
+
+    @Override
+    public void handle(ChannelHandlerContext ctx, PacketEnvelope envelope) {
+        StreamSession session = registry.get(envelope.sender());
+        if (session == null) {
+            return;
+        }
+        List<StreamFrame> retransmits;
+        try {
+            retransmits = session.onCredit(envelope.content().payload(StreamCredit.class), System.nanoTime());
+        } catch (IllegalArgumentException e) {
+            log.debug("丢弃格式错误的流信用更新，sender: {}, reason: {}", envelope.sender(), e.getMessage());
+            return;
+        }
+        for (StreamFrame frame : retransmits) {
+            UdpPacket packet = new UdpPacket(ProtocolConstants.SystemProtocols.STREAM_DATA, frame.encode());
+            ctx.write(new PacketEnvelope(packet, envelope.sender()));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.kinkle.helloquick.udp.handler;
+
+import com.kinkle.helloquick.udp.codec.PacketEnvelope;
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.ProtocolHeader;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import com.kinkle.helloquick.udp.stream.StreamCredit;
+import com.kinkle.helloquick.udp.stream.StreamFrame;
+import com.kinkle.helloquick.udp.stream.StreamSession;
+import com.kinkle.helloquick.udp.stream.StreamSessionRegistry;
+import io.netty.channel.ChannelHandlerContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 流数据帧处理器
+ *
+ * <p>把帧交给对端会话中对应流的重排序缓冲区，按序交付的帧还原为内层数据包后
+ * 重新交给 {@link ProtocolDispatcher} 分发。交付位置推进、出现缺口或收到重复帧时回复信用额度更新。</p>
+ *
+ * <p>分发器依赖所有协议处理器，这里通过 {@link ObjectProvider} 延迟获取以避免循环依赖。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+public class StreamDataHandler implements ProtocolHandler {
+
+    private final StreamSessionRegistry registry;
+
+    private final ObjectProvider<ProtocolDispatcher> dispatcherProvider;
+
+    /**
+     * 构造函数
+     *
+     * @param registry 流会话注册表
+     * @param dispatcherProvider 协议分发器提供者
+     */
+    public StreamDataHandler(StreamSessionRegistry registry, ObjectProvider<ProtocolDispatcher> dispatcherProvider) {
+        this.registry = registry;
+        this.dispatcherProvider = dispatcherProvider;
+    }
+
+    @Override
+    public short getProtocolId() {
+        return ProtocolConstants.SystemProtocols.STREAM_DATA;
+    }
+
+    @Override
+    public void handle(ChannelHandlerContext ctx, PacketEnvelope envelope) {
+        UdpPacket packet = envelope.content();
+        StreamFrame frame;
+        try {
+            frame = packet.payload(StreamFrame.class);
+        } catch (IllegalArgumentException e) {
+            log.debug("丢弃格式错误的流数据帧，sender: {}, reason: {}", envelope.sender(), e.getMessage());
+            return;
+        }
+
+        StreamSession session = registry.getOrCreate(envelope.sender());
+        if (session == null) {
+            return;
+        }
+        List<StreamFrame> delivered = new ArrayList<>(1);
+        StreamCredit credit = session.receive(frame, delivered, System.nanoTime());
+
+        if (!delivered.isEmpty()) {
+            ProtocolDispatcher dispatcher = dispatcherProvider.getObject();
+            for (StreamFrame inner : delivered) {
+                dispatcher.dispatch(ctx, unwrap(envelope, inner));
+            }
+        }
+        if (credit != null) {
+            UdpPacket response = new UdpPacket(ProtocolConstants.SystemProtocols.STREAM_CREDIT, credit.encode());
+            response.getHeader().setSequence(packet.getHeader().getSequence());
+            ctx.write(new PacketEnvelope(response, envelope.sender()));
+        }
+    }
+
+    /**
+     * 将流数据帧还原为内层数据包，沿用外层包头的编码、序列号与时间戳
+     */
+    private static PacketEnvelope unwrap(PacketEnvelope outer, StreamFrame frame) {
+        ProtocolHeader outerHeader = outer.content().getHeader();
+        ProtocolHeader header = new ProtocolHeader(frame.getProtocolId(), outerHeader.getEncoding(),
+            outerHeader.getEncryption(), frame.getPayload().length);
+        header.setSequence(outerHeader.getSequence());
+        header.setTimestamp(outerHeader.getTimestamp());
+        return new PacketEnvelope(new UdpPacket(header, frame.getPayload()),
+            outer.recipient(), outer.sender(), outer.getReceivedNanos());
+    }
+}
@@ -0,0 +1,84 @@
+package com.kinkle.helloquick.udp.handler;
+
+import com.kinkle.helloquick.udp.codec.PacketEnvelope;
+import com.kinkle.helloquick.udp.login.LoginRequest;
+import com.kinkle.helloquick.udp.login.UdpLoginService;
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import com.kinkle.helloquick.udp.session.UdpSessionManager;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.net.InetSocketAddress;
+
+/**
+ * 用户登录协议处理器
+ *
+ * <p>IO线程只解码请求，校验交给 {@link UdpLoginService} 的校验线程池，
+ * 完成后由校验线程写回登录结果，响应沿用请求序列号。登录成功的会话同时记入 {@link UdpSessionManager}。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.udp", name = "enabled", havingValue = "true")
+public class UserLoginHandler implements ProtocolHandler {
+
+    private final UdpLoginService loginService;
+
+    private final UdpSessionManager sessionManager;
+
+    /**
+     * 构造函数
+     *
+     * @param loginService 登录服务
+     */
+    public UserLoginHandler(UdpLoginService loginService) {
+        this(loginService, null);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param loginService 登录服务
+     * @param sessionManager 会话管理器，null表示不记录会话状态
+     */
+    @Autowired
+    public UserLoginHandler(UdpLoginService loginService, UdpSessionManager sessionManager) {
+        this.loginService = loginService;
+        this.sessionManager = sessionManager;
+    }
+
+    @Override
+    public short getProtocolId() {
+        return ProtocolConstants.BusinessProtocols.USER_LOGIN;
+    }
+
+    @Override
+    public void handle(ChannelHandlerContext ctx, PacketEnvelope envelope) {
+        LoginRequest request;
+        try {
+            request = envelope.content().payload(LoginRequest.class);
+        } catch (IllegalArgumentException e) {
+            log.debug("丢弃格式错误的登录请求，sender: {}, reason: {}", envelope.sender(), e.getMessage());
+            return;
+        }
+        Channel channel = ctx.channel();
+        InetSocketAddress sender = envelope.sender();
+        int sequence = envelope.content().getHeader().getSequence();
+        loginService.login(request.getUsername(), request.getPassword(), sender).thenAccept(result -> {
+            if (sessionManager != null && result.getCode() == ProtocolConstants.ErrorCodes.SUCCESS) {
+                sessionManager.authenticate(sender, result.getUserId(), result.getSessionId());
+            }
+            UdpPacket response = new UdpPacket(ProtocolConstants.BusinessProtocols.USER_LOGIN, result.encode());
+            response.getHeader().setSequence(sequence);
+            channel.writeAndFlush(new PacketEnvelope(response, sender), channel.voidPromise());
+        });
+    }
+}
@@ -0,0 +1,85 @@
+package com.kinkle.helloquick.udp.handler;
+
+import com.kinkle.helloquick.udp.codec.PacketEnvelope;
+import com.kinkle.helloquick.udp.login.LoginResult;
+import com.kinkle.helloquick.udp.login.LogoutRequest;
+import com.kinkle.helloquick.udp.login.UdpLoginService;
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import com.kinkle.helloquick.udp.session.UdpSessionManager;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.net.InetSocketAddress;
+
+/**
+ * 用户登出协议处理器
+ *
+ * <p>删除Redis中的会话；{@link UdpSessionManager} 中该地址的会话状态只在会话ID属于该地址时删除，
+ * 完成后回复1字节结果码。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.udp", name = "enabled", havingValue = "true")
+public class UserLogoutHandler implements ProtocolHandler {
+
+    private final UdpLoginService loginService;
+
+    private final UdpSessionManager sessionManager;
+
+    /**
+     * 构造函数
+     *
+     * @param loginService 登录服务
+     */
+    public UserLogoutHandler(UdpLoginService loginService) {
+        this(loginService, null);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param loginService 登录服务
+     * @param sessionManager 会话管理器，null表示不记录会话状态
+     */
+    @Autowired
+    public UserLogoutHandler(UdpLoginService loginService, UdpSessionManager sessionManager) {
+        this.loginService = loginService;
+        this.sessionManager = sessionManager;
+    }
+
+    @Override
+    public short getProtocolId() {
+        return ProtocolConstants.BusinessProtocols.USER_LOGOUT;
+    }
+
+    @Override
+    public void handle(ChannelHandlerContext ctx, PacketEnvelope envelope) {
+        String sessionId;
+        try {
+            sessionId = envelope.content().payload(LogoutRequest.class).getSessionId();
+        } catch (IllegalArgumentException e) {
+            log.debug("丢弃格式错误的登出请求，sender: {}, reason: {}", envelope.sender(), e.getMessage());
+            return;
+        }
+        Channel channel = ctx.channel();
+        InetSocketAddress sender = envelope.sender();
+        int sequence = envelope.content().getHeader().getSequence();
+        loginService.logout(sessionId).thenAccept(code -> {
+            if (sessionManager != null && code == ProtocolConstants.ErrorCodes.SUCCESS) {
+                sessionManager.remove(sender, sessionId);
+            }
+            UdpPacket response = new UdpPacket(ProtocolConstants.BusinessProtocols.USER_LOGOUT, LoginResult.encodeCode(code));
+            response.getHeader().setSequence(sequence);
+            channel.writeAndFlush(new PacketEnvelope(response, sender), channel.voidPromise());
+        });
+    }
+}
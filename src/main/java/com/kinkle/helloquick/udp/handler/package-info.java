@@ -0,0 +1,10 @@
+/**
+ * UDP协议处理器包
+ *
+ * <p>包含协议分发器以及系统协议、业务协议的处理器实现。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.kinkle.helloquick.udp.handler;
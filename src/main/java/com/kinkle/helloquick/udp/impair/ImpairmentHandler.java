@@ -0,0 +1,127 @@
+package com.kinkle.helloquick.udp.impair;
+
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.util.ReferenceCountUtil;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 网络损伤处理器
+ *
+ * <p>放在管道最靠近套接字的位置（{@code pipeline.addFirst}），对入站和出站的 {@link DatagramPacket}
+ * 分别按 {@link ImpairmentModel} 丢弃、延迟或重复，其余消息原样透传。延迟通过通道事件循环的定时任务实现，
+ * 延迟投递的入站数据报随后补发一次 {@code channelReadComplete}，保证后面的处理器刷新响应。</p>
+ *
+ * <p>出站数据报的Promise立即成功，与UDP发送即忘的语义一致。批量写出开启GSO时，
+ * 合并后的数据报作为一个整体受损伤，逐包模拟时应关闭GSO。处理器有状态，每个通道一个实例。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ImpairmentHandler extends ChannelDuplexHandler {
+
+    private final ImpairmentModel inbound;
+
+    private final ImpairmentModel outbound;
+
+    private final long[] delays = new long[2];
+
+    /**
+     * 构造函数
+     *
+     * @param inbound 入站损伤参数，null表示不处理入站
+     * @param outbound 出站损伤参数，null表示不处理出站
+     * @param seed 随机数种子
+     */
+    public ImpairmentHandler(ImpairmentProfile inbound, ImpairmentProfile outbound, long seed) {
+        this.inbound = inbound != null ? new ImpairmentModel(inbound, seed) : null;
+        this.outbound = outbound != null ? new ImpairmentModel(outbound, seed + 1) : null;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (inbound == null || !(msg instanceof DatagramPacket)) {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+        DatagramPacket packet = (DatagramPacket) msg;
+        int copies = inbound.schedule(System.nanoTime(), packet.content().readableBytes(), delays);
+        if (copies == 0) {
+            ReferenceCountUtil.release(packet);
+            return;
+        }
+        for (int i = 0; i < copies; i++) {
+            DatagramPacket copy = i == copies - 1 ? packet : packet.retainedDuplicate();
+            long delay = delays[i];
+            if (delay <= 0) {
+                ctx.fireChannelRead(copy);
+            } else {
+                ctx.executor().schedule(() -> {
+                    ctx.fireChannelRead(copy);
+                    ctx.fireChannelReadComplete();
+                }, delay, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        if (outbound == null || !(msg instanceof DatagramPacket)) {
+            ctx.write(msg, promise);
+            return;
+        }
+        DatagramPacket packet = (DatagramPacket) msg;
+        int copies = outbound.schedule(System.nanoTime(), packet.content().readableBytes(), delays);
+        promise.trySuccess();
+        if (copies == 0) {
+            ReferenceCountUtil.release(packet);
+            return;
+        }
+        for (int i = 0; i < copies; i++) {
+            DatagramPacket copy = i == copies - 1 ? packet : packet.retainedDuplicate();
+            long delay = delays[i];
+            if (delay <= 0) {
+                ctx.write(copy, ctx.voidPromise());
+            } else {
+                ctx.executor().schedule(() -> ctx.writeAndFlush(copy, ctx.voidPromise()), delay, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * 切换损伤参数
+     *
+     * @param inboundProfile 入站损伤参数，构造时未启用入站则忽略
+     * @param outboundProfile 出站损伤参数，构造时未启用出站则忽略
+     */
+    public void setProfiles(ImpairmentProfile inboundProfile, ImpairmentProfile outboundProfile) {
+        if (inbound != null && inboundProfile != null) {
+            inbound.setProfile(inboundProfile);
+        }
+        if (outbound != null && outboundProfile != null) {
+            outbound.setProfile(outboundProfile);
+        }
+    }
+
+    /**
+     * 获取入站损伤模型
+     *
+     * @return 模型，未启用时返回null
+     */
+    public ImpairmentModel getInbound() {
+        return inbound;
+    }
+
+    /**
+     * 获取出站损伤模型
+     *
+     * @return 模型，未启用时返回null
+     */
+    public ImpairmentModel getOutbound() {
+        return outbound;
+    }
+}
@@ -0,0 +1,161 @@
+package com.kinkle.helloquick.udp.impair;
+
+import lombok.Getter;
+
+import java.util.Random;
+
+/**
+ * 单方向网络损伤模型
+ *
+ * <p>对每个数据报给出0~2个投递时延：0个表示丢弃，2个表示重复。带宽限制按串行链路建模，
+ * 记录链路空闲时刻，数据报的发送时延为排队时间加上按带宽计算的传输时间。</p>
+ *
+ * <p>随机数使用固定种子，相同参数与输入序列得到相同的结果，便于回归比较。
+ * 模型不是线程安全的，应只在一个事件循环线程上使用；统计值可在流量停止后从其他线程读取。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ImpairmentModel {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final Random random;
+
+    private volatile ImpairmentProfile profile;
+
+    private long linkFreeAt;
+
+    /**
+     * 收到的数据报数量
+     */
+    @Getter
+    private long packets;
+
+    /**
+     * 随机丢弃的数量
+     */
+    @Getter
+    private long lost;
+
+    /**
+     * 排队超时丢弃的数量
+     */
+    @Getter
+    private long queueDropped;
+
+    /**
+     * 被乱序的数量
+     */
+    @Getter
+    private long reordered;
+
+    /**
+     * 重复的数量
+     */
+    @Getter
+    private long duplicated;
+
+    /**
+     * 构造函数
+     *
+     * @param profile 损伤参数
+     * @param seed 随机数种子
+     */
+    public ImpairmentModel(ImpairmentProfile profile, long seed) {
+        this.profile = profile;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * 切换损伤参数，对之后到达的数据报生效
+     *
+     * @param profile 损伤参数
+     */
+    public void setProfile(ImpairmentProfile profile) {
+        this.profile = profile;
+    }
+
+    /**
+     * 获取当前损伤参数
+     *
+     * @return 损伤参数
+     */
+    public ImpairmentProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * 计算一个数据报的投递时延
+     *
+     * @param nowNanos 当前时间（{@link System#nanoTime()}）
+     * @param length 数据报长度
+     * @param delays 输出投递时延（纳秒），长度至少为2
+     * @return 投递次数，0表示丢弃
+     */
+    public int schedule(long nowNanos, int length, long[] delays) {
+        ImpairmentProfile current = profile;
+        packets++;
+        if (current.getLossRate() > 0 && random.nextDouble() < current.getLossRate()) {
+            lost++;
+            return 0;
+        }
+
+        long linkDelay = 0;
+        if (current.getBandwidth() > 0) {
+            long start = linkFreeAt - nowNanos > 0 ? linkFreeAt : nowNanos;
+            if (start - nowNanos > current.getMaxQueueDelay() * NANOS_PER_MILLI) {
+                queueDropped++;
+                return 0;
+            }
+            linkFreeAt = start + length * 1_000_000_000L / current.getBandwidth();
+            linkDelay = linkFreeAt - nowNanos;
+        }
+
+        long delay = linkDelay + propagationDelay(current);
+        if (current.getReorderRate() > 0 && random.nextDouble() < current.getReorderRate()) {
+            reordered++;
+            delay += (long) (current.getReorderDelay() * NANOS_PER_MILLI);
+        }
+        delays[0] = delay;
+
+        if (current.getDuplicateRate() > 0 && random.nextDouble() < current.getDuplicateRate()) {
+            duplicated++;
+            delays[1] = linkDelay + propagationDelay(current);
+            return 2;
+        }
+        return 1;
+    }
+
+    /**
+     * 获取投递的数据报数量，重复的副本计入
+     *
+     * @return 数量
+     */
+    public long getDelivered() {
+        return packets - lost - queueDropped + duplicated;
+    }
+
+    /**
+     * 清空统计值
+     */
+    public void resetStats() {
+        packets = 0;
+        lost = 0;
+        queueDropped = 0;
+        reordered = 0;
+        duplicated = 0;
+    }
+
+    /**
+     * 固定时延加均匀抖动，不小于0
+     */
+    private long propagationDelay(ImpairmentProfile current) {
+        double millis = current.getDelay();
+        if (current.getJitter() > 0) {
+            millis += (random.nextDouble() * 2 - 1) * current.getJitter();
+        }
+        return millis > 0 ? (long) (millis * NANOS_PER_MILLI) : 0;
+    }
+}
@@ -0,0 +1,144 @@
+package com.kinkle.helloquick.udp.impair;
+
+import lombok.Data;
+
+/**
+ * 网络损伤参数
+ *
+ * <p>对单方向的数据报依次施加：随机丢包 → 带宽限制（排队超过上限时尾部丢弃）→ 固定时延与均匀抖动 →
+ * 随机乱序（额外延迟使后续数据报先到）→ 随机重复。所有概率取值0~1，时间单位为毫秒。</p>
+ *
+ * <p>可由形如 {@code loss=0.02,delay=20,jitter=5,reorder=0.01,duplicate=0.001,bandwidth=125000}
+ * 的字符串解析，见 {@link #parse(String)}。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Data
+public class ImpairmentProfile {
+
+    /**
+     * 丢包率
+     */
+    private double lossRate;
+
+    /**
+     * 重复率
+     */
+    private double duplicateRate;
+
+    /**
+     * 乱序率
+     */
+    private double reorderRate;
+
+    /**
+     * 被乱序的数据报额外延迟（毫秒）
+     */
+    private double reorderDelay = 10;
+
+    /**
+     * 固定单向时延（毫秒）
+     */
+    private double delay;
+
+    /**
+     * 时延抖动幅度（毫秒），在 [-jitter, +jitter] 内均匀分布
+     */
+    private double jitter;
+
+    /**
+     * 带宽限制（字节/秒），0表示不限制
+     */
+    private long bandwidth;
+
+    /**
+     * 带宽受限时允许的最大排队时延（毫秒），超出时丢弃
+     */
+    private double maxQueueDelay = 200;
+
+    /**
+     * 无损伤参数
+     *
+     * @return 参数
+     */
+    public static ImpairmentProfile none() {
+        return new ImpairmentProfile();
+    }
+
+    /**
+     * 解析参数字符串
+     *
+     * @param spec 逗号分隔的 {@code 键=值}，键为 loss、duplicate、reorder、reorderDelay、delay、jitter、
+     *             bandwidth、maxQueueDelay；空字符串或 {@code none} 表示无损伤
+     * @return 参数
+     * @throws IllegalArgumentException 键未知或取值非法
+     */
+    public static ImpairmentProfile parse(String spec) {
+        ImpairmentProfile profile = new ImpairmentProfile();
+        if (spec == null || spec.isBlank() || "none".equalsIgnoreCase(spec.trim())) {
+            return profile;
+        }
+        for (String item : spec.split(",")) {
+            int eq = item.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Invalid impairment item: " + item);
+            }
+            String key = item.substring(0, eq).trim();
+            String value = item.substring(eq + 1).trim();
+            try {
+                switch (key) {
+                    case "loss":
+                        profile.setLossRate(rate(value));
+                        break;
+                    case "duplicate":
+                        profile.setDuplicateRate(rate(value));
+                        break;
+                    case "reorder":
+                        profile.setReorderRate(rate(value));
+                        break;
+                    case "reorderDelay":
+                        profile.setReorderDelay(millis(value));
+                        break;
+                    case "delay":
+                        profile.setDelay(millis(value));
+                        break;
+                    case "jitter":
+                        profile.setJitter(millis(value));
+                        break;
+                    case "bandwidth":
+                        profile.setBandwidth(Long.parseLong(value));
+                        break;
+                    case "maxQueueDelay":
+                        profile.setMaxQueueDelay(millis(value));
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown impairment key: " + key);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid impairment value: " + item, e);
+            }
+        }
+        if (profile.getBandwidth() < 0) {
+            throw new IllegalArgumentException("Bandwidth cannot be negative");
+        }
+        return profile;
+    }
+
+    private static double rate(String value) {
+        double rate = Double.parseDouble(value);
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("Rate must be within [0, 1]: " + value);
+        }
+        return rate;
+    }
+
+    private static double millis(String value) {
+        double millis = Double.parseDouble(value);
+        if (millis < 0) {
+            throw new IllegalArgumentException("Time cannot be negative: " + value);
+        }
+        return millis;
+    }
+}
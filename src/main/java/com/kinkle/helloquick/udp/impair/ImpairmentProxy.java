@@ -0,0 +1,247 @@
+package com.kinkle.helloquick.udp.impair;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 网络损伤UDP代理
+ *
+ * <p>在本机监听一个端口，把客户端数据报转发给服务端，并把服务端的响应转发回客户端，
+ * 上行与下行分别按 {@link ImpairmentModel} 施加损伤。每个客户端地址对应一个独立的上游套接字，
+ * 服务端看到的来源地址各不相同，响应据此路由回对应客户端。</p>
+ *
+ * <p>监听通道与全部上游通道注册在同一个事件循环上，损伤模型和会话表无需同步。
+ * 客户端数量超过上限时按最近访问顺序关闭最早的上游套接字。</p>
+ *
+ * <pre>
+ * ImpairmentProxy &lt;监听端口&gt; &lt;host:port&gt; [上行参数] [下行参数]
+ * ImpairmentProxy 19190 127.0.0.1:9090 loss=0.02,delay=20,jitter=5 loss=0.02,delay=20
+ * </pre>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+public class ImpairmentProxy implements Closeable {
+
+    /**
+     * 默认客户端数量上限
+     */
+    public static final int DEFAULT_MAX_CLIENTS = 1024;
+
+    private final EventLoopGroup group;
+
+    private final int listenPort;
+
+    private final InetSocketAddress server;
+
+    private final ImpairmentModel upstream;
+
+    private final ImpairmentModel downstream;
+
+    private final Map<InetSocketAddress, ChannelFuture> clients;
+
+    private final long[] delays = new long[2];
+
+    private Channel front;
+
+    /**
+     * 构造函数
+     *
+     * @param group 事件循环组，代理只使用其中一个事件循环
+     * @param listenPort 监听端口，0表示随机端口
+     * @param server 服务端地址
+     * @param upstreamProfile 上行（客户端到服务端）损伤参数
+     * @param downstreamProfile 下行（服务端到客户端）损伤参数
+     * @param seed 随机数种子
+     */
+    public ImpairmentProxy(EventLoopGroup group, int listenPort, InetSocketAddress server,
+                           ImpairmentProfile upstreamProfile, ImpairmentProfile downstreamProfile, long seed) {
+        this.group = group;
+        this.listenPort = listenPort;
+        this.server = server;
+        this.upstream = new ImpairmentModel(upstreamProfile, seed);
+        this.downstream = new ImpairmentModel(downstreamProfile, seed + 1);
+        this.clients = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<InetSocketAddress, ChannelFuture> eldest) {
+                if (size() > DEFAULT_MAX_CLIENTS) {
+                    eldest.getValue().channel().close();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 绑定监听端口
+     *
+     * @throws InterruptedException 绑定被中断
+     */
+    public void start() throws InterruptedException {
+        front = new Bootstrap()
+            .group(group)
+            .channel(NioDatagramChannel.class)
+            .handler(new SimpleChannelInboundHandler<DatagramPacket>(false) {
+                @Override
+                protected void channelRead0(ChannelHandlerContext ctx, DatagramPacket msg) {
+                    forwardUpstream(msg);
+                }
+            })
+            .bind(listenPort).sync().channel();
+        log.info("损伤代理已启动，listen: {}, server: {}", front.localAddress(), server);
+    }
+
+    /**
+     * 切换损伤参数，对之后到达的数据报生效
+     *
+     * @param upstreamProfile 上行损伤参数
+     * @param downstreamProfile 下行损伤参数
+     */
+    public void setProfiles(ImpairmentProfile upstreamProfile, ImpairmentProfile downstreamProfile) {
+        upstream.setProfile(upstreamProfile);
+        downstream.setProfile(downstreamProfile);
+    }
+
+    /**
+     * 获取上行损伤模型
+     *
+     * @return 模型
+     */
+    public ImpairmentModel getUpstream() {
+        return upstream;
+    }
+
+    /**
+     * 获取下行损伤模型
+     *
+     * @return 模型
+     */
+    public ImpairmentModel getDownstream() {
+        return downstream;
+    }
+
+    /**
+     * 获取监听地址
+     *
+     * @return 监听地址，未启动时返回null
+     */
+    public InetSocketAddress getLocalAddress() {
+        return front != null ? (InetSocketAddress) front.localAddress() : null;
+    }
+
+    @Override
+    public void close() {
+        if (front == null) {
+            return;
+        }
+        front.eventLoop().submit(() -> {
+            for (ChannelFuture client : clients.values()) {
+                client.channel().close();
+            }
+            clients.clear();
+        }).syncUninterruptibly();
+        front.close().syncUninterruptibly();
+    }
+
+    private void forwardUpstream(DatagramPacket msg) {
+        InetSocketAddress client = msg.sender();
+        ChannelFuture upstreamChannel = clients.get(client);
+        if (upstreamChannel == null) {
+            upstreamChannel = openUpstream(front.eventLoop(), client);
+            clients.put(client, upstreamChannel);
+        }
+        ChannelFuture bound = upstreamChannel;
+        impair(upstream, msg, packet -> bound.addListener(future -> {
+            if (future.isSuccess()) {
+                bound.channel().writeAndFlush(packet, bound.channel().voidPromise());
+            } else {
+                packet.release();
+            }
+        }), server);
+    }
+
+    private ChannelFuture openUpstream(EventLoop loop, InetSocketAddress client) {
+        return new Bootstrap()
+            .group(loop)
+            .channel(NioDatagramChannel.class)
+            .handler(new SimpleChannelInboundHandler<DatagramPacket>(false) {
+                @Override
+                protected void channelRead0(ChannelHandlerContext ctx, DatagramPacket msg) {
+                    impair(downstream, msg, packet -> front.writeAndFlush(packet, front.voidPromise()), client);
+                }
+            })
+            .bind(0);
+    }
+
+    /**
+     * 按损伤模型转发数据报，recipient为转发目标
+     */
+    private void impair(ImpairmentModel model, DatagramPacket msg, PacketSink sink, InetSocketAddress recipient) {
+        int copies = model.schedule(System.nanoTime(), msg.content().readableBytes(), delays);
+        for (int i = 0; i < copies; i++) {
+            DatagramPacket packet = new DatagramPacket(msg.content().retainedDuplicate(), recipient);
+            long delay = delays[i];
+            if (delay <= 0) {
+                sink.accept(packet);
+            } else {
+                front.eventLoop().schedule(() -> sink.accept(packet), delay, TimeUnit.NANOSECONDS);
+            }
+        }
+        msg.release();
+    }
+
+    /**
+     * 命令行入口
+     *
+     * @param args {@code <监听端口> <host:port> [上行参数] [下行参数]}
+     * @throws InterruptedException 启动被中断
+     */
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length < 2) {
+            System.err.println("Usage: ImpairmentProxy <listenPort> <host:port> [upstreamSpec] [downstreamSpec]");
+            System.exit(1);
+        }
+        int colon = args[1].lastIndexOf(':');
+        InetSocketAddress server = new InetSocketAddress(args[1].substring(0, colon),
+            Integer.parseInt(args[1].substring(colon + 1)));
+        ImpairmentProfile up = ImpairmentProfile.parse(args.length > 2 ? args[2] : "");
+        ImpairmentProfile down = ImpairmentProfile.parse(args.length > 3 ? args[3] : args.length > 2 ? args[2] : "");
+
+        EventLoopGroup group = new NioEventLoopGroup(1);
+        ImpairmentProxy proxy = new ImpairmentProxy(group, Integer.parseInt(args[0]), server, up, down,
+            System.nanoTime());
+        proxy.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            proxy.close();
+            group.shutdownGracefully();
+        }));
+        proxy.front.closeFuture().sync();
+    }
+
+    /**
+     * 数据报转发目标
+     */
+    @FunctionalInterface
+    private interface PacketSink {
+
+        void accept(DatagramPacket packet);
+    }
+}
@@ -0,0 +1,11 @@
+/**
+ * UDP网络损伤模拟包
+ *
+ * <p>包含按丢包、乱序、重复、抖动与带宽限制建模的损伤模型，可插入管道的损伤处理器，
+ * 以及运行在本机的独立损伤代理，用于在无真实网络的环境下回归测试可靠传输、FEC和分片的表现。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.kinkle.helloquick.udp.impair;
@@ -0,0 +1,97 @@
+package com.kinkle.helloquick.udp.login;
+
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 登录请求报文
+ *
+ * <p>布局如下：</p>
+ * <pre>
+ * 0  用户名长度 n（1字节）
+ * 1  用户名（n字节，UTF-8）
+ * 1+n 密码长度 m（1字节）
+ * 2+n 密码（m字节，UTF-8）
+ * </pre>
+ *
+ * <p>报文本身不加密，生产环境需在协议头启用加密后再传输。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+public final class LoginRequest {
+
+    /**
+     * 用户名与密码编码后的最大字节数
+     */
+    public static final int MAX_FIELD_LENGTH = 255;
+
+    /**
+     * 用户名
+     */
+    private final String username;
+
+    /**
+     * 密码明文
+     */
+    private final String password;
+
+    /**
+     * 构造函数
+     *
+     * @param username 用户名
+     * @param password 密码明文
+     */
+    public LoginRequest(String username, String password) {
+        this.username = username;
+        this.password = password;
+    }
+
+    /**
+     * 编码为包体
+     *
+     * @return 包体字节
+     * @throws IllegalArgumentException 字段超长
+     */
+    public byte[] encode() {
+        byte[] name = username.getBytes(StandardCharsets.UTF_8);
+        byte[] secret = password.getBytes(StandardCharsets.UTF_8);
+        if (name.length > MAX_FIELD_LENGTH || secret.length > MAX_FIELD_LENGTH) {
+            throw new IllegalArgumentException("Username or password too long");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(2 + name.length + secret.length);
+        buffer.put((byte) name.length);
+        buffer.put(name);
+        buffer.put((byte) secret.length);
+        buffer.put(secret);
+        return buffer.array();
+    }
+
+    /**
+     * 从包体解码
+     *
+     * @param body 包体字节
+     * @return 登录请求
+     * @throws IllegalArgumentException 包体格式错误
+     */
+    public static LoginRequest decode(byte[] body) {
+        if (body == null || body.length < 2) {
+            throw new IllegalArgumentException("Invalid login request body");
+        }
+        int nameLength = body[0] & 0xFF;
+        if (body.length < 2 + nameLength) {
+            throw new IllegalArgumentException("Invalid login request body");
+        }
+        int secretLength = body[1 + nameLength] & 0xFF;
+        if (body.length != 2 + nameLength + secretLength) {
+            throw new IllegalArgumentException("Invalid login request body");
+        }
+        String username = new String(body, 1, nameLength, StandardCharsets.UTF_8);
+        String password = new String(body, 2 + nameLength, secretLength, StandardCharsets.UTF_8);
+        return new LoginRequest(username, password);
+    }
+}
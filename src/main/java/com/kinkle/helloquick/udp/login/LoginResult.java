@@ -0,0 +1,155 @@
+package com.kinkle.helloquick.udp.login;
+
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 登录结果报文
+ *
+ * <p>布局如下（大端）：</p>
+ * <pre>
+ * 0  结果码（1字节），取值见 {@link com.kinkle.helloquick.udp.protocol.ProtocolConstants.ErrorCodes}
+ * 1  用户ID（8字节），失败时为0
+ * 9  会话有效期（4字节，秒），失败时为0
+ * 13 会话ID长度 n（1字节），失败时为0
+ * 14 会话ID（n字节，ASCII）
+ * </pre>
+ *
+ * <p>登出响应只有1字节结果码，见 {@link #encodeCode(int)}。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+public final class LoginResult {
+
+    /**
+     * 会话ID之前的固定长度
+     */
+    public static final int HEADER_LENGTH = 14;
+
+    /**
+     * 结果码
+     */
+    private final int code;
+
+    /**
+     * 用户ID
+     */
+    private final long userId;
+
+    /**
+     * 会话有效期（秒）
+     */
+    private final int ttlSeconds;
+
+    /**
+     * 会话ID，失败时为空字符串
+     */
+    private final String sessionId;
+
+    /**
+     * 构造函数
+     *
+     * @param code 结果码
+     * @param userId 用户ID
+     * @param ttlSeconds 会话有效期（秒）
+     * @param sessionId 会话ID
+     */
+    public LoginResult(int code, long userId, int ttlSeconds, String sessionId) {
+        this.code = code;
+        this.userId = userId;
+        this.ttlSeconds = ttlSeconds;
+        this.sessionId = sessionId != null ? sessionId : "";
+    }
+
+    /**
+     * 创建失败结果
+     *
+     * @param code 结果码
+     * @return 登录结果
+     */
+    public static LoginResult failure(int code) {
+        return new LoginResult(code, 0, 0, "");
+    }
+
+    /**
+     * 编码为包体
+     *
+     * @return 包体字节
+     */
+    public byte[] encode() {
+        byte[] id = sessionId.getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + id.length);
+        buffer.put((byte) code);
+        buffer.putLong(userId);
+        buffer.putInt(ttlSeconds);
+        buffer.put((byte) id.length);
+        buffer.put(id);
+        return buffer.array();
+    }
+
+    /**
+     * 从包体解码
+     *
+     * @param body 包体字节
+     * @return 登录结果
+     * @throws IllegalArgumentException 包体格式错误
+     */
+    public static LoginResult decode(byte[] body) {
+        if (body == null || body.length < HEADER_LENGTH
+            || body.length != HEADER_LENGTH + (body[HEADER_LENGTH - 1] & 0xFF)) {
+            throw new IllegalArgumentException("Invalid login result body");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        int code = buffer.get() & 0xFF;
+        long userId = buffer.getLong();
+        int ttlSeconds = buffer.getInt();
+        int length = buffer.get() & 0xFF;
+        return new LoginResult(code, userId, ttlSeconds, new String(body, HEADER_LENGTH, length, StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * 编码登出请求
+     *
+     * @param sessionId 会话ID
+     * @return 包体字节
+     */
+    public static byte[] encodeLogout(String sessionId) {
+        byte[] id = sessionId.getBytes(StandardCharsets.US_ASCII);
+        if (id.length > 255) {
+            throw new IllegalArgumentException("Session id too long");
+        }
+        byte[] body = new byte[1 + id.length];
+        body[0] = (byte) id.length;
+        System.arraycopy(id, 0, body, 1, id.length);
+        return body;
+    }
+
+    /**
+     * 解码登出请求
+     *
+     * @param body 包体字节
+     * @return 会话ID
+     * @throws IllegalArgumentException 包体格式错误
+     */
+    public static String decodeLogout(byte[] body) {
+        if (body == null || body.length < 1 || body.length != 1 + (body[0] & 0xFF)) {
+            throw new IllegalArgumentException("Invalid logout request body");
+        }
+        return new String(body, 1, body.length - 1, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * 编码仅含结果码的响应（登出响应）
+     *
+     * @param code 结果码
+     * @return 包体字节
+     */
+    public static byte[] encodeCode(int code) {
+        return new byte[] {(byte) code};
+    }
+}
@@ -0,0 +1,53 @@
+package com.kinkle.helloquick.udp.login;
+
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import lombok.Getter;
+
+/**
+ * 登出请求报文
+ *
+ * <p>作为 {@link ProtocolConstants.BusinessProtocols#USER_LOGOUT} 数据包的包体，布局见
+ * {@link LoginResult#encodeLogout(String)}：会话ID长度（1字节）+ 会话ID（ASCII）。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+public final class LogoutRequest {
+
+    /**
+     * 会话ID
+     */
+    private final String sessionId;
+
+    /**
+     * 构造函数
+     *
+     * @param sessionId 会话ID
+     */
+    public LogoutRequest(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    /**
+     * 编码为包体
+     *
+     * @return 包体字节
+     * @throws IllegalArgumentException 会话ID超长
+     */
+    public byte[] encode() {
+        return LoginResult.encodeLogout(sessionId);
+    }
+
+    /**
+     * 从包体解码
+     *
+     * @param body 包体字节
+     * @return 登出请求
+     * @throws IllegalArgumentException 包体格式错误
+     */
+    public static LogoutRequest decode(byte[] body) {
+        return new LogoutRequest(LoginResult.decodeLogout(body));
+    }
+}
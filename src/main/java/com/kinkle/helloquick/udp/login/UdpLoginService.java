@@ -0,0 +1,336 @@
+package com.kinkle.helloquick.udp.login;
+
+import com.kinkle.helloquick.common.service.RedisService;
+import com.kinkle.helloquick.common.util.CacheKeyUtil;
+import com.kinkle.helloquick.config.AppProperties;
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.user.entity.User;
+import com.kinkle.helloquick.user.repository.UserRepository;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.net.InetSocketAddress;
+import java.security.SecureRandom;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * UDP登录服务
+ *
+ * <p>查库、BCrypt校验和Redis会话读写都是阻塞操作，统一提交到有界的校验线程池执行，
+ * IO线程只负责解析请求和回写结果。线程池队列满时立即以 SYSTEM_ERROR 拒绝，不在IO线程上排队等待。</p>
+ *
+ * <p>重连风暴通过两层吸收：</p>
+ * <ul>
+ *   <li>同一账号密码的并发登录合并为一次校验，校验通过后每个请求各自创建会话</li>
+ *   <li>校验成功后写入 {@link VerifiedLoginCache}，有效期内的重复登录只做一次摘要比较</li>
+ * </ul>
+ *
+ * <p>会话以Hash存入 {@link CacheKeyUtil#getSessionKey(String)}，同时把会话ID加入
+ * {@link CacheKeyUtil#getUserSessionsKey(Long)} 集合，两者使用相同的有效期。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.udp", name = "enabled", havingValue = "true")
+public class UdpLoginService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final int SESSION_ID_BYTES = 16;
+
+    private final AppProperties.Udp.Login config;
+
+    private final UserRepository userRepository;
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final RedisService redisService;
+
+    private final VerifiedLoginCache verifiedCache;
+
+    private final ThreadPoolExecutor verifyExecutor;
+
+    /**
+     * 进行中的校验，键为用户名与密码，校验完成后移除
+     */
+    private final ConcurrentMap<String, CompletableFuture<Verification>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder bcryptCount = new LongAdder();
+
+    private final LongAdder cacheHitCount = new LongAdder();
+
+    /**
+     * 构造函数
+     *
+     * @param appProperties 应用配置
+     * @param userRepository 用户数据访问
+     * @param passwordEncoder 密码编码器
+     * @param redisService Redis服务
+     */
+    public UdpLoginService(AppProperties appProperties, UserRepository userRepository,
+                           PasswordEncoder passwordEncoder, RedisService redisService) {
+        this.config = appProperties.getUdp().getLogin();
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.redisService = redisService;
+        this.verifiedCache = new VerifiedLoginCache(config.getVerifiedCacheTtl(), config.getVerifiedCacheMaxEntries());
+        this.verifyExecutor = new ThreadPoolExecutor(config.getVerifyThreads(), config.getVerifyThreads(),
+            0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(config.getVerifyQueueSize()),
+            new DefaultThreadFactory("login-verify", true));
+    }
+
+    /**
+     * 异步登录
+     *
+     * @param username 用户名
+     * @param password 密码明文
+     * @param client 客户端地址，记录到会话中
+     * @return 登录结果，不会异常完成
+     */
+    public CompletableFuture<LoginResult> login(String username, String password, InetSocketAddress client) {
+        if (username == null || username.isBlank() || password == null || password.isEmpty()) {
+            return CompletableFuture.completedFuture(LoginResult.failure(ProtocolConstants.ErrorCodes.INVALID_PARAM));
+        }
+        String key = username + '\n' + password;
+        CompletableFuture<LoginResult> future = new CompletableFuture<>();
+        CompletableFuture<Verification> verification = new CompletableFuture<>();
+        CompletableFuture<Verification> existing = inFlight.putIfAbsent(key, verification);
+        if (existing != null) {
+            // 复用进行中的校验结果，会话仍由本次请求单独创建
+            existing.thenAccept(result -> {
+                if (result.code != ProtocolConstants.ErrorCodes.SUCCESS) {
+                    future.complete(LoginResult.failure(result.code));
+                    return;
+                }
+                try {
+                    verifyExecutor.execute(() -> future.complete(openSession(result.userId, username, client)));
+                } catch (RejectedExecutionException e) {
+                    log.warn("登录校验队列已满，拒绝登录: username={}, client={}", username, client);
+                    future.complete(LoginResult.failure(ProtocolConstants.ErrorCodes.SYSTEM_ERROR));
+                }
+            });
+            return future;
+        }
+        verification.whenComplete((result, error) -> inFlight.remove(key, verification));
+        try {
+            verifyExecutor.execute(() -> {
+                Verification result = verify(username, password, client);
+                verification.complete(result);
+                future.complete(result.code == ProtocolConstants.ErrorCodes.SUCCESS
+                    ? openSession(result.userId, username, client) : LoginResult.failure(result.code));
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("登录校验队列已满，拒绝登录: username={}, client={}", username, client);
+            verification.complete(new Verification(ProtocolConstants.ErrorCodes.SYSTEM_ERROR, 0));
+            future.complete(LoginResult.failure(ProtocolConstants.ErrorCodes.SYSTEM_ERROR));
+        }
+        return future;
+    }
+
+    /**
+     * 异步登出
+     *
+     * @param sessionId 会话ID
+     * @return 结果码，不会异常完成
+     */
+    public CompletableFuture<Integer> logout(String sessionId) {
+        if (!isValidSessionId(sessionId)) {
+            return CompletableFuture.completedFuture(ProtocolConstants.ErrorCodes.INVALID_PARAM);
+        }
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        try {
+            verifyExecutor.execute(() -> future.complete(doLogout(sessionId)));
+        } catch (RejectedExecutionException e) {
+            log.warn("登录校验队列已满，拒绝登出: sessionId={}", sessionId);
+            future.complete(ProtocolConstants.ErrorCodes.SYSTEM_ERROR);
+        }
+        return future;
+    }
+
+    /**
+     * 使用户的已校验登录缓存失效，处于事务中时在提交后执行
+     *
+     * <p>用户改密、禁用或删除后调用。</p>
+     *
+     * @param userId 用户ID
+     */
+    public void invalidateUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        verifiedCache.invalidateUser(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // 提交前开始的校验可能读到旧数据，提交后再失效一次
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    verifiedCache.invalidateUser(userId);
+                }
+            });
+        }
+    }
+
+    /**
+     * 获取执行过的BCrypt校验次数
+     *
+     * @return 次数
+     */
+    public long getBcryptCount() {
+        return bcryptCount.sum();
+    }
+
+    /**
+     * 获取已校验登录缓存命中次数
+     *
+     * @return 次数
+     */
+    public long getCacheHitCount() {
+        return cacheHitCount.sum();
+    }
+
+    /**
+     * 获取已校验登录缓存
+     *
+     * @return 缓存
+     */
+    public VerifiedLoginCache getVerifiedCache() {
+        return verifiedCache;
+    }
+
+    /**
+     * 停止校验线程池
+     */
+    @PreDestroy
+    public void shutdown() {
+        verifyExecutor.shutdownNow();
+    }
+
+    /**
+     * 校验密码，在校验线程池上执行
+     */
+    private Verification verify(String username, String password, InetSocketAddress client) {
+        try {
+            long now = System.nanoTime();
+            Long userId = verifiedCache.verify(username, password, now);
+            if (userId != null) {
+                cacheHitCount.increment();
+            } else {
+                long generation = verifiedCache.generation();
+                Optional<User> user = userRepository.findByUsername(username);
+                bcryptCount.increment();
+                if (user.isEmpty() || !passwordEncoder.matches(password, user.get().getPassword())) {
+                    log.debug("UDP登录失败，用户名或密码错误: username={}, client={}", username, client);
+                    return new Verification(ProtocolConstants.ErrorCodes.AUTH_FAILED, 0);
+                }
+                if (!user.get().isEnabled()) {
+                    log.debug("UDP登录失败，用户已禁用: username={}, client={}", username, client);
+                    return new Verification(ProtocolConstants.ErrorCodes.AUTH_FAILED, 0);
+                }
+                userId = user.get().getId();
+                verifiedCache.put(username, password, userId, generation, now);
+            }
+            return new Verification(ProtocolConstants.ErrorCodes.SUCCESS, userId);
+        } catch (RuntimeException e) {
+            log.error("UDP登录处理异常: username={}, client={}", username, client, e);
+            return new Verification(ProtocolConstants.ErrorCodes.SYSTEM_ERROR, 0);
+        }
+    }
+
+    /**
+     * 为校验通过的请求创建会话，在校验线程池上执行
+     */
+    private LoginResult openSession(long userId, String username, InetSocketAddress client) {
+        try {
+            return createSession(userId, username, client);
+        } catch (RuntimeException e) {
+            log.error("UDP会话创建异常: username={}, client={}", username, client, e);
+            return LoginResult.failure(ProtocolConstants.ErrorCodes.SYSTEM_ERROR);
+        }
+    }
+
+    private LoginResult createSession(long userId, String username, InetSocketAddress client) {
+        byte[] random = new byte[SESSION_ID_BYTES];
+        RANDOM.nextBytes(random);
+        String sessionId = HexFormat.of().formatHex(random);
+        long ttl = config.getSessionTtl();
+
+        Map<String, Object> session = new HashMap<>();
+        session.put("userId", userId);
+        session.put("username", username);
+        session.put("address", String.valueOf(client));
+        session.put("loginTime", System.currentTimeMillis());
+        if (!redisService.hmset(CacheKeyUtil.getSessionKey(sessionId), session, ttl)) {
+            return LoginResult.failure(ProtocolConstants.ErrorCodes.SYSTEM_ERROR);
+        }
+        redisService.sSetAndTime(CacheKeyUtil.getUserSessionsKey(userId), ttl, sessionId);
+        log.debug("UDP登录成功: userId={}, client={}", userId, client);
+        return new LoginResult(ProtocolConstants.ErrorCodes.SUCCESS, userId, (int) Math.min(Integer.MAX_VALUE, ttl), sessionId);
+    }
+
+    /**
+     * 会话ID必须是本服务生成的格式，避免客户端拼出其他缓存Key
+     */
+    static boolean isValidSessionId(String sessionId) {
+        if (sessionId == null || sessionId.length() != SESSION_ID_BYTES * 2) {
+            return false;
+        }
+        for (int i = 0; i < sessionId.length(); i++) {
+            char c = sessionId.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int doLogout(String sessionId) {
+        try {
+            String key = CacheKeyUtil.getSessionKey(sessionId);
+            Object userId = redisService.hget(key, "userId");
+            if (userId == null) {
+                return ProtocolConstants.ErrorCodes.AUTH_FAILED;
+            }
+            redisService.del(key);
+            redisService.setRemove(CacheKeyUtil.getUserSessionsKey(((Number) userId).longValue()), sessionId);
+            return ProtocolConstants.ErrorCodes.SUCCESS;
+        } catch (RuntimeException e) {
+            log.error("UDP登出处理异常: sessionId={}", sessionId, e);
+            return ProtocolConstants.ErrorCodes.SYSTEM_ERROR;
+        }
+    }
+
+    /**
+     * 一次密码校验的结果，由合并的并发登录共享
+     */
+    private static final class Verification {
+
+        private final int code;
+
+        private final long userId;
+
+        private Verification(int code, long userId) {
+            this.code = code;
+            this.userId = userId;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.kinkle.helloquick.udp.login;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 已校验登录缓存
+ *
+ * <p>BCrypt校验成功后按用户名缓存一份加盐的SHA-256摘要，有效期内同一账号以相同密码重复登录时
+ * 只需一次摘要比较，用于吸收客户端断线重连时的登录风暴。缓存不保存密码明文，
+ * 摘要的盐每条记录随机生成。</p>
+ *
+ * <p>用户改密、禁用或删除时调用 {@link #invalidateUser(long)}。为避免失效前已开始的校验在失效后写回旧结果，
+ * 写入时需带上校验开始前读取的 {@link #generation()}，期间发生过失效则放弃写入。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class VerifiedLoginCache {
+
+    private static final int SALT_LENGTH = 16;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * 有效期（纳秒）
+     */
+    private final long ttlNanos;
+
+    /**
+     * 条数上限
+     */
+    private final int maxEntries;
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 失效代数，每次失效加1
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * 构造函数
+     *
+     * @param ttlMillis 有效期（毫秒），不大于0时不缓存
+     * @param maxEntries 条数上限
+     */
+    public VerifiedLoginCache(long ttlMillis, int maxEntries) {
+        this.ttlNanos = Math.max(0, ttlMillis) * 1_000_000L;
+        this.maxEntries = Math.max(0, maxEntries);
+    }
+
+    /**
+     * 获取当前失效代数
+     *
+     * @return 失效代数
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * 校验缓存中的登录
+     *
+     * @param username 用户名
+     * @param password 密码明文
+     * @param nowNanos 当前时间（纳秒）
+     * @return 命中且密码一致时返回用户ID，否则返回null
+     */
+    public Long verify(String username, String password, long nowNanos) {
+        Entry entry = entries.get(username);
+        if (entry == null) {
+            return null;
+        }
+        if (nowNanos - entry.expiresAt >= 0) {
+            entries.remove(username, entry);
+            return null;
+        }
+        return MessageDigest.isEqual(entry.digest, digest(entry.salt, password)) ? entry.userId : null;
+    }
+
+    /**
+     * 写入校验成功的登录
+     *
+     * @param username 用户名
+     * @param password 密码明文
+     * @param userId 用户ID
+     * @param expectedGeneration 校验开始前读取的失效代数
+     * @param nowNanos 当前时间（纳秒）
+     * @return 是否已写入
+     */
+    public boolean put(String username, String password, long userId, long expectedGeneration, long nowNanos) {
+        if (ttlNanos == 0 || expectedGeneration != generation.get()) {
+            return false;
+        }
+        if (entries.size() >= maxEntries && !entries.containsKey(username)) {
+            evictExpired(nowNanos);
+            if (entries.size() >= maxEntries) {
+                return false;
+            }
+        }
+        byte[] salt = new byte[SALT_LENGTH];
+        RANDOM.nextBytes(salt);
+        entries.put(username, new Entry(userId, salt, digest(salt, password), nowNanos + ttlNanos));
+        // 写入期间发生失效时撤销，保证失效之后不会残留旧记录
+        if (expectedGeneration != generation.get()) {
+            entries.remove(username);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 使用户的缓存记录失效
+     *
+     * @param userId 用户ID
+     */
+    public void invalidateUser(long userId) {
+        generation.incrementAndGet();
+        entries.values().removeIf(entry -> entry.userId == userId);
+    }
+
+    /**
+     * 清除过期记录
+     *
+     * @param nowNanos 当前时间（纳秒）
+     * @return 清除的条数
+     */
+    public int evictExpired(long nowNanos) {
+        int before = entries.size();
+        entries.values().removeIf(entry -> nowNanos - entry.expiresAt >= 0);
+        return Math.max(0, before - entries.size());
+    }
+
+    /**
+     * 获取缓存条数
+     *
+     * @return 条数
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private static byte[] digest(byte[] salt, String password) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(salt);
+            return digest.digest(password.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * 缓存记录
+     */
+    private static final class Entry {
+
+        private final long userId;
+
+        private final byte[] salt;
+
+        private final byte[] digest;
+
+        private final long expiresAt;
+
+        private Entry(long userId, byte[] salt, byte[] digest, long expiresAt) {
+            this.userId = userId;
+            this.salt = salt;
+            this.digest = digest;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.kinkle.helloquick.udp.metrics;
+
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.ProtocolType;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * UDP管道指标
+ *
+ * <p>按 {@link ProtocolType} 与协议分类打标签，经actuator的 {@code metrics} 端点暴露：</p>
+ * <pre>
+ * udp.packets.in / udp.bytes.in       解码成功的入站数据包与字节数
+ * udp.packets.out / udp.bytes.out     出站数据包与字节数，含预编码的响应模板
+ * udp.decode.failures                 解码失败，reason为malformed、invalid_header或crc_mismatch
+ * udp.packets.dropped                 分发阶段丢弃，reason为unknown_protocol或handler_error
+ * udp.handler.latency                 协议处理器耗时（直方图）
+ * udp.queue.wait                      从解码到进入处理器的等待时间（直方图），含流重排序缓冲
+ * udp.payload.decoded                 处理器返回时已解码的非空包体
+ * udp.payload.skipped                 处理器返回时从未解码的非空包体，只按协议号和包头路由
+ * </pre>
+ *
+ * <p>计数器是 {@link LongAdder}，以 {@link FunctionCounter} 注册，注册表只在抓取时读取。
+ * 每个协议的计数器与计时器在构造时解析好，放进以协议号为下标的数组，热路径上没有Map查找和标签拼接；
+ * 未注册的协议号和无法识别协议号的数据包共用 {@code protocol=UNKNOWN} 一组计数器。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Component
+public class UdpMetrics {
+
+    /**
+     * 协议标签：未知协议
+     */
+    public static final String UNKNOWN = "UNKNOWN";
+
+    /**
+     * 计数表大小，覆盖全部非负协议号
+     */
+    private static final int TABLE_SIZE = ProtocolConstants.ProtocolRanges.EXTENSION_END + 1;
+
+    private final ProtocolMeters[] table = new ProtocolMeters[TABLE_SIZE];
+
+    private final ProtocolMeters unknown;
+
+    /**
+     * 全部协议的指标，用于汇总
+     */
+    private final List<ProtocolMeters> all = new ArrayList<>();
+
+    /**
+     * 解码失败原因
+     */
+    public enum DecodeFailure {
+        /** 长度不足或字段无法解析 */
+        MALFORMED,
+        /** 包头字段非法（魔数、版本、包体长度） */
+        INVALID_HEADER,
+        /** CRC32校验失败 */
+        CRC_MISMATCH
+    }
+
+    /**
+     * 分发阶段丢弃原因
+     */
+    public enum DropReason {
+        /** 未注册的协议号 */
+        UNKNOWN_PROTOCOL,
+        /** 处理器抛出异常 */
+        HANDLER_ERROR
+    }
+
+    /**
+     * 构造函数，注册全部协议的指标
+     *
+     * @param registry 指标注册表
+     */
+    public UdpMetrics(MeterRegistry registry) {
+        this.unknown = new ProtocolMeters(registry, Tags.of("protocol", UNKNOWN, "category", UNKNOWN));
+        Arrays.fill(table, unknown);
+        all.add(unknown);
+        for (ProtocolType type : ProtocolType.values()) {
+            ProtocolMeters meters = new ProtocolMeters(registry,
+                Tags.of("protocol", type.name(), "category", type.getCategory().name()));
+            table[type.getProtocolId()] = meters;
+            all.add(meters);
+        }
+    }
+
+    /**
+     * 记录一个解码成功的入站数据包
+     *
+     * @param protocolId 协议号
+     * @param bytes 数据报字节数
+     */
+    public void packetIn(short protocolId, int bytes) {
+        ProtocolMeters meters = meters(protocolId);
+        meters.packetsIn.increment();
+        meters.bytesIn.add(bytes);
+    }
+
+    /**
+     * 记录一个出站数据包
+     *
+     * @param protocolId 协议号，无法识别时传-1
+     * @param bytes 数据报字节数
+     */
+    public void packetOut(short protocolId, int bytes) {
+        ProtocolMeters meters = meters(protocolId);
+        meters.packetsOut.increment();
+        meters.bytesOut.add(bytes);
+    }
+
+    /**
+     * 记录一次解码失败
+     *
+     * @param reason 失败原因
+     * @param protocolId 包头中的协议号，无法读取时传-1
+     */
+    public void decodeFailure(DecodeFailure reason, short protocolId) {
+        meters(protocolId).decodeFailures[reason.ordinal()].increment();
+    }
+
+    /**
+     * 记录一个在分发阶段丢弃的数据包
+     *
+     * @param reason 丢弃原因
+     * @param protocolId 协议号
+     */
+    public void dropped(DropReason reason, short protocolId) {
+        meters(protocolId).dropped[reason.ordinal()].increment();
+    }
+
+    /**
+     * 记录处理器耗时
+     *
+     * @param protocolId 协议号
+     * @param nanos 耗时（纳秒）
+     */
+    public void handlerLatency(short protocolId, long nanos) {
+        meters(protocolId).handlerLatency.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 记录从解码到进入处理器的等待时间
+     *
+     * @param protocolId 协议号
+     * @param nanos 等待时间（纳秒）
+     */
+    public void queueWait(short protocolId, long nanos) {
+        meters(protocolId).queueWait.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 记录处理器返回时非空包体是否被解码过
+     *
+     * @param protocolId 协议号
+     * @param decoded 是否解码过
+     */
+    public void payload(short protocolId, boolean decoded) {
+        ProtocolMeters meters = meters(protocolId);
+        (decoded ? meters.payloadsDecoded : meters.payloadsSkipped).increment();
+    }
+
+    /**
+     * 汇总全部协议解码成功的入站数据包数量
+     *
+     * @return 数据包数量
+     */
+    public long getPacketsIn() {
+        long total = 0;
+        for (ProtocolMeters meters : all) {
+            total += meters.packetsIn.sum();
+        }
+        return total;
+    }
+
+    /**
+     * 汇总全部原因的解码失败数量
+     *
+     * @return 数据包数量
+     */
+    public long getDecodeFailures() {
+        long total = 0;
+        for (ProtocolMeters meters : all) {
+            for (LongAdder adder : meters.decodeFailures) {
+                total += adder.sum();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 汇总全部原因的分发阶段丢弃数量
+     *
+     * @return 数据包数量
+     */
+    public long getDropped() {
+        long total = 0;
+        for (ProtocolMeters meters : all) {
+            for (LongAdder adder : meters.dropped) {
+                total += adder.sum();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 汇总全部协议被解码过的包体数量
+     *
+     * @return 数据包数量
+     */
+    public long getPayloadsDecoded() {
+        long total = 0;
+        for (ProtocolMeters meters : all) {
+            total += meters.payloadsDecoded.sum();
+        }
+        return total;
+    }
+
+    /**
+     * 汇总全部协议从未解码的包体数量
+     *
+     * @return 数据包数量
+     */
+    public long getPayloadsSkipped() {
+        long total = 0;
+        for (ProtocolMeters meters : all) {
+            total += meters.payloadsSkipped.sum();
+        }
+        return total;
+    }
+
+    private ProtocolMeters meters(short protocolId) {
+        return protocolId >= 0 ? table[protocolId] : unknown;
+    }
+
+    /**
+     * 单个协议的计数器与计时器
+     */
+    private static final class ProtocolMeters {
+
+        private final LongAdder packetsIn = new LongAdder();
+
+        private final LongAdder bytesIn = new LongAdder();
+
+        private final LongAdder packetsOut = new LongAdder();
+
+        private final LongAdder bytesOut = new LongAdder();
+
+        private final LongAdder payloadsDecoded = new LongAdder();
+
+        private final LongAdder payloadsSkipped = new LongAdder();
+
+        private final LongAdder[] decodeFailures = new LongAdder[DecodeFailure.values().length];
+
+        private final LongAdder[] dropped = new LongAdder[DropReason.values().length];
+
+        private final Timer handlerLatency;
+
+        private final Timer queueWait;
+
+        private ProtocolMeters(MeterRegistry registry, Tags tags) {
+            counter(registry, "udp.packets.in", "入站数据包", "packets", tags, packetsIn);
+            counter(registry, "udp.bytes.in", "入站字节数", "bytes", tags, bytesIn);
+            counter(registry, "udp.packets.out", "出站数据包", "packets", tags, packetsOut);
+            counter(registry, "udp.bytes.out", "出站字节数", "bytes", tags, bytesOut);
+            counter(registry, "udp.payload.decoded", "处理器解码过的包体", "packets", tags, payloadsDecoded);
+            counter(registry, "udp.payload.skipped", "处理器从未解码的包体", "packets", tags, payloadsSkipped);
+            for (DecodeFailure reason : DecodeFailure.values()) {
+                decodeFailures[reason.ordinal()] = new LongAdder();
+                counter(registry, "udp.decode.failures", "解码失败的数据包", "packets",
+                    tags.and("reason", reason.name().toLowerCase(Locale.ROOT)), decodeFailures[reason.ordinal()]);
+            }
+            for (DropReason reason : DropReason.values()) {
+                dropped[reason.ordinal()] = new LongAdder();
+                counter(registry, "udp.packets.dropped", "分发阶段丢弃的数据包", "packets",
+                    tags.and("reason", reason.name().toLowerCase(Locale.ROOT)), dropped[reason.ordinal()]);
+            }
+            this.handlerLatency = timer(registry, "udp.handler.latency", "协议处理器耗时", tags);
+            this.queueWait = timer(registry, "udp.queue.wait", "从解码到进入处理器的等待时间", tags);
+        }
+
+        private static void counter(MeterRegistry registry, String name, String description, String unit,
+                                    Tags tags, LongAdder adder) {
+            FunctionCounter.builder(name, adder, LongAdder::sum)
+                .description(description)
+                .baseUnit(unit)
+                .tags(tags)
+                .register(registry);
+        }
+
+        private static Timer timer(MeterRegistry registry, String name, String description, Tags tags) {
+            return Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(1_000))
+                .maximumExpectedValue(Duration.ofSeconds(1))
+                .register(registry);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+/**
+ * UDP指标包
+ *
+ * <p>按协议类型统计入站、出站、解码失败、丢弃以及处理耗时，以Micrometer指标注册，
+ * 经actuator的 {@code metrics} 端点查询。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.kinkle.helloquick.udp.metrics;
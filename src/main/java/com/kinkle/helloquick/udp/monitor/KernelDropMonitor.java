@@ -0,0 +1,297 @@
+package com.kinkle.helloquick.udp.monitor;
+
+import com.kinkle.helloquick.config.AppProperties;
+import com.kinkle.helloquick.udp.metrics.UdpMetrics;
+import com.kinkle.helloquick.udp.server.UdpServer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 内核UDP丢包与套接字缓冲区饱和监控
+ *
+ * <p>定期读取 {@code /proc/net/snmp}、{@code /proc/net/udp} 与 {@code /proc/net/udp6}，
+ * 把整机UDP计数器、服务端口上各套接字的接收队列与drops，和 {@link UdpMetrics} 中服务端自身的接收计数
+ * 放在同一个采样周期里比较：套接字drops或RcvbufErrors增长说明内核在数据报交给应用之前就丢了，
+ * 解码失败或分发丢弃增长说明丢在应用里。</p>
+ *
+ * <p>最近一次采样以 {@code udp.kernel.*} 仪表注册到Micrometer，并通过 {@code /api/udp/kernel} 查询。
+ * 检测到内核丢包或接收队列占用超过生效缓冲区的3/4时，按观测到的队列峰值给出接收缓冲区建议；
+ * 建议值超过 {@code net.core.rmem_max} 时一并提示调整该内核参数，否则设置会被截断。</p>
+ *
+ * <p>非Linux系统上找不到 {@code /proc/net/snmp}，监控不启动。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.udp", name = "enabled", havingValue = "true")
+public class KernelDropMonitor {
+
+    /**
+     * 建议的接收缓冲区上限
+     */
+    private static final int MAX_SUGGESTED_BUFFER = 256 * 1024 * 1024;
+
+    private final AppProperties.Udp config;
+
+    private final AppProperties.Udp.KernelMonitor monitorConfig;
+
+    private final UdpMetrics metrics;
+
+    private final ObjectProvider<UdpServer> serverProvider;
+
+    private final Path procRoot;
+
+    private ScheduledExecutorService executor;
+
+    private volatile KernelDropReport lastReport;
+
+    private long lastAppPacketsIn;
+
+    private long lastAppDecodeFailures;
+
+    private long lastAppDropped;
+
+    /**
+     * 构造函数
+     *
+     * @param appProperties 应用配置
+     * @param metrics UDP指标
+     * @param registry 指标注册表
+     * @param serverProvider UDP服务器，未启用时为空
+     */
+    public KernelDropMonitor(AppProperties appProperties, UdpMetrics metrics, MeterRegistry registry,
+                             ObjectProvider<UdpServer> serverProvider) {
+        this.config = appProperties.getUdp();
+        this.monitorConfig = config.getKernelMonitor();
+        this.metrics = metrics;
+        this.serverProvider = serverProvider;
+        this.procRoot = Paths.get(monitorConfig.getProcRoot());
+
+        gauge(registry, "udp.kernel.in.datagrams", "整机UDP InDatagrams", KernelDropReport::getInDatagrams);
+        gauge(registry, "udp.kernel.in.errors", "整机UDP InErrors", KernelDropReport::getInErrors);
+        gauge(registry, "udp.kernel.rcvbuf.errors", "整机UDP RcvbufErrors", KernelDropReport::getRcvbufErrors);
+        gauge(registry, "udp.kernel.sndbuf.errors", "整机UDP SndbufErrors", KernelDropReport::getSndbufErrors);
+        gauge(registry, "udp.kernel.socket.drops", "服务端口套接字drops之和", KernelDropReport::getSocketDrops);
+        gauge(registry, "udp.kernel.socket.rx.queue", "服务端口套接字接收队列最大占用", KernelDropReport::getMaxRxQueue);
+    }
+
+    /**
+     * 启动定期采样
+     */
+    @PostConstruct
+    public void start() {
+        if (!monitorConfig.isEnabled()) {
+            return;
+        }
+        if (!Files.isReadable(procRoot.resolve("net/snmp"))) {
+            log.info("未找到 {}，内核UDP丢包监控不可用", procRoot.resolve("net/snmp"));
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(new DefaultThreadFactory("udp-kernel-monitor", true));
+        long interval = monitorConfig.getInterval();
+        executor.scheduleWithFixedDelay(this::sampleQuietly, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 停止采样
+     */
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 获取最近一次采样结果
+     *
+     * @return 采样结果，尚未采样时为null
+     */
+    public KernelDropReport getLastReport() {
+        return lastReport;
+    }
+
+    /**
+     * 立即采样一次，增量相对上一次采样计算
+     *
+     * @return 采样结果
+     * @throws IOException 读取/proc失败
+     */
+    public synchronized KernelDropReport sample() throws IOException {
+        Map<String, Long> snmp = ProcNetUdp.parseSnmp(Files.readAllLines(procRoot.resolve("net/snmp")));
+        List<UdpSocketStat> sockets = new ArrayList<>(readSockets("net/udp"));
+        sockets.addAll(readSockets("net/udp6"));
+
+        KernelDropReport report = new KernelDropReport();
+        report.setSampledAt(System.currentTimeMillis());
+        report.setInDatagrams(snmp.getOrDefault("InDatagrams", 0L));
+        report.setNoPorts(snmp.getOrDefault("NoPorts", 0L));
+        report.setInErrors(snmp.getOrDefault("InErrors", 0L));
+        report.setRcvbufErrors(snmp.getOrDefault("RcvbufErrors", 0L));
+        report.setSndbufErrors(snmp.getOrDefault("SndbufErrors", 0L));
+        report.setInCsumErrors(snmp.getOrDefault("InCsumErrors", 0L));
+        report.setSockets(sockets);
+        for (UdpSocketStat socket : sockets) {
+            report.setSocketDrops(report.getSocketDrops() + socket.getDrops());
+            report.setMaxRxQueue(Math.max(report.getMaxRxQueue(), socket.getRxQueue()));
+        }
+
+        long appPacketsIn = metrics.getPacketsIn();
+        long appDecodeFailures = metrics.getDecodeFailures();
+        long appDropped = metrics.getDropped();
+        KernelDropReport previous = lastReport;
+        if (previous != null) {
+            report.setIntervalMillis(report.getSampledAt() - previous.getSampledAt());
+            report.setInDatagramsDelta(report.getInDatagrams() - previous.getInDatagrams());
+            report.setRcvbufErrorsDelta(report.getRcvbufErrors() - previous.getRcvbufErrors());
+            report.setSndbufErrorsDelta(report.getSndbufErrors() - previous.getSndbufErrors());
+            report.setInErrorsDelta(report.getInErrors() - previous.getInErrors());
+            // 套接字重建后drops从0开始，此时以当前值为增量
+            long dropsDelta = report.getSocketDrops() - previous.getSocketDrops();
+            report.setSocketDropsDelta(dropsDelta >= 0 ? dropsDelta : report.getSocketDrops());
+            report.setAppPacketsInDelta(appPacketsIn - lastAppPacketsIn);
+            report.setAppDecodeFailuresDelta(appDecodeFailures - lastAppDecodeFailures);
+            report.setAppDroppedDelta(appDropped - lastAppDropped);
+        }
+        lastAppPacketsIn = appPacketsIn;
+        lastAppDecodeFailures = appDecodeFailures;
+        lastAppDropped = appDropped;
+
+        report.setDropSource(dropSource(report));
+        suggestReceiveBuffer(report);
+        lastReport = report;
+
+        if (report.getDropSource() == KernelDropReport.DropSource.KERNEL
+            || report.getDropSource() == KernelDropReport.DropSource.BOTH) {
+            log.warn("检测到内核UDP丢包: socketDrops+{}, rcvbufErrors+{}, maxRxQueue={}, 建议: {}",
+                report.getSocketDropsDelta(), report.getRcvbufErrorsDelta(), report.getMaxRxQueue(),
+                report.getSuggestion());
+        }
+        return report;
+    }
+
+    private void sampleQuietly() {
+        try {
+            sample();
+        } catch (IOException | RuntimeException e) {
+            log.warn("内核UDP统计采样失败: {}", e.getMessage());
+        }
+    }
+
+    private List<UdpSocketStat> readSockets(String file) throws IOException {
+        Path path = procRoot.resolve(file);
+        if (!Files.isReadable(path)) {
+            return List.of();
+        }
+        return ProcNetUdp.parseSockets(Files.readAllLines(path), config.getPort());
+    }
+
+    /**
+     * 服务端口的套接字可见时以其drops判断内核丢包，否则退回整机RcvbufErrors
+     */
+    private static KernelDropReport.DropSource dropSource(KernelDropReport report) {
+        boolean kernel = report.getSockets().isEmpty()
+            ? report.getRcvbufErrorsDelta() > 0
+            : report.getSocketDropsDelta() > 0;
+        boolean application = report.getAppDecodeFailuresDelta() + report.getAppDroppedDelta() > 0;
+        if (kernel && application) {
+            return KernelDropReport.DropSource.BOTH;
+        }
+        if (kernel) {
+            return KernelDropReport.DropSource.KERNEL;
+        }
+        return application ? KernelDropReport.DropSource.APPLICATION : KernelDropReport.DropSource.NONE;
+    }
+
+    /**
+     * 按接收队列峰值给出SO_RCVBUF建议
+     */
+    private void suggestReceiveBuffer(KernelDropReport report) {
+        int configured = config.getReceiveBufferSize();
+        int effective = effectiveReceiveBuffer(configured);
+        long rmemMax = readRmemMax();
+        report.setConfiguredReceiveBuffer(configured);
+        report.setEffectiveReceiveBuffer(effective);
+        report.setRmemMax(rmemMax);
+
+        boolean kernelDrops = report.getDropSource() == KernelDropReport.DropSource.KERNEL
+            || report.getDropSource() == KernelDropReport.DropSource.BOTH;
+        boolean saturated = effective > 0 && report.getMaxRxQueue() * 4 >= (long) effective * 3;
+        if (!kernelDrops && !saturated) {
+            if (rmemMax > 0 && configured > rmemMax) {
+                report.setSuggestion("app.udp.receive-buffer-size=" + configured + " 超过 net.core.rmem_max=" + rmemMax
+                    + "，实际生效值被截断，请调大 net.core.rmem_max");
+            }
+            return;
+        }
+
+        // 接收队列按skb truesize计，峰值的两倍才能覆盖同样的突发
+        long target = Math.max((long) configured * 2, report.getMaxRxQueue() * 2);
+        int suggested = (int) Math.min(MAX_SUGGESTED_BUFFER, Long.highestOneBit(target - 1) << 1);
+        report.setSuggestedReceiveBuffer(suggested);
+        StringBuilder suggestion = new StringBuilder("将 app.udp.receive-buffer-size 调整为 ").append(suggested);
+        if (rmemMax > 0 && suggested > rmemMax) {
+            suggestion.append("，并执行 sysctl -w net.core.rmem_max=").append(suggested);
+        }
+        report.setSuggestion(suggestion.toString());
+    }
+
+    /**
+     * 从服务端通道读取实际生效的SO_RCVBUF，服务端未启动时按Linux的加倍规则估算
+     */
+    private int effectiveReceiveBuffer(int configured) {
+        UdpServer server = serverProvider.getIfAvailable();
+        if (server != null) {
+            for (Channel channel : server.getChannels()) {
+                Integer value = channel.config().getOption(ChannelOption.SO_RCVBUF);
+                if (value != null) {
+                    return value;
+                }
+            }
+        }
+        return configured * 2;
+    }
+
+    private long readRmemMax() {
+        Path path = procRoot.resolve("sys/net/core/rmem_max");
+        try {
+            return Files.isReadable(path) ? Long.parseLong(Files.readString(path).trim()) : 0;
+        } catch (IOException | NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private void gauge(MeterRegistry registry, String name, String description,
+                       ToDoubleFunction<KernelDropReport> value) {
+        Gauge.builder(name, this, monitor -> {
+                KernelDropReport report = monitor.lastReport;
+                return report != null ? value.applyAsDouble(report) : 0;
+            })
+            .description(description)
+            .register(registry);
+    }
+}
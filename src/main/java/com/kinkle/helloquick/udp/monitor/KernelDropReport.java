@@ -0,0 +1,158 @@
+package com.kinkle.helloquick.udp.monitor;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 内核UDP丢包采样结果
+ *
+ * <p>计数器分为整机累计值（来自 {@code /proc/net/snmp}）和两次采样之间的增量，
+ * 增量同时给出服务端自身的接收计数，用于判断丢包发生在内核还是应用。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Data
+public class KernelDropReport {
+
+    /**
+     * 丢包来源判断
+     */
+    public enum DropSource {
+        /** 本采样周期没有丢包 */
+        NONE,
+        /** 内核因接收缓冲区满丢弃 */
+        KERNEL,
+        /** 应用解码失败或分发阶段丢弃 */
+        APPLICATION,
+        /** 两者都有 */
+        BOTH
+    }
+
+    /**
+     * 采样时间（毫秒时间戳）
+     */
+    private long sampledAt;
+
+    /**
+     * 距上次采样的间隔（毫秒），首次采样为0
+     */
+    private long intervalMillis;
+
+    /**
+     * 整机UDP InDatagrams累计值
+     */
+    private long inDatagrams;
+
+    /**
+     * 整机UDP NoPorts累计值
+     */
+    private long noPorts;
+
+    /**
+     * 整机UDP InErrors累计值
+     */
+    private long inErrors;
+
+    /**
+     * 整机UDP RcvbufErrors累计值
+     */
+    private long rcvbufErrors;
+
+    /**
+     * 整机UDP SndbufErrors累计值
+     */
+    private long sndbufErrors;
+
+    /**
+     * 整机UDP InCsumErrors累计值
+     */
+    private long inCsumErrors;
+
+    /**
+     * 服务端口上的套接字
+     */
+    private List<UdpSocketStat> sockets;
+
+    /**
+     * 服务端口上全部套接字的drops之和
+     */
+    private long socketDrops;
+
+    /**
+     * 服务端口上套接字接收队列的最大占用（字节）
+     */
+    private long maxRxQueue;
+
+    /**
+     * 本周期整机InDatagrams增量
+     */
+    private long inDatagramsDelta;
+
+    /**
+     * 本周期整机RcvbufErrors增量
+     */
+    private long rcvbufErrorsDelta;
+
+    /**
+     * 本周期整机SndbufErrors增量
+     */
+    private long sndbufErrorsDelta;
+
+    /**
+     * 本周期整机InErrors增量
+     */
+    private long inErrorsDelta;
+
+    /**
+     * 本周期服务端口套接字drops增量
+     */
+    private long socketDropsDelta;
+
+    /**
+     * 本周期服务端解码成功的数据包增量
+     */
+    private long appPacketsInDelta;
+
+    /**
+     * 本周期服务端解码失败增量
+     */
+    private long appDecodeFailuresDelta;
+
+    /**
+     * 本周期服务端分发阶段丢弃增量
+     */
+    private long appDroppedDelta;
+
+    /**
+     * 丢包来源
+     */
+    private DropSource dropSource;
+
+    /**
+     * 配置的接收缓冲区大小（字节）
+     */
+    private int configuredReceiveBuffer;
+
+    /**
+     * 内核实际生效的接收缓冲区大小（字节，getsockopt返回值，Linux上为设置值的两倍）
+     */
+    private int effectiveReceiveBuffer;
+
+    /**
+     * net.core.rmem_max，读取失败为0
+     */
+    private long rmemMax;
+
+    /**
+     * 建议的接收缓冲区大小（字节），无建议为0
+     */
+    private int suggestedReceiveBuffer;
+
+    /**
+     * 调整建议说明，无建议为null
+     */
+    private String suggestion;
+}
@@ -0,0 +1,93 @@
+package com.kinkle.helloquick.udp.monitor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * /proc/net UDP统计解析工具
+ *
+ * <p>{@code /proc/net/snmp} 中UDP计数器为两行：第一行是以 {@code Udp:} 开头的字段名，第二行是对应的值，
+ * 计数器是整机所有UDP套接字的累计值。{@code /proc/net/udp} 与 {@code /proc/net/udp6} 每行一个套接字：</p>
+ * <pre>
+ * sl  local_address rem_address   st tx_queue:rx_queue tr tm-&gt;when retrnsmt   uid  timeout inode ref pointer drops
+ * 0: 00000000:2382 00000000:0000 07 00000000:00000000 00:00000000 00000000     0        0 12345 2 0000000000000000 0
+ * </pre>
+ *
+ * <p>地址与端口、队列长度均为十六进制，队列长度单位为字节（含内核缓冲区开销），
+ * 末列 {@code drops} 为该套接字因接收缓冲区满等原因丢弃的数据报累计数。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class ProcNetUdp {
+
+    private static final String SNMP_UDP_PREFIX = "Udp:";
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private ProcNetUdp() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * 解析 /proc/net/snmp 中的UDP计数器
+     *
+     * @param lines 文件内容
+     * @return 字段名到计数值的映射，不含UDP段时为空
+     */
+    public static Map<String, Long> parseSnmp(List<String> lines) {
+        Map<String, Long> counters = new HashMap<>();
+        String[] names = null;
+        for (String line : lines) {
+            if (!line.startsWith(SNMP_UDP_PREFIX)) {
+                continue;
+            }
+            String[] fields = line.substring(SNMP_UDP_PREFIX.length()).trim().split("\\s+");
+            if (names == null) {
+                names = fields;
+                continue;
+            }
+            for (int i = 0; i < Math.min(names.length, fields.length); i++) {
+                counters.put(names[i], Long.parseLong(fields[i]));
+            }
+            break;
+        }
+        return counters;
+    }
+
+    /**
+     * 解析 /proc/net/udp 或 /proc/net/udp6 中绑定指定本地端口的套接字
+     *
+     * @param lines 文件内容
+     * @param port 本地端口，0表示全部
+     * @return 套接字统计
+     */
+    public static List<UdpSocketStat> parseSockets(List<String> lines, int port) {
+        List<UdpSocketStat> sockets = new ArrayList<>();
+        for (String line : lines) {
+            String[] fields = line.trim().split("\\s+");
+            // 表头行与格式不符的行
+            if (fields.length < 13 || !fields[0].endsWith(":")) {
+                continue;
+            }
+            String local = fields[1];
+            int colon = local.lastIndexOf(':');
+            int localPort = Integer.parseInt(local.substring(colon + 1), 16);
+            if (port != 0 && localPort != port) {
+                continue;
+            }
+            String queues = fields[4];
+            int queueColon = queues.indexOf(':');
+            long txQueue = Long.parseLong(queues.substring(0, queueColon), 16);
+            long rxQueue = Long.parseLong(queues.substring(queueColon + 1), 16);
+            long inode = Long.parseLong(fields[9]);
+            long drops = Long.parseLong(fields[fields.length - 1]);
+            sockets.add(new UdpSocketStat(local.substring(0, colon), localPort, txQueue, rxQueue, drops, inode));
+        }
+        return sockets;
+    }
+}
@@ -0,0 +1,63 @@
+package com.kinkle.helloquick.udp.monitor;
+
+import lombok.Getter;
+
+/**
+ * 单个UDP套接字的内核统计
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+public class UdpSocketStat {
+
+    /**
+     * 本地地址（/proc中的十六进制形式）
+     */
+    private final String localAddress;
+
+    /**
+     * 本地端口
+     */
+    private final int localPort;
+
+    /**
+     * 发送队列占用（字节）
+     */
+    private final long txQueue;
+
+    /**
+     * 接收队列占用（字节，含内核缓冲区开销）
+     */
+    private final long rxQueue;
+
+    /**
+     * 因接收缓冲区满等原因丢弃的数据报累计数
+     */
+    private final long drops;
+
+    /**
+     * 套接字inode
+     */
+    private final long inode;
+
+    /**
+     * 构造函数
+     *
+     * @param localAddress 本地地址
+     * @param localPort 本地端口
+     * @param txQueue 发送队列占用
+     * @param rxQueue 接收队列占用
+     * @param drops 丢弃累计数
+     * @param inode 套接字inode
+     */
+    public UdpSocketStat(String localAddress, int localPort, long txQueue, long rxQueue, long drops, long inode) {
+        this.localAddress = localAddress;
+        this.localPort = localPort;
+        this.txQueue = txQueue;
+        this.rxQueue = rxQueue;
+        this.drops = drops;
+        this.inode = inode;
+    }
+}
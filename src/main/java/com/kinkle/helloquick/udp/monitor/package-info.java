@@ -0,0 +1,11 @@
+/**
+ * UDP内核统计监控包
+ *
+ * <p>解析 {@code /proc/net/snmp} 与 {@code /proc/net/udp} 中的UDP计数器和套接字队列，
+ * 与服务端自身的接收计数对照，区分内核丢包与应用丢包，并给出接收缓冲区大小建议。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.kinkle.helloquick.udp.monitor;
@@ -0,0 +1,231 @@
+package com.kinkle.helloquick.udp.pacing;
+
+/**
+ * BBR风格的拥塞控制
+ *
+ * <p>以带宽和最小RTT建模：每隔约一个最小RTT用区间内确认的字节数估计一次投递速率，
+ * 最大带宽取 {@value #BW_WINDOW_ROUNDS} 个区间内的最大值，拥塞窗口为带宽时延积乘以增益。
+ * 状态依次为：</p>
+ * <ul>
+ *   <li>STARTUP：以 2/ln2 的增益指数探测，连续 {@value #FULL_BW_ROUNDS} 个区间带宽增长不足25%视为管道已满</li>
+ *   <li>DRAIN：以倒数增益排空启动阶段积累的队列，在途字节降到带宽时延积以下后进入下一阶段</li>
+ *   <li>PROBE_BW：按 1.25、0.75、1×6 的增益循环，每个最小RTT切换一次</li>
+ * </ul>
+ *
+ * <p>BBR不以丢包作为主要信号，这里仅在丢包时清除最大带宽样本的保持时间，让带宽估计更快下降。
+ * 省略了PROBE_RTT阶段，最小RTT由 {@link RttEstimator} 按时间窗口自行刷新。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class BbrController implements CongestionController {
+
+    /**
+     * 最大带宽滤波窗口（区间数）
+     */
+    static final int BW_WINDOW_ROUNDS = 10;
+
+    /**
+     * 判定管道已满所需的连续区间数
+     */
+    static final int FULL_BW_ROUNDS = 3;
+
+    /**
+     * 启动增益 2/ln2
+     */
+    private static final double HIGH_GAIN = 2.885;
+
+    /**
+     * 拥塞窗口增益
+     */
+    private static final double CWND_GAIN = 2.0;
+
+    /**
+     * PROBE_BW阶段增益循环
+     */
+    private static final double[] PACING_GAIN_CYCLE = {1.25, 0.75, 1, 1, 1, 1, 1, 1};
+
+    /**
+     * 最短采样区间
+     */
+    private static final long MIN_INTERVAL_NANOS = 1_000_000L;
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    /**
+     * 运行状态
+     */
+    public enum State {
+        /** 启动 */
+        STARTUP,
+        /** 排空 */
+        DRAIN,
+        /** 带宽探测 */
+        PROBE_BW
+    }
+
+    private final long minWindow;
+
+    private final long initialWindow;
+
+    /**
+     * 带宽样本环，单位字节/秒
+     */
+    private final long[] bandwidthSamples = new long[BW_WINDOW_ROUNDS];
+
+    private int round;
+
+    private long maxBandwidth;
+
+    private State state = State.STARTUP;
+
+    private double pacingGain = HIGH_GAIN;
+
+    private double cwndGain = HIGH_GAIN;
+
+    private long fullBandwidth;
+
+    private int fullBandwidthRounds;
+
+    private int cycleIndex;
+
+    private long cycleStart;
+
+    private long intervalStart = -1;
+
+    private long intervalBytes;
+
+    /**
+     * 最近一次区间结算时的最小RTT（纳秒）
+     */
+    private long minRttNanos;
+
+    /**
+     * 构造函数
+     *
+     * @param maxSegmentSize 最大报文段（字节）
+     * @param initialWindowPackets 初始窗口（报文段数）
+     */
+    public BbrController(int maxSegmentSize, int initialWindowPackets) {
+        this.minWindow = 4L * maxSegmentSize;
+        this.initialWindow = Math.max(minWindow, (long) initialWindowPackets * maxSegmentSize);
+    }
+
+    @Override
+    public void onAck(long ackedBytes, long bytesInFlight, RttEstimator rtt, long nowNanos) {
+        if (intervalStart < 0) {
+            intervalStart = nowNanos;
+        }
+        intervalBytes += ackedBytes;
+        long interval = nowNanos - intervalStart;
+        if (interval < Math.max(MIN_INTERVAL_NANOS, rtt.getMinRtt())) {
+            return;
+        }
+
+        long sample = (long) (intervalBytes * NANOS_PER_SECOND / interval);
+        intervalStart = nowNanos;
+        intervalBytes = 0;
+        onRound(sample, bytesInFlight, rtt, nowNanos);
+    }
+
+    @Override
+    public void onLoss(long lostBytes, RttEstimator rtt, long nowNanos) {
+        // 丢弃最旧的一半样本，使带宽估计更快反映路径变化
+        for (int i = 0; i < BW_WINDOW_ROUNDS / 2; i++) {
+            bandwidthSamples[(round + i) % BW_WINDOW_ROUNDS] = 0;
+        }
+        maxBandwidth = 0;
+        for (long sample : bandwidthSamples) {
+            maxBandwidth = Math.max(maxBandwidth, sample);
+        }
+    }
+
+    @Override
+    public long getCongestionWindow() {
+        return Math.max(minWindow, (long) (cwndGain * bdp()));
+    }
+
+    @Override
+    public long getPacingRate(RttEstimator rtt) {
+        if (maxBandwidth > 0) {
+            return (long) (pacingGain * maxBandwidth);
+        }
+        long srtt = rtt.getSmoothedRtt();
+        return srtt > 0 ? (long) (HIGH_GAIN * initialWindow * NANOS_PER_SECOND / srtt) : 0;
+    }
+
+    /**
+     * 获取当前状态
+     *
+     * @return 状态
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * 获取最大带宽估计
+     *
+     * @return 带宽（字节/秒）
+     */
+    public long getMaxBandwidth() {
+        return maxBandwidth;
+    }
+
+    private void onRound(long sample, long bytesInFlight, RttEstimator rtt, long nowNanos) {
+        round++;
+        bandwidthSamples[round % BW_WINDOW_ROUNDS] = sample;
+        maxBandwidth = 0;
+        for (long value : bandwidthSamples) {
+            maxBandwidth = Math.max(maxBandwidth, value);
+        }
+        minRttNanos = rtt.getMinRtt();
+
+        switch (state) {
+            case STARTUP:
+                if (maxBandwidth >= fullBandwidth * 5 / 4) {
+                    fullBandwidth = maxBandwidth;
+                    fullBandwidthRounds = 0;
+                } else if (++fullBandwidthRounds >= FULL_BW_ROUNDS) {
+                    state = State.DRAIN;
+                    pacingGain = 1 / HIGH_GAIN;
+                    cwndGain = HIGH_GAIN;
+                }
+                break;
+            case DRAIN:
+                if (bytesInFlight <= bdp()) {
+                    enterProbeBandwidth(nowNanos);
+                }
+                break;
+            case PROBE_BW:
+                if (nowNanos - cycleStart >= minRttNanos) {
+                    cycleIndex = (cycleIndex + 1) % PACING_GAIN_CYCLE.length;
+                    cycleStart = nowNanos;
+                    pacingGain = PACING_GAIN_CYCLE[cycleIndex];
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void enterProbeBandwidth(long nowNanos) {
+        state = State.PROBE_BW;
+        cwndGain = CWND_GAIN;
+        // 从非探测增益开始循环，避免刚排空又立即加压
+        cycleIndex = 2;
+        cycleStart = nowNanos;
+        pacingGain = PACING_GAIN_CYCLE[cycleIndex];
+    }
+
+    /**
+     * 带宽时延积，尚无带宽样本时为初始窗口
+     */
+    private long bdp() {
+        if (maxBandwidth == 0 || minRttNanos == 0) {
+            return initialWindow;
+        }
+        return (long) (maxBandwidth * (minRttNanos / NANOS_PER_SECOND));
+    }
+}
@@ -0,0 +1,47 @@
+package com.kinkle.helloquick.udp.pacing;
+
+/**
+ * 拥塞控制算法
+ *
+ * <p>由 {@link PacedSession} 在所属事件循环上调用，实现无需线程安全。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public interface CongestionController {
+
+    /**
+     * 处理确认
+     *
+     * @param ackedBytes 本次确认的字节数
+     * @param bytesInFlight 确认后的在途字节数
+     * @param rtt RTT估计器（已包含本次样本）
+     * @param nowNanos 当前时间（纳秒）
+     */
+    void onAck(long ackedBytes, long bytesInFlight, RttEstimator rtt, long nowNanos);
+
+    /**
+     * 处理丢包
+     *
+     * @param lostBytes 丢失的字节数
+     * @param rtt RTT估计器
+     * @param nowNanos 当前时间（纳秒）
+     */
+    void onLoss(long lostBytes, RttEstimator rtt, long nowNanos);
+
+    /**
+     * 获取拥塞窗口
+     *
+     * @return 允许的最大在途字节数
+     */
+    long getCongestionWindow();
+
+    /**
+     * 获取发送速率
+     *
+     * @param rtt RTT估计器
+     * @return 速率（字节/秒）
+     */
+    long getPacingRate(RttEstimator rtt);
+}
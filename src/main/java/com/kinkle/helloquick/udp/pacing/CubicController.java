@@ -0,0 +1,161 @@
+package com.kinkle.helloquick.udp.pacing;
+
+/**
+ * CUBIC拥塞控制
+ *
+ * <p>按RFC 8312实现：慢启动阶段每确认一个字节窗口增加一个字节；拥塞避免阶段窗口沿
+ * W(t) = C * (t - K)^3 + W_max 增长，并取与TCP友好估计值中的较大者；丢包时窗口乘以 β，
+ * 同一个RTT内的多次丢包只降窗一次。发送速率为窗口除以平滑RTT再乘以增益。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class CubicController implements CongestionController {
+
+    /**
+     * 乘性减因子
+     */
+    static final double BETA = 0.7;
+
+    /**
+     * 三次函数系数（以报文段为单位）
+     */
+    static final double C = 0.4;
+
+    /**
+     * 慢启动发送速率增益
+     */
+    private static final double SLOW_START_GAIN = 2.0;
+
+    /**
+     * 拥塞避免发送速率增益
+     */
+    private static final double AVOIDANCE_GAIN = 1.25;
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final long maxSegmentSize;
+
+    private final long minWindow;
+
+    private long congestionWindow;
+
+    private long slowStartThreshold = Long.MAX_VALUE;
+
+    /**
+     * 最近一次降窗前的窗口（字节）
+     */
+    private double windowMax;
+
+    /**
+     * 本轮拥塞避免的起始时间，-1表示尚未开始
+     */
+    private long epochStart = -1;
+
+    /**
+     * 三次函数回到 W_max 所需时间（秒）
+     */
+    private double k;
+
+    /**
+     * 三次函数原点（字节）
+     */
+    private double originPoint;
+
+    /**
+     * TCP友好窗口估计（字节）
+     */
+    private double tcpWindow;
+
+    /**
+     * 最近一次降窗时间
+     */
+    private long lastReductionNanos;
+
+    /**
+     * 是否发生过降窗
+     */
+    private boolean reduced;
+
+    /**
+     * 构造函数
+     *
+     * @param maxSegmentSize 最大报文段（字节）
+     * @param initialWindowPackets 初始窗口（报文段数）
+     */
+    public CubicController(int maxSegmentSize, int initialWindowPackets) {
+        this.maxSegmentSize = maxSegmentSize;
+        this.minWindow = 2L * maxSegmentSize;
+        this.congestionWindow = Math.max(minWindow, (long) initialWindowPackets * maxSegmentSize);
+    }
+
+    @Override
+    public void onAck(long ackedBytes, long bytesInFlight, RttEstimator rtt, long nowNanos) {
+        if (congestionWindow < slowStartThreshold) {
+            congestionWindow += ackedBytes;
+            return;
+        }
+
+        if (epochStart < 0) {
+            epochStart = nowNanos;
+            tcpWindow = congestionWindow;
+            if (congestionWindow < windowMax) {
+                k = Math.cbrt((windowMax - congestionWindow) / maxSegmentSize / C);
+                originPoint = windowMax;
+            } else {
+                k = 0;
+                originPoint = congestionWindow;
+            }
+        }
+
+        double t = (nowNanos - epochStart + rtt.getMinRtt()) / NANOS_PER_SECOND;
+        double target = originPoint + C * Math.pow(t - k, 3) * maxSegmentSize;
+        tcpWindow += maxSegmentSize * (3 * (1 - BETA) / (1 + BETA)) * ackedBytes / congestionWindow;
+        target = Math.max(target, tcpWindow);
+
+        if (target > congestionWindow) {
+            congestionWindow += (long) Math.min(ackedBytes, (target - congestionWindow) * ackedBytes / congestionWindow);
+        } else {
+            congestionWindow += Math.max(1, ackedBytes * maxSegmentSize / (100 * congestionWindow));
+        }
+    }
+
+    @Override
+    public void onLoss(long lostBytes, RttEstimator rtt, long nowNanos) {
+        if (reduced && nowNanos - lastReductionNanos < rtt.getSmoothedRtt()) {
+            return;
+        }
+        reduced = true;
+        lastReductionNanos = nowNanos;
+        // 快速收敛：窗口未恢复到上次的 W_max 时进一步让出带宽
+        windowMax = congestionWindow < windowMax ? congestionWindow * (1 + BETA) / 2 : congestionWindow;
+        congestionWindow = Math.max(minWindow, (long) (congestionWindow * BETA));
+        slowStartThreshold = congestionWindow;
+        epochStart = -1;
+    }
+
+    @Override
+    public long getCongestionWindow() {
+        return congestionWindow;
+    }
+
+    @Override
+    public long getPacingRate(RttEstimator rtt) {
+        long srtt = rtt.getSmoothedRtt();
+        if (srtt <= 0) {
+            return 0;
+        }
+        double gain = congestionWindow < slowStartThreshold ? SLOW_START_GAIN : AVOIDANCE_GAIN;
+        return (long) (gain * congestionWindow * NANOS_PER_SECOND / srtt);
+    }
+
+    /**
+     * 获取慢启动阈值
+     *
+     * @return 阈值（字节）
+     */
+    public long getSlowStartThreshold() {
+        return slowStartThreshold;
+    }
+}
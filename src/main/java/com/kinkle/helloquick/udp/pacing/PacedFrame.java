@@ -0,0 +1,160 @@
+package com.kinkle.helloquick.udp.pacing;
+
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.ProtocolHeader;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * 节奏控制数据帧
+ *
+ * <p>节奏控制会话发出的数据包包装为 {@link ProtocolConstants.SystemProtocols#PACED_DATA} 数据包，
+ * 包体布局如下（大端）：</p>
+ * <pre>
+ * 0  传输序列号（4字节）：每个对端从0开始连续递增，用于ACK与FEC分组
+ * 4  内层协议号（2字节）
+ * 6  内层包体
+ * </pre>
+ *
+ * <p>外层包头沿用内层包头的编码、加密、序列号和时间戳，包头序列号仍是请求的关联ID。
+ * 对端对每个帧回复ACK，ACK包头回填帧的序列号，包体为4字节传输序列号。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class PacedFrame {
+
+    /**
+     * 帧头长度
+     */
+    public static final int HEADER_LENGTH = 6;
+
+    /**
+     * 传输序列号偏移量（相对包体）
+     */
+    public static final int SEQUENCE = 0;
+
+    /**
+     * 内层协议号偏移量（相对包体）
+     */
+    public static final int PROTOCOL_ID = 4;
+
+    /**
+     * ACK包体长度
+     */
+    public static final int ACK_LENGTH = 4;
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private PacedFrame() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * 包装为帧
+     *
+     * @param sequence 传输序列号
+     * @param packet 内层数据包，不修改
+     * @return 帧数据包
+     * @throws IllegalArgumentException 内层数据包已经是帧
+     */
+    public static UdpPacket wrap(int sequence, UdpPacket packet) {
+        ProtocolHeader inner = packet.getHeader();
+        checkInner(inner.getProtocolId());
+        byte[] body = packet.getBody();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + body.length);
+        buffer.putInt(sequence);
+        buffer.putShort(inner.getProtocolId());
+        buffer.put(body);
+
+        ProtocolHeader header = new ProtocolHeader(ProtocolConstants.SystemProtocols.PACED_DATA,
+            inner.getEncoding(), inner.getEncryption(), buffer.capacity());
+        header.setSequence(inner.getSequence());
+        header.setTimestamp(inner.getTimestamp());
+        return new UdpPacket(header, buffer.array());
+    }
+
+    /**
+     * 还原内层数据包
+     *
+     * @param frame 帧数据包
+     * @return 内层数据包，沿用帧包头的编码、加密、序列号和时间戳
+     * @throws IllegalArgumentException 帧格式错误
+     */
+    public static UdpPacket unwrap(UdpPacket frame) {
+        byte[] body = frame.getBody();
+        if (body == null || body.length < HEADER_LENGTH) {
+            throw new IllegalArgumentException("Invalid paced frame length");
+        }
+        short protocolId = ByteBuffer.wrap(body).getShort(PROTOCOL_ID);
+        checkInner(protocolId);
+        byte[] payload = Arrays.copyOfRange(body, HEADER_LENGTH, body.length);
+
+        ProtocolHeader outer = frame.getHeader();
+        ProtocolHeader header = new ProtocolHeader(protocolId, outer.getEncoding(), outer.getEncryption(),
+            payload.length);
+        header.setSequence(outer.getSequence());
+        header.setTimestamp(outer.getTimestamp());
+        return new UdpPacket(header, payload);
+    }
+
+    /**
+     * 读取帧的传输序列号
+     *
+     * @param frame 帧数据包
+     * @return 传输序列号
+     * @throws IllegalArgumentException 帧格式错误
+     */
+    public static int sequence(UdpPacket frame) {
+        byte[] body = frame.getBody();
+        if (body == null || body.length < HEADER_LENGTH) {
+            throw new IllegalArgumentException("Invalid paced frame length");
+        }
+        return ByteBuffer.wrap(body).getInt(SEQUENCE);
+    }
+
+    /**
+     * 构造帧的ACK
+     *
+     * @param frame 帧数据包
+     * @return ACK数据包
+     * @throws IllegalArgumentException 帧格式错误
+     */
+    public static UdpPacket ack(UdpPacket frame) {
+        byte[] body = ByteBuffer.allocate(ACK_LENGTH).putInt(sequence(frame)).array();
+        UdpPacket ack = new UdpPacket(new ProtocolHeader(ProtocolConstants.SystemProtocols.ACK,
+            ProtocolConstants.Encoding.BINARY, ProtocolConstants.Encryption.NONE, body.length), body);
+        ack.getHeader().setSequence(frame.getHeader().getSequence());
+        return ack;
+    }
+
+    /**
+     * 判断ACK是否确认帧
+     *
+     * @param ack ACK数据包
+     * @return 包体携带传输序列号时返回true
+     */
+    public static boolean isFrameAck(UdpPacket ack) {
+        return ack.getBody() != null && ack.getBody().length >= ACK_LENGTH;
+    }
+
+    /**
+     * 读取ACK确认的传输序列号
+     *
+     * @param ack ACK数据包，需满足 {@link #isFrameAck(UdpPacket)}
+     * @return 传输序列号
+     */
+    public static int ackedSequence(UdpPacket ack) {
+        return ByteBuffer.wrap(ack.getBody()).getInt(0);
+    }
+
+    private static void checkInner(short protocolId) {
+        if (protocolId == ProtocolConstants.SystemProtocols.PACED_DATA) {
+            throw new IllegalArgumentException("Paced frames cannot be nested");
+        }
+    }
+}
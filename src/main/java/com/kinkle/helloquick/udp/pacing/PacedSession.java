@@ -0,0 +1,312 @@
+package com.kinkle.helloquick.udp.pacing;
+
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import lombok.Getter;
+
+import java.util.ArrayDeque;
+
+/**
+ * 单个对端的节奏控制发送会话
+ *
+ * <p>数据包先进入有界队列，{@link #drain(long)} 在拥塞窗口和令牌桶都允许时逐个发出，
+ * 发出时由会话分配连续的传输序列号并包装为 {@link PacedFrame}，原数据包头的序列号（请求关联ID）不变。
+ * 对端对每个传输序列号回复ACK：</p>
+ * <ul>
+ *   <li>确认的包提供RTT样本并交给拥塞控制算法</li>
+ *   <li>比最大已确认序列号落后超过 {@value #REORDER_THRESHOLD} 的未确认包，
+ *       以及发出时间超过RTO的未确认包判定为丢失</li>
+ * </ul>
+ *
+ * <p>会话只负责节奏与拥塞信号，不做重传；丢失的数据由上层协议（如文件上传的分块位图）补发。</p>
+ *
+ * <p>非线程安全，所有方法都在所属事件循环上调用。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class PacedSession {
+
+    /**
+     * 乱序容忍阈值（包数）
+     */
+    static final int REORDER_THRESHOLD = 3;
+
+    /**
+     * 在途包跟踪容量（2的幂）
+     */
+    static final int TRACKING_CAPACITY = 4096;
+
+    private static final int TRACKING_MASK = TRACKING_CAPACITY - 1;
+
+    /**
+     * 无需再次调度
+     */
+    public static final long IDLE = -1L;
+
+    /**
+     * 数据包输出
+     */
+    public interface Sink {
+
+        /**
+         * 写出帧（不flush）
+         *
+         * @param frame 帧数据包
+         */
+        void write(UdpPacket frame);
+
+        /**
+         * 刷新本轮写出
+         */
+        void flush();
+
+        /**
+         * 队列已排空，在本轮flush之前调用，可用于补发未满分组的校验包
+         */
+        default void drained() {
+        }
+    }
+
+    /**
+     * 拥塞控制算法
+     */
+    @Getter
+    private final CongestionController controller;
+
+    /**
+     * RTT估计器
+     */
+    @Getter
+    private final RttEstimator rtt;
+
+    private final TokenBucket bucket;
+
+    private final int maxQueuedPackets;
+
+    private final Sink sink;
+
+    private final ArrayDeque<UdpPacket> queue = new ArrayDeque<>();
+
+    private final long[] sentTimes = new long[TRACKING_CAPACITY];
+
+    private final int[] sentBytes = new int[TRACKING_CAPACITY];
+
+    private final boolean[] outstanding = new boolean[TRACKING_CAPACITY];
+
+    private int nextSequence;
+
+    /**
+     * 最早的可能未确认序列号
+     */
+    private int oldestUnacked;
+
+    private int largestAcked;
+
+    private boolean hasAcked;
+
+    /**
+     * 在途字节数
+     */
+    @Getter
+    private long bytesInFlight;
+
+    /**
+     * 已发送包数
+     */
+    @Getter
+    private long sentPackets;
+
+    /**
+     * 已确认包数
+     */
+    @Getter
+    private long ackedPackets;
+
+    /**
+     * 判定丢失包数
+     */
+    @Getter
+    private long lostPackets;
+
+    /**
+     * 队列满被拒绝的包数
+     */
+    @Getter
+    private long droppedPackets;
+
+    /**
+     * 构造函数
+     *
+     * @param controller 拥塞控制算法
+     * @param rtt RTT估计器
+     * @param bucket 令牌桶
+     * @param maxQueuedPackets 队列上限
+     * @param sink 数据包输出
+     */
+    public PacedSession(CongestionController controller, RttEstimator rtt, TokenBucket bucket,
+                        int maxQueuedPackets, Sink sink) {
+        this.controller = controller;
+        this.rtt = rtt;
+        this.bucket = bucket;
+        this.maxQueuedPackets = maxQueuedPackets;
+        this.sink = sink;
+    }
+
+    /**
+     * 数据包入队
+     *
+     * @param packet 数据包
+     * @return 队列已满时返回false，调用方应稍后重试或降速
+     * @throws IllegalArgumentException 数据包已经是帧
+     */
+    public boolean enqueue(UdpPacket packet) {
+        if (packet.getHeader().getProtocolId() == ProtocolConstants.SystemProtocols.PACED_DATA) {
+            throw new IllegalArgumentException("Paced frames cannot be nested");
+        }
+        if (queue.size() >= maxQueuedPackets) {
+            droppedPackets++;
+            return false;
+        }
+        queue.add(packet);
+        return true;
+    }
+
+    /**
+     * 在窗口和令牌允许的范围内发出排队的数据包，并检查超时丢包
+     *
+     * @param nowNanos 当前时间（纳秒）
+     * @return 下次需要调度的等待时间（纳秒），无排队也无在途包时返回 {@link #IDLE}
+     */
+    public long drain(long nowNanos) {
+        detectTimeouts(nowNanos);
+        long rate = controller.getPacingRate(rtt);
+        if (rate > 0) {
+            bucket.setRate(rate, nowNanos);
+        }
+
+        long wait = IDLE;
+        boolean wrote = false;
+        while (!queue.isEmpty()) {
+            UdpPacket packet = queue.peek();
+            int size = packet.getTotalLength() + PacedFrame.HEADER_LENGTH;
+            if (bytesInFlight > 0 && bytesInFlight + size > controller.getCongestionWindow()
+                || nextSequence - oldestUnacked >= TRACKING_CAPACITY) {
+                // 窗口已满，等待ACK唤醒；超时检查作为兜底
+                break;
+            }
+            if (rate > 0 && !bucket.tryConsume(size, nowNanos)) {
+                wait = bucket.nanosUntilAvailable(size, nowNanos);
+                break;
+            }
+            queue.poll();
+            send(packet, size, nowNanos);
+            wrote = true;
+        }
+        if (wrote) {
+            if (queue.isEmpty()) {
+                sink.drained();
+            }
+            sink.flush();
+        }
+
+        if (bytesInFlight > 0) {
+            long timeout = sentTimes[oldestUnacked & TRACKING_MASK] + rtt.getRto() - nowNanos;
+            wait = wait == IDLE ? Math.max(0, timeout) : Math.min(wait, Math.max(0, timeout));
+        }
+        return wait;
+    }
+
+    /**
+     * 处理对端ACK
+     *
+     * @param sequence 被确认的传输序列号
+     * @param nowNanos 当前时间（纳秒）
+     * @return 是否确认了在途包
+     */
+    public boolean onAck(int sequence, long nowNanos) {
+        if (sequence - oldestUnacked < 0 || sequence - nextSequence >= 0) {
+            return false;
+        }
+        int slot = sequence & TRACKING_MASK;
+        if (!outstanding[slot]) {
+            return false;
+        }
+        outstanding[slot] = false;
+        bytesInFlight -= sentBytes[slot];
+        ackedPackets++;
+        rtt.update(nowNanos - sentTimes[slot], nowNanos);
+        controller.onAck(sentBytes[slot], bytesInFlight, rtt, nowNanos);
+
+        if (!hasAcked || sequence - largestAcked > 0) {
+            largestAcked = sequence;
+            hasAcked = true;
+        }
+        while (oldestUnacked != nextSequence && largestAcked - oldestUnacked > REORDER_THRESHOLD) {
+            if (outstanding[oldestUnacked & TRACKING_MASK]) {
+                markLost(oldestUnacked, nowNanos);
+            }
+            oldestUnacked++;
+        }
+        advanceOldest();
+        return true;
+    }
+
+    /**
+     * 是否有排队的数据包
+     *
+     * @return 是否有排队
+     */
+    public boolean hasQueued() {
+        return !queue.isEmpty();
+    }
+
+    /**
+     * 获取排队的数据包数量
+     *
+     * @return 数量
+     */
+    public int getQueuedPackets() {
+        return queue.size();
+    }
+
+    private void send(UdpPacket packet, int size, long nowNanos) {
+        int sequence = nextSequence++;
+        int slot = sequence & TRACKING_MASK;
+        sentTimes[slot] = nowNanos;
+        sentBytes[slot] = size;
+        outstanding[slot] = true;
+        bytesInFlight += size;
+        sentPackets++;
+        sink.write(PacedFrame.wrap(sequence, packet));
+    }
+
+    private void detectTimeouts(long nowNanos) {
+        long rto = rtt.getRto();
+        while (oldestUnacked != nextSequence) {
+            int slot = oldestUnacked & TRACKING_MASK;
+            if (outstanding[slot]) {
+                if (nowNanos - sentTimes[slot] < rto) {
+                    return;
+                }
+                markLost(oldestUnacked, nowNanos);
+            }
+            oldestUnacked++;
+        }
+    }
+
+    private void advanceOldest() {
+        while (oldestUnacked != nextSequence && !outstanding[oldestUnacked & TRACKING_MASK]) {
+            oldestUnacked++;
+        }
+    }
+
+    private void markLost(int sequence, long nowNanos) {
+        int slot = sequence & TRACKING_MASK;
+        outstanding[slot] = false;
+        bytesInFlight -= sentBytes[slot];
+        lostPackets++;
+        controller.onLoss(sentBytes[slot], rtt, nowNanos);
+    }
+}
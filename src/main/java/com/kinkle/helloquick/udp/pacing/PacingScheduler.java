@@ -0,0 +1,113 @@
+package com.kinkle.helloquick.udp.pacing;
+
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 事件循环级的节奏调度器
+ *
+ * <p>每个事件循环一个实例，管理该循环上所有有排队或在途数据的会话。调度器只持有一个定时任务，
+ * 到期时依次排空所有活跃会话，再按最早的等待时间重新设定，不为单个数据包创建定时任务。
+ * 新数据入队或收到ACK时直接排空对应会话，必要时把定时器提前。</p>
+ *
+ * <p>所有方法都必须在所属事件循环上调用。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class PacingScheduler implements Runnable {
+
+    /**
+     * 最小定时间隔，避免过于频繁的定时器触发
+     */
+    static final long MIN_TIMER_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final EventExecutor executor;
+
+    private final Set<PacedSession> active = new LinkedHashSet<>();
+
+    private ScheduledFuture<?> timer;
+
+    private long timerDeadline;
+
+    /**
+     * 构造函数
+     *
+     * @param executor 所属事件循环
+     */
+    public PacingScheduler(EventExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * 立即排空会话，仍有待发或在途数据时加入活跃集合
+     *
+     * @param session 会话
+     */
+    public void activate(PacedSession session) {
+        long now = System.nanoTime();
+        long wait = session.drain(now);
+        if (wait == PacedSession.IDLE) {
+            active.remove(session);
+            return;
+        }
+        active.add(session);
+        arm(now, wait);
+    }
+
+    /**
+     * 移除会话
+     *
+     * @param session 会话
+     */
+    public void remove(PacedSession session) {
+        active.remove(session);
+    }
+
+    /**
+     * 获取活跃会话数量
+     *
+     * @return 数量
+     */
+    public int activeCount() {
+        return active.size();
+    }
+
+    @Override
+    public void run() {
+        timer = null;
+        long now = System.nanoTime();
+        long next = Long.MAX_VALUE;
+        Iterator<PacedSession> iterator = active.iterator();
+        while (iterator.hasNext()) {
+            long wait = iterator.next().drain(now);
+            if (wait == PacedSession.IDLE) {
+                iterator.remove();
+            } else {
+                next = Math.min(next, wait);
+            }
+        }
+        if (next != Long.MAX_VALUE) {
+            arm(now, next);
+        }
+    }
+
+    private void arm(long now, long wait) {
+        long delay = Math.max(wait, MIN_TIMER_NANOS);
+        long deadline = now + delay;
+        if (timer != null) {
+            if (deadline - timerDeadline >= 0) {
+                return;
+            }
+            timer.cancel(false);
+        }
+        timerDeadline = deadline;
+        timer = executor.schedule(this, delay, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,266 @@
+package com.kinkle.helloquick.udp.pacing;
+
+import com.kinkle.helloquick.config.AppProperties;
+import com.kinkle.helloquick.udp.codec.PacketEnvelope;
+import com.kinkle.helloquick.udp.fec.FecFrameSink;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoop;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.net.InetSocketAddress;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 节奏控制发送服务
+ *
+ * <p>批量协议通过 {@link #send(Channel, InetSocketAddress, UdpPacket)} 发送数据包，
+ * 服务按对端地址维护 {@link PacedSession}，会话绑定到首次发送时通道的事件循环，
+ * 由该循环的 {@link PacingScheduler} 调度，数据包以 {@link PacedFrame} 发出。ACK处理器通过
+ * {@link #onAck(InetSocketAddress, int)} 回传确认。未启用（{@code app.udp.pacing.enabled=false}）时
+ * 数据包直接写出，不包装也不排队。</p>
+ *
+ * <p>同时启用 {@code app.udp.fec.enabled} 时，会话通过 {@link FecFrameSink} 写出，内层协议受保护的帧
+ * 按传输序列号分组附带校验包，分组大小随会话的丢包率调整。</p>
+ *
+ * <p>每个事件循环定期淘汰绑定在该循环上的空闲会话。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+public class PacingService {
+
+    private final AppProperties.Udp.Pacing config;
+
+    private final AppProperties.Udp.Fec fec;
+
+    private final long idleTimeoutNanos;
+
+    private final ConcurrentMap<InetSocketAddress, Binding> sessions = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<EventLoop, PacingScheduler> schedulers = new ConcurrentHashMap<>();
+
+    /**
+     * 构造函数
+     *
+     * @param appProperties 应用配置
+     */
+    public PacingService(AppProperties appProperties) {
+        this.config = appProperties.getUdp().getPacing();
+        this.fec = appProperties.getUdp().getFec();
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.getIdleTimeout());
+        // 启动时校验算法名称
+        createController();
+    }
+
+    /**
+     * 按节奏发送数据包，包装为帧时由会话分配传输序列号，数据包本身不修改
+     *
+     * <p>在会话所属事件循环内调用时同步入队并返回是否成功；在其他线程调用时提交到该事件循环异步入队，
+     * 队列满时丢弃并计入会话的拒绝计数。未启用时直接写出，由调用方flush。</p>
+     *
+     * @param channel 发送通道
+     * @param recipient 对端地址
+     * @param packet 数据包
+     * @return 是否已入队（异步入队时总是返回true）
+     */
+    public boolean send(Channel channel, InetSocketAddress recipient, UdpPacket packet) {
+        if (!config.isEnabled()) {
+            channel.write(new PacketEnvelope(packet, recipient), channel.voidPromise());
+            return true;
+        }
+        Binding binding = sessions.get(recipient);
+        if (binding == null) {
+            if (sessions.size() >= config.getMaxSessions()) {
+                log.warn("节奏控制会话数量已达上限: {}, 丢弃发往 {} 的数据包", config.getMaxSessions(), recipient);
+                return false;
+            }
+            binding = sessions.computeIfAbsent(recipient, key -> newBinding(channel, key));
+        }
+        // 会话非线程安全，入队和排空都在会话所属的事件循环上进行
+        if (binding.loop.inEventLoop()) {
+            return enqueue(binding, packet);
+        }
+        Binding target = binding;
+        binding.loop.execute(() -> enqueue(target, packet));
+        return true;
+    }
+
+    /**
+     * 处理对端ACK
+     *
+     * @param sender 对端地址
+     * @param sequence 被确认的传输序列号
+     */
+    public void onAck(InetSocketAddress sender, int sequence) {
+        Binding binding = sessions.get(sender);
+        if (binding == null) {
+            return;
+        }
+        if (binding.loop.inEventLoop()) {
+            ack(binding, sequence);
+        } else {
+            binding.loop.execute(() -> ack(binding, sequence));
+        }
+    }
+
+    /**
+     * 获取对端的发送会话
+     *
+     * @param recipient 对端地址
+     * @return 会话，不存在时返回null
+     */
+    public PacedSession getSession(InetSocketAddress recipient) {
+        Binding binding = sessions.get(recipient);
+        return binding != null ? binding.session : null;
+    }
+
+    /**
+     * 关闭对端的发送会话，丢弃排队的数据包
+     *
+     * @param recipient 对端地址
+     */
+    public void close(InetSocketAddress recipient) {
+        Binding binding = sessions.remove(recipient);
+        if (binding != null) {
+            binding.loop.execute(binding::close);
+        }
+    }
+
+    /**
+     * 获取会话数量
+     *
+     * @return 数量
+     */
+    public int sessionCount() {
+        return sessions.size();
+    }
+
+    private boolean enqueue(Binding binding, UdpPacket packet) {
+        if (!binding.session.enqueue(packet)) {
+            return false;
+        }
+        binding.lastActiveNanos = System.nanoTime();
+        binding.scheduler.activate(binding.session);
+        return true;
+    }
+
+    private void ack(Binding binding, int sequence) {
+        if (binding.session.onAck(sequence, System.nanoTime())) {
+            binding.lastActiveNanos = System.nanoTime();
+            if (binding.fec != null) {
+                binding.fec.onFeedback(binding.session.getSentPackets(), binding.session.getLostPackets());
+            }
+            binding.scheduler.activate(binding.session);
+        }
+    }
+
+    /**
+     * 淘汰绑定在该事件循环上的空闲会话，在该事件循环上执行
+     */
+    private void evictIdle(EventLoop loop) {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (Map.Entry<InetSocketAddress, Binding> entry : sessions.entrySet()) {
+            Binding binding = entry.getValue();
+            if (binding.loop != loop || now - binding.lastActiveNanos < idleTimeoutNanos
+                || binding.session.hasQueued() || binding.session.getBytesInFlight() > 0) {
+                continue;
+            }
+            if (sessions.remove(entry.getKey(), binding)) {
+                binding.close();
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            log.debug("淘汰空闲节奏控制会话: {}", evicted);
+        }
+    }
+
+    private Binding newBinding(Channel channel, InetSocketAddress recipient) {
+        EventLoop loop = channel.eventLoop();
+        PacingScheduler scheduler = schedulers.computeIfAbsent(loop, key -> {
+            long interval = config.getIdleTimeout();
+            key.scheduleWithFixedDelay(() -> evictIdle(key), interval, interval, TimeUnit.MILLISECONDS);
+            return new PacingScheduler(key);
+        });
+        FecFrameSink fecSink = fec.isEnabled()
+            ? new FecFrameSink(channel, recipient, fec, config.getMaxSegmentSize()) : null;
+        long burst = (long) config.getBurstPackets() * config.getMaxSegmentSize();
+        long initialRate = (long) config.getInitialWindowPackets() * config.getMaxSegmentSize();
+        PacedSession session = new PacedSession(createController(),
+            new RttEstimator(TimeUnit.MILLISECONDS.toNanos(config.getMinRto())),
+            new TokenBucket(initialRate, burst, System.nanoTime()),
+            config.getMaxQueuedPackets(),
+            fecSink != null ? fecSink : new PacedSession.Sink() {
+                @Override
+                public void write(UdpPacket frame) {
+                    channel.write(new PacketEnvelope(frame, recipient), channel.voidPromise());
+                }
+
+                @Override
+                public void flush() {
+                    channel.flush();
+                }
+            });
+        return new Binding(session, scheduler, loop, fecSink);
+    }
+
+    private CongestionController createController() {
+        switch (config.getAlgorithm().toLowerCase(Locale.ROOT)) {
+            case "cubic":
+                return new CubicController(config.getMaxSegmentSize(), config.getInitialWindowPackets());
+            case "bbr":
+                return new BbrController(config.getMaxSegmentSize(), config.getInitialWindowPackets());
+            default:
+                throw new IllegalArgumentException("Unknown congestion control algorithm: " + config.getAlgorithm());
+        }
+    }
+
+    /**
+     * 会话与所属事件循环的绑定
+     */
+    private static final class Binding {
+
+        private final PacedSession session;
+
+        private final PacingScheduler scheduler;
+
+        private final EventLoop loop;
+
+        /**
+         * FEC输出，未启用FEC时为null
+         */
+        private final FecFrameSink fec;
+
+        /**
+         * 最近一次入队或确认的时间（纳秒），只在所属事件循环上访问
+         */
+        private long lastActiveNanos = System.nanoTime();
+
+        private Binding(PacedSession session, PacingScheduler scheduler, EventLoop loop, FecFrameSink fec) {
+            this.session = session;
+            this.scheduler = scheduler;
+            this.loop = loop;
+            this.fec = fec;
+        }
+
+        /**
+         * 停止调度并释放FEC缓冲区，在所属事件循环上执行
+         */
+        private void close() {
+            scheduler.remove(session);
+            if (fec != null) {
+                fec.close();
+            }
+        }
+    }
+}
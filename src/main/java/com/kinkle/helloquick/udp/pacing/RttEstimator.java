@@ -0,0 +1,126 @@
+package com.kinkle.helloquick.udp.pacing;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RTT估计器
+ *
+ * <p>按RFC 6298计算平滑RTT、RTT偏差和重传超时（RTO），同时维护最小RTT；
+ * 最小RTT超过 {@value #MIN_RTT_WINDOW_SECONDS} 秒未刷新时以最新样本重置，以便路径变化后收敛。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class RttEstimator {
+
+    /**
+     * 最小RTT有效期（秒）
+     */
+    static final int MIN_RTT_WINDOW_SECONDS = 10;
+
+    /**
+     * 初始RTO
+     */
+    private static final long INITIAL_RTO_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * 最大RTO
+     */
+    private static final long MAX_RTO_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private static final long MIN_RTT_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(MIN_RTT_WINDOW_SECONDS);
+
+    private final long minRtoNanos;
+
+    private long smoothedRtt;
+
+    private long rttVariance;
+
+    private long minRtt = Long.MAX_VALUE;
+
+    private long minRttTimestamp;
+
+    private long latestRtt;
+
+    /**
+     * 构造函数
+     *
+     * @param minRtoNanos RTO下限（纳秒）
+     */
+    public RttEstimator(long minRtoNanos) {
+        this.minRtoNanos = minRtoNanos;
+    }
+
+    /**
+     * 记录一个RTT样本
+     *
+     * @param rttNanos RTT样本（纳秒）
+     * @param nowNanos 当前时间（纳秒）
+     */
+    public void update(long rttNanos, long nowNanos) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        latestRtt = rttNanos;
+        if (rttNanos <= minRtt || nowNanos - minRttTimestamp > MIN_RTT_WINDOW_NANOS) {
+            minRtt = rttNanos;
+            minRttTimestamp = nowNanos;
+        }
+        if (smoothedRtt == 0) {
+            smoothedRtt = rttNanos;
+            rttVariance = rttNanos / 2;
+            return;
+        }
+        rttVariance = (3 * rttVariance + Math.abs(smoothedRtt - rttNanos)) / 4;
+        smoothedRtt = (7 * smoothedRtt + rttNanos) / 8;
+    }
+
+    /**
+     * 是否已有RTT样本
+     *
+     * @return 是否有样本
+     */
+    public boolean hasSample() {
+        return smoothedRtt > 0;
+    }
+
+    /**
+     * 获取重传超时
+     *
+     * @return RTO（纳秒）
+     */
+    public long getRto() {
+        if (!hasSample()) {
+            return Math.max(INITIAL_RTO_NANOS, minRtoNanos);
+        }
+        return Math.min(MAX_RTO_NANOS, Math.max(minRtoNanos, smoothedRtt + 4 * rttVariance));
+    }
+
+    /**
+     * 获取平滑RTT
+     *
+     * @return 平滑RTT（纳秒），无样本时为0
+     */
+    public long getSmoothedRtt() {
+        return smoothedRtt;
+    }
+
+    /**
+     * 获取最小RTT
+     *
+     * @return 最小RTT（纳秒），无样本时为0
+     */
+    public long getMinRtt() {
+        return hasSample() ? minRtt : 0;
+    }
+
+    /**
+     * 获取最近一次RTT样本
+     *
+     * @return RTT（纳秒）
+     */
+    public long getLatestRtt() {
+        return latestRtt;
+    }
+}
@@ -0,0 +1,123 @@
+package com.kinkle.helloquick.udp.pacing;
+
+/**
+ * 令牌桶
+ *
+ * <p>令牌以字节计，按速率持续补充，容量为突发上限。速率可随拥塞控制动态调整。
+ * 时间由调用方传入，便于在事件循环中统一取时并在测试中控制时钟。</p>
+ *
+ * <p>非线程安全，在所属事件循环上使用。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class TokenBucket {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final long burstBytes;
+
+    /**
+     * 补充速率（字节/秒）
+     */
+    private long rate;
+
+    private double tokens;
+
+    private long lastRefillNanos;
+
+    /**
+     * 构造函数，桶初始为满
+     *
+     * @param rate 补充速率（字节/秒）
+     * @param burstBytes 突发上限（字节）
+     * @param nowNanos 当前时间（纳秒）
+     */
+    public TokenBucket(long rate, long burstBytes, long nowNanos) {
+        if (rate <= 0 || burstBytes <= 0) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.rate = rate;
+        this.burstBytes = burstBytes;
+        this.tokens = burstBytes;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    /**
+     * 尝试消耗令牌
+     *
+     * <p>数据包大于突发上限时，桶满即可发送，余额变为负数，由后续补充偿还。</p>
+     *
+     * @param bytes 字节数
+     * @param nowNanos 当前时间（纳秒）
+     * @return 是否消耗成功
+     */
+    public boolean tryConsume(long bytes, long nowNanos) {
+        refill(nowNanos);
+        if (tokens >= Math.min(bytes, burstBytes)) {
+            tokens -= bytes;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 计算攒够令牌还需等待的时间
+     *
+     * @param bytes 字节数
+     * @param nowNanos 当前时间（纳秒）
+     * @return 等待时间（纳秒），令牌已足够时为0
+     */
+    public long nanosUntilAvailable(long bytes, long nowNanos) {
+        refill(nowNanos);
+        double deficit = Math.min(bytes, burstBytes) - tokens;
+        if (deficit <= 0) {
+            return 0;
+        }
+        return (long) Math.ceil(deficit * NANOS_PER_SECOND / rate);
+    }
+
+    /**
+     * 调整补充速率
+     *
+     * @param rate 新速率（字节/秒）
+     * @param nowNanos 当前时间（纳秒）
+     */
+    public void setRate(long rate, long nowNanos) {
+        if (rate <= 0) {
+            return;
+        }
+        refill(nowNanos);
+        this.rate = rate;
+    }
+
+    /**
+     * 获取补充速率
+     *
+     * @return 速率（字节/秒）
+     */
+    public long getRate() {
+        return rate;
+    }
+
+    /**
+     * 获取当前令牌数
+     *
+     * @param nowNanos 当前时间（纳秒）
+     * @return 令牌数（字节）
+     */
+    public long getTokens(long nowNanos) {
+        refill(nowNanos);
+        return (long) tokens;
+    }
+
+    private void refill(long nowNanos) {
+        long elapsed = nowNanos - lastRefillNanos;
+        if (elapsed <= 0) {
+            return;
+        }
+        tokens = Math.min(burstBytes, tokens + elapsed * (rate / NANOS_PER_SECOND));
+        lastRefillNanos = nowNanos;
+    }
+}
@@ -0,0 +1,12 @@
+/**
+ * UDP发送节奏控制与拥塞控制包
+ *
+ * <p>批量发送（文件分块、大快照）按会话排队，由令牌桶按拥塞控制算法给出的速率匀速发出，
+ * 在途字节受拥塞窗口限制。RTT与丢包信号来自对端的ACK。每个事件循环只有一个定时器，
+ * 不为单个数据包创建定时任务。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.kinkle.helloquick.udp.pacing;
@@ -0,0 +1,44 @@
+package com.kinkle.helloquick.udp.presence;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 用户在线状态变更
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+@ToString
+public final class PresenceChange {
+
+    /**
+     * 用户ID
+     */
+    private final long userId;
+
+    /**
+     * 变更后是否在线
+     */
+    private final boolean online;
+
+    /**
+     * 最后一次变更的时间（毫秒时间戳）
+     */
+    private final long changedAt;
+
+    /**
+     * 构造函数
+     *
+     * @param userId 用户ID
+     * @param online 变更后是否在线
+     * @param changedAt 最后一次变更的时间
+     */
+    public PresenceChange(long userId, boolean online, long changedAt) {
+        this.userId = userId;
+        this.online = online;
+        this.changedAt = changedAt;
+    }
+}
@@ -0,0 +1,93 @@
+package com.kinkle.helloquick.udp.presence;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongPredicate;
+
+/**
+ * 在线状态变更合并器
+ *
+ * <p>一个发布周期内只记下每个用户周期开始时的状态和最新状态，周期结束时只发布两者不同的用户。
+ * 客户端在周期内掉线又重连（或反复抖动）时不产生事件，连续多次变更只产生一条。</p>
+ *
+ * <p>{@link #record} 只在状态真正翻转时调用，因此周期开始时的状态就是第一次记录状态的相反值。
+ * 心跳线程与离线扫描线程的记录顺序可能与表中的实际变更顺序不一致，周期结束时的状态以在线用户表为准。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+final class PresenceCoalescer {
+
+    private Map<Long, Pending> pending = new HashMap<>();
+
+    private long suppressed;
+
+    /**
+     * 记录一次状态翻转
+     *
+     * @param userId 用户ID
+     * @param online 翻转后是否在线
+     * @param changedAt 翻转时间（毫秒时间戳）
+     */
+    synchronized void record(long userId, boolean online, long changedAt) {
+        Pending change = pending.get(userId);
+        if (change == null) {
+            pending.put(userId, new Pending(!online, changedAt));
+            return;
+        }
+        change.changedAt = changedAt;
+    }
+
+    /**
+     * 结束当前周期，取出需要发布的变更
+     *
+     * @param currentState 查询用户当前是否在线
+     * @return 周期内状态确实发生变化的用户，每个用户一条
+     */
+    List<PresenceChange> drain(LongPredicate currentState) {
+        Map<Long, Pending> window;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return List.of();
+            }
+            window = pending;
+            pending = new HashMap<>();
+        }
+        List<PresenceChange> changes = new ArrayList<>(window.size());
+        for (Map.Entry<Long, Pending> entry : window.entrySet()) {
+            Pending change = entry.getValue();
+            boolean online = currentState.test(entry.getKey());
+            if (online != change.initial) {
+                changes.add(new PresenceChange(entry.getKey(), online, change.changedAt));
+            }
+        }
+        synchronized (this) {
+            suppressed += window.size() - changes.size();
+        }
+        return changes;
+    }
+
+    /**
+     * 获取因周期内状态复原而未发布的用户累计数
+     *
+     * @return 累计数
+     */
+    synchronized long getSuppressed() {
+        return suppressed;
+    }
+
+    private static final class Pending {
+
+        private final boolean initial;
+
+        private long changedAt;
+
+        private Pending(boolean initial, long changedAt) {
+            this.initial = initial;
+            this.changedAt = changedAt;
+        }
+    }
+}
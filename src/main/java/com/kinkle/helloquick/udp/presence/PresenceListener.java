@@ -0,0 +1,23 @@
+package com.kinkle.helloquick.udp.presence;
+
+import java.util.List;
+
+/**
+ * 在线状态变更订阅者
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@FunctionalInterface
+public interface PresenceListener {
+
+    /**
+     * 接收一个发布周期内合并后的状态变更
+     *
+     * <p>在发布线程上调用，实现应尽快返回，耗时操作自行转交其他线程。</p>
+     *
+     * @param changes 状态变更，每个用户至多一条
+     */
+    void onPresenceChanged(List<PresenceChange> changes);
+}
@@ -0,0 +1,209 @@
+package com.kinkle.helloquick.udp.presence;
+
+import com.kinkle.helloquick.config.AppProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 用户在线状态服务
+ *
+ * <p>由UDP心跳驱动：已登录会话的每次心跳把用户的最近心跳时间写入 {@link PresenceTable}，
+ * 用户不在表中时即为上线。发布线程每 {@code publishInterval} 毫秒把超过 {@code offlineTimeout}
+ * 没有心跳的用户移出表（下线），再把本周期内的上线、下线经 {@link PresenceCoalescer} 合并后推送给订阅者。
+ * 同一用户在一个周期内反复掉线重连不产生事件。</p>
+ *
+ * <p>同一用户有多个终端时，任一终端有心跳即为在线。在线人数以 {@code udp.presence.online} 注册，
+ * 因合并而未发布的变更以 {@code udp.presence.suppressed} 注册。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.udp", name = "enabled", havingValue = "true")
+public class PresenceService {
+
+    private final PresenceTable table;
+
+    private final PresenceCoalescer coalescer = new PresenceCoalescer();
+
+    private final List<PresenceListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final AppProperties.Udp.Presence config;
+
+    private ScheduledExecutorService publisher;
+
+    /**
+     * 构造函数
+     *
+     * @param appProperties 应用配置
+     * @param registry 指标注册表
+     */
+    public PresenceService(AppProperties appProperties, MeterRegistry registry) {
+        this.config = appProperties.getUdp().getPresence();
+        this.table = new PresenceTable(config.getInitialCapacity(), config.getSegments());
+        Gauge.builder("udp.presence.online", table, PresenceTable::size)
+            .description("在线用户数")
+            .register(registry);
+        FunctionCounter.builder("udp.presence.suppressed", coalescer, PresenceCoalescer::getSuppressed)
+            .description("发布周期内状态复原而未发布的在线状态变更")
+            .register(registry);
+    }
+
+    /**
+     * 启动离线检测与变更发布
+     */
+    @PostConstruct
+    public void start() {
+        publisher = Executors.newSingleThreadScheduledExecutor(new DefaultThreadFactory("udp-presence", true));
+        long interval = config.getPublishInterval();
+        publisher.scheduleWithFixedDelay(() -> {
+            try {
+                publish(System.currentTimeMillis());
+            } catch (RuntimeException e) {
+                log.warn("在线状态发布失败: {}", e.getMessage(), e);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 停止发布线程
+     */
+    @PreDestroy
+    public void stop() {
+        if (publisher != null) {
+            publisher.shutdownNow();
+        }
+    }
+
+    /**
+     * 记录一次心跳
+     *
+     * @param userId 用户ID
+     * @param nowMillis 心跳时间（毫秒时间戳）
+     */
+    public void heartbeat(long userId, long nowMillis) {
+        if (table.put(userId, nowMillis) == 0) {
+            coalescer.record(userId, true, nowMillis);
+        }
+    }
+
+    /**
+     * 查询单个用户的在线状态
+     *
+     * @param userId 用户ID
+     * @return 在线状态
+     */
+    public UserPresence getPresence(long userId) {
+        return toPresence(userId, table.get(userId), System.currentTimeMillis());
+    }
+
+    /**
+     * 批量查询在线状态
+     *
+     * @param userIds 用户ID
+     * @return 与 {@code userIds} 顺序一致的在线状态
+     */
+    public List<UserPresence> getPresence(long[] userIds) {
+        if (userIds.length > config.getMaxBulkQuery()) {
+            throw new IllegalArgumentException("At most " + config.getMaxBulkQuery() + " user ids per query");
+        }
+        long[] lastSeen = table.getAll(userIds);
+        long now = System.currentTimeMillis();
+        List<UserPresence> result = new ArrayList<>(userIds.length);
+        for (int i = 0; i < userIds.length; i++) {
+            result.add(toPresence(userIds[i], lastSeen[i], now));
+        }
+        return result;
+    }
+
+    /**
+     * 判断用户是否在线
+     *
+     * @param userId 用户ID
+     * @return 是否在线
+     */
+    public boolean isOnline(long userId) {
+        return isOnline(table.get(userId), System.currentTimeMillis());
+    }
+
+    /**
+     * 获取在线用户数
+     *
+     * @return 在线用户数
+     */
+    public int getOnlineCount() {
+        return table.size();
+    }
+
+    /**
+     * 订阅在线状态变更
+     *
+     * @param listener 订阅者
+     */
+    public void subscribe(PresenceListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 取消订阅
+     *
+     * @param listener 订阅者
+     */
+    public void unsubscribe(PresenceListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * 执行一个发布周期：移出超时用户，再推送合并后的变更
+     *
+     * @param nowMillis 当前时间（毫秒时间戳）
+     * @return 推送的变更
+     */
+    List<PresenceChange> publish(long nowMillis) {
+        int expired = table.expire(nowMillis - config.getOfflineTimeout(),
+            userId -> coalescer.record(userId, false, nowMillis));
+        List<PresenceChange> changes = coalescer.drain(userId -> table.get(userId) != 0);
+        if (expired > 0 || !changes.isEmpty()) {
+            log.debug("在线状态周期: online={}, expired={}, published={}", table.size(), expired, changes.size());
+        }
+        if (changes.isEmpty()) {
+            return changes;
+        }
+        for (PresenceListener listener : listeners) {
+            try {
+                listener.onPresenceChanged(changes);
+            } catch (RuntimeException e) {
+                log.warn("在线状态订阅者处理失败: listener={}, error={}", listener, e.getMessage(), e);
+            }
+        }
+        return changes;
+    }
+
+    private UserPresence toPresence(long userId, long lastSeen, long nowMillis) {
+        boolean online = isOnline(lastSeen, nowMillis);
+        return new UserPresence(userId, online, online ? lastSeen : 0);
+    }
+
+    /**
+     * 两次离线扫描之间表中可能残留已超时的用户，查询时按超时时间再判断一次
+     */
+    private boolean isOnline(long lastSeen, long nowMillis) {
+        return lastSeen != 0 && nowMillis - lastSeen <= config.getOfflineTimeout();
+    }
+}
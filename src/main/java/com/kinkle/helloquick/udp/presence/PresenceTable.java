@@ -0,0 +1,343 @@
+package com.kinkle.helloquick.udp.presence;
+
+import com.kinkle.helloquick.udp.util.OpenAddressing;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+
+/**
+ * 在线用户表
+ *
+ * <p>以用户ID为键保存最近一次心跳时间的原始类型哈希表。键和值分别放在两个 {@code long[]} 中，
+ * 开放寻址、线性探测，每个在线用户约占 21 字节（按 0.75 装载因子），不为每个用户创建包装对象。
+ * 表按用户ID哈希分段，每段独立加锁并按需扩容，心跳线程之间只在落到同一分段时竞争。
+ * 哈希、分段定位和后移填补删除与 {@code OffHeapSessionStore} 共用 {@link OpenAddressing}。</p>
+ *
+ * <p>用户ID必须为正数，0 作为空槽标记。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class PresenceTable {
+
+    private static final float MAX_LOAD_FACTOR = 0.75f;
+
+    private static final int MIN_SEGMENT_CAPACITY = 16;
+
+    private final Segment[] segments;
+
+    private final int segmentShift;
+
+    /**
+     * 构造函数
+     *
+     * @param initialCapacity 预计在线用户数
+     * @param segmentCount 分段数，向上取整为2的幂
+     */
+    public PresenceTable(int initialCapacity, int segmentCount) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must not be negative");
+        }
+        if (segmentCount <= 0 || segmentCount > 1 << 16) {
+            throw new IllegalArgumentException("segmentCount must be between 1 and 65536");
+        }
+        int count = OpenAddressing.powerOfTwo(segmentCount);
+        this.segments = new Segment[count];
+        this.segmentShift = OpenAddressing.segmentShift(count);
+        int perSegment = (int) Math.ceil(initialCapacity / (double) count / MAX_LOAD_FACTOR);
+        int slots = Math.max(MIN_SEGMENT_CAPACITY, OpenAddressing.powerOfTwo(perSegment));
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(slots);
+        }
+    }
+
+    /**
+     * 记录心跳时间，只会向后推进
+     *
+     * @param userId 用户ID
+     * @param lastSeen 心跳时间（毫秒时间戳），必须为正数
+     * @return 原有的心跳时间，用户原本不在表中时返回0
+     */
+    public long put(long userId, long lastSeen) {
+        checkUserId(userId);
+        if (lastSeen <= 0) {
+            throw new IllegalArgumentException("lastSeen must be positive");
+        }
+        long hash = hash(userId);
+        Segment segment = segmentFor(hash);
+        segment.lock.lock();
+        try {
+            return segment.put(hash, userId, lastSeen);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * 获取心跳时间
+     *
+     * @param userId 用户ID
+     * @return 心跳时间，用户不在表中时返回0
+     */
+    public long get(long userId) {
+        if (userId <= 0) {
+            return 0;
+        }
+        long hash = hash(userId);
+        Segment segment = segmentFor(hash);
+        segment.lock.lock();
+        try {
+            int index = segment.find(hash, userId);
+            return index >= 0 ? segment.values[index] : 0;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * 批量获取心跳时间，按分段分组加锁，每段只加一次锁
+     *
+     * @param userIds 用户ID
+     * @return 与 {@code userIds} 一一对应的心跳时间，不在表中的为0
+     */
+    public long[] getAll(long[] userIds) {
+        long[] result = new long[userIds.length];
+        long[] hashes = new long[userIds.length];
+        for (int i = 0; i < userIds.length; i++) {
+            hashes[i] = hash(userIds[i]);
+        }
+        for (int s = 0; s < segments.length; s++) {
+            Segment segment = segments[s];
+            boolean locked = false;
+            try {
+                for (int i = 0; i < userIds.length; i++) {
+                    if (userIds[i] <= 0 || segmentFor(hashes[i]) != segment) {
+                        continue;
+                    }
+                    if (!locked) {
+                        segment.lock.lock();
+                        locked = true;
+                    }
+                    int index = segment.find(hashes[i], userIds[i]);
+                    result[i] = index >= 0 ? segment.values[index] : 0;
+                }
+            } finally {
+                if (locked) {
+                    segment.lock.unlock();
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 删除用户
+     *
+     * @param userId 用户ID
+     * @return 原有的心跳时间，用户不在表中时返回0
+     */
+    public long remove(long userId) {
+        if (userId <= 0) {
+            return 0;
+        }
+        long hash = hash(userId);
+        Segment segment = segmentFor(hash);
+        segment.lock.lock();
+        try {
+            int index = segment.find(hash, userId);
+            if (index < 0) {
+                return 0;
+            }
+            long previous = segment.values[index];
+            segment.delete(index);
+            return previous;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * 删除心跳时间早于 {@code cutoff} 的用户
+     *
+     * @param cutoff 截止时间（毫秒时间戳）
+     * @param expired 对每个被删除的用户ID回调，在分段锁外执行
+     * @return 删除的用户数
+     */
+    public int expire(long cutoff, LongConsumer expired) {
+        int removed = 0;
+        long[] batch = new long[0];
+        for (Segment segment : segments) {
+            int count = 0;
+            segment.lock.lock();
+            try {
+                for (int i = 0; i < segment.keys.length; i++) {
+                    if (segment.keys[i] != 0 && segment.values[i] < cutoff) {
+                        if (count == batch.length) {
+                            batch = Arrays.copyOf(batch, Math.max(16, count * 2));
+                        }
+                        batch[count++] = segment.keys[i];
+                    }
+                }
+                // 扫描结束后再删除，删除时的前移不会让记录跳过扫描
+                for (int i = 0; i < count; i++) {
+                    segment.delete(segment.find(hash(batch[i]), batch[i]));
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+            for (int i = 0; i < count; i++) {
+                expired.accept(batch[i]);
+            }
+            removed += count;
+        }
+        return removed;
+    }
+
+    /**
+     * 获取用户数
+     *
+     * @return 表中的用户数
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    /**
+     * 获取两个数组占用的堆内存
+     *
+     * @return 字节数
+     */
+    public long getMemoryBytes() {
+        long bytes = 0;
+        for (Segment segment : segments) {
+            bytes += (long) segment.keys.length * Long.BYTES * 2;
+        }
+        return bytes;
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[OpenAddressing.segmentIndex(hash, segmentShift)];
+    }
+
+    private static void checkUserId(long userId) {
+        if (userId <= 0) {
+            throw new IllegalArgumentException("userId must be positive");
+        }
+    }
+
+    static long hash(long userId) {
+        return OpenAddressing.mix(userId * OpenAddressing.GOLDEN_GAMMA);
+    }
+
+    /**
+     * 分段：一张独立加锁、可扩容的开放寻址表
+     */
+    private static final class Segment implements OpenAddressing.Table {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private long[] keys;
+
+        private long[] values;
+
+        private int mask;
+
+        private int limit;
+
+        private int size;
+
+        private Segment(int slots) {
+            allocate(slots);
+        }
+
+        private void allocate(int slots) {
+            this.keys = new long[slots];
+            this.values = new long[slots];
+            this.mask = slots - 1;
+            this.limit = (int) (slots * MAX_LOAD_FACTOR);
+        }
+
+        /**
+         * 查找键，找到时返回下标，否则返回 -(可插入下标 + 1)
+         */
+        private int find(long hash, long userId) {
+            int index = (int) hash & mask;
+            while (true) {
+                long key = keys[index];
+                if (key == 0) {
+                    return -index - 1;
+                }
+                if (key == userId) {
+                    return index;
+                }
+                index = (index + 1) & mask;
+            }
+        }
+
+        private long put(long hash, long userId, long lastSeen) {
+            int index = find(hash, userId);
+            if (index >= 0) {
+                long previous = values[index];
+                if (lastSeen > previous) {
+                    values[index] = lastSeen;
+                }
+                return previous;
+            }
+            if (size >= limit) {
+                grow();
+                index = find(hash, userId);
+            }
+            index = -index - 1;
+            keys[index] = userId;
+            values[index] = lastSeen;
+            size++;
+            return 0;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldValues = values;
+            allocate(oldKeys.length << 1);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    int index = -find(hash(oldKeys[i]), oldKeys[i]) - 1;
+                    keys[index] = oldKeys[i];
+                    values[index] = oldValues[i];
+                }
+            }
+        }
+
+        private void delete(int index) {
+            OpenAddressing.delete(this, index, mask);
+            size--;
+        }
+
+        @Override
+        public boolean isUsed(int index) {
+            return keys[index] != 0;
+        }
+
+        @Override
+        public long hashAt(int index) {
+            return hash(keys[index]);
+        }
+
+        @Override
+        public void move(int from, int to) {
+            keys[to] = keys[from];
+            values[to] = values[from];
+        }
+
+        @Override
+        public void clear(int index) {
+            keys[index] = 0;
+            values[index] = 0;
+        }
+    }
+}
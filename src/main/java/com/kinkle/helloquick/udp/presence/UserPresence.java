@@ -0,0 +1,42 @@
+package com.kinkle.helloquick.udp.presence;
+
+import lombok.Getter;
+
+/**
+ * 用户在线状态查询结果
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+public final class UserPresence {
+
+    /**
+     * 用户ID
+     */
+    private final long userId;
+
+    /**
+     * 是否在线
+     */
+    private final boolean online;
+
+    /**
+     * 最近一次心跳时间（毫秒时间戳），离线时为0
+     */
+    private final long lastSeen;
+
+    /**
+     * 构造函数
+     *
+     * @param userId 用户ID
+     * @param online 是否在线
+     * @param lastSeen 最近一次心跳时间
+     */
+    public UserPresence(long userId, boolean online, long lastSeen) {
+        this.userId = userId;
+        this.online = online;
+        this.lastSeen = lastSeen;
+    }
+}
@@ -0,0 +1,11 @@
+/**
+ * 用户在线状态包
+ *
+ * <p>由已登录会话的UDP心跳维护用户在线状态，在线用户保存在分段的原始类型哈希表中，
+ * 定期检测超时下线，并把一个周期内的上线、下线合并后推送给订阅者。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.kinkle.helloquick.udp.presence;
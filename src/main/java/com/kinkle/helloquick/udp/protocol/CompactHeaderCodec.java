@@ -0,0 +1,168 @@
+package com.kinkle.helloquick.udp.protocol;
+
+import com.kinkle.helloquick.udp.util.VarIntUtil;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 紧凑包头（v2）编解码
+ *
+ * <p>布局如下，变长整数为LEB128编码，见 {@link VarIntUtil}：</p>
+ * <pre>
+ * 版本号 0x02（1字节）
+ * 标志位（1字节），见 {@link ProtocolConstants.CompactFlags}
+ * 协议号（无符号变长整数，1~3字节）
+ * 包体长度（无符号变长整数，1~3字节）
+ * [编码格式（1字节）]          ENCODING标志
+ * [加密方式（1字节）]          ENCRYPTION标志
+ * [时间戳差值（ZigZag变长整数）] TIMESTAMP标志，相对 {@link ProtocolConstants#COMPACT_TIMESTAMP_EPOCH}
+ * [序列号（无符号变长整数）]    SEQUENCE标志
+ * </pre>
+ *
+ * <p>包头之后与v1相同：包体 + CRC32（4字节），CRC32覆盖紧凑包头与包体。
+ * 空包体的心跳包总长从29字节降到15字节左右，不带时间戳和序列号时只有8字节。</p>
+ *
+ * <p>时间戳相对固定基准而非上一个数据包编码，UDP丢包乱序时每个数据包仍可独立解码。
+ * 编码是规范的：可选字段当且仅当取值不是默认值时出现，因此解码后重新编码得到相同字节，
+ * CRC32校验可以按字段重算。解码时魔数字段填为 {@link ProtocolConstants#MAGIC_NUMBER}。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class CompactHeaderCodec {
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private CompactHeaderCodec() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * 计算包头编码长度
+     *
+     * @param header 包头
+     * @return 编码字节数
+     */
+    public static int encodedLength(ProtocolHeader header) {
+        int flags = flags(header);
+        int length = 2 + VarIntUtil.sizeOf(header.getProtocolId() & 0xFFFF) + VarIntUtil.sizeOf(header.getBodyLength());
+        if ((flags & ProtocolConstants.CompactFlags.ENCODING) != 0) {
+            length++;
+        }
+        if ((flags & ProtocolConstants.CompactFlags.ENCRYPTION) != 0) {
+            length++;
+        }
+        if ((flags & ProtocolConstants.CompactFlags.TIMESTAMP) != 0) {
+            length += VarIntUtil.sizeOf(timestampDelta(header.getTimestamp()));
+        }
+        if ((flags & ProtocolConstants.CompactFlags.SEQUENCE) != 0) {
+            length += VarIntUtil.sizeOf(header.getCorrelationId());
+        }
+        return length;
+    }
+
+    /**
+     * 写入包头
+     *
+     * @param header 包头
+     * @param buffer 目标缓冲区
+     * @throws IllegalArgumentException 包体长度为负数
+     */
+    public static void write(ProtocolHeader header, ByteBuffer buffer) {
+        if (header.getBodyLength() < 0) {
+            throw new IllegalArgumentException("Body length cannot be negative");
+        }
+        int flags = flags(header);
+        buffer.put(ProtocolConstants.PROTOCOL_VERSION_V2);
+        buffer.put((byte) flags);
+        VarIntUtil.writeUnsigned(buffer, header.getProtocolId() & 0xFFFF);
+        VarIntUtil.writeUnsigned(buffer, header.getBodyLength());
+        if ((flags & ProtocolConstants.CompactFlags.ENCODING) != 0) {
+            buffer.put(header.getEncoding());
+        }
+        if ((flags & ProtocolConstants.CompactFlags.ENCRYPTION) != 0) {
+            buffer.put(header.getEncryption());
+        }
+        if ((flags & ProtocolConstants.CompactFlags.TIMESTAMP) != 0) {
+            VarIntUtil.writeUnsigned(buffer, timestampDelta(header.getTimestamp()));
+        }
+        if ((flags & ProtocolConstants.CompactFlags.SEQUENCE) != 0) {
+            VarIntUtil.writeUnsigned(buffer, header.getCorrelationId());
+        }
+    }
+
+    /**
+     * 读取包头，缓冲区位置移到包头之后
+     *
+     * @param buffer 源缓冲区，位置指向版本号
+     * @return 包头
+     * @throws IllegalArgumentException 版本号不是v2、标志位未定义、字段超出范围或数据不足
+     */
+    public static ProtocolHeader read(ByteBuffer buffer) {
+        if (buffer.remaining() < ProtocolConstants.COMPACT_MIN_HEADER_LENGTH
+            || buffer.get() != ProtocolConstants.PROTOCOL_VERSION_V2) {
+            throw new IllegalArgumentException("Invalid compact header");
+        }
+        int flags = buffer.get() & 0xFF;
+        if ((flags & ~ProtocolConstants.CompactFlags.MASK) != 0) {
+            throw new IllegalArgumentException("Unknown compact header flags: " + flags);
+        }
+
+        ProtocolHeader header = new ProtocolHeader();
+        header.setVersion(ProtocolConstants.PROTOCOL_VERSION_V2);
+        header.setProtocolId((short) VarIntUtil.readUnsignedInt(buffer, 0xFFFF));
+        header.setBodyLength(VarIntUtil.readUnsignedInt(buffer, ProtocolConstants.MAX_BODY_LENGTH));
+        header.setTimestamp(0);
+        if ((flags & ProtocolConstants.CompactFlags.ENCODING) != 0) {
+            header.setEncoding(get(buffer));
+        }
+        if ((flags & ProtocolConstants.CompactFlags.ENCRYPTION) != 0) {
+            header.setEncryption(get(buffer));
+        }
+        if ((flags & ProtocolConstants.CompactFlags.TIMESTAMP) != 0) {
+            header.setTimestamp(ProtocolConstants.COMPACT_TIMESTAMP_EPOCH
+                + VarIntUtil.zigZagDecode(VarIntUtil.readUnsigned(buffer)));
+        }
+        if ((flags & ProtocolConstants.CompactFlags.SEQUENCE) != 0) {
+            long sequence = VarIntUtil.readUnsigned(buffer);
+            if (sequence > 0xFFFFFFFFL || sequence < 0) {
+                throw new IllegalArgumentException("Compact header sequence out of range: " + Long.toUnsignedString(sequence));
+            }
+            header.setSequence((int) sequence);
+        }
+        return header;
+    }
+
+    /**
+     * 按字段取值计算规范标志位
+     */
+    private static int flags(ProtocolHeader header) {
+        int flags = 0;
+        if (header.getEncoding() != ProtocolConstants.Encoding.JSON) {
+            flags |= ProtocolConstants.CompactFlags.ENCODING;
+        }
+        if (header.getEncryption() != ProtocolConstants.Encryption.NONE) {
+            flags |= ProtocolConstants.CompactFlags.ENCRYPTION;
+        }
+        if (header.getTimestamp() != 0) {
+            flags |= ProtocolConstants.CompactFlags.TIMESTAMP;
+        }
+        if (header.getSequence() != 0) {
+            flags |= ProtocolConstants.CompactFlags.SEQUENCE;
+        }
+        return flags;
+    }
+
+    private static long timestampDelta(long timestamp) {
+        return VarIntUtil.zigZagEncode(timestamp - ProtocolConstants.COMPACT_TIMESTAMP_EPOCH);
+    }
+
+    private static byte get(ByteBuffer buffer) {
+        if (!buffer.hasRemaining()) {
+            throw new IllegalArgumentException("Truncated compact header");
+        }
+        return buffer.get();
+    }
+}
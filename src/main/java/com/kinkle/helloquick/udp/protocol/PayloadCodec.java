@@ -0,0 +1,150 @@
+package com.kinkle.helloquick.udp.protocol;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 包体解码器
+ *
+ * <p>把包体字节解码为指定类型，供 {@link UdpPacket#payload(Class)} 按需调用。按以下顺序选择解码方式：</p>
+ * <ol>
+ *     <li>通过 {@link #register(Class, Function)} 显式注册的解码函数；</li>
+ *     <li>类型自带的 {@code public static T decode(byte[])} 方法，即协议自定义的二进制格式
+ *     （如登录请求、流数据帧），与包头中的编码格式无关；</li>
+ *     <li>按包头编码格式：JSON由Jackson反序列化；{@code byte[]} 与 {@link ByteBuffer} 直接返回原始包体。</li>
+ * </ol>
+ *
+ * <p>类型自带的解码方法在首次使用时查找一次并缓存为 {@link MethodHandle}。
+ * 数据格式错误统一抛出 {@link IllegalArgumentException}，与各协议自带的解码方法一致。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class PayloadCodec {
+
+    /**
+     * 默认解码器，{@link UdpPacket#payload(Class)} 使用
+     */
+    public static final PayloadCodec DEFAULT = new PayloadCodec(new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false));
+
+    private static final MethodType DECODE_TYPE = MethodType.methodType(Object.class, byte[].class);
+
+    /**
+     * 类型自带的 {@code static decode(byte[])} 方法，没有时为null
+     */
+    private static final ClassValue<MethodHandle> STATIC_DECODERS = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            return findStaticDecoder(type);
+        }
+    };
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<Class<?>, Function<byte[], ?>> decoders = new ConcurrentHashMap<>();
+
+    /**
+     * 构造函数
+     *
+     * @param objectMapper JSON包体使用的Jackson实例
+     */
+    public PayloadCodec(ObjectMapper objectMapper) {
+        if (objectMapper == null) {
+            throw new IllegalArgumentException("ObjectMapper cannot be null");
+        }
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 注册类型的解码函数，优先于类型自带的解码方法和包头编码格式
+     *
+     * @param type 包体类型
+     * @param decoder 解码函数，数据格式错误时应抛出 {@link IllegalArgumentException}
+     * @param <T> 包体类型
+     * @return 当前实例
+     */
+    public <T> PayloadCodec register(Class<T> type, Function<byte[], T> decoder) {
+        if (type == null || decoder == null) {
+            throw new IllegalArgumentException("Type and decoder cannot be null");
+        }
+        decoders.put(type, decoder);
+        return this;
+    }
+
+    /**
+     * 解码包体
+     *
+     * @param encoding 包头中的编码格式
+     * @param body 包体数据
+     * @param type 目标类型
+     * @param <T> 目标类型
+     * @return 解码结果
+     * @throws IllegalArgumentException 数据格式错误，或类型与编码格式都不支持
+     */
+    public <T> T decode(byte encoding, byte[] body, Class<T> type) {
+        Function<byte[], ?> registered = decoders.get(type);
+        if (registered != null) {
+            return type.cast(registered.apply(body));
+        }
+        MethodHandle handle = STATIC_DECODERS.get(type);
+        if (handle != null) {
+            return type.cast(invoke(handle, body));
+        }
+        if (type == byte[].class) {
+            return type.cast(body);
+        }
+        if (type == ByteBuffer.class) {
+            return type.cast(ByteBuffer.wrap(body).asReadOnlyBuffer());
+        }
+        if (encoding == ProtocolConstants.Encoding.JSON) {
+            try {
+                return objectMapper.readValue(body, type);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Invalid JSON payload for " + type.getSimpleName()
+                    + ": " + e.getMessage(), e);
+            }
+        }
+        throw new IllegalArgumentException("Unsupported payload encoding " + encoding
+            + " for " + type.getName());
+    }
+
+    private static Object invoke(MethodHandle handle, byte[] body) {
+        try {
+            return handle.invokeExact(body);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalArgumentException("Failed to decode payload", e);
+        }
+    }
+
+    private static MethodHandle findStaticDecoder(Class<?> type) {
+        Method method;
+        try {
+            method = type.getMethod("decode", byte[].class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+        if (!Modifier.isStatic(method.getModifiers()) || !type.isAssignableFrom(method.getReturnType())) {
+            return null;
+        }
+        try {
+            return MethodHandles.publicLookup().unreflect(method).asType(DECODE_TYPE);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+}
@@ -21,11 +21,26 @@ public final class ProtocolConstants {
      */
     public static final byte PROTOCOL_VERSION = 0x01;
     
+    /**
+     * 紧凑包头协议版本号，包头以版本号开头、不含魔数，见 {@link CompactHeaderCodec}
+     */
+    public static final byte PROTOCOL_VERSION_V2 = 0x02;
+    
     /**
      * 包头固定长度（字节）
      */
     public static final int HEADER_LENGTH = 25;
     
+    /**
+     * 紧凑包头最小长度（字节）：版本号、标志位、协议号、包体长度各1字节
+     */
+    public static final int COMPACT_MIN_HEADER_LENGTH = 4;
+    
+    /**
+     * 紧凑包头时间戳基准（2026-01-01T00:00:00Z，毫秒），时间戳编码为相对基准的差值
+     */
+    public static final long COMPACT_TIMESTAMP_EPOCH = 1767225600000L;
+    
     /**
      * 最大包体长度（字节）
      */
@@ -56,6 +71,8 @@ public final class ProtocolConstants {
         public static final int TIMESTAMP = 13;
         /** 保留字段偏移量 */
         public static final int RESERVED = 21;
+        /** 序列号偏移量（占用保留字段） */
+        public static final int SEQUENCE = RESERVED;
     }
     
     /**
@@ -82,6 +99,22 @@ public final class ProtocolConstants {
         public static final int RESERVED = 4;
     }
     
+    /**
+     * 紧凑包头标志位定义，置位表示对应的可选字段存在，未置位时取默认值
+     */
+    public static final class CompactFlags {
+        /** 编码格式（1字节），默认JSON */
+        public static final int ENCODING = 0x01;
+        /** 加密方式（1字节），默认不加密 */
+        public static final int ENCRYPTION = 0x02;
+        /** 时间戳（ZigZag变长整数，相对基准的毫秒差），默认0 */
+        public static final int TIMESTAMP = 0x04;
+        /** 序列号（无符号变长整数），默认0 */
+        public static final int SEQUENCE = 0x08;
+        /** 已定义标志位掩码，其余位必须为0 */
+        public static final int MASK = ENCODING | ENCRYPTION | TIMESTAMP | SEQUENCE;
+    }
+    
     /**
      * 编码格式定义
      */
@@ -140,6 +173,14 @@ public final class ProtocolConstants {
         public static final short ERROR_RESPONSE = 0x0004;
         /** 确认响应 */
         public static final short ACK = 0x0005;
+        /** 前向纠错校验包 */
+        public static final short FEC_PARITY = 0x0006;
+        /** 多路复用流数据帧 */
+        public static final short STREAM_DATA = 0x0007;
+        /** 多路复用流信用额度更新 */
+        public static final short STREAM_CREDIT = 0x0008;
+        /** 节奏控制数据帧 */
+        public static final short PACED_DATA = 0x0009;
     }
     
     /**
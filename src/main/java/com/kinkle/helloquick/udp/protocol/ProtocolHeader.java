@@ -2,8 +2,11 @@ package com.kinkle.helloquick.udp.protocol;
 
 import com.kinkle.helloquick.udp.util.ByteBufferUtil;
 import com.kinkle.helloquick.udp.util.TimestampUtil;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.ToString;
 
 import java.nio.ByteBuffer;
@@ -14,6 +17,10 @@ import java.nio.ByteBuffer;
  * <p>表示UDP协议的固定长度包头，包含魔数、版本号、协议号、编码格式、加密方式、
  * 包体长度、时间戳和保留字段。CRC32校验值位于包体之后。</p>
  *
+ * <p>版本号为 {@link ProtocolConstants#PROTOCOL_VERSION_V2} 时按紧凑格式序列化，
+ * 见 {@link CompactHeaderCodec}。解码时按首字节逐包识别格式：v1以魔数开头，首字节为0x12；
+ * v2以版本号0x02开头。</p>
+ *
  * @author kinkle
  * @version 1.0
  * @since 2025-08-31
@@ -64,6 +71,15 @@ public class ProtocolHeader {
      * 保留字段
      */
     private byte[] reserved;
+
+    /**
+     * 是否按v1布局解码，v1布局中的版本号不能是v2
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean v1Layout;
     
     /**
      * 默认构造函数
@@ -115,7 +131,7 @@ public class ProtocolHeader {
      */
     public boolean isValid() {
         return magic == ProtocolConstants.MAGIC_NUMBER
-            && version == ProtocolConstants.PROTOCOL_VERSION
+            && isValidVersion()
             && bodyLength >= ProtocolConstants.MIN_BODY_LENGTH
             && bodyLength <= ProtocolConstants.MAX_BODY_LENGTH
             && reserved != null
@@ -133,11 +149,32 @@ public class ProtocolHeader {
     
     /**
      * 验证版本号是否支持
+     *
+     * <p>按v1布局解码出的包头版本号为v2时不支持：紧凑格式以版本号开头，不会出现在魔数之后。</p>
      * 
      * @return 版本号是否支持
      */
     public boolean isValidVersion() {
-        return version == ProtocolConstants.PROTOCOL_VERSION;
+        return version == ProtocolConstants.PROTOCOL_VERSION
+            || (version == ProtocolConstants.PROTOCOL_VERSION_V2 && !v1Layout);
+    }
+
+    /**
+     * 是否为紧凑格式（v2）
+     *
+     * @return 是否为紧凑格式
+     */
+    public boolean isCompact() {
+        return version == ProtocolConstants.PROTOCOL_VERSION_V2;
+    }
+
+    /**
+     * 获取包头序列化后的长度
+     *
+     * @return v1为固定25字节，v2按字段取值计算
+     */
+    public int getEncodedLength() {
+        return isCompact() ? CompactHeaderCodec.encodedLength(this) : ProtocolConstants.HEADER_LENGTH;
     }
     
     /**
@@ -152,13 +189,71 @@ public class ProtocolHeader {
     
 
     
+    /**
+     * 获取序列号
+     *
+     * <p>序列号以大端序存放在4字节保留字段中，响应包回填请求包的序列号，
+     * 因此序列号同时作为请求与响应的关联ID，见 {@link #getCorrelationId()}。</p>
+     *
+     * @return 序列号
+     */
+    public int getSequence() {
+        if (reserved == null || reserved.length < ProtocolConstants.HeaderLengths.RESERVED) {
+            return 0;
+        }
+        return ((reserved[0] & 0xFF) << 24)
+            | ((reserved[1] & 0xFF) << 16)
+            | ((reserved[2] & 0xFF) << 8)
+            | (reserved[3] & 0xFF);
+    }
+
+    /**
+     * 设置序列号
+     *
+     * @param sequence 序列号
+     */
+    public void setSequence(int sequence) {
+        if (reserved == null || reserved.length != ProtocolConstants.HeaderLengths.RESERVED) {
+            reserved = new byte[ProtocolConstants.HeaderLengths.RESERVED];
+        }
+        reserved[0] = (byte) (sequence >>> 24);
+        reserved[1] = (byte) (sequence >>> 16);
+        reserved[2] = (byte) (sequence >>> 8);
+        reserved[3] = (byte) sequence;
+    }
+
+    /**
+     * 获取关联ID
+     *
+     * <p>即按无符号数解释的序列号，便于作为长整型键查找未完成的请求。</p>
+     *
+     * @return 关联ID，范围 [0, 2^32)
+     */
+    public long getCorrelationId() {
+        return getSequence() & 0xFFFFFFFFL;
+    }
+
     /**
      * 将包头序列化为字节数组
      *
      * @return 字节数组
      */
     public byte[] toBytes() {
-        ByteBuffer buffer = ByteBufferUtil.allocate(ProtocolConstants.HEADER_LENGTH);
+        ByteBuffer buffer = ByteBufferUtil.allocate(getEncodedLength());
+        writeTo(buffer);
+        return ByteBufferUtil.toBytes(buffer);
+    }
+
+    /**
+     * 将包头按版本对应的格式写入缓冲区
+     *
+     * @param buffer 目标缓冲区
+     */
+    public void writeTo(ByteBuffer buffer) {
+        if (isCompact()) {
+            CompactHeaderCodec.write(this, buffer);
+            return;
+        }
 
         // 写入各个字段
         ByteBufferUtil.putInt(buffer, magic);
@@ -169,8 +264,6 @@ public class ProtocolHeader {
         ByteBufferUtil.putInt(buffer, bodyLength);
         ByteBufferUtil.putLong(buffer, timestamp);
         ByteBufferUtil.putBytes(buffer, reserved);
-
-        return ByteBufferUtil.toBytes(buffer);
     }
     
     /**
@@ -180,6 +273,9 @@ public class ProtocolHeader {
      * @return 包头对象
      */
     public static ProtocolHeader fromBytes(byte[] data) {
+        if (data != null && data.length > 0 && data[0] == ProtocolConstants.PROTOCOL_VERSION_V2) {
+            return CompactHeaderCodec.read(ByteBufferUtil.wrap(data));
+        }
         if (data == null || data.length < ProtocolConstants.HEADER_LENGTH) {
             throw new IllegalArgumentException("Invalid header data length");
         }
@@ -194,6 +290,7 @@ public class ProtocolHeader {
         header.encryption = ByteBufferUtil.getByte(buffer);
         header.bodyLength = ByteBufferUtil.getInt(buffer);
         header.timestamp = ByteBufferUtil.getLong(buffer);
+        header.v1Layout = true;
 
         // 读取保留字段
         header.reserved = new byte[ProtocolConstants.HeaderLengths.RESERVED];
@@ -209,6 +306,9 @@ public class ProtocolHeader {
      * @return 包头对象
      */
     public static ProtocolHeader fromByteBuffer(ByteBuffer buffer) {
+        if (isCompact(buffer)) {
+            return CompactHeaderCodec.read(buffer);
+        }
         if (buffer == null || buffer.remaining() < ProtocolConstants.HEADER_LENGTH) {
             throw new IllegalArgumentException("Invalid buffer or insufficient data");
         }
@@ -221,6 +321,7 @@ public class ProtocolHeader {
         header.encryption = ByteBufferUtil.getByte(buffer);
         header.bodyLength = ByteBufferUtil.getInt(buffer);
         header.timestamp = ByteBufferUtil.getLong(buffer);
+        header.v1Layout = true;
 
         // 读取保留字段
         header.reserved = new byte[ProtocolConstants.HeaderLengths.RESERVED];
@@ -235,20 +336,22 @@ public class ProtocolHeader {
      * @return 包含包头数据的ByteBuffer
      */
     public ByteBuffer toByteBuffer() {
-        ByteBuffer buffer = ByteBufferUtil.allocate(ProtocolConstants.HEADER_LENGTH);
-
-        // 写入各个字段
-        ByteBufferUtil.putInt(buffer, magic);
-        ByteBufferUtil.putByte(buffer, version);
-        ByteBufferUtil.putShort(buffer, protocolId);
-        ByteBufferUtil.putByte(buffer, encoding);
-        ByteBufferUtil.putByte(buffer, encryption);
-        ByteBufferUtil.putInt(buffer, bodyLength);
-        ByteBufferUtil.putLong(buffer, timestamp);
-        ByteBufferUtil.putBytes(buffer, reserved);
+        ByteBuffer buffer = ByteBufferUtil.allocate(getEncodedLength());
+        writeTo(buffer);
 
         buffer.flip(); // 切换到读模式
         return buffer;
     }
 
+    /**
+     * 判断缓冲区当前位置的包头是否为紧凑格式，不移动位置
+     *
+     * @param buffer 缓冲区
+     * @return 是否为紧凑格式
+     */
+    public static boolean isCompact(ByteBuffer buffer) {
+        return buffer != null && buffer.hasRemaining()
+            && buffer.get(buffer.position()) == ProtocolConstants.PROTOCOL_VERSION_V2;
+    }
+
 }
@@ -38,6 +38,26 @@ public enum ProtocolType {
      */
     ACK(ProtocolConstants.SystemProtocols.ACK, "确认响应", ProtocolCategory.SYSTEM),
     
+    /**
+     * 前向纠错校验包协议
+     */
+    FEC_PARITY(ProtocolConstants.SystemProtocols.FEC_PARITY, "前向纠错校验", ProtocolCategory.SYSTEM),
+    
+    /**
+     * 多路复用流数据帧协议
+     */
+    STREAM_DATA(ProtocolConstants.SystemProtocols.STREAM_DATA, "流数据帧", ProtocolCategory.SYSTEM),
+    
+    /**
+     * 多路复用流信用额度更新协议
+     */
+    STREAM_CREDIT(ProtocolConstants.SystemProtocols.STREAM_CREDIT, "流信用额度", ProtocolCategory.SYSTEM),
+    
+    /**
+     * 节奏控制数据帧协议
+     */
+    PACED_DATA(ProtocolConstants.SystemProtocols.PACED_DATA, "节奏控制数据帧", ProtocolCategory.SYSTEM),
+    
     // ========== 业务协议 ==========
     
     /**
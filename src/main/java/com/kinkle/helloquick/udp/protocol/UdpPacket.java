@@ -1,9 +1,13 @@
 package com.kinkle.helloquick.udp.protocol;
 
+import com.kinkle.helloquick.udp.util.BufferWriter;
 import com.kinkle.helloquick.udp.util.ByteBufferUtil;
 import com.kinkle.helloquick.udp.util.Crc32Util;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.ToString;
 
 import java.nio.ByteBuffer;
@@ -12,7 +16,11 @@ import java.nio.ByteBuffer;
  * UDP协议完整数据包类
  *
  * <p>表示完整的UDP协议数据包，包含包头、包体和CRC32校验值。
- * 包结构：包头(25字节) + 包体(N字节) + CRC32(4字节)</p>
+ * 包结构：包头(v1为25字节，v2紧凑包头为4~25字节) + 包体(N字节) + CRC32(4字节)</p>
+ *
+ * <p>包体以未解码的原始字节保存。只按协议号和包头路由的处理器不必解析包体；
+ * 需要时调用 {@link #payload(Class)}，首次访问经 {@link PayloadCodec} 解码并缓存结果，
+ * 同一类型再次访问直接返回缓存。{@link #isPayloadDecoded()} 供分发器统计从未解码的包体。</p>
  *
  * @author kinkle
  * @version 1.0
@@ -23,6 +31,11 @@ import java.nio.ByteBuffer;
 @ToString
 public class UdpPacket {
 
+    /**
+     * 包头编码长度上限：v1为25字节，紧凑包头最长27字节
+     */
+    private static final int MAX_ENCODED_HEADER_LENGTH = 32;
+
     /**
      * 协议包头
      */
@@ -38,6 +51,32 @@ public class UdpPacket {
      */
     private int crc32;
 
+    /**
+     * 已解码的包体，不参与序列化与比较
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Object payload;
+
+    /**
+     * 已解码包体的类型
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Class<?> payloadType;
+
+    /**
+     * 是否尝试过解码包体，解码失败也计入
+     */
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean payloadDecoded;
+
     /**
      * 默认构造函数
      */
@@ -81,6 +120,63 @@ public class UdpPacket {
         this(new ProtocolHeader(protocolId, body != null ? body.length : 0), body != null ? body : new byte[0]);
     }
 
+    /**
+     * 设置包体数据，同时丢弃已缓存的解码结果
+     *
+     * @param body 包体数据
+     */
+    public void setBody(byte[] body) {
+        this.body = body;
+        this.payload = null;
+        this.payloadType = null;
+    }
+
+    /**
+     * 按默认解码器获取类型化包体，首次访问时解码并缓存
+     *
+     * @param type 包体类型
+     * @param <T> 包体类型
+     * @return 解码后的包体
+     * @throws IllegalArgumentException 包体格式错误
+     */
+    public <T> T payload(Class<T> type) {
+        return payload(type, PayloadCodec.DEFAULT);
+    }
+
+    /**
+     * 获取类型化包体，首次访问时解码并缓存
+     *
+     * <p>缓存只保留最近一次解码的类型；数据包在单个处理线程内使用，缓存不做同步。</p>
+     *
+     * @param type 包体类型
+     * @param codec 包体解码器
+     * @param <T> 包体类型
+     * @return 解码后的包体
+     * @throws IllegalArgumentException 包体格式错误
+     */
+    public <T> T payload(Class<T> type, PayloadCodec codec) {
+        if (payloadType == type) {
+            return type.cast(payload);
+        }
+        if (body == null) {
+            throw new IllegalStateException("Body cannot be null");
+        }
+        payloadDecoded = true;
+        T decoded = codec.decode(header.getEncoding(), body, type);
+        this.payload = decoded;
+        this.payloadType = type;
+        return decoded;
+    }
+
+    /**
+     * 获取未解码的包体视图，只读且与包体共享数据
+     *
+     * @return 包体视图
+     */
+    public ByteBuffer bodySlice() {
+        return ByteBuffer.wrap(body).asReadOnlyBuffer();
+    }
+
     /**
      * 计算并设置CRC32值
      */
@@ -147,6 +243,21 @@ public class UdpPacket {
      * @return 字节数组
      */
     public byte[] toBytes() {
+        return encode(header != null && header.isCompact());
+    }
+
+    /**
+     * 按紧凑格式（v2）序列化，不修改包头的版本号；包头为v1时也不修改CRC32字段
+     *
+     * <p>供编码器按接收方选择线上格式使用：同一个数据包重发或发给多个接收方时，每次序列化的结果只取决于接收方。</p>
+     *
+     * @return 字节数组
+     */
+    public byte[] toCompactBytes() {
+        return encode(true);
+    }
+
+    private byte[] encode(boolean compact) {
         if (header == null) {
             throw new IllegalStateException("Header cannot be null");
         }
@@ -154,23 +265,23 @@ public class UdpPacket {
             throw new IllegalStateException("Body cannot be null");
         }
 
-        // 计算CRC32
-        calculateAndSetCrc32();
-
-        int totalLength = ProtocolConstants.HEADER_LENGTH + body.length + ProtocolConstants.HeaderLengths.CRC32;
-        ByteBuffer buffer = ByteBufferUtil.allocate(totalLength);
-
-        // 写入包头
-        byte[] headerBytes = header.toBytes();
-        ByteBufferUtil.putBytes(buffer, headerBytes);
-
-        // 写入包体
-        ByteBufferUtil.putBytes(buffer, body);
-
-        // 写入CRC32
-        ByteBufferUtil.putInt(buffer, crc32);
-
-        return ByteBufferUtil.toBytes(buffer);
+        // 包头只序列化一次，CRC32直接对写入的字节计算
+        try (BufferWriter writer = new BufferWriter()) {
+            ByteBuffer target = writer.writable(MAX_ENCODED_HEADER_LENGTH);
+            if (compact) {
+                CompactHeaderCodec.write(header, target);
+            } else {
+                header.writeTo(target);
+            }
+            writer.putBytes(body);
+            int crc = (int) writer.crc32(0, writer.size());
+            // 按包头自身版本序列化时才回写CRC32字段，使其与verifyCrc32一致
+            if (compact == header.isCompact()) {
+                this.crc32 = crc;
+            }
+            writer.putInt(crc);
+            return writer.toByteArray();
+        }
     }
 
     /**
@@ -180,37 +291,10 @@ public class UdpPacket {
      * @return UDP包对象
      */
     public static UdpPacket fromBytes(byte[] data) {
-        if (data == null || data.length < ProtocolConstants.HEADER_LENGTH + ProtocolConstants.HeaderLengths.CRC32) {
+        if (data == null || data.length < minLength(data.length > 0 ? data[0] : 0)) {
             throw new IllegalArgumentException("Invalid packet data length");
         }
-
-        ByteBuffer buffer = ByteBufferUtil.wrap(data);
-
-        // 读取包头
-        byte[] headerData = new byte[ProtocolConstants.HEADER_LENGTH];
-        buffer.get(headerData);
-        ProtocolHeader header = ProtocolHeader.fromBytes(headerData);
-
-        // 验证包体长度
-        int expectedBodyLength = header.getBodyLength();
-        if (expectedBodyLength < 0 ||
-            ProtocolConstants.HEADER_LENGTH + expectedBodyLength + ProtocolConstants.HeaderLengths.CRC32 > data.length) {
-            throw new IllegalArgumentException("Invalid body length in header");
-        }
-
-        // 读取包体
-        byte[] body = new byte[expectedBodyLength];
-        if (expectedBodyLength > 0) {
-            buffer.get(body);
-        }
-
-        // 读取CRC32
-        int crc32 = ByteBufferUtil.getInt(buffer);
-
-        UdpPacket packet = new UdpPacket(header, body);
-        packet.setCrc32(crc32);
-
-        return packet;
+        return fromByteBuffer(ByteBufferUtil.wrap(data));
     }
 
     /**
@@ -220,14 +304,13 @@ public class UdpPacket {
      * @return UDP包对象
      */
     public static UdpPacket fromByteBuffer(ByteBuffer buffer) {
-        if (buffer == null || buffer.remaining() < ProtocolConstants.HEADER_LENGTH + ProtocolConstants.HeaderLengths.CRC32) {
+        if (buffer == null || !buffer.hasRemaining()
+            || buffer.remaining() < minLength(buffer.get(buffer.position()))) {
             throw new IllegalArgumentException("Invalid buffer or insufficient data");
         }
 
-        // 读取包头
-        byte[] headerData = new byte[ProtocolConstants.HEADER_LENGTH];
-        buffer.get(headerData);
-        ProtocolHeader header = ProtocolHeader.fromBytes(headerData);
+        // 按首字节识别格式，直接从缓冲区读取包头字段
+        ProtocolHeader header = ProtocolHeader.fromByteBuffer(buffer);
 
         // 验证包体长度
         int expectedBodyLength = header.getBodyLength();
@@ -251,6 +334,27 @@ public class UdpPacket {
         return packet;
     }
 
+    /**
+     * 从ByteBuffer解码并按线上字节校验
+     *
+     * <p>v1与v2共用的接收路径：包头字段直接从缓冲区读取，CRC32直接对缓冲区中的原始字节计算，
+     * 不再重新序列化包头。缓冲区位置移到数据包之后。</p>
+     *
+     * @param buffer ByteBuffer
+     * @return 校验通过的数据包；包头字段非法或CRC32不匹配时返回null
+     * @throws IllegalArgumentException 数据无法解析
+     */
+    public static UdpPacket decode(ByteBuffer buffer) {
+        int start = buffer != null ? buffer.position() : 0;
+        UdpPacket packet = fromByteBuffer(buffer);
+        int crcLength = buffer.position() - start - ProtocolConstants.HeaderLengths.CRC32;
+        if (!packet.header.isValid()
+            || (int) Crc32Util.calculate(buffer, start, crcLength) != packet.crc32) {
+            return null;
+        }
+        return packet;
+    }
+
     /**
      * 获取完整UDP包的长度
      *
@@ -260,6 +364,15 @@ public class UdpPacket {
         if (header == null || body == null) {
             return ProtocolConstants.HEADER_LENGTH + ProtocolConstants.HeaderLengths.CRC32;
         }
-        return ProtocolConstants.HEADER_LENGTH + body.length + ProtocolConstants.HeaderLengths.CRC32;
+        return header.getEncodedLength() + body.length + ProtocolConstants.HeaderLengths.CRC32;
+    }
+
+    /**
+     * 按首字节对应的格式计算数据包最小长度
+     */
+    private static int minLength(byte firstByte) {
+        int headerLength = firstByte == ProtocolConstants.PROTOCOL_VERSION_V2
+            ? ProtocolConstants.COMPACT_MIN_HEADER_LENGTH : ProtocolConstants.HEADER_LENGTH;
+        return headerLength + ProtocolConstants.HeaderLengths.CRC32;
     }
 }
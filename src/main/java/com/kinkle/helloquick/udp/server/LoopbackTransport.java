@@ -0,0 +1,156 @@
+package com.kinkle.helloquick.udp.server;
+
+import com.kinkle.helloquick.config.AppProperties;
+import com.kinkle.helloquick.udp.handler.ProtocolDispatcher;
+import com.kinkle.helloquick.udp.metrics.UdpMetrics;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.socket.DatagramPacket;
+
+import java.io.Closeable;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+
+/**
+ * 进程内回环传输
+ *
+ * <p>在 {@link EmbeddedChannel} 上装配与 {@link UdpServer} 相同的管道（抓包、批量写出、FEC恢复、编解码、协议分发），
+ * 数据报从管道头部注入，响应从通道的出站队列取出，全程不经过套接字和系统调用。
+ * 基准测试借此把应用代码的开销与内核收发的开销分开测量。</p>
+ *
+ * <p>{@link #receive} 相当于一次批量收包中的一个数据报，{@link #flush()} 相当于这一批收完：
+ * 触发 {@code channelReadComplete}，批量写出处理器随之把暂存的响应写到出站队列。
+ * 不启用GSO合并，出站队列中每个元素都是一个 {@link DatagramPacket}，取出后由调用方释放。</p>
+ *
+ * <p>通道不是线程安全的，所有方法必须在同一线程调用。处理器在其他线程上写响应时（如登录校验线程池），
+ * 会与调用线程并发操作通道，这类协议不应通过回环传输测量。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class LoopbackTransport implements Closeable {
+
+    private final EmbeddedChannel channel;
+
+    private final InetSocketAddress localAddress;
+
+    /**
+     * 构造函数，管道配置与服务端一致，不做多节点路由
+     *
+     * @param dispatcher 协议分发器
+     * @param config UDP配置
+     * @param metrics UDP指标，null表示不统计
+     */
+    public LoopbackTransport(ProtocolDispatcher dispatcher, AppProperties.Udp config, UdpMetrics metrics) {
+        this(new UdpChannelInitializer(dispatcher, config, UdpTransport.NIO, metrics, null, null),
+            new InetSocketAddress(InetAddress.getLoopbackAddress(), config.getPort()));
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param initializer 通道初始化器，可与其他回环传输或服务端共享
+     * @param localAddress 注入数据报的目标地址，即服务端地址
+     */
+    public LoopbackTransport(UdpChannelInitializer initializer, InetSocketAddress localAddress) {
+        this.channel = new EmbeddedChannel();
+        this.localAddress = localAddress;
+        initializer.initPipeline(channel);
+    }
+
+    /**
+     * 注入一个数据报，响应在 {@link #flush()} 之后才进入出站队列
+     *
+     * @param content 数据报内容，所有权转交管道
+     * @param sender 来源地址
+     */
+    public void receive(ByteBuf content, InetSocketAddress sender) {
+        channel.writeOneInbound(new DatagramPacket(content, localAddress, sender));
+    }
+
+    /**
+     * 注入一个数据报
+     *
+     * @param datagram 数据报内容
+     * @param sender 来源地址
+     */
+    public void receive(byte[] datagram, InetSocketAddress sender) {
+        receive(Unpooled.wrappedBuffer(datagram), sender);
+    }
+
+    /**
+     * 结束一批注入：触发读完成事件、执行通道上排队的任务，并抛出管道中未处理的异常
+     */
+    public void flush() {
+        channel.flushInbound();
+    }
+
+    /**
+     * 注入一个数据报并立即结束这一批
+     *
+     * @param content 数据报内容，所有权转交管道
+     * @param sender 来源地址
+     */
+    public void exchange(ByteBuf content, InetSocketAddress sender) {
+        receive(content, sender);
+        flush();
+    }
+
+    /**
+     * 取出一个响应
+     *
+     * @return 响应数据报，没有时返回null，使用后需释放
+     */
+    public DatagramPacket poll() {
+        return channel.readOutbound();
+    }
+
+    /**
+     * 丢弃并释放所有响应
+     *
+     * @return 丢弃的响应数
+     */
+    public int discardOutbound() {
+        int count = 0;
+        DatagramPacket packet;
+        while ((packet = channel.readOutbound()) != null) {
+            packet.release();
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 获取出站队列中的响应数
+     *
+     * @return 响应数
+     */
+    public int pendingOutbound() {
+        return channel.outboundMessages().size();
+    }
+
+    /**
+     * 获取底层通道
+     *
+     * @return 内存通道
+     */
+    public EmbeddedChannel getChannel() {
+        return channel;
+    }
+
+    /**
+     * 获取服务端地址
+     *
+     * @return 服务端地址
+     */
+    public InetSocketAddress getLocalAddress() {
+        return localAddress;
+    }
+
+    @Override
+    public void close() {
+        channel.finishAndReleaseAll();
+    }
+}
@@ -0,0 +1,159 @@
+package com.kinkle.helloquick.udp.server;
+
+import com.kinkle.helloquick.config.AppProperties;
+import com.kinkle.helloquick.udp.capture.CaptureTap;
+import com.kinkle.helloquick.udp.cluster.ClusterRouter;
+import com.kinkle.helloquick.udp.cluster.ForwardHopHandler;
+import com.kinkle.helloquick.udp.cluster.SessionRouteHandler;
+import com.kinkle.helloquick.udp.codec.UdpPacketDecoder;
+import com.kinkle.helloquick.udp.codec.UdpPacketEncoder;
+import com.kinkle.helloquick.udp.codec.WireVersionTable;
+import com.kinkle.helloquick.udp.fec.FecReceiveHandler;
+import com.kinkle.helloquick.udp.handler.ProtocolDispatcher;
+import com.kinkle.helloquick.udp.metrics.UdpMetrics;
+import com.kinkle.helloquick.udp.trace.PacketTraceHandler;
+import com.kinkle.helloquick.udp.trace.PacketTracer;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.socket.DatagramChannel;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * UDP通道初始化器
+ *
+ * <p>管道顺序：[抓包] → 批量写出 → [FEC恢复] → [包追踪] → 解码 → 编码 → 协议分发。出站消息从分发器依次经过编码器、
+ * 包追踪和批量写出处理器。FEC恢复处理器仅在 {@code app.udp.fec.enabled=true} 时加入，抓包处理器仅在
+ * {@code app.udp.capture.enabled=true} 时加入，每个通道写入各自前缀的日志；包追踪处理器仅在传入
+ * {@link PacketTracer} 且 {@code app.udp.trace.enabled=true} 时加入。编解码器为共享实例，
+ * 传入 {@link UdpMetrics} 时统计各协议的收发量。</p>
+ *
+ * <p>启用多节点会话路由时，批量写出之后加入 {@link SessionRouteHandler}，把不归属本节点的数据报转发出去；
+ * 节点间转发端口使用 {@link #forwardInitializer(int)} 创建的管道：转发处理器 → 批量写出 → 解码 → 编码 → 协议分发，
+ * 与服务端口共享编解码器和分发器。</p>
+ *
+ * <p>{@link #initPipeline(Channel)} 可在任意通道上装配同样的管道，{@link LoopbackTransport} 借此在
+ * 不绑定套接字的内存通道上运行完整管道。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@ChannelHandler.Sharable
+public class UdpChannelInitializer extends ChannelInitializer<DatagramChannel> {
+
+    private final UdpPacketDecoder decoder;
+
+    private final UdpPacketEncoder encoder;
+
+    private final ProtocolDispatcher dispatcher;
+
+    private final boolean gso;
+
+    private final int maxSegments;
+
+    private final AppProperties.Udp.Fec fec;
+
+    private final AppProperties.Udp.Capture capture;
+
+    private final String capturePrefix = "capture-" + System.currentTimeMillis();
+
+    private final AtomicInteger channelIndex = new AtomicInteger();
+
+    private final ClusterRouter router;
+
+    private final PacketTraceHandler traceHandler;
+
+    /**
+     * 构造函数
+     *
+     * @param dispatcher 协议分发器
+     * @param config UDP配置
+     * @param transport 传输类型
+     * @param metrics UDP指标，null表示不统计
+     * @param router 会话路由器，null或未启用时不做多节点路由
+     * @param tracer 包追踪器，null或未启用时管道中不加入追踪处理器
+     */
+    public UdpChannelInitializer(ProtocolDispatcher dispatcher, AppProperties.Udp config, UdpTransport transport,
+                                 @Nullable UdpMetrics metrics, @Nullable ClusterRouter router,
+                                 @Nullable PacketTracer tracer) {
+        AppProperties.Udp.Batch batch = config.getBatch();
+        this.router = router != null && router.isEnabled() ? router : null;
+        this.dispatcher = dispatcher;
+        this.decoder = new UdpPacketDecoder(metrics);
+        this.encoder = new UdpPacketEncoder(metrics);
+        this.fec = config.getFec();
+        this.capture = config.getCapture();
+        this.gso = batch.isEnabled() && batch.isGso() && transport.isSegmentationSupported();
+        this.maxSegments = batch.getMaxSegments();
+        this.traceHandler = tracer != null && tracer.isEnabled() ? new PacketTraceHandler(tracer) : null;
+    }
+
+    @Override
+    protected void initChannel(DatagramChannel ch) {
+        initPipeline(ch);
+    }
+
+    /**
+     * 在通道上装配服务端管道
+     *
+     * @param ch 通道，不要求是数据报通道
+     */
+    public void initPipeline(Channel ch) {
+        ChannelPipeline pipeline = ch.pipeline();
+        if (capture.isEnabled()) {
+            pipeline.addLast("capture", new CaptureTap(capture, capturePrefix + "-" + channelIndex.getAndIncrement()));
+        }
+        pipeline.addLast("batchWriter", new DatagramBatchWriter(gso, maxSegments));
+        if (router != null) {
+            pipeline.addLast("router", new SessionRouteHandler(router));
+        }
+        if (fec.isEnabled()) {
+            pipeline.addLast("fec", new FecReceiveHandler(fec));
+        }
+        if (traceHandler != null) {
+            pipeline.addLast("trace", traceHandler);
+        }
+        ch.attr(WireVersionTable.KEY).set(new WireVersionTable(WireVersionTable.DEFAULT_MAX_PEERS));
+        pipeline.addLast("decoder", decoder);
+        pipeline.addLast("encoder", encoder);
+        pipeline.addLast("dispatcher", dispatcher);
+    }
+
+    /**
+     * 创建节点间转发端口的通道初始化器
+     *
+     * @param maxOrigins 每个通道记录的客户端条数上限
+     * @return 通道初始化器
+     */
+    public ChannelInitializer<DatagramChannel> forwardInitializer(int maxOrigins) {
+        if (router == null) {
+            throw new IllegalStateException("Cluster routing is not enabled");
+        }
+        return new ChannelInitializer<>() {
+            @Override
+            protected void initChannel(DatagramChannel ch) {
+                ChannelPipeline pipeline = ch.pipeline();
+                pipeline.addLast("forwardHop", new ForwardHopHandler(router, maxOrigins));
+                // 响应要逐个包装成转发帧，不做GSO合并
+                pipeline.addLast("batchWriter", new DatagramBatchWriter(false, 1));
+                ch.attr(WireVersionTable.KEY).set(new WireVersionTable(WireVersionTable.DEFAULT_MAX_PEERS));
+                pipeline.addLast("decoder", decoder);
+                pipeline.addLast("encoder", encoder);
+                pipeline.addLast("dispatcher", dispatcher);
+            }
+        };
+    }
+
+    /**
+     * 是否启用了GSO合并
+     *
+     * @return 是否启用
+     */
+    public boolean isGsoEnabled() {
+        return gso;
+    }
+}
@@ -0,0 +1,191 @@
+package com.kinkle.helloquick.udp.server;
+
+import com.kinkle.helloquick.config.AppProperties;
+import com.kinkle.helloquick.udp.cluster.ClusterRouter;
+import com.kinkle.helloquick.udp.handler.ProtocolDispatcher;
+import com.kinkle.helloquick.udp.metrics.UdpMetrics;
+import com.kinkle.helloquick.udp.trace.PacketTracer;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.FixedRecvByteBufAllocator;
+import io.netty.channel.epoll.EpollChannelOption;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * UDP服务器
+ *
+ * <p>epoll传输下为每个IO线程绑定一个SO_REUSEPORT套接字，由内核按四元组分流，每个套接字的收发
+ * 只在一个线程上进行；配置 {@code MAX_DATAGRAM_PAYLOAD_SIZE} 后接收缓冲区可容纳多个数据报，
+ * 读取走recvmmsg，写出由 {@link DatagramBatchWriter} 在每轮读取结束时批量flush走sendmmsg/GSO。
+ * NIO传输下只绑定一个套接字，逐个收发。</p>
+ *
+ * <p>启用多节点会话路由（{@code app.udp.cluster.enabled=true}）时另外绑定一个节点间转发端口，
+ * 与服务端口共用IO线程组。</p>
+ *
+ * <p>仅在 {@code app.udp.enabled=true} 时启动。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.udp", name = "enabled", havingValue = "true")
+public class UdpServer {
+
+    /**
+     * GRO接收槽位大小（内核合并数据报的上限）
+     */
+    private static final int GRO_SLOT_SIZE = 65535;
+
+    private final AppProperties.Udp config;
+
+    private final ProtocolDispatcher dispatcher;
+
+    private final UdpMetrics metrics;
+
+    private final ClusterRouter router;
+
+    private final PacketTracer tracer;
+
+    private final List<Channel> channels = new ArrayList<>();
+
+    private Channel forwardChannel;
+
+    private EventLoopGroup group;
+
+    private UdpTransport transport;
+
+    /**
+     * 构造函数
+     *
+     * @param appProperties 应用配置
+     * @param dispatcher 协议分发器
+     * @param metrics UDP指标，null表示不统计
+     * @param router 会话路由器，null或未启用时不做多节点路由
+     * @param tracer 包追踪器，null或未启用时不追踪
+     */
+    public UdpServer(AppProperties appProperties, ProtocolDispatcher dispatcher, @Nullable UdpMetrics metrics,
+                     @Nullable ClusterRouter router, @Nullable PacketTracer tracer) {
+        this.config = appProperties.getUdp();
+        this.dispatcher = dispatcher;
+        this.metrics = metrics;
+        this.router = router;
+        this.tracer = tracer;
+    }
+
+    /**
+     * 启动UDP服务
+     *
+     * @throws InterruptedException 绑定被中断
+     */
+    @PostConstruct
+    public void start() throws InterruptedException {
+        transport = UdpTransport.select();
+        int threads = config.getIoThreads() > 0 ? config.getIoThreads() : Runtime.getRuntime().availableProcessors();
+        int sockets = transport == UdpTransport.EPOLL ? threads : 1;
+        group = transport.newEventLoopGroup(threads);
+
+        UdpChannelInitializer initializer = new UdpChannelInitializer(dispatcher, config, transport, metrics, router, tracer);
+        Bootstrap bootstrap = createBootstrap(initializer);
+        for (int i = 0; i < sockets; i++) {
+            channels.add(bootstrap.bind(config.getPort()).sync().channel());
+        }
+        if (router != null && router.isEnabled()) {
+            AppProperties.Udp.Cluster cluster = config.getCluster();
+            forwardChannel = new Bootstrap()
+                .group(group)
+                .channel(transport.channelClass())
+                .option(ChannelOption.SO_RCVBUF, config.getReceiveBufferSize())
+                .option(ChannelOption.SO_SNDBUF, config.getSendBufferSize())
+                .option(ChannelOption.RCVBUF_ALLOCATOR, new FixedRecvByteBufAllocator(GRO_SLOT_SIZE))
+                .handler(initializer.forwardInitializer(cluster.getMaxForwardOrigins()))
+                .bind(cluster.getBindHost(), cluster.getForwardPort()).sync().channel();
+            router.attach(channels, forwardChannel);
+            log.info("UDP节点间转发端口已绑定: {}:{}, nodeId={}", cluster.getBindHost(), cluster.getForwardPort(),
+                router.getNodeId());
+        }
+
+        log.info("UDP服务已启动: port={}, transport={}, sockets={}, gso={}, fec={}",
+            config.getPort(), transport, sockets, initializer.isGsoEnabled(), config.getFec().isEnabled());
+    }
+
+    /**
+     * 停止UDP服务
+     */
+    @PreDestroy
+    public void stop() {
+        if (forwardChannel != null) {
+            forwardChannel.close().syncUninterruptibly();
+            forwardChannel = null;
+        }
+        for (Channel channel : channels) {
+            channel.close().syncUninterruptibly();
+        }
+        channels.clear();
+        if (group != null) {
+            group.shutdownGracefully().syncUninterruptibly();
+        }
+        log.info("UDP服务已停止");
+    }
+
+    /**
+     * 获取已绑定的通道
+     *
+     * @return 通道列表
+     */
+    public List<Channel> getChannels() {
+        return List.copyOf(channels);
+    }
+
+    /**
+     * 获取实际使用的传输类型
+     *
+     * @return 传输类型
+     */
+    public UdpTransport getTransport() {
+        return transport;
+    }
+
+    /**
+     * 创建Bootstrap并设置套接字选项
+     */
+    private Bootstrap createBootstrap(UdpChannelInitializer initializer) {
+        AppProperties.Udp.Batch batch = config.getBatch();
+        Bootstrap bootstrap = new Bootstrap()
+            .group(group)
+            .channel(transport.channelClass())
+            .option(ChannelOption.SO_RCVBUF, config.getReceiveBufferSize())
+            .option(ChannelOption.SO_SNDBUF, config.getSendBufferSize())
+            .handler(initializer);
+
+        if (transport == UdpTransport.EPOLL) {
+            bootstrap.option(EpollChannelOption.SO_REUSEPORT, true);
+            if (batch.isEnabled()) {
+                // 接收缓冲区按槽位切分，一次recvmmsg读取多个数据报；
+                // GRO合并后的数据报最大64KB，槽位需按合并上限分配
+                int slotSize = batch.isGro() ? GRO_SLOT_SIZE : batch.getMaxDatagramSize();
+                int slots = Math.max(1, batch.isGro() ? batch.getGroReadBatchSize() : batch.getReadBatchSize());
+                bootstrap.option(EpollChannelOption.MAX_DATAGRAM_PAYLOAD_SIZE, slotSize)
+                    .option(ChannelOption.RCVBUF_ALLOCATOR, new FixedRecvByteBufAllocator(slotSize * slots));
+                if (batch.isGro()) {
+                    // 内核不支持UDP_GRO时Netty仅记录告警，接收回退为逐个数据报
+                    bootstrap.option(EpollChannelOption.UDP_GRO, true);
+                }
+            }
+        } else {
+            bootstrap.option(ChannelOption.RCVBUF_ALLOCATOR, new FixedRecvByteBufAllocator(batch.getMaxDatagramSize()));
+        }
+        return bootstrap;
+    }
+}
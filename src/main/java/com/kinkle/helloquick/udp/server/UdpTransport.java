@@ -0,0 +1,85 @@
+package com.kinkle.helloquick.udp.server;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollDatagramChannel;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+
+/**
+ * UDP传输类型
+ *
+ * <p>Linux上优先使用epoll原生传输，支持recvmmsg/sendmmsg批量收发、SO_REUSEPORT多套接字以及UDP GSO/GRO；
+ * 其他平台回退到NIO传输，每次系统调用收发一个数据报。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public enum UdpTransport {
+
+    /**
+     * epoll原生传输
+     */
+    EPOLL {
+        @Override
+        public EventLoopGroup newEventLoopGroup(int threads) {
+            return new EpollEventLoopGroup(threads);
+        }
+
+        @Override
+        public Class<? extends DatagramChannel> channelClass() {
+            return EpollDatagramChannel.class;
+        }
+    },
+
+    /**
+     * NIO传输
+     */
+    NIO {
+        @Override
+        public EventLoopGroup newEventLoopGroup(int threads) {
+            return new NioEventLoopGroup(threads);
+        }
+
+        @Override
+        public Class<? extends DatagramChannel> channelClass() {
+            return NioDatagramChannel.class;
+        }
+    };
+
+    /**
+     * 创建事件循环组
+     *
+     * @param threads 线程数
+     * @return 事件循环组
+     */
+    public abstract EventLoopGroup newEventLoopGroup(int threads);
+
+    /**
+     * 获取数据报通道类型
+     *
+     * @return 通道类型
+     */
+    public abstract Class<? extends DatagramChannel> channelClass();
+
+    /**
+     * 选择当前平台可用的最佳传输
+     *
+     * @return 传输类型
+     */
+    public static UdpTransport select() {
+        return Epoll.isAvailable() ? EPOLL : NIO;
+    }
+
+    /**
+     * 当前平台是否支持UDP GSO
+     *
+     * @return 是否支持
+     */
+    public boolean isSegmentationSupported() {
+        return this == EPOLL && EpollDatagramChannel.isSegmentedDatagramPacketSupported();
+    }
+}
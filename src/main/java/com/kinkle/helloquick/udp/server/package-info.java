@@ -0,0 +1,10 @@
+/**
+ * UDP服务端包
+ *
+ * <p>包含基于Netty的UDP服务端启动、传输选择、通道初始化以及批量收发处理。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.kinkle.helloquick.udp.server;
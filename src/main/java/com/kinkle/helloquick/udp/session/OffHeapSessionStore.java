@@ -0,0 +1,506 @@
+package com.kinkle.helloquick.udp.session;
+
+import com.kinkle.helloquick.udp.util.ByteBufferUtil;
+import com.kinkle.helloquick.udp.util.OpenAddressing;
+
+import java.net.Inet4Address;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntFunction;
+
+/**
+ * 堆外会话状态存储
+ *
+ * <p>每个会话占一个固定大小的槽位，槽位存放在直接内存中，堆上只有分段对象本身，
+ * 百万级会话不会给GC增加存活对象。存储按键的哈希分为若干段，每段是一张独立的线性探测开放寻址表，
+ * 各自持有一把锁和一块 {@link ByteBufferUtil#allocateDirect(int)} 分配的缓冲区；
+ * 不同段上的访问互不阻塞，单段容量也不受单个ByteBuffer 2GB上限的限制。哈希、分段定位和后移填补删除
+ * 由 {@link OpenAddressing} 提供。</p>
+ *
+ * <p>键是对端地址：IPv4映射为IPv4-mapped IPv6，与端口一起占20字节。字段通过 {@link SessionSlot}
+ * 享元读写，享元在打开期间持有所在段的锁，用完必须关闭：</p>
+ * <pre>
+ * SessionSlot slot = new SessionSlot();
+ * if (store.open(peer, slot, true)) {
+ *     try (slot) {
+ *         slot.setUserId(userId);
+ *     }
+ * }
+ * </pre>
+ *
+ * <p>槽位布局（大端，{@link #SLOT_SIZE} 字节）：</p>
+ * <pre>
+ * 0   状态（4字节）：0空闲，1占用
+ * 4   端口（4字节）
+ * 8   地址高64位（8字节）
+ * 16  地址低64位（8字节）
+ * 24  用户ID（8字节）
+ * 32  创建时间（8字节，毫秒时间戳）
+ * 40  最近活跃时间（8字节，毫秒时间戳）
+ * 48  认证状态（4字节）
+ * 52  保留（12字节）
+ * 64  会话ID（16字节）
+ * 80  保留（48字节）
+ * </pre>
+ *
+ * <p>存储本身不过期会话，由使用方按最近活跃时间定期调用 {@link #evictIdle(long)} 清理。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class OffHeapSessionStore {
+
+    /**
+     * 槽位大小（字节）
+     */
+    public static final int SLOT_SIZE = 128;
+
+    static final int STATE = 0;
+    static final int PORT = 4;
+    static final int ADDRESS_HIGH = 8;
+    static final int ADDRESS_LOW = 16;
+    static final int USER_ID = 24;
+    static final int CREATED_AT = 32;
+    static final int LAST_SEEN = 40;
+    static final int AUTH_STATUS = 48;
+    static final int SESSION_ID = 64;
+
+    /**
+     * 会话ID长度（字节）
+     */
+    public static final int SESSION_ID_LENGTH = 16;
+
+    static final int STATE_EMPTY = 0;
+
+    static final int STATE_USED = 1;
+
+    /**
+     * 每段最多槽位数，段缓冲区为 槽位数 × {@link #SLOT_SIZE} = 1GB，不超出int范围
+     */
+    private static final int MAX_SEGMENT_SLOTS = 1 << 23;
+
+    /**
+     * 装填因子上限，超过后拒绝新增
+     */
+    private static final double MAX_LOAD_FACTOR = 0.75;
+
+    /**
+     * 每段容量相对平均值的余量，吸收各段之间哈希分布的不均
+     */
+    private static final double SEGMENT_HEADROOM = 1.1;
+
+    /**
+     * IPv4-mapped IPv6地址的低64位前缀
+     */
+    private static final long IPV4_MAPPED_PREFIX = 0x0000FFFF00000000L;
+
+    private final Segment[] segments;
+
+    private final int segmentShift;
+
+    private final int maxSessions;
+
+    /**
+     * 全部段的会话总数，新增前先在此预占，保证总数不超过 maxSessions
+     */
+    private final AtomicInteger total = new AtomicInteger();
+
+    /**
+     * 构造函数
+     *
+     * @param maxSessions 最大会话数
+     * @param segmentCount 分段数，向上取整为2的幂
+     */
+    public OffHeapSessionStore(int maxSessions, int segmentCount) {
+        if (maxSessions <= 0) {
+            throw new IllegalArgumentException("maxSessions must be positive");
+        }
+        int count = OpenAddressing.powerOfTwo(segmentCount);
+        long perSegment = (long) Math.ceil(maxSessions * SEGMENT_HEADROOM / MAX_LOAD_FACTOR / count);
+        if (perSegment > MAX_SEGMENT_SLOTS) {
+            throw new IllegalArgumentException("Too many sessions per segment, increase segmentCount");
+        }
+        int slots = Math.max(2, OpenAddressing.powerOfTwo((int) perSegment));
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(slots);
+        }
+        this.segmentShift = OpenAddressing.segmentShift(count);
+        this.maxSessions = maxSessions;
+    }
+
+    /**
+     * 打开会话槽位，成功时享元持有所在段的锁，调用方必须关闭享元
+     *
+     * @param peer 对端地址
+     * @param slot 享元
+     * @param create 不存在时是否新建
+     * @return 是否已打开；不存在且不新建，或所在段已满时返回false，此时不持有锁
+     */
+    public boolean open(InetSocketAddress peer, SessionSlot slot, boolean create) {
+        byte[] address = peer.getAddress().getAddress();
+        return open(addressHigh(address), addressLow(address), peer.getPort(), slot, create);
+    }
+
+    /**
+     * 打开会话槽位
+     *
+     * @param addressHigh 地址高64位
+     * @param addressLow 地址低64位
+     * @param port 端口
+     * @param slot 享元
+     * @param create 不存在时是否新建
+     * @return 是否已打开
+     * @see #open(InetSocketAddress, SessionSlot, boolean)
+     */
+    public boolean open(long addressHigh, long addressLow, int port, SessionSlot slot, boolean create) {
+        if (slot.isOpen()) {
+            throw new IllegalStateException("Session slot is already open");
+        }
+        long hash = hash(addressHigh, addressLow, port);
+        Segment segment = segmentFor(hash);
+        segment.lock.lock();
+        int offset = segment.find(hash, addressHigh, addressLow, port);
+        if (offset < 0) {
+            if (!create || segment.size >= segment.limit || !reserve()) {
+                segment.lock.unlock();
+                return false;
+            }
+            offset = segment.insert(-offset - 1, addressHigh, addressLow, port);
+        }
+        slot.wrap(segment, offset);
+        return true;
+    }
+
+    /**
+     * 删除会话
+     *
+     * @param peer 对端地址
+     * @return 是否存在并已删除
+     */
+    public boolean remove(InetSocketAddress peer) {
+        byte[] address = peer.getAddress().getAddress();
+        return remove(addressHigh(address), addressLow(address), peer.getPort());
+    }
+
+    /**
+     * 删除会话
+     *
+     * @param addressHigh 地址高64位
+     * @param addressLow 地址低64位
+     * @param port 端口
+     * @return 是否存在并已删除
+     */
+    public boolean remove(long addressHigh, long addressLow, int port) {
+        long hash = hash(addressHigh, addressLow, port);
+        Segment segment = segmentFor(hash);
+        segment.lock.lock();
+        try {
+            int offset = segment.find(hash, addressHigh, addressLow, port);
+            if (offset < 0) {
+                return false;
+            }
+            segment.delete(offset / SLOT_SIZE);
+            total.decrementAndGet();
+            return true;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * 删除最近活跃时间早于给定时间的会话，逐段加锁扫描
+     *
+     * @param idleBefore 最近活跃时间下限（毫秒时间戳），早于它的会话被删除
+     * @return 删除的会话数
+     */
+    public int evictIdle(long idleBefore) {
+        int evicted = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                int removed = segment.evictIdle(idleBefore);
+                total.addAndGet(-removed);
+                evicted += removed;
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * 在段锁内把一个段中的全部会话槽位原样复制到目标缓冲区
+     *
+     * @param segmentIndex 段下标
+     * @param target 按会话数提供目标缓冲区，在段锁内调用，剩余空间不小于 会话数 × {@link #SLOT_SIZE}
+     * @return 复制的会话数
+     */
+    public int copySegment(int segmentIndex, IntFunction<ByteBuffer> target) {
+        Segment segment = segments[segmentIndex];
+        segment.lock.lock();
+        try {
+            ByteBuffer out = target.apply(segment.size);
+            ByteBuffer source = segment.buffer;
+            int slots = segment.mask + 1;
+            int copied = 0;
+            for (int index = 0; index < slots && copied < segment.size; index++) {
+                int offset = index * SLOT_SIZE;
+                if (source.getInt(offset + STATE) == STATE_USED) {
+                    out.put(out.position(), source, offset, SLOT_SIZE);
+                    out.position(out.position() + SLOT_SIZE);
+                    copied++;
+                }
+            }
+            return copied;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * 导入一个由 {@link #copySegment} 导出的槽位，同一对端已存在时覆盖
+     *
+     * @param source 源缓冲区
+     * @param offset 槽位在源缓冲区中的偏移
+     * @return 是否已导入，所在段已满时返回false
+     */
+    public boolean importSlot(ByteBuffer source, int offset) {
+        long addressHigh = source.getLong(offset + ADDRESS_HIGH);
+        long addressLow = source.getLong(offset + ADDRESS_LOW);
+        int port = source.getInt(offset + PORT);
+        long hash = hash(addressHigh, addressLow, port);
+        Segment segment = segmentFor(hash);
+        segment.lock.lock();
+        try {
+            int target = segment.find(hash, addressHigh, addressLow, port);
+            if (target < 0) {
+                if (segment.size >= segment.limit || !reserve()) {
+                    return false;
+                }
+                target = segment.insert(-target - 1, addressHigh, addressLow, port);
+            }
+            segment.buffer.put(target, source, offset, SLOT_SIZE);
+            segment.buffer.putInt(target + STATE, STATE_USED);
+            return true;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * 获取会话数
+     *
+     * @return 会话数
+     */
+    public int size() {
+        return total.get();
+    }
+
+    /**
+     * 获取最大会话数
+     *
+     * @return 最大会话数
+     */
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    /**
+     * 获取分段数
+     *
+     * @return 分段数
+     */
+    public int getSegmentCount() {
+        return segments.length;
+    }
+
+    /**
+     * 获取占用的直接内存（字节）
+     *
+     * @return 字节数
+     */
+    public long getMemoryBytes() {
+        long total = 0;
+        for (Segment segment : segments) {
+            total += segment.buffer.capacity();
+        }
+        return total;
+    }
+
+    /**
+     * 计算地址高64位，IPv4地址按IPv4-mapped IPv6处理
+     *
+     * @param address 4或16字节地址
+     * @return 高64位
+     */
+    public static long addressHigh(byte[] address) {
+        return address.length == 4 ? 0 : readLong(address, 0);
+    }
+
+    /**
+     * 计算地址低64位，IPv4地址按IPv4-mapped IPv6处理
+     *
+     * @param address 4或16字节地址
+     * @return 低64位
+     */
+    public static long addressLow(byte[] address) {
+        if (address.length == 4) {
+            return IPV4_MAPPED_PREFIX | (((address[0] & 0xFFL) << 24) | ((address[1] & 0xFFL) << 16)
+                | ((address[2] & 0xFFL) << 8) | (address[3] & 0xFFL));
+        }
+        return readLong(address, 8);
+    }
+
+    /**
+     * 判断地址是否为IPv4-mapped IPv6
+     *
+     * @param addressHigh 地址高64位
+     * @param addressLow 地址低64位
+     * @return 是否为IPv4地址
+     */
+    static boolean isIpv4(long addressHigh, long addressLow) {
+        return addressHigh == 0 && (addressLow & 0xFFFFFFFF00000000L) == IPV4_MAPPED_PREFIX;
+    }
+
+    /**
+     * 预占一个会话名额
+     */
+    private boolean reserve() {
+        int current;
+        do {
+            current = total.get();
+            if (current >= maxSessions) {
+                return false;
+            }
+        } while (!total.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[OpenAddressing.segmentIndex(hash, segmentShift)];
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFFL);
+        }
+        return value;
+    }
+
+    /**
+     * 地址与端口的64位哈希
+     */
+    static long hash(long addressHigh, long addressLow, int port) {
+        long h = addressHigh * OpenAddressing.GOLDEN_GAMMA ^ addressLow;
+        return OpenAddressing.mix(h * OpenAddressing.GOLDEN_GAMMA ^ port);
+    }
+
+    /**
+     * 分段：一张独立加锁的开放寻址表
+     */
+    static final class Segment implements OpenAddressing.Table {
+
+        final ByteBuffer buffer;
+
+        final ReentrantLock lock = new ReentrantLock();
+
+        private final int mask;
+
+        private final int limit;
+
+        private int size;
+
+        private Segment(int slots) {
+            this.buffer = ByteBufferUtil.allocateDirect(slots * SLOT_SIZE);
+            this.mask = slots - 1;
+            this.limit = (int) (slots * MAX_LOAD_FACTOR);
+        }
+
+        /**
+         * 查找键，找到时返回槽位偏移，否则返回 -(可插入槽位下标 + 1)
+         */
+        private int find(long hash, long addressHigh, long addressLow, int port) {
+            int index = (int) hash & mask;
+            while (true) {
+                int offset = index * SLOT_SIZE;
+                if (buffer.getInt(offset + STATE) == STATE_EMPTY) {
+                    return -index - 1;
+                }
+                if (buffer.getInt(offset + PORT) == port && buffer.getLong(offset + ADDRESS_LOW) == addressLow
+                    && buffer.getLong(offset + ADDRESS_HIGH) == addressHigh) {
+                    return offset;
+                }
+                index = (index + 1) & mask;
+            }
+        }
+
+        private int insert(int index, long addressHigh, long addressLow, int port) {
+            int offset = index * SLOT_SIZE;
+            for (int i = 0; i < SLOT_SIZE; i += 8) {
+                buffer.putLong(offset + i, 0L);
+            }
+            buffer.putInt(offset + STATE, STATE_USED);
+            buffer.putInt(offset + PORT, port);
+            buffer.putLong(offset + ADDRESS_HIGH, addressHigh);
+            buffer.putLong(offset + ADDRESS_LOW, addressLow);
+            size++;
+            return offset;
+        }
+
+        /**
+         * 删除最近活跃时间早于给定时间的槽位
+         */
+        private int evictIdle(long idleBefore) {
+            int slots = mask + 1;
+            int removed = 0;
+            int index = 0;
+            while (index < slots && size > 0) {
+                int offset = index * SLOT_SIZE;
+                if (buffer.getInt(offset + STATE) == STATE_USED && buffer.getLong(offset + LAST_SEEN) < idleBefore) {
+                    // 后移填补可能把后续记录移到当前下标，原地再检查一次
+                    delete(index);
+                    removed++;
+                } else {
+                    index++;
+                }
+            }
+            return removed;
+        }
+
+        private void delete(int index) {
+            OpenAddressing.delete(this, index, mask);
+            size--;
+        }
+
+        @Override
+        public boolean isUsed(int index) {
+            return buffer.getInt(index * SLOT_SIZE + STATE) == STATE_USED;
+        }
+
+        @Override
+        public long hashAt(int index) {
+            int offset = index * SLOT_SIZE;
+            return hash(buffer.getLong(offset + ADDRESS_HIGH), buffer.getLong(offset + ADDRESS_LOW),
+                buffer.getInt(offset + PORT));
+        }
+
+        @Override
+        public void move(int from, int to) {
+            int source = from * SLOT_SIZE;
+            int target = to * SLOT_SIZE;
+            for (int i = 0; i < SLOT_SIZE; i += 8) {
+                buffer.putLong(target + i, buffer.getLong(source + i));
+            }
+        }
+
+        @Override
+        public void clear(int index) {
+            buffer.putInt(index * SLOT_SIZE + STATE, STATE_EMPTY);
+        }
+    }
+}
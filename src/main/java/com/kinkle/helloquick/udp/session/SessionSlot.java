@@ -0,0 +1,188 @@
+package com.kinkle.helloquick.udp.session;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+
+/**
+ * 会话槽位享元
+ *
+ * <p>由 {@link OffHeapSessionStore#open} 指向某个槽位，读写方法直接访问直接内存中的字段，不创建对象。
+ * 打开期间持有所在段的锁，{@link #close()} 释放锁并解除指向；享元本身可反复使用，但不是线程安全的，
+ * 每个线程使用各自的实例。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class SessionSlot implements AutoCloseable {
+
+    /**
+     * 未认证
+     */
+    public static final int AUTH_NONE = 0;
+
+    /**
+     * 已认证
+     */
+    public static final int AUTH_AUTHENTICATED = 1;
+
+    private OffHeapSessionStore.Segment segment;
+
+    private ByteBuffer buffer;
+
+    private int offset;
+
+    void wrap(OffHeapSessionStore.Segment segment, int offset) {
+        this.segment = segment;
+        this.buffer = segment.buffer;
+        this.offset = offset;
+    }
+
+    /**
+     * 是否指向某个槽位
+     *
+     * @return 是否已打开
+     */
+    public boolean isOpen() {
+        return segment != null;
+    }
+
+    /**
+     * 获取对端地址，会创建地址对象
+     *
+     * @return 对端地址
+     */
+    public InetSocketAddress getPeer() {
+        long high = buffer.getLong(offset + OffHeapSessionStore.ADDRESS_HIGH);
+        long low = buffer.getLong(offset + OffHeapSessionStore.ADDRESS_LOW);
+        byte[] address;
+        if (OffHeapSessionStore.isIpv4(high, low)) {
+            address = new byte[]{(byte) (low >>> 24), (byte) (low >>> 16), (byte) (low >>> 8), (byte) low};
+        } else {
+            address = new byte[16];
+            for (int i = 0; i < 8; i++) {
+                address[i] = (byte) (high >>> (56 - i * 8));
+                address[i + 8] = (byte) (low >>> (56 - i * 8));
+            }
+        }
+        try {
+            return new InetSocketAddress(InetAddress.getByAddress(address), buffer.getInt(offset + OffHeapSessionStore.PORT));
+        } catch (UnknownHostException e) {
+            // 长度固定为4或16，不会发生
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 获取用户ID
+     *
+     * @return 用户ID，未认证时为0
+     */
+    public long getUserId() {
+        return buffer.getLong(offset + OffHeapSessionStore.USER_ID);
+    }
+
+    /**
+     * 设置用户ID
+     *
+     * @param userId 用户ID
+     */
+    public void setUserId(long userId) {
+        buffer.putLong(offset + OffHeapSessionStore.USER_ID, userId);
+    }
+
+    /**
+     * 获取创建时间
+     *
+     * @return 毫秒时间戳
+     */
+    public long getCreatedAt() {
+        return buffer.getLong(offset + OffHeapSessionStore.CREATED_AT);
+    }
+
+    /**
+     * 设置创建时间
+     *
+     * @param createdAt 毫秒时间戳
+     */
+    public void setCreatedAt(long createdAt) {
+        buffer.putLong(offset + OffHeapSessionStore.CREATED_AT, createdAt);
+    }
+
+    /**
+     * 获取最近活跃时间
+     *
+     * @return 毫秒时间戳
+     */
+    public long getLastSeen() {
+        return buffer.getLong(offset + OffHeapSessionStore.LAST_SEEN);
+    }
+
+    /**
+     * 设置最近活跃时间
+     *
+     * @param lastSeen 毫秒时间戳
+     */
+    public void setLastSeen(long lastSeen) {
+        buffer.putLong(offset + OffHeapSessionStore.LAST_SEEN, lastSeen);
+    }
+
+    /**
+     * 获取认证状态
+     *
+     * @return 认证状态
+     */
+    public int getAuthStatus() {
+        return buffer.getInt(offset + OffHeapSessionStore.AUTH_STATUS);
+    }
+
+    /**
+     * 设置认证状态
+     *
+     * @param authStatus 认证状态
+     */
+    public void setAuthStatus(int authStatus) {
+        buffer.putInt(offset + OffHeapSessionStore.AUTH_STATUS, authStatus);
+    }
+
+    /**
+     * 读取会话ID
+     *
+     * @param target 目标数组，长度不小于 {@link OffHeapSessionStore#SESSION_ID_LENGTH}
+     */
+    public void getSessionId(byte[] target) {
+        buffer.get(offset + OffHeapSessionStore.SESSION_ID, target, 0, OffHeapSessionStore.SESSION_ID_LENGTH);
+    }
+
+    /**
+     * 写入会话ID
+     *
+     * @param sessionId 会话ID，长度为 {@link OffHeapSessionStore#SESSION_ID_LENGTH}
+     */
+    public void setSessionId(byte[] sessionId) {
+        checkLength(sessionId, OffHeapSessionStore.SESSION_ID_LENGTH);
+        buffer.put(offset + OffHeapSessionStore.SESSION_ID, sessionId, 0, OffHeapSessionStore.SESSION_ID_LENGTH);
+    }
+
+    /**
+     * 释放所在段的锁并解除指向
+     */
+    @Override
+    public void close() {
+        OffHeapSessionStore.Segment current = segment;
+        if (current == null) {
+            return;
+        }
+        segment = null;
+        buffer = null;
+        current.lock.unlock();
+    }
+
+    private static void checkLength(byte[] value, int length) {
+        if (value == null || value.length != length) {
+            throw new IllegalArgumentException("Expected " + length + " bytes");
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.kinkle.helloquick.udp.session;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * 会话快照文件
+ *
+ * <p>把 {@link OffHeapSessionStore} 中的会话槽位原样写入内存映射文件，重启时整块映射读回，
+ * 已登录的客户端无需重新认证。文件布局如下（大端）：</p>
+ * <pre>
+ * 0  魔数（4字节）："HQSS"
+ * 4  格式版本（4字节）
+ * 8  槽位大小（4字节）：与 {@link OffHeapSessionStore#SLOT_SIZE} 不一致时整个文件作废
+ * 12 会话数（4字节）
+ * 16 快照时间（8字节，毫秒时间戳）
+ * 24 槽位区CRC32（4字节）
+ * 28 保留（4字节）
+ * 32 槽位区：会话数 × 槽位大小
+ * </pre>
+ *
+ * <p>写入时逐段加锁复制到临时文件，刷盘后原子替换正式文件，进程在写入中途退出只会留下旧快照。
+ * 读取时先校验文件头和CRC，再逐个检查会话：最近活跃超过 {@code maxIdleMillis} 或登录已超过会话有效期的丢弃。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class SessionSnapshot {
+
+    /**
+     * 魔数 "HQSS"
+     */
+    public static final int MAGIC = 0x48515353;
+
+    /**
+     * 格式版本
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * 文件头长度
+     */
+    public static final int HEADER_LENGTH = 32;
+
+    /**
+     * 读取时单个映射区域最多包含的槽位数（1GB）
+     */
+    private static final int REGION_SLOTS = (1 << 30) / OffHeapSessionStore.SLOT_SIZE;
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private SessionSnapshot() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * 写入快照
+     *
+     * @param store 会话存储
+     * @param file 快照文件
+     * @param nowMillis 快照时间（毫秒时间戳）
+     * @return 写入的会话数
+     * @throws IOException 写入失败
+     */
+    public static int write(OffHeapSessionStore store, Path file, long nowMillis) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        int total = 0;
+        CRC32 crc = new CRC32();
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            List<MappedByteBuffer> regions = new ArrayList<>();
+            long position = HEADER_LENGTH;
+            for (int i = 0; i < store.getSegmentCount(); i++) {
+                long start = position;
+                int count = store.copySegment(i, sessions -> {
+                    try {
+                        MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_WRITE, start,
+                            (long) sessions * OffHeapSessionStore.SLOT_SIZE);
+                        regions.add(region);
+                        return region;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                MappedByteBuffer region = regions.get(regions.size() - 1);
+                region.flip();
+                crc.update(region.duplicate());
+                position += (long) count * OffHeapSessionStore.SLOT_SIZE;
+                total += count;
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_LENGTH);
+            header.putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(OffHeapSessionStore.SLOT_SIZE)
+                .putInt(total)
+                .putLong(nowMillis)
+                .putInt((int) crc.getValue())
+                .putInt(0);
+            for (MappedByteBuffer region : regions) {
+                region.force();
+            }
+            header.force();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return total;
+    }
+
+    /**
+     * 读取快照并导入会话存储
+     *
+     * @param store 会话存储
+     * @param file 快照文件
+     * @param nowMillis 当前时间（毫秒时间戳）
+     * @param maxIdleMillis 最近活跃距今的上限（毫秒）
+     * @param sessionTtlMillis 会话有效期（毫秒），不大于0表示不检查
+     * @return 恢复结果
+     * @throws IOException 文件读取失败或格式无效
+     */
+    public static RestoreResult read(OffHeapSessionStore store, Path file, long nowMillis, long maxIdleMillis,
+                                     long sessionTtlMillis) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_LENGTH) {
+                throw new IOException("Session snapshot is truncated: " + file);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_LENGTH);
+            int magic = header.getInt();
+            int version = header.getInt();
+            int slotSize = header.getInt();
+            int count = header.getInt();
+            long snapshotAt = header.getLong();
+            int expectedCrc = header.getInt();
+            if (magic != MAGIC || version != VERSION || slotSize != OffHeapSessionStore.SLOT_SIZE) {
+                throw new IOException("Unsupported session snapshot format: " + file);
+            }
+            if (count < 0 || size != HEADER_LENGTH + (long) count * slotSize) {
+                throw new IOException("Session snapshot length mismatch: " + file);
+            }
+
+            List<MappedByteBuffer> regions = new ArrayList<>();
+            CRC32 crc = new CRC32();
+            for (int first = 0; first < count; first += REGION_SLOTS) {
+                int slots = Math.min(REGION_SLOTS, count - first);
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY,
+                    HEADER_LENGTH + (long) first * slotSize, (long) slots * slotSize);
+                region.load();
+                crc.update(region.duplicate());
+                regions.add(region);
+            }
+            if ((int) crc.getValue() != expectedCrc) {
+                throw new IOException("Session snapshot checksum mismatch: " + file);
+            }
+
+            RestoreResult result = new RestoreResult(snapshotAt, count);
+            for (MappedByteBuffer region : regions) {
+                for (int offset = 0; offset < region.limit(); offset += slotSize) {
+                    if (!isRestorable(region, offset, nowMillis, maxIdleMillis, sessionTtlMillis)) {
+                        result.expired++;
+                    } else if (store.importSlot(region, offset)) {
+                        result.restored++;
+                    } else {
+                        result.dropped++;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    private static boolean isRestorable(ByteBuffer region, int offset, long nowMillis, long maxIdleMillis,
+                                        long sessionTtlMillis) {
+        if (region.getInt(offset + OffHeapSessionStore.STATE) != OffHeapSessionStore.STATE_USED
+            || region.getInt(offset + OffHeapSessionStore.AUTH_STATUS) != SessionSlot.AUTH_AUTHENTICATED) {
+            return false;
+        }
+        long lastSeen = region.getLong(offset + OffHeapSessionStore.LAST_SEEN);
+        if (lastSeen > nowMillis || nowMillis - lastSeen > maxIdleMillis) {
+            return false;
+        }
+        long createdAt = region.getLong(offset + OffHeapSessionStore.CREATED_AT);
+        return sessionTtlMillis <= 0 || nowMillis - createdAt < sessionTtlMillis;
+    }
+
+    /**
+     * 恢复结果
+     */
+    @Getter
+    public static final class RestoreResult {
+
+        /**
+         * 快照时间（毫秒时间戳）
+         */
+        private final long snapshotAt;
+
+        /**
+         * 快照中的会话数
+         */
+        private final int total;
+
+        /**
+         * 已恢复的会话数
+         */
+        private int restored;
+
+        /**
+         * 因空闲过久或登录过期丢弃的会话数
+         */
+        private int expired;
+
+        /**
+         * 因存储已满丢弃的会话数
+         */
+        private int dropped;
+
+        private RestoreResult(long snapshotAt, int total) {
+            this.snapshotAt = snapshotAt;
+            this.total = total;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.kinkle.helloquick.udp.session;
+
+import com.kinkle.helloquick.config.AppProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UDP会话管理器
+ *
+ * <p>以对端地址为键，把登录后的会话状态（认证状态、用户ID、会话ID、最近活跃时间）
+ * 保存在 {@link OffHeapSessionStore} 中。登录成功时写入，登出时删除；心跳刷新最近活跃时间，
+ * 每 {@code sweepInterval} 毫秒清理一次空闲超过 {@code idleTimeout} 的会话，客户端不登出直接离开时槽位也会回收。
+ * 每个线程复用自己的 {@link SessionSlot} 享元，常规读写不在堆上分配对象。</p>
+ *
+ * <p>会话数和占用的直接内存以 {@code udp.sessions.active}、{@code udp.sessions.memory} 注册到Micrometer，
+ * 清理掉的空闲会话计入 {@code udp.sessions.evicted}。</p>
+ *
+ * <p>配置了 {@code snapshotFile} 时，会话按 {@code snapshotInterval} 定时并在停机时写入 {@link SessionSnapshot}，
+ * 启动时在UDP服务绑定端口之前读回，滚动重启后客户端沿用原会话，不需要重新登录。
+ * 快照读取失败只记录告警，服务照常启动。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.udp", name = "enabled", havingValue = "true")
+public class UdpSessionManager {
+
+    private final OffHeapSessionStore store;
+
+    private final ThreadLocal<SessionSlot> slots = ThreadLocal.withInitial(SessionSlot::new);
+
+    private final AppProperties.Udp.Session config;
+
+    private final long sessionTtlMillis;
+
+    private final Path snapshotFile;
+
+    private final Counter evicted;
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * 构造函数
+     *
+     * @param appProperties 应用配置
+     * @param registry 指标注册表
+     */
+    public UdpSessionManager(AppProperties appProperties, MeterRegistry registry) {
+        this.config = appProperties.getUdp().getSession();
+        this.sessionTtlMillis = appProperties.getUdp().getLogin().getSessionTtl() * 1000;
+        this.snapshotFile = config.getSnapshotFile() == null || config.getSnapshotFile().isBlank()
+            ? null : Paths.get(config.getSnapshotFile());
+        this.store = new OffHeapSessionStore(config.getMaxSessions(), config.getSegments());
+        Gauge.builder("udp.sessions.active", store, OffHeapSessionStore::size)
+            .description("堆外存储中的UDP会话数")
+            .register(registry);
+        Gauge.builder("udp.sessions.memory", store, OffHeapSessionStore::getMemoryBytes)
+            .description("UDP会话存储占用的直接内存")
+            .baseUnit("bytes")
+            .register(registry);
+        this.evicted = Counter.builder("udp.sessions.evicted")
+            .description("因空闲超时清理的UDP会话")
+            .register(registry);
+        log.info("UDP会话存储已分配: maxSessions={}, segments={}, memory={}MB", store.getMaxSessions(),
+            store.getSegmentCount(), store.getMemoryBytes() >> 20);
+    }
+
+    /**
+     * 恢复快照，启动空闲清理和定时快照
+     */
+    @PostConstruct
+    public void start() {
+        if (snapshotFile != null) {
+            restore();
+        }
+        boolean sweep = config.getSweepInterval() > 0;
+        boolean snapshots = snapshotFile != null && config.getSnapshotInterval() > 0;
+        if (!sweep && !snapshots) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+            new DefaultThreadFactory("udp-session-maintenance", true));
+        if (sweep) {
+            long interval = config.getSweepInterval();
+            scheduler.scheduleWithFixedDelay(this::sweepQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        }
+        if (snapshots) {
+            long interval = config.getSnapshotInterval();
+            scheduler.scheduleWithFixedDelay(this::snapshotQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 停止定时任务并写入最后一次快照
+     */
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            try {
+                scheduler.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (snapshotFile != null) {
+            snapshotQuietly();
+        }
+    }
+
+    /**
+     * 立即写入快照
+     *
+     * @return 写入的会话数
+     * @throws IOException 写入失败
+     */
+    public int snapshot() throws IOException {
+        if (snapshotFile == null) {
+            throw new IllegalStateException("Session snapshot file is not configured");
+        }
+        long start = System.nanoTime();
+        int count = SessionSnapshot.write(store, snapshotFile, System.currentTimeMillis());
+        log.debug("UDP会话快照已写入: sessions={}, elapsed={}ms", count, (System.nanoTime() - start) / 1_000_000);
+        return count;
+    }
+
+    /**
+     * 记录认证成功的会话，已存在时覆盖
+     *
+     * @param peer 对端地址
+     * @param userId 用户ID
+     * @param sessionId 会话ID（32位十六进制）
+     * @return 是否已记录，存储已满时返回false
+     */
+    public boolean authenticate(InetSocketAddress peer, long userId, String sessionId) {
+        byte[] id = HexFormat.of().parseHex(sessionId);
+        SessionSlot slot = slots.get();
+        if (!store.open(peer, slot, true)) {
+            log.warn("UDP会话存储已满，会话未记录: peer={}, userId={}", peer, userId);
+            return false;
+        }
+        try (slot) {
+            long now = System.currentTimeMillis();
+            slot.setAuthStatus(SessionSlot.AUTH_AUTHENTICATED);
+            slot.setUserId(userId);
+            slot.setSessionId(id);
+            slot.setCreatedAt(now);
+            slot.setLastSeen(now);
+        }
+        return true;
+    }
+
+    /**
+     * 更新最近活跃时间
+     *
+     * @param peer 对端地址
+     * @param nowMillis 当前时间（毫秒时间戳）
+     * @return 会话存在时返回用户ID，否则返回0
+     */
+    public long touch(InetSocketAddress peer, long nowMillis) {
+        SessionSlot slot = slots.get();
+        if (!store.open(peer, slot, false)) {
+            return 0;
+        }
+        try (slot) {
+            slot.setLastSeen(nowMillis);
+            return slot.getAuthStatus() == SessionSlot.AUTH_AUTHENTICATED ? slot.getUserId() : 0;
+        }
+    }
+
+    /**
+     * 获取对端已认证的用户ID
+     *
+     * @param peer 对端地址
+     * @return 用户ID，未认证时返回0
+     */
+    public long getUserId(InetSocketAddress peer) {
+        SessionSlot slot = slots.get();
+        if (!store.open(peer, slot, false)) {
+            return 0;
+        }
+        try (slot) {
+            return slot.getAuthStatus() == SessionSlot.AUTH_AUTHENTICATED ? slot.getUserId() : 0;
+        }
+    }
+
+    /**
+     * 删除会话
+     *
+     * @param peer 对端地址
+     * @return 是否存在并已删除
+     */
+    public boolean remove(InetSocketAddress peer) {
+        return store.remove(peer);
+    }
+
+    /**
+     * 仅当对端当前的会话ID与给定值一致时删除会话
+     *
+     * <p>登出请求中的会话ID可能属于另一个地址，或者该地址已重新登录，此时保留对端的会话。</p>
+     *
+     * @param peer 对端地址
+     * @param sessionId 会话ID（32位十六进制）
+     * @return 是否存在、属于该对端并已删除
+     */
+    public boolean remove(InetSocketAddress peer, String sessionId) {
+        byte[] expected = HexFormat.of().parseHex(sessionId);
+        byte[] current = new byte[OffHeapSessionStore.SESSION_ID_LENGTH];
+        SessionSlot slot = slots.get();
+        if (!store.open(peer, slot, false)) {
+            return false;
+        }
+        try (slot) {
+            slot.getSessionId(current);
+            // 段锁可重入，在享元打开期间删除，比较与删除之间不会被重新登录覆盖
+            return Arrays.equals(current, expected) && store.remove(peer);
+        }
+    }
+
+    /**
+     * 清理空闲超过 {@code idleTimeout} 的会话
+     *
+     * @param nowMillis 当前时间（毫秒时间戳）
+     * @return 清理的会话数
+     */
+    public int evictIdle(long nowMillis) {
+        int count = store.evictIdle(nowMillis - config.getIdleTimeout());
+        if (count > 0) {
+            evicted.increment(count);
+            log.debug("已清理空闲UDP会话: evicted={}, remaining={}", count, store.size());
+        }
+        return count;
+    }
+
+    private void sweepQuietly() {
+        try {
+            evictIdle(System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            log.warn("UDP空闲会话清理失败: {}", e.getMessage());
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.warn("UDP会话快照写入失败: file={}, error={}", snapshotFile, e.getMessage());
+        }
+    }
+
+    private void restore() {
+        if (!Files.isRegularFile(snapshotFile)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            SessionSnapshot.RestoreResult result = SessionSnapshot.read(store, snapshotFile,
+                System.currentTimeMillis(), config.getSnapshotMaxIdle(), sessionTtlMillis);
+            log.info("UDP会话快照已恢复: restored={}, expired={}, dropped={}, snapshotAge={}ms, elapsed={}ms",
+                result.getRestored(), result.getExpired(), result.getDropped(),
+                System.currentTimeMillis() - result.getSnapshotAt(), (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            log.warn("UDP会话快照恢复失败，所有客户端需要重新登录: file={}, error={}", snapshotFile, e.getMessage());
+        }
+    }
+
+    /**
+     * 获取底层存储
+     *
+     * @return 会话存储
+     */
+    public OffHeapSessionStore getStore() {
+        return store;
+    }
+}
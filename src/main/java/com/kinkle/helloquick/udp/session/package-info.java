@@ -0,0 +1,11 @@
+/**
+ * UDP会话状态包
+ *
+ * <p>按对端地址保存登录后的会话状态。状态存放在直接内存的固定槽位中，通过享元读写，
+ * 分段加锁支持并发访问，大量会话不增加堆上的存活对象。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.kinkle.helloquick.udp.session;
@@ -0,0 +1,97 @@
+package com.kinkle.helloquick.udp.stream;
+
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 流信用额度更新与确认
+ *
+ * <p>作为 {@link ProtocolConstants.SystemProtocols#STREAM_CREDIT} 数据包的包体，布局如下（大端）：</p>
+ * <pre>
+ * 0  流ID（4字节）
+ * 4  信用上限（4字节）：发送方允许发送的流内序列号上限（不含）
+ * 8  累计确认（4字节）：接收方下一个待交付的序列号，之前的帧均已收到
+ * 12 选择确认位图（4字节）：第i位表示序列号为 累计确认+1+i 的帧已缓存
+ * </pre>
+ *
+ * <p>位图非0说明累计确认位置存在缺口，发送方据此重传缺失的帧。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+public final class StreamCredit {
+
+    /**
+     * 包体长度
+     */
+    public static final int LENGTH = 16;
+
+    /**
+     * 选择确认位图覆盖的帧数
+     */
+    public static final int SACK_BITS = 32;
+
+    /**
+     * 流ID
+     */
+    private final int streamId;
+
+    /**
+     * 信用上限（不含）
+     */
+    private final int limit;
+
+    /**
+     * 累计确认序列号
+     */
+    private final int ackedSequence;
+
+    /**
+     * 选择确认位图
+     */
+    private final int sackBitmap;
+
+    /**
+     * 构造函数
+     *
+     * @param streamId 流ID
+     * @param limit 信用上限
+     * @param ackedSequence 累计确认序列号
+     * @param sackBitmap 选择确认位图
+     */
+    public StreamCredit(int streamId, int limit, int ackedSequence, int sackBitmap) {
+        this.streamId = streamId;
+        this.limit = limit;
+        this.ackedSequence = ackedSequence;
+        this.sackBitmap = sackBitmap;
+    }
+
+    /**
+     * 编码为包体
+     *
+     * @return 包体字节
+     */
+    public byte[] encode() {
+        return ByteBuffer.allocate(LENGTH).putInt(streamId).putInt(limit).putInt(ackedSequence).putInt(sackBitmap)
+            .array();
+    }
+
+    /**
+     * 从包体解码
+     *
+     * @param body 包体字节
+     * @return 信用额度更新
+     * @throws IllegalArgumentException 包体格式错误
+     */
+    public static StreamCredit decode(byte[] body) {
+        if (body == null || body.length != LENGTH) {
+            throw new IllegalArgumentException("Invalid stream credit length");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        return new StreamCredit(buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt());
+    }
+}
@@ -0,0 +1,108 @@
+package com.kinkle.helloquick.udp.stream;
+
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 流数据帧
+ *
+ * <p>作为 {@link ProtocolConstants.SystemProtocols#STREAM_DATA} 数据包的包体，布局如下（大端）：</p>
+ * <pre>
+ * 0  流ID（4字节）
+ * 4  流内序列号（4字节），从0开始连续递增
+ * 8  内层协议号（2字节）
+ * 10 内层包体
+ * </pre>
+ *
+ * <p>内层协议不能再是流协议，避免嵌套。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+public final class StreamFrame {
+
+    /**
+     * 帧头长度
+     */
+    public static final int HEADER_LENGTH = 10;
+
+    /**
+     * 流ID
+     */
+    private final int streamId;
+
+    /**
+     * 流内序列号
+     */
+    private final int sequence;
+
+    /**
+     * 内层协议号
+     */
+    private final short protocolId;
+
+    /**
+     * 内层包体
+     */
+    private final byte[] payload;
+
+    /**
+     * 构造函数
+     *
+     * @param streamId 流ID
+     * @param sequence 流内序列号
+     * @param protocolId 内层协议号
+     * @param payload 内层包体
+     */
+    public StreamFrame(int streamId, int sequence, short protocolId, byte[] payload) {
+        if (payload == null) {
+            throw new IllegalArgumentException("Payload cannot be null");
+        }
+        if (protocolId == ProtocolConstants.SystemProtocols.STREAM_DATA
+            || protocolId == ProtocolConstants.SystemProtocols.STREAM_CREDIT) {
+            throw new IllegalArgumentException("Stream frames cannot carry stream protocols: " + protocolId);
+        }
+        this.streamId = streamId;
+        this.sequence = sequence;
+        this.protocolId = protocolId;
+        this.payload = payload;
+    }
+
+    /**
+     * 编码为包体
+     *
+     * @return 包体字节
+     */
+    public byte[] encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + payload.length);
+        buffer.putInt(streamId);
+        buffer.putInt(sequence);
+        buffer.putShort(protocolId);
+        buffer.put(payload);
+        return buffer.array();
+    }
+
+    /**
+     * 从包体解码
+     *
+     * @param body 包体字节
+     * @return 流数据帧
+     * @throws IllegalArgumentException 包体格式错误
+     */
+    public static StreamFrame decode(byte[] body) {
+        if (body == null || body.length < HEADER_LENGTH) {
+            throw new IllegalArgumentException("Invalid stream frame length");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        int streamId = buffer.getInt();
+        int sequence = buffer.getInt();
+        short protocolId = buffer.getShort();
+        byte[] payload = new byte[buffer.remaining()];
+        buffer.get(payload);
+        return new StreamFrame(streamId, sequence, protocolId, payload);
+    }
+}
@@ -0,0 +1,278 @@
+package com.kinkle.helloquick.udp.stream;
+
+import java.util.List;
+
+/**
+ * 单个流的接收端重排序缓冲区
+ *
+ * <p>按流内序列号交付：期望的下一帧到达时连同其后已缓存的连续帧一起交付；
+ * 超前到达的帧缓存在固定容量的环形窗口中。缓冲区同时受帧数（接收窗口）和字节数约束，
+ * 超出接收窗口的帧视为流控违规，超出字节预算的帧直接丢弃。</p>
+ *
+ * <p>已交付位置每推进半个窗口，需要向发送方通告新的信用上限，
+ * 上限为已交付位置加上接收窗口。存在缺口（有超前缓存的帧）时，通告同时携带选择确认位图，
+ * 发送方据此重传缺失的帧；缺口持续超过超时时间仍未补齐时跳过缺失的帧，
+ * 交付其后已缓存的帧并释放信用，避免单个丢失的帧让整个流永久停滞。</p>
+ *
+ * <p>非线程安全，由所属 {@link StreamSession} 同步。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class StreamReceiver {
+
+    /**
+     * 帧处理结果
+     */
+    public enum OfferResult {
+        /** 已交付（可能连带交付后续缓存帧） */
+        DELIVERED,
+        /** 超前到达，已缓存 */
+        BUFFERED,
+        /** 重复帧 */
+        DUPLICATE,
+        /** 超出接收窗口（发送方未遵守信用额度） */
+        OUT_OF_WINDOW,
+        /** 超出字节预算 */
+        OVER_BUDGET
+    }
+
+    /**
+     * 流ID
+     */
+    private final int streamId;
+
+    /**
+     * 重排序窗口，下标为序列号对窗口大小取模
+     */
+    private final StreamFrame[] window;
+
+    /**
+     * 缓存字节上限
+     */
+    private final int maxBufferedBytes;
+
+    /**
+     * 下一个待交付的序列号
+     */
+    private int nextSequence;
+
+    /**
+     * 最近一次通告信用时的交付位置
+     */
+    private int advertisedSequence;
+
+    /**
+     * 已缓存字节数
+     */
+    private int bufferedBytes;
+
+    /**
+     * 已缓存帧数
+     */
+    private int bufferedFrames;
+
+    /**
+     * 当前缺口出现的时间（纳秒），缓存为空时无意义
+     */
+    private long gapSinceNanos;
+
+    /**
+     * 当前缺口是否已经通告过
+     */
+    private boolean gapReported;
+
+    /**
+     * 最近一次通告缺口的时间（纳秒）
+     */
+    private long gapReportedNanos;
+
+    /**
+     * 构造函数
+     *
+     * @param streamId 流ID
+     * @param receiveWindow 接收窗口（帧数）
+     * @param maxBufferedBytes 缓存字节上限
+     */
+    public StreamReceiver(int streamId, int receiveWindow, int maxBufferedBytes) {
+        if (receiveWindow < 1) {
+            throw new IllegalArgumentException("Receive window must be positive: " + receiveWindow);
+        }
+        this.streamId = streamId;
+        this.window = new StreamFrame[receiveWindow];
+        this.maxBufferedBytes = maxBufferedBytes;
+    }
+
+    /**
+     * 处理一个到达的帧
+     *
+     * @param frame 数据帧
+     * @param delivered 按序交付的帧
+     * @param nowNanos 当前纳秒时间
+     * @return 处理结果
+     */
+    public OfferResult offer(StreamFrame frame, List<StreamFrame> delivered, long nowNanos) {
+        int distance = frame.getSequence() - nextSequence;
+        if (distance < 0) {
+            return OfferResult.DUPLICATE;
+        }
+        if (distance >= window.length) {
+            return OfferResult.OUT_OF_WINDOW;
+        }
+        if (distance == 0) {
+            delivered.add(frame);
+            nextSequence++;
+            drain(delivered);
+            if (bufferedFrames > 0) {
+                // 交付推进到了下一个缺口
+                openGap(nowNanos);
+            }
+            return OfferResult.DELIVERED;
+        }
+
+        int slot = slot(frame.getSequence());
+        if (window[slot] != null) {
+            return OfferResult.DUPLICATE;
+        }
+        int size = frame.getPayload().length;
+        if (bufferedBytes + size > maxBufferedBytes) {
+            return OfferResult.OVER_BUDGET;
+        }
+        if (bufferedFrames == 0) {
+            openGap(nowNanos);
+        }
+        window[slot] = frame;
+        bufferedBytes += size;
+        bufferedFrames++;
+        return OfferResult.BUFFERED;
+    }
+
+    /**
+     * 是否需要通告新的信用上限
+     *
+     * @return 交付位置自上次通告后推进了至少半个窗口时返回true
+     */
+    public boolean isCreditDue() {
+        return nextSequence - advertisedSequence >= Math.max(1, window.length / 2);
+    }
+
+    /**
+     * 是否需要通告缺口
+     *
+     * @param nowNanos 当前纳秒时间
+     * @param intervalNanos 同一缺口重复通告的间隔
+     * @return 存在缺口且尚未通告或距上次通告已超过间隔时返回true
+     */
+    public boolean isGapReportDue(long nowNanos, long intervalNanos) {
+        return bufferedFrames > 0 && (!gapReported || nowNanos - gapReportedNanos >= intervalNanos);
+    }
+
+    /**
+     * 缺口超时后跳过缺失的帧，交付其后连续的已缓存帧
+     *
+     * @param nowNanos 当前纳秒时间
+     * @param timeoutNanos 缺口超时
+     * @param delivered 按序交付的帧
+     * @return 跳过的帧数，未超时或没有缺口时为0
+     */
+    public int skipGap(long nowNanos, long timeoutNanos, List<StreamFrame> delivered) {
+        if (bufferedFrames == 0 || nowNanos - gapSinceNanos < timeoutNanos) {
+            return 0;
+        }
+        int skipped = 0;
+        while (window[slot(nextSequence)] == null) {
+            nextSequence++;
+            skipped++;
+        }
+        drain(delivered);
+        if (bufferedFrames > 0) {
+            openGap(nowNanos);
+        }
+        return skipped;
+    }
+
+    /**
+     * 生成信用额度更新并记录通告位置
+     *
+     * @param nowNanos 当前纳秒时间
+     * @return 信用额度更新，存在缺口时携带选择确认位图
+     */
+    public StreamCredit grantCredit(long nowNanos) {
+        advertisedSequence = nextSequence;
+        int sackBitmap = 0;
+        if (bufferedFrames > 0) {
+            gapReported = true;
+            gapReportedNanos = nowNanos;
+            int bits = Math.min(StreamCredit.SACK_BITS, window.length - 1);
+            for (int i = 0; i < bits; i++) {
+                int sequence = nextSequence + 1 + i;
+                StreamFrame frame = window[slot(sequence)];
+                if (frame != null && frame.getSequence() == sequence) {
+                    sackBitmap |= 1 << i;
+                }
+            }
+        }
+        return new StreamCredit(streamId, getCreditLimit(), nextSequence, sackBitmap);
+    }
+
+    /**
+     * 获取当前信用上限（不含）
+     *
+     * @return 信用上限
+     */
+    public int getCreditLimit() {
+        return nextSequence + window.length;
+    }
+
+    /**
+     * 获取下一个待交付的序列号
+     *
+     * @return 序列号
+     */
+    public int getNextSequence() {
+        return nextSequence;
+    }
+
+    /**
+     * 获取已缓存的字节数
+     *
+     * @return 字节数
+     */
+    public int getBufferedBytes() {
+        return bufferedBytes;
+    }
+
+    /**
+     * 获取已缓存的帧数
+     *
+     * @return 帧数
+     */
+    public int getBufferedFrames() {
+        return bufferedFrames;
+    }
+
+    private void drain(List<StreamFrame> delivered) {
+        while (bufferedFrames > 0) {
+            int slot = slot(nextSequence);
+            StreamFrame frame = window[slot];
+            if (frame == null) {
+                return;
+            }
+            window[slot] = null;
+            bufferedBytes -= frame.getPayload().length;
+            bufferedFrames--;
+            delivered.add(frame);
+            nextSequence++;
+        }
+    }
+
+    private void openGap(long nowNanos) {
+        gapSinceNanos = nowNanos;
+        gapReported = false;
+    }
+
+    private int slot(int sequence) {
+        return Integer.remainderUnsigned(sequence, window.length);
+    }
+}
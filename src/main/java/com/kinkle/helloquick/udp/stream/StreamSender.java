@@ -0,0 +1,186 @@
+package com.kinkle.helloquick.udp.stream;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 单个流的发送端状态
+ *
+ * <p>为每个帧分配连续的流内序列号，并在信用额度耗尽时拒绝继续发送，
+ * 防止单个流占满对端的重排序缓冲区。初始信用为对端的接收窗口。</p>
+ *
+ * <p>已发送的帧保留到对端确认为止：累计确认之前的帧和选择确认位图中的帧被释放；
+ * 位于最高选择确认之前仍缺失的帧视为丢失，第一次收到缺口通告时立即重传，之后按重传超时重传。
+ * 末尾的帧丢失时对端无从发现缺口，由 {@link #pollRetransmits} 按超时重传。
+ * 未确认的帧数受信用额度约束，不超过对端的接收窗口。</p>
+ *
+ * <p>非线程安全，由所属 {@link StreamSession} 同步。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+public class StreamSender {
+
+    /**
+     * 流ID
+     */
+    private final int streamId;
+
+    /**
+     * 下一个待分配的序列号
+     */
+    private int nextSequence;
+
+    /**
+     * 信用上限（不含）
+     */
+    private int creditLimit;
+
+    /**
+     * 已发送未确认的帧，按序列号升序
+     */
+    @Getter(AccessLevel.NONE)
+    private final Deque<Pending> unacked = new ArrayDeque<>();
+
+    /**
+     * 构造函数
+     *
+     * @param streamId 流ID
+     * @param initialWindow 初始信用（对端接收窗口）
+     */
+    public StreamSender(int streamId, int initialWindow) {
+        this.streamId = streamId;
+        this.creditLimit = initialWindow;
+    }
+
+    /**
+     * 获取剩余信用
+     *
+     * @return 还可以发送的帧数
+     */
+    public int availableCredit() {
+        return Math.max(0, creditLimit - nextSequence);
+    }
+
+    /**
+     * 是否还有信用
+     *
+     * @return 是否可以发送
+     */
+    public boolean hasCredit() {
+        return creditLimit - nextSequence > 0;
+    }
+
+    /**
+     * 分配下一帧，帧保留到对端确认为止
+     *
+     * @param protocolId 内层协议号
+     * @param payload 内层包体
+     * @param nowNanos 当前纳秒时间
+     * @return 数据帧
+     * @throws IllegalStateException 信用额度已耗尽
+     */
+    public StreamFrame next(short protocolId, byte[] payload, long nowNanos) {
+        if (!hasCredit()) {
+            throw new IllegalStateException("Stream " + streamId + " has no flow-control credit");
+        }
+        StreamFrame frame = new StreamFrame(streamId, nextSequence++, protocolId, payload);
+        unacked.addLast(new Pending(frame, nowNanos));
+        return frame;
+    }
+
+    /**
+     * 处理对端的信用额度更新与确认，只接受向前推进的上限
+     *
+     * @param credit 信用额度更新
+     * @param nowNanos 当前纳秒时间
+     * @param retransmitTimeoutNanos 重传超时
+     * @param retransmits 需要重传的帧
+     */
+    public void onCredit(StreamCredit credit, long nowNanos, long retransmitTimeoutNanos,
+                         List<StreamFrame> retransmits) {
+        if (credit.getLimit() - creditLimit > 0) {
+            creditLimit = credit.getLimit();
+        }
+        int acked = credit.getAckedSequence();
+        while (!unacked.isEmpty() && unacked.peekFirst().frame.getSequence() - acked < 0) {
+            unacked.pollFirst();
+        }
+
+        int sackBitmap = credit.getSackBitmap();
+        if (sackBitmap == 0) {
+            return;
+        }
+        int highest = acked + StreamCredit.SACK_BITS - Integer.numberOfLeadingZeros(sackBitmap);
+        Iterator<Pending> iterator = unacked.iterator();
+        while (iterator.hasNext()) {
+            Pending pending = iterator.next();
+            int offset = pending.frame.getSequence() - acked - 1;
+            if (pending.frame.getSequence() - highest >= 0) {
+                return;
+            }
+            if (offset >= 0 && (sackBitmap & (1 << offset)) != 0) {
+                iterator.remove();
+            } else if (!pending.fastRetransmitted || nowNanos - pending.sentNanos >= retransmitTimeoutNanos) {
+                pending.fastRetransmitted = true;
+                pending.sentNanos = nowNanos;
+                retransmits.add(pending.frame);
+            }
+        }
+    }
+
+    /**
+     * 收集超时未确认的帧
+     *
+     * @param nowNanos 当前纳秒时间
+     * @param retransmitTimeoutNanos 重传超时
+     * @param retransmits 需要重传的帧
+     */
+    public void pollRetransmits(long nowNanos, long retransmitTimeoutNanos, List<StreamFrame> retransmits) {
+        for (Pending pending : unacked) {
+            if (nowNanos - pending.sentNanos >= retransmitTimeoutNanos) {
+                pending.sentNanos = nowNanos;
+                retransmits.add(pending.frame);
+            }
+        }
+    }
+
+    /**
+     * 获取已发送未确认的帧数
+     *
+     * @return 帧数
+     */
+    public int unackedCount() {
+        return unacked.size();
+    }
+
+    /**
+     * 已发送未确认的帧
+     */
+    private static final class Pending {
+
+        private final StreamFrame frame;
+
+        /**
+         * 最近一次发送时间（纳秒）
+         */
+        private long sentNanos;
+
+        /**
+         * 是否已因缺口通告重传过
+         */
+        private boolean fastRetransmitted;
+
+        private Pending(StreamFrame frame, long sentNanos) {
+            this.frame = frame;
+            this.sentNanos = sentNanos;
+        }
+    }
+}
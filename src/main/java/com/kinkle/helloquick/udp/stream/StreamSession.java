@@ -0,0 +1,185 @@
+package com.kinkle.helloquick.udp.stream;
+
+import com.kinkle.helloquick.config.AppProperties;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 流会话
+ *
+ * <p>一个对端地址上所有流的收发状态。流在第一次收到或发送帧时隐式打开，
+ * 同时打开的流数量受配置限制，避免单个对端通过大量流ID耗尽内存。</p>
+ *
+ * <p>接收方在存在缺口时回复带选择确认的信用通告，发送方据此重传丢失的帧；
+ * 缺口超过超时时间仍未补齐时接收方跳过缺失的帧，流继续向前交付。</p>
+ *
+ * <p>接收通常在对端所在的事件循环上进行，而发送可能来自业务线程，方法均以会话为锁同步。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class StreamSession {
+
+    private final Map<Integer, StreamReceiver> receivers = new HashMap<>();
+
+    private final Map<Integer, StreamSender> senders = new HashMap<>();
+
+    private final int maxStreams;
+
+    private final int receiveWindow;
+
+    private final int maxBufferedBytes;
+
+    private final long retransmitTimeoutNanos;
+
+    private final long gapTimeoutNanos;
+
+    /**
+     * 最近活跃时间（纳秒）
+     */
+    private volatile long lastActiveNanos;
+
+    /**
+     * 构造函数
+     *
+     * @param config 流配置
+     */
+    public StreamSession(AppProperties.Udp.Stream config) {
+        this.maxStreams = config.getMaxStreamsPerSession();
+        this.receiveWindow = config.getReceiveWindow();
+        this.maxBufferedBytes = config.getMaxBufferedBytes();
+        this.retransmitTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.getRetransmitTimeout());
+        this.gapTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.getGapTimeout());
+        this.lastActiveNanos = System.nanoTime();
+    }
+
+    /**
+     * 处理到达的帧
+     *
+     * @param frame 数据帧
+     * @param delivered 按序交付的帧
+     * @param nowNanos 当前纳秒时间
+     * @return 需要回复的信用额度更新，无需回复时返回null
+     */
+    public synchronized StreamCredit receive(StreamFrame frame, List<StreamFrame> delivered, long nowNanos) {
+        lastActiveNanos = nowNanos;
+        StreamReceiver receiver = receivers.get(frame.getStreamId());
+        if (receiver == null) {
+            if (receivers.size() >= maxStreams) {
+                return null;
+            }
+            receiver = new StreamReceiver(frame.getStreamId(), receiveWindow, maxBufferedBytes);
+            receivers.put(frame.getStreamId(), receiver);
+        }
+
+        StreamReceiver.OfferResult result = receiver.offer(frame, delivered, nowNanos);
+        int skipped = receiver.skipGap(nowNanos, gapTimeoutNanos, delivered);
+        // 超窗或重复说明发送方没有收到最新的信用通告，立即补发；存在缺口时通告选择确认触发重传
+        if (receiver.isCreditDue() || skipped > 0
+            || result == StreamReceiver.OfferResult.OUT_OF_WINDOW
+            || result == StreamReceiver.OfferResult.DUPLICATE
+            || receiver.isGapReportDue(nowNanos, retransmitTimeoutNanos)) {
+            return receiver.grantCredit(nowNanos);
+        }
+        return null;
+    }
+
+    /**
+     * 在指定流上分配下一帧
+     *
+     * @param streamId 流ID
+     * @param protocolId 内层协议号
+     * @param payload 内层包体
+     * @param nowNanos 当前纳秒时间
+     * @return 数据帧
+     * @throws IllegalStateException 流数量超限或信用额度已耗尽
+     */
+    public synchronized StreamFrame send(int streamId, short protocolId, byte[] payload, long nowNanos) {
+        lastActiveNanos = nowNanos;
+        StreamSender sender = senders.get(streamId);
+        if (sender == null) {
+            if (senders.size() >= maxStreams) {
+                throw new IllegalStateException("Too many open streams: " + senders.size());
+            }
+            sender = new StreamSender(streamId, receiveWindow);
+            senders.put(streamId, sender);
+        }
+        return sender.next(protocolId, payload, nowNanos);
+    }
+
+    /**
+     * 获取指定流的剩余发送信用
+     *
+     * @param streamId 流ID
+     * @return 剩余信用，流尚未打开时为初始窗口
+     */
+    public synchronized int availableCredit(int streamId) {
+        StreamSender sender = senders.get(streamId);
+        return sender != null ? sender.availableCredit() : receiveWindow;
+    }
+
+    /**
+     * 处理对端的信用额度更新与确认
+     *
+     * @param credit 信用额度更新
+     * @param nowNanos 当前纳秒时间
+     * @return 需要重传的帧
+     */
+    public synchronized List<StreamFrame> onCredit(StreamCredit credit, long nowNanos) {
+        lastActiveNanos = nowNanos;
+        StreamSender sender = senders.get(credit.getStreamId());
+        if (sender == null) {
+            return List.of();
+        }
+        List<StreamFrame> retransmits = new ArrayList<>(0);
+        sender.onCredit(credit, nowNanos, retransmitTimeoutNanos, retransmits);
+        return retransmits;
+    }
+
+    /**
+     * 收集所有流中超时未确认的帧，由发送方定期调用以恢复末尾丢失的帧
+     *
+     * @param nowNanos 当前纳秒时间
+     * @return 需要重传的帧
+     */
+    public synchronized List<StreamFrame> pollRetransmits(long nowNanos) {
+        List<StreamFrame> retransmits = new ArrayList<>(0);
+        for (StreamSender sender : senders.values()) {
+            sender.pollRetransmits(nowNanos, retransmitTimeoutNanos, retransmits);
+        }
+        return retransmits;
+    }
+
+    /**
+     * 关闭指定流，释放两个方向的状态
+     *
+     * @param streamId 流ID
+     */
+    public synchronized void closeStream(int streamId) {
+        receivers.remove(streamId);
+        senders.remove(streamId);
+    }
+
+    /**
+     * 获取当前打开的接收流数量
+     *
+     * @return 流数量
+     */
+    public synchronized int receiveStreamCount() {
+        return receivers.size();
+    }
+
+    /**
+     * 获取最近活跃时间
+     *
+     * @return 纳秒时间
+     */
+    public long getLastActiveNanos() {
+        return lastActiveNanos;
+    }
+}
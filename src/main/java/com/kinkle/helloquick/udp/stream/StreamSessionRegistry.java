@@ -0,0 +1,140 @@
+package com.kinkle.helloquick.udp.stream;
+
+import com.kinkle.helloquick.config.AppProperties;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 流会话注册表
+ *
+ * <p>按对端地址维护流会话。空闲超时的会话按配置的间隔定期清理；
+ * 会话数量达到上限时也会先清理一次，仍然超限则拒绝新会话。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+public class StreamSessionRegistry {
+
+    private final ConcurrentMap<InetSocketAddress, StreamSession> sessions = new ConcurrentHashMap<>();
+
+    private final AppProperties.Udp.Stream config;
+
+    private final long idleTimeoutNanos;
+
+    private final ScheduledExecutorService sweeper =
+        Executors.newSingleThreadScheduledExecutor(new DefaultThreadFactory("stream-sweeper", true));
+
+    /**
+     * 构造函数
+     *
+     * @param appProperties 应用配置
+     */
+    public StreamSessionRegistry(AppProperties appProperties) {
+        this.config = appProperties.getUdp().getStream();
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.getSessionIdleTimeout());
+    }
+
+    /**
+     * 启动空闲会话清理
+     */
+    @PostConstruct
+    public void start() {
+        long interval = config.getSweepInterval();
+        if (interval > 0) {
+            sweeper.scheduleWithFixedDelay(this::sweepQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 获取或创建会话
+     *
+     * @param address 对端地址
+     * @return 会话，会话数量超限时返回null
+     */
+    public StreamSession getOrCreate(InetSocketAddress address) {
+        StreamSession session = sessions.get(address);
+        if (session != null) {
+            return session;
+        }
+        if (sessions.size() >= config.getMaxSessions()) {
+            evictIdle(System.nanoTime());
+            if (sessions.size() >= config.getMaxSessions()) {
+                log.warn("流会话数量已达上限: {}, 拒绝新会话: {}", config.getMaxSessions(), address);
+                return null;
+            }
+        }
+        return sessions.computeIfAbsent(address, key -> new StreamSession(config));
+    }
+
+    /**
+     * 获取已有会话
+     *
+     * @param address 对端地址
+     * @return 会话，不存在时返回null
+     */
+    public StreamSession get(InetSocketAddress address) {
+        return sessions.get(address);
+    }
+
+    /**
+     * 移除会话
+     *
+     * @param address 对端地址
+     */
+    public void remove(InetSocketAddress address) {
+        sessions.remove(address);
+    }
+
+    /**
+     * 清理空闲超时的会话
+     *
+     * @param nowNanos 当前纳秒时间
+     * @return 清理数量
+     */
+    public int evictIdle(long nowNanos) {
+        int before = sessions.size();
+        sessions.values().removeIf(session -> nowNanos - session.getLastActiveNanos() > idleTimeoutNanos);
+        return before - sessions.size();
+    }
+
+    /**
+     * 获取会话数量
+     *
+     * @return 会话数量
+     */
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * 停止空闲会话清理
+     */
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    private void sweepQuietly() {
+        try {
+            int evicted = evictIdle(System.nanoTime());
+            if (evicted > 0) {
+                log.debug("清理空闲流会话: {}", evicted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("清理空闲流会话失败", e);
+        }
+    }
+}
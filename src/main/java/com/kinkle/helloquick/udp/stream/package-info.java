@@ -0,0 +1,11 @@
+/**
+ * UDP多路复用流包
+ *
+ * <p>在同一会话上复用多个相互独立的有序流。每个流有自己的重排序缓冲区和流控信用额度，
+ * 某个流上的丢包只阻塞该流，不影响其他流的交付。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.kinkle.helloquick.udp.stream;
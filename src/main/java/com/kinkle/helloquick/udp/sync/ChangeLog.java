@@ -0,0 +1,136 @@
+package com.kinkle.helloquick.udp.sync;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 内存变更日志
+ *
+ * <p>按版本号索引的环形缓冲区：版本号由日志连续分配，版本 v 存放在槽位 v &amp; mask，
+ * 只保留最近 capacity 条变更。增量计算只读内存，不访问数据库；
+ * 客户端版本早于保留范围时返回null，由调用方改用快照。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ChangeLog {
+
+    private final int capacity;
+
+    private final int mask;
+
+    private final long[] keys;
+
+    private final byte[] ops;
+
+    private final byte[][] payloads;
+
+    /**
+     * 最新版本号，0表示尚无变更
+     */
+    private long version;
+
+    /**
+     * 构造函数
+     *
+     * @param capacity 容量，必须是2的幂
+     */
+    public ChangeLog(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.keys = new long[capacity];
+        this.ops = new byte[capacity];
+        this.payloads = new byte[capacity][];
+    }
+
+    /**
+     * 追加变更
+     *
+     * @param op 操作类型
+     * @param key 记录主键
+     * @param payload 记录数据
+     * @return 分配的版本号
+     */
+    public synchronized long append(byte op, long key, byte[] payload) {
+        long next = version + 1;
+        int slot = (int) (next & mask);
+        keys[slot] = key;
+        ops[slot] = op;
+        payloads[slot] = payload;
+        version = next;
+        return next;
+    }
+
+    /**
+     * 计算指定版本之后的增量
+     *
+     * <p>从 lastVersion 之后按版本号升序取变更，累计编码长度不超过 maxBytes（至少取一条），
+     * 再在该区间内按主键去重只保留最新一条。</p>
+     *
+     * @param lastVersion 客户端最后应用的版本号
+     * @param maxBytes 记录编码长度上限
+     * @return 增量页；客户端版本为负或超出保留范围时返回null
+     */
+    public synchronized DeltaPage since(long lastVersion, int maxBytes) {
+        if (lastVersion < 0 || lastVersion > version || lastVersion < version - capacity) {
+            return null;
+        }
+
+        long end = lastVersion;
+        int bytes = 0;
+        while (end < version) {
+            int slot = (int) ((end + 1) & mask);
+            int length = SyncFormat.RECORD_HEADER_LENGTH + (payloads[slot] != null ? payloads[slot].length : 0);
+            if (end > lastVersion && bytes + length > maxBytes) {
+                break;
+            }
+            bytes += length;
+            end++;
+        }
+
+        List<SyncRecord> records = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (long v = end; v > lastVersion; v--) {
+            int slot = (int) (v & mask);
+            if (seen.add(keys[slot])) {
+                records.add(new SyncRecord(ops[slot], keys[slot], v, payloads[slot]));
+            }
+        }
+        Collections.reverse(records);
+        return new DeltaPage(lastVersion, end, end < version, records);
+    }
+
+    /**
+     * 获取最新版本号
+     *
+     * @return 版本号
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * 获取仍可计算增量的最早客户端版本号
+     *
+     * @return 版本号
+     */
+    public synchronized long getOldestVersion() {
+        return Math.max(0, version - capacity);
+    }
+
+    /**
+     * 获取容量
+     *
+     * @return 容量
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,313 @@
+package com.kinkle.helloquick.udp.sync;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kinkle.helloquick.config.AppProperties;
+import com.kinkle.helloquick.udp.pacing.PacingService;
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import io.netty.channel.Channel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 数据同步服务
+ *
+ * <p>每个数据集一个 {@link ChangeLog}。业务层在数据变更后调用 {@link #publishUpsert(short, long, Object)}
+ * 或 {@link #publishDelete(short, long)}，处于事务中时在提交后才写入日志，回滚的变更不会下发。</p>
+ *
+ * <p>增量直接从内存日志计算；客户端纪元不一致或版本落后超出日志保留范围时改为快照，
+ * 快照分页读取数据源，在独立线程池上执行，不占用IO线程；每页拆出的数据包经 {@link PacingService}
+ * 发出，与增量一样按拥塞窗口匀速发送，启用FEC时附带校验包。每个对端排队或正在读取的快照页数有上限，
+ * 超出时拒绝新的快照请求。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.udp", name = "enabled", havingValue = "true")
+public class DataSyncService {
+
+    private final AppProperties.Udp.Sync config;
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectProvider<SyncSource> sourceProvider;
+
+    private final PacingService pacingService;
+
+    private final ConcurrentMap<Short, ChangeLog> changeLogs = new ConcurrentHashMap<>();
+
+    private final ThreadPoolExecutor snapshotExecutor;
+
+    /**
+     * 各对端排队或正在读取的快照页数，归零时移除
+     */
+    private final ConcurrentMap<InetSocketAddress, Integer> pendingSnapshots = new ConcurrentHashMap<>();
+
+    /**
+     * 服务端纪元，每次启动随机生成，非0
+     */
+    private final int epoch = ThreadLocalRandom.current().nextInt(1, Integer.MAX_VALUE);
+
+    private volatile Map<Short, SyncSource> sources;
+
+    /**
+     * 构造函数
+     *
+     * @param appProperties 应用配置
+     * @param objectMapper JSON序列化器
+     * @param sourceProvider 同步数据源，延迟解析以避免与业务服务循环依赖
+     * @param pacingService 节奏控制发送服务
+     */
+    public DataSyncService(AppProperties appProperties, ObjectMapper objectMapper,
+                           ObjectProvider<SyncSource> sourceProvider, PacingService pacingService) {
+        this.config = appProperties.getUdp().getSync();
+        this.objectMapper = objectMapper;
+        this.sourceProvider = sourceProvider;
+        this.pacingService = pacingService;
+        this.snapshotExecutor = new ThreadPoolExecutor(config.getSnapshotThreads(), config.getSnapshotThreads(),
+            0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(config.getSnapshotQueueSize()),
+            new DefaultThreadFactory("sync-snapshot", true));
+    }
+
+    /**
+     * 发布新增或更新
+     *
+     * @param datasetId 数据集ID
+     * @param key 记录主键
+     * @param record 记录对象，以JSON编码
+     */
+    public void publishUpsert(short datasetId, long key, Object record) {
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(record);
+        } catch (JsonProcessingException e) {
+            log.error("同步记录序列化失败: datasetId={}, key={}", datasetId, key, e);
+            return;
+        }
+        publish(datasetId, SyncRecord.UPSERT, key, payload);
+    }
+
+    /**
+     * 发布删除
+     *
+     * @param datasetId 数据集ID
+     * @param key 记录主键
+     */
+    public void publishDelete(short datasetId, long key) {
+        publish(datasetId, SyncRecord.DELETE, key, null);
+    }
+
+    /**
+     * 计算增量响应
+     *
+     * @param cursor 客户端游标
+     * @return 增量响应包体；需要快照时返回null
+     */
+    public byte[] delta(SyncCursor cursor) {
+        if (cursor.getEpoch() != epoch) {
+            return null;
+        }
+        DeltaPage page = getChangeLog(cursor.getDatasetId()).since(cursor.getVersion(), recordBudget(true));
+        return page != null ? SyncFormat.encodeDelta(cursor.getDatasetId(), epoch, page) : null;
+    }
+
+    /**
+     * 异步发送一页快照
+     *
+     * @param channel 发送通道
+     * @param recipient 客户端地址
+     * @param datasetId 数据集ID
+     * @param afterKey 起始主键（不包含）
+     * @param sequence 请求序列号，响应沿用
+     * @return 是否已提交，该对端的快照页数已达上限或线程池已满时返回false
+     */
+    public boolean snapshot(Channel channel, InetSocketAddress recipient, short datasetId, long afterKey, int sequence) {
+        SyncSource source = getSources().get(datasetId);
+        if (source == null) {
+            return false;
+        }
+        if (!acquireSnapshot(recipient)) {
+            log.debug("对端快照页数已达上限，丢弃快照请求: recipient={}, datasetId={}", recipient, datasetId);
+            return false;
+        }
+        try {
+            snapshotExecutor.execute(() -> {
+                try {
+                    sendSnapshotPage(channel, recipient, source, afterKey, sequence);
+                } finally {
+                    releaseSnapshot(recipient);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            releaseSnapshot(recipient);
+            log.warn("快照任务队列已满，丢弃快照请求: recipient={}, datasetId={}", recipient, datasetId);
+            return false;
+        }
+    }
+
+    /**
+     * 是否存在数据集
+     *
+     * @param datasetId 数据集ID
+     * @return 是否存在
+     */
+    public boolean hasDataset(short datasetId) {
+        return getSources().containsKey(datasetId);
+    }
+
+    /**
+     * 获取数据集的变更日志
+     *
+     * @param datasetId 数据集ID
+     * @return 变更日志
+     */
+    public ChangeLog getChangeLog(short datasetId) {
+        return changeLogs.computeIfAbsent(datasetId, id -> new ChangeLog(config.getChangeLogCapacity()));
+    }
+
+    /**
+     * 获取服务端纪元
+     *
+     * @return 纪元
+     */
+    public int getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * 停止快照线程池
+     */
+    @PreDestroy
+    public void shutdown() {
+        snapshotExecutor.shutdownNow();
+    }
+
+    /**
+     * 写入变更日志，事务中延迟到提交后
+     */
+    private void publish(short datasetId, byte op, long key, byte[] payload) {
+        ChangeLog changeLog = getChangeLog(datasetId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    changeLog.append(op, key, payload);
+                }
+            });
+        } else {
+            changeLog.append(op, key, payload);
+        }
+    }
+
+    /**
+     * 读取一页快照，按包大小拆分后经节奏控制服务发出
+     */
+    private void sendSnapshotPage(Channel channel, InetSocketAddress recipient, SyncSource source,
+                                  long afterKey, int sequence) {
+        short datasetId = source.getDatasetId();
+        // 先取版本再读数据，读取期间的变更会通过之后的增量重新下发
+        long version = getChangeLog(datasetId).getVersion();
+        List<Map.Entry<Long, Object>> entries;
+        try {
+            entries = source.page(afterKey, config.getSnapshotPageSize());
+        } catch (RuntimeException e) {
+            log.error("读取快照失败: datasetId={}, afterKey={}", datasetId, afterKey, e);
+            return;
+        }
+
+        int budget = recordBudget(false);
+        boolean endOfSnapshot = entries.size() < config.getSnapshotPageSize();
+        List<SyncRecord> records = new ArrayList<>();
+        int bytes = 0;
+        int index = 0;
+        for (Map.Entry<Long, Object> entry : entries) {
+            byte[] payload;
+            try {
+                payload = objectMapper.writeValueAsBytes(entry.getValue());
+            } catch (JsonProcessingException e) {
+                log.error("快照记录序列化失败: datasetId={}, key={}", datasetId, entry.getKey(), e);
+                continue;
+            }
+            SyncRecord record = new SyncRecord(SyncRecord.UPSERT, entry.getKey(), version, payload);
+            if (!records.isEmpty() && bytes + record.getEncodedLength() > budget) {
+                write(channel, recipient, sequence,
+                    SyncFormat.encodeSnapshot(datasetId, epoch, version, index++, 0, records));
+                records = new ArrayList<>();
+                bytes = 0;
+            }
+            records.add(record);
+            bytes += record.getEncodedLength();
+        }
+        int flags = SyncFormat.FLAG_END_OF_PAGE | (endOfSnapshot ? SyncFormat.FLAG_END_OF_SNAPSHOT : 0);
+        write(channel, recipient, sequence, SyncFormat.encodeSnapshot(datasetId, epoch, version, index, flags, records));
+        // 未启用节奏控制时数据包已直接写出，需要flush；启用时由会话所属事件循环flush
+        channel.flush();
+    }
+
+    private void write(Channel channel, InetSocketAddress recipient, int sequence, byte[] body) {
+        UdpPacket packet = new UdpPacket(ProtocolConstants.BusinessProtocols.DATA_SYNC, body);
+        packet.getHeader().setSequence(sequence);
+        pacingService.send(channel, recipient, packet);
+    }
+
+    private boolean acquireSnapshot(InetSocketAddress recipient) {
+        boolean[] acquired = new boolean[1];
+        pendingSnapshots.compute(recipient, (key, pending) -> {
+            int count = pending != null ? pending : 0;
+            if (count >= config.getMaxPendingSnapshotsPerPeer()) {
+                return pending;
+            }
+            acquired[0] = true;
+            return count + 1;
+        });
+        return acquired[0];
+    }
+
+    private void releaseSnapshot(InetSocketAddress recipient) {
+        pendingSnapshots.computeIfPresent(recipient, (key, pending) -> pending > 1 ? pending - 1 : null);
+    }
+
+    /**
+     * 单个响应包可用于记录的字节数
+     */
+    private int recordBudget(boolean delta) {
+        int header = delta ? SyncFormat.DELTA_HEADER_LENGTH : SyncFormat.SNAPSHOT_HEADER_LENGTH;
+        return Math.max(SyncFormat.RECORD_HEADER_LENGTH, config.getMaxPacketPayload() - header);
+    }
+
+    /**
+     * 延迟解析数据源
+     */
+    private Map<Short, SyncSource> getSources() {
+        Map<Short, SyncSource> resolved = sources;
+        if (resolved == null) {
+            Map<Short, SyncSource> map = new ConcurrentHashMap<>();
+            sourceProvider.orderedStream().forEach(source -> map.put(source.getDatasetId(), source));
+            sources = resolved = map;
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,53 @@
+package com.kinkle.helloquick.udp.sync;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 增量页
+ *
+ * <p>包含 (fromVersion, toVersion] 区间内的变更，同一主键只保留区间内最新的一条。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+public final class DeltaPage {
+
+    /**
+     * 起始版本号（不包含）
+     */
+    private final long fromVersion;
+
+    /**
+     * 结束版本号（包含），客户端应用后以此作为新的游标
+     */
+    private final long toVersion;
+
+    /**
+     * 之后是否还有变更
+     */
+    private final boolean more;
+
+    /**
+     * 按版本号升序排列的变更记录
+     */
+    private final List<SyncRecord> records;
+
+    /**
+     * 构造函数
+     *
+     * @param fromVersion 起始版本号（不包含）
+     * @param toVersion 结束版本号（包含）
+     * @param more 之后是否还有变更
+     * @param records 变更记录
+     */
+    public DeltaPage(long fromVersion, long toVersion, boolean more, List<SyncRecord> records) {
+        this.fromVersion = fromVersion;
+        this.toVersion = toVersion;
+        this.more = more;
+        this.records = records;
+    }
+}
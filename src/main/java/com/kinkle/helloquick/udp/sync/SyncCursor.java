@@ -0,0 +1,45 @@
+package com.kinkle.helloquick.udp.sync;
+
+import lombok.Getter;
+
+/**
+ * 客户端同步游标
+ *
+ * <p>客户端对每个数据集记录服务端纪元和最后应用的版本号，同步请求携带所有数据集的游标。
+ * 纪元与服务端不一致（如服务端重启或首次同步）时，服务端改为回复快照。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+public final class SyncCursor {
+
+    /**
+     * 数据集ID
+     */
+    private final short datasetId;
+
+    /**
+     * 服务端纪元，0表示尚未同步
+     */
+    private final int epoch;
+
+    /**
+     * 最后应用的版本号
+     */
+    private final long version;
+
+    /**
+     * 构造函数
+     *
+     * @param datasetId 数据集ID
+     * @param epoch 服务端纪元
+     * @param version 最后应用的版本号
+     */
+    public SyncCursor(short datasetId, int epoch, long version) {
+        this.datasetId = datasetId;
+        this.epoch = epoch;
+        this.version = version;
+    }
+}
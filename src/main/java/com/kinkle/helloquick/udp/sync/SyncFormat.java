@@ -0,0 +1,290 @@
+package com.kinkle.helloquick.udp.sync;
+
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 数据同步报文格式
+ *
+ * <p>{@link ProtocolConstants.BusinessProtocols#DATA_SYNC} 数据包的包体以操作码开头（大端）：</p>
+ * <pre>
+ * REQUEST           操作码(1) 游标数(1) 游标 × N：数据集ID(2) 纪元(4) 版本号(8)
+ * SNAPSHOT_REQUEST  操作码(1) 数据集ID(2) 起始主键(8，不包含)
+ * DELTA             操作码(1) 数据集ID(2) 纪元(4) 起始版本(8) 结束版本(8) 标志(1) 记录数(2) 记录...
+ * SNAPSHOT          操作码(1) 数据集ID(2) 纪元(4) 快照版本(8) 包序号(2) 标志(1) 记录数(2) 记录...
+ * 记录              操作类型(1) 主键(8) 版本号(8) 数据长度(4) 数据
+ * </pre>
+ *
+ * <p>客户端收到带 MORE 标志的 DELTA 后以结束版本继续请求。快照按主键分页，每页由若干个 SNAPSHOT 包组成，
+ * 最后一个包带 END_OF_PAGE 标志；客户端收齐一页后以该页最大主键发起 SNAPSHOT_REQUEST，
+ * 直到收到 END_OF_SNAPSHOT。快照完成后以第一页的快照版本继续增量同步，快照期间的变更会重新下发。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class SyncFormat {
+
+    /**
+     * 增量同步请求
+     */
+    public static final byte OP_REQUEST = 0x01;
+
+    /**
+     * 快照分页请求
+     */
+    public static final byte OP_SNAPSHOT_REQUEST = 0x02;
+
+    /**
+     * 增量响应
+     */
+    public static final byte OP_DELTA = (byte) 0x81;
+
+    /**
+     * 快照响应
+     */
+    public static final byte OP_SNAPSHOT = (byte) 0x82;
+
+    /**
+     * 增量标志：之后还有变更
+     */
+    public static final int FLAG_MORE = 0x01;
+
+    /**
+     * 快照标志：本页最后一个包
+     */
+    public static final int FLAG_END_OF_PAGE = 0x01;
+
+    /**
+     * 快照标志：快照最后一页
+     */
+    public static final int FLAG_END_OF_SNAPSHOT = 0x02;
+
+    /**
+     * 单个游标长度
+     */
+    public static final int CURSOR_LENGTH = 14;
+
+    /**
+     * 快照分页请求长度
+     */
+    public static final int SNAPSHOT_REQUEST_LENGTH = 11;
+
+    /**
+     * 增量响应头长度
+     */
+    public static final int DELTA_HEADER_LENGTH = 26;
+
+    /**
+     * 快照响应头长度
+     */
+    public static final int SNAPSHOT_HEADER_LENGTH = 20;
+
+    /**
+     * 记录头长度
+     */
+    public static final int RECORD_HEADER_LENGTH = 21;
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private SyncFormat() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * 读取操作码
+     *
+     * @param body 包体
+     * @return 操作码
+     * @throws IllegalArgumentException 包体为空
+     */
+    public static byte op(byte[] body) {
+        if (body == null || body.length == 0) {
+            throw new IllegalArgumentException("Empty data sync body");
+        }
+        return body[0];
+    }
+
+    /**
+     * 编码增量同步请求
+     *
+     * @param cursors 各数据集游标
+     * @return 包体
+     */
+    public static byte[] encodeRequest(List<SyncCursor> cursors) {
+        if (cursors.size() > 0xFF) {
+            throw new IllegalArgumentException("Too many sync cursors: " + cursors.size());
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(2 + cursors.size() * CURSOR_LENGTH);
+        buffer.put(OP_REQUEST);
+        buffer.put((byte) cursors.size());
+        for (SyncCursor cursor : cursors) {
+            buffer.putShort(cursor.getDatasetId());
+            buffer.putInt(cursor.getEpoch());
+            buffer.putLong(cursor.getVersion());
+        }
+        return buffer.array();
+    }
+
+    /**
+     * 解码增量同步请求
+     *
+     * @param body 包体
+     * @return 各数据集游标
+     * @throws IllegalArgumentException 包体格式错误
+     */
+    public static List<SyncCursor> decodeRequest(byte[] body) {
+        if (body == null || body.length < 2 || body[0] != OP_REQUEST) {
+            throw new IllegalArgumentException("Invalid sync request");
+        }
+        int count = body[1] & 0xFF;
+        if (body.length != 2 + count * CURSOR_LENGTH) {
+            throw new IllegalArgumentException("Invalid sync request length");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(body, 2, body.length - 2);
+        List<SyncCursor> cursors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            cursors.add(new SyncCursor(buffer.getShort(), buffer.getInt(), buffer.getLong()));
+        }
+        return cursors;
+    }
+
+    /**
+     * 编码快照分页请求
+     *
+     * @param datasetId 数据集ID
+     * @param afterKey 起始主键（不包含）
+     * @return 包体
+     */
+    public static byte[] encodeSnapshotRequest(short datasetId, long afterKey) {
+        return ByteBuffer.allocate(SNAPSHOT_REQUEST_LENGTH)
+            .put(OP_SNAPSHOT_REQUEST)
+            .putShort(datasetId)
+            .putLong(afterKey)
+            .array();
+    }
+
+    /**
+     * 解码快照分页请求
+     *
+     * @param body 包体
+     * @return 游标，版本号字段为起始主键
+     * @throws IllegalArgumentException 包体格式错误
+     */
+    public static SyncCursor decodeSnapshotRequest(byte[] body) {
+        if (body == null || body.length != SNAPSHOT_REQUEST_LENGTH || body[0] != OP_SNAPSHOT_REQUEST) {
+            throw new IllegalArgumentException("Invalid snapshot request");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(body, 1, body.length - 1);
+        short datasetId = buffer.getShort();
+        return new SyncCursor(datasetId, 0, buffer.getLong());
+    }
+
+    /**
+     * 编码增量响应
+     *
+     * @param datasetId 数据集ID
+     * @param epoch 服务端纪元
+     * @param page 增量页
+     * @return 包体
+     */
+    public static byte[] encodeDelta(short datasetId, int epoch, DeltaPage page) {
+        ByteBuffer buffer = ByteBuffer.allocate(DELTA_HEADER_LENGTH + recordsLength(page.getRecords()));
+        buffer.put(OP_DELTA);
+        buffer.putShort(datasetId);
+        buffer.putInt(epoch);
+        buffer.putLong(page.getFromVersion());
+        buffer.putLong(page.getToVersion());
+        buffer.put((byte) (page.isMore() ? FLAG_MORE : 0));
+        putRecords(buffer, page.getRecords());
+        return buffer.array();
+    }
+
+    /**
+     * 编码快照响应
+     *
+     * @param datasetId 数据集ID
+     * @param epoch 服务端纪元
+     * @param version 快照版本号
+     * @param index 页内包序号
+     * @param flags 标志
+     * @param records 记录
+     * @return 包体
+     */
+    public static byte[] encodeSnapshot(short datasetId, int epoch, long version, int index, int flags,
+                                        List<SyncRecord> records) {
+        ByteBuffer buffer = ByteBuffer.allocate(SNAPSHOT_HEADER_LENGTH + recordsLength(records));
+        buffer.put(OP_SNAPSHOT);
+        buffer.putShort(datasetId);
+        buffer.putInt(epoch);
+        buffer.putLong(version);
+        buffer.putShort((short) index);
+        buffer.put((byte) flags);
+        putRecords(buffer, records);
+        return buffer.array();
+    }
+
+    /**
+     * 解码增量或快照响应中的记录
+     *
+     * @param body 包体
+     * @return 记录
+     * @throws IllegalArgumentException 包体格式错误
+     */
+    public static List<SyncRecord> decodeRecords(byte[] body) {
+        int offset;
+        if (op(body) == OP_DELTA) {
+            offset = DELTA_HEADER_LENGTH;
+        } else if (body[0] == OP_SNAPSHOT) {
+            offset = SNAPSHOT_HEADER_LENGTH;
+        } else {
+            throw new IllegalArgumentException("Not a sync response: " + body[0]);
+        }
+        if (body.length < offset) {
+            throw new IllegalArgumentException("Invalid sync response length");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        int count = buffer.getShort(offset - 2) & 0xFFFF;
+        buffer.position(offset);
+        List<SyncRecord> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (buffer.remaining() < RECORD_HEADER_LENGTH) {
+                throw new IllegalArgumentException("Truncated sync record");
+            }
+            byte op = buffer.get();
+            long key = buffer.getLong();
+            long version = buffer.getLong();
+            int length = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                throw new IllegalArgumentException("Invalid sync record length");
+            }
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            records.add(new SyncRecord(op, key, version, payload));
+        }
+        return records;
+    }
+
+    private static int recordsLength(List<SyncRecord> records) {
+        int length = 0;
+        for (SyncRecord record : records) {
+            length += record.getEncodedLength();
+        }
+        return length;
+    }
+
+    private static void putRecords(ByteBuffer buffer, List<SyncRecord> records) {
+        buffer.putShort((short) records.size());
+        for (SyncRecord record : records) {
+            buffer.put(record.getOp());
+            buffer.putLong(record.getKey());
+            buffer.putLong(record.getVersion());
+            buffer.putInt(record.getPayload().length);
+            buffer.put(record.getPayload());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.kinkle.helloquick.udp.sync;
+
+import lombok.Getter;
+
+/**
+ * 同步记录
+ *
+ * <p>一条记录对应数据集中某个主键的一次变更。删除记录不携带数据。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+public final class SyncRecord {
+
+    /**
+     * 新增或更新
+     */
+    public static final byte UPSERT = 1;
+
+    /**
+     * 删除
+     */
+    public static final byte DELETE = 2;
+
+    private static final byte[] EMPTY = new byte[0];
+
+    /**
+     * 操作类型
+     */
+    private final byte op;
+
+    /**
+     * 记录主键
+     */
+    private final long key;
+
+    /**
+     * 变更版本号，快照记录为快照版本号
+     */
+    private final long version;
+
+    /**
+     * 记录数据（JSON）
+     */
+    private final byte[] payload;
+
+    /**
+     * 构造函数
+     *
+     * @param op 操作类型
+     * @param key 记录主键
+     * @param version 版本号
+     * @param payload 记录数据
+     */
+    public SyncRecord(byte op, long key, long version, byte[] payload) {
+        if (op != UPSERT && op != DELETE) {
+            throw new IllegalArgumentException("Unknown sync record op: " + op);
+        }
+        this.op = op;
+        this.key = key;
+        this.version = version;
+        this.payload = payload != null ? payload : EMPTY;
+    }
+
+    /**
+     * 获取编码后的长度
+     *
+     * @return 字节数
+     */
+    public int getEncodedLength() {
+        return SyncFormat.RECORD_HEADER_LENGTH + payload.length;
+    }
+}
@@ -0,0 +1,66 @@
+package com.kinkle.helloquick.udp.sync;
+
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 客户端同步请求
+ *
+ * <p>{@link ProtocolConstants.BusinessProtocols#DATA_SYNC} 数据包中客户端发出的两种请求，格式见 {@link SyncFormat}：</p>
+ * <ul>
+ *   <li>REQUEST：各数据集的游标；</li>
+ *   <li>SNAPSHOT_REQUEST：单个游标，版本号字段为快照分页的起始主键。</li>
+ * </ul>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+public final class SyncRequest {
+
+    /**
+     * 操作码，{@link SyncFormat#OP_REQUEST} 或 {@link SyncFormat#OP_SNAPSHOT_REQUEST}
+     */
+    private final byte op;
+
+    /**
+     * 游标，快照分页请求只有一个
+     */
+    private final List<SyncCursor> cursors;
+
+    private SyncRequest(byte op, List<SyncCursor> cursors) {
+        this.op = op;
+        this.cursors = cursors;
+    }
+
+    /**
+     * 是否为快照分页请求
+     *
+     * @return 是否为快照分页请求
+     */
+    public boolean isSnapshotRequest() {
+        return op == SyncFormat.OP_SNAPSHOT_REQUEST;
+    }
+
+    /**
+     * 从包体解码
+     *
+     * @param body 包体字节
+     * @return 同步请求
+     * @throws IllegalArgumentException 包体格式错误或操作码不是客户端请求
+     */
+    public static SyncRequest decode(byte[] body) {
+        byte op = SyncFormat.op(body);
+        switch (op) {
+            case SyncFormat.OP_REQUEST:
+                return new SyncRequest(op, SyncFormat.decodeRequest(body));
+            case SyncFormat.OP_SNAPSHOT_REQUEST:
+                return new SyncRequest(op, List.of(SyncFormat.decodeSnapshotRequest(body)));
+            default:
+                throw new IllegalArgumentException("Unknown data sync op: " + op);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.kinkle.helloquick.udp.sync;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 同步数据源
+ *
+ * <p>每个数据集一个实现，为落后过多的客户端提供按主键分页的快照。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public interface SyncSource {
+
+    /**
+     * 获取数据集ID
+     *
+     * @return 数据集ID
+     */
+    short getDatasetId();
+
+    /**
+     * 按主键升序读取一页记录
+     *
+     * @param afterKey 起始主键（不包含）
+     * @param limit 最大记录数
+     * @return 按主键升序排列的（主键, 记录对象）列表，记录对象以JSON编码
+     */
+    List<Map.Entry<Long, Object>> page(long afterKey, int limit);
+}
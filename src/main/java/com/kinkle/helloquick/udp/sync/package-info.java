@@ -0,0 +1,10 @@
+/**
+ * UDP数据同步包
+ *
+ * <p>包含按版本号索引的内存变更日志、增量与快照报文格式以及同步服务。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.kinkle.helloquick.udp.sync;
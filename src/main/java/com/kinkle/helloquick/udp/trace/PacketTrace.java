@@ -0,0 +1,112 @@
+package com.kinkle.helloquick.udp.trace;
+
+import lombok.Getter;
+
+/**
+ * 单个数据包的追踪记录
+ *
+ * <p>包头字段从数据报原始字节读取；包头无法解析时协议号为-1，其余包头字段为0，仍保留转储。
+ * 入站记录的 {@code pipelineNanos} 是从追踪处理器把数据报交给解码器，到解码、分发和协议处理器都返回的耗时；
+ * 处理器在其他线程上完成的工作不计入。出站记录没有管道耗时，为-1。
+ * 含凭据的协议只转储包头，{@code redacted} 为true。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+public class PacketTrace {
+
+    /**
+     * 数据包方向
+     */
+    public enum Direction {
+        /** 入站 */
+        INBOUND,
+        /** 出站 */
+        OUTBOUND
+    }
+
+    /**
+     * 记录序号，单调递增
+     */
+    private final long id;
+
+    /**
+     * 记录时间（毫秒时间戳）
+     */
+    private final long timestamp;
+
+    private final Direction direction;
+
+    /**
+     * 对端地址：入站为来源，出站为目的地
+     */
+    private final String peer;
+
+    private final short protocolId;
+
+    /**
+     * 协议名称，未知协议为 {@code UNKNOWN}
+     */
+    private final String protocol;
+
+    private final int version;
+
+    private final boolean compact;
+
+    private final int sequence;
+
+    private final int encoding;
+
+    private final int encryption;
+
+    private final int bodyLength;
+
+    /**
+     * 数据报总字节数
+     */
+    private final int length;
+
+    /**
+     * 管道耗时（纳秒），出站为-1
+     */
+    private final long pipelineNanos;
+
+    /**
+     * 十六进制转储，最多 {@code dumpBytes} 字节
+     */
+    private final String dump;
+
+    /**
+     * 转储是否被截断
+     */
+    private final boolean truncated;
+
+    /**
+     * 是否因包体含凭据而只转储了包头
+     */
+    private final boolean redacted;
+
+    PacketTrace(long id, long timestamp, Direction direction, String peer, short protocolId, String protocol,
+                int version, boolean compact, int sequence, int encoding, int encryption, int bodyLength,
+                int length, long pipelineNanos, String dump, boolean truncated, boolean redacted) {
+        this.id = id;
+        this.timestamp = timestamp;
+        this.direction = direction;
+        this.peer = peer;
+        this.protocolId = protocolId;
+        this.protocol = protocol;
+        this.version = version;
+        this.compact = compact;
+        this.sequence = sequence;
+        this.encoding = encoding;
+        this.encryption = encryption;
+        this.bodyLength = bodyLength;
+        this.length = length;
+        this.pipelineNanos = pipelineNanos;
+        this.dump = dump;
+        this.truncated = truncated;
+        this.redacted = redacted;
+    }
+}
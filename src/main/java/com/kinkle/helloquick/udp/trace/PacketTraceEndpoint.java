@@ -0,0 +1,117 @@
+package com.kinkle.helloquick.udp.trace;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 包追踪actuator端点
+ *
+ * <pre>
+ * GET    /actuator/udptrace?limit=50                  当前规则与最近的追踪记录
+ * POST   /actuator/udptrace {"sampleRate":1000,       修改规则，未提供的字段保持不变；
+ *                             "protocols":"0x0101",   protocols、addresses为逗号分隔，空串表示清空
+ *                             "addresses":"10.0.0.5:40000"}
+ * DELETE /actuator/udptrace                           清空追踪记录
+ * </pre>
+ *
+ * <p>参数非法时返回400。端点本身没有鉴权，默认不在 {@code management.endpoints.web.exposure.include} 中，
+ * 只应在受控网络中临时开放。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Component
+@Endpoint(id = "udptrace")
+public class PacketTraceEndpoint {
+
+    private static final int DEFAULT_LIMIT = 100;
+
+    private final PacketTracer tracer;
+
+    /**
+     * 构造函数
+     *
+     * @param tracer 包追踪器
+     */
+    public PacketTraceEndpoint(PacketTracer tracer) {
+        this.tracer = tracer;
+    }
+
+    /**
+     * 读取规则与追踪记录
+     *
+     * @param limit 最多返回的记录数，默认100
+     * @return 追踪报告
+     */
+    @ReadOperation
+    public PacketTraceReport traces(@Nullable Integer limit) {
+        try {
+            return new PacketTraceReport(tracer, tracer.recent(limit != null ? limit : DEFAULT_LIMIT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+    }
+
+    /**
+     * 修改追踪规则
+     *
+     * @param sampleRate 每N个数据包采样1个，0表示不按比例采样
+     * @param protocols 逗号分隔的协议号，支持十六进制（0x前缀）
+     * @param addresses 逗号分隔的对端地址
+     * @return 修改后的规则，不含追踪记录
+     */
+    @WriteOperation
+    public PacketTraceReport configure(@Nullable Integer sampleRate, @Nullable String protocols,
+                                       @Nullable String addresses) {
+        try {
+            tracer.configure(sampleRate != null ? sampleRate : tracer.getSampleRate(),
+                protocols != null ? parseProtocols(protocols) : tracer.getProtocols(),
+                addresses != null ? split(addresses) : tracer.getAddresses());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+        return new PacketTraceReport(tracer, List.of());
+    }
+
+    /**
+     * 清空追踪记录
+     *
+     * @return 清空后的规则
+     */
+    @DeleteOperation
+    public PacketTraceReport clear() {
+        tracer.clear();
+        return new PacketTraceReport(tracer, List.of());
+    }
+
+    private static List<Integer> parseProtocols(String protocols) {
+        List<Integer> result = new ArrayList<>();
+        for (String protocol : split(protocols)) {
+            try {
+                result.add(Integer.decode(protocol));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid trace protocol id: " + protocol, e);
+            }
+        }
+        return result;
+    }
+
+    private static List<String> split(String value) {
+        List<String> result = new ArrayList<>();
+        for (String part : value.split(",")) {
+            if (!part.isBlank()) {
+                result.add(part.trim());
+            }
+        }
+        return result;
+    }
+}
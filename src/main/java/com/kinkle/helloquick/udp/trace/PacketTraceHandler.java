@@ -0,0 +1,80 @@
+package com.kinkle.helloquick.udp.trace;
+
+import com.kinkle.helloquick.udp.codec.UdpPacketEncoder;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.socket.DatagramPacket;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+
+/**
+ * 包追踪处理器
+ *
+ * <p>位于解码器之前，入站和出站方向看到的都是原始数据报。入站数据报被选中时，先拷贝开头的字节
+ * （解码器会释放数据报），再交给后续处理器；解码、分发和协议处理器在同一次调用中完成，
+ * 返回后的耗时即为管道耗时。出站数据报在交给批量写出处理器之前记录。</p>
+ *
+ * <p>是否追踪按数据报首个协议号判断；GRO合并的数据报整体记录一次，转储从第一个分段开始。
+ * 规则为空时只读一次 {@link PacketTracer#isActive()} 即放行。处理器无状态，所有通道共享一个实例。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@ChannelHandler.Sharable
+public class PacketTraceHandler extends ChannelDuplexHandler {
+
+    private final PacketTracer tracer;
+
+    /**
+     * 构造函数
+     *
+     * @param tracer 包追踪器
+     */
+    public PacketTraceHandler(PacketTracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (!tracer.isActive() || !(msg instanceof DatagramPacket)) {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+        DatagramPacket packet = (DatagramPacket) msg;
+        ByteBuf content = packet.content();
+        InetSocketAddress sender = packet.sender();
+        if (!tracer.shouldTrace(sender, UdpPacketEncoder.peekProtocolId(content))) {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+        int length = content.readableBytes();
+        ByteBuffer head = copyHead(content, length);
+        long start = System.nanoTime();
+        ctx.fireChannelRead(msg);
+        tracer.record(PacketTrace.Direction.INBOUND, sender, head, length, System.nanoTime() - start);
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        if (tracer.isActive() && msg instanceof DatagramPacket) {
+            DatagramPacket packet = (DatagramPacket) msg;
+            ByteBuf content = packet.content();
+            if (tracer.shouldTrace(packet.recipient(), UdpPacketEncoder.peekProtocolId(content))) {
+                int length = content.readableBytes();
+                tracer.record(PacketTrace.Direction.OUTBOUND, packet.recipient(), copyHead(content, length), length, -1);
+            }
+        }
+        ctx.write(msg, promise);
+    }
+
+    private ByteBuffer copyHead(ByteBuf content, int length) {
+        byte[] head = new byte[tracer.captureLength(length)];
+        content.getBytes(content.readerIndex(), head);
+        return ByteBuffer.wrap(head);
+    }
+}
@@ -0,0 +1,61 @@
+package com.kinkle.helloquick.udp.trace;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 包追踪端点的返回内容：当前规则与最近的追踪记录
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+public class PacketTraceReport {
+
+    /**
+     * 追踪处理器是否加入管道
+     */
+    private final boolean enabled;
+
+    /**
+     * 是否配置了任一追踪规则
+     */
+    private final boolean active;
+
+    private final int sampleRate;
+
+    private final List<Integer> protocols;
+
+    private final List<String> addresses;
+
+    private final int capacity;
+
+    /**
+     * 累计记录数，含已被覆盖的记录
+     */
+    private final long recorded;
+
+    /**
+     * 追踪记录，从新到旧
+     */
+    private final List<PacketTrace> traces;
+
+    /**
+     * 构造函数
+     *
+     * @param tracer 包追踪器
+     * @param traces 追踪记录
+     */
+    public PacketTraceReport(PacketTracer tracer, List<PacketTrace> traces) {
+        this.enabled = tracer.isEnabled();
+        this.active = tracer.isActive();
+        this.sampleRate = tracer.getSampleRate();
+        this.protocols = tracer.getProtocols();
+        this.addresses = tracer.getAddresses();
+        this.capacity = tracer.getCapacity();
+        this.recorded = tracer.getRecorded();
+        this.traces = traces;
+    }
+}
@@ -0,0 +1,349 @@
+package com.kinkle.helloquick.udp.trace;
+
+import com.kinkle.helloquick.config.AppProperties;
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.ProtocolHeader;
+import com.kinkle.helloquick.udp.protocol.ProtocolType;
+import com.kinkle.helloquick.udp.util.HexDump;
+import io.netty.util.NetUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 采样包追踪器
+ *
+ * <p>按规则挑出少量数据包，记录包头字段、管道耗时和十六进制转储，保存在固定容量的 {@link TraceRing} 中，
+ * 经actuator的 {@code udptrace} 端点读取。满足任一规则的数据包都会被追踪：</p>
+ * <ul>
+ *     <li>每 {@code sampleRate} 个数据包随机采样1个；</li>
+ *     <li>协议号在 {@code protocols} 中；</li>
+ *     <li>对端地址在 {@code addresses} 中（只写IP时匹配该IP的所有端口）。</li>
+ * </ul>
+ *
+ * <p>包体含凭据的协议（{@link #REDACTED_PROTOCOLS}）只转储包头，不论规则如何配置都不会记录包体字节。</p>
+ *
+ * <p>{@code app.udp.trace.enabled=false}（默认）时管道中不加入 {@link PacketTraceHandler}，没有任何追踪开销；
+ * 开启后未配置规则时，每个数据包只多读一次volatile字段。规则可在运行时经端点修改，
+ * 以不可变的 {@link Rules} 整体替换，热路径不加锁。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+public class PacketTracer {
+
+    /**
+     * 解析包头需要的字节数上限，转储字节数小于该值时仍按该值拷贝
+     */
+    static final int HEADER_BYTES = 32;
+
+    /**
+     * 包体含凭据的协议，只转储包头
+     */
+    public static final Set<Short> REDACTED_PROTOCOLS = Set.of(
+        ProtocolConstants.SystemProtocols.AUTH_REQUEST,
+        ProtocolConstants.BusinessProtocols.USER_LOGIN);
+
+    private static final String UNKNOWN = "UNKNOWN";
+
+    private final boolean enabled;
+
+    private final int dumpBytes;
+
+    private final TraceRing ring;
+
+    private volatile Rules rules;
+
+    /**
+     * 构造函数
+     *
+     * @param appProperties 应用配置
+     */
+    public PacketTracer(AppProperties appProperties) {
+        AppProperties.Udp.Trace config = appProperties.getUdp().getTrace();
+        if (config.getDumpBytes() < 0) {
+            throw new IllegalArgumentException("Trace dump bytes cannot be negative");
+        }
+        this.enabled = config.isEnabled();
+        this.dumpBytes = config.getDumpBytes();
+        this.ring = new TraceRing(config.getCapacity());
+        this.rules = Rules.parse(config.getSampleRate(), config.getProtocols(), config.getAddresses());
+    }
+
+    /**
+     * 追踪处理器是否加入管道
+     *
+     * @return 是否加入
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 是否配置了任一追踪规则，未配置时处理器直接放行
+     *
+     * @return 是否生效
+     */
+    public boolean isActive() {
+        return rules.active;
+    }
+
+    /**
+     * 判断数据包是否需要追踪
+     *
+     * @param peer 对端地址
+     * @param protocolId 协议号，无法识别时为-1
+     * @return 是否追踪
+     */
+    public boolean shouldTrace(InetSocketAddress peer, short protocolId) {
+        Rules current = rules;
+        if (!current.active) {
+            return false;
+        }
+        if (current.protocols.contains((int) protocolId)) {
+            return true;
+        }
+        if (peer != null && (current.peers.contains(peer) || current.hosts.contains(peer.getAddress()))) {
+            return true;
+        }
+        return current.sampleRate > 0 && ThreadLocalRandom.current().nextInt(current.sampleRate) == 0;
+    }
+
+    /**
+     * 需要为一条记录拷贝的字节数
+     *
+     * @param length 数据报字节数
+     * @return 拷贝字节数
+     */
+    public int captureLength(int length) {
+        return Math.min(length, Math.max(dumpBytes, HEADER_BYTES));
+    }
+
+    /**
+     * 记录一个数据包
+     *
+     * @param direction 方向
+     * @param peer 对端地址
+     * @param head 数据报开头的字节，至少 {@link #captureLength(int)} 个（数据报更短时为全部字节）
+     * @param length 数据报总字节数
+     * @param pipelineNanos 管道耗时（纳秒），出站传-1
+     */
+    public void record(PacketTrace.Direction direction, InetSocketAddress peer, ByteBuffer head,
+                       int length, long pipelineNanos) {
+        int start = head.position();
+        ProtocolHeader header = null;
+        try {
+            header = ProtocolHeader.fromByteBuffer(head);
+        } catch (RuntimeException e) {
+            // 包头无法解析的数据报同样保留转储
+        }
+        head.position(start);
+
+        boolean redacted = header != null && REDACTED_PROTOCOLS.contains(header.getProtocolId());
+        int dumped = Math.min(head.remaining(), redacted ? Math.min(dumpBytes, header.getEncodedLength()) : dumpBytes);
+        String dump = HexDump.dump(head, dumped);
+        long id = ring.nextId();
+        PacketTrace trace;
+        if (header != null) {
+            ProtocolType type = ProtocolType.fromProtocolId(header.getProtocolId());
+            trace = new PacketTrace(id, System.currentTimeMillis(), direction, String.valueOf(peer),
+                header.getProtocolId(), type != null ? type.name() : UNKNOWN, header.getVersion(),
+                header.isCompact(), header.getSequence(), header.getEncoding(), header.getEncryption(),
+                header.getBodyLength(), length, pipelineNanos, dump, dumped < length, redacted);
+        } else {
+            trace = new PacketTrace(id, System.currentTimeMillis(), direction, String.valueOf(peer),
+                (short) -1, UNKNOWN, 0, false, 0, 0, 0, 0, length, pipelineNanos, dump, dumped < length, false);
+        }
+        ring.put(trace);
+    }
+
+    /**
+     * 替换追踪规则
+     *
+     * @param sampleRate 每N个数据包采样1个，0表示不按比例采样
+     * @param protocols 始终追踪的协议号
+     * @param addresses 始终追踪的对端地址
+     * @throws IllegalArgumentException 采样比例为负或地址不是IP字面量
+     */
+    public void configure(int sampleRate, Collection<Integer> protocols, Collection<String> addresses) {
+        Rules updated = Rules.parse(sampleRate, protocols, addresses);
+        this.rules = updated;
+        log.info("包追踪规则已更新: sampleRate={}, protocols={}, addresses={}, installed={}",
+            sampleRate, updated.protocolList, updated.addressList, enabled);
+    }
+
+    /**
+     * 按从新到旧的顺序读取追踪记录
+     *
+     * @param limit 最多返回的记录数
+     * @return 追踪记录
+     */
+    public List<PacketTrace> recent(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        return ring.recent(limit);
+    }
+
+    /**
+     * 清空追踪记录
+     */
+    public void clear() {
+        ring.clear();
+    }
+
+    /**
+     * 获取累计记录数，含已被覆盖的记录
+     *
+     * @return 记录数
+     */
+    public long getRecorded() {
+        return ring.getRecorded();
+    }
+
+    /**
+     * 获取环形缓冲区容量
+     *
+     * @return 保留的记录数
+     */
+    public int getCapacity() {
+        return ring.getCapacity();
+    }
+
+    /**
+     * 获取当前采样比例
+     *
+     * @return 每N个数据包采样1个，0表示不按比例采样
+     */
+    public int getSampleRate() {
+        return rules.sampleRate;
+    }
+
+    /**
+     * 获取当前始终追踪的协议号
+     *
+     * @return 协议号
+     */
+    public List<Integer> getProtocols() {
+        return rules.protocolList;
+    }
+
+    /**
+     * 获取当前始终追踪的对端地址
+     *
+     * @return 对端地址
+     */
+    public List<String> getAddresses() {
+        return rules.addressList;
+    }
+
+    /**
+     * 一组不可变的追踪规则
+     */
+    private static final class Rules {
+
+        private final int sampleRate;
+
+        private final Set<Integer> protocols;
+
+        private final Set<InetSocketAddress> peers;
+
+        private final Set<InetAddress> hosts;
+
+        private final List<Integer> protocolList;
+
+        private final List<String> addressList;
+
+        private final boolean active;
+
+        private Rules(int sampleRate, Set<Integer> protocols, Set<InetSocketAddress> peers, Set<InetAddress> hosts,
+                      List<Integer> protocolList, List<String> addressList) {
+            this.sampleRate = sampleRate;
+            this.protocols = protocols;
+            this.peers = peers;
+            this.hosts = hosts;
+            this.protocolList = protocolList;
+            this.addressList = addressList;
+            this.active = sampleRate > 0 || !protocols.isEmpty() || !peers.isEmpty() || !hosts.isEmpty();
+        }
+
+        private static Rules parse(int sampleRate, Collection<Integer> protocols, Collection<String> addresses) {
+            if (sampleRate < 0) {
+                throw new IllegalArgumentException("Sample rate cannot be negative");
+            }
+            Set<Integer> protocolSet = new HashSet<>();
+            if (protocols != null) {
+                for (Integer protocol : protocols) {
+                    if (protocol == null || protocol < 0 || protocol > Short.MAX_VALUE) {
+                        throw new IllegalArgumentException("Invalid trace protocol id: " + protocol);
+                    }
+                    protocolSet.add(protocol);
+                }
+            }
+            Set<InetSocketAddress> peers = new HashSet<>();
+            Set<InetAddress> hosts = new HashSet<>();
+            List<String> addressList = new ArrayList<>();
+            if (addresses != null) {
+                for (String address : addresses) {
+                    parseAddress(address.trim(), peers, hosts);
+                    addressList.add(address.trim());
+                }
+            }
+            List<Integer> protocolList = new ArrayList<>(protocolSet);
+            Collections.sort(protocolList);
+            return new Rules(sampleRate, protocolSet, peers, hosts,
+                Collections.unmodifiableList(protocolList), Collections.unmodifiableList(addressList));
+        }
+
+        /**
+         * 解析 ip、ip:port、[ipv6] 或 [ipv6]:port，只接受IP字面量，不做DNS解析
+         */
+        private static void parseAddress(String address, Set<InetSocketAddress> peers, Set<InetAddress> hosts) {
+            String host = address;
+            int port = -1;
+            try {
+                if (address.startsWith("[")) {
+                    int close = address.indexOf(']');
+                    if (close < 0) {
+                        throw new IllegalArgumentException("Invalid trace address: " + address);
+                    }
+                    host = address.substring(1, close);
+                    if (close + 1 < address.length()) {
+                        if (address.charAt(close + 1) != ':') {
+                            throw new IllegalArgumentException("Invalid trace address: " + address);
+                        }
+                        port = Integer.parseInt(address.substring(close + 2));
+                    }
+                } else if (address.indexOf(':') >= 0 && address.indexOf(':') == address.lastIndexOf(':')) {
+                    int colon = address.indexOf(':');
+                    host = address.substring(0, colon);
+                    port = Integer.parseInt(address.substring(colon + 1));
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid trace address: " + address, e);
+            }
+            InetAddress inet = NetUtil.createInetAddressFromIpAddressString(host);
+            if (inet == null || port > 0xFFFF) {
+                throw new IllegalArgumentException("Invalid trace address: " + address);
+            }
+            if (port >= 0) {
+                peers.add(new InetSocketAddress(inet, port));
+            } else {
+                hosts.add(inet);
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.kinkle.helloquick.udp.trace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 追踪记录环形缓冲区
+ *
+ * <p>写入方先取得递增的序号，再写入序号对应的槽位，写满后覆盖最早的记录；多个IO线程并发写入时不加锁。
+ * 读取方从最新的序号往回扫描，槽位中的序号与预期不一致（尚未写入或已被覆盖）时跳过。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+final class TraceRing {
+
+    private final AtomicReferenceArray<PacketTrace> slots;
+
+    private final AtomicLong next = new AtomicLong();
+
+    /**
+     * 小于该序号的记录视为已清空
+     */
+    private volatile long clearedBefore;
+
+    /**
+     * 构造函数
+     *
+     * @param capacity 保留的记录数
+     */
+    TraceRing(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Trace capacity must be positive");
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * 分配下一条记录的序号
+     *
+     * @return 序号
+     */
+    long nextId() {
+        return next.getAndIncrement();
+    }
+
+    /**
+     * 写入记录，槽位由记录序号决定
+     *
+     * @param trace 追踪记录
+     */
+    void put(PacketTrace trace) {
+        slots.set((int) (trace.getId() % slots.length()), trace);
+    }
+
+    /**
+     * 按从新到旧的顺序读取记录
+     *
+     * @param limit 最多返回的记录数
+     * @return 追踪记录
+     */
+    List<PacketTrace> recent(int limit) {
+        long end = next.get();
+        long start = Math.max(Math.max(0, end - slots.length()), clearedBefore);
+        List<PacketTrace> result = new ArrayList<>((int) Math.min(limit, end - start));
+        for (long id = end - 1; id >= start && result.size() < limit; id--) {
+            PacketTrace trace = slots.get((int) (id % slots.length()));
+            if (trace != null && trace.getId() == id) {
+                result.add(trace);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 丢弃已有记录
+     */
+    void clear() {
+        clearedBefore = next.get();
+    }
+
+    /**
+     * 获取累计写入的记录数
+     *
+     * @return 记录数
+     */
+    long getRecorded() {
+        return next.get();
+    }
+
+    /**
+     * 获取容量
+     *
+     * @return 保留的记录数
+     */
+    int getCapacity() {
+        return slots.length();
+    }
+}
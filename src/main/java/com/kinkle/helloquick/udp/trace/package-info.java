@@ -0,0 +1,11 @@
+/**
+ * 采样包追踪包
+ *
+ * <p>按比例、协议号或对端地址挑选数据包，记录包头字段、管道耗时和查表生成的十六进制转储，
+ * 保存在固定容量的环形缓冲区中，经actuator的 {@code udptrace} 端点读取和调整规则。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.kinkle.helloquick.udp.trace;
@@ -0,0 +1,151 @@
+package com.kinkle.helloquick.udp.upload;
+
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 文件上传报文格式
+ *
+ * <p>{@link ProtocolConstants.BusinessProtocols#FILE_UPLOAD} 数据包的包体以操作码和上传ID开头（大端）：</p>
+ * <pre>
+ * 0  操作码（1字节）
+ * 1  上传ID（8字节），由客户端生成
+ * 9  操作相关内容
+ * </pre>
+ *
+ * <ul>
+ *   <li>INIT：见 {@link UploadInit}，服务端回复 STATUS，已存在的上传会话据此续传</li>
+ *   <li>CHUNK：分块序号（4字节）+ 分块数据，偏移量为 序号 × 分块大小；服务端不逐块确认，
+ *       最后一块到达并校验完成后回复 STATUS</li>
+ *   <li>QUERY：起始分块序号（4字节），服务端回复从该分块开始的接收位图</li>
+ *   <li>STATUS：服务端回复，见 {@link UploadStatus}</li>
+ * </ul>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class FileUploadFormat {
+
+    /**
+     * 初始化上传
+     */
+    public static final byte OP_INIT = 0x01;
+
+    /**
+     * 分块数据
+     */
+    public static final byte OP_CHUNK = 0x02;
+
+    /**
+     * 查询接收状态
+     */
+    public static final byte OP_QUERY = 0x03;
+
+    /**
+     * 接收状态（服务端回复）
+     */
+    public static final byte OP_STATUS = (byte) 0x81;
+
+    /**
+     * 公共前缀长度：操作码 + 上传ID
+     */
+    public static final int PREFIX_LENGTH = 9;
+
+    /**
+     * 分块报文头长度
+     */
+    public static final int CHUNK_HEADER_LENGTH = PREFIX_LENGTH + 4;
+
+    /**
+     * 查询报文长度
+     */
+    public static final int QUERY_LENGTH = PREFIX_LENGTH + 4;
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private FileUploadFormat() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * 读取操作码
+     *
+     * @param body 包体
+     * @return 操作码
+     * @throws IllegalArgumentException 包体长度不足
+     */
+    public static byte op(byte[] body) {
+        checkLength(body, PREFIX_LENGTH);
+        return body[0];
+    }
+
+    /**
+     * 读取上传ID
+     *
+     * @param body 包体
+     * @return 上传ID
+     * @throws IllegalArgumentException 包体长度不足
+     */
+    public static long uploadId(byte[] body) {
+        checkLength(body, PREFIX_LENGTH);
+        return ByteBuffer.wrap(body).getLong(1);
+    }
+
+    /**
+     * 读取分块序号（CHUNK）或起始分块序号（QUERY）
+     *
+     * @param body 包体
+     * @return 分块序号
+     * @throws IllegalArgumentException 包体长度不足
+     */
+    public static int chunkIndex(byte[] body) {
+        checkLength(body, CHUNK_HEADER_LENGTH);
+        return ByteBuffer.wrap(body).getInt(PREFIX_LENGTH);
+    }
+
+    /**
+     * 编码分块报文
+     *
+     * @param uploadId 上传ID
+     * @param chunkIndex 分块序号
+     * @param data 数据
+     * @param offset 数据起始偏移量
+     * @param length 数据长度
+     * @return 包体
+     */
+    public static byte[] encodeChunk(long uploadId, int chunkIndex, byte[] data, int offset, int length) {
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK_HEADER_LENGTH + length);
+        buffer.put(OP_CHUNK);
+        buffer.putLong(uploadId);
+        buffer.putInt(chunkIndex);
+        buffer.put(data, offset, length);
+        return buffer.array();
+    }
+
+    /**
+     * 编码查询报文
+     *
+     * @param uploadId 上传ID
+     * @param fromChunk 起始分块序号
+     * @return 包体
+     */
+    public static byte[] encodeQuery(long uploadId, int fromChunk) {
+        return ByteBuffer.allocate(QUERY_LENGTH)
+            .put(OP_QUERY)
+            .putLong(uploadId)
+            .putInt(fromChunk)
+            .array();
+    }
+
+    /**
+     * 校验包体长度
+     */
+    private static void checkLength(byte[] body, int length) {
+        if (body == null || body.length < length) {
+            throw new IllegalArgumentException("Invalid file upload body length");
+        }
+    }
+}
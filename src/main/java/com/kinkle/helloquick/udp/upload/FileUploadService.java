@@ -0,0 +1,243 @@
+package com.kinkle.helloquick.udp.upload;
+
+import com.kinkle.helloquick.config.AppProperties;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文件上传服务
+ *
+ * <p>按上传ID维护上传会话表。会话属于发起上传的用户，只有该用户能续传、写入和查询；
+ * 会话与对端地址无关，客户端地址变化后仍可继续上传。
+ * 最后一块到达后的CRC校验与落盘在独立线程上执行，不占用IO线程；会话到达最终状态（完成、CRC校验失败或被拒绝）后
+ * 立即移除。同一线程定期关闭空闲会话。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.udp", name = "enabled", havingValue = "true")
+public class FileUploadService {
+
+    private final AppProperties.Udp.Upload config;
+
+    private final Path directory;
+
+    private final long idleTimeoutNanos;
+
+    private final ConcurrentMap<Long, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService finisher =
+        Executors.newSingleThreadScheduledExecutor(new DefaultThreadFactory("upload-finisher", true));
+
+    /**
+     * 构造函数
+     *
+     * @param appProperties 应用配置
+     */
+    public FileUploadService(AppProperties appProperties) {
+        this.config = appProperties.getUdp().getUpload();
+        this.directory = Path.of(config.getDirectory()).toAbsolutePath().normalize();
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.getSessionIdleTimeout());
+    }
+
+    /**
+     * 启动空闲会话清理
+     */
+    @PostConstruct
+    public void start() {
+        long interval = config.getSweepInterval();
+        if (interval > 0) {
+            finisher.scheduleWithFixedDelay(this::sweepQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 初始化或续传上传会话
+     *
+     * @param userId 发起上传的用户ID
+     * @param init 初始化报文
+     * @return 当前接收状态，参数不合法、上传ID属于其他用户、目标文件已存在或会话数量超限时返回拒绝状态
+     */
+    public UploadStatus init(long userId, UploadInit init) {
+        long uploadId = init.getUploadId();
+        if (init.getFileSize() <= 0 || init.getFileSize() > config.getMaxFileSize()
+            || init.getChunkSize() < config.getMinChunkSize()
+            || init.getChunkSize() > config.getMaxChunkSize()) {
+            log.debug("拒绝上传请求，参数超出限制: uploadId={}, fileSize={}, chunkSize={}",
+                uploadId, init.getFileSize(), init.getChunkSize());
+            return UploadStatus.rejected(uploadId);
+        }
+
+        UploadSession session = sessions.get(uploadId);
+        if (session != null) {
+            return session.matches(userId, init) ? session.status(0, config.getMaxStatusBitmapBytes())
+                : UploadStatus.rejected(uploadId);
+        }
+        if (sessions.size() >= config.getMaxSessions()) {
+            evictIdle(System.nanoTime());
+            if (sessions.size() >= config.getMaxSessions()) {
+                log.warn("上传会话数量已达上限: {}, 拒绝上传: {}", config.getMaxSessions(), uploadId);
+                return UploadStatus.rejected(uploadId);
+            }
+        }
+
+        try {
+            Files.createDirectories(directory);
+            session = UploadSession.open(directory, userId, init);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("打开上传会话失败: uploadId={}, fileName={}, reason={}", uploadId, init.getFileName(), e.getMessage());
+            return UploadStatus.rejected(uploadId);
+        }
+
+        UploadSession previous = sessions.putIfAbsent(uploadId, session);
+        if (previous != null) {
+            // 并发初始化，保留先注册的会话
+            closeQuietly(session);
+            return previous.matches(userId, init) ? previous.status(0, config.getMaxStatusBitmapBytes())
+                : UploadStatus.rejected(uploadId);
+        }
+        log.info("上传会话已打开: uploadId={}, fileName={}, fileSize={}, receivedChunks={}/{}",
+            uploadId, init.getFileName(), init.getFileSize(), session.getReceivedChunks(), session.getTotalChunks());
+        return session.status(0, config.getMaxStatusBitmapBytes());
+    }
+
+    /**
+     * 获取用户的上传会话
+     *
+     * @param userId 用户ID
+     * @param uploadId 上传ID
+     * @return 会话，不存在或属于其他用户时返回null
+     */
+    public UploadSession get(long userId, long uploadId) {
+        UploadSession session = sessions.get(uploadId);
+        return session != null && session.getOwnerId() == userId ? session : null;
+    }
+
+    /**
+     * 查询接收状态
+     *
+     * @param userId 用户ID
+     * @param uploadId 上传ID
+     * @param fromChunk 位图起始分块序号
+     * @return 接收状态，会话不存在或属于其他用户时返回拒绝状态
+     */
+    public UploadStatus query(long userId, long uploadId, int fromChunk) {
+        UploadSession session = get(userId, uploadId);
+        if (session == null) {
+            return UploadStatus.rejected(uploadId);
+        }
+        return session.status(fromChunk, config.getMaxStatusBitmapBytes());
+    }
+
+    /**
+     * 异步校验并落盘已接收全部分块的会话，之后从会话表移除
+     *
+     * @param session 上传会话
+     * @return 最终状态
+     */
+    public CompletableFuture<UploadStatus> finish(UploadSession session) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                UploadStatus status = session.finish();
+                if (status.getState() == UploadStatus.COMPLETED) {
+                    log.info("文件上传完成: uploadId={}, target={}, crc32={}",
+                        session.getUploadId(), session.getTarget(), Long.toHexString(status.getCrc32()));
+                } else if (status.getState() == UploadStatus.CRC_MISMATCH) {
+                    log.warn("文件上传CRC校验失败: uploadId={}, crc32={}",
+                        session.getUploadId(), Long.toHexString(status.getCrc32()));
+                } else {
+                    log.warn("目标文件已存在，放弃上传: uploadId={}, target={}", session.getUploadId(), session.getTarget());
+                }
+                sessions.remove(session.getUploadId(), session);
+                return status;
+            } catch (IOException e) {
+                log.error("文件上传落盘失败: uploadId={}", session.getUploadId(), e);
+                sessions.remove(session.getUploadId(), session);
+                closeQuietly(session);
+                return UploadStatus.rejected(session.getUploadId());
+            }
+        }, finisher);
+    }
+
+    /**
+     * 关闭空闲超时的会话，未完成的上传保留临时文件以便续传
+     *
+     * @param nowNanos 当前纳秒时间
+     * @return 关闭数量
+     */
+    public int evictIdle(long nowNanos) {
+        int evicted = 0;
+        Iterator<Map.Entry<Long, UploadSession>> iterator = sessions.entrySet().iterator();
+        while (iterator.hasNext()) {
+            UploadSession session = iterator.next().getValue();
+            if (nowNanos - session.getLastActiveNanos() > idleTimeoutNanos) {
+                iterator.remove();
+                closeQuietly(session);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    private void sweepQuietly() {
+        try {
+            int evicted = evictIdle(System.nanoTime());
+            if (evicted > 0) {
+                log.debug("关闭空闲上传会话: {}", evicted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("清理空闲上传会话失败", e);
+        }
+    }
+
+    /**
+     * 获取会话数量
+     *
+     * @return 会话数量
+     */
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * 停止服务，关闭所有会话
+     */
+    @PreDestroy
+    public void shutdown() {
+        finisher.shutdown();
+        try {
+            finisher.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sessions.values().forEach(this::closeQuietly);
+        sessions.clear();
+    }
+
+    private void closeQuietly(UploadSession session) {
+        try {
+            session.close();
+        } catch (IOException e) {
+            log.warn("关闭上传会话失败: uploadId={}, reason={}", session.getUploadId(), e.getMessage());
+        }
+    }
+}
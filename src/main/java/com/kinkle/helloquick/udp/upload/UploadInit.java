@@ -0,0 +1,141 @@
+package com.kinkle.helloquick.udp.upload;
+
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 上传初始化报文
+ *
+ * <p>布局如下（大端）：</p>
+ * <pre>
+ * 0  操作码 INIT（1字节）
+ * 1  上传ID（8字节）
+ * 9  文件大小（8字节）
+ * 17 分块大小（4字节），除最后一块外每块等长
+ * 21 整个文件的CRC32（4字节）
+ * 25 文件名长度（2字节）
+ * 27 文件名（UTF-8）
+ * </pre>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+public final class UploadInit {
+
+    /**
+     * 文件名之前的固定长度
+     */
+    public static final int HEADER_LENGTH = FileUploadFormat.PREFIX_LENGTH + 18;
+
+    /**
+     * 文件名最大长度（UTF-8字节）
+     */
+    public static final int MAX_NAME_LENGTH = 255;
+
+    /**
+     * 上传ID
+     */
+    private final long uploadId;
+
+    /**
+     * 文件大小
+     */
+    private final long fileSize;
+
+    /**
+     * 分块大小
+     */
+    private final int chunkSize;
+
+    /**
+     * 整个文件的CRC32
+     */
+    private final long crc32;
+
+    /**
+     * 文件名
+     */
+    private final String fileName;
+
+    /**
+     * 构造函数
+     *
+     * @param uploadId 上传ID
+     * @param fileSize 文件大小
+     * @param chunkSize 分块大小
+     * @param crc32 整个文件的CRC32
+     * @param fileName 文件名
+     */
+    public UploadInit(long uploadId, long fileSize, int chunkSize, long crc32, String fileName) {
+        if (fileSize <= 0) {
+            throw new IllegalArgumentException("File size must be positive");
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        if (fileName == null || fileName.isEmpty()
+            || fileName.getBytes(StandardCharsets.UTF_8).length > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Invalid file name");
+        }
+        this.uploadId = uploadId;
+        this.fileSize = fileSize;
+        this.chunkSize = chunkSize;
+        this.crc32 = crc32 & 0xFFFFFFFFL;
+        this.fileName = fileName;
+    }
+
+    /**
+     * 获取分块数量
+     *
+     * @return 分块数量
+     */
+    public long getTotalChunks() {
+        return (fileSize + chunkSize - 1) / chunkSize;
+    }
+
+    /**
+     * 编码为包体
+     *
+     * @return 包体字节
+     */
+    public byte[] encode() {
+        byte[] name = fileName.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + name.length);
+        buffer.put(FileUploadFormat.OP_INIT);
+        buffer.putLong(uploadId);
+        buffer.putLong(fileSize);
+        buffer.putInt(chunkSize);
+        buffer.putInt((int) crc32);
+        buffer.putShort((short) name.length);
+        buffer.put(name);
+        return buffer.array();
+    }
+
+    /**
+     * 从包体解码
+     *
+     * @param body 包体字节
+     * @return 上传初始化报文
+     * @throws IllegalArgumentException 包体格式错误
+     */
+    public static UploadInit decode(byte[] body) {
+        if (body == null || body.length < HEADER_LENGTH || body[0] != FileUploadFormat.OP_INIT) {
+            throw new IllegalArgumentException("Invalid upload init body");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(body, 1, body.length - 1);
+        long uploadId = buffer.getLong();
+        long fileSize = buffer.getLong();
+        int chunkSize = buffer.getInt();
+        long crc32 = buffer.getInt() & 0xFFFFFFFFL;
+        int nameLength = buffer.getShort() & 0xFFFF;
+        if (nameLength != buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid upload init name length");
+        }
+        String fileName = new String(body, HEADER_LENGTH, nameLength, StandardCharsets.UTF_8);
+        return new UploadInit(uploadId, fileSize, chunkSize, crc32, fileName);
+    }
+}
@@ -0,0 +1,91 @@
+package com.kinkle.helloquick.udp.upload;
+
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import lombok.Getter;
+
+/**
+ * 客户端上传请求
+ *
+ * <p>{@link ProtocolConstants.BusinessProtocols#FILE_UPLOAD} 数据包中客户端发出的 INIT、CHUNK、QUERY 报文，
+ * 格式见 {@link FileUploadFormat}。CHUNK 的分块数据不拷贝，{@link #getData()} 返回包体数组本身，
+ * 数据从 {@link #getDataOffset()} 开始。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+public final class UploadRequest {
+
+    /**
+     * 操作码
+     */
+    private final byte op;
+
+    /**
+     * 上传ID
+     */
+    private final long uploadId;
+
+    /**
+     * 分块序号（CHUNK）或起始分块序号（QUERY），INIT为0
+     */
+    private final int chunkIndex;
+
+    /**
+     * 初始化报文，仅INIT有
+     */
+    private final UploadInit init;
+
+    /**
+     * 包体数组，CHUNK的分块数据位于其中
+     */
+    private final byte[] data;
+
+    private UploadRequest(byte op, long uploadId, int chunkIndex, UploadInit init, byte[] data) {
+        this.op = op;
+        this.uploadId = uploadId;
+        this.chunkIndex = chunkIndex;
+        this.init = init;
+        this.data = data;
+    }
+
+    /**
+     * 分块数据在 {@link #getData()} 中的起始偏移量
+     *
+     * @return 偏移量
+     */
+    public int getDataOffset() {
+        return FileUploadFormat.CHUNK_HEADER_LENGTH;
+    }
+
+    /**
+     * 分块数据长度，非CHUNK为0
+     *
+     * @return 数据长度
+     */
+    public int getDataLength() {
+        return op == FileUploadFormat.OP_CHUNK ? data.length - FileUploadFormat.CHUNK_HEADER_LENGTH : 0;
+    }
+
+    /**
+     * 从包体解码
+     *
+     * @param body 包体字节
+     * @return 上传请求
+     * @throws IllegalArgumentException 包体格式错误或操作码不是客户端请求
+     */
+    public static UploadRequest decode(byte[] body) {
+        byte op = FileUploadFormat.op(body);
+        long uploadId = FileUploadFormat.uploadId(body);
+        switch (op) {
+            case FileUploadFormat.OP_INIT:
+                return new UploadRequest(op, uploadId, 0, UploadInit.decode(body), body);
+            case FileUploadFormat.OP_CHUNK:
+            case FileUploadFormat.OP_QUERY:
+                return new UploadRequest(op, uploadId, FileUploadFormat.chunkIndex(body), null, body);
+            default:
+                throw new IllegalArgumentException("Unknown file upload op: " + op);
+        }
+    }
+}
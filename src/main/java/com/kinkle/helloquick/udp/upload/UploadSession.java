@@ -0,0 +1,531 @@
+package com.kinkle.helloquick.udp.upload;
+
+import com.kinkle.helloquick.udp.util.Crc32Combiner;
+import io.netty.util.internal.PlatformDependent;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * 文件上传会话
+ *
+ * <p>目标文件按声明的大小预先映射（每个映射区域不超过1GB且按分块对齐），分块数据从包体直接写入映射区域，
+ * 堆内存占用与文件大小无关。同名的元数据文件同样以内存映射方式保存接收位图和每个分块的CRC32，
+ * 服务重启或会话被回收后，使用相同参数再次初始化即可从位图续传。</p>
+ *
+ * <p>全部分块到达后，按分块顺序拼接各分块的CRC32得到整个文件的CRC32（见 {@link Crc32Combiner}），
+ * 无需重新读取文件。校验通过后把临时文件重命名为目标文件名，不覆盖已存在的文件。</p>
+ *
+ * <p>会话属于发起上传的用户，所属用户ID同样写入元数据文件，其他用户不能续传或查询。</p>
+ *
+ * <p>元数据文件布局（大端）：</p>
+ * <pre>
+ * 0   魔数（4字节）
+ * 4   上传ID（8字节）
+ * 12  文件大小（8字节）
+ * 20  分块大小（4字节）
+ * 24  文件CRC32（4字节）
+ * 28  文件名长度（2字节）
+ * 30  文件名（UTF-8，最长255字节）
+ * 288 所属用户ID（8字节）
+ * 296 接收位图，之后按4字节对齐存放每个分块的CRC32
+ * </pre>
+ *
+ * <p>所有方法都是同步的，会话可以在多个IO线程间共享。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class UploadSession {
+
+    /**
+     * 元数据文件魔数："HQUP"
+     */
+    static final int META_MAGIC = 0x48515550;
+
+    /**
+     * 元数据文件头长度
+     */
+    static final int META_HEADER_LENGTH = 296;
+
+    /**
+     * 所属用户ID在元数据文件中的偏移量
+     */
+    private static final int META_OWNER_OFFSET = 288;
+
+    /**
+     * 单个映射区域最大长度
+     */
+    static final long MAX_REGION_SIZE = 1L << 30;
+
+    /**
+     * 最大分块数量
+     */
+    static final int MAX_CHUNKS = 1 << 28;
+
+    /**
+     * 写入分块的结果
+     */
+    public enum WriteResult {
+        /** 已写入 */
+        ACCEPTED,
+        /** 已写入，且全部分块均已到达 */
+        COMPLETE,
+        /** 重复分块，或会话已经完成 */
+        DUPLICATE,
+        /** 分块序号或长度不合法，或会话已关闭 */
+        INVALID
+    }
+
+    /**
+     * 上传ID
+     */
+    @Getter
+    private final long uploadId;
+
+    /**
+     * 所属用户ID
+     */
+    @Getter
+    private final long ownerId;
+
+    /**
+     * 文件大小
+     */
+    @Getter
+    private final long fileSize;
+
+    /**
+     * 分块大小
+     */
+    @Getter
+    private final int chunkSize;
+
+    /**
+     * 分块总数
+     */
+    @Getter
+    private final int totalChunks;
+
+    /**
+     * 客户端声明的文件CRC32
+     */
+    private final long expectedCrc;
+
+    /**
+     * 完成后的目标文件
+     */
+    @Getter
+    private final Path target;
+
+    private final Path partPath;
+
+    private final Path metaPath;
+
+    private final FileChannel dataChannel;
+
+    private final FileChannel metaChannel;
+
+    private final MappedByteBuffer[] regions;
+
+    private final int chunksPerRegion;
+
+    private final MappedByteBuffer meta;
+
+    private final int crcOffset;
+
+    private final CRC32 crc32 = new CRC32();
+
+    /**
+     * 已接收分块数
+     */
+    private int receivedChunks;
+
+    private byte state = UploadStatus.RECEIVING;
+
+    private long fileCrc;
+
+    private boolean closed;
+
+    private long lastActiveNanos;
+
+    private UploadSession(long ownerId, UploadInit init, Path target, Path partPath, Path metaPath,
+                          FileChannel dataChannel, FileChannel metaChannel, boolean resume) throws IOException {
+        this.uploadId = init.getUploadId();
+        this.ownerId = ownerId;
+        this.fileSize = init.getFileSize();
+        this.chunkSize = init.getChunkSize();
+        this.totalChunks = (int) init.getTotalChunks();
+        this.expectedCrc = init.getCrc32();
+        this.target = target;
+        this.partPath = partPath;
+        this.metaPath = metaPath;
+        this.dataChannel = dataChannel;
+        this.metaChannel = metaChannel;
+
+        this.chunksPerRegion = (int) Math.min(totalChunks, MAX_REGION_SIZE / chunkSize);
+        long regionSize = (long) chunksPerRegion * chunkSize;
+        this.regions = new MappedByteBuffer[(totalChunks + chunksPerRegion - 1) / chunksPerRegion];
+        for (int i = 0; i < regions.length; i++) {
+            long position = i * regionSize;
+            long size = Math.min(regionSize, fileSize - position);
+            regions[i] = dataChannel.map(FileChannel.MapMode.READ_WRITE, position, size);
+        }
+
+        int bitmapBytes = (totalChunks + 7) >>> 3;
+        this.crcOffset = META_HEADER_LENGTH + ((bitmapBytes + 3) & ~3);
+        this.meta = metaChannel.map(FileChannel.MapMode.READ_WRITE, 0, metaLength(totalChunks));
+        if (resume) {
+            for (int i = 0; i < bitmapBytes; i++) {
+                receivedChunks += Integer.bitCount(meta.get(META_HEADER_LENGTH + i) & 0xFF);
+            }
+        } else {
+            writeMetaHeader(init);
+        }
+        this.lastActiveNanos = System.nanoTime();
+    }
+
+    /**
+     * 打开上传会话：元数据文件存在且参数一致时续传，否则重新创建
+     *
+     * <p>打开失败时关闭已打开的文件；新建的上传同时删除已创建的临时文件和元数据，续传时保留。</p>
+     *
+     * @param directory 上传目录
+     * @param ownerId 所属用户ID
+     * @param init 初始化报文
+     * @return 上传会话
+     * @throws IOException 文件操作失败
+     * @throws java.nio.file.FileAlreadyExistsException 目标文件已存在
+     * @throws IllegalArgumentException 文件大小、文件名或分块数量不合法
+     */
+    public static UploadSession open(Path directory, long ownerId, UploadInit init) throws IOException {
+        if (init.getFileSize() <= 0 || init.getChunkSize() <= 0 || init.getChunkSize() > MAX_REGION_SIZE) {
+            throw new IllegalArgumentException("Invalid file size or chunk size: " + init.getFileSize()
+                + ", " + init.getChunkSize());
+        }
+        if (init.getTotalChunks() > MAX_CHUNKS) {
+            throw new IllegalArgumentException("Too many chunks: " + init.getTotalChunks());
+        }
+        Path target = resolveTarget(directory, init.getFileName());
+        if (Files.exists(target)) {
+            throw new FileAlreadyExistsException(target.toString());
+        }
+        String baseName = String.format("%016x", init.getUploadId());
+        Path partPath = directory.resolve(baseName + ".part");
+        Path metaPath = directory.resolve(baseName + ".meta");
+
+        boolean resume = Files.exists(partPath) && Files.size(partPath) == init.getFileSize()
+            && matchesMeta(metaPath, ownerId, init);
+        FileChannel dataChannel = null;
+        FileChannel metaChannel = null;
+        try {
+            dataChannel = FileChannel.open(partPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+            metaChannel = FileChannel.open(metaPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+            if (!resume) {
+                dataChannel.truncate(0);
+                metaChannel.truncate(0);
+            }
+            return new UploadSession(ownerId, init, target, partPath, metaPath, dataChannel, metaChannel, resume);
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(dataChannel);
+            closeQuietly(metaChannel);
+            if (!resume) {
+                deleteQuietly(dataChannel != null ? partPath : null);
+                deleteQuietly(metaChannel != null ? metaPath : null);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 判断会话所属用户和参数是否与初始化报文一致
+     *
+     * @param ownerId 发起初始化的用户ID
+     * @param init 初始化报文
+     * @return 是否一致
+     */
+    public boolean matches(long ownerId, UploadInit init) {
+        return this.ownerId == ownerId
+            && uploadId == init.getUploadId()
+            && fileSize == init.getFileSize()
+            && chunkSize == init.getChunkSize()
+            && expectedCrc == init.getCrc32()
+            && target.getFileName().toString().equals(init.getFileName());
+    }
+
+    /**
+     * 写入分块
+     *
+     * @param chunkIndex 分块序号
+     * @param src 数据所在数组
+     * @param offset 数据起始偏移量
+     * @param length 数据长度
+     * @return 写入结果
+     */
+    public synchronized WriteResult writeChunk(int chunkIndex, byte[] src, int offset, int length) {
+        lastActiveNanos = System.nanoTime();
+        if (state != UploadStatus.RECEIVING) {
+            return WriteResult.DUPLICATE;
+        }
+        if (closed || chunkIndex < 0 || chunkIndex >= totalChunks || length != chunkLength(chunkIndex)) {
+            return WriteResult.INVALID;
+        }
+        int bitmapIndex = META_HEADER_LENGTH + (chunkIndex >>> 3);
+        byte bits = meta.get(bitmapIndex);
+        byte mask = (byte) (1 << (chunkIndex & 7));
+        if ((bits & mask) != 0) {
+            return WriteResult.DUPLICATE;
+        }
+
+        regions[chunkIndex / chunksPerRegion].put((chunkIndex % chunksPerRegion) * chunkSize, src, offset, length);
+        crc32.reset();
+        crc32.update(src, offset, length);
+        meta.putInt(crcOffset + chunkIndex * 4, (int) crc32.getValue());
+        // 数据和CRC写入后再置位，位图置位即表示分块完整
+        meta.put(bitmapIndex, (byte) (bits | mask));
+
+        receivedChunks++;
+        return receivedChunks == totalChunks ? WriteResult.COMPLETE : WriteResult.ACCEPTED;
+    }
+
+    /**
+     * 全部分块到达后校验CRC32并落盘
+     *
+     * <p>校验通过时把临时文件重命名为目标文件，目标文件已存在时放弃本次上传（状态为 {@link UploadStatus#REJECTED}）；
+     * 校验失败或放弃时删除临时文件和元数据。会话在此之后不再接受分块。</p>
+     *
+     * @return 最终状态
+     * @throws IOException 文件操作失败
+     * @throws IllegalStateException 分块未全部到达
+     */
+    public synchronized UploadStatus finish() throws IOException {
+        if (state != UploadStatus.RECEIVING) {
+            return status(0, 0);
+        }
+        if (closed || receivedChunks != totalChunks) {
+            throw new IllegalStateException("Upload is not complete: " + uploadId);
+        }
+
+        fileCrc = combineChunkCrcs();
+        if (fileCrc == expectedCrc) {
+            for (MappedByteBuffer region : regions) {
+                region.force();
+            }
+            release();
+            try {
+                Files.move(partPath, target);
+                state = UploadStatus.COMPLETED;
+            } catch (FileAlreadyExistsException e) {
+                // 打开会话之后同名文件才出现，不覆盖
+                Files.deleteIfExists(partPath);
+                state = UploadStatus.REJECTED;
+            }
+            Files.deleteIfExists(metaPath);
+        } else {
+            release();
+            Files.deleteIfExists(partPath);
+            Files.deleteIfExists(metaPath);
+            state = UploadStatus.CRC_MISMATCH;
+        }
+        return status(0, 0);
+    }
+
+    /**
+     * 获取接收状态
+     *
+     * @param fromChunk 位图起始分块序号，向下对齐到8的倍数
+     * @param maxBitmapBytes 位图最大字节数
+     * @return 上传状态，会话已结束时不含位图
+     */
+    public synchronized UploadStatus status(int fromChunk, int maxBitmapBytes) {
+        lastActiveNanos = System.nanoTime();
+        if (closed || state != UploadStatus.RECEIVING) {
+            return new UploadStatus(uploadId, state, totalChunks, receivedChunks, fileCrc, 0, null);
+        }
+        int from = Math.max(0, Math.min(fromChunk, totalChunks)) & ~7;
+        int bytes = Math.min(Math.max(0, maxBitmapBytes), (totalChunks - from + 7) >>> 3);
+        byte[] bitmap = new byte[bytes];
+        meta.get(META_HEADER_LENGTH + (from >>> 3), bitmap);
+        return new UploadStatus(uploadId, state, totalChunks, receivedChunks, fileCrc, from, bitmap);
+    }
+
+    /**
+     * 关闭会话，保留临时文件和元数据以便续传
+     *
+     * @throws IOException 文件操作失败
+     */
+    public synchronized void close() throws IOException {
+        if (!closed) {
+            for (MappedByteBuffer region : regions) {
+                region.force();
+            }
+            meta.force();
+            release();
+        }
+    }
+
+    /**
+     * 获取已接收分块数
+     *
+     * @return 已接收分块数
+     */
+    public synchronized int getReceivedChunks() {
+        return receivedChunks;
+    }
+
+    /**
+     * 获取状态
+     *
+     * @return 状态
+     */
+    public synchronized byte getState() {
+        return state;
+    }
+
+    /**
+     * 获取最近活跃时间
+     *
+     * @return 纳秒时间戳
+     */
+    public synchronized long getLastActiveNanos() {
+        return lastActiveNanos;
+    }
+
+    /**
+     * 计算分块长度
+     */
+    private long chunkLength(int chunkIndex) {
+        return chunkIndex == totalChunks - 1 ? fileSize - (long) chunkIndex * chunkSize : chunkSize;
+    }
+
+    /**
+     * 按顺序拼接各分块的CRC32
+     */
+    private long combineChunkCrcs() {
+        Crc32Combiner combiner = new Crc32Combiner(chunkSize);
+        long crc = meta.getInt(crcOffset) & 0xFFFFFFFFL;
+        for (int i = 1; i < totalChunks - 1; i++) {
+            crc = combiner.combine(crc, meta.getInt(crcOffset + i * 4) & 0xFFFFFFFFL);
+        }
+        if (totalChunks > 1) {
+            int last = totalChunks - 1;
+            crc = Crc32Combiner.combine(crc, meta.getInt(crcOffset + last * 4) & 0xFFFFFFFFL, chunkLength(last));
+        }
+        return crc;
+    }
+
+    /**
+     * 解除映射并关闭文件
+     */
+    private void release() throws IOException {
+        closed = true;
+        for (MappedByteBuffer region : regions) {
+            PlatformDependent.freeDirectBuffer(region);
+        }
+        PlatformDependent.freeDirectBuffer(meta);
+        try {
+            dataChannel.close();
+        } finally {
+            metaChannel.close();
+        }
+    }
+
+    /**
+     * 写入元数据文件头
+     */
+    private void writeMetaHeader(UploadInit init) {
+        byte[] name = init.getFileName().getBytes(StandardCharsets.UTF_8);
+        meta.putInt(0, META_MAGIC);
+        meta.putLong(4, uploadId);
+        meta.putLong(12, fileSize);
+        meta.putInt(20, chunkSize);
+        meta.putInt(24, (int) expectedCrc);
+        meta.putShort(28, (short) name.length);
+        meta.put(30, name);
+        meta.putLong(META_OWNER_OFFSET, ownerId);
+    }
+
+    /**
+     * 元数据文件长度
+     */
+    private static long metaLength(int totalChunks) {
+        int bitmapBytes = (totalChunks + 7) >>> 3;
+        return META_HEADER_LENGTH + ((bitmapBytes + 3) & ~3) + 4L * totalChunks;
+    }
+
+    /**
+     * 判断已有元数据文件是否与初始化报文一致
+     */
+    private static boolean matchesMeta(Path metaPath, long ownerId, UploadInit init) throws IOException {
+        if (!Files.exists(metaPath) || Files.size(metaPath) != metaLength((int) init.getTotalChunks())) {
+            return false;
+        }
+        ByteBuffer header = ByteBuffer.allocate(META_HEADER_LENGTH);
+        try (FileChannel channel = FileChannel.open(metaPath, StandardOpenOption.READ)) {
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // 读满文件头
+            }
+        }
+        header.flip();
+        if (header.remaining() < META_HEADER_LENGTH || header.getInt(0) != META_MAGIC) {
+            return false;
+        }
+        byte[] name = init.getFileName().getBytes(StandardCharsets.UTF_8);
+        if (header.getLong(4) != init.getUploadId()
+            || header.getLong(12) != init.getFileSize()
+            || header.getInt(20) != init.getChunkSize()
+            || (header.getInt(24) & 0xFFFFFFFFL) != init.getCrc32()
+            || (header.getShort(28) & 0xFFFF) != name.length
+            || header.getLong(META_OWNER_OFFSET) != ownerId) {
+            return false;
+        }
+        byte[] stored = new byte[name.length];
+        header.get(30, stored);
+        return Arrays.equals(stored, name);
+    }
+
+    /**
+     * 解析目标文件路径，文件名只取最后一段，不允许跳出上传目录
+     */
+    private static Path resolveTarget(Path directory, String fileName) {
+        Path name = Path.of(fileName).getFileName();
+        if (name == null || !name.toString().equals(fileName) || fileName.equals(".") || fileName.equals("..")
+            || fileName.endsWith(".part") || fileName.endsWith(".meta")) {
+            throw new IllegalArgumentException("Invalid file name: " + fileName);
+        }
+        return directory.resolve(name);
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path != null) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException ignored) {
+                // 已在处理更早的异常
+            }
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // 已在处理更早的异常
+            }
+        }
+    }
+}
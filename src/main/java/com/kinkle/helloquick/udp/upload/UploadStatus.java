@@ -0,0 +1,177 @@
+package com.kinkle.helloquick.udp.upload;
+
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 上传状态报文
+ *
+ * <p>布局如下（大端）：</p>
+ * <pre>
+ * 0  操作码 STATUS（1字节）
+ * 1  上传ID（8字节）
+ * 9  状态（1字节）
+ * 10 分块总数（4字节）
+ * 14 已接收分块数（4字节）
+ * 18 服务端计算的文件CRC32（4字节），仅完成或校验失败时有效
+ * 22 位图起始分块序号（4字节），为8的倍数
+ * 26 接收位图，第i个比特（字节内低位在前）对应分块 起始序号 + i
+ * </pre>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+public final class UploadStatus {
+
+    /**
+     * 接收中
+     */
+    public static final byte RECEIVING = 0;
+
+    /**
+     * 已完成并通过CRC校验
+     */
+    public static final byte COMPLETED = 1;
+
+    /**
+     * 全部分块已接收但CRC校验失败，会话已删除，需要重新上传
+     */
+    public static final byte CRC_MISMATCH = 2;
+
+    /**
+     * 上传被拒绝（未知上传ID、不属于当前用户、参数不合法、目标文件已存在或会话数量超限）
+     */
+    public static final byte REJECTED = 3;
+
+    /**
+     * 位图之前的固定长度
+     */
+    public static final int HEADER_LENGTH = FileUploadFormat.PREFIX_LENGTH + 17;
+
+    private static final byte[] EMPTY_BITMAP = new byte[0];
+
+    /**
+     * 上传ID
+     */
+    private final long uploadId;
+
+    /**
+     * 状态
+     */
+    private final byte state;
+
+    /**
+     * 分块总数
+     */
+    private final int totalChunks;
+
+    /**
+     * 已接收分块数
+     */
+    private final int receivedChunks;
+
+    /**
+     * 服务端计算的文件CRC32
+     */
+    private final long crc32;
+
+    /**
+     * 位图起始分块序号
+     */
+    private final int fromChunk;
+
+    /**
+     * 接收位图
+     */
+    private final byte[] bitmap;
+
+    /**
+     * 构造函数
+     *
+     * @param uploadId 上传ID
+     * @param state 状态
+     * @param totalChunks 分块总数
+     * @param receivedChunks 已接收分块数
+     * @param crc32 服务端计算的文件CRC32
+     * @param fromChunk 位图起始分块序号
+     * @param bitmap 接收位图
+     */
+    public UploadStatus(long uploadId, byte state, int totalChunks, int receivedChunks,
+                        long crc32, int fromChunk, byte[] bitmap) {
+        this.uploadId = uploadId;
+        this.state = state;
+        this.totalChunks = totalChunks;
+        this.receivedChunks = receivedChunks;
+        this.crc32 = crc32 & 0xFFFFFFFFL;
+        this.fromChunk = fromChunk;
+        this.bitmap = bitmap != null ? bitmap : EMPTY_BITMAP;
+    }
+
+    /**
+     * 创建拒绝状态
+     *
+     * @param uploadId 上传ID
+     * @return 上传状态
+     */
+    public static UploadStatus rejected(long uploadId) {
+        return new UploadStatus(uploadId, REJECTED, 0, 0, 0, 0, EMPTY_BITMAP);
+    }
+
+    /**
+     * 位图中是否标记分块已接收
+     *
+     * @param chunkIndex 分块序号
+     * @return 是否已接收，不在位图范围内时返回false
+     */
+    public boolean isReceived(int chunkIndex) {
+        int bit = chunkIndex - fromChunk;
+        if (bit < 0 || bit >= bitmap.length * 8) {
+            return false;
+        }
+        return (bitmap[bit >>> 3] & (1 << (bit & 7))) != 0;
+    }
+
+    /**
+     * 编码为包体
+     *
+     * @return 包体字节
+     */
+    public byte[] encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + bitmap.length);
+        buffer.put(FileUploadFormat.OP_STATUS);
+        buffer.putLong(uploadId);
+        buffer.put(state);
+        buffer.putInt(totalChunks);
+        buffer.putInt(receivedChunks);
+        buffer.putInt((int) crc32);
+        buffer.putInt(fromChunk);
+        buffer.put(bitmap);
+        return buffer.array();
+    }
+
+    /**
+     * 从包体解码
+     *
+     * @param body 包体字节
+     * @return 上传状态
+     * @throws IllegalArgumentException 包体格式错误
+     */
+    public static UploadStatus decode(byte[] body) {
+        if (body == null || body.length < HEADER_LENGTH || body[0] != FileUploadFormat.OP_STATUS) {
+            throw new IllegalArgumentException("Invalid upload status body");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(body, 1, body.length - 1);
+        long uploadId = buffer.getLong();
+        byte state = buffer.get();
+        int totalChunks = buffer.getInt();
+        int receivedChunks = buffer.getInt();
+        long crc32 = buffer.getInt() & 0xFFFFFFFFL;
+        int fromChunk = buffer.getInt();
+        byte[] bitmap = new byte[buffer.remaining()];
+        buffer.get(bitmap);
+        return new UploadStatus(uploadId, state, totalChunks, receivedChunks, crc32, fromChunk, bitmap);
+    }
+}
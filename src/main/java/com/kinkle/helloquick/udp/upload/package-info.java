@@ -0,0 +1,10 @@
+/**
+ * UDP文件上传包
+ *
+ * <p>包含分块上传的报文格式、基于内存映射文件的上传会话以及会话管理服务。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.kinkle.helloquick.udp.upload;
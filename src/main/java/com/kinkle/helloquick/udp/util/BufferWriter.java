@@ -0,0 +1,465 @@
+package com.kinkle.helloquick.udp.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.GatheringByteChannel;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.zip.CRC32;
+
+/**
+ * 可增长的分块写缓冲区
+ *
+ * <p>由池化的定长块组成，写满一块后从 {@link Pool} 取下一块接着写，已写入的数据不复制。
+ * 调用方不需要预先知道总长度，写完再读 {@link #size()} 即可。</p>
+ *
+ * <p>基本类型不跨块写入：当前块剩余空间不足时，直接从下一块开始，当前块尾部的几个字节留空且不属于写入的数据，
+ * 因此每个字段都落在一个块内。{@link #reserve(int)} 预留的区域同样连续，写完包体后可用
+ * {@link #setInt(int, int)} 等方法按偏移回填长度或CRC字段，{@link #crc32(int, int)} 直接对块内数据计算校验值。</p>
+ *
+ * <p>{@link #toBuffers()} 返回各块已写入部分的视图，可直接用于 {@link GatheringByteChannel#write(ByteBuffer[])}，
+ * 已连接的 {@code DatagramChannel} 会把它们作为一个数据报发出。字节序为大端序。
+ * 实例不是线程安全的，用完调用 {@link #close()} 把块归还到池中。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class BufferWriter implements AutoCloseable {
+
+    private static final int INITIAL_CHUNKS = 4;
+
+    private final Pool pool;
+
+    private ByteBuffer[] chunks = new ByteBuffer[INITIAL_CHUNKS];
+
+    /**
+     * 各块第一个字节的逻辑偏移
+     */
+    private int[] starts = new int[INITIAL_CHUNKS];
+
+    private int count;
+
+    private ByteBuffer current;
+
+    private boolean closed;
+
+    /**
+     * 使用默认池创建
+     */
+    public BufferWriter() {
+        this(Pool.DEFAULT);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param pool 块池
+     */
+    public BufferWriter(Pool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * 获取已写入的字节数，块尾留空的字节不计入
+     *
+     * @return 字节数
+     */
+    public int size() {
+        return current == null ? 0 : starts[count - 1] + current.position();
+    }
+
+    /**
+     * 写入一个字节
+     *
+     * @param value 字节值
+     * @return 当前写缓冲区
+     */
+    public BufferWriter putByte(int value) {
+        writable(Byte.BYTES).put((byte) value);
+        return this;
+    }
+
+    /**
+     * 写入short
+     *
+     * @param value short值
+     * @return 当前写缓冲区
+     */
+    public BufferWriter putShort(int value) {
+        writable(Short.BYTES).putShort((short) value);
+        return this;
+    }
+
+    /**
+     * 写入int
+     *
+     * @param value int值
+     * @return 当前写缓冲区
+     */
+    public BufferWriter putInt(int value) {
+        writable(Integer.BYTES).putInt(value);
+        return this;
+    }
+
+    /**
+     * 写入long
+     *
+     * @param value long值
+     * @return 当前写缓冲区
+     */
+    public BufferWriter putLong(long value) {
+        writable(Long.BYTES).putLong(value);
+        return this;
+    }
+
+    /**
+     * 写入无符号变长整数
+     *
+     * @param value 数值
+     * @return 当前写缓冲区
+     */
+    public BufferWriter putVarInt(long value) {
+        VarIntUtil.writeUnsigned(writable(VarIntUtil.sizeOf(value)), value);
+        return this;
+    }
+
+    /**
+     * 写入字节数组，可跨块
+     *
+     * @param bytes 字节数组
+     * @return 当前写缓冲区
+     */
+    public BufferWriter putBytes(byte[] bytes) {
+        return putBytes(bytes, 0, bytes.length);
+    }
+
+    /**
+     * 写入字节数组的指定范围，可跨块
+     *
+     * @param bytes 字节数组
+     * @param offset 起始偏移
+     * @param length 长度
+     * @return 当前写缓冲区
+     */
+    public BufferWriter putBytes(byte[] bytes, int offset, int length) {
+        while (length > 0) {
+            ByteBuffer chunk = writable(1);
+            int n = Math.min(length, chunk.remaining());
+            chunk.put(bytes, offset, n);
+            offset += n;
+            length -= n;
+        }
+        return this;
+    }
+
+    /**
+     * 写入缓冲区的剩余字节，可跨块，源缓冲区的位置移到末尾
+     *
+     * @param source 源缓冲区
+     * @return 当前写缓冲区
+     */
+    public BufferWriter putBuffer(ByteBuffer source) {
+        while (source.hasRemaining()) {
+            ByteBuffer chunk = writable(1);
+            int n = Math.min(source.remaining(), chunk.remaining());
+            chunk.put(chunk.position(), source, source.position(), n);
+            chunk.position(chunk.position() + n);
+            source.position(source.position() + n);
+        }
+        return this;
+    }
+
+    /**
+     * 获取至少有 {@code minBytes} 连续可写空间的块，调用方直接写入并移动其位置
+     *
+     * <p>超过块大小的请求会分配一个不入池的专用块。</p>
+     *
+     * @param minBytes 需要的连续字节数
+     * @return 可写的块，位置为下一个写入点
+     */
+    public ByteBuffer writable(int minBytes) {
+        if (closed) {
+            throw new IllegalStateException("BufferWriter is closed");
+        }
+        if (current == null || current.remaining() < minBytes) {
+            addChunk(minBytes);
+        }
+        return current;
+    }
+
+    /**
+     * 预留一段连续空间，内容置零
+     *
+     * @param length 字节数
+     * @return 预留区域的起始偏移，用于回填
+     */
+    public int reserve(int length) {
+        ByteBuffer chunk = writable(length);
+        int offset = starts[count - 1] + chunk.position();
+        for (int i = 0; i < length; i++) {
+            chunk.put((byte) 0);
+        }
+        return offset;
+    }
+
+    /**
+     * 在已写入的偏移处回填一个字节
+     *
+     * @param offset 偏移
+     * @param value 字节值
+     * @return 当前写缓冲区
+     */
+    public BufferWriter setByte(int offset, int value) {
+        int index = chunkAt(offset, Byte.BYTES);
+        chunks[index].put(offset - starts[index], (byte) value);
+        return this;
+    }
+
+    /**
+     * 在已写入的偏移处回填short
+     *
+     * @param offset 偏移
+     * @param value short值
+     * @return 当前写缓冲区
+     */
+    public BufferWriter setShort(int offset, int value) {
+        int index = chunkAt(offset, Short.BYTES);
+        chunks[index].putShort(offset - starts[index], (short) value);
+        return this;
+    }
+
+    /**
+     * 在已写入的偏移处回填int
+     *
+     * @param offset 偏移
+     * @param value int值
+     * @return 当前写缓冲区
+     */
+    public BufferWriter setInt(int offset, int value) {
+        int index = chunkAt(offset, Integer.BYTES);
+        chunks[index].putInt(offset - starts[index], value);
+        return this;
+    }
+
+    /**
+     * 在已写入的偏移处回填long
+     *
+     * @param offset 偏移
+     * @param value long值
+     * @return 当前写缓冲区
+     */
+    public BufferWriter setLong(int offset, long value) {
+        int index = chunkAt(offset, Long.BYTES);
+        chunks[index].putLong(offset - starts[index], value);
+        return this;
+    }
+
+    /**
+     * 计算已写入范围的CRC32，不复制数据
+     *
+     * @param offset 起始偏移
+     * @param length 长度
+     * @return CRC32值
+     */
+    public long crc32(int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > size()) {
+            throw new IndexOutOfBoundsException("Range out of bounds: offset=" + offset + ", length=" + length);
+        }
+        CRC32 crc32 = new CRC32();
+        int end = offset + length;
+        for (int i = 0; i < count && offset < end; i++) {
+            int chunkEnd = starts[i] + chunks[i].position();
+            if (offset >= chunkEnd) {
+                continue;
+            }
+            int from = offset - starts[i];
+            int to = Math.min(end, chunkEnd) - starts[i];
+            crc32.update(chunks[i].duplicate().limit(to).position(from));
+            offset = starts[i] + to;
+        }
+        return crc32.getValue();
+    }
+
+    /**
+     * 获取各块已写入部分的只读视图，用于聚集写
+     *
+     * <p>视图与写缓冲区共享内存，{@link #close()} 之后不可再使用。</p>
+     *
+     * @return 按写入顺序排列的缓冲区数组
+     */
+    public ByteBuffer[] toBuffers() {
+        ByteBuffer[] buffers = new ByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            buffers[i] = chunks[i].asReadOnlyBuffer().flip();
+        }
+        return buffers;
+    }
+
+    /**
+     * 复制为连续的字节数组
+     *
+     * @return 字节数组
+     */
+    public byte[] toByteArray() {
+        byte[] result = new byte[size()];
+        for (int i = 0; i < count; i++) {
+            chunks[i].get(0, result, starts[i], chunks[i].position());
+        }
+        return result;
+    }
+
+    /**
+     * 聚集写入通道
+     *
+     * @param channel 目标通道，数据报通道须已连接
+     * @return 写入的字节数
+     * @throws IOException 写入失败
+     */
+    public long writeTo(GatheringByteChannel channel) throws IOException {
+        return channel.write(toBuffers());
+    }
+
+    /**
+     * 把所有块归还到池中
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (int i = 0; i < count; i++) {
+            pool.release(chunks[i]);
+            chunks[i] = null;
+        }
+        count = 0;
+        current = null;
+    }
+
+    private void addChunk(int minBytes) {
+        int start = size();
+        ByteBuffer chunk = minBytes <= pool.chunkSize ? pool.acquire() : pool.allocate(minBytes);
+        if (count == chunks.length) {
+            chunks = Arrays.copyOf(chunks, count * 2);
+            starts = Arrays.copyOf(starts, count * 2);
+        }
+        chunks[count] = chunk;
+        starts[count] = start;
+        count++;
+        current = chunk;
+    }
+
+    /**
+     * 查找包含 [offset, offset + width) 的块
+     */
+    private int chunkAt(int offset, int width) {
+        for (int i = count - 1; i >= 0; i--) {
+            if (offset >= starts[i]) {
+                if (offset + width > starts[i] + chunks[i].position()) {
+                    throw new IndexOutOfBoundsException("Offset not within written data: " + offset);
+                }
+                return i;
+            }
+        }
+        throw new IndexOutOfBoundsException("Offset not within written data: " + offset);
+    }
+
+    /**
+     * 块池
+     *
+     * <p>定长块的两级缓存：每个线程先使用自己的 {@value #THREAD_CACHE_SIZE} 块本地缓存，不加锁；
+     * 本地缓存满了再放入各线程共享的有界队列。都取不到时新建，归还时都已满或块大小不符则丢弃。可被多个线程共享。</p>
+     */
+    public static final class Pool {
+
+        private static final int THREAD_CACHE_SIZE = 8;
+
+        /**
+         * 默认池：2KB直接内存块，一个块可容纳一个以太网MTU的数据报，最多缓存1024块
+         */
+        public static final Pool DEFAULT = new Pool(2048, 1024, true);
+
+        private final int chunkSize;
+
+        private final boolean direct;
+
+        private final ArrayBlockingQueue<ByteBuffer> free;
+
+        private final ThreadLocal<ThreadCache> cache = ThreadLocal.withInitial(ThreadCache::new);
+
+        /**
+         * 构造函数
+         *
+         * @param chunkSize 块大小
+         * @param maxPooled 最多缓存的空闲块数
+         * @param direct 是否使用直接内存
+         */
+        public Pool(int chunkSize, int maxPooled, boolean direct) {
+            if (chunkSize < Long.BYTES) {
+                throw new IllegalArgumentException("chunkSize must be at least 8");
+            }
+            if (maxPooled <= 0) {
+                throw new IllegalArgumentException("maxPooled must be positive");
+            }
+            this.chunkSize = chunkSize;
+            this.direct = direct;
+            this.free = new ArrayBlockingQueue<>(maxPooled);
+        }
+
+        /**
+         * 获取块大小
+         *
+         * @return 字节数
+         */
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        /**
+         * 获取共享队列与当前线程本地缓存中的空闲块数
+         *
+         * @return 空闲块数
+         */
+        public int getPooledCount() {
+            return free.size() + cache.get().size;
+        }
+
+        private ByteBuffer acquire() {
+            ThreadCache local = cache.get();
+            ByteBuffer chunk;
+            if (local.size > 0) {
+                chunk = local.chunks[--local.size];
+                local.chunks[local.size] = null;
+            } else {
+                chunk = free.poll();
+            }
+            return chunk != null ? chunk.clear() : allocate(chunkSize);
+        }
+
+        private ByteBuffer allocate(int capacity) {
+            ByteBuffer chunk = direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+            return chunk.order(ByteOrder.BIG_ENDIAN);
+        }
+
+        private void release(ByteBuffer chunk) {
+            if (chunk.capacity() != chunkSize) {
+                return;
+            }
+            ThreadCache local = cache.get();
+            if (local.size < THREAD_CACHE_SIZE) {
+                local.chunks[local.size++] = chunk;
+            } else {
+                free.offer(chunk);
+            }
+        }
+
+        private static final class ThreadCache {
+
+            private final ByteBuffer[] chunks = new ByteBuffer[THREAD_CACHE_SIZE];
+
+            private int size;
+        }
+    }
+}
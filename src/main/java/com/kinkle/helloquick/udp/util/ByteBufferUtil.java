@@ -311,27 +311,13 @@ public final class ByteBufferUtil {
     /**
      * 将ByteBuffer转换为十六进制字符串
      * 
+     * <p>查表转换，见 {@link HexDump#toHex(ByteBuffer)}；不移动缓冲区位置。</p>
+     * 
      * @param buffer ByteBuffer
      * @return 十六进制字符串
      */
     public static String toHexString(ByteBuffer buffer) {
-        if (buffer == null || !buffer.hasRemaining()) {
-            return "";
-        }
-        
-        StringBuilder sb = new StringBuilder();
-        int oldPosition = buffer.position();
-        
-        try {
-            while (buffer.hasRemaining()) {
-                byte b = buffer.get();
-                sb.append(String.format("%02X", b));
-            }
-        } finally {
-            buffer.position(oldPosition);
-        }
-        
-        return sb.toString();
+        return HexDump.toHex(buffer);
     }
     
     /**
@@ -0,0 +1,160 @@
+package com.kinkle.helloquick.udp.util;
+
+import java.util.zip.CRC32;
+
+/**
+ * CRC32增量修正工具类
+ *
+ * <p>针对固定长度的报文，预先计算指定字节区间内每个位置、每个字节取值对CRC32的贡献表。
+ * 报文中只有少量字段变化时（如时间戳、序列号），可在原CRC32值上按变化的字节做查表异或，
+ * 无需重新扫描整个报文。</p>
+ *
+ * <p>原理：CRC32对等长报文满足 crc(A ^ B) = crc(A) ^ crc(B) ^ crc(0)，
+ * 因此某个字节从 old 变为 new 时，只需异或该位置上 (old ^ new) 的贡献值。</p>
+ *
+ * <p>实例创建后只读，可在多线程间共享。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class Crc32Patcher {
+
+    /**
+     * 报文总长度（参与CRC计算的字节数）
+     */
+    private final int messageLength;
+
+    /**
+     * 可修正区间起始偏移量（包含）
+     */
+    private final int fromOffset;
+
+    /**
+     * 可修正区间结束偏移量（不包含）
+     */
+    private final int toOffset;
+
+    /**
+     * 贡献表：tables[offset - fromOffset][byteValue]
+     */
+    private final int[][] tables;
+
+    /**
+     * 构造函数
+     *
+     * @param messageLength 报文总长度
+     * @param fromOffset 可修正区间起始偏移量（包含）
+     * @param toOffset 可修正区间结束偏移量（不包含）
+     */
+    public Crc32Patcher(int messageLength, int fromOffset, int toOffset) {
+        if (messageLength <= 0 || fromOffset < 0 || toOffset <= fromOffset || toOffset > messageLength) {
+            throw new IllegalArgumentException("Invalid patch range");
+        }
+        this.messageLength = messageLength;
+        this.fromOffset = fromOffset;
+        this.toOffset = toOffset;
+        this.tables = new int[toOffset - fromOffset][];
+
+        byte[] zeros = new byte[messageLength];
+        long zeroCrc = crcOf(zeros);
+        for (int offset = fromOffset; offset < toOffset; offset++) {
+            int[] table = new int[256];
+            // 先求8个单比特的贡献，其余取值按线性关系组合
+            for (int bit = 0; bit < 8; bit++) {
+                zeros[offset] = (byte) (1 << bit);
+                table[1 << bit] = (int) (crcOf(zeros) ^ zeroCrc);
+            }
+            zeros[offset] = 0;
+            for (int value = 1; value < 256; value++) {
+                int lowBit = value & -value;
+                if (value != lowBit) {
+                    table[value] = table[lowBit] ^ table[value ^ lowBit];
+                }
+            }
+            tables[offset - fromOffset] = table;
+        }
+    }
+
+    /**
+     * 修正单个字节变化后的CRC32值
+     *
+     * @param crc32 原CRC32值
+     * @param offset 字节偏移量
+     * @param oldValue 原字节值
+     * @param newValue 新字节值
+     * @return 修正后的CRC32值
+     */
+    public long patchByte(long crc32, int offset, byte oldValue, byte newValue) {
+        checkRange(offset, 1);
+        return (crc32 ^ (tables[offset - fromOffset][(oldValue ^ newValue) & 0xFF] & 0xFFFFFFFFL)) & 0xFFFFFFFFL;
+    }
+
+    /**
+     * 修正大端序int字段变化后的CRC32值
+     *
+     * @param crc32 原CRC32值
+     * @param offset 字段偏移量
+     * @param oldValue 原字段值
+     * @param newValue 新字段值
+     * @return 修正后的CRC32值
+     */
+    public long patchInt(long crc32, int offset, int oldValue, int newValue) {
+        checkRange(offset, Integer.BYTES);
+        return patchBits(crc32, offset, oldValue ^ newValue, Integer.BYTES);
+    }
+
+    /**
+     * 修正大端序long字段变化后的CRC32值
+     *
+     * @param crc32 原CRC32值
+     * @param offset 字段偏移量
+     * @param oldValue 原字段值
+     * @param newValue 新字段值
+     * @return 修正后的CRC32值
+     */
+    public long patchLong(long crc32, int offset, long oldValue, long newValue) {
+        checkRange(offset, Long.BYTES);
+        return patchBits(crc32, offset, oldValue ^ newValue, Long.BYTES);
+    }
+
+    /**
+     * 获取报文总长度
+     *
+     * @return 报文总长度
+     */
+    public int getMessageLength() {
+        return messageLength;
+    }
+
+    /**
+     * 按字节异或变化量的贡献值
+     */
+    private long patchBits(long crc32, int offset, long delta, int width) {
+        int result = (int) crc32;
+        int base = offset - fromOffset;
+        for (int i = 0; i < width; i++) {
+            int value = (int) (delta >>> ((width - 1 - i) * 8)) & 0xFF;
+            result ^= tables[base + i][value];
+        }
+        return result & 0xFFFFFFFFL;
+    }
+
+    /**
+     * 校验修正区间
+     */
+    private void checkRange(int offset, int width) {
+        if (offset < fromOffset || offset + width > toOffset) {
+            throw new IllegalArgumentException("Offset out of patch range: " + offset);
+        }
+    }
+
+    /**
+     * 计算完整报文的CRC32值
+     */
+    private static long crcOf(byte[] data) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(data);
+        return crc32.getValue();
+    }
+}
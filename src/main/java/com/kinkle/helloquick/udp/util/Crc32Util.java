@@ -95,8 +95,9 @@ public final class Crc32Util {
             crc32.update(buffer);
             return crc32.getValue();
         } finally {
-            buffer.position(oldPosition);
+            // 先恢复limit，原position可能超出计算区间的末尾
             buffer.limit(oldLimit);
+            buffer.position(oldPosition);
         }
     }
     
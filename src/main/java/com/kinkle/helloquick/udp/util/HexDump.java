@@ -0,0 +1,117 @@
+package com.kinkle.helloquick.udp.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 十六进制转储工具类
+ *
+ * <p>查表把每个字节拆成两个十六进制字符，直接写入预先算好长度的 {@code char[]}，
+ * 不对每个字节调用 {@link String#format}。读取不移动缓冲区位置。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class HexDump {
+
+    /**
+     * 每行转储的字节数
+     */
+    public static final int BYTES_PER_ROW = 16;
+
+    private static final char[] DIGITS = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * 每行字符数：4位偏移 + ": " + 16组"XX " + "|" + 16个可打印字符 + "|" + 换行
+     */
+    private static final int ROW_CHARS = 4 + 2 + BYTES_PER_ROW * 3 + 1 + BYTES_PER_ROW + 1 + 1;
+
+    private HexDump() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * 转换为连续的大写十六进制字符串
+     *
+     * @param buffer 缓冲区，读取 position 到 limit 之间的字节
+     * @return 十六进制字符串，缓冲区为null或为空时返回空串
+     */
+    public static String toHex(ByteBuffer buffer) {
+        if (buffer == null || !buffer.hasRemaining()) {
+            return "";
+        }
+        int start = buffer.position();
+        int length = buffer.remaining();
+        char[] out = new char[length * 2];
+        for (int i = 0; i < length; i++) {
+            int b = buffer.get(start + i) & 0xFF;
+            out[i * 2] = DIGITS[b >>> 4];
+            out[i * 2 + 1] = DIGITS[b & 0x0F];
+        }
+        return new String(out);
+    }
+
+    /**
+     * 转换为连续的大写十六进制字符串
+     *
+     * @param data 字节数组
+     * @param offset 起始偏移
+     * @param length 字节数
+     * @return 十六进制字符串
+     */
+    public static String toHex(byte[] data, int offset, int length) {
+        return toHex(ByteBuffer.wrap(data, offset, length));
+    }
+
+    /**
+     * 生成按行排列的转储：偏移、十六进制字节和可打印字符
+     *
+     * <pre>
+     * 0000: 48 51 01 00 00 00 00 00 00 00 00 00 00 00 00 00 |HQ..............|
+     * </pre>
+     *
+     * @param buffer 缓冲区，读取 position 到 limit 之间的字节
+     * @param maxBytes 最多转储的字节数，超出部分不输出
+     * @return 转储文本，末行以换行结尾；缓冲区为null或为空时返回空串
+     */
+    public static String dump(ByteBuffer buffer, int maxBytes) {
+        if (buffer == null || !buffer.hasRemaining() || maxBytes <= 0) {
+            return "";
+        }
+        int start = buffer.position();
+        int length = Math.min(buffer.remaining(), maxBytes);
+        int rows = (length + BYTES_PER_ROW - 1) / BYTES_PER_ROW;
+        char[] out = new char[rows * ROW_CHARS];
+        int pos = 0;
+        for (int row = 0; row < rows; row++) {
+            int rowStart = row * BYTES_PER_ROW;
+            int offset = rowStart & 0xFFFF;
+            out[pos++] = DIGITS[offset >>> 12];
+            out[pos++] = DIGITS[(offset >>> 8) & 0x0F];
+            out[pos++] = DIGITS[(offset >>> 4) & 0x0F];
+            out[pos++] = DIGITS[offset & 0x0F];
+            out[pos++] = ':';
+            out[pos++] = ' ';
+            int ascii = pos + BYTES_PER_ROW * 3 + 1;
+            out[ascii - 1] = '|';
+            for (int i = 0; i < BYTES_PER_ROW; i++) {
+                int index = rowStart + i;
+                if (index < length) {
+                    int b = buffer.get(start + index) & 0xFF;
+                    out[pos++] = DIGITS[b >>> 4];
+                    out[pos++] = DIGITS[b & 0x0F];
+                    out[ascii + i] = b >= 0x20 && b < 0x7F ? (char) b : '.';
+                } else {
+                    out[pos++] = ' ';
+                    out[pos++] = ' ';
+                    out[ascii + i] = ' ';
+                }
+                out[pos++] = ' ';
+            }
+            pos = ascii + BYTES_PER_ROW;
+            out[pos++] = '|';
+            out[pos++] = '\n';
+        }
+        return new String(out);
+    }
+}
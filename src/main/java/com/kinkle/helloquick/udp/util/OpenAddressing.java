@@ -0,0 +1,128 @@
+package com.kinkle.helloquick.udp.util;
+
+/**
+ * 分段开放寻址表的公共算法
+ *
+ * <p>{@code OffHeapSessionStore}（直接内存槽位）和 {@code PresenceTable}（{@code long[]}）都是按哈希高位分段、
+ * 段内线性探测的开放寻址表，只是存储不同。这里集中放两者共用的部分：哈希混合、分段定位和后移填补删除。
+ * 表的存储通过 {@link Table} 访问，由各自的分段类实现，删除时不分配对象。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class OpenAddressing {
+
+    /**
+     * 黄金分割常数，用于在混合前打散多个键字段
+     */
+    public static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private OpenAddressing() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * 64位混合（splitmix64终结器），自增ID和相邻地址也能均匀分布
+     *
+     * @param value 输入
+     * @return 哈希值
+     */
+    public static long mix(long value) {
+        long h = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+
+    /**
+     * 向上取整为2的幂
+     *
+     * @param value 期望值，不大于 2^30
+     * @return 不小于 {@code value} 的最小2的幂，至少为1
+     */
+    public static int powerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    /**
+     * 计算分段移位数，分段下标取哈希的高位
+     *
+     * @param segmentCount 分段数，2的幂
+     * @return 移位数，只有一个分段时为64
+     */
+    public static int segmentShift(int segmentCount) {
+        return 64 - Integer.numberOfTrailingZeros(segmentCount);
+    }
+
+    /**
+     * 按哈希高位计算分段下标
+     *
+     * @param hash 哈希值
+     * @param segmentShift {@link #segmentShift(int)} 的结果
+     * @return 分段下标
+     */
+    public static int segmentIndex(long hash, int segmentShift) {
+        // Java的移位数按64取模，只有一个分段时不能直接移64位
+        return segmentShift == 64 ? 0 : (int) (hash >>> segmentShift);
+    }
+
+    /**
+     * 删除槽位并把后续探测链上的记录前移，保证查找不会在空槽处提前结束，不留墓碑
+     *
+     * @param table 表
+     * @param index 被删除的槽位下标
+     * @param mask 槽位数减1，槽位数为2的幂
+     */
+    public static void delete(Table table, int index, int mask) {
+        int hole = index;
+        int next = (hole + 1) & mask;
+        while (table.isUsed(next)) {
+            int home = (int) table.hashAt(next) & mask;
+            // home不在(hole, next]区间内（环形）时，记录可以前移到hole
+            boolean movable = hole <= next ? (home <= hole || home > next) : (home <= hole && home > next);
+            if (movable) {
+                table.move(next, hole);
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        table.clear(hole);
+    }
+
+    /**
+     * 开放寻址表的槽位访问
+     */
+    public interface Table {
+
+        /**
+         * 槽位是否占用
+         *
+         * @param index 槽位下标
+         * @return 是否占用
+         */
+        boolean isUsed(int index);
+
+        /**
+         * 重新计算槽位中记录的哈希值
+         *
+         * @param index 槽位下标
+         * @return 哈希值
+         */
+        long hashAt(int index);
+
+        /**
+         * 把记录从一个槽位复制到另一个槽位
+         *
+         * @param from 源槽位下标
+         * @param to 目标槽位下标
+         */
+        void move(int from, int to);
+
+        /**
+         * 把槽位标记为空闲
+         *
+         * @param index 槽位下标
+         */
+        void clear(int index);
+    }
+}
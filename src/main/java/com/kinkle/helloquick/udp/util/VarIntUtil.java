@@ -0,0 +1,112 @@
+package com.kinkle.helloquick.udp.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 变长整数工具类
+ *
+ * <p>采用LEB128无符号编码：每字节低7位为数据，最高位为1表示后面还有字节，低位组在前。
+ * 有符号数先做ZigZag映射（0→0，-1→1，1→2，…），使绝对值小的负数同样只占少量字节。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class VarIntUtil {
+
+    /**
+     * 64位数值编码后的最大字节数
+     */
+    public static final int MAX_LONG_LENGTH = 10;
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private VarIntUtil() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * 计算无符号编码长度
+     *
+     * @param value 数值，按无符号解释
+     * @return 编码字节数
+     */
+    public static int sizeOf(long value) {
+        // 有效位数按7位一组向上取整，0也占1字节
+        int bits = 64 - Long.numberOfLeadingZeros(value | 1);
+        return (bits + 6) / 7;
+    }
+
+    /**
+     * 写入无符号变长整数
+     *
+     * @param buffer 目标缓冲区
+     * @param value 数值，按无符号解释
+     */
+    public static void writeUnsigned(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * 读取无符号变长整数
+     *
+     * @param buffer 源缓冲区
+     * @return 数值
+     * @throws IllegalArgumentException 编码超过10字节或数据不足
+     */
+    public static long readUnsigned(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (!buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Truncated varint");
+            }
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint too long");
+    }
+
+    /**
+     * 读取不超过指定上限的无符号变长整数
+     *
+     * @param buffer 源缓冲区
+     * @param max 允许的最大值
+     * @return 数值
+     * @throws IllegalArgumentException 编码错误或超出上限
+     */
+    public static int readUnsignedInt(ByteBuffer buffer, int max) {
+        long value = readUnsigned(buffer);
+        if (value < 0 || value > max) {
+            throw new IllegalArgumentException("Varint out of range: " + value);
+        }
+        return (int) value;
+    }
+
+    /**
+     * ZigZag编码
+     *
+     * @param value 有符号数
+     * @return 无符号映射值
+     */
+    public static long zigZagEncode(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * ZigZag解码
+     *
+     * @param value 无符号映射值
+     * @return 有符号数
+     */
+    public static long zigZagDecode(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -1,11 +1,16 @@
 package com.kinkle.helloquick.user.controller;
 
+import com.kinkle.helloquick.common.exception.BusinessException;
 import com.kinkle.helloquick.common.result.PageResult;
 import com.kinkle.helloquick.common.result.Result;
+import com.kinkle.helloquick.common.result.ResultCode;
+import com.kinkle.helloquick.udp.presence.PresenceService;
+import com.kinkle.helloquick.udp.presence.UserPresence;
 import com.kinkle.helloquick.user.dto.UserDTO;
 import com.kinkle.helloquick.user.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -13,6 +18,9 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
 
 /**
  * 用户控制器
@@ -33,6 +41,7 @@ import jakarta.validation.constraints.Min;
 public class UserController {
 
     private final UserService userService;
+    private final ObjectProvider<PresenceService> presenceServiceProvider;
 
     /**
      * 创建用户
@@ -193,6 +202,35 @@ public class UserController {
         return ResponseEntity.ok(Result.success(exists, "邮箱检查完成"));
     }
 
+    /**
+     * 获取用户在线状态
+     *
+     * @param id 用户ID
+     * @return 在线状态
+     */
+    @GetMapping("/{id}/presence")
+    public ResponseEntity<Result<UserPresence>> getUserPresence(@PathVariable @Min(1) Long id) {
+        log.debug("获取用户在线状态请求: ID={}", id);
+
+        UserPresence presence = presenceService().getPresence(id);
+        return ResponseEntity.ok(Result.success(presence, "用户在线状态获取成功"));
+    }
+
+    /**
+     * 批量获取用户在线状态
+     *
+     * @param ids 用户ID列表
+     * @return 与请求顺序一致的在线状态
+     */
+    @PostMapping("/presence")
+    public ResponseEntity<Result<List<UserPresence>>> getUsersPresence(@RequestBody List<@NotNull Long> ids) {
+        log.debug("批量获取用户在线状态请求: count={}", ids.size());
+
+        long[] userIds = ids.stream().mapToLong(Long::longValue).toArray();
+        List<UserPresence> presences = presenceService().getPresence(userIds);
+        return ResponseEntity.ok(Result.success(presences, "用户在线状态获取成功"));
+    }
+
     /**
      * 获取用户统计信息
      *
@@ -220,4 +258,17 @@ public class UserController {
     public static class UserStatistics {
         private long enabledUserCount;
     }
+
+    /**
+     * 获取在线状态服务，未启用UDP时没有心跳来源
+     *
+     * @return 在线状态服务
+     */
+    private PresenceService presenceService() {
+        PresenceService presenceService = presenceServiceProvider.getIfAvailable();
+        if (presenceService == null) {
+            throw new BusinessException(ResultCode.SERVICE_UNAVAILABLE, "UDP服务未启用");
+        }
+        return presenceService;
+    }
 }
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -116,4 +117,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
                                 @Param("email") String email,
                                 @Param("status") Integer status,
                                 Pageable pageable);
+
+    /**
+     * 按ID升序读取指定ID之后的用户
+     *
+     * @param id       起始ID（不包含）
+     * @param pageable 分页参数
+     * @return 用户列表
+     */
+    List<User> findByIdGreaterThan(Long id, Pageable pageable);
 }
@@ -2,11 +2,12 @@ package com.kinkle.helloquick.user.service.impl;
 
 import com.kinkle.helloquick.common.exception.BusinessException;
 import com.kinkle.helloquick.common.result.PageResult;
+import com.kinkle.helloquick.udp.login.UdpLoginService;
+import com.kinkle.helloquick.udp.sync.DataSyncService;
 import com.kinkle.helloquick.user.dto.UserDTO;
 import com.kinkle.helloquick.user.entity.User;
 import com.kinkle.helloquick.user.repository.UserRepository;
 import com.kinkle.helloquick.user.service.UserService;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
@@ -14,6 +15,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -33,12 +35,29 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final DataSyncService dataSyncService;
+    private final UdpLoginService udpLoginService;
+
+    /**
+     * 构造函数
+     *
+     * @param userRepository 用户仓库
+     * @param passwordEncoder 密码编码器
+     * @param dataSyncService 数据同步服务，未启用UDP时为null
+     * @param udpLoginService UDP登录服务，未启用UDP时为null
+     */
+    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                           @Nullable DataSyncService dataSyncService, @Nullable UdpLoginService udpLoginService) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.dataSyncService = dataSyncService;
+        this.udpLoginService = udpLoginService;
+    }
 
     @Override
     @Transactional
@@ -68,7 +87,9 @@ public class UserServiceImpl implements UserService {
         User savedUser = userRepository.save(user);
         log.info("用户创建成功: ID={}, Username={}", savedUser.getId(), savedUser.getUsername());
 
-        return convertToDTO(savedUser);
+        UserDTO userDTO = convertToDTO(savedUser);
+        publishUpsert(savedUser.getId(), userDTO);
+        return userDTO;
     }
 
         @Override
@@ -116,7 +137,10 @@ public class UserServiceImpl implements UserService {
         User updatedUser = userRepository.save(user);
         log.info("用户信息更新成功: ID={}, Username={}", updatedUser.getId(), updatedUser.getUsername());
 
-        return convertToDTO(updatedUser);
+        // 提交后写入同步变更日志，客户端通过DATA_SYNC获取增量
+        UserDTO userDTO = convertToDTO(updatedUser);
+        publishUpsert(updatedUser.getId(), userDTO);
+        return userDTO;
     }
 
     @Override
@@ -130,6 +154,8 @@ public class UserServiceImpl implements UserService {
         }
 
         userRepository.deleteById(id);
+        publishDelete(id);
+        invalidateLogin(id);
         log.info("用户删除成功: ID={}", id);
     }
 
@@ -144,6 +170,7 @@ public class UserServiceImpl implements UserService {
 
         user.enable();
         userRepository.save(user);
+        publishUpsert(user.getId(), convertToDTO(user));
         log.info("用户启用成功: ID={}, Username={}", user.getId(), user.getUsername());
     }
 
@@ -158,6 +185,8 @@ public class UserServiceImpl implements UserService {
 
         user.disable();
         userRepository.save(user);
+        publishUpsert(user.getId(), convertToDTO(user));
+        invalidateLogin(user.getId());
         log.info("用户禁用成功: ID={}, Username={}", user.getId(), user.getUsername());
     }
 
@@ -182,6 +211,7 @@ public class UserServiceImpl implements UserService {
         // 更新密码
         user.setPassword(passwordEncoder.encode(changePasswordRequest.getNewPassword()));
         userRepository.save(user);
+        invalidateLogin(user.getId());
         log.info("用户密码修改成功: ID={}, Username={}", user.getId(), user.getUsername());
     }
 
@@ -268,4 +298,38 @@ public class UserServiceImpl implements UserService {
                 .updatedAt(userDTO.getUpdatedAt())
                 .build();
     }
+
+    /**
+     * 提交后发布用户新增或更新，未启用UDP时跳过
+     *
+     * @param id 用户ID
+     * @param userDTO 用户信息
+     */
+    private void publishUpsert(Long id, UserDTO userDTO) {
+        if (dataSyncService != null) {
+            dataSyncService.publishUpsert(UserSyncSource.DATASET_ID, id, userDTO);
+        }
+    }
+
+    /**
+     * 提交后发布用户删除，未启用UDP时跳过
+     *
+     * @param id 用户ID
+     */
+    private void publishDelete(Long id) {
+        if (dataSyncService != null) {
+            dataSyncService.publishDelete(UserSyncSource.DATASET_ID, id);
+        }
+    }
+
+    /**
+     * 使该用户的UDP登录验证缓存失效，未启用UDP时跳过
+     *
+     * @param id 用户ID
+     */
+    private void invalidateLogin(Long id) {
+        if (udpLoginService != null) {
+            udpLoginService.invalidateUser(id);
+        }
+    }
 }
@@ -0,0 +1,50 @@
+package com.kinkle.helloquick.user.service.impl;
+
+import com.kinkle.helloquick.udp.sync.SyncSource;
+import com.kinkle.helloquick.user.repository.UserRepository;
+import com.kinkle.helloquick.user.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 用户资料同步数据源
+ * <p>
+ * 为UDP数据同步提供用户资料快照，记录主键为用户ID，记录内容为 {@link com.kinkle.helloquick.user.dto.UserDTO}。
+ * </p>
+ *
+ * @author Hello Quick Team
+ * @version 0.0.1-SNAPSHOT
+ */
+@Component
+@RequiredArgsConstructor
+public class UserSyncSource implements SyncSource {
+
+    /**
+     * 用户资料数据集ID
+     */
+    public static final short DATASET_ID = 1;
+
+    private final UserRepository userRepository;
+    private final UserService userService;
+
+    @Override
+    public short getDatasetId() {
+        return DATASET_ID;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map.Entry<Long, Object>> page(long afterKey, int limit) {
+        return userRepository.findByIdGreaterThan(afterKey, PageRequest.of(0, limit, Sort.by("id")))
+                .stream()
+                .map(user -> Map.<Long, Object>entry(user.getId(), userService.convertToDTO(user)))
+                .collect(Collectors.toList());
+    }
+}
@@ -83,6 +83,20 @@ class GlobalExceptionHandlerTest {
             assertThat(getResponseBodySafely(paramErrorResponse).getCode()).isEqualTo(ResultCode.PARAM_ERROR.getCode());
             assertThat(getResponseBodySafely(unauthorizedResponse).getCode()).isEqualTo(ResultCode.UNAUTHORIZED.getCode());
         }
+
+        @Test
+        @DisplayName("服务不可用应该返回503")
+        void shouldReturnServiceUnavailableStatus() {
+            // Given
+            BusinessException exception = new BusinessException(ResultCode.SERVICE_UNAVAILABLE, "UDP服务未启用");
+
+            // When
+            ResponseEntity<Result<Void>> response = globalExceptionHandler.handleBusinessException(exception);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+            assertThat(getResponseBodySafely(response).getCode()).isEqualTo(ResultCode.SERVICE_UNAVAILABLE.getCode());
+        }
     }
 
     @Nested
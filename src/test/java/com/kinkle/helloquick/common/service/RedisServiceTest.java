@@ -10,8 +10,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.HashOperations;
 import org.springframework.data.redis.core.ListOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.SetOperations;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 
 
 import java.util.*;
@@ -110,6 +112,22 @@ class RedisServiceTest {
             verify(valueOperations).set(key, value);
         }
 
+        @Test
+        @DisplayName("当前值等于期望值时才替换")
+        void shouldCompareAndSetOnlyWhenValueMatches() {
+            // Given
+            String key = "test:owner";
+            when(redisTemplate.execute(any(RedisScript.class), eq(List.of(key)), eq("node-a"), eq("node-b"), eq(60L)))
+                .thenReturn(1L);
+            when(redisTemplate.execute(any(RedisScript.class), eq(List.of(key)), eq("node-c"), eq("node-b"), eq(60L)))
+                .thenReturn(0L);
+
+            // When & Then
+            assertThat(redisService.compareAndSet(key, "node-a", "node-b", 60L)).isTrue();
+            assertThat(redisService.compareAndSet(key, "node-c", "node-b", 60L)).isFalse();
+            assertThat(redisService.compareAndSet(key, "node-a", "node-b", 0L)).isFalse();
+        }
+
         @Test
         @DisplayName("应该成功设置带过期时间的缓存")
         void shouldSetCacheWithExpireSuccessfully() {
@@ -536,4 +554,189 @@ class RedisServiceTest {
             verify(redisTemplate, never()).delete(any(String.class));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 执行管道回调，让命令落到模拟的操作对象上，并返回给定的管道结果
+     */
+    private void stubPipeline(List<Object> results) {
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            SessionCallback<?> callback = invocation.getArgument(0);
+            callback.execute(redisTemplate);
+            return results;
+        });
+    }
+
+    @Nested
+    @DisplayName("批量与管道操作测试")
+    class BatchOperationsTest {
+
+        @Test
+        @DisplayName("应该用一次MGET批量获取缓存")
+        void shouldGetMultipleKeysWithSingleCommand() {
+            // Given
+            List<String> keys = List.of("key1", "key2", "key3");
+            when(valueOperations.multiGet(keys)).thenReturn(Arrays.asList("v1", null, "v3"));
+
+            // When
+            List<Object> result = redisService.mget(keys);
+
+            // Then
+            assertThat(result).containsExactly("v1", null, "v3");
+            verify(valueOperations).multiGet(keys);
+        }
+
+        @Test
+        @DisplayName("应该在一个管道中批量设置带过期时间的缓存")
+        void shouldSetMultipleKeysWithTtlInOnePipeline() {
+            // Given
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("key1", "v1");
+            values.put("key2", "v2");
+            stubPipeline(List.of(true, true));
+
+            // When
+            boolean result = redisService.mset(values, 60);
+
+            // Then
+            assertThat(result).isTrue();
+            verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+            verify(valueOperations).set("key1", "v1", 60, TimeUnit.SECONDS);
+            verify(valueOperations).set("key2", "v2", 60, TimeUnit.SECONDS);
+        }
+
+        @Test
+        @DisplayName("任一SET失败时批量设置应该返回false")
+        void shouldReportPartialSetFailure() {
+            // Given
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("key1", "v1");
+            values.put("key2", "v2");
+            stubPipeline(List.of(true, false));
+
+            // When
+            boolean result = redisService.mset(values, 60);
+
+            // Then
+            assertThat(result).isFalse();
+        }
+
+        @Test
+        @DisplayName("没有过期时间时应该使用MSET")
+        void shouldUseMsetWithoutTtl() {
+            // Given
+            Map<String, Object> values = Map.of("key1", "v1");
+
+            // When
+            boolean result = redisService.mset(values, 0);
+
+            // Then
+            assertThat(result).isTrue();
+            verify(valueOperations).multiSet(values);
+            verify(redisTemplate, never()).executePipelined(any(SessionCallback.class));
+        }
+
+        @Test
+        @DisplayName("应该在一个管道中批量设置过期时间并统计成功数")
+        void shouldExpireMultipleKeysInOnePipeline() {
+            // Given
+            List<String> keys = List.of("key1", "key2", "key3");
+            stubPipeline(List.of(true, false, true));
+
+            // When
+            long result = redisService.batchExpire(keys, 30);
+
+            // Then
+            assertThat(result).isEqualTo(2L);
+            verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+            verify(redisTemplate).expire("key1", 30, TimeUnit.SECONDS);
+            verify(redisTemplate).expire("key3", 30, TimeUnit.SECONDS);
+        }
+
+        @Test
+        @DisplayName("应该按顺序返回多张Hash表")
+        void shouldGetMultipleHashesInOrder() {
+            // Given
+            stubPipeline(List.of(Map.of("f", "v"), new HashMap<>()));
+
+            // When
+            Map<String, Map<String, Object>> result = redisService.multiHget(List.of("h1", "h2"));
+
+            // Then
+            assertThat(result).containsOnlyKeys("h1", "h2");
+            assertThat(result.get("h1")).containsEntry("f", "v");
+            assertThat(result.get("h2")).isEmpty();
+            verify(hashOperations).entries("h1");
+            verify(hashOperations).entries("h2");
+        }
+
+        @Test
+        @DisplayName("带过期时间的HashSet应该只发一次管道")
+        void shouldSetHashWithTtlInOnePipeline() {
+            // Given
+            Map<String, Object> hashMap = Map.of("field1", "value1");
+            stubPipeline(List.of(true));
+
+            // When
+            boolean result = redisService.hmset("test:hash", hashMap, 60);
+
+            // Then
+            assertThat(result).isTrue();
+            verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+            verify(hashOperations).putAll("test:hash", hashMap);
+            verify(redisTemplate).expire("test:hash", 60, TimeUnit.SECONDS);
+        }
+
+        @Test
+        @DisplayName("管道命令应该按顺序得到各自类型的结果")
+        void shouldCompleteTypedResponses() {
+            // Given
+            stubPipeline(List.of("cached", 5L, true));
+            List<RedisOps.Response<?>> responses = new ArrayList<>();
+
+            // When
+            boolean result = redisService.pipeline(ops -> {
+                responses.add(ops.get("key1"));
+                responses.add(ops.incr("counter", 5));
+                responses.add(ops.hasKey("key2"));
+            });
+
+            // Then
+            assertThat(result).isTrue();
+            assertThat(responses.get(0).get()).isEqualTo("cached");
+            assertThat(responses.get(1).get()).isEqualTo(5L);
+            assertThat(responses.get(2).get()).isEqualTo(true);
+        }
+
+        @Test
+        @DisplayName("管道结果数与命令数不一致时应该返回false")
+        void shouldFailOnResultCountMismatch() {
+            // Given
+            stubPipeline(List.of("only-one"));
+            List<RedisOps.Response<?>> responses = new ArrayList<>();
+
+            // When
+            boolean result = redisService.pipeline(ops -> {
+                responses.add(ops.get("key1"));
+                responses.add(ops.get("key2"));
+            });
+
+            // Then
+            assertThat(result).isFalse();
+            assertThat(responses.get(0).isDone()).isFalse();
+        }
+
+        @Test
+        @DisplayName("管道执行异常时应该返回false")
+        void shouldHandlePipelineFailure() {
+            // Given
+            when(redisTemplate.executePipelined(any(SessionCallback.class)))
+                .thenThrow(new RuntimeException("connection refused"));
+
+            // When
+            long result = redisService.batchExpire(List.of("key1"), 30);
+
+            // Then
+            assertThat(result).isEqualTo(0L);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.kinkle.helloquick.udp.benchmark;
+
+import com.kinkle.helloquick.udp.session.OffHeapSessionStore;
+import com.kinkle.helloquick.udp.session.SessionSlot;
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 会话存储GC停顿对比
+ *
+ * <p>分别用 {@link OffHeapSessionStore} 和 {@code ConcurrentHashMap<InetSocketAddress, 会话对象>}
+ * 保存同样字段的会话，先装入全部会话，再在固定时长内模拟收包：随机选取会话更新活跃时间，
+ * 每100次操作删除并重建一个会话，每次操作另外分配一块短命的请求缓冲区制造新生代压力。
+ * 最后执行一次 {@code System.gc()}。输出装入耗时、GC后的堆占用、收包阶段的GC次数、累计停顿和最长停顿，
+ * 以及Full GC耗时。</p>
+ *
+ * <p>每次运行只测一种存储，两种存储应在相同JVM参数下分别启动，例如：
+ * {@code java -Xms3g -Xmx3g -XX:MaxDirectMemorySize=2g -cp <test-classpath>
+ * com.kinkle.helloquick.udp.benchmark.SessionStoreGcBenchmark offheap 5000000 30}。
+ * 类名不以Test结尾，不会在单元测试阶段执行。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class SessionStoreGcBenchmark {
+
+    private static final int CHURN_INTERVAL = 100;
+
+    private static final int REQUEST_BUFFER_SIZE = 512;
+
+    private static final AtomicLong PAUSE_COUNT = new AtomicLong();
+
+    private static final AtomicLong PAUSE_TOTAL_MILLIS = new AtomicLong();
+
+    private static final AtomicLong PAUSE_MAX_MILLIS = new AtomicLong();
+
+    private static volatile byte[] sink;
+
+    private SessionStoreGcBenchmark() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "offheap";
+        int sessions = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        listenForPauses();
+
+        SessionWorkload workload = "heap".equals(mode) ? new HeapWorkload() : new OffHeapWorkload(sessions);
+        long start = System.nanoTime();
+        for (int i = 0; i < sessions; i++) {
+            workload.create(i, System.currentTimeMillis());
+        }
+        long populateMillis = (System.nanoTime() - start) / 1_000_000;
+        System.gc();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long heapUsed = memory.getHeapMemoryUsage().getUsed();
+
+        resetPauses();
+        long operations = 0;
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            for (int batch = 0; batch < 1000; batch++) {
+                int index = random.nextInt(sessions);
+                long now = System.currentTimeMillis();
+                if (++operations % CHURN_INTERVAL == 0) {
+                    workload.remove(index);
+                    workload.create(index, now);
+                } else {
+                    workload.touch(index, now);
+                }
+                sink = new byte[REQUEST_BUFFER_SIZE];
+            }
+        }
+        long youngCount = PAUSE_COUNT.get();
+        long youngTotal = PAUSE_TOTAL_MILLIS.get();
+        long youngMax = PAUSE_MAX_MILLIS.get();
+
+        long fullStart = System.nanoTime();
+        System.gc();
+        long fullMillis = (System.nanoTime() - fullStart) / 1_000_000;
+
+        System.out.println("mode,sessions,populateMs,heapUsedMB,directMB,opsPerSec,gcCount,gcTotalMs,gcMaxMs,fullGcMs");
+        System.out.printf("%s,%d,%d,%d,%d,%d,%d,%d,%d,%d%n", mode, sessions, populateMillis, heapUsed >> 20,
+            workload.directBytes() >> 20, operations / seconds, youngCount, youngTotal, youngMax, fullMillis);
+    }
+
+    private static void listenForPauses() {
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            ((NotificationEmitter) gc).addNotificationListener((notification, handback) -> {
+                if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                    return;
+                }
+                GarbageCollectionNotificationInfo info =
+                    GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                // 并发周期（如G1 Concurrent Cycle）不是停顿
+                if (info.getGcName().contains("Concurrent")) {
+                    return;
+                }
+                long duration = info.getGcInfo().getDuration();
+                PAUSE_COUNT.incrementAndGet();
+                PAUSE_TOTAL_MILLIS.addAndGet(duration);
+                PAUSE_MAX_MILLIS.accumulateAndGet(duration, Math::max);
+            }, null, null);
+        }
+    }
+
+    private static void resetPauses() {
+        PAUSE_COUNT.set(0);
+        PAUSE_TOTAL_MILLIS.set(0);
+        PAUSE_MAX_MILLIS.set(0);
+    }
+
+    /**
+     * 由下标生成的对端地址：10.x.y.z，端口按下标错开
+     */
+    private static long addressLow(int index) {
+        return 0x0000FFFF00000000L | 0x0A000000L | (index & 0xFFFFFF);
+    }
+
+    private static int port(int index) {
+        return 1024 + (index >>> 24);
+    }
+
+    private interface SessionWorkload {
+
+        void create(int index, long now);
+
+        void touch(int index, long now);
+
+        void remove(int index);
+
+        long directBytes();
+    }
+
+    private static final class OffHeapWorkload implements SessionWorkload {
+
+        private final OffHeapSessionStore store;
+
+        private final SessionSlot slot = new SessionSlot();
+
+        private OffHeapWorkload(int sessions) {
+            this.store = new OffHeapSessionStore(sessions, 64);
+        }
+
+        @Override
+        public void create(int index, long now) {
+            if (store.open(0, addressLow(index), port(index), slot, true)) {
+                try (slot) {
+                    slot.setAuthStatus(SessionSlot.AUTH_AUTHENTICATED);
+                    slot.setUserId(index);
+                    slot.setCreatedAt(now);
+                    slot.setLastSeen(now);
+                }
+            }
+        }
+
+        @Override
+        public void touch(int index, long now) {
+            if (store.open(0, addressLow(index), port(index), slot, false)) {
+                try (slot) {
+                    slot.setLastSeen(now);
+                }
+            }
+        }
+
+        @Override
+        public void remove(int index) {
+            store.remove(0, addressLow(index), port(index));
+        }
+
+        @Override
+        public long directBytes() {
+            return store.getMemoryBytes();
+        }
+    }
+
+    private static final class HeapWorkload implements SessionWorkload {
+
+        private final ConcurrentHashMap<InetSocketAddress, HeapSession> sessions = new ConcurrentHashMap<>();
+
+        @Override
+        public void create(int index, long now) {
+            HeapSession session = new HeapSession();
+            session.authStatus = SessionSlot.AUTH_AUTHENTICATED;
+            session.userId = index;
+            session.createdAt = now;
+            session.lastSeen = now;
+            sessions.put(peer(index), session);
+        }
+
+        @Override
+        public void touch(int index, long now) {
+            HeapSession session = sessions.get(peer(index));
+            if (session != null) {
+                synchronized (session) {
+                    session.lastSeen = now;
+                }
+            }
+        }
+
+        @Override
+        public void remove(int index) {
+            sessions.remove(peer(index));
+        }
+
+        @Override
+        public long directBytes() {
+            return 0;
+        }
+
+        private static InetSocketAddress peer(int index) {
+            long low = addressLow(index);
+            byte[] address = {(byte) (low >>> 24), (byte) (low >>> 16), (byte) (low >>> 8), (byte) low};
+            try {
+                return new InetSocketAddress(InetAddress.getByAddress(address), port(index));
+            } catch (UnknownHostException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * 与堆外槽位字段相同的堆上会话
+     */
+    private static final class HeapSession {
+
+        private long userId;
+
+        private long createdAt;
+
+        private long lastSeen;
+
+        private int authStatus;
+
+        private final byte[] sessionId = new byte[OffHeapSessionStore.SESSION_ID_LENGTH];
+    }
+}
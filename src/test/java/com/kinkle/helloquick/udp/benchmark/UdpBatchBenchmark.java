@@ -0,0 +1,148 @@
+package com.kinkle.helloquick.udp.benchmark;
+
+import com.kinkle.helloquick.config.AppProperties;
+import com.kinkle.helloquick.udp.codec.ResponseTemplate;
+import com.kinkle.helloquick.udp.codec.ResponseTemplates;
+import com.kinkle.helloquick.udp.handler.HeartbeatHandler;
+import com.kinkle.helloquick.udp.handler.ProtocolDispatcher;
+import com.kinkle.helloquick.udp.server.UdpServer;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.util.ReferenceCountUtil;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * UDP批量收发基准
+ *
+ * <p>在本机回环上启动 {@link UdpServer}，用HEARTBEAT请求压测，分别在启用与关闭批量收发
+ * （recvmmsg/sendmmsg/GSO/GRO）时输出吞吐（pps）、每核吞吐（以进程CPU时间折算）以及
+ * 每个数据包平均对应的读批次数。读批次数是每包接收系统调用次数的下界估计，精确的
+ * 系统调用计数可用 {@code strace -c -f -e trace=recvmsg,recvmmsg,sendmsg,sendmmsg} 获取。</p>
+ *
+ * <p>运行方式：{@code java -cp <test-classpath> com.kinkle.helloquick.udp.benchmark.UdpBatchBenchmark [packets] [window]}。
+ * 类名不以Test结尾，不会在单元测试阶段执行。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class UdpBatchBenchmark {
+
+    private static final int BASE_PORT = 19090;
+
+    private UdpBatchBenchmark() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static void main(String[] args) throws Exception {
+        int packets = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int window = args.length > 1 ? Integer.parseInt(args[1]) : 512;
+
+        System.out.println("mode,transport,packets,lost,pps,ppsPerCore,readBatchesPerPacket");
+        run("batch", true, BASE_PORT, packets, window);
+        run("single", false, BASE_PORT + 1, packets, window);
+    }
+
+    private static void run(String mode, boolean batchEnabled, int port, int packets, int window) throws Exception {
+        AppProperties properties = new AppProperties();
+        AppProperties.Udp udp = properties.getUdp();
+        udp.setPort(port);
+        udp.setIoThreads(1);
+        udp.getBatch().setEnabled(batchEnabled);
+
+        ProtocolDispatcher dispatcher = new ProtocolDispatcher(List.of(new HeartbeatHandler()));
+        UdpServer server = new UdpServer(properties, dispatcher, null, null, null);
+        server.start();
+        LongAdder readBatches = new LongAdder();
+        for (Channel channel : server.getChannels()) {
+            channel.pipeline().addFirst("readBatchCounter", new ChannelInboundHandlerAdapter() {
+                @Override
+                public void channelReadComplete(ChannelHandlerContext ctx) {
+                    readBatches.increment();
+                    ctx.fireChannelReadComplete();
+                }
+            });
+        }
+
+        EventLoopGroup clientGroup = new NioEventLoopGroup(1);
+        Semaphore permits = new Semaphore(window);
+        try {
+            Channel client = new Bootstrap()
+                .group(clientGroup)
+                .channel(NioDatagramChannel.class)
+                .handler(new ChannelInboundHandlerAdapter() {
+                    @Override
+                    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                        ReferenceCountUtil.release(msg);
+                        permits.release();
+                    }
+                })
+                .bind(0).sync().channel();
+
+            InetSocketAddress target = new InetSocketAddress("127.0.0.1", port);
+            ResponseTemplate request = ResponseTemplates.heartbeat();
+            // 预热
+            send(client, target, request, permits, packets / 10);
+            permits.tryAcquire(window, 1, TimeUnit.SECONDS);
+            permits.drainPermits();
+            permits.release(window);
+            readBatches.reset();
+
+            long cpuStart = processCpuNanos();
+            long start = System.nanoTime();
+            int lost = send(client, target, request, permits, packets);
+            if (!permits.tryAcquire(window, 1, TimeUnit.SECONDS)) {
+                lost += window - permits.availablePermits();
+            }
+            long elapsed = System.nanoTime() - start;
+            long cpu = processCpuNanos() - cpuStart;
+
+            double pps = packets * 1e9 / elapsed;
+            double cores = cpu > 0 ? (double) cpu / elapsed : 1.0;
+            System.out.printf("%s,%s,%d,%d,%.0f,%.0f,%.4f%n", mode, server.getTransport(), packets, lost,
+                pps, pps / cores, readBatches.sum() / (double) packets);
+            client.close().sync();
+        } finally {
+            clientGroup.shutdownGracefully().sync();
+            server.stop();
+        }
+    }
+
+    private static int send(Channel client, InetSocketAddress target, ResponseTemplate request,
+                            Semaphore permits, int packets) throws InterruptedException {
+        int lost = 0;
+        for (int i = 0; i < packets; i++) {
+            if (!permits.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                // 超时视为丢包，补回一个窗口名额
+                lost++;
+            }
+            client.write(new DatagramPacket(request.render(ByteBufAllocator.DEFAULT, i, System.currentTimeMillis()), target));
+            if ((i & 31) == 31) {
+                client.flush();
+            }
+        }
+        client.flush();
+        return lost;
+    }
+
+    private static long processCpuNanos() {
+        java.lang.management.OperatingSystemMXBean bean = ManagementFactory.getOperatingSystemMXBean();
+        if (bean instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) bean).getProcessCpuTime();
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,176 @@
+package com.kinkle.helloquick.udp.benchmark;
+
+import com.kinkle.helloquick.config.AppProperties;
+import com.kinkle.helloquick.udp.client.UdpClient;
+import com.kinkle.helloquick.udp.handler.HeartbeatHandler;
+import com.kinkle.helloquick.udp.handler.ProtocolDispatcher;
+import com.kinkle.helloquick.udp.impair.ImpairmentModel;
+import com.kinkle.helloquick.udp.impair.ImpairmentProfile;
+import com.kinkle.helloquick.udp.impair.ImpairmentProxy;
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import com.kinkle.helloquick.udp.server.UdpServer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * UDP网络损伤场景基准
+ *
+ * <p>在本机回环上启动 {@link UdpServer} 和 {@link ImpairmentProxy}，{@link UdpClient} 经代理以固定速率发送
+ * HEARTBEAT请求，逐个场景切换代理的损伤参数，输出每个场景的有效吞吐（按时收到的响应）、
+ * 往返时延分位数以及代理实际施加的丢包、排队丢弃和重复次数。相同种子与参数下结果可重复，可用于回归比较。</p>
+ *
+ * <p>场景脚本每行一个场景：{@code 名称 持续毫秒 上行参数 [下行参数]}，参数格式见 {@link ImpairmentProfile#parse(String)}，
+ * 省略下行参数时与上行相同，{@code #} 开头为注释。未指定脚本时使用内置场景。</p>
+ *
+ * <p>运行方式：{@code java -cp <test-classpath> com.kinkle.helloquick.udp.benchmark.UdpImpairmentBenchmark [rate] [scenarioFile]}。
+ * 类名不以Test结尾，不会在单元测试阶段执行。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class UdpImpairmentBenchmark {
+
+    private static final int PORT = 19290;
+
+    private static final long TIMEOUT_MILLIS = 1000;
+
+    private static final long SEED = 20261018L;
+
+    private static final List<String> DEFAULT_SCENARIOS = List.of(
+        "clean 3000 none",
+        "wan 3000 delay=20,jitter=5",
+        "loss1 3000 loss=0.01,delay=20,jitter=5",
+        "loss5 3000 loss=0.05,delay=20,jitter=5",
+        "reorder 3000 reorder=0.05,reorderDelay=15,delay=20",
+        "duplicate 3000 duplicate=0.02,delay=20",
+        "narrow 3000 bandwidth=20000,maxQueueDelay=100,delay=10 none"
+    );
+
+    private UdpImpairmentBenchmark() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rate = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        List<String> scenarios = args.length > 1 ? readScenarios(args[1]) : DEFAULT_SCENARIOS;
+
+        AppProperties properties = new AppProperties();
+        AppProperties.Udp udp = properties.getUdp();
+        udp.setPort(PORT);
+        udp.setIoThreads(1);
+        ProtocolDispatcher dispatcher = new ProtocolDispatcher(List.of(new HeartbeatHandler()));
+        UdpServer server = new UdpServer(properties, dispatcher, null, null, null);
+        server.start();
+
+        EventLoopGroup group = new NioEventLoopGroup(2);
+        ImpairmentProxy proxy = new ImpairmentProxy(group, 0, new InetSocketAddress("127.0.0.1", PORT),
+            ImpairmentProfile.none(), ImpairmentProfile.none(), SEED);
+        UdpClient client = null;
+        try {
+            proxy.start();
+            client = new UdpClient(group, proxy.getLocalAddress(), TIMEOUT_MILLIS, 65536);
+            client.start();
+            LongAdder unsolicited = new LongAdder();
+            client.onUnsolicited(envelope -> unsolicited.increment());
+
+            System.out.println("scenario,sent,ok,timeout,extra,goodputPps,goodputBps,p50Ms,p99Ms,maxMs,"
+                + "upLost,upQueueDropped,upDuplicated,downLost,downQueueDropped,downDuplicated");
+            for (String line : scenarios) {
+                String[] parts = line.trim().split("\\s+");
+                ImpairmentProfile up = ImpairmentProfile.parse(parts[2]);
+                ImpairmentProfile down = ImpairmentProfile.parse(parts.length > 3 ? parts[3] : parts[2]);
+                run(parts[0], Long.parseLong(parts[1]), rate, client, proxy, up, down, unsolicited);
+            }
+        } finally {
+            if (client != null) {
+                client.close();
+            }
+            proxy.close();
+            group.shutdownGracefully().sync();
+            server.stop();
+        }
+    }
+
+    private static void run(String name, long durationMillis, int rate, UdpClient client, ImpairmentProxy proxy,
+                            ImpairmentProfile up, ImpairmentProfile down, LongAdder unsolicited) throws Exception {
+        proxy.setProfiles(up, down);
+        proxy.getUpstream().resetStats();
+        proxy.getDownstream().resetStats();
+        unsolicited.reset();
+
+        int total = (int) (rate * durationMillis / 1000);
+        long[] latencies = new long[total];
+        AtomicInteger ok = new AtomicInteger();
+        AtomicInteger timeout = new AtomicInteger();
+        List<CompletableFuture<?>> futures = new ArrayList<>(total);
+        LongAdder bytes = new LongAdder();
+
+        long start = System.nanoTime();
+        long intervalNanos = 1_000_000_000L / rate;
+        for (int i = 0; i < total; i++) {
+            long due = start + i * intervalNanos;
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            long sentAt = System.nanoTime();
+            int index = i;
+            futures.add(client.request(new UdpPacket(ProtocolConstants.SystemProtocols.HEARTBEAT, new byte[0]))
+                .whenComplete((response, error) -> {
+                    if (error == null) {
+                        latencies[index] = System.nanoTime() - sentAt;
+                        bytes.add(response.getTotalLength());
+                        ok.incrementAndGet();
+                    } else {
+                        timeout.incrementAndGet();
+                    }
+                }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).exceptionally(e -> null).join();
+        long elapsed = System.nanoTime() - start;
+        // 等待迟到的重复响应
+        TimeUnit.MILLISECONDS.sleep(100);
+
+        long[] completed = Arrays.stream(latencies).filter(value -> value > 0).sorted().toArray();
+        ImpairmentModel upModel = proxy.getUpstream();
+        ImpairmentModel downModel = proxy.getDownstream();
+        System.out.printf("%s,%d,%d,%d,%d,%.0f,%.0f,%.2f,%.2f,%.2f,%d,%d,%d,%d,%d,%d%n",
+            name, total, ok.get(), timeout.get(), unsolicited.sum(),
+            ok.get() * 1e9 / elapsed, bytes.sum() * 1e9 / elapsed,
+            percentile(completed, 0.50), percentile(completed, 0.99), percentile(completed, 1.0),
+            upModel.getLost(), upModel.getQueueDropped(), upModel.getDuplicated(),
+            downModel.getLost(), downModel.getQueueDropped(), downModel.getDuplicated());
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static List<String> readScenarios(String file) throws IOException {
+        List<String> scenarios = new ArrayList<>();
+        for (String line : Files.readAllLines(Paths.get(file))) {
+            if (!line.isBlank() && !line.trim().startsWith("#")) {
+                scenarios.add(line);
+            }
+        }
+        return scenarios;
+    }
+}
@@ -0,0 +1,569 @@
+package com.kinkle.helloquick.udp.benchmark;
+
+import com.kinkle.helloquick.config.AppProperties;
+import com.kinkle.helloquick.udp.handler.HeartbeatHandler;
+import com.kinkle.helloquick.udp.handler.ProtocolDispatcher;
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.ProtocolHeader;
+import com.kinkle.helloquick.udp.protocol.ProtocolType;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import com.kinkle.helloquick.udp.server.LoopbackTransport;
+import com.kinkle.helloquick.udp.server.UdpServer;
+import com.kinkle.helloquick.udp.util.TimestampUtil;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.EventLoop;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import org.HdrHistogram.Histogram;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UDP负载生成器
+ *
+ * <p>用 {@link UdpPacket}/{@link ProtocolHeader} 构造请求，按权重混合多种 {@link ProtocolType}，
+ * 从大量模拟会话（每个会话一个本地端口）以目标速率发送，统计：</p>
+ * <ul>
+ *   <li>往返时延：按序列号匹配请求发送时刻，纳秒精度，写入HdrHistogram</li>
+ *   <li>下行单向时延：收到响应的时刻减去响应包头 {@code timestamp}，包头时间戳为毫秒精度，
+ *       仅在生成器与服务端时钟一致（同机或已校时）时有意义</li>
+ *   <li>丢包：发送后在超时时间内未收到响应的请求；乱序：序列号小于该会话已收到的最大序列号的响应；
+ *       重复：同一序列号的第二个响应</li>
+ * </ul>
+ *
+ * <p>每个IO线程独占一组会话和自己的直方图，收发都在该线程上完成，结束时合并，测量路径上没有锁。
+ * 结果输出为一行JSON（{@code format=json}）或带表头的CSV（{@code format=csv}），便于不同构建之间比较。</p>
+ *
+ * <p>参数均为 {@code 键=值}：</p>
+ * <pre>
+ * target=127.0.0.1:9090   目标服务端，省略时在本机启动只挂载心跳处理器的服务端；
+ *                         为loopback时每个IO线程在进程内通过回环传输运行同样的服务端管道，不经过套接字
+ * pps=20000               目标总速率
+ * sessions=256            模拟会话数
+ * threads=2               IO线程数
+ * duration=10             测量时长（秒），之前另有duration/5秒预热
+ * mix=HEARTBEAT:100       协议权重，例如 HEARTBEAT:80,DATA_SYNC:20
+ * payload=0               非心跳协议的包体字节数
+ * compact=false           是否使用紧凑包头（v2）
+ * timeout=1000            判定丢包的超时（毫秒）
+ * format=json             输出格式：json或csv
+ * </pre>
+ *
+ * <p>{@code target=loopback} 时数据报直接注入 {@link LoopbackTransport}，每个节拍结束一批并取回响应，
+ * 往返时延只包含应用层管道的开销和同一节拍内排在前面的数据报的处理时间。与本机套接字的结果对比，
+ * 可区分应用代码与系统调用各自的开销。</p>
+ *
+ * <p>运行方式：{@code java -cp <test-classpath> com.kinkle.helloquick.udp.benchmark.UdpLoadGenerator [键=值 ...]}。
+ * 类名不以Test结尾，不会在单元测试阶段执行。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class UdpLoadGenerator {
+
+    private static final int EMBEDDED_PORT = 19390;
+
+    /**
+     * 回环传输下模拟会话的起始端口，每个IO线程的会话各自从该端口编号
+     */
+    private static final int LOOPBACK_BASE_PORT = 20000;
+
+    /**
+     * 每个会话记录发送时刻的窗口，必须为2的幂
+     */
+    private static final int WINDOW = 4096;
+
+    /**
+     * 发送节拍（纳秒）
+     */
+    private static final long TICK_NANOS = 1_000_000L;
+
+    /**
+     * 直方图上限：60秒
+     */
+    private static final long MAX_LATENCY_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private UdpLoadGenerator() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value: " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        Config config = new Config(options);
+
+        UdpServer server = null;
+        ProtocolDispatcher loopbackDispatcher = null;
+        InetSocketAddress target;
+        if ("loopback".equals(options.get("target"))) {
+            loopbackDispatcher = new ProtocolDispatcher(List.of(new HeartbeatHandler()));
+            target = new InetSocketAddress(InetAddress.getLoopbackAddress(), EMBEDDED_PORT);
+        } else if (options.containsKey("target")) {
+            String value = options.get("target");
+            int colon = value.lastIndexOf(':');
+            target = new InetSocketAddress(value.substring(0, colon), Integer.parseInt(value.substring(colon + 1)));
+        } else {
+            AppProperties properties = new AppProperties();
+            properties.getUdp().setPort(EMBEDDED_PORT);
+            ProtocolDispatcher dispatcher = new ProtocolDispatcher(List.of(new HeartbeatHandler()));
+            server = new UdpServer(properties, dispatcher, null, null, null);
+            server.start();
+            target = new InetSocketAddress("127.0.0.1", EMBEDDED_PORT);
+        }
+
+        NioEventLoopGroup group = new NioEventLoopGroup(config.threads);
+        try {
+            List<Worker> workers = new ArrayList<>();
+            for (int i = 0; i < config.threads; i++) {
+                int sessions = config.sessions / config.threads + (i < config.sessions % config.threads ? 1 : 0);
+                LoopbackTransport loopback = loopbackDispatcher == null ? null
+                    : new LoopbackTransport(loopbackDispatcher, new AppProperties().getUdp(), null);
+                workers.add(new Worker((EventLoop) group.next(), target, config, sessions, i, loopback));
+            }
+            for (Worker worker : workers) {
+                worker.open();
+            }
+
+            // 预热后清空统计，再正式测量
+            runPhase(workers, Math.max(1, config.durationSeconds / 5));
+            for (Worker worker : workers) {
+                worker.submit(worker::reset);
+            }
+            long elapsed = runPhase(workers, config.durationSeconds);
+
+            report(config, target, workers, elapsed);
+            for (Worker worker : workers) {
+                worker.close();
+            }
+        } finally {
+            group.shutdownGracefully().sync();
+            if (server != null) {
+                server.stop();
+            }
+        }
+    }
+
+    /**
+     * 运行一个阶段，返回发送阶段耗时
+     */
+    private static long runPhase(List<Worker> workers, int seconds) throws InterruptedException {
+        long start = System.nanoTime();
+        for (Worker worker : workers) {
+            worker.submit(worker::startSending);
+        }
+        TimeUnit.SECONDS.sleep(seconds);
+        for (Worker worker : workers) {
+            worker.submit(worker::stopSending);
+        }
+        long elapsed = System.nanoTime() - start;
+        // 等待在途响应，超时未到的计为丢包
+        TimeUnit.MILLISECONDS.sleep(workers.get(0).config.timeoutMillis);
+        for (Worker worker : workers) {
+            worker.submit(worker::expireAll);
+        }
+        return elapsed;
+    }
+
+    private static void report(Config config, InetSocketAddress target, List<Worker> workers, long elapsedNanos) {
+        Histogram rtt = new Histogram(MAX_LATENCY_NANOS, 3);
+        Histogram oneWay = new Histogram(MAX_LATENCY_NANOS, 3);
+        long sent = 0;
+        long received = 0;
+        long lost = 0;
+        long outOfOrder = 0;
+        long duplicates = 0;
+        long invalid = 0;
+        Map<ProtocolType, long[]> perType = new EnumMap<>(ProtocolType.class);
+        for (Worker worker : workers) {
+            rtt.add(worker.rtt);
+            oneWay.add(worker.oneWay);
+            sent += worker.sent;
+            received += worker.received;
+            lost += worker.lost;
+            outOfOrder += worker.outOfOrder;
+            duplicates += worker.duplicates;
+            invalid += worker.invalid;
+            worker.perType.forEach((type, counts) -> {
+                long[] total = perType.computeIfAbsent(type, key -> new long[2]);
+                total[0] += counts[0];
+                total[1] += counts[1];
+            });
+        }
+        double achievedPps = sent * 1e9 / elapsedNanos;
+
+        if ("csv".equals(config.format)) {
+            System.out.println("target,pps,sessions,threads,compact,sent,received,lost,outOfOrder,duplicates,invalid,"
+                + "achievedPps,rttP50Us,rttP90Us,rttP99Us,rttP999Us,rttMaxUs,oneWayP50Ms,oneWayP99Ms");
+            System.out.printf(Locale.ROOT, "%s,%d,%d,%d,%b,%d,%d,%d,%d,%d,%d,%.0f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f%n",
+                target, config.pps, config.sessions, config.threads, config.compact, sent, received, lost,
+                outOfOrder, duplicates, invalid, achievedPps,
+                micros(rtt, 50), micros(rtt, 90), micros(rtt, 99), micros(rtt, 99.9), rtt.getMaxValue() / 1e3,
+                oneWay.getValueAtPercentile(50) / 1e6, oneWay.getValueAtPercentile(99) / 1e6);
+            return;
+        }
+
+        StringBuilder json = new StringBuilder(512);
+        json.append(String.format(Locale.ROOT,
+            "{\"target\":\"%s\",\"pps\":%d,\"sessions\":%d,\"threads\":%d,\"compact\":%b,\"durationSeconds\":%d,",
+            target, config.pps, config.sessions, config.threads, config.compact, config.durationSeconds));
+        json.append(String.format(Locale.ROOT,
+            "\"sent\":%d,\"received\":%d,\"lost\":%d,\"outOfOrder\":%d,\"duplicates\":%d,\"invalid\":%d,"
+                + "\"achievedPps\":%.0f,",
+            sent, received, lost, outOfOrder, duplicates, invalid, achievedPps));
+        json.append(String.format(Locale.ROOT,
+            "\"rttUs\":{\"p50\":%.1f,\"p90\":%.1f,\"p99\":%.1f,\"p999\":%.1f,\"max\":%.1f,\"mean\":%.1f},",
+            micros(rtt, 50), micros(rtt, 90), micros(rtt, 99), micros(rtt, 99.9), rtt.getMaxValue() / 1e3,
+            rtt.getMean() / 1e3));
+        json.append(String.format(Locale.ROOT, "\"oneWayMs\":{\"p50\":%.1f,\"p99\":%.1f},",
+            oneWay.getValueAtPercentile(50) / 1e6, oneWay.getValueAtPercentile(99) / 1e6));
+        json.append("\"protocols\":{");
+        boolean first = true;
+        for (Map.Entry<ProtocolType, long[]> entry : perType.entrySet()) {
+            json.append(first ? "" : ",").append(String.format(Locale.ROOT, "\"%s\":{\"sent\":%d,\"received\":%d}",
+                entry.getKey().name(), entry.getValue()[0], entry.getValue()[1]));
+            first = false;
+        }
+        json.append("}}");
+        System.out.println(json);
+    }
+
+    private static double micros(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1e3;
+    }
+
+    /**
+     * 运行参数
+     */
+    private static final class Config {
+
+        private final int pps;
+
+        private final int sessions;
+
+        private final int threads;
+
+        private final int durationSeconds;
+
+        private final int payload;
+
+        private final boolean compact;
+
+        private final long timeoutMillis;
+
+        private final String format;
+
+        /**
+         * 按权重展开的协议表，按随机下标抽取
+         */
+        private final ProtocolType[] mix;
+
+        private Config(Map<String, String> options) {
+            this.pps = Integer.parseInt(options.getOrDefault("pps", "20000"));
+            this.threads = Integer.parseInt(options.getOrDefault("threads", "2"));
+            this.sessions = Math.max(threads, Integer.parseInt(options.getOrDefault("sessions", "256")));
+            this.durationSeconds = Integer.parseInt(options.getOrDefault("duration", "10"));
+            this.payload = Integer.parseInt(options.getOrDefault("payload", "0"));
+            this.compact = Boolean.parseBoolean(options.getOrDefault("compact", "false"));
+            this.timeoutMillis = Long.parseLong(options.getOrDefault("timeout", "1000"));
+            this.format = options.getOrDefault("format", "json");
+            this.mix = parseMix(options.getOrDefault("mix", "HEARTBEAT:100"));
+        }
+
+        private static ProtocolType[] parseMix(String spec) {
+            List<ProtocolType> table = new ArrayList<>();
+            for (String item : spec.split(",")) {
+                String[] parts = item.split(":");
+                ProtocolType type = ProtocolType.valueOf(parts[0].trim());
+                int weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+                for (int i = 0; i < weight; i++) {
+                    table.add(type);
+                }
+            }
+            if (table.isEmpty()) {
+                throw new IllegalArgumentException("Empty protocol mix");
+            }
+            return table.toArray(new ProtocolType[0]);
+        }
+    }
+
+    /**
+     * 模拟会话：一个本地端口，按序列号记录发送时刻
+     */
+    private static final class Session {
+
+        private Channel channel;
+
+        /**
+         * 回环传输下的模拟来源地址
+         */
+        private InetSocketAddress address;
+
+        private int nextSequence = 1;
+
+        private int highestReceived;
+
+        private final long[] sentNanos = new long[WINDOW];
+
+        private final int[] sentSequence = new int[WINDOW];
+
+        private final ProtocolType[] sentType = new ProtocolType[WINDOW];
+    }
+
+    /**
+     * IO线程：独占一组会话、直方图和计数器
+     */
+    private static final class Worker {
+
+        private final EventLoop loop;
+
+        private final InetSocketAddress target;
+
+        private final Config config;
+
+        private final Session[] sessions;
+
+        private final LoopbackTransport loopback;
+
+        private final SplittableRandom random;
+
+        private final Map<ProtocolType, byte[]> bodies = new EnumMap<>(ProtocolType.class);
+
+        private final Histogram rtt = new Histogram(MAX_LATENCY_NANOS, 3);
+
+        private final Histogram oneWay = new Histogram(MAX_LATENCY_NANOS, 3);
+
+        private final Map<ProtocolType, long[]> perType = new EnumMap<>(ProtocolType.class);
+
+        private final double packetsPerTick;
+
+        private ScheduledFuture<?> ticker;
+
+        private double credit;
+
+        private int cursor;
+
+        private long sent;
+
+        private long received;
+
+        private long lost;
+
+        private long outOfOrder;
+
+        private long duplicates;
+
+        private long invalid;
+
+        private Worker(EventLoop loop, InetSocketAddress target, Config config, int sessionCount, int index,
+                       LoopbackTransport loopback) {
+            this.loop = loop;
+            this.target = target;
+            this.config = config;
+            this.sessions = new Session[sessionCount];
+            this.loopback = loopback;
+            this.random = new SplittableRandom(index);
+            this.packetsPerTick = (double) config.pps / config.threads * TICK_NANOS / 1e9;
+            for (ProtocolType type : config.mix) {
+                bodies.computeIfAbsent(type, key -> key == ProtocolType.HEARTBEAT ? new byte[0] : new byte[config.payload]);
+            }
+        }
+
+        private void open() throws InterruptedException {
+            if (loopback != null) {
+                for (int i = 0; i < sessions.length; i++) {
+                    sessions[i] = new Session();
+                    sessions[i].address = new InetSocketAddress(InetAddress.getLoopbackAddress(), LOOPBACK_BASE_PORT + i);
+                }
+                return;
+            }
+            for (int i = 0; i < sessions.length; i++) {
+                Session session = new Session();
+                session.channel = new Bootstrap()
+                    .group(loop)
+                    .channel(NioDatagramChannel.class)
+                    .handler(new SimpleChannelInboundHandler<DatagramPacket>() {
+                        @Override
+                        protected void channelRead0(ChannelHandlerContext ctx, DatagramPacket msg) {
+                            onResponse(session, msg);
+                        }
+                    })
+                    .bind(0).sync().channel();
+                sessions[i] = session;
+            }
+        }
+
+        private void submit(Runnable task) throws InterruptedException {
+            CountDownLatch done = new CountDownLatch(1);
+            loop.execute(() -> {
+                task.run();
+                done.countDown();
+            });
+            done.await();
+        }
+
+        private void startSending() {
+            credit = 0;
+            ticker = loop.scheduleAtFixedRate(this::tick, 0, TICK_NANOS, TimeUnit.NANOSECONDS);
+        }
+
+        private void stopSending() {
+            ticker.cancel(false);
+        }
+
+        private void tick() {
+            credit += packetsPerTick;
+            while (credit >= 1) {
+                credit--;
+                Session session = sessions[cursor];
+                cursor = cursor + 1 == sessions.length ? 0 : cursor + 1;
+                send(session);
+            }
+            if (loopback != null) {
+                drainLoopback();
+                return;
+            }
+            for (Session session : sessions) {
+                session.channel.flush();
+            }
+        }
+
+        /**
+         * 结束回环传输上的这一批，按响应的目标端口找到会话
+         */
+        private void drainLoopback() {
+            loopback.flush();
+            DatagramPacket response;
+            while ((response = loopback.poll()) != null) {
+                try {
+                    int index = response.recipient().getPort() - LOOPBACK_BASE_PORT;
+                    if (index >= 0 && index < sessions.length) {
+                        onResponse(sessions[index], response);
+                    } else {
+                        invalid++;
+                    }
+                } finally {
+                    response.release();
+                }
+            }
+        }
+
+        private void send(Session session) {
+            int sequence = session.nextSequence++;
+            int slot = sequence & (WINDOW - 1);
+            if (session.sentSequence[slot] != 0) {
+                // 窗口槽位被复用时前一个请求仍未响应
+                lost++;
+            }
+            ProtocolType type = config.mix[random.nextInt(config.mix.length)];
+            UdpPacket packet = new UdpPacket(type.getProtocolId(), bodies.get(type));
+            ProtocolHeader header = packet.getHeader();
+            header.setSequence(sequence);
+            header.setTimestamp(TimestampUtil.currentTimestamp());
+            if (config.compact) {
+                header.setVersion(ProtocolConstants.PROTOCOL_VERSION_V2);
+            }
+            byte[] bytes = packet.toBytes();
+
+            session.sentSequence[slot] = sequence;
+            session.sentNanos[slot] = System.nanoTime();
+            session.sentType[slot] = type;
+            perType.computeIfAbsent(type, key -> new long[2])[0]++;
+            sent++;
+            if (loopback != null) {
+                loopback.receive(bytes, session.address);
+                return;
+            }
+            session.channel.write(new DatagramPacket(Unpooled.wrappedBuffer(bytes), target), session.channel.voidPromise());
+        }
+
+        private void onResponse(Session session, DatagramPacket msg) {
+            long now = System.nanoTime();
+            UdpPacket response;
+            try {
+                response = UdpPacket.decode(msg.content().nioBuffer());
+            } catch (IllegalArgumentException e) {
+                response = null;
+            }
+            if (response == null) {
+                invalid++;
+                return;
+            }
+            int sequence = response.getHeader().getSequence();
+            int slot = sequence & (WINDOW - 1);
+            if (session.sentSequence[slot] != sequence) {
+                duplicates++;
+                return;
+            }
+            session.sentSequence[slot] = 0;
+            received++;
+            perType.computeIfAbsent(session.sentType[slot], key -> new long[2])[1]++;
+            rtt.recordValue(Math.min(now - session.sentNanos[slot], MAX_LATENCY_NANOS));
+            long headerTimestamp = response.getHeader().getTimestamp();
+            if (headerTimestamp > 0) {
+                long oneWayMillis = TimestampUtil.currentTimestamp() - headerTimestamp;
+                oneWay.recordValue(Math.max(0, Math.min(oneWayMillis * 1_000_000L, MAX_LATENCY_NANOS)));
+            }
+            if (sequence < session.highestReceived) {
+                outOfOrder++;
+            } else {
+                session.highestReceived = sequence;
+            }
+        }
+
+        private void expireAll() {
+            for (Session session : sessions) {
+                for (int slot = 0; slot < WINDOW; slot++) {
+                    if (session.sentSequence[slot] != 0) {
+                        session.sentSequence[slot] = 0;
+                        lost++;
+                    }
+                }
+            }
+        }
+
+        private void reset() {
+            rtt.reset();
+            oneWay.reset();
+            perType.clear();
+            sent = 0;
+            received = 0;
+            lost = 0;
+            outOfOrder = 0;
+            duplicates = 0;
+            invalid = 0;
+        }
+
+        private void close() {
+            if (loopback != null) {
+                loopback.close();
+                return;
+            }
+            for (Session session : sessions) {
+                session.channel.close();
+            }
+        }
+    }
+}
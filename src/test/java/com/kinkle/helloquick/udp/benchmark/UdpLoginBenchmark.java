@@ -0,0 +1,169 @@
+package com.kinkle.helloquick.udp.benchmark;
+
+import com.kinkle.helloquick.common.service.RedisService;
+import com.kinkle.helloquick.config.AppProperties;
+import com.kinkle.helloquick.udp.handler.ProtocolDispatcher;
+import com.kinkle.helloquick.udp.handler.UserLoginHandler;
+import com.kinkle.helloquick.udp.login.LoginRequest;
+import com.kinkle.helloquick.udp.login.UdpLoginService;
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import com.kinkle.helloquick.udp.server.UdpServer;
+import com.kinkle.helloquick.user.entity.User;
+import com.kinkle.helloquick.user.repository.UserRepository;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * UDP登录压测
+ *
+ * <p>在本机回环上启动 {@link UdpServer}，挂载真实的 {@link UserLoginHandler}
+ * 与 {@link UdpLoginService}（BCrypt强度与 SecurityConfig 一致），用户库与Redis用桩对象代替，
+ * 因此结果反映单节点的校验线程池与IO路径上限，不含数据库和Redis的网络往返。</p>
+ *
+ * <p>分两轮输出每秒登录数：</p>
+ * <ul>
+ *   <li>cold：每个用户首次登录，每次都执行BCrypt</li>
+ *   <li>reconnect：同一批用户在缓存有效期内重复登录，模拟断线重连风暴</li>
+ * </ul>
+ *
+ * <p>运行方式：{@code java -cp <test-classpath> com.kinkle.helloquick.udp.benchmark.UdpLoginBenchmark [users] [rounds] [window]}。
+ * 类名不以Test结尾，不会在单元测试阶段执行。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class UdpLoginBenchmark {
+
+    private static final int PORT = 19190;
+
+    private static final String PASSWORD = "benchmark-password";
+
+    private UdpLoginBenchmark() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static void main(String[] args) throws Exception {
+        int users = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int window = args.length > 2 ? Integer.parseInt(args[2]) : 256;
+
+        AppProperties properties = new AppProperties();
+        AppProperties.Udp udp = properties.getUdp();
+        udp.setPort(PORT);
+        udp.setIoThreads(1);
+
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+        String hash = encoder.encode(PASSWORD);
+        UserRepository userRepository = mock(UserRepository.class, withSettings().stubOnly());
+        when(userRepository.findByUsername(anyString())).thenAnswer(invocation -> {
+            String username = invocation.getArgument(0);
+            long id = Long.parseLong(username.substring("user-".length()));
+            return Optional.of(User.builder().id(id).username(username).password(hash).status(1).build());
+        });
+        RedisService redisService = mock(RedisService.class, withSettings().stubOnly());
+        when(redisService.hmset(anyString(), anyMap(), anyLong())).thenReturn(true);
+
+        UdpLoginService loginService = new UdpLoginService(properties, userRepository, encoder, redisService);
+        ProtocolDispatcher dispatcher = new ProtocolDispatcher(List.of(new UserLoginHandler(loginService)));
+        UdpServer server = new UdpServer(properties, dispatcher, null, null, null);
+        server.start();
+
+        EventLoopGroup clientGroup = new NioEventLoopGroup(1);
+        Semaphore permits = new Semaphore(window);
+        LongAdder succeeded = new LongAdder();
+        LongAdder failed = new LongAdder();
+        try {
+            Channel client = new Bootstrap()
+                .group(clientGroup)
+                .channel(NioDatagramChannel.class)
+                .handler(new SimpleChannelInboundHandler<DatagramPacket>() {
+                    @Override
+                    protected void channelRead0(ChannelHandlerContext ctx, DatagramPacket packet) {
+                        ByteBuf content = packet.content();
+                        int code = content.getByte(content.readerIndex() + ProtocolConstants.HEADER_LENGTH) & 0xFF;
+                        if (code == ProtocolConstants.ErrorCodes.SUCCESS) {
+                            succeeded.increment();
+                        } else {
+                            failed.increment();
+                        }
+                        permits.release();
+                    }
+                })
+                .bind(0).sync().channel();
+            InetSocketAddress target = new InetSocketAddress("127.0.0.1", PORT);
+
+            System.out.println("mode,verifyThreads,logins,succeeded,failed,lost,loginsPerSec,bcrypt,cacheHits");
+            int threads = properties.getUdp().getLogin().getVerifyThreads();
+            run("cold", threads, client, target, permits, window, users, 1, succeeded, failed, loginService);
+            run("reconnect", threads, client, target, permits, window, users, rounds, succeeded, failed, loginService);
+            client.close().sync();
+        } finally {
+            clientGroup.shutdownGracefully().sync();
+            server.stop();
+            loginService.shutdown();
+        }
+    }
+
+    private static void run(String mode, int threads, Channel client, InetSocketAddress target, Semaphore permits, int window,
+                            int users, int rounds, LongAdder succeeded, LongAdder failed,
+                            UdpLoginService loginService) throws InterruptedException {
+        succeeded.reset();
+        failed.reset();
+        long bcryptStart = loginService.getBcryptCount();
+        long hitsStart = loginService.getCacheHitCount();
+        int lost = 0;
+        int sequence = 0;
+
+        long start = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            for (int user = 0; user < users; user++) {
+                if (!permits.tryAcquire(5, TimeUnit.SECONDS)) {
+                    // 窗口内的请求迟迟没有响应，本次登录不发送并计为丢失，窗口不超发
+                    lost++;
+                    continue;
+                }
+                UdpPacket packet = new UdpPacket(ProtocolConstants.BusinessProtocols.USER_LOGIN,
+                    new LoginRequest("user-" + user, PASSWORD).encode());
+                packet.getHeader().setSequence(sequence++);
+                client.writeAndFlush(new DatagramPacket(Unpooled.wrappedBuffer(packet.toBytes()), target));
+            }
+        }
+        if (!permits.tryAcquire(window, 30, TimeUnit.SECONDS)) {
+            lost += window - permits.availablePermits();
+        }
+        long elapsed = System.nanoTime() - start;
+        permits.drainPermits();
+        permits.release(window);
+
+        int logins = users * rounds;
+        System.out.printf("%s,%d,%d,%d,%d,%d,%.0f,%d,%d%n", mode,
+            threads, logins, succeeded.sum(), failed.sum(), lost,
+            succeeded.sum() * 1e9 / elapsed, loginService.getBcryptCount() - bcryptStart,
+            loginService.getCacheHitCount() - hitsStart);
+    }
+}
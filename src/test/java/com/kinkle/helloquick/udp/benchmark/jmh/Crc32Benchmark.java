@@ -0,0 +1,97 @@
+package com.kinkle.helloquick.udp.benchmark.jmh;
+
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.util.Crc32Util;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CRC32计算微基准
+ *
+ * <p>覆盖 {@link Crc32Util} 的全部 {@code calculate} 重载：整个数组、数组区间、堆内与直接缓冲区、
+ * 缓冲区区间以及包头加包体。数据长度为包头长度加包体大小，与实际校验的范围一致。
+ * {@code calculate(ByteBuffer)} 会消费缓冲区，每次调用前先 {@code rewind}。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class Crc32Benchmark {
+
+    @Param({"0", "64", "512", "1400", "8192", "65536"})
+    public int bodySize;
+
+    private byte[] data;
+
+    private byte[] header;
+
+    private byte[] body;
+
+    private ByteBuffer heapBuffer;
+
+    private ByteBuffer directBuffer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = new byte[ProtocolConstants.HEADER_LENGTH + bodySize];
+        new SplittableRandom(bodySize).nextBytes(data);
+        header = Arrays.copyOf(data, ProtocolConstants.HEADER_LENGTH);
+        body = Arrays.copyOfRange(data, ProtocolConstants.HEADER_LENGTH, data.length);
+        heapBuffer = ByteBuffer.wrap(data);
+        directBuffer = ByteBuffer.allocateDirect(data.length);
+        directBuffer.put(data).flip();
+    }
+
+    @Benchmark
+    public long array() {
+        return Crc32Util.calculate(data);
+    }
+
+    @Benchmark
+    public long arrayRange() {
+        return Crc32Util.calculate(data, 0, data.length);
+    }
+
+    @Benchmark
+    public long heapBuffer() {
+        heapBuffer.rewind();
+        return Crc32Util.calculate(heapBuffer);
+    }
+
+    @Benchmark
+    public long directBuffer() {
+        directBuffer.rewind();
+        return Crc32Util.calculate(directBuffer);
+    }
+
+    @Benchmark
+    public long directBufferRange() {
+        return Crc32Util.calculate(directBuffer, 0, data.length);
+    }
+
+    @Benchmark
+    public long headerAndBody() {
+        return Crc32Util.calculate(header, body);
+    }
+}
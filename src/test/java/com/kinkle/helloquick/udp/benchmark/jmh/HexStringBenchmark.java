@@ -0,0 +1,70 @@
+package com.kinkle.helloquick.udp.benchmark.jmh;
+
+import com.kinkle.helloquick.udp.util.ByteBufferUtil;
+import com.kinkle.helloquick.udp.util.HexDump;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 十六进制转换微基准
+ *
+ * <p>覆盖 {@link ByteBufferUtil#toHexString(ByteBuffer)} 和 {@link ByteBufferUtil#fromHexString(String)}，
+ * 两者用于日志与调试输出，但在调试日志打开时会进入每个数据包的处理路径；
+ * 以及包追踪使用的按行转储 {@link HexDump#dump(ByteBuffer, int)}。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class HexStringBenchmark {
+
+    @Param({"0", "64", "512", "1400", "8192", "65536"})
+    public int bodySize;
+
+    private ByteBuffer buffer;
+
+    private String hex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        byte[] data = new byte[bodySize];
+        new SplittableRandom(bodySize).nextBytes(data);
+        buffer = ByteBuffer.wrap(data);
+        hex = ByteBufferUtil.toHexString(buffer);
+    }
+
+    @Benchmark
+    public String toHexString() {
+        return ByteBufferUtil.toHexString(buffer);
+    }
+
+    @Benchmark
+    public String hexDump() {
+        return HexDump.dump(buffer, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public ByteBuffer fromHexString() {
+        return ByteBufferUtil.fromHexString(hex);
+    }
+}
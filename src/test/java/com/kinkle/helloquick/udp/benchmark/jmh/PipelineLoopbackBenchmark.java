@@ -0,0 +1,117 @@
+package com.kinkle.helloquick.udp.benchmark.jmh;
+
+import com.kinkle.helloquick.config.AppProperties;
+import com.kinkle.helloquick.udp.handler.HeartbeatHandler;
+import com.kinkle.helloquick.udp.handler.ProtocolDispatcher;
+import com.kinkle.helloquick.udp.metrics.UdpMetrics;
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import com.kinkle.helloquick.udp.server.LoopbackTransport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UDP管道回环微基准
+ *
+ * <p>通过 {@link LoopbackTransport} 在内存通道上运行完整的服务端管道（批量写出 → 解码 → 编码 → 协议分发 → 心跳处理器），
+ * 测量每个数据报从进入管道到响应进入出站队列的应用层开销，不包含收发系统调用。
+ * 与 {@code UdpLoadGenerator} 的套接字结果相减，即为内核与网络栈的开销。</p>
+ *
+ * <p>请求按服务端接收路径放在池化直接缓冲区中；{@code batch} 方法一次注入 {@value #BATCH} 个数据报再结束一批，
+ * 对应一次 {@code recvmmsg}，结果按单个数据报计。{@code metrics=true} 时挂载 {@link UdpMetrics}，
+ * 两组结果之差即为指标统计的开销。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PipelineLoopbackBenchmark {
+
+    private static final int BATCH = 32;
+
+    @Param({"false", "true"})
+    public boolean compact;
+
+    @Param({"false", "true"})
+    public boolean metrics;
+
+    private final InetSocketAddress[] senders = new InetSocketAddress[BATCH];
+
+    private SimpleMeterRegistry registry;
+
+    private LoopbackTransport transport;
+
+    private byte[] request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        UdpMetrics udpMetrics = metrics ? new UdpMetrics(registry) : null;
+        ProtocolDispatcher dispatcher = new ProtocolDispatcher(List.of(new HeartbeatHandler()), udpMetrics);
+        transport = new LoopbackTransport(dispatcher, new AppProperties().getUdp(), udpMetrics);
+
+        UdpPacket packet = new UdpPacket(ProtocolConstants.SystemProtocols.HEARTBEAT, new byte[0]);
+        packet.getHeader().setSequence(42);
+        if (compact) {
+            packet.getHeader().setVersion(ProtocolConstants.PROTOCOL_VERSION_V2);
+        }
+        request = packet.toBytes();
+        for (int i = 0; i < BATCH; i++) {
+            senders[i] = new InetSocketAddress("127.0.0.1", 40000 + i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        transport.close();
+        registry.close();
+    }
+
+    @Benchmark
+    public int single() {
+        transport.exchange(copy(), senders[0]);
+        return transport.discardOutbound();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int batch() {
+        for (int i = 0; i < BATCH; i++) {
+            transport.receive(copy(), senders[i]);
+        }
+        transport.flush();
+        return transport.discardOutbound();
+    }
+
+    /**
+     * 模拟内核把数据报拷入接收缓冲区
+     */
+    private ByteBuf copy() {
+        return PooledByteBufAllocator.DEFAULT.directBuffer(request.length).writeBytes(request);
+    }
+}
@@ -0,0 +1,54 @@
+package com.kinkle.helloquick.udp.benchmark.jmh;
+
+import com.kinkle.helloquick.udp.protocol.ProtocolType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 协议类型查找微基准
+ *
+ * <p>{@link ProtocolType#fromProtocolId(short)} 在每个数据包的分发路径上调用，
+ * 分别测量表头命中、表尾命中和未注册协议号（遍历全部枚举值后返回null）三种情况。</p>
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ProtocolTypeBenchmark {
+
+    private short first = ProtocolType.values()[0].getProtocolId();
+
+    private short last = ProtocolType.values()[ProtocolType.values().length - 1].getProtocolId();
+
+    private short unknown = (short) 0x7FFF;
+
+    @Benchmark
+    public ProtocolType firstEntry() {
+        return ProtocolType.fromProtocolId(first);
+    }
+
+    @Benchmark
+    public ProtocolType lastEntry() {
+        return ProtocolType.fromProtocolId(last);
+    }
+
+    @Benchmark
+    public ProtocolType unknownId() {
+        return ProtocolType.fromProtocolId(unknown);
+    }
+}
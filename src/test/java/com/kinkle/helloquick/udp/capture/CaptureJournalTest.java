@@ -0,0 +1,221 @@
+package com.kinkle.helloquick.udp.capture;
+
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 抓包日志写入、读取与回放测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class CaptureJournalTest {
+
+    private static final InetSocketAddress CLIENT_V4 = new InetSocketAddress("127.0.0.1", 40000);
+
+    private static final InetSocketAddress CLIENT_V6 = new InetSocketAddress("::1", 40001);
+
+    @TempDir
+    Path directory;
+
+    private static ByteBuffer payload(int index, int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (index + i);
+        }
+        return ByteBuffer.wrap(data);
+    }
+
+    @Test
+    void testAppendAndReadBack() throws IOException {
+        try (CaptureJournal journal = new CaptureJournal(directory, "ch-0", CaptureJournal.MIN_SEGMENT_SIZE, 4)) {
+            assertTrue(journal.append(100, CLIENT_V4, payload(1, 10)));
+            assertTrue(journal.append(200, CLIENT_V6, payload(2, 0)));
+            assertTrue(journal.append(300, CLIENT_V4, payload(3, 1400)));
+            assertEquals(3, journal.getRecordCount());
+        }
+
+        List<CapturedDatagram> datagrams = CaptureReader.openAll(directory).get(0).readAll();
+        assertEquals(3, datagrams.size());
+        assertEquals(100, datagrams.get(0).getArrivalNanos());
+        assertEquals(CLIENT_V4, datagrams.get(0).getSource());
+        assertArrayEquals(payload(1, 10).array(), datagrams.get(0).toBytes());
+        assertEquals(CLIENT_V6, datagrams.get(1).getSource());
+        assertEquals(0, datagrams.get(1).getLength());
+        assertArrayEquals(payload(3, 1400).array(), datagrams.get(2).toBytes());
+    }
+
+    @Test
+    void testSegmentRotationAndRetention() throws IOException {
+        int count = 100;
+        try (CaptureJournal journal = new CaptureJournal(directory, "ch-0", CaptureJournal.MIN_SEGMENT_SIZE, 3)) {
+            for (int i = 0; i < count; i++) {
+                journal.append(i, CLIENT_V4, payload(i, 200));
+            }
+            assertTrue(journal.getSegmentIndex() >= 3);
+        }
+
+        Map<String, List<Path>> journals = CaptureReader.listJournals(directory);
+        assertEquals(3, journals.get("ch-0").size());
+
+        List<CapturedDatagram> datagrams = new CaptureReader(journals.get("ch-0")).readAll();
+        assertFalse(datagrams.isEmpty());
+        assertTrue(datagrams.size() < count);
+        // 保留的是最新的记录，且顺序连续
+        long last = datagrams.get(datagrams.size() - 1).getArrivalNanos();
+        assertEquals(count - 1, last);
+        for (int i = 1; i < datagrams.size(); i++) {
+            assertEquals(datagrams.get(i - 1).getArrivalNanos() + 1, datagrams.get(i).getArrivalNanos());
+        }
+    }
+
+    @Test
+    void testOversizedRecordDropped() throws IOException {
+        try (CaptureJournal journal = new CaptureJournal(directory, "ch-0", CaptureJournal.MIN_SEGMENT_SIZE, 1)) {
+            assertFalse(journal.append(1, CLIENT_V4, payload(0, CaptureJournal.MIN_SEGMENT_SIZE)));
+            assertEquals(1, journal.getDroppedCount());
+            assertEquals(0, journal.getRecordCount());
+        }
+    }
+
+    @Test
+    void testUnclosedSegmentReadable() throws IOException {
+        CaptureJournal journal = new CaptureJournal(directory, "ch-0", CaptureJournal.MIN_SEGMENT_SIZE, 1);
+        journal.append(1, CLIENT_V4, payload(0, 16));
+        journal.append(2, CLIENT_V4, payload(1, 16));
+
+        // 未关闭的段保持映射大小，未写入部分为0
+        assertEquals(CaptureJournal.MIN_SEGMENT_SIZE,
+            Files.size(CaptureJournal.segmentPath(directory, "ch-0", 0)));
+        assertEquals(2, CaptureReader.openAll(directory).get(0).readAll().size());
+        journal.close();
+    }
+
+    @Test
+    void testReplayMergesChannelsByArrival() throws IOException {
+        try (CaptureJournal first = new CaptureJournal(directory, "ch-0", CaptureJournal.MIN_SEGMENT_SIZE, 4);
+             CaptureJournal second = new CaptureJournal(directory, "ch-1", CaptureJournal.MIN_SEGMENT_SIZE, 4)) {
+            for (int i = 0; i < 10; i++) {
+                (i % 2 == 0 ? first : second).append(i * 1000L, CLIENT_V4, payload(i, 8));
+            }
+        }
+
+        List<Long> order = new ArrayList<>();
+        ReplayReport report = JournalReplayer.open(directory)
+            .replay(datagram -> order.add(datagram.getArrivalNanos()), 0);
+
+        assertEquals(10, report.getDatagrams());
+        assertEquals(80, report.getBytes());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i * 1000L, order.get(i).longValue());
+        }
+    }
+
+    @Test
+    void testReplayOrdersRunsByWallClock() throws Exception {
+        // 后一次运行所在进程的nanoTime起点更晚，到达时间的原始值反而更小
+        long shift = 1_000_000_000_000L;
+        try (CaptureJournal earlier = new CaptureJournal(directory, "run-a-0", CaptureJournal.MIN_SEGMENT_SIZE, 1)) {
+            earlier.append(System.nanoTime(), CLIENT_V4, payload(1, 8));
+            earlier.append(System.nanoTime(), CLIENT_V4, payload(2, 8));
+        }
+        Thread.sleep(5);
+        try (CaptureJournal later = new CaptureJournal(directory, "run-b-0", CaptureJournal.MIN_SEGMENT_SIZE, 1)) {
+            later.append(System.nanoTime() - shift, CLIENT_V4, payload(3, 8));
+        }
+        Path segment = CaptureJournal.segmentPath(directory, "run-b-0", 0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer baseNanos = ByteBuffer.allocate(8);
+            channel.read(baseNanos, 16);
+            baseNanos.flip();
+            long shifted = baseNanos.getLong() - shift;
+            channel.write(ByteBuffer.allocate(8).putLong(0, shifted), 16);
+        }
+
+        List<Byte> order = new ArrayList<>();
+        JournalReplayer.open(directory).replay(datagram -> order.add(datagram.getPayload().get(0)), 0);
+
+        assertEquals(List.of((byte) 1, (byte) 2, (byte) 3), order);
+    }
+
+    @Test
+    void testPurgeRunsKeepsCurrentAndRecentRuns() throws IOException {
+        for (String prefix : List.of("run-1-0", "run-1-1", "run-2-0", "run-3-0")) {
+            new CaptureJournal(directory, prefix, CaptureJournal.MIN_SEGMENT_SIZE, 1).close();
+        }
+        Files.setLastModifiedTime(CaptureJournal.segmentPath(directory, "run-1-0", 0), FileTime.fromMillis(1000));
+        Files.setLastModifiedTime(CaptureJournal.segmentPath(directory, "run-1-1", 0), FileTime.fromMillis(1000));
+        Files.setLastModifiedTime(CaptureJournal.segmentPath(directory, "run-2-0", 0), FileTime.fromMillis(2000));
+        Files.setLastModifiedTime(CaptureJournal.segmentPath(directory, "run-3-0", 0), FileTime.fromMillis(500));
+
+        // run-3为当前运行，即使最旧也保留；其余运行只保留最新的一个
+        assertEquals(2, CaptureJournal.purgeRuns(directory, "run-3", 2));
+
+        assertEquals(List.of("run-2-0", "run-3-0"), new ArrayList<>(CaptureReader.listJournals(directory).keySet()));
+        assertEquals("run-2", CaptureReader.openAll(directory).get(0).getRun());
+    }
+
+    @Test
+    void testReplayKeepsOriginalSpacing() throws IOException {
+        try (CaptureJournal journal = new CaptureJournal(directory, "ch-0", CaptureJournal.MIN_SEGMENT_SIZE, 1)) {
+            journal.append(0, CLIENT_V4, payload(0, 8));
+            journal.append(40_000_000L, CLIENT_V4, payload(1, 8));
+        }
+
+        ReplayReport original = JournalReplayer.open(directory).replay(datagram -> { }, 1);
+        ReplayReport accelerated = JournalReplayer.open(directory).replay(datagram -> { }, 10);
+
+        assertTrue(original.getElapsedNanos() >= 40_000_000L);
+        assertTrue(accelerated.getElapsedNanos() >= 4_000_000L);
+        assertTrue(accelerated.getElapsedNanos() < original.getElapsedNanos());
+    }
+
+    @Test
+    void testProtocolFilter() throws IOException {
+        UdpPacket heartbeat = new UdpPacket(ProtocolConstants.SystemProtocols.HEARTBEAT, new byte[0]);
+        UdpPacket login = new UdpPacket(ProtocolConstants.BusinessProtocols.USER_LOGIN, new byte[] {1});
+        try (CaptureJournal journal = new CaptureJournal(directory, "ch-0", CaptureJournal.MIN_SEGMENT_SIZE, 1)) {
+            journal.append(1, CLIENT_V4, ByteBuffer.wrap(heartbeat.toBytes()));
+            journal.append(2, CLIENT_V4, ByteBuffer.wrap(login.toBytes()));
+            journal.append(3, CLIENT_V4, payload(0, 3));
+        }
+
+        List<UdpPacket> replayed = new ArrayList<>();
+        ReplayReport report = JournalReplayer.open(directory).replay(datagram -> replayed.add(datagram.toPacket()), 0,
+            JournalReplayer.protocols(ProtocolConstants.BusinessProtocols.USER_LOGIN));
+
+        assertEquals(1, report.getDatagrams());
+        assertEquals(2, report.getSkipped());
+        assertEquals(ProtocolConstants.BusinessProtocols.USER_LOGIN, replayed.get(0).getHeader().getProtocolId());
+    }
+
+    @Test
+    void testCredentialDatagramsRecordHeaderOnly() {
+        UdpPacket login = new UdpPacket(ProtocolConstants.BusinessProtocols.USER_LOGIN,
+            "{\"password\":\"secret\"}".getBytes());
+        ByteBuffer redacted = CaptureTap.redact(ByteBuffer.wrap(login.toBytes()));
+        assertEquals(ProtocolConstants.HEADER_LENGTH, redacted.remaining());
+
+        UdpPacket sync = new UdpPacket(ProtocolConstants.BusinessProtocols.DATA_SYNC, new byte[16]);
+        byte[] bytes = sync.toBytes();
+        assertEquals(bytes.length, CaptureTap.redact(ByteBuffer.wrap(bytes)).remaining());
+        assertEquals(3, CaptureTap.redact(ByteBuffer.wrap(new byte[3])).remaining());
+    }
+}
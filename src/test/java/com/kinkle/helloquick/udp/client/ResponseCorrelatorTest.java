@@ -0,0 +1,185 @@
+package com.kinkle.helloquick.udp.client;
+
+import com.kinkle.helloquick.udp.codec.PacketEnvelope;
+import com.kinkle.helloquick.udp.codec.UdpPacketDecoder;
+import com.kinkle.helloquick.udp.codec.UdpPacketEncoder;
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.socket.DatagramPacket;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 请求响应关联处理器测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class ResponseCorrelatorTest {
+
+    private static final InetSocketAddress SERVER = new InetSocketAddress("127.0.0.1", 9090);
+
+    private static final InetSocketAddress OTHER = new InetSocketAddress("127.0.0.1", 9091);
+
+    private static final InetSocketAddress CLIENT = new InetSocketAddress("127.0.0.1", 40000);
+
+    private ResponseCorrelator correlator;
+
+    private EmbeddedChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        correlator = new ResponseCorrelator(10000);
+        channel = new EmbeddedChannel(new UdpPacketDecoder(), new UdpPacketEncoder(), correlator);
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    private CompletableFuture<UdpPacket> send(long timeoutMillis) {
+        return correlator.request(new UdpPacket(ProtocolConstants.SystemProtocols.HEARTBEAT, new byte[0]),
+            SERVER, timeoutMillis);
+    }
+
+    private int readRequestSequence() {
+        DatagramPacket request = channel.readOutbound();
+        assertNotNull(request);
+        try {
+            assertEquals(SERVER, request.recipient());
+            return UdpPacket.fromBytes(ByteBufUtil.getBytes(request.content())).getHeader().getSequence();
+        } finally {
+            request.release();
+        }
+    }
+
+    private void respond(int sequence, InetSocketAddress sender, byte marker) {
+        UdpPacket response = new UdpPacket(ProtocolConstants.SystemProtocols.HEARTBEAT, new byte[] {marker});
+        response.getHeader().setSequence(sequence);
+        channel.writeInbound(new DatagramPacket(Unpooled.wrappedBuffer(response.toBytes()), CLIENT, sender));
+    }
+
+    @Test
+    void testResponsesMatchedOutOfOrder() throws Exception {
+        List<CompletableFuture<UdpPacket>> futures = new ArrayList<>();
+        List<Integer> sequences = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(send(1000));
+            sequences.add(readRequestSequence());
+        }
+        assertEquals(3, correlator.getPendingCount());
+
+        for (int i = 2; i >= 0; i--) {
+            respond(sequences.get(i), SERVER, (byte) i);
+        }
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i, futures.get(i).get().getBody()[0]);
+        }
+        assertEquals(0, correlator.getPendingCount());
+    }
+
+    @Test
+    void testResponseFromOtherAddressIsUnsolicited() {
+        List<PacketEnvelope> unsolicited = new ArrayList<>();
+        correlator.setUnsolicitedHandler(unsolicited::add);
+        CompletableFuture<UdpPacket> future = send(1000);
+        int sequence = readRequestSequence();
+
+        respond(sequence, OTHER, (byte) 1);
+        assertFalse(future.isDone());
+        assertEquals(1, unsolicited.size());
+
+        respond(sequence, SERVER, (byte) 2);
+        assertTrue(future.isDone());
+        // 重复响应不再关联
+        respond(sequence, SERVER, (byte) 3);
+        assertEquals(2, unsolicited.size());
+    }
+
+    @Test
+    void testTimeoutFromSharedWheel() throws Exception {
+        CompletableFuture<UdpPacket> future = send(20);
+        readRequestSequence();
+
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!future.isDone() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            channel.runPendingTasks();
+        }
+
+        ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+        assertEquals(0, correlator.getPendingCount());
+    }
+
+    @Test
+    void testPendingLimit() {
+        correlator = new ResponseCorrelator(2);
+        channel = new EmbeddedChannel(new UdpPacketDecoder(), new UdpPacketEncoder(), correlator);
+
+        send(1000);
+        send(1000);
+        CompletableFuture<UdpPacket> rejected = send(1000);
+
+        assertTrue(rejected.isCompletedExceptionally());
+        assertEquals(2, correlator.getPendingCount());
+    }
+
+    @Test
+    void testCloseFailsPendingRequests() {
+        CompletableFuture<UdpPacket> future = send(1000);
+
+        channel.close();
+
+        ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(ClosedChannelException.class, exception.getCause());
+        assertEquals(0, correlator.getPendingCount());
+    }
+
+    @Test
+    void testThousandsInFlight() throws Exception {
+        int count = 5000;
+        List<CompletableFuture<UdpPacket>> futures = new ArrayList<>();
+        int[] sequences = new int[count];
+        for (int i = 0; i < count; i++) {
+            futures.add(send(10000));
+            sequences[i] = readRequestSequence();
+        }
+        assertEquals(count, correlator.getPendingCount());
+
+        for (int i = 0; i < count; i++) {
+            respond(sequences[i], SERVER, (byte) i);
+        }
+        for (int i = 0; i < count; i++) {
+            assertEquals((byte) i, futures.get(i).get().getBody()[0]);
+        }
+        assertEquals(0, correlator.getPendingCount());
+    }
+
+    @Test
+    void testCancelReleasesSlot() {
+        CompletableFuture<UdpPacket> future = send(1000);
+
+        future.cancel(false);
+        channel.runPendingTasks();
+
+        assertEquals(0, correlator.getPendingCount());
+    }
+}
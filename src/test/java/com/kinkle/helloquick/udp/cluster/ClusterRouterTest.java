@@ -0,0 +1,79 @@
+package com.kinkle.helloquick.udp.cluster;
+
+import com.kinkle.helloquick.config.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 会话路由器测试，两个路由器共享进程内目录模拟两个节点
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class ClusterRouterTest {
+
+    private final LocalSessionDirectory directory = new LocalSessionDirectory();
+
+    private final ClusterRouter nodeA = router("node-a", 19191);
+
+    private final ClusterRouter nodeB = router("node-b", 19192);
+
+    @AfterEach
+    void tearDown() {
+        nodeA.stop();
+        nodeB.stop();
+    }
+
+    @Test
+    void testFirstNodeOwnsSessionAndOthersAgree() throws Exception {
+        nodeA.refreshNodes();
+        nodeB.refreshNodes();
+        InetSocketAddress client = new InetSocketAddress("127.0.0.1", 40001);
+
+        assertEquals("node-a", nodeA.resolve(client).get(1, TimeUnit.SECONDS));
+        assertEquals("node-a", nodeB.resolve(client).get(1, TimeUnit.SECONDS));
+        assertTrue(nodeA.isLocal("node-a"));
+        assertFalse(nodeB.isLocal("node-a"));
+        assertTrue(nodeB.isPeer(new InetSocketAddress("127.0.0.1", 19191)));
+    }
+
+    @Test
+    void testDeadOwnerIsTakenOver() throws Exception {
+        nodeB.refreshNodes();
+        InetSocketAddress client = new InetSocketAddress("127.0.0.1", 40002);
+        directory.claim("127.0.0.1:40002", "node-gone", 60);
+
+        assertEquals("node-b", nodeB.resolve(client).get(1, TimeUnit.SECONDS));
+        assertEquals("node-b", directory.ownerOf("127.0.0.1:40002"));
+    }
+
+    @Test
+    void testForwardWithoutLivePeerFallsBackToLocal() {
+        InetSocketAddress client = new InetSocketAddress("127.0.0.1", 40003);
+        ByteBuf payload = Unpooled.wrappedBuffer(new byte[]{1, 2, 3});
+        try {
+            assertFalse(nodeB.forward(client, payload, "node-a"));
+            assertEquals(3, payload.readableBytes());
+        } finally {
+            payload.release();
+        }
+    }
+
+    private ClusterRouter router(String nodeId, int forwardPort) {
+        AppProperties.Udp.Cluster config = new AppProperties.Udp.Cluster();
+        config.setEnabled(true);
+        config.setNodeId(nodeId);
+        config.setForwardPort(forwardPort);
+        config.setLookupThreads(1);
+        return new ClusterRouter(config, directory, new SimpleMeterRegistry());
+    }
+}
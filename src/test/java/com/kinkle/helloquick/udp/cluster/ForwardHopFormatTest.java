@@ -0,0 +1,74 @@
+package com.kinkle.helloquick.udp.cluster;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 节点间转发帧格式测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class ForwardHopFormatTest {
+
+    @Test
+    void testIpv4RoundTrip() {
+        InetSocketAddress client = new InetSocketAddress("192.168.1.20", 54321);
+        ByteBuf payload = Unpooled.wrappedBuffer(new byte[]{0x12, 0x34, 0x56});
+        ByteBuf frame = ForwardHopFormat.encode(ByteBufAllocator.DEFAULT, ForwardHopFormat.TYPE_FORWARD, client, payload);
+        try {
+            assertEquals(ForwardHopFormat.IPV4_HEADER_LENGTH + 3, frame.readableBytes());
+            assertEquals(3, payload.readableBytes());
+            assertEquals(ForwardHopFormat.TYPE_FORWARD, ForwardHopFormat.peekType(frame));
+            assertEquals(client, ForwardHopFormat.readClient(frame));
+            assertEquals(payload, frame);
+        } finally {
+            frame.release();
+            payload.release();
+        }
+    }
+
+    @Test
+    void testIpv6Reply() {
+        InetSocketAddress client = new InetSocketAddress("2001:db8::7", 443);
+        ByteBuf payload = Unpooled.wrappedBuffer(new byte[]{9});
+        ByteBuf frame = ForwardHopFormat.encode(ByteBufAllocator.DEFAULT, ForwardHopFormat.TYPE_REPLY, client, payload);
+        try {
+            assertEquals(ForwardHopFormat.IPV6_HEADER_LENGTH + 1, frame.readableBytes());
+            assertEquals(ForwardHopFormat.TYPE_REPLY, ForwardHopFormat.peekType(frame));
+            assertEquals(client, ForwardHopFormat.readClient(frame));
+            assertEquals(9, frame.readByte());
+        } finally {
+            frame.release();
+            payload.release();
+        }
+    }
+
+    @Test
+    void testRejectsOrdinaryPackets() {
+        ByteBuf packet = Unpooled.wrappedBuffer(new byte[]{0x12, 0x34, 0x01, 0, 0, 0, 0, 0, 0, 0});
+        try {
+            assertEquals(-1, ForwardHopFormat.peekType(packet));
+            assertThrows(IllegalArgumentException.class, () -> ForwardHopFormat.readClient(packet));
+        } finally {
+            packet.release();
+        }
+    }
+
+    @Test
+    void testRejectsTruncatedFrame() {
+        ByteBuf frame = Unpooled.wrappedBuffer(new byte[]{ForwardHopFormat.MAGIC, 1, 16, 0, 0, 0, 0, 0, 0, 0});
+        try {
+            assertThrows(IllegalArgumentException.class, () -> ForwardHopFormat.readClient(frame));
+        } finally {
+            frame.release();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.kinkle.helloquick.udp.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 会话归属目录与近端缓存测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class SessionOwnershipTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    private final LocalSessionDirectory directory = new LocalSessionDirectory(clock::get);
+
+    @Test
+    void testFirstClaimWins() {
+        assertEquals("node-a", directory.claim("10.0.0.1:5000", "node-a", 60));
+        assertEquals("node-a", directory.claim("10.0.0.1:5000", "node-b", 60));
+        assertEquals("node-b", directory.claim("10.0.0.2:5000", "node-b", 60));
+    }
+
+    @Test
+    void testOwnerClaimRenews() {
+        directory.claim("10.0.0.1:5000", "node-a", 60);
+        clock.addAndGet(50_000);
+        directory.claim("10.0.0.1:5000", "node-a", 60);
+        clock.addAndGet(50_000);
+
+        assertEquals("node-a", directory.ownerOf("10.0.0.1:5000"));
+        assertEquals("node-a", directory.claim("10.0.0.1:5000", "node-b", 60));
+    }
+
+    @Test
+    void testExpiredOwnershipCanBeClaimed() {
+        directory.claim("10.0.0.1:5000", "node-a", 60);
+        clock.addAndGet(60_000);
+
+        assertNull(directory.ownerOf("10.0.0.1:5000"));
+        assertEquals("node-b", directory.claim("10.0.0.1:5000", "node-b", 60));
+    }
+
+    @Test
+    void testTakeOver() {
+        directory.claim("10.0.0.1:5000", "node-a", 60);
+
+        assertTrue(directory.takeOver("10.0.0.1:5000", "node-a", "node-b", 60));
+        assertEquals("node-b", directory.claim("10.0.0.1:5000", "node-a", 60));
+    }
+
+    @Test
+    void testTakeOverOnlyReplacesExpectedOwner() {
+        directory.claim("10.0.0.1:5000", "node-a", 60);
+        assertTrue(directory.takeOver("10.0.0.1:5000", "node-a", "node-b", 60));
+
+        // 另一个节点基于过时的归属接管，不能覆盖先接管的节点
+        assertFalse(directory.takeOver("10.0.0.1:5000", "node-a", "node-c", 60));
+        assertEquals("node-b", directory.ownerOf("10.0.0.1:5000"));
+        assertFalse(directory.takeOver("10.0.0.9:5000", "node-a", "node-c", 60));
+        assertNull(directory.ownerOf("10.0.0.9:5000"));
+    }
+
+    @Test
+    void testLiveNodesHonourTimeout() {
+        InetSocketAddress a = InetSocketAddress.createUnresolved("10.1.0.1", 9190);
+        InetSocketAddress b = InetSocketAddress.createUnresolved("10.1.0.2", 9190);
+        directory.heartbeat("node-a", a, 1000);
+        directory.heartbeat("node-b", b, 9000);
+
+        Map<String, InetSocketAddress> live = directory.liveNodes(16000, 10000);
+
+        assertEquals(Map.of("node-b", b), live);
+    }
+
+    @Test
+    void testNearCacheServesStaleEntryAndRefreshesOnce() {
+        OwnerNearCache cache = new OwnerNearCache(10, 100);
+        InetSocketAddress client = new InetSocketAddress("127.0.0.1", 5000);
+        long now = 0;
+        assertTrue(cache.put(client, "node-a", now));
+
+        OwnerNearCache.Entry fresh = cache.get(client);
+        assertTrue(fresh.isFresh(now + 9_000_000L));
+
+        OwnerNearCache.Entry stale = cache.get(client);
+        assertFalse(stale.isFresh(now + 10_000_000L));
+        assertEquals("node-a", stale.getOwner());
+        assertTrue(stale.startRefresh());
+        assertFalse(stale.startRefresh());
+        stale.cancelRefresh();
+        assertTrue(stale.startRefresh());
+    }
+
+    @Test
+    void testNearCacheEvictsIdleEntriesAndHonoursLimit() {
+        OwnerNearCache cache = new OwnerNearCache(10, 2);
+        InetSocketAddress first = new InetSocketAddress("127.0.0.1", 5001);
+        InetSocketAddress second = new InetSocketAddress("127.0.0.1", 5002);
+        InetSocketAddress third = new InetSocketAddress("127.0.0.1", 5003);
+        cache.put(first, "node-a", 0);
+        cache.put(second, "node-a", 5_000_000L);
+
+        assertFalse(cache.put(third, "node-a", 15_000_000L));
+        assertTrue(cache.put(third, "node-a", 20_000_000L));
+        assertNull(cache.get(first));
+        assertEquals(2, cache.size());
+
+        cache.invalidate(second);
+        assertNull(cache.get(second));
+    }
+}
@@ -0,0 +1,95 @@
+package com.kinkle.helloquick.udp.codec;
+
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 预编码响应模板测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class ResponseTemplatesTest {
+
+    private static UdpPacket decode(ByteBuf buf) {
+        try {
+            return UdpPacket.fromBytes(ByteBufUtil.getBytes(buf));
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    void testAckTemplate() {
+        ByteBuf buf = ResponseTemplates.ack().render(ByteBufAllocator.DEFAULT, 1234, 1_700_000_000_123L);
+        UdpPacket packet = decode(buf);
+
+        assertEquals(ProtocolConstants.SystemProtocols.ACK, packet.getHeader().getProtocolId());
+        assertEquals(1234, packet.getHeader().getSequence());
+        assertEquals(1_700_000_000_123L, packet.getHeader().getTimestamp());
+        assertEquals(0, packet.getBody().length);
+        assertTrue(packet.isValid());
+    }
+
+    @Test
+    void testHeartbeatTemplate() {
+        UdpPacket packet = decode(ResponseTemplates.renderHeartbeat(ByteBufAllocator.DEFAULT, -7));
+
+        assertEquals(ProtocolConstants.SystemProtocols.HEARTBEAT, packet.getHeader().getProtocolId());
+        assertEquals(-7, packet.getHeader().getSequence());
+        assertTrue(packet.isValid());
+    }
+
+    @Test
+    void testErrorTemplates() {
+        int[] codes = {
+            ProtocolConstants.ErrorCodes.SUCCESS,
+            ProtocolConstants.ErrorCodes.PROTOCOL_ERROR,
+            ProtocolConstants.ErrorCodes.AUTH_FAILED,
+            ProtocolConstants.ErrorCodes.INVALID_PARAM,
+            ProtocolConstants.ErrorCodes.SYSTEM_ERROR,
+            ProtocolConstants.ErrorCodes.TIMEOUT
+        };
+        for (int code : codes) {
+            UdpPacket packet = decode(ResponseTemplates.renderError(ByteBufAllocator.DEFAULT, code, code + 100));
+
+            assertEquals(ProtocolConstants.SystemProtocols.ERROR_RESPONSE, packet.getHeader().getProtocolId());
+            assertEquals(code + 100, packet.getHeader().getSequence());
+            String body = new String(packet.getBody(), StandardCharsets.UTF_8);
+            assertTrue(body.startsWith("{\"code\":" + code + ","));
+            assertTrue(packet.isValid());
+        }
+    }
+
+    @Test
+    void testRenderToAppendsAtWriterIndex() {
+        ByteBuf target = ByteBufAllocator.DEFAULT.heapBuffer();
+        try {
+            target.writeByte(0x7F);
+            ResponseTemplates.ack().renderTo(target, 42, 99L);
+
+            assertEquals(1 + ResponseTemplates.ack().getLength(), target.readableBytes());
+            target.skipBytes(1);
+            UdpPacket packet = UdpPacket.fromBytes(ByteBufUtil.getBytes(target));
+            assertEquals(42, packet.getHeader().getSequence());
+            assertTrue(packet.verifyCrc32());
+        } finally {
+            target.release();
+        }
+    }
+
+    @Test
+    void testUnknownErrorCode() {
+        assertThrows(IllegalArgumentException.class, () -> ResponseTemplates.error(-1));
+        assertThrows(IllegalArgumentException.class, () -> ResponseTemplates.error(0x0100));
+    }
+}
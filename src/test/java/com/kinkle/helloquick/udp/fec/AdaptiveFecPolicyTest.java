@@ -0,0 +1,56 @@
+package com.kinkle.helloquick.udp.fec;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 自适应FEC分组策略测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class AdaptiveFecPolicyTest {
+
+    @Test
+    void testInitialGroupSizeClamped() {
+        assertEquals(8, new AdaptiveFecPolicy(4, 32, 8, 1).getGroupSize());
+        assertEquals(32, new AdaptiveFecPolicy(4, 32, 100, 1).getGroupSize());
+        assertEquals(4, new AdaptiveFecPolicy(4, 32, 1, 1).getGroupSize());
+    }
+
+    @Test
+    void testGroupShrinksAsLossGrows() {
+        AdaptiveFecPolicy policy = new AdaptiveFecPolicy(2, 64, 16, 1);
+        for (int i = 0; i < 50; i++) {
+            policy.onFeedback(1000, 10);
+        }
+        int lowLoss = policy.getGroupSize();
+        for (int i = 0; i < 50; i++) {
+            policy.onFeedback(1000, 100);
+        }
+        int highLoss = policy.getGroupSize();
+
+        assertTrue(highLoss < lowLoss);
+        assertEquals(0.1, policy.getLossRate(), 0.01);
+        assertEquals(4, highLoss);
+    }
+
+    @Test
+    void testNoLossUsesLargestGroup() {
+        AdaptiveFecPolicy policy = new AdaptiveFecPolicy(4, 32, 8, 2);
+        policy.onFeedback(1000, 0);
+        assertEquals(32, policy.getGroupSize());
+        policy.onFeedback(0, 0);
+        assertEquals(32, policy.getGroupSize());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveFecPolicy(0, 32, 8, 1));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveFecPolicy(8, 4, 8, 1));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveFecPolicy(4, 32, 8, 0));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveFecPolicy(4, 250, 8, 10));
+    }
+}
@@ -0,0 +1,206 @@
+package com.kinkle.helloquick.udp.fec;
+
+import com.kinkle.helloquick.udp.pacing.PacedFrame;
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FEC编码器与解码器测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class FecCodecTest {
+
+    private static final int MAX_PACKET_SIZE = 256;
+
+    /**
+     * 构造传输序列号为 sequence 的数据帧，包头序列号（关联ID）与传输序列号无关
+     */
+    private static byte[] dataPacket(int sequence) {
+        String body = "{\"version\":" + sequence + ",\"payload\":\"" + "x".repeat(Math.floorMod(sequence, 17)) + "\"}";
+        UdpPacket packet = new UdpPacket(ProtocolConstants.BusinessProtocols.DATA_SYNC,
+            body.getBytes(StandardCharsets.UTF_8));
+        packet.getHeader().setSequence(7);
+        return PacedFrame.wrap(sequence, packet).toBytes();
+    }
+
+    /**
+     * 编码 count 个数据包，返回数据包与校验包
+     */
+    private static List<ByteBuf> encodeGroup(FecEncoder encoder, int baseSequence, int count, List<byte[]> data) {
+        List<ByteBuf> parity = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            byte[] bytes = dataPacket(baseSequence + i);
+            data.add(bytes);
+            encoder.encode(Unpooled.wrappedBuffer(bytes), parity);
+        }
+        return parity;
+    }
+
+    @Test
+    void testXorRecoversSingleLoss() {
+        AdaptiveFecPolicy policy = new AdaptiveFecPolicy(4, 32, 4, 1);
+        FecEncoder encoder = new FecEncoder(ByteBufAllocator.DEFAULT, policy, MAX_PACKET_SIZE);
+        List<byte[]> data = new ArrayList<>();
+        List<ByteBuf> parity = encodeGroup(encoder, 100, 4, data);
+        assertEquals(1, parity.size());
+
+        FecDecoder decoder = new FecDecoder(ByteBufAllocator.DEFAULT, 64, 4, MAX_PACKET_SIZE);
+        List<ByteBuf> recovered = new ArrayList<>();
+        for (int i = 0; i < data.size(); i++) {
+            if (i != 2) {
+                assertTrue(decoder.onData(Unpooled.wrappedBuffer(data.get(i)), recovered));
+            }
+        }
+        decoder.onParity(parity.get(0), recovered);
+
+        assertEquals(1, recovered.size());
+        assertArrayEquals(data.get(2), ByteBufUtil.getBytes(recovered.get(0)));
+        assertTrue(UdpPacket.fromBytes(ByteBufUtil.getBytes(recovered.get(0))).isValid());
+        assertEquals(1, decoder.getRecoveredCount());
+
+        // 原始数据包延迟到达时视为重复
+        assertFalse(decoder.onData(Unpooled.wrappedBuffer(data.get(2)), recovered));
+        decoder.close();
+    }
+
+    @Test
+    void testReedSolomonRecoversMultipleLosses() {
+        AdaptiveFecPolicy policy = new AdaptiveFecPolicy(4, 32, 10, 3);
+        FecEncoder encoder = new FecEncoder(ByteBufAllocator.DEFAULT, policy, MAX_PACKET_SIZE);
+        List<byte[]> data = new ArrayList<>();
+        List<ByteBuf> parity = encodeGroup(encoder, -5, 10, data);
+        assertEquals(3, parity.size());
+
+        FecDecoder decoder = new FecDecoder(ByteBufAllocator.DEFAULT, 64, 4, MAX_PACKET_SIZE);
+        List<ByteBuf> recovered = new ArrayList<>();
+        // 丢失第0个校验包和第1、4、8个数据包，校验包先于部分数据包到达
+        decoder.onParity(parity.get(2), recovered);
+        for (int i = 0; i < 5; i++) {
+            if (i != 1 && i != 4) {
+                decoder.onData(Unpooled.wrappedBuffer(data.get(i)), recovered);
+            }
+        }
+        decoder.onParity(parity.get(1), recovered);
+        assertTrue(recovered.isEmpty());
+        for (int i = 5; i < data.size(); i++) {
+            if (i != 8) {
+                decoder.onData(Unpooled.wrappedBuffer(data.get(i)), recovered);
+            }
+        }
+        assertTrue(recovered.isEmpty());
+
+        FecDecoder second = new FecDecoder(ByteBufAllocator.DEFAULT, 64, 4, MAX_PACKET_SIZE);
+        List<ByteBuf> secondRecovered = new ArrayList<>();
+        for (int i = 0; i < data.size(); i++) {
+            if (i != 1 && i != 4 && i != 8) {
+                second.onData(Unpooled.wrappedBuffer(data.get(i)), secondRecovered);
+            }
+        }
+        second.onParity(parity.get(2), secondRecovered);
+        second.onParity(parity.get(1), secondRecovered);
+        assertTrue(secondRecovered.isEmpty());
+        second.onParity(parity.get(0), secondRecovered);
+
+        assertEquals(3, secondRecovered.size());
+        assertArrayEquals(data.get(1), ByteBufUtil.getBytes(secondRecovered.get(0)));
+        assertArrayEquals(data.get(4), ByteBufUtil.getBytes(secondRecovered.get(1)));
+        assertArrayEquals(data.get(8), ByteBufUtil.getBytes(secondRecovered.get(2)));
+        decoder.close();
+        second.close();
+    }
+
+    @Test
+    void testCopiesReleasedWhenGroupCloses() {
+        AdaptiveFecPolicy policy = new AdaptiveFecPolicy(4, 32, 4, 1);
+        FecEncoder encoder = new FecEncoder(ByteBufAllocator.DEFAULT, policy, MAX_PACKET_SIZE);
+        List<byte[]> data = new ArrayList<>();
+        List<ByteBuf> first = encodeGroup(encoder, 0, 4, data);
+        encodeGroup(encoder, 4, 4, data);
+
+        FecDecoder decoder = new FecDecoder(ByteBufAllocator.DEFAULT, 64, 4, MAX_PACKET_SIZE);
+        List<ByteBuf> recovered = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            decoder.onData(Unpooled.wrappedBuffer(data.get(i)), recovered);
+        }
+        assertEquals(4, decoder.getBufferedCount());
+        // 分组完整，校验包到达后副本全部释放
+        decoder.onParity(first.get(0), recovered);
+        assertEquals(0, decoder.getBufferedCount());
+
+        // 第二组丢失一个数据包，校验包也丢失，下一组的校验包到达时副本随之释放
+        for (int i = 4; i < 7; i++) {
+            decoder.onData(Unpooled.wrappedBuffer(data.get(i)), recovered);
+        }
+        assertEquals(3, decoder.getBufferedCount());
+        List<ByteBuf> third = encodeGroup(encoder, 8, 4, data);
+        decoder.onParity(third.get(0), recovered);
+        assertEquals(0, decoder.getBufferedCount());
+        // 已结束分组的迟到数据包不再复制
+        assertTrue(decoder.onData(Unpooled.wrappedBuffer(data.get(7)), recovered));
+        assertEquals(0, decoder.getBufferedCount());
+        assertTrue(recovered.isEmpty());
+
+        decoder.close();
+        encoder.close();
+    }
+
+    @Test
+    void testSequenceGapFlushesPartialGroup() {
+        AdaptiveFecPolicy policy = new AdaptiveFecPolicy(4, 32, 8, 1);
+        FecEncoder encoder = new FecEncoder(ByteBufAllocator.DEFAULT, policy, MAX_PACKET_SIZE);
+        List<ByteBuf> parity = new ArrayList<>();
+        encoder.encode(Unpooled.wrappedBuffer(dataPacket(1)), parity);
+        encoder.encode(Unpooled.wrappedBuffer(dataPacket(2)), parity);
+        encoder.encode(Unpooled.wrappedBuffer(dataPacket(10)), parity);
+
+        assertEquals(1, parity.size());
+        ByteBuf packet = parity.get(0);
+        int body = ProtocolConstants.HEADER_LENGTH;
+        assertEquals(0, FecParityFormat.groupId(packet));
+        assertEquals(1, packet.getInt(body + FecParityFormat.BASE_SEQUENCE));
+        assertEquals(2, packet.getUnsignedByte(body + FecParityFormat.DATA_COUNT));
+        assertTrue(UdpPacket.fromBytes(ByteBufUtil.getBytes(packet)).isValid());
+
+        encoder.flush(parity);
+        assertEquals(2, parity.size());
+        assertEquals(1, FecParityFormat.groupId(parity.get(1)));
+        encoder.close();
+    }
+
+    @Test
+    void testFrameFields() {
+        ByteBuf frame = Unpooled.wrappedBuffer(dataPacket(-3));
+        assertTrue(FecParityFormat.isFrame(frame));
+        assertEquals(-3, FecParityFormat.sequence(frame));
+        assertEquals(ProtocolConstants.BusinessProtocols.DATA_SYNC, FecParityFormat.innerProtocolId(frame));
+
+        UdpPacket plain = new UdpPacket(ProtocolConstants.BusinessProtocols.DATA_SYNC, new byte[16]);
+        assertFalse(FecParityFormat.isFrame(Unpooled.wrappedBuffer(plain.toBytes())));
+        UdpPacket truncated = new UdpPacket(ProtocolConstants.SystemProtocols.PACED_DATA, new byte[5]);
+        assertFalse(FecParityFormat.isFrame(Unpooled.wrappedBuffer(truncated.toBytes())));
+    }
+
+    @Test
+    void testCorruptedParityIgnored() {
+        FecDecoder decoder = new FecDecoder(ByteBufAllocator.DEFAULT, 64, 4, MAX_PACKET_SIZE);
+        List<ByteBuf> recovered = new ArrayList<>();
+        decoder.onParity(Unpooled.wrappedBuffer(new byte[ProtocolConstants.HEADER_LENGTH + 4]), recovered);
+        assertTrue(recovered.isEmpty());
+        assertThrows(IllegalArgumentException.class,
+            () -> new FecDecoder(ByteBufAllocator.DEFAULT, 100, 4, MAX_PACKET_SIZE));
+    }
+}
@@ -0,0 +1,89 @@
+package com.kinkle.helloquick.udp.fec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GF(2^8) 有限域运算测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class GaloisFieldTest {
+
+    @Test
+    void testInverse() {
+        for (int a = 1; a < GaloisField.FIELD_SIZE; a++) {
+            assertEquals(1, GaloisField.mul(a, GaloisField.inv(a)));
+        }
+        assertThrows(ArithmeticException.class, () -> GaloisField.inv(0));
+    }
+
+    @Test
+    void testMultiplicationIsDistributive() {
+        for (int a = 0; a < GaloisField.FIELD_SIZE; a += 7) {
+            for (int b = 0; b < GaloisField.FIELD_SIZE; b += 5) {
+                for (int c = 0; c < GaloisField.FIELD_SIZE; c += 11) {
+                    assertEquals(GaloisField.mul(a, b ^ c), GaloisField.mul(a, b) ^ GaloisField.mul(a, c));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testFirstParityRowIsXor() {
+        for (int i = 0; i < 32; i++) {
+            assertEquals(1, GaloisField.coefficient(0, i, 3));
+        }
+    }
+
+    @Test
+    void testCoefficientSubmatricesInvertible() {
+        int parityCount = 3;
+        int dataCount = 16;
+        for (int i = 0; i < dataCount; i++) {
+            for (int k = i + 1; k < dataCount; k++) {
+                int[][] matrix = {
+                    {GaloisField.coefficient(1, i, parityCount), GaloisField.coefficient(1, k, parityCount)},
+                    {GaloisField.coefficient(2, i, parityCount), GaloisField.coefficient(2, k, parityCount)}
+                };
+                int[][] copy = {matrix[0].clone(), matrix[1].clone()};
+                int[][] inverse = GaloisField.invert(copy);
+                for (int r = 0; r < 2; r++) {
+                    for (int c = 0; c < 2; c++) {
+                        int value = GaloisField.mul(matrix[r][0], inverse[0][c]) ^ GaloisField.mul(matrix[r][1], inverse[1][c]);
+                        assertEquals(r == c ? 1 : 0, value);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testXorIntoWithTail() {
+        byte[] left = new byte[13];
+        byte[] right = new byte[13];
+        for (int i = 0; i < left.length; i++) {
+            left[i] = (byte) i;
+            right[i] = (byte) (0xF0 | i);
+        }
+        ByteBuf dst = Unpooled.wrappedBuffer(left.clone());
+        GaloisField.xorInto(dst, 0, Unpooled.wrappedBuffer(right), 0, left.length);
+        for (int i = 0; i < left.length; i++) {
+            assertEquals((byte) (left[i] ^ right[i]), dst.getByte(i));
+        }
+    }
+
+    @Test
+    void testMulAddInto() {
+        ByteBuf dst = Unpooled.wrappedBuffer(new byte[]{1, 2, 3});
+        ByteBuf src = Unpooled.wrappedBuffer(new byte[]{4, 5, 6});
+        GaloisField.mulAddInto(dst, 0, src, 0, 3, 29);
+        assertEquals(1 ^ GaloisField.mul(29, 4), dst.getByte(0) & 0xFF);
+        assertEquals(3 ^ GaloisField.mul(29, 6), dst.getByte(2) & 0xFF);
+    }
+}
@@ -0,0 +1,109 @@
+package com.kinkle.helloquick.udp.handler;
+
+import com.kinkle.helloquick.udp.codec.UdpPacketDecoder;
+import com.kinkle.helloquick.udp.codec.UdpPacketEncoder;
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.socket.DatagramPacket;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 协议分发处理器测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class ProtocolDispatcherTest {
+
+    private static final InetSocketAddress SERVER = new InetSocketAddress("127.0.0.1", 9090);
+
+    private static final InetSocketAddress CLIENT = new InetSocketAddress("127.0.0.1", 40000);
+
+    private EmbeddedChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        ProtocolDispatcher dispatcher = new ProtocolDispatcher(List.of(new HeartbeatHandler()));
+        channel = new EmbeddedChannel(new UdpPacketDecoder(), new UdpPacketEncoder(), dispatcher);
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    private static DatagramPacket request(short protocolId, int sequence) {
+        UdpPacket packet = new UdpPacket(protocolId, new byte[0]);
+        packet.getHeader().setSequence(sequence);
+        packet.calculateAndSetCrc32();
+        return new DatagramPacket(Unpooled.wrappedBuffer(packet.toBytes()), SERVER, CLIENT);
+    }
+
+    private UdpPacket readResponse() {
+        channel.flushOutbound();
+        DatagramPacket response = channel.readOutbound();
+        assertNotNull(response);
+        try {
+            assertEquals(CLIENT, response.recipient());
+            return UdpPacket.fromBytes(ByteBufUtil.getBytes(response.content()));
+        } finally {
+            response.release();
+        }
+    }
+
+    @Test
+    void testHeartbeatEcho() {
+        channel.writeInbound(request(ProtocolConstants.SystemProtocols.HEARTBEAT, 77));
+
+        UdpPacket response = readResponse();
+        assertEquals(ProtocolConstants.SystemProtocols.HEARTBEAT, response.getHeader().getProtocolId());
+        assertEquals(77, response.getHeader().getSequence());
+        assertTrue(response.isValid());
+    }
+
+    @Test
+    void testUnknownProtocolRepliesProtocolError() {
+        channel.writeInbound(request(ProtocolConstants.BusinessProtocols.USER_LOGIN, 5));
+
+        UdpPacket response = readResponse();
+        assertEquals(ProtocolConstants.SystemProtocols.ERROR_RESPONSE, response.getHeader().getProtocolId());
+        assertEquals(5, response.getHeader().getSequence());
+    }
+
+    @Test
+    void testNoReplyToAckOrErrorResponse() {
+        channel.writeInbound(request(ProtocolConstants.SystemProtocols.ACK, 1));
+        channel.writeInbound(request(ProtocolConstants.SystemProtocols.ERROR_RESPONSE, 2));
+        channel.flushOutbound();
+
+        assertNull(channel.readOutbound());
+    }
+
+    @Test
+    void testCorruptedPacketDropped() {
+        byte[] data = request(ProtocolConstants.SystemProtocols.HEARTBEAT, 1).content().array();
+        data[data.length - 1] ^= 0x01;
+        channel.writeInbound(new DatagramPacket(Unpooled.wrappedBuffer(data), SERVER, CLIENT));
+        channel.writeInbound(new DatagramPacket(Unpooled.wrappedBuffer(new byte[3]), SERVER, CLIENT));
+        channel.flushOutbound();
+
+        assertNull(channel.readOutbound());
+    }
+
+    @Test
+    void testDuplicateHandlerRejected() {
+        assertThrows(IllegalStateException.class,
+            () -> new ProtocolDispatcher(List.of(new HeartbeatHandler(), new HeartbeatHandler())));
+    }
+}
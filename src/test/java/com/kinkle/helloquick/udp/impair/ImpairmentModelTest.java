@@ -0,0 +1,119 @@
+package com.kinkle.helloquick.udp.impair;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 网络损伤模型测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class ImpairmentModelTest {
+
+    private static final long MILLI = 1_000_000L;
+
+    @Test
+    void testNoImpairmentDeliversImmediately() {
+        ImpairmentModel model = new ImpairmentModel(ImpairmentProfile.none(), 1);
+        long[] delays = new long[2];
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(1, model.schedule(i, 100, delays));
+            assertEquals(0, delays[0]);
+        }
+        assertEquals(1000, model.getDelivered());
+    }
+
+    @Test
+    void testLossRate() {
+        ImpairmentModel model = new ImpairmentModel(ImpairmentProfile.parse("loss=0.1"), 7);
+        long[] delays = new long[2];
+        for (int i = 0; i < 100_000; i++) {
+            model.schedule(i, 100, delays);
+        }
+        assertEquals(0.1, model.getLost() / 100_000.0, 0.01);
+    }
+
+    @Test
+    void testSameSeedSameDecisions() {
+        ImpairmentProfile profile = ImpairmentProfile.parse("loss=0.2,reorder=0.1,duplicate=0.05,delay=5,jitter=2");
+        ImpairmentModel first = new ImpairmentModel(profile, 42);
+        ImpairmentModel second = new ImpairmentModel(profile, 42);
+        long[] a = new long[2];
+        long[] b = new long[2];
+        for (int i = 0; i < 10_000; i++) {
+            int copies = first.schedule(i, 100, a);
+            assertEquals(copies, second.schedule(i, 100, b));
+            for (int c = 0; c < copies; c++) {
+                assertEquals(a[c], b[c]);
+            }
+        }
+    }
+
+    @Test
+    void testDelayAndJitterBounds() {
+        ImpairmentModel model = new ImpairmentModel(ImpairmentProfile.parse("delay=20,jitter=5"), 3);
+        long[] delays = new long[2];
+        for (int i = 0; i < 10_000; i++) {
+            model.schedule(i, 100, delays);
+            assertTrue(delays[0] >= 15 * MILLI && delays[0] <= 25 * MILLI, "delay " + delays[0]);
+        }
+    }
+
+    @Test
+    void testReorderAddsExtraDelay() {
+        ImpairmentModel model = new ImpairmentModel(ImpairmentProfile.parse("reorder=1,reorderDelay=8"), 3);
+        long[] delays = new long[2];
+        assertEquals(1, model.schedule(0, 100, delays));
+        assertEquals(8 * MILLI, delays[0]);
+        assertEquals(1, model.getReordered());
+    }
+
+    @Test
+    void testDuplicate() {
+        ImpairmentModel model = new ImpairmentModel(ImpairmentProfile.parse("duplicate=1"), 3);
+        long[] delays = new long[2];
+        assertEquals(2, model.schedule(0, 100, delays));
+        assertEquals(1, model.getDuplicated());
+        assertEquals(2, model.getDelivered());
+    }
+
+    @Test
+    void testBandwidthSerializesAndDropsOnQueueLimit() {
+        // 1000字节/秒，每个100字节的数据报占用链路100ms
+        ImpairmentModel model = new ImpairmentModel(ImpairmentProfile.parse("bandwidth=1000,maxQueueDelay=250"), 3);
+        long[] delays = new long[2];
+        assertEquals(1, model.schedule(0, 100, delays));
+        assertEquals(100 * MILLI, delays[0]);
+        assertEquals(1, model.schedule(0, 100, delays));
+        assertEquals(200 * MILLI, delays[0]);
+        assertEquals(1, model.schedule(0, 100, delays));
+        assertEquals(300 * MILLI, delays[0]);
+        // 需要排队300ms，超过上限
+        assertEquals(0, model.schedule(0, 100, delays));
+        assertEquals(1, model.getQueueDropped());
+        // 链路空闲后恢复
+        assertEquals(1, model.schedule(1000 * MILLI, 100, delays));
+        assertEquals(100 * MILLI, delays[0]);
+    }
+
+    @Test
+    void testProfileSwitch() {
+        ImpairmentModel model = new ImpairmentModel(ImpairmentProfile.parse("loss=1"), 3);
+        long[] delays = new long[2];
+        assertEquals(0, model.schedule(0, 100, delays));
+        model.setProfile(ImpairmentProfile.none());
+        assertEquals(1, model.schedule(1, 100, delays));
+    }
+
+    @Test
+    void testParseRejectsInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> ImpairmentProfile.parse("loss=2"));
+        assertThrows(IllegalArgumentException.class, () -> ImpairmentProfile.parse("latency=5"));
+        assertThrows(IllegalArgumentException.class, () -> ImpairmentProfile.parse("delay=-1"));
+        assertThrows(IllegalArgumentException.class, () -> ImpairmentProfile.parse("delay"));
+        assertEquals(ImpairmentProfile.none(), ImpairmentProfile.parse("none"));
+    }
+}
@@ -0,0 +1,61 @@
+package com.kinkle.helloquick.udp.login;
+
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 登录报文编解码测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class LoginFormatTest {
+
+    @Test
+    void testLoginRequestRoundTrip() {
+        LoginRequest decoded = LoginRequest.decode(new LoginRequest("张三", "p@ss").encode());
+
+        assertEquals("张三", decoded.getUsername());
+        assertEquals("p@ss", decoded.getPassword());
+    }
+
+    @Test
+    void testLoginRequestRejectsMalformedBody() {
+        byte[] body = new LoginRequest("user", "secret").encode();
+
+        assertThrows(IllegalArgumentException.class, () -> LoginRequest.decode(new byte[] {5}));
+        assertThrows(IllegalArgumentException.class, () -> LoginRequest.decode(new byte[] {9, 'a', 0}));
+        byte[] trailing = new byte[body.length + 1];
+        System.arraycopy(body, 0, trailing, 0, body.length);
+        assertThrows(IllegalArgumentException.class, () -> LoginRequest.decode(trailing));
+        assertThrows(IllegalArgumentException.class, () -> new LoginRequest("u".repeat(256), "x").encode());
+    }
+
+    @Test
+    void testLoginResultRoundTrip() {
+        LoginResult result = new LoginResult(ProtocolConstants.ErrorCodes.SUCCESS, 42L, 7200, "0123456789abcdef0123456789abcdef");
+        byte[] body = result.encode();
+        LoginResult decoded = LoginResult.decode(body);
+
+        assertEquals(LoginResult.HEADER_LENGTH + 32, body.length);
+        assertEquals(ProtocolConstants.ErrorCodes.SUCCESS, decoded.getCode());
+        assertEquals(42L, decoded.getUserId());
+        assertEquals(7200, decoded.getTtlSeconds());
+        assertEquals(result.getSessionId(), decoded.getSessionId());
+
+        LoginResult failure = LoginResult.decode(LoginResult.failure(ProtocolConstants.ErrorCodes.AUTH_FAILED).encode());
+        assertEquals(ProtocolConstants.ErrorCodes.AUTH_FAILED, failure.getCode());
+        assertEquals("", failure.getSessionId());
+        assertThrows(IllegalArgumentException.class, () -> LoginResult.decode(new byte[3]));
+    }
+
+    @Test
+    void testLogoutRoundTrip() {
+        assertEquals("abc", LoginResult.decodeLogout(LoginResult.encodeLogout("abc")));
+        assertArrayEquals(new byte[] {2}, LoginResult.encodeCode(ProtocolConstants.ErrorCodes.AUTH_FAILED));
+        assertThrows(IllegalArgumentException.class, () -> LoginResult.decodeLogout(new byte[] {4, 'a'}));
+    }
+}
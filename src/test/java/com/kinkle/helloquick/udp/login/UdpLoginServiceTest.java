@@ -0,0 +1,171 @@
+package com.kinkle.helloquick.udp.login;
+
+import com.kinkle.helloquick.common.service.RedisService;
+import com.kinkle.helloquick.common.util.CacheKeyUtil;
+import com.kinkle.helloquick.config.AppProperties;
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.user.entity.User;
+import com.kinkle.helloquick.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.InetSocketAddress;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * UDP登录服务测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@ExtendWith(MockitoExtension.class)
+class UdpLoginServiceTest {
+
+    private static final InetSocketAddress CLIENT = new InetSocketAddress("127.0.0.1", 40000);
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private RedisService redisService;
+
+    private UdpLoginService loginService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties properties = new AppProperties();
+        properties.getUdp().getLogin().setVerifyThreads(1);
+        loginService = new UdpLoginService(properties, userRepository, passwordEncoder, redisService);
+        user = User.builder().id(7L).username("alice").password("hash").status(1).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        loginService.shutdown();
+    }
+
+    @Test
+    void testLoginCreatesSessionAndCachesVerification() throws Exception {
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
+        when(redisService.hmset(anyString(), anyMap(), anyLong())).thenReturn(true);
+
+        LoginResult first = loginService.login("alice", "secret", CLIENT).get(5, TimeUnit.SECONDS);
+        LoginResult second = loginService.login("alice", "secret", CLIENT).get(5, TimeUnit.SECONDS);
+
+        assertEquals(ProtocolConstants.ErrorCodes.SUCCESS, first.getCode());
+        assertEquals(7L, first.getUserId());
+        assertEquals(32, first.getSessionId().length());
+        assertEquals(ProtocolConstants.ErrorCodes.SUCCESS, second.getCode());
+        assertNotEquals(first.getSessionId(), second.getSessionId());
+        // 第二次登录命中缓存，不再查库和执行BCrypt
+        verify(passwordEncoder, times(1)).matches("secret", "hash");
+        verify(userRepository, times(1)).findByUsername("alice");
+        assertEquals(1, loginService.getBcryptCount());
+        assertEquals(1, loginService.getCacheHitCount());
+        verify(redisService).hmset(eq(CacheKeyUtil.getSessionKey(first.getSessionId())), anyMap(), eq(7200L));
+        verify(redisService).sSetAndTime(CacheKeyUtil.getUserSessionsKey(7L), 7200L, first.getSessionId());
+    }
+
+    @Test
+    void testConcurrentLoginsShareVerificationButNotSession() throws Exception {
+        CountDownLatch verifying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("secret", "hash")).thenAnswer(invocation -> {
+            verifying.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+        when(redisService.hmset(anyString(), anyMap(), anyLong())).thenReturn(true);
+
+        CompletableFuture<LoginResult> first = loginService.login("alice", "secret", CLIENT);
+        assertTrue(verifying.await(5, TimeUnit.SECONDS));
+        CompletableFuture<LoginResult> second = loginService.login("alice", "secret", new InetSocketAddress("127.0.0.1", 40001));
+        release.countDown();
+
+        LoginResult firstResult = first.get(5, TimeUnit.SECONDS);
+        LoginResult secondResult = second.get(5, TimeUnit.SECONDS);
+        assertEquals(ProtocolConstants.ErrorCodes.SUCCESS, firstResult.getCode());
+        assertEquals(ProtocolConstants.ErrorCodes.SUCCESS, secondResult.getCode());
+        assertNotEquals(firstResult.getSessionId(), secondResult.getSessionId());
+        // 两个请求合并为一次BCrypt校验，但各自得到独立的会话
+        verify(passwordEncoder, times(1)).matches("secret", "hash");
+        assertEquals(0, loginService.getCacheHitCount());
+        verify(redisService, times(2)).hmset(anyString(), anyMap(), anyLong());
+    }
+
+    @Test
+    void testWrongPasswordIsNotCached() throws Exception {
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("wrong", "hash")).thenReturn(false);
+
+        LoginResult result = loginService.login("alice", "wrong", CLIENT).get(5, TimeUnit.SECONDS);
+
+        assertEquals(ProtocolConstants.ErrorCodes.AUTH_FAILED, result.getCode());
+        assertEquals(0, loginService.getVerifiedCache().size());
+        verifyNoInteractions(redisService);
+    }
+
+    @Test
+    void testDisabledUserIsRejected() throws Exception {
+        user.setStatus(0);
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
+
+        LoginResult result = loginService.login("alice", "secret", CLIENT).get(5, TimeUnit.SECONDS);
+
+        assertEquals(ProtocolConstants.ErrorCodes.AUTH_FAILED, result.getCode());
+    }
+
+    @Test
+    void testInvalidateUserForcesVerification() throws Exception {
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
+        when(redisService.hmset(anyString(), anyMap(), anyLong())).thenReturn(true);
+
+        loginService.login("alice", "secret", CLIENT).get(5, TimeUnit.SECONDS);
+        loginService.invalidateUser(7L);
+        loginService.login("alice", "secret", CLIENT).get(5, TimeUnit.SECONDS);
+
+        verify(passwordEncoder, times(2)).matches("secret", "hash");
+    }
+
+    @Test
+    void testBlankCredentialsRejectedWithoutVerification() throws Exception {
+        LoginResult result = loginService.login(" ", "secret", CLIENT).get(5, TimeUnit.SECONDS);
+
+        assertEquals(ProtocolConstants.ErrorCodes.INVALID_PARAM, result.getCode());
+        verifyNoInteractions(userRepository, passwordEncoder);
+    }
+
+    @Test
+    void testLogout() throws Exception {
+        String sessionId = "0123456789abcdef0123456789abcdef";
+        when(redisService.hget(CacheKeyUtil.getSessionKey(sessionId), "userId")).thenReturn(7L);
+
+        assertEquals(ProtocolConstants.ErrorCodes.SUCCESS, loginService.logout(sessionId).get(5, TimeUnit.SECONDS));
+        verify(redisService).del(CacheKeyUtil.getSessionKey(sessionId));
+        verify(redisService).setRemove(CacheKeyUtil.getUserSessionsKey(7L), sessionId);
+
+        assertEquals(ProtocolConstants.ErrorCodes.INVALID_PARAM,
+            loginService.logout("user:1").get(5, TimeUnit.SECONDS));
+    }
+}
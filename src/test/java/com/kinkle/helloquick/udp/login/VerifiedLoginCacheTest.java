@@ -0,0 +1,73 @@
+package com.kinkle.helloquick.udp.login;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 已校验登录缓存测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class VerifiedLoginCacheTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    void testHitRequiresSamePassword() {
+        VerifiedLoginCache cache = new VerifiedLoginCache(1000, 10);
+
+        assertNull(cache.verify("alice", "secret", 0));
+        assertTrue(cache.put("alice", "secret", 7L, cache.generation(), 0));
+        assertEquals(Long.valueOf(7L), cache.verify("alice", "secret", 10 * MILLIS));
+        assertNull(cache.verify("alice", "wrong", 10 * MILLIS));
+        assertNull(cache.verify("bob", "secret", 10 * MILLIS));
+    }
+
+    @Test
+    void testEntryExpires() {
+        VerifiedLoginCache cache = new VerifiedLoginCache(1000, 10);
+        cache.put("alice", "secret", 7L, cache.generation(), 0);
+
+        assertNull(cache.verify("alice", "secret", 1000 * MILLIS));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testInvalidateRemovesUserAndRejectsStalePut() {
+        VerifiedLoginCache cache = new VerifiedLoginCache(1000, 10);
+        cache.put("alice", "secret", 7L, cache.generation(), 0);
+        cache.put("bob", "secret", 8L, cache.generation(), 0);
+
+        long staleGeneration = cache.generation();
+        cache.invalidateUser(7L);
+
+        assertNull(cache.verify("alice", "secret", 0));
+        assertEquals(Long.valueOf(8L), cache.verify("bob", "secret", 0));
+        // 失效前开始的校验不能写回
+        assertFalse(cache.put("alice", "secret", 7L, staleGeneration, 0));
+        assertNull(cache.verify("alice", "secret", 0));
+    }
+
+    @Test
+    void testCapacityEvictsExpiredBeforeRejecting() {
+        VerifiedLoginCache cache = new VerifiedLoginCache(1000, 2);
+        cache.put("a", "p", 1L, cache.generation(), 0);
+        cache.put("b", "p", 2L, cache.generation(), 500 * MILLIS);
+
+        assertFalse(cache.put("c", "p", 3L, cache.generation(), 600 * MILLIS));
+        assertTrue(cache.put("c", "p", 3L, cache.generation(), 1200 * MILLIS));
+        assertEquals(2, cache.size());
+        assertEquals(Long.valueOf(3L), cache.verify("c", "p", 1200 * MILLIS));
+    }
+
+    @Test
+    void testZeroTtlDisablesCache() {
+        VerifiedLoginCache cache = new VerifiedLoginCache(0, 10);
+
+        assertFalse(cache.put("alice", "secret", 7L, cache.generation(), 0));
+        assertNull(cache.verify("alice", "secret", 0));
+    }
+}
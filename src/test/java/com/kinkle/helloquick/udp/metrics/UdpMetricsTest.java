@@ -0,0 +1,124 @@
+package com.kinkle.helloquick.udp.metrics;
+
+import com.kinkle.helloquick.udp.codec.UdpPacketDecoder;
+import com.kinkle.helloquick.udp.codec.UdpPacketEncoder;
+import com.kinkle.helloquick.udp.handler.HeartbeatHandler;
+import com.kinkle.helloquick.udp.handler.ProtocolDispatcher;
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.socket.DatagramPacket;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * UDP管道指标测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class UdpMetricsTest {
+
+    private static final InetSocketAddress SERVER = new InetSocketAddress("127.0.0.1", 9090);
+
+    private static final InetSocketAddress CLIENT = new InetSocketAddress("127.0.0.1", 40000);
+
+    private SimpleMeterRegistry registry;
+
+    private EmbeddedChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        UdpMetrics metrics = new UdpMetrics(registry);
+        ProtocolDispatcher dispatcher = new ProtocolDispatcher(List.of(new HeartbeatHandler()), metrics);
+        channel = new EmbeddedChannel(new UdpPacketDecoder(metrics), new UdpPacketEncoder(metrics), dispatcher);
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.finishAndReleaseAll();
+        registry.close();
+    }
+
+    private static byte[] encode(short protocolId, int sequence) {
+        UdpPacket packet = new UdpPacket(protocolId, new byte[0]);
+        packet.getHeader().setSequence(sequence);
+        return packet.toBytes();
+    }
+
+    private void receive(byte[] bytes) {
+        channel.writeInbound(new DatagramPacket(Unpooled.wrappedBuffer(bytes), SERVER, CLIENT));
+        channel.flushOutbound();
+    }
+
+    private double count(String name, String protocol) {
+        return registry.get(name).tag("protocol", protocol).functionCounter().count();
+    }
+
+    private double count(String name, String protocol, String reason) {
+        return registry.get(name).tag("protocol", protocol).tag("reason", reason).functionCounter().count();
+    }
+
+    @Test
+    void testRegistersMetersForEveryProtocol() {
+        assertNotNull(registry.find("udp.packets.in").tag("protocol", "HEARTBEAT").tag("category", "SYSTEM")
+            .functionCounter());
+        assertNotNull(registry.find("udp.packets.in").tag("protocol", "DATA_SYNC").tag("category", "BUSINESS")
+            .functionCounter());
+        assertNotNull(registry.find("udp.handler.latency").tag("protocol", UdpMetrics.UNKNOWN).timer());
+        assertEquals(0, count("udp.packets.in", "HEARTBEAT"));
+    }
+
+    @Test
+    void testCountsInboundOutboundAndLatency() {
+        byte[] request = encode(ProtocolConstants.SystemProtocols.HEARTBEAT, 1);
+        receive(request);
+        receive(encode(ProtocolConstants.SystemProtocols.HEARTBEAT, 2));
+
+        assertEquals(2, count("udp.packets.in", "HEARTBEAT"));
+        assertEquals(2.0 * request.length, count("udp.bytes.in", "HEARTBEAT"));
+        assertEquals(2, count("udp.packets.out", "HEARTBEAT"));
+        assertTrue(count("udp.bytes.out", "HEARTBEAT") > 0);
+        assertEquals(2, registry.get("udp.handler.latency").tag("protocol", "HEARTBEAT").timer().count());
+        assertEquals(2, registry.get("udp.queue.wait").tag("protocol", "HEARTBEAT").timer().count());
+    }
+
+    @Test
+    void testCountsDecodeFailuresByReason() {
+        byte[] corrupted = encode(ProtocolConstants.SystemProtocols.HEARTBEAT, 1);
+        corrupted[corrupted.length - 1] ^= 0x01;
+        receive(corrupted);
+
+        byte[] badMagic = encode(ProtocolConstants.SystemProtocols.HEARTBEAT, 2);
+        badMagic[1] ^= 0x01;
+        receive(badMagic);
+
+        receive(new byte[] {0x12, 0x34});
+
+        assertEquals(1, count("udp.decode.failures", "HEARTBEAT", "crc_mismatch"));
+        assertEquals(1, count("udp.decode.failures", UdpMetrics.UNKNOWN, "invalid_header"));
+        assertEquals(1, count("udp.decode.failures", UdpMetrics.UNKNOWN, "malformed"));
+        assertEquals(0, count("udp.packets.in", "HEARTBEAT"));
+        assertNull(channel.readOutbound());
+    }
+
+    @Test
+    void testCountsUnknownProtocolAsDroppedAndErrorReplyAsOutbound() {
+        receive(encode((short) 0x7ABC, 7));
+
+        assertEquals(1, count("udp.packets.in", UdpMetrics.UNKNOWN));
+        assertEquals(1, count("udp.packets.dropped", UdpMetrics.UNKNOWN, "unknown_protocol"));
+        // 错误响应由预编码模板写出，协议号从包头读取
+        assertEquals(1, count("udp.packets.out", "ERROR_RESPONSE"));
+    }
+}
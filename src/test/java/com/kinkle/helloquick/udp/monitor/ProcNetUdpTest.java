@@ -0,0 +1,86 @@
+package com.kinkle.helloquick.udp.monitor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * /proc/net UDP统计解析测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class ProcNetUdpTest {
+
+    private static final List<String> SNMP = List.of(
+        "Ip: Forwarding DefaultTTL InReceives InHdrErrors",
+        "Ip: 1 64 123456 0",
+        "Udp: InDatagrams NoPorts InErrors OutDatagrams RcvbufErrors SndbufErrors InCsumErrors IgnoredMulti MemErrors",
+        "Udp: 987654 12 345 876543 340 2 5 0 0",
+        "UdpLite: InDatagrams NoPorts InErrors OutDatagrams RcvbufErrors SndbufErrors InCsumErrors IgnoredMulti MemErrors",
+        "UdpLite: 0 0 0 0 0 0 0 0 0"
+    );
+
+    private static final List<String> UDP = List.of(
+        "   sl  local_address rem_address   st tx_queue rx_queue tr tm->when retrnsmt   uid  timeout inode ref pointer drops",
+        "  120: 00000000:2382 00000000:0000 07 00000000:00000000 00:00000000 00000000     0        0 40001 2 0000000000000000 0",
+        "  121: 00000000:2382 00000000:0000 07 00000000:0003E800 00:00000000 00000000     0        0 40002 2 0000000000000000 17",
+        "  300: 0100007F:0035 00000000:0000 07 00000000:00000000 00:00000000 00000000   101        0 30001 2 0000000000000000 0"
+    );
+
+    @Test
+    void testParseSnmpReadsUdpSection() {
+        Map<String, Long> counters = ProcNetUdp.parseSnmp(SNMP);
+
+        assertEquals(987654L, (long) counters.get("InDatagrams"));
+        assertEquals(345L, (long) counters.get("InErrors"));
+        assertEquals(340L, (long) counters.get("RcvbufErrors"));
+        assertEquals(2L, (long) counters.get("SndbufErrors"));
+        assertEquals(5L, (long) counters.get("InCsumErrors"));
+        assertFalse(counters.containsKey("InReceives"));
+    }
+
+    @Test
+    void testParseSnmpWithoutUdpSection() {
+        assertTrue(ProcNetUdp.parseSnmp(List.of("Ip: Forwarding", "Ip: 1")).isEmpty());
+    }
+
+    @Test
+    void testParseSocketsFiltersByPort() {
+        List<UdpSocketStat> sockets = ProcNetUdp.parseSockets(UDP, 9090);
+
+        assertEquals(2, sockets.size());
+        UdpSocketStat busy = sockets.get(1);
+        assertEquals(9090, busy.getLocalPort());
+        assertEquals("00000000", busy.getLocalAddress());
+        assertEquals(0x3E800L, busy.getRxQueue());
+        assertEquals(0L, busy.getTxQueue());
+        assertEquals(17L, busy.getDrops());
+        assertEquals(40002L, busy.getInode());
+    }
+
+    @Test
+    void testParseSocketsAllPorts() {
+        List<UdpSocketStat> sockets = ProcNetUdp.parseSockets(UDP, 0);
+
+        assertEquals(3, sockets.size());
+        assertEquals(53, sockets.get(2).getLocalPort());
+    }
+
+    @Test
+    void testParseIpv6Socket() {
+        List<String> udp6 = List.of(
+            "  sl  local_address                         remote_address                        st tx_queue rx_queue tr tm->when retrnsmt   uid  timeout inode ref pointer drops",
+            "   64: 00000000000000000000000000000000:2382 00000000000000000000000000000000:0000 07 00000000:00000000 00:00000000 00000000     0        0 50001 2 0000000000000000 3"
+        );
+
+        List<UdpSocketStat> sockets = ProcNetUdp.parseSockets(udp6, 9090);
+
+        assertEquals(1, sockets.size());
+        assertEquals(3L, sockets.get(0).getDrops());
+    }
+}
@@ -0,0 +1,81 @@
+package com.kinkle.helloquick.udp.pacing;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CUBIC拥塞控制测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class CubicControllerTest {
+
+    private static final long MS = 1_000_000L;
+
+    private static final int MSS = 1000;
+
+    @Test
+    void testSlowStartDoublesPerRound() {
+        CubicController cubic = new CubicController(MSS, 10);
+        RttEstimator rtt = new RttEstimator(0);
+        rtt.update(10 * MS, 0);
+
+        for (int i = 0; i < 10; i++) {
+            cubic.onAck(MSS, 0, rtt, MS);
+        }
+        assertEquals(20L * MSS, cubic.getCongestionWindow());
+    }
+
+    @Test
+    void testLossReducesOncePerRtt() {
+        CubicController cubic = new CubicController(MSS, 100);
+        RttEstimator rtt = new RttEstimator(0);
+        rtt.update(10 * MS, 0);
+
+        cubic.onLoss(MSS, rtt, 100 * MS);
+        long reduced = cubic.getCongestionWindow();
+        assertEquals((long) (100 * MSS * CubicController.BETA), reduced);
+        assertEquals(reduced, cubic.getSlowStartThreshold());
+
+        // 同一RTT内的后续丢包不再降窗
+        cubic.onLoss(MSS, rtt, 105 * MS);
+        assertEquals(reduced, cubic.getCongestionWindow());
+
+        cubic.onLoss(MSS, rtt, 200 * MS);
+        assertTrue(cubic.getCongestionWindow() < reduced);
+    }
+
+    @Test
+    void testWindowRegrowsAfterLoss() {
+        CubicController cubic = new CubicController(MSS, 100);
+        RttEstimator rtt = new RttEstimator(0);
+        rtt.update(10 * MS, 0);
+        cubic.onLoss(MSS, rtt, 0);
+        long reduced = cubic.getCongestionWindow();
+
+        long now = 0;
+        for (int round = 0; round < 300 && cubic.getCongestionWindow() <= 100L * MSS; round++) {
+            now += 10 * MS;
+            long acks = cubic.getCongestionWindow() / MSS;
+            for (int i = 0; i < acks; i++) {
+                cubic.onAck(MSS, cubic.getCongestionWindow(), rtt, now);
+            }
+        }
+        assertTrue(cubic.getCongestionWindow() > 100L * MSS);
+        assertTrue(cubic.getCongestionWindow() > reduced);
+    }
+
+    @Test
+    void testPacingRateRequiresSample() {
+        CubicController cubic = new CubicController(MSS, 10);
+        RttEstimator rtt = new RttEstimator(0);
+        assertEquals(0, cubic.getPacingRate(rtt));
+
+        rtt.update(10 * MS, 0);
+        // 慢启动：2 * cwnd / srtt = 2 * 10000 / 0.01s
+        assertEquals(2_000_000L, cubic.getPacingRate(rtt));
+    }
+}
@@ -0,0 +1,68 @@
+package com.kinkle.helloquick.udp.pacing;
+
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 节奏控制数据帧测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class PacedFrameTest {
+
+    @Test
+    void testWrapAndUnwrap() {
+        UdpPacket packet = new UdpPacket(ProtocolConstants.BusinessProtocols.DATA_SYNC, new byte[] {1, 2, 3});
+        packet.getHeader().setSequence(42);
+        packet.getHeader().setEncoding(ProtocolConstants.Encoding.BINARY);
+
+        UdpPacket frame = PacedFrame.wrap(7, packet);
+
+        assertEquals(ProtocolConstants.SystemProtocols.PACED_DATA, frame.getHeader().getProtocolId());
+        assertEquals(42, frame.getHeader().getSequence());
+        assertEquals(7, PacedFrame.sequence(frame));
+        assertEquals(packet.getTotalLength() + PacedFrame.HEADER_LENGTH, frame.getTotalLength());
+
+        UdpPacket inner = PacedFrame.unwrap(UdpPacket.fromBytes(frame.toBytes()));
+        assertEquals(ProtocolConstants.BusinessProtocols.DATA_SYNC, inner.getHeader().getProtocolId());
+        assertEquals(ProtocolConstants.Encoding.BINARY, inner.getHeader().getEncoding());
+        assertEquals(42, inner.getHeader().getSequence());
+        assertEquals(packet.getHeader().getTimestamp(), inner.getHeader().getTimestamp());
+        assertArrayEquals(new byte[] {1, 2, 3}, inner.getBody());
+    }
+
+    @Test
+    void testAckCarriesTransportSequence() {
+        UdpPacket packet = new UdpPacket(ProtocolConstants.BusinessProtocols.DATA_SYNC, new byte[0]);
+        packet.getHeader().setSequence(42);
+
+        UdpPacket ack = PacedFrame.ack(PacedFrame.wrap(-2, packet));
+
+        assertEquals(ProtocolConstants.SystemProtocols.ACK, ack.getHeader().getProtocolId());
+        assertEquals(42, ack.getHeader().getSequence());
+        assertTrue(PacedFrame.isFrameAck(ack));
+        assertEquals(-2, PacedFrame.ackedSequence(ack));
+        assertFalse(PacedFrame.isFrameAck(new UdpPacket(ProtocolConstants.SystemProtocols.ACK, new byte[0])));
+    }
+
+    @Test
+    void testMalformedFramesRejected() {
+        UdpPacket packet = new UdpPacket(ProtocolConstants.BusinessProtocols.DATA_SYNC, new byte[0]);
+        UdpPacket frame = PacedFrame.wrap(0, packet);
+
+        assertThrows(IllegalArgumentException.class, () -> PacedFrame.wrap(1, frame));
+
+        byte[] nested = {0, 0, 0, 1, 0, (byte) ProtocolConstants.SystemProtocols.PACED_DATA};
+        UdpPacket nestedFrame = new UdpPacket(ProtocolConstants.SystemProtocols.PACED_DATA, nested);
+        assertThrows(IllegalArgumentException.class, () -> PacedFrame.unwrap(nestedFrame));
+
+        UdpPacket shortFrame = new UdpPacket(ProtocolConstants.SystemProtocols.PACED_DATA, new byte[5]);
+        assertThrows(IllegalArgumentException.class, () -> PacedFrame.unwrap(shortFrame));
+        assertThrows(IllegalArgumentException.class, () -> PacedFrame.sequence(shortFrame));
+    }
+}
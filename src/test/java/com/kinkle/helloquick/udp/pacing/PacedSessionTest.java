@@ -0,0 +1,155 @@
+package com.kinkle.helloquick.udp.pacing;
+
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 节奏控制会话测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class PacedSessionTest {
+
+    private static final long MS = 1_000_000L;
+
+    private static final short PROTOCOL_ID = 0x0102;
+
+    private final List<UdpPacket> sent = new ArrayList<>();
+
+    private int flushes;
+
+    private PacedSession newSession(int initialWindowPackets, int maxQueued) {
+        int mss = new UdpPacket(PROTOCOL_ID, new byte[100]).getTotalLength() + PacedFrame.HEADER_LENGTH;
+        return new PacedSession(new CubicController(mss, initialWindowPackets), new RttEstimator(200 * MS),
+            new TokenBucket(1_000_000_000L, 64L * mss, 0), maxQueued, new PacedSession.Sink() {
+                @Override
+                public void write(UdpPacket packet) {
+                    sent.add(packet);
+                }
+
+                @Override
+                public void flush() {
+                    flushes++;
+                }
+            });
+    }
+
+    private static UdpPacket packet() {
+        return new UdpPacket(PROTOCOL_ID, new byte[100]);
+    }
+
+    @Test
+    void testWindowLimitsInFlight() {
+        PacedSession session = newSession(4, 100);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(session.enqueue(packet()));
+        }
+
+        long wait = session.drain(0);
+
+        assertEquals(4, sent.size());
+        assertEquals(1, flushes);
+        assertEquals(6, session.getQueuedPackets());
+        // 等待RTO兜底
+        assertTrue(wait > 0);
+        for (int i = 0; i < sent.size(); i++) {
+            assertEquals(ProtocolConstants.SystemProtocols.PACED_DATA, sent.get(i).getHeader().getProtocolId());
+            assertEquals(i, PacedFrame.sequence(sent.get(i)));
+        }
+    }
+
+    @Test
+    void testRequestSequenceIsPreserved() {
+        PacedSession session = newSession(4, 100);
+        UdpPacket request = packet();
+        request.getHeader().setSequence(0x7F000001);
+        session.enqueue(request);
+
+        session.drain(0);
+
+        assertEquals(0x7F000001, request.getHeader().getSequence());
+        assertEquals(0x7F000001, sent.get(0).getHeader().getSequence());
+        assertEquals(0, PacedFrame.sequence(sent.get(0)));
+    }
+
+    @Test
+    void testNestedFrameRejected() {
+        PacedSession session = newSession(4, 100);
+
+        assertThrows(IllegalArgumentException.class, () -> session.enqueue(PacedFrame.wrap(0, packet())));
+    }
+
+    @Test
+    void testAckOpensWindow() {
+        PacedSession session = newSession(4, 100);
+        for (int i = 0; i < 10; i++) {
+            session.enqueue(packet());
+        }
+        session.drain(0);
+
+        assertTrue(session.onAck(0, 10 * MS));
+        assertFalse(session.onAck(0, 10 * MS));
+        session.drain(10 * MS);
+
+        assertTrue(sent.size() > 4);
+        assertEquals(1, session.getAckedPackets());
+        assertTrue(session.getRtt().hasSample());
+        assertEquals(10 * MS, session.getRtt().getSmoothedRtt());
+    }
+
+    @Test
+    void testReorderThresholdDeclaresLoss() {
+        PacedSession session = newSession(10, 100);
+        for (int i = 0; i < 6; i++) {
+            session.enqueue(packet());
+        }
+        session.drain(0);
+
+        // 序列号0未确认，后续4个确认后判定丢失
+        for (int seq = 1; seq <= 4; seq++) {
+            session.onAck(seq, 10 * MS);
+        }
+        assertEquals(1, session.getLostPackets());
+        assertEquals(4, session.getAckedPackets());
+        assertEquals(sent.get(5).getTotalLength(), session.getBytesInFlight());
+    }
+
+    @Test
+    void testTimeoutDeclaresLoss() {
+        PacedSession session = newSession(10, 100);
+        session.enqueue(packet());
+        session.drain(0);
+        assertEquals(1, session.getSentPackets());
+
+        long wait = session.drain(MS);
+        assertTrue(wait > 0);
+
+        assertEquals(PacedSession.IDLE, session.drain(5000 * MS));
+        assertEquals(1, session.getLostPackets());
+        assertEquals(0, session.getBytesInFlight());
+    }
+
+    @Test
+    void testQueueLimit() {
+        PacedSession session = newSession(4, 2);
+        assertTrue(session.enqueue(packet()));
+        assertTrue(session.enqueue(packet()));
+        assertFalse(session.enqueue(packet()));
+        assertEquals(1, session.getDroppedPackets());
+    }
+
+    @Test
+    void testIdleWhenDrained() {
+        PacedSession session = newSession(4, 10);
+        assertEquals(PacedSession.IDLE, session.drain(0));
+        assertFalse(session.hasQueued());
+    }
+}
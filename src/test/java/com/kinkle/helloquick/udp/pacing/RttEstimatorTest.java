@@ -0,0 +1,64 @@
+package com.kinkle.helloquick.udp.pacing;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RTT估计器测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class RttEstimatorTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void testFirstSample() {
+        RttEstimator rtt = new RttEstimator(200 * MS);
+        assertFalse(rtt.hasSample());
+
+        rtt.update(100 * MS, 0);
+
+        assertTrue(rtt.hasSample());
+        assertEquals(100 * MS, rtt.getSmoothedRtt());
+        assertEquals(100 * MS, rtt.getMinRtt());
+        // srtt + 4 * rttvar = 100 + 4 * 50
+        assertEquals(300 * MS, rtt.getRto());
+    }
+
+    @Test
+    void testSmoothing() {
+        RttEstimator rtt = new RttEstimator(0);
+        rtt.update(100 * MS, 0);
+        rtt.update(200 * MS, MS);
+
+        // srtt = 7/8 * 100 + 1/8 * 200
+        assertEquals(112_500_000L, rtt.getSmoothedRtt());
+        assertEquals(200 * MS, rtt.getLatestRtt());
+        assertEquals(100 * MS, rtt.getMinRtt());
+    }
+
+    @Test
+    void testMinRtoFloor() {
+        RttEstimator rtt = new RttEstimator(200 * MS);
+        for (int i = 0; i < 50; i++) {
+            rtt.update(MS, i * MS);
+        }
+        assertEquals(200 * MS, rtt.getRto());
+    }
+
+    @Test
+    void testMinRttExpires() {
+        RttEstimator rtt = new RttEstimator(0);
+        rtt.update(10 * MS, 0);
+        rtt.update(50 * MS, 1000 * MS);
+        assertEquals(10 * MS, rtt.getMinRtt());
+
+        long later = (RttEstimator.MIN_RTT_WINDOW_SECONDS + 1) * 1000 * MS;
+        rtt.update(40 * MS, later);
+        assertEquals(40 * MS, rtt.getMinRtt());
+    }
+}
@@ -0,0 +1,48 @@
+package com.kinkle.helloquick.udp.pacing;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 令牌桶测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class TokenBucketTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void testBurstThenPaced() {
+        // 1MB/s，突发3000字节
+        TokenBucket bucket = new TokenBucket(1_000_000, 3000, 0);
+
+        assertTrue(bucket.tryConsume(1500, 0));
+        assertTrue(bucket.tryConsume(1500, 0));
+        assertFalse(bucket.tryConsume(1500, 0));
+
+        // 1.5ms后补充1500字节
+        assertEquals(3 * MS / 2, bucket.nanosUntilAvailable(1500, 0), 1000);
+        assertTrue(bucket.tryConsume(1500, 3 * MS / 2));
+    }
+
+    @Test
+    void testTokensCappedAtBurst() {
+        TokenBucket bucket = new TokenBucket(1_000_000, 3000, 0);
+        assertEquals(3000, bucket.getTokens(1000 * MS));
+    }
+
+    @Test
+    void testSetRateKeepsAccruedTokens() {
+        TokenBucket bucket = new TokenBucket(1_000_000, 3000, 0);
+        assertTrue(bucket.tryConsume(3000, 0));
+
+        bucket.setRate(2_000_000, MS);
+        assertEquals(2_000_000, bucket.getRate());
+        assertEquals(1000, bucket.getTokens(MS), 1);
+        assertEquals(3000, bucket.getTokens(2 * MS), 1);
+    }
+}
@@ -0,0 +1,70 @@
+package com.kinkle.helloquick.udp.presence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 在线状态变更合并测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class PresenceCoalescerTest {
+
+    @Test
+    void testPublishesSingleChangePerUser() {
+        PresenceCoalescer coalescer = new PresenceCoalescer();
+        coalescer.record(1, true, 100);
+        coalescer.record(2, false, 110);
+
+        List<PresenceChange> changes = coalescer.drain(userId -> userId == 1);
+
+        assertEquals(2, changes.size());
+        PresenceChange first = changes.stream().filter(c -> c.getUserId() == 1).findFirst().orElseThrow();
+        assertTrue(first.isOnline());
+        assertEquals(100L, first.getChangedAt());
+        assertTrue(coalescer.drain(userId -> true).isEmpty());
+    }
+
+    @Test
+    void testFlappingWithinWindowIsSuppressed() {
+        PresenceCoalescer coalescer = new PresenceCoalescer();
+        for (int i = 0; i < 10; i++) {
+            coalescer.record(5, true, 100 + i * 2);
+            coalescer.record(5, false, 101 + i * 2);
+        }
+
+        assertTrue(coalescer.drain(userId -> false).isEmpty());
+        assertEquals(1L, coalescer.getSuppressed());
+    }
+
+    @Test
+    void testFinalStateComesFromTable() {
+        PresenceCoalescer coalescer = new PresenceCoalescer();
+        // 扫描线程的下线记录晚于心跳线程的上线记录到达
+        coalescer.record(9, false, 200);
+        coalescer.record(9, true, 201);
+
+        List<PresenceChange> changes = coalescer.drain(userId -> true);
+
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    void testChangeAcrossWindowsIsPublishedEachTime() {
+        PresenceCoalescer coalescer = new PresenceCoalescer();
+        coalescer.record(3, true, 100);
+        assertEquals(1, coalescer.drain(userId -> true).size());
+
+        coalescer.record(3, false, 200);
+        List<PresenceChange> changes = coalescer.drain(userId -> false);
+
+        assertEquals(1, changes.size());
+        assertFalse(changes.get(0).isOnline());
+        assertEquals(200L, changes.get(0).getChangedAt());
+    }
+}
@@ -0,0 +1,100 @@
+package com.kinkle.helloquick.udp.presence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 在线用户表测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class PresenceTableTest {
+
+    @Test
+    void testPutReturnsPreviousAndOnlyMovesForward() {
+        PresenceTable table = new PresenceTable(16, 4);
+
+        assertEquals(0L, table.put(42, 1000));
+        assertEquals(1000L, table.put(42, 2000));
+        assertEquals(2000L, table.put(42, 1500));
+        assertEquals(2000L, table.get(42));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    void testGrowsBeyondInitialCapacity() {
+        PresenceTable table = new PresenceTable(0, 2);
+
+        for (long userId = 1; userId <= 50_000; userId++) {
+            assertEquals(0L, table.put(userId, userId + 10));
+        }
+
+        assertEquals(50_000, table.size());
+        for (long userId = 1; userId <= 50_000; userId++) {
+            assertEquals(userId + 10, table.get(userId));
+        }
+        assertEquals(0L, table.get(50_001));
+    }
+
+    @Test
+    void testRemoveKeepsProbeChainsIntact() {
+        PresenceTable table = new PresenceTable(64, 1);
+        for (long userId = 1; userId <= 40; userId++) {
+            table.put(userId, 100);
+        }
+
+        for (long userId = 1; userId <= 40; userId += 2) {
+            assertEquals(100L, table.remove(userId));
+        }
+
+        assertEquals(20, table.size());
+        for (long userId = 1; userId <= 40; userId++) {
+            assertEquals(userId % 2 == 0 ? 100L : 0L, table.get(userId));
+        }
+        assertEquals(0L, table.remove(1));
+    }
+
+    @Test
+    void testGetAllMatchesRequestOrder() {
+        PresenceTable table = new PresenceTable(16, 8);
+        table.put(7, 700);
+        table.put(3, 300);
+
+        long[] lastSeen = table.getAll(new long[]{3, 99, 7, 0, -5, 3});
+
+        assertArrayEquals(new long[]{300, 0, 700, 0, 0, 300}, lastSeen);
+    }
+
+    @Test
+    void testExpireRemovesStaleUsers() {
+        PresenceTable table = new PresenceTable(16, 4);
+        for (long userId = 1; userId <= 1000; userId++) {
+            table.put(userId, userId <= 600 ? 100 : 500);
+        }
+        List<Long> expired = new ArrayList<>();
+
+        int removed = table.expire(200, expired::add);
+
+        assertEquals(600, removed);
+        assertEquals(600, expired.size());
+        assertEquals(400, table.size());
+        assertEquals(0L, table.get(1));
+        assertEquals(500L, table.get(1000));
+    }
+
+    @Test
+    void testRejectsInvalidArguments() {
+        PresenceTable table = new PresenceTable(16, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> table.put(0, 100));
+        assertThrows(IllegalArgumentException.class, () -> table.put(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new PresenceTable(16, 0));
+        assertEquals(0L, table.get(-1));
+    }
+}
@@ -0,0 +1,179 @@
+package com.kinkle.helloquick.udp.protocol;
+
+import com.kinkle.helloquick.udp.util.VarIntUtil;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 紧凑包头（v2）编解码测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class CompactHeaderCodecTest {
+
+    private static ProtocolHeader compactHeader(short protocolId, int bodyLength) {
+        ProtocolHeader header = new ProtocolHeader(protocolId, bodyLength);
+        header.setVersion(ProtocolConstants.PROTOCOL_VERSION_V2);
+        return header;
+    }
+
+    @Test
+    void testRoundTripAllFields() {
+        ProtocolHeader header = compactHeader(ProtocolConstants.BusinessProtocols.USER_LOGIN, 300);
+        header.setEncoding(ProtocolConstants.Encoding.BINARY);
+        header.setEncryption(ProtocolConstants.Encryption.AES);
+        header.setTimestamp(ProtocolConstants.COMPACT_TIMESTAMP_EPOCH + 123456789L);
+        header.setSequence(-2);
+
+        ByteBuffer buffer = ByteBuffer.allocate(CompactHeaderCodec.encodedLength(header));
+        CompactHeaderCodec.write(header, buffer);
+        assertFalse(buffer.hasRemaining());
+        buffer.flip();
+
+        ProtocolHeader decoded = CompactHeaderCodec.read(buffer);
+        assertFalse(buffer.hasRemaining());
+        assertEquals(ProtocolConstants.PROTOCOL_VERSION_V2, decoded.getVersion());
+        assertEquals(ProtocolConstants.MAGIC_NUMBER, decoded.getMagic());
+        assertEquals(header.getProtocolId(), decoded.getProtocolId());
+        assertEquals(300, decoded.getBodyLength());
+        assertEquals(ProtocolConstants.Encoding.BINARY, decoded.getEncoding());
+        assertEquals(ProtocolConstants.Encryption.AES, decoded.getEncryption());
+        assertEquals(header.getTimestamp(), decoded.getTimestamp());
+        assertEquals(-2, decoded.getSequence());
+        assertTrue(decoded.isValid());
+    }
+
+    @Test
+    void testTimestampBeforeEpoch() {
+        ProtocolHeader header = compactHeader(ProtocolConstants.SystemProtocols.HEARTBEAT, 0);
+        header.setTimestamp(ProtocolConstants.COMPACT_TIMESTAMP_EPOCH - 1000L);
+
+        ByteBuffer buffer = ByteBuffer.wrap(header.toBytes());
+        assertEquals(header.getTimestamp(), CompactHeaderCodec.read(buffer).getTimestamp());
+    }
+
+    @Test
+    void testMinimalHeaderOmitsDefaults() {
+        ProtocolHeader header = compactHeader(ProtocolConstants.SystemProtocols.HEARTBEAT, 0);
+        header.setTimestamp(0);
+        header.setSequence(0);
+
+        byte[] bytes = header.toBytes();
+        assertEquals(ProtocolConstants.COMPACT_MIN_HEADER_LENGTH, bytes.length);
+        assertEquals(ProtocolConstants.PROTOCOL_VERSION_V2, bytes[0]);
+        assertEquals(0, bytes[1]);
+    }
+
+    @Test
+    void testHeartbeatMuchSmallerThanV1() {
+        UdpPacket v1 = new UdpPacket(ProtocolConstants.SystemProtocols.HEARTBEAT, new byte[0]);
+        v1.getHeader().setSequence(42);
+        UdpPacket v2 = new UdpPacket(ProtocolConstants.SystemProtocols.HEARTBEAT, new byte[0]);
+        v2.getHeader().setVersion(ProtocolConstants.PROTOCOL_VERSION_V2);
+        v2.getHeader().setTimestamp(v1.getHeader().getTimestamp());
+        v2.getHeader().setSequence(42);
+
+        int v1Length = v1.toBytes().length;
+        int v2Length = v2.toBytes().length;
+        assertEquals(ProtocolConstants.HEADER_LENGTH + ProtocolConstants.HeaderLengths.CRC32, v1Length);
+        // 时间戳差值约6字节，序列号1字节
+        assertTrue(v2Length <= 16, "v2 heartbeat length: " + v2Length);
+        assertEquals(v2Length, v2.getTotalLength());
+    }
+
+    @Test
+    void testUnknownFlagsRejected() {
+        byte[] bytes = {ProtocolConstants.PROTOCOL_VERSION_V2, (byte) 0x80, 0x01, 0x00};
+        assertThrows(IllegalArgumentException.class, () -> CompactHeaderCodec.read(ByteBuffer.wrap(bytes)));
+    }
+
+    @Test
+    void testTruncatedRejected() {
+        byte[] bytes = {ProtocolConstants.PROTOCOL_VERSION_V2, ProtocolConstants.CompactFlags.SEQUENCE, 0x01, 0x00};
+        assertThrows(IllegalArgumentException.class, () -> CompactHeaderCodec.read(ByteBuffer.wrap(bytes)));
+    }
+
+    @Test
+    void testSequenceOutOfRangeRejected() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.put(ProtocolConstants.PROTOCOL_VERSION_V2);
+        buffer.put((byte) ProtocolConstants.CompactFlags.SEQUENCE);
+        VarIntUtil.writeUnsigned(buffer, ProtocolConstants.SystemProtocols.HEARTBEAT);
+        VarIntUtil.writeUnsigned(buffer, 0);
+        VarIntUtil.writeUnsigned(buffer, 0x1_0000_0000L);
+        buffer.flip();
+
+        assertThrows(IllegalArgumentException.class, () -> CompactHeaderCodec.read(buffer));
+    }
+
+    @Test
+    void testCompactBytesLeaveHeaderUnchanged() {
+        UdpPacket packet = new UdpPacket(ProtocolConstants.SystemProtocols.ACK, new byte[] {1, 2, 3});
+        packet.getHeader().setSequence(99);
+        byte[] v1 = packet.toBytes();
+
+        UdpPacket decoded = UdpPacket.decode(ByteBuffer.wrap(packet.toCompactBytes()));
+        assertNotNull(decoded);
+        assertTrue(decoded.getHeader().isCompact());
+        assertEquals(99, decoded.getHeader().getSequence());
+
+        assertEquals(ProtocolConstants.PROTOCOL_VERSION, packet.getHeader().getVersion());
+        assertArrayEquals(v1, packet.toBytes());
+        assertTrue(packet.isValid());
+    }
+
+    @Test
+    void testNegativeBodyLengthRejected() {
+        ProtocolHeader header = compactHeader(ProtocolConstants.SystemProtocols.HEARTBEAT, -1);
+        assertThrows(IllegalArgumentException.class, () -> CompactHeaderCodec.write(header, ByteBuffer.allocate(32)));
+    }
+
+    @Test
+    void testDecodeBothVersionsOnSamePath() {
+        byte[] body = "{\"name\":\"alice\"}".getBytes(StandardCharsets.UTF_8);
+        for (byte version : new byte[] {ProtocolConstants.PROTOCOL_VERSION, ProtocolConstants.PROTOCOL_VERSION_V2}) {
+            UdpPacket packet = new UdpPacket(ProtocolConstants.BusinessProtocols.USER_LOGIN, body);
+            packet.getHeader().setVersion(version);
+            packet.getHeader().setSequence(7);
+
+            UdpPacket decoded = UdpPacket.decode(ByteBuffer.wrap(packet.toBytes()));
+            assertNotNull(decoded, "version " + version);
+            assertEquals(version, decoded.getHeader().getVersion());
+            assertEquals(7, decoded.getHeader().getSequence());
+            assertArrayEquals(body, decoded.getBody());
+            assertTrue(decoded.isValid());
+        }
+    }
+
+    @Test
+    void testDecodeCorruptedCrcReturnsNull() {
+        UdpPacket packet = new UdpPacket(ProtocolConstants.SystemProtocols.HEARTBEAT, new byte[] {1, 2});
+        packet.getHeader().setVersion(ProtocolConstants.PROTOCOL_VERSION_V2);
+        byte[] bytes = packet.toBytes();
+        bytes[bytes.length - 5] ^= 0x01;
+
+        assertNull(UdpPacket.decode(ByteBuffer.wrap(bytes)));
+    }
+
+    @Test
+    void testDecodeAtBufferOffset() {
+        UdpPacket packet = new UdpPacket(ProtocolConstants.SystemProtocols.HEARTBEAT, new byte[] {9});
+        packet.getHeader().setVersion(ProtocolConstants.PROTOCOL_VERSION_V2);
+        byte[] bytes = packet.toBytes();
+        ByteBuffer buffer = ByteBuffer.allocate(bytes.length + 3);
+        buffer.position(3);
+        buffer.put(bytes);
+        buffer.position(3);
+
+        UdpPacket decoded = UdpPacket.decode(buffer);
+        assertNotNull(decoded);
+        assertEquals(9, decoded.getBody()[0]);
+        assertFalse(buffer.hasRemaining());
+    }
+}
@@ -0,0 +1,140 @@
+package com.kinkle.helloquick.udp.protocol;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kinkle.helloquick.udp.login.LoginRequest;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 包体延迟解码测试类
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class PayloadCodecTest {
+
+    @Test
+    void testStaticDecoderIgnoresHeaderEncoding() {
+        UdpPacket packet = new UdpPacket(ProtocolConstants.BusinessProtocols.USER_LOGIN,
+            new LoginRequest("alice", "secret").encode());
+
+        LoginRequest request = packet.payload(LoginRequest.class);
+
+        assertEquals("alice", request.getUsername());
+        assertEquals("secret", request.getPassword());
+    }
+
+    @Test
+    void testPayloadDecodedOnceAndCached() {
+        UdpPacket packet = new UdpPacket(ProtocolConstants.BusinessProtocols.USER_LOGIN,
+            new LoginRequest("alice", "secret").encode());
+        assertFalse(packet.isPayloadDecoded());
+
+        LoginRequest first = packet.payload(LoginRequest.class);
+
+        assertTrue(packet.isPayloadDecoded());
+        assertSame(first, packet.payload(LoginRequest.class));
+    }
+
+    @Test
+    void testSetBodyDiscardsCachedPayload() {
+        UdpPacket packet = new UdpPacket(ProtocolConstants.BusinessProtocols.USER_LOGIN,
+            new LoginRequest("alice", "secret").encode());
+        packet.payload(LoginRequest.class);
+
+        packet.setBody(new LoginRequest("bob", "other").encode());
+
+        assertEquals("bob", packet.payload(LoginRequest.class).getUsername());
+    }
+
+    @Test
+    void testJsonPayload() {
+        byte[] body = "{\"name\":\"alice\",\"age\":30,\"extra\":true}".getBytes(StandardCharsets.UTF_8);
+        UdpPacket packet = new UdpPacket(ProtocolConstants.BusinessProtocols.DATA_SYNC, body);
+
+        Profile profile = packet.payload(Profile.class);
+
+        assertEquals("alice", profile.getName());
+        assertEquals(30, profile.getAge());
+    }
+
+    @Test
+    void testRegisteredDecoderTakesPrecedence() {
+        PayloadCodec codec = new PayloadCodec(new ObjectMapper())
+            .register(LoginRequest.class, body -> new LoginRequest("fixed", "fixed"));
+        UdpPacket packet = new UdpPacket(ProtocolConstants.BusinessProtocols.USER_LOGIN,
+            new LoginRequest("alice", "secret").encode());
+
+        assertEquals("fixed", packet.payload(LoginRequest.class, codec).getUsername());
+    }
+
+    @Test
+    void testRawBodyViews() {
+        byte[] body = {1, 2, 3};
+        UdpPacket packet = new UdpPacket(ProtocolConstants.BusinessProtocols.DATA_SYNC, body);
+
+        assertSame(body, packet.payload(byte[].class));
+        ByteBuffer slice = packet.bodySlice();
+        assertTrue(slice.isReadOnly());
+        assertEquals(3, slice.remaining());
+        assertEquals(2, slice.get(1));
+    }
+
+    @Test
+    void testMalformedPayloadThrowsIllegalArgument() {
+        UdpPacket login = new UdpPacket(ProtocolConstants.BusinessProtocols.USER_LOGIN, new byte[]{9});
+        assertThrows(IllegalArgumentException.class, () -> login.payload(LoginRequest.class));
+        assertTrue(login.isPayloadDecoded());
+
+        UdpPacket json = new UdpPacket(ProtocolConstants.BusinessProtocols.DATA_SYNC,
+            "{not json".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IllegalArgumentException.class, () -> json.payload(Profile.class));
+
+        UdpPacket xml = new UdpPacket(ProtocolConstants.BusinessProtocols.DATA_SYNC,
+            "<a/>".getBytes(StandardCharsets.UTF_8));
+        xml.getHeader().setEncoding(ProtocolConstants.Encoding.XML);
+        assertThrows(IllegalArgumentException.class, () -> xml.payload(Profile.class));
+    }
+
+    @Test
+    void testDecodedPayloadExcludedFromEquality() {
+        byte[] body = new LoginRequest("alice", "secret").encode();
+        UdpPacket decoded = new UdpPacket(ProtocolConstants.BusinessProtocols.USER_LOGIN, body);
+        UdpPacket raw = new UdpPacket(ProtocolConstants.BusinessProtocols.USER_LOGIN, body.clone());
+        decoded.payload(LoginRequest.class);
+
+        assertEquals(raw, decoded);
+        assertEquals(raw.hashCode(), decoded.hashCode());
+    }
+
+    /**
+     * JSON包体示例
+     */
+    public static class Profile {
+
+        private String name;
+
+        private int age;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+    }
+}
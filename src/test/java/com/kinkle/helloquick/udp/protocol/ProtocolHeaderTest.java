@@ -78,7 +78,7 @@ class ProtocolHeaderTest {
         header.setMagic(ProtocolConstants.MAGIC_NUMBER);
 
         // 测试无效的版本号
-        header.setVersion((byte) 0x02);
+        header.setVersion((byte) 0x03);
         assertFalse(header.isValidVersion());
         assertFalse(header.isValid());
 
@@ -290,4 +290,32 @@ class ProtocolHeaderTest {
         assertTrue(header.getProtocolId() >= ProtocolConstants.ProtocolRanges.EXTENSION_START);
         assertTrue(header.getProtocolId() <= ProtocolConstants.ProtocolRanges.EXTENSION_END);
     }
+
+    @Test
+    void testSequence() {
+        ProtocolHeader header = new ProtocolHeader();
+        assertEquals(0, header.getSequence());
+
+        header.setSequence(0x01020304);
+        assertEquals(0x01020304, header.getSequence());
+        assertArrayEquals(new byte[]{0x01, 0x02, 0x03, 0x04}, header.getReserved());
+
+        header.setSequence(-2);
+        ProtocolHeader restored = ProtocolHeader.fromBytes(header.toBytes());
+        assertEquals(-2, restored.getSequence());
+        assertEquals(0xFFFFFFFEL, restored.getCorrelationId());
+    }
+
+    @Test
+    void testV1LayoutWithCompactVersionRejected() {
+        byte[] bytes = new ProtocolHeader(ProtocolConstants.SystemProtocols.HEARTBEAT, 0).toBytes();
+        // 魔数之后的版本号字节改为v2
+        bytes[4] = ProtocolConstants.PROTOCOL_VERSION_V2;
+
+        ProtocolHeader fromBytes = ProtocolHeader.fromBytes(bytes);
+        ProtocolHeader fromBuffer = ProtocolHeader.fromByteBuffer(ByteBuffer.wrap(bytes));
+        assertFalse(fromBytes.isValidVersion());
+        assertFalse(fromBytes.isValid());
+        assertFalse(fromBuffer.isValid());
+    }
 }
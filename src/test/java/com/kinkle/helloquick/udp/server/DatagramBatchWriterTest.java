@@ -0,0 +1,119 @@
+package com.kinkle.helloquick.udp.server;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.epoll.EpollDatagramChannel;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.channel.unix.SegmentedDatagramPacket;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 批量数据报写出处理器测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class DatagramBatchWriterTest {
+
+    private static final InetSocketAddress CLIENT_A = new InetSocketAddress("127.0.0.1", 40001);
+
+    private static final InetSocketAddress CLIENT_B = new InetSocketAddress("127.0.0.1", 40002);
+
+    private static DatagramPacket packet(int size, InetSocketAddress recipient) {
+        return new DatagramPacket(Unpooled.buffer(size).writeZero(size), recipient);
+    }
+
+    @Test
+    void testWritesBufferedUntilFlush() {
+        DatagramBatchWriter writer = new DatagramBatchWriter(false, 64);
+        EmbeddedChannel channel = new EmbeddedChannel(writer);
+
+        ChannelFuture first = channel.write(packet(30, CLIENT_A));
+        ChannelFuture second = channel.write(packet(30, CLIENT_A));
+        assertEquals(2, writer.pendingCount());
+        assertNull(channel.readOutbound());
+
+        channel.flush();
+        assertEquals(0, writer.pendingCount());
+        assertTrue(first.isSuccess());
+        assertTrue(second.isSuccess());
+        assertEquals(2, channel.outboundMessages().size());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void testReadCompleteFlushesBatch() {
+        DatagramBatchWriter writer = new DatagramBatchWriter(false, 64);
+        EmbeddedChannel channel = new EmbeddedChannel(writer);
+
+        channel.write(packet(10, CLIENT_A));
+        channel.pipeline().fireChannelReadComplete();
+
+        assertEquals(0, writer.pendingCount());
+        assertEquals(1, channel.outboundMessages().size());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void testGsoMergesEqualSizedPacketsPerRecipient() {
+        // SegmentedDatagramPacket依赖epoll原生库与内核UDP_SEGMENT支持
+        assumeTrue(EpollDatagramChannel.isSegmentedDatagramPacketSupported());
+        EmbeddedChannel channel = new EmbeddedChannel(new DatagramBatchWriter(true, 64));
+
+        ChannelFuture a1 = channel.write(packet(100, CLIENT_A));
+        channel.write(packet(100, CLIENT_B));
+        channel.write(packet(100, CLIENT_A));
+        ChannelFuture a3 = channel.write(packet(40, CLIENT_A));
+        channel.flush();
+
+        SegmentedDatagramPacket merged = channel.readOutbound();
+        assertEquals(CLIENT_A, merged.recipient());
+        assertEquals(100, merged.segmentSize());
+        assertEquals(240, merged.content().readableBytes());
+        merged.release();
+
+        DatagramPacket single = channel.readOutbound();
+        assertFalse(single instanceof SegmentedDatagramPacket);
+        assertEquals(CLIENT_B, single.recipient());
+        single.release();
+
+        assertTrue(a1.isSuccess());
+        assertTrue(a3.isSuccess());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    void testGsoSplitsOnLargerPacketAndSegmentLimit() {
+        // SegmentedDatagramPacket依赖epoll原生库与内核UDP_SEGMENT支持
+        assumeTrue(EpollDatagramChannel.isSegmentedDatagramPacketSupported());
+        EmbeddedChannel channel = new EmbeddedChannel(new DatagramBatchWriter(true, 2));
+
+        channel.write(packet(50, CLIENT_A));
+        channel.write(packet(50, CLIENT_A));
+        channel.write(packet(50, CLIENT_A));
+        channel.write(packet(80, CLIENT_A));
+        channel.flush();
+
+        SegmentedDatagramPacket first = channel.readOutbound();
+        assertEquals(100, first.content().readableBytes());
+        first.release();
+
+        // 分段数达到上限后，剩余的50字节与更长的80字节数据报无法合并
+        DatagramPacket second = channel.readOutbound();
+        assertFalse(second instanceof SegmentedDatagramPacket);
+        assertEquals(50, second.content().readableBytes());
+        second.release();
+
+        DatagramPacket third = channel.readOutbound();
+        assertEquals(80, third.content().readableBytes());
+        third.release();
+        assertFalse(channel.finish());
+    }
+}
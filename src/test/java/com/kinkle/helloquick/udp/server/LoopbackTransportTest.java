@@ -0,0 +1,99 @@
+package com.kinkle.helloquick.udp.server;
+
+import com.kinkle.helloquick.config.AppProperties;
+import com.kinkle.helloquick.udp.handler.HeartbeatHandler;
+import com.kinkle.helloquick.udp.handler.ProtocolDispatcher;
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import io.netty.channel.socket.DatagramPacket;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 进程内回环传输测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class LoopbackTransportTest {
+
+    private static final InetSocketAddress CLIENT_A = new InetSocketAddress("127.0.0.1", 40001);
+
+    private static final InetSocketAddress CLIENT_B = new InetSocketAddress("127.0.0.1", 40002);
+
+    private LoopbackTransport transport;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties.Udp config = new AppProperties().getUdp();
+        transport = new LoopbackTransport(new ProtocolDispatcher(List.of(new HeartbeatHandler())), config, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transport.close();
+    }
+
+    private static byte[] heartbeat(int sequence, boolean compact) {
+        UdpPacket packet = new UdpPacket(ProtocolConstants.SystemProtocols.HEARTBEAT, new byte[0]);
+        packet.getHeader().setSequence(sequence);
+        if (compact) {
+            packet.getHeader().setVersion(ProtocolConstants.PROTOCOL_VERSION_V2);
+        }
+        return packet.toBytes();
+    }
+
+    @Test
+    void testHeartbeatRoundTrip() {
+        transport.receive(heartbeat(7, false), CLIENT_A);
+        transport.flush();
+
+        DatagramPacket response = transport.poll();
+        assertNotNull(response);
+        try {
+            assertEquals(CLIENT_A, response.recipient());
+            UdpPacket echo = UdpPacket.decode(response.content().nioBuffer());
+            assertEquals(ProtocolConstants.SystemProtocols.HEARTBEAT, echo.getHeader().getProtocolId());
+            assertEquals(7, echo.getHeader().getSequence());
+        } finally {
+            response.release();
+        }
+        assertNull(transport.poll());
+    }
+
+    @Test
+    void testResponsesHeldUntilBatchCompletes() {
+        transport.receive(heartbeat(1, false), CLIENT_A);
+        transport.receive(heartbeat(2, true), CLIENT_B);
+        assertEquals(0, transport.pendingOutbound());
+
+        transport.flush();
+
+        assertEquals(2, transport.pendingOutbound());
+        DatagramPacket first = transport.poll();
+        DatagramPacket second = transport.poll();
+        try {
+            assertEquals(CLIENT_A, first.recipient());
+            assertEquals(CLIENT_B, second.recipient());
+            assertEquals(ProtocolConstants.PROTOCOL_VERSION_V2, second.content().getByte(0));
+        } finally {
+            first.release();
+            second.release();
+        }
+    }
+
+    @Test
+    void testMalformedDatagramProducesNoResponse() {
+        transport.receive(new byte[]{1, 2, 3}, CLIENT_A);
+        transport.flush();
+
+        assertEquals(0, transport.discardOutbound());
+    }
+}
@@ -0,0 +1,193 @@
+package com.kinkle.helloquick.udp.session;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 堆外会话存储测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class OffHeapSessionStoreTest {
+
+    @Test
+    void testCreateReadAndUpdate() {
+        OffHeapSessionStore store = new OffHeapSessionStore(16, 4);
+        InetSocketAddress peer = new InetSocketAddress("10.0.0.1", 5000);
+        SessionSlot slot = new SessionSlot();
+        byte[] sessionId = new byte[OffHeapSessionStore.SESSION_ID_LENGTH];
+        sessionId[0] = 7;
+
+        assertFalse(store.open(peer, slot, false));
+        assertTrue(store.open(peer, slot, true));
+        try (slot) {
+            assertEquals(0L, slot.getUserId());
+            slot.setUserId(42L);
+            slot.setAuthStatus(SessionSlot.AUTH_AUTHENTICATED);
+            slot.setSessionId(sessionId);
+        }
+        assertFalse(slot.isOpen());
+
+        assertTrue(store.open(peer, slot, false));
+        try (slot) {
+            byte[] read = new byte[OffHeapSessionStore.SESSION_ID_LENGTH];
+            slot.getSessionId(read);
+            assertEquals(42L, slot.getUserId());
+            assertEquals(SessionSlot.AUTH_AUTHENTICATED, slot.getAuthStatus());
+            assertArrayEquals(sessionId, read);
+            assertEquals(peer, slot.getPeer());
+        }
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void testIpv6PeerIsDistinctFromIpv4() {
+        OffHeapSessionStore store = new OffHeapSessionStore(16, 1);
+        InetSocketAddress v4 = new InetSocketAddress("10.0.0.1", 5000);
+        InetSocketAddress v6 = new InetSocketAddress("2001:db8::1", 5000);
+        SessionSlot slot = new SessionSlot();
+
+        assertTrue(store.open(v4, slot, true));
+        slot.close();
+        assertTrue(store.open(v6, slot, true));
+        try (slot) {
+            slot.setUserId(6L);
+            assertEquals(v6, slot.getPeer());
+        }
+        assertEquals(2, store.size());
+        assertTrue(store.open(v4, slot, false));
+        try (slot) {
+            assertEquals(0L, slot.getUserId());
+        }
+    }
+
+    @Test
+    void testRemoveKeepsProbeChainsIntact() {
+        OffHeapSessionStore store = new OffHeapSessionStore(3000, 2);
+        Map<InetSocketAddress, Long> expected = new HashMap<>();
+        SessionSlot slot = new SessionSlot();
+        Random random = new Random(11);
+        for (int round = 0; round < 20000; round++) {
+            InetSocketAddress peer = new InetSocketAddress("10.0.0." + random.nextInt(8), 1000 + random.nextInt(400));
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(peer) != null, store.remove(peer));
+            } else if (store.open(peer, slot, true)) {
+                try (slot) {
+                    slot.setUserId(round);
+                }
+                expected.put(peer, (long) round);
+            }
+        }
+        assertEquals(expected.size(), store.size());
+        for (Map.Entry<InetSocketAddress, Long> entry : expected.entrySet()) {
+            assertTrue(store.open(entry.getKey(), slot, false));
+            try (slot) {
+                assertEquals((long) entry.getValue(), slot.getUserId());
+            }
+        }
+    }
+
+    @Test
+    void testRejectsInsertWhenFull() {
+        OffHeapSessionStore store = new OffHeapSessionStore(4, 1);
+        SessionSlot slot = new SessionSlot();
+        for (int i = 0; i < 4; i++) {
+            assertTrue(store.open(new InetSocketAddress("10.0.0.1", 1000 + i), slot, true));
+            slot.close();
+        }
+
+        assertFalse(store.open(new InetSocketAddress("10.0.0.1", 2000), slot, true));
+        assertFalse(slot.isOpen());
+        assertTrue(store.open(new InetSocketAddress("10.0.0.1", 1000), slot, true));
+        slot.close();
+    }
+
+    @Test
+    void testEvictIdleKeepsActiveSessionsReachable() {
+        OffHeapSessionStore store = new OffHeapSessionStore(200, 1);
+        SessionSlot slot = new SessionSlot();
+        for (int port = 1; port <= 200; port++) {
+            assertTrue(store.open(new InetSocketAddress("10.0.0.1", port), slot, true));
+            try (slot) {
+                slot.setLastSeen(port % 3 == 0 ? 2000 : 1000);
+            }
+        }
+
+        assertEquals(134, store.evictIdle(1500));
+
+        assertEquals(66, store.size());
+        for (int port = 1; port <= 200; port++) {
+            boolean found = store.open(new InetSocketAddress("10.0.0.1", port), slot, false);
+            assertEquals(port % 3 == 0, found);
+            if (found) {
+                assertEquals(2000, slot.getLastSeen());
+                slot.close();
+            }
+        }
+    }
+
+    @Test
+    void testTooManySessionsPerSegmentRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapSessionStore(8_000_000, 1));
+    }
+
+    @Test
+    void testOpeningAnOpenSlotFails() {
+        OffHeapSessionStore store = new OffHeapSessionStore(4, 1);
+        SessionSlot slot = new SessionSlot();
+        assertTrue(store.open(new InetSocketAddress("10.0.0.1", 1000), slot, true));
+        try (slot) {
+            assertThrows(IllegalStateException.class,
+                () -> store.open(new InetSocketAddress("10.0.0.1", 1001), slot, true));
+        }
+    }
+
+    @Test
+    void testConcurrentUpdates() throws Exception {
+        OffHeapSessionStore store = new OffHeapSessionStore(1024, 8);
+        int threads = 4;
+        int increments = 5000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Future<?>[] futures = new Future<?>[threads];
+            for (int t = 0; t < threads; t++) {
+                futures[t] = executor.submit(() -> {
+                    SessionSlot slot = new SessionSlot();
+                    for (int i = 0; i < increments; i++) {
+                        InetSocketAddress peer = new InetSocketAddress("10.0.0.1", 1000 + i % 64);
+                        assertTrue(store.open(peer, slot, true));
+                        try (slot) {
+                            slot.setUserId(slot.getUserId() + 1);
+                        }
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long total = 0;
+        SessionSlot slot = new SessionSlot();
+        for (int i = 0; i < 64; i++) {
+            assertTrue(store.open(new InetSocketAddress("10.0.0.1", 1000 + i), slot, false));
+            try (slot) {
+                total += slot.getUserId();
+            }
+        }
+        assertEquals((long) threads * increments, total);
+    }
+}
@@ -0,0 +1,125 @@
+package com.kinkle.helloquick.udp.session;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 会话快照测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class SessionSnapshotTest {
+
+    private static final long NOW = 1_800_000_000_000L;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRoundTrip() throws IOException {
+        OffHeapSessionStore source = new OffHeapSessionStore(1000, 4);
+        for (int i = 0; i < 500; i++) {
+            put(source, new InetSocketAddress("10.0.1." + (i % 200), 2000 + i), i + 1, NOW - 1000, NOW - 10);
+        }
+        Path file = directory.resolve("sessions.snapshot");
+
+        assertEquals(500, SessionSnapshot.write(source, file, NOW));
+        assertEquals(SessionSnapshot.HEADER_LENGTH + 500L * OffHeapSessionStore.SLOT_SIZE, Files.size(file));
+
+        OffHeapSessionStore target = new OffHeapSessionStore(1000, 8);
+        SessionSnapshot.RestoreResult result = SessionSnapshot.read(target, file, NOW + 100, 60_000, 3_600_000);
+
+        assertEquals(500, result.getTotal());
+        assertEquals(500, result.getRestored());
+        assertEquals(NOW, result.getSnapshotAt());
+        SessionSlot slot = new SessionSlot();
+        assertTrue(target.open(new InetSocketAddress("10.0.1.7", 2007), slot, false));
+        try (slot) {
+            assertEquals(8L, slot.getUserId());
+            assertEquals(SessionSlot.AUTH_AUTHENTICATED, slot.getAuthStatus());
+            assertEquals(NOW - 10, slot.getLastSeen());
+        }
+    }
+
+    @Test
+    void testExpiredSessionsAreDropped() throws IOException {
+        OffHeapSessionStore source = new OffHeapSessionStore(16, 1);
+        put(source, new InetSocketAddress("10.0.0.1", 1), 1, NOW - 1000, NOW - 10);
+        put(source, new InetSocketAddress("10.0.0.1", 2), 2, NOW - 1000, NOW - 120_000);
+        put(source, new InetSocketAddress("10.0.0.1", 3), 3, NOW - 7_200_000, NOW - 10);
+        SessionSlot slot = new SessionSlot();
+        assertTrue(source.open(new InetSocketAddress("10.0.0.1", 4), slot, true));
+        slot.close();
+        Path file = directory.resolve("sessions.snapshot");
+        SessionSnapshot.write(source, file, NOW);
+
+        OffHeapSessionStore target = new OffHeapSessionStore(16, 1);
+        SessionSnapshot.RestoreResult result = SessionSnapshot.read(target, file, NOW, 60_000, 3_600_000);
+
+        assertEquals(1, result.getRestored());
+        assertEquals(3, result.getExpired());
+        assertEquals(1, target.size());
+    }
+
+    @Test
+    void testFullStoreDropsRemaining() throws IOException {
+        OffHeapSessionStore source = new OffHeapSessionStore(16, 1);
+        for (int i = 0; i < 8; i++) {
+            put(source, new InetSocketAddress("10.0.0.1", i + 1), i, NOW, NOW);
+        }
+        Path file = directory.resolve("sessions.snapshot");
+        SessionSnapshot.write(source, file, NOW);
+
+        SessionSnapshot.RestoreResult result = SessionSnapshot.read(new OffHeapSessionStore(4, 1), file, NOW, 60_000, 0);
+
+        assertEquals(4, result.getRestored());
+        assertEquals(4, result.getDropped());
+    }
+
+    @Test
+    void testCorruptedSnapshotIsRejected() throws IOException {
+        OffHeapSessionStore source = new OffHeapSessionStore(16, 1);
+        put(source, new InetSocketAddress("10.0.0.1", 1), 1, NOW, NOW);
+        Path file = directory.resolve("sessions.snapshot");
+        SessionSnapshot.write(source, file, NOW);
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(SessionSnapshot.HEADER_LENGTH + 30);
+            raf.write(0x5A);
+        }
+
+        OffHeapSessionStore target = new OffHeapSessionStore(16, 1);
+        assertThrows(IOException.class, () -> SessionSnapshot.read(target, file, NOW, 60_000, 0));
+        assertEquals(0, target.size());
+    }
+
+    @Test
+    void testTruncatedSnapshotIsRejected() throws IOException {
+        Path file = directory.resolve("sessions.snapshot");
+        Files.write(file, new byte[]{0x48, 0x51, 0x53, 0x53});
+
+        assertThrows(IOException.class,
+            () -> SessionSnapshot.read(new OffHeapSessionStore(16, 1), file, NOW, 60_000, 0));
+    }
+
+    private static void put(OffHeapSessionStore store, InetSocketAddress peer, long userId, long createdAt,
+                            long lastSeen) {
+        SessionSlot slot = new SessionSlot();
+        assertTrue(store.open(peer, slot, true));
+        try (slot) {
+            slot.setAuthStatus(SessionSlot.AUTH_AUTHENTICATED);
+            slot.setUserId(userId);
+            slot.setCreatedAt(createdAt);
+            slot.setLastSeen(lastSeen);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.kinkle.helloquick.udp.stream;
+
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 流数据帧与信用额度编解码测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class StreamFrameTest {
+
+    @Test
+    void testFrameRoundTrip() {
+        StreamFrame frame = new StreamFrame(42, -3, ProtocolConstants.BusinessProtocols.FILE_UPLOAD, new byte[]{1, 2, 3});
+        byte[] body = frame.encode();
+        assertEquals(StreamFrame.HEADER_LENGTH + 3, body.length);
+
+        StreamFrame decoded = StreamFrame.decode(body);
+        assertEquals(42, decoded.getStreamId());
+        assertEquals(-3, decoded.getSequence());
+        assertEquals(ProtocolConstants.BusinessProtocols.FILE_UPLOAD, decoded.getProtocolId());
+        assertArrayEquals(new byte[]{1, 2, 3}, decoded.getPayload());
+    }
+
+    @Test
+    void testInvalidFrames() {
+        assertThrows(IllegalArgumentException.class, () -> StreamFrame.decode(new byte[5]));
+        assertThrows(IllegalArgumentException.class,
+            () -> new StreamFrame(1, 0, ProtocolConstants.SystemProtocols.STREAM_DATA, new byte[0]));
+        assertThrows(IllegalArgumentException.class,
+            () -> new StreamFrame(1, 0, ProtocolConstants.BusinessProtocols.DATA_SYNC, null));
+    }
+
+    @Test
+    void testCreditRoundTrip() {
+        StreamCredit credit = StreamCredit.decode(new StreamCredit(9, 128, 100, 0b101).encode());
+        assertEquals(9, credit.getStreamId());
+        assertEquals(128, credit.getLimit());
+        assertEquals(100, credit.getAckedSequence());
+        assertEquals(0b101, credit.getSackBitmap());
+        assertThrows(IllegalArgumentException.class, () -> StreamCredit.decode(new byte[15]));
+    }
+}
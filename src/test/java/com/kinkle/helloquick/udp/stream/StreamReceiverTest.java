@@ -0,0 +1,141 @@
+package com.kinkle.helloquick.udp.stream;
+
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 流接收端重排序缓冲区测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class StreamReceiverTest {
+
+    private static StreamFrame frame(int sequence, int size) {
+        return new StreamFrame(1, sequence, ProtocolConstants.BusinessProtocols.DATA_SYNC, new byte[size]);
+    }
+
+    @Test
+    void testInOrderDelivery() {
+        StreamReceiver receiver = new StreamReceiver(1, 8, 1024);
+        List<StreamFrame> delivered = new ArrayList<>();
+
+        assertEquals(StreamReceiver.OfferResult.DELIVERED, receiver.offer(frame(0, 10), delivered, 0L));
+        assertEquals(StreamReceiver.OfferResult.DELIVERED, receiver.offer(frame(1, 10), delivered, 0L));
+        assertEquals(2, delivered.size());
+        assertEquals(2, receiver.getNextSequence());
+    }
+
+    @Test
+    void testReorderBufferDrainsOnGapFill() {
+        StreamReceiver receiver = new StreamReceiver(1, 8, 1024);
+        List<StreamFrame> delivered = new ArrayList<>();
+
+        assertEquals(StreamReceiver.OfferResult.BUFFERED, receiver.offer(frame(2, 10), delivered, 0L));
+        assertEquals(StreamReceiver.OfferResult.BUFFERED, receiver.offer(frame(1, 20), delivered, 0L));
+        assertEquals(StreamReceiver.OfferResult.DUPLICATE, receiver.offer(frame(2, 10), delivered, 0L));
+        assertTrue(delivered.isEmpty());
+        assertEquals(30, receiver.getBufferedBytes());
+
+        assertEquals(StreamReceiver.OfferResult.DELIVERED, receiver.offer(frame(0, 5), delivered, 0L));
+        assertEquals(3, delivered.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i, delivered.get(i).getSequence());
+        }
+        assertEquals(0, receiver.getBufferedBytes());
+        assertEquals(0, receiver.getBufferedFrames());
+        assertEquals(StreamReceiver.OfferResult.DUPLICATE, receiver.offer(frame(1, 20), delivered, 0L));
+    }
+
+    @Test
+    void testWindowAndByteBudgetBounded() {
+        StreamReceiver receiver = new StreamReceiver(1, 4, 100);
+        List<StreamFrame> delivered = new ArrayList<>();
+
+        assertEquals(StreamReceiver.OfferResult.OUT_OF_WINDOW, receiver.offer(frame(4, 1), delivered, 0L));
+        assertEquals(StreamReceiver.OfferResult.BUFFERED, receiver.offer(frame(1, 60), delivered, 0L));
+        assertEquals(StreamReceiver.OfferResult.OVER_BUDGET, receiver.offer(frame(2, 60), delivered, 0L));
+        assertEquals(StreamReceiver.OfferResult.BUFFERED, receiver.offer(frame(3, 40), delivered, 0L));
+        assertEquals(4, receiver.getCreditLimit());
+    }
+
+    @Test
+    void testCreditDueAfterHalfWindow() {
+        StreamReceiver receiver = new StreamReceiver(7, 4, 1024);
+        List<StreamFrame> delivered = new ArrayList<>();
+
+        receiver.offer(frame(0, 1), delivered, 0L);
+        assertFalse(receiver.isCreditDue());
+        receiver.offer(frame(1, 1), delivered, 0L);
+        assertTrue(receiver.isCreditDue());
+
+        StreamCredit credit = receiver.grantCredit(0L);
+        assertEquals(7, credit.getStreamId());
+        assertEquals(6, credit.getLimit());
+        assertFalse(receiver.isCreditDue());
+    }
+
+    @Test
+    void testGapReportCarriesSelectiveAck() {
+        StreamReceiver receiver = new StreamReceiver(1, 8, 1024);
+        List<StreamFrame> delivered = new ArrayList<>();
+
+        receiver.offer(frame(0, 1), delivered, 0L);
+        assertFalse(receiver.isGapReportDue(0L, 100L));
+        receiver.offer(frame(2, 1), delivered, 0L);
+        receiver.offer(frame(4, 1), delivered, 0L);
+        assertTrue(receiver.isGapReportDue(0L, 100L));
+
+        StreamCredit credit = receiver.grantCredit(0L);
+        assertEquals(1, credit.getAckedSequence());
+        // 序列号2和4已缓存
+        assertEquals(0b101, credit.getSackBitmap());
+        assertFalse(receiver.isGapReportDue(50L, 100L));
+        assertTrue(receiver.isGapReportDue(100L, 100L));
+    }
+
+    @Test
+    void testGapSkippedAfterTimeout() {
+        StreamReceiver receiver = new StreamReceiver(1, 8, 1024);
+        List<StreamFrame> delivered = new ArrayList<>();
+
+        receiver.offer(frame(2, 1), delivered, 0L);
+        receiver.offer(frame(3, 1), delivered, 0L);
+        receiver.offer(frame(5, 1), delivered, 0L);
+        assertEquals(0, receiver.skipGap(999L, 1000L, delivered));
+        assertTrue(delivered.isEmpty());
+
+        assertEquals(2, receiver.skipGap(1000L, 1000L, delivered));
+        assertEquals(2, delivered.size());
+        assertEquals(4, receiver.getNextSequence());
+        StreamCredit credit = receiver.grantCredit(1000L);
+        assertEquals(4, credit.getAckedSequence());
+        assertEquals(12, credit.getLimit());
+
+        // 新的缺口重新计时
+        assertEquals(0, receiver.skipGap(1500L, 1000L, delivered));
+        assertEquals(1, receiver.skipGap(2000L, 1000L, delivered));
+        assertEquals(6, receiver.getNextSequence());
+        assertEquals(0, receiver.getBufferedFrames());
+    }
+
+    @Test
+    void testSequenceWrapAround() {
+        StreamReceiver receiver = new StreamReceiver(1, 4, 1024);
+        List<StreamFrame> delivered = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            receiver.offer(frame(i, 1), delivered, 0L);
+        }
+        // 乱序仍按流内序列号交付
+        assertEquals(StreamReceiver.OfferResult.BUFFERED, receiver.offer(frame(11, 1), delivered, 0L));
+        assertEquals(StreamReceiver.OfferResult.DELIVERED, receiver.offer(frame(10, 1), delivered, 0L));
+        assertEquals(12, delivered.size());
+        assertEquals(11, delivered.get(11).getSequence());
+    }
+}
@@ -0,0 +1,144 @@
+package com.kinkle.helloquick.udp.stream;
+
+import com.kinkle.helloquick.config.AppProperties;
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 流会话测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class StreamSessionTest {
+
+    private static final short CHAT = ProtocolConstants.BusinessProtocols.DATA_SYNC;
+
+    private static final short UPLOAD = ProtocolConstants.BusinessProtocols.FILE_UPLOAD;
+
+    private static AppProperties.Udp.Stream config(int window, int maxStreams) {
+        AppProperties.Udp.Stream config = new AppProperties.Udp.Stream();
+        config.setReceiveWindow(window);
+        config.setMaxStreamsPerSession(maxStreams);
+        return config;
+    }
+
+    @Test
+    void testLossOnOneStreamDoesNotBlockOthers() {
+        StreamSession sender = new StreamSession(config(16, 8));
+        StreamSession receiver = new StreamSession(config(16, 8));
+        List<StreamFrame> delivered = new ArrayList<>();
+
+        StreamFrame upload0 = sender.send(1, UPLOAD, new byte[100], 0L);
+        StreamFrame upload1 = sender.send(1, UPLOAD, new byte[100], 0L);
+        StreamFrame chat0 = sender.send(2, CHAT, "hi".getBytes(), 0L);
+        StreamFrame chat1 = sender.send(2, CHAT, "there".getBytes(), 0L);
+
+        // upload0 丢失，upload1 等待缺口补齐，聊天流照常交付
+        receiver.receive(upload1, delivered, 0L);
+        receiver.receive(chat0, delivered, 0L);
+        receiver.receive(chat1, delivered, 0L);
+        assertEquals(2, delivered.size());
+        assertEquals(2, delivered.get(0).getStreamId());
+        assertEquals(2, delivered.get(1).getStreamId());
+
+        delivered.clear();
+        receiver.receive(upload0, delivered, 0L);
+        assertEquals(2, delivered.size());
+        assertEquals(0, delivered.get(0).getSequence());
+        assertEquals(1, delivered.get(1).getSequence());
+    }
+
+    @Test
+    void testFlowControlCredit() {
+        StreamSession sender = new StreamSession(config(4, 8));
+        StreamSession receiver = new StreamSession(config(4, 8));
+        List<StreamFrame> delivered = new ArrayList<>();
+
+        StreamCredit credit = null;
+        for (int i = 0; i < 4; i++) {
+            StreamCredit update = receiver.receive(sender.send(1, CHAT, new byte[1], 0L), delivered, 0L);
+            if (update != null) {
+                credit = update;
+            }
+        }
+        assertEquals(0, sender.availableCredit(1));
+        assertThrows(IllegalStateException.class, () -> sender.send(1, CHAT, new byte[1], 0L));
+        // 其他流不受影响
+        assertNotNull(sender.send(2, CHAT, new byte[1], 0L));
+
+        assertNotNull(credit);
+        sender.onCredit(credit, 0L);
+        assertEquals(4, sender.availableCredit(1));
+        // 旧的信用通告不会回退额度
+        sender.onCredit(new StreamCredit(1, 2, 0, 0), 0L);
+        assertEquals(4, sender.availableCredit(1));
+    }
+
+    @Test
+    void testLostFrameRetransmittedOnGapReport() {
+        AppProperties.Udp.Stream config = config(8, 8);
+        config.setRetransmitTimeout(100);
+        StreamSession sender = new StreamSession(config);
+        StreamSession receiver = new StreamSession(config);
+        List<StreamFrame> delivered = new ArrayList<>();
+
+        StreamFrame lost = sender.send(1, CHAT, new byte[1], 0L);
+        StreamCredit credit = receiver.receive(sender.send(1, CHAT, new byte[1], 0L), delivered, 0L);
+        assertNotNull(credit);
+        assertEquals(0, credit.getAckedSequence());
+        assertEquals(1, credit.getSackBitmap());
+
+        // 第一次缺口通告立即重传，重复通告按超时重传
+        List<StreamFrame> retransmits = sender.onCredit(credit, 0L);
+        assertEquals(List.of(lost), retransmits);
+        assertTrue(sender.onCredit(credit, 50L).isEmpty());
+        assertEquals(List.of(lost), sender.onCredit(credit, 100_000_000L));
+
+        credit = receiver.receive(retransmits.get(0), delivered, 0L);
+        assertEquals(2, delivered.size());
+        assertNull(credit);
+    }
+
+    @Test
+    void testTailLossRetransmittedAfterTimeout() {
+        AppProperties.Udp.Stream config = config(8, 8);
+        config.setRetransmitTimeout(100);
+        StreamSession sender = new StreamSession(config);
+
+        StreamFrame frame = sender.send(1, CHAT, new byte[1], 0L);
+        assertTrue(sender.pollRetransmits(99_999_999L).isEmpty());
+        assertEquals(List.of(frame), sender.pollRetransmits(100_000_000L));
+        assertTrue(sender.pollRetransmits(150_000_000L).isEmpty());
+
+        // 确认后不再重传
+        sender.onCredit(new StreamCredit(1, 9, 1, 0), 150_000_000L);
+        assertTrue(sender.pollRetransmits(500_000_000L).isEmpty());
+    }
+
+    @Test
+    void testStreamCountLimited() {
+        StreamSession session = new StreamSession(config(4, 2));
+        List<StreamFrame> delivered = new ArrayList<>();
+
+        session.receive(new StreamFrame(1, 0, CHAT, new byte[0]), delivered, 0L);
+        session.receive(new StreamFrame(2, 0, CHAT, new byte[0]), delivered, 0L);
+        session.receive(new StreamFrame(3, 0, CHAT, new byte[0]), delivered, 0L);
+        assertEquals(2, delivered.size());
+        assertEquals(2, session.receiveStreamCount());
+
+        session.closeStream(1);
+        session.receive(new StreamFrame(3, 0, CHAT, new byte[0]), delivered, 0L);
+        assertEquals(3, delivered.size());
+
+        session.send(1, CHAT, new byte[0], 0L);
+        session.send(2, CHAT, new byte[0], 0L);
+        assertThrows(IllegalStateException.class, () -> session.send(3, CHAT, new byte[0], 0L));
+    }
+}
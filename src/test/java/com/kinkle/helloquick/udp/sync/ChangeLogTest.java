@@ -0,0 +1,109 @@
+package com.kinkle.helloquick.udp.sync;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 内存变更日志测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class ChangeLogTest {
+
+    private static byte[] json(String value) {
+        return ("{\"v\":\"" + value + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testDeltaSinceVersion() {
+        ChangeLog log = new ChangeLog(16);
+        assertEquals(1, log.append(SyncRecord.UPSERT, 10L, json("a")));
+        assertEquals(2, log.append(SyncRecord.UPSERT, 20L, json("b")));
+        assertEquals(3, log.append(SyncRecord.DELETE, 30L, null));
+
+        DeltaPage page = log.since(1, Integer.MAX_VALUE);
+        assertEquals(1, page.getFromVersion());
+        assertEquals(3, page.getToVersion());
+        assertFalse(page.isMore());
+        assertEquals(2, page.getRecords().size());
+        assertEquals(20L, page.getRecords().get(0).getKey());
+        assertEquals(2, page.getRecords().get(0).getVersion());
+        assertEquals(SyncRecord.DELETE, page.getRecords().get(1).getOp());
+
+        DeltaPage empty = log.since(3, Integer.MAX_VALUE);
+        assertTrue(empty.getRecords().isEmpty());
+        assertEquals(3, empty.getToVersion());
+    }
+
+    @Test
+    void testDeltaKeepsLatestPerKey() {
+        ChangeLog log = new ChangeLog(16);
+        log.append(SyncRecord.UPSERT, 1L, json("old"));
+        log.append(SyncRecord.UPSERT, 2L, json("x"));
+        log.append(SyncRecord.UPSERT, 1L, json("new"));
+
+        List<SyncRecord> records = log.since(0, Integer.MAX_VALUE).getRecords();
+        assertEquals(2, records.size());
+        assertEquals(2L, records.get(0).getKey());
+        assertEquals(1L, records.get(1).getKey());
+        assertEquals(3, records.get(1).getVersion());
+        assertArrayEquals(json("new"), records.get(1).getPayload());
+    }
+
+    @Test
+    void testDeltaPagesByBytes() {
+        ChangeLog log = new ChangeLog(16);
+        for (int i = 0; i < 5; i++) {
+            log.append(SyncRecord.UPSERT, i, new byte[100]);
+        }
+        int recordLength = SyncFormat.RECORD_HEADER_LENGTH + 100;
+
+        DeltaPage first = log.since(0, recordLength * 2 + 10);
+        assertEquals(2, first.getToVersion());
+        assertTrue(first.isMore());
+
+        DeltaPage second = log.since(first.getToVersion(), recordLength * 2 + 10);
+        assertEquals(4, second.getToVersion());
+
+        // 单条记录超过上限时仍然返回一条
+        DeltaPage oversized = log.since(4, 1);
+        assertEquals(5, oversized.getToVersion());
+        assertFalse(oversized.isMore());
+        assertEquals(1, oversized.getRecords().size());
+    }
+
+    @Test
+    void testSnapshotRequiredOutsideRetention() {
+        ChangeLog log = new ChangeLog(4);
+        for (int i = 0; i < 10; i++) {
+            log.append(SyncRecord.UPSERT, i, null);
+        }
+        assertEquals(6, log.getOldestVersion());
+        assertNull(log.since(5, Integer.MAX_VALUE));
+        assertNotNull(log.since(6, Integer.MAX_VALUE));
+        assertEquals(4, log.since(6, Integer.MAX_VALUE).getRecords().size());
+        // 客户端版本超前（服务端日志已重建）
+        assertNull(log.since(11, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void testNegativeVersionRequiresSnapshot() {
+        ChangeLog log = new ChangeLog(4);
+        log.append(SyncRecord.UPSERT, 1, null);
+        assertNull(log.since(-1, Integer.MAX_VALUE));
+        assertNull(log.since(Long.MIN_VALUE, Integer.MAX_VALUE));
+        assertEquals(1, log.since(0, Integer.MAX_VALUE).getRecords().size());
+    }
+
+    @Test
+    void testCapacityMustBePowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new ChangeLog(0));
+        assertThrows(IllegalArgumentException.class, () -> new ChangeLog(12));
+    }
+}
@@ -0,0 +1,87 @@
+package com.kinkle.helloquick.udp.sync;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 数据同步报文格式测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class SyncFormatTest {
+
+    @Test
+    void testRequestRoundTrip() {
+        byte[] body = SyncFormat.encodeRequest(List.of(
+            new SyncCursor((short) 1, 123, 456L),
+            new SyncCursor((short) 2, 0, 0L)));
+
+        List<SyncCursor> cursors = SyncFormat.decodeRequest(body);
+        assertEquals(2, cursors.size());
+        assertEquals(1, cursors.get(0).getDatasetId());
+        assertEquals(123, cursors.get(0).getEpoch());
+        assertEquals(456L, cursors.get(0).getVersion());
+        assertEquals(2, cursors.get(1).getDatasetId());
+
+        byte[] truncated = Arrays.copyOf(body, body.length - 1);
+        assertThrows(IllegalArgumentException.class, () -> SyncFormat.decodeRequest(truncated));
+    }
+
+    @Test
+    void testSnapshotRequestRoundTrip() {
+        SyncCursor cursor = SyncFormat.decodeSnapshotRequest(SyncFormat.encodeSnapshotRequest((short) 1, Long.MIN_VALUE));
+        assertEquals(1, cursor.getDatasetId());
+        assertEquals(Long.MIN_VALUE, cursor.getVersion());
+        assertThrows(IllegalArgumentException.class, () -> SyncFormat.decodeSnapshotRequest(new byte[] {0x02}));
+    }
+
+    @Test
+    void testSyncRequestDecodesBothRequestOps() {
+        SyncRequest request = SyncRequest.decode(SyncFormat.encodeRequest(List.of(new SyncCursor((short) 3, 1, 2L))));
+        assertFalse(request.isSnapshotRequest());
+        assertEquals(3, request.getCursors().get(0).getDatasetId());
+
+        SyncRequest snapshot = SyncRequest.decode(SyncFormat.encodeSnapshotRequest((short) 4, 77L));
+        assertTrue(snapshot.isSnapshotRequest());
+        assertEquals(1, snapshot.getCursors().size());
+        assertEquals(77L, snapshot.getCursors().get(0).getVersion());
+
+        assertThrows(IllegalArgumentException.class, () -> SyncRequest.decode(new byte[] {SyncFormat.OP_DELTA}));
+        assertThrows(IllegalArgumentException.class, () -> SyncRequest.decode(new byte[0]));
+    }
+
+    @Test
+    void testDeltaRecordsRoundTrip() {
+        List<SyncRecord> records = List.of(
+            new SyncRecord(SyncRecord.UPSERT, 7L, 100L, new byte[] {1, 2, 3}),
+            new SyncRecord(SyncRecord.DELETE, 8L, 101L, null));
+        byte[] body = SyncFormat.encodeDelta((short) 1, 99, new DeltaPage(90L, 101L, true, records));
+
+        assertEquals(SyncFormat.OP_DELTA, SyncFormat.op(body));
+        assertEquals(SyncFormat.FLAG_MORE, body[SyncFormat.DELTA_HEADER_LENGTH - 3]);
+        List<SyncRecord> decoded = SyncFormat.decodeRecords(body);
+        assertEquals(2, decoded.size());
+        assertEquals(7L, decoded.get(0).getKey());
+        assertArrayEquals(new byte[] {1, 2, 3}, decoded.get(0).getPayload());
+        assertEquals(SyncRecord.DELETE, decoded.get(1).getOp());
+        assertEquals(0, decoded.get(1).getPayload().length);
+    }
+
+    @Test
+    void testSnapshotRecordsRoundTrip() {
+        List<SyncRecord> records = List.of(new SyncRecord(SyncRecord.UPSERT, 1L, 5L, new byte[] {9}));
+        byte[] body = SyncFormat.encodeSnapshot((short) 1, 99, 5L, 3,
+            SyncFormat.FLAG_END_OF_PAGE | SyncFormat.FLAG_END_OF_SNAPSHOT, records);
+
+        assertEquals(SyncFormat.OP_SNAPSHOT, SyncFormat.op(body));
+        assertEquals(SyncFormat.SNAPSHOT_HEADER_LENGTH + records.get(0).getEncodedLength(), body.length);
+        assertEquals(1, SyncFormat.decodeRecords(body).size());
+        assertThrows(IllegalArgumentException.class, () -> SyncFormat.decodeRecords(new byte[] {SyncFormat.OP_REQUEST}));
+    }
+}
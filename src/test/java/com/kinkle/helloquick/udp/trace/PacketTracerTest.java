@@ -0,0 +1,156 @@
+package com.kinkle.helloquick.udp.trace;
+
+import com.kinkle.helloquick.config.AppProperties;
+import com.kinkle.helloquick.udp.protocol.ProtocolConstants;
+import com.kinkle.helloquick.udp.protocol.UdpPacket;
+import com.kinkle.helloquick.udp.util.HexDump;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 采样包追踪器测试类
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class PacketTracerTest {
+
+    private static final InetSocketAddress PEER = new InetSocketAddress("10.0.0.5", 40000);
+
+    private static PacketTracer tracer(int capacity, int dumpBytes) {
+        AppProperties properties = new AppProperties();
+        properties.getUdp().getTrace().setEnabled(true);
+        properties.getUdp().getTrace().setCapacity(capacity);
+        properties.getUdp().getTrace().setDumpBytes(dumpBytes);
+        return new PacketTracer(properties);
+    }
+
+    @Test
+    void testInactiveWithoutRules() {
+        PacketTracer tracer = tracer(8, 64);
+
+        assertTrue(tracer.isEnabled());
+        assertFalse(tracer.isActive());
+        assertFalse(tracer.shouldTrace(PEER, ProtocolConstants.SystemProtocols.HEARTBEAT));
+    }
+
+    @Test
+    void testProtocolAndAddressRules() {
+        PacketTracer tracer = tracer(8, 64);
+        tracer.configure(0, List.of((int) ProtocolConstants.BusinessProtocols.USER_LOGIN),
+            List.of("10.0.0.5:40000", "[::1]", "192.168.1.9"));
+
+        assertTrue(tracer.isActive());
+        assertTrue(tracer.shouldTrace(new InetSocketAddress("10.0.0.9", 1), ProtocolConstants.BusinessProtocols.USER_LOGIN));
+        assertTrue(tracer.shouldTrace(PEER, ProtocolConstants.SystemProtocols.HEARTBEAT));
+        assertFalse(tracer.shouldTrace(new InetSocketAddress("10.0.0.5", 40001), ProtocolConstants.SystemProtocols.HEARTBEAT));
+        assertTrue(tracer.shouldTrace(new InetSocketAddress("::1", 5), ProtocolConstants.SystemProtocols.HEARTBEAT));
+        assertTrue(tracer.shouldTrace(new InetSocketAddress("192.168.1.9", 7), (short) -1));
+        assertEquals(List.of((int) ProtocolConstants.BusinessProtocols.USER_LOGIN), tracer.getProtocols());
+    }
+
+    @Test
+    void testSampleRateOfOneTracesEverything() {
+        PacketTracer tracer = tracer(8, 64);
+        tracer.configure(1, List.of(), List.of());
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(tracer.shouldTrace(PEER, ProtocolConstants.SystemProtocols.HEARTBEAT));
+        }
+    }
+
+    @Test
+    void testInvalidRulesRejected() {
+        PacketTracer tracer = tracer(8, 64);
+
+        assertThrows(IllegalArgumentException.class, () -> tracer.configure(-1, List.of(), List.of()));
+        assertThrows(IllegalArgumentException.class, () -> tracer.configure(0, List.of(70000), List.of()));
+        assertThrows(IllegalArgumentException.class, () -> tracer.configure(0, List.of(), List.of("10.0.0.1:x")));
+        assertThrows(IllegalArgumentException.class, () -> tracer.configure(0, List.of(), List.of("[::1")));
+        assertThrows(IllegalArgumentException.class, () -> tracer.configure(0, List.of(), List.of("localhost")));
+        assertThrows(IllegalArgumentException.class, () -> tracer.configure(0, List.of(), List.of("example.com:9090")));
+        assertFalse(tracer.isActive());
+    }
+
+    @Test
+    void testRecordParsesHeaderAndDumps() {
+        PacketTracer tracer = tracer(8, 16);
+        UdpPacket packet = new UdpPacket(ProtocolConstants.BusinessProtocols.USER_LOGIN, new byte[40]);
+        packet.getHeader().setSequence(7);
+        byte[] bytes = packet.toBytes();
+
+        ByteBuffer head = ByteBuffer.wrap(bytes, 0, tracer.captureLength(bytes.length)).slice();
+        tracer.record(PacketTrace.Direction.INBOUND, PEER, head, bytes.length, 1234);
+
+        PacketTrace trace = tracer.recent(10).get(0);
+        assertEquals(PacketTrace.Direction.INBOUND, trace.getDirection());
+        assertEquals(ProtocolConstants.BusinessProtocols.USER_LOGIN, trace.getProtocolId());
+        assertEquals("USER_LOGIN", trace.getProtocol());
+        assertEquals(7, trace.getSequence());
+        assertEquals(40, trace.getBodyLength());
+        assertEquals(bytes.length, trace.getLength());
+        assertEquals(1234, trace.getPipelineNanos());
+        assertTrue(trace.isTruncated());
+        assertEquals(1, trace.getDump().split("\n").length);
+    }
+
+    @Test
+    void testCredentialBodiesRedacted() {
+        PacketTracer tracer = tracer(8, 256);
+        byte[] body = "{\"username\":\"alice\",\"password\":\"secret\"}".getBytes(StandardCharsets.UTF_8);
+        UdpPacket packet = new UdpPacket(ProtocolConstants.BusinessProtocols.USER_LOGIN, body);
+        byte[] bytes = packet.toBytes();
+
+        tracer.record(PacketTrace.Direction.INBOUND, PEER, ByteBuffer.wrap(bytes), bytes.length, 1);
+
+        PacketTrace trace = tracer.recent(1).get(0);
+        int headerLength = packet.getHeader().getEncodedLength();
+        assertTrue(trace.isRedacted());
+        assertTrue(trace.isTruncated());
+        assertEquals(body.length, trace.getBodyLength());
+        assertEquals(HexDump.dump(ByteBuffer.wrap(bytes), headerLength), trace.getDump());
+        assertFalse(trace.getDump().contains("secret"));
+    }
+
+    @Test
+    void testRecordKeepsUnparsableDatagram() {
+        PacketTracer tracer = tracer(8, 64);
+
+        tracer.record(PacketTrace.Direction.OUTBOUND, PEER, ByteBuffer.wrap(new byte[]{1, 2, 3}), 3, -1);
+
+        PacketTrace trace = tracer.recent(1).get(0);
+        assertEquals(-1, trace.getProtocolId());
+        assertEquals("UNKNOWN", trace.getProtocol());
+        assertFalse(trace.isTruncated());
+        assertFalse(trace.isRedacted());
+        assertTrue(trace.getDump().startsWith("0000: 01 02 03"));
+    }
+
+    @Test
+    void testRingKeepsNewestAndClears() {
+        PacketTracer tracer = tracer(4, 8);
+        for (int i = 0; i < 10; i++) {
+            tracer.record(PacketTrace.Direction.OUTBOUND, PEER, ByteBuffer.wrap(new byte[]{(byte) i}), 1, -1);
+        }
+
+        List<PacketTrace> traces = tracer.recent(100);
+        assertEquals(4, traces.size());
+        assertEquals(9, traces.get(0).getId());
+        assertEquals(6, traces.get(3).getId());
+        assertEquals(2, tracer.recent(2).size());
+        assertEquals(10, tracer.getRecorded());
+
+        tracer.clear();
+        assertTrue(tracer.recent(100).isEmpty());
+        tracer.record(PacketTrace.Direction.OUTBOUND, PEER, ByteBuffer.wrap(new byte[]{1}), 1, -1);
+        assertEquals(1, tracer.recent(100).size());
+        assertThrows(IllegalArgumentException.class, () -> tracer.recent(0));
+    }
+}
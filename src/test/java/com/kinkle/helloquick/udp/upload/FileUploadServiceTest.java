@@ -0,0 +1,108 @@
+package com.kinkle.helloquick.udp.upload;
+
+import com.kinkle.helloquick.config.AppProperties;
+import com.kinkle.helloquick.udp.util.Crc32Util;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 文件上传服务测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class FileUploadServiceTest {
+
+    private static final int CHUNK_SIZE = 512;
+
+    private static final long USER = 42L;
+
+    @TempDir
+    Path directory;
+
+    private AppProperties appProperties;
+
+    private FileUploadService service;
+
+    @BeforeEach
+    void setUp() {
+        appProperties = new AppProperties();
+        appProperties.getUdp().getUpload().setDirectory(directory.toString());
+        appProperties.getUdp().getUpload().setMaxSessions(2);
+        service = new FileUploadService(appProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void testUploadAndResume() throws Exception {
+        byte[] data = new byte[CHUNK_SIZE * 4 + 100];
+        new Random(3).nextBytes(data);
+        UploadInit init = new UploadInit(11L, data.length, CHUNK_SIZE, Crc32Util.calculate(data), "report.dat");
+
+        UploadStatus status = service.init(USER, init);
+        assertEquals(UploadStatus.RECEIVING, status.getState());
+        assertEquals(5, status.getTotalChunks());
+
+        UploadSession session = service.get(USER, 11L);
+        session.writeChunk(0, data, 0, CHUNK_SIZE);
+        session.writeChunk(3, data, 3 * CHUNK_SIZE, CHUNK_SIZE);
+
+        // 回收空闲会话后以相同参数重新初始化，从位图续传
+        assertEquals(1, service.evictIdle(Long.MAX_VALUE));
+        assertNull(service.get(USER, 11L));
+        assertEquals(UploadStatus.REJECTED, service.query(USER, 11L, 0).getState());
+
+        status = service.init(USER, init);
+        assertEquals(2, status.getReceivedChunks());
+        assertTrue(status.isReceived(3));
+
+        session = service.get(USER, 11L);
+        session.writeChunk(1, data, CHUNK_SIZE, CHUNK_SIZE);
+        session.writeChunk(2, data, 2 * CHUNK_SIZE, CHUNK_SIZE);
+        assertEquals(UploadSession.WriteResult.COMPLETE, session.writeChunk(4, data, 4 * CHUNK_SIZE, 100));
+
+        UploadStatus finished = service.finish(session).get();
+        assertEquals(UploadStatus.COMPLETED, finished.getState());
+        assertArrayEquals(data, Files.readAllBytes(directory.resolve("report.dat")));
+        // 到达最终状态后会话立即移除
+        assertNull(service.get(USER, 11L));
+        assertEquals(0, service.size());
+    }
+
+    @Test
+    void testRejectsInvalidRequests() {
+        assertEquals(UploadStatus.REJECTED,
+            service.init(USER, new UploadInit(1L, 1000, CHUNK_SIZE - 1, 0, "a")).getState());
+        assertEquals(UploadStatus.REJECTED,
+            service.init(USER, new UploadInit(2L, Long.MAX_VALUE, CHUNK_SIZE, 0, "a")).getState());
+
+        UploadInit init = new UploadInit(3L, 1000, CHUNK_SIZE, 0, "a");
+        assertEquals(UploadStatus.RECEIVING, service.init(USER, init).getState());
+        // 同一上传ID参数不一致
+        assertEquals(UploadStatus.REJECTED,
+            service.init(USER, new UploadInit(3L, 2000, CHUNK_SIZE, 0, "a")).getState());
+        // 上传ID属于其他用户
+        assertEquals(UploadStatus.REJECTED, service.init(USER + 1, init).getState());
+        assertNull(service.get(USER + 1, 3L));
+        assertEquals(UploadStatus.REJECTED, service.query(USER + 1, 3L, 0).getState());
+
+        assertEquals(UploadStatus.RECEIVING,
+            service.init(USER, new UploadInit(4L, 1000, CHUNK_SIZE, 0, "b")).getState());
+        // 会话数量超限
+        assertEquals(UploadStatus.REJECTED,
+            service.init(USER, new UploadInit(5L, 1000, CHUNK_SIZE, 0, "c")).getState());
+    }
+}
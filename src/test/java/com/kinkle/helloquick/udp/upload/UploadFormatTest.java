@@ -0,0 +1,114 @@
+package com.kinkle.helloquick.udp.upload;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 文件上传报文格式测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class UploadFormatTest {
+
+    @Test
+    void testInitRoundTrip() {
+        UploadInit init = new UploadInit(0x1122334455667788L, 5_000_000_000L, 1400, 0xCAFEBABEL, "视频.mp4");
+        byte[] body = init.encode();
+
+        assertEquals(FileUploadFormat.OP_INIT, FileUploadFormat.op(body));
+        assertEquals(0x1122334455667788L, FileUploadFormat.uploadId(body));
+
+        UploadInit decoded = UploadInit.decode(body);
+        assertEquals(init.getFileSize(), decoded.getFileSize());
+        assertEquals(1400, decoded.getChunkSize());
+        assertEquals(0xCAFEBABEL, decoded.getCrc32());
+        assertEquals("视频.mp4", decoded.getFileName());
+        assertEquals(3_571_429L, decoded.getTotalChunks());
+    }
+
+    @Test
+    void testInitValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new UploadInit(1, 0, 1400, 0, "a"));
+        assertThrows(IllegalArgumentException.class, () -> new UploadInit(1, 10, 0, 0, "a"));
+        assertThrows(IllegalArgumentException.class, () -> new UploadInit(1, 10, 10, 0, ""));
+        assertThrows(IllegalArgumentException.class, () -> new UploadInit(1, 10, 10, 0, "a".repeat(256)));
+
+        byte[] body = new UploadInit(1, 10, 10, 0, "abc").encode();
+        byte[] truncated = Arrays.copyOf(body, body.length - 1);
+        assertThrows(IllegalArgumentException.class, () -> UploadInit.decode(truncated));
+        body[0] = FileUploadFormat.OP_QUERY;
+        assertThrows(IllegalArgumentException.class, () -> UploadInit.decode(body));
+    }
+
+    @Test
+    void testChunkAndQuery() {
+        byte[] data = {9, 8, 7, 6, 5};
+        byte[] chunk = FileUploadFormat.encodeChunk(42L, 17, data, 1, 3);
+
+        assertEquals(FileUploadFormat.OP_CHUNK, FileUploadFormat.op(chunk));
+        assertEquals(42L, FileUploadFormat.uploadId(chunk));
+        assertEquals(17, FileUploadFormat.chunkIndex(chunk));
+        assertEquals(FileUploadFormat.CHUNK_HEADER_LENGTH + 3, chunk.length);
+        assertEquals(8, chunk[FileUploadFormat.CHUNK_HEADER_LENGTH]);
+
+        byte[] query = FileUploadFormat.encodeQuery(42L, 64);
+        assertEquals(FileUploadFormat.OP_QUERY, FileUploadFormat.op(query));
+        assertEquals(64, FileUploadFormat.chunkIndex(query));
+
+        assertThrows(IllegalArgumentException.class, () -> FileUploadFormat.op(new byte[3]));
+        assertThrows(IllegalArgumentException.class, () -> FileUploadFormat.chunkIndex(new byte[10]));
+    }
+
+    @Test
+    void testUploadRequestDecode() {
+        byte[] data = {9, 8, 7, 6, 5};
+        byte[] body = FileUploadFormat.encodeChunk(42L, 17, data, 1, 3);
+        UploadRequest chunk = UploadRequest.decode(body);
+        assertEquals(FileUploadFormat.OP_CHUNK, chunk.getOp());
+        assertEquals(42L, chunk.getUploadId());
+        assertEquals(17, chunk.getChunkIndex());
+        assertSame(body, chunk.getData());
+        assertEquals(3, chunk.getDataLength());
+        assertEquals(8, chunk.getData()[chunk.getDataOffset()]);
+
+        UploadRequest init = UploadRequest.decode(new UploadInit(5L, 100, 10, 0, "a.bin").encode());
+        assertEquals(5L, init.getUploadId());
+        assertEquals("a.bin", init.getInit().getFileName());
+        assertEquals(0, init.getDataLength());
+
+        UploadRequest query = UploadRequest.decode(FileUploadFormat.encodeQuery(42L, 64));
+        assertEquals(64, query.getChunkIndex());
+        assertNull(query.getInit());
+
+        byte[] status = new byte[FileUploadFormat.CHUNK_HEADER_LENGTH];
+        status[0] = FileUploadFormat.OP_STATUS;
+        assertThrows(IllegalArgumentException.class, () -> UploadRequest.decode(status));
+    }
+
+    @Test
+    void testStatusRoundTrip() {
+        UploadStatus status = new UploadStatus(7L, UploadStatus.RECEIVING, 100, 3, 0xFFFFFFFFL, 16,
+            new byte[] {0b0000_0101, 0, (byte) 0x80});
+        UploadStatus decoded = UploadStatus.decode(status.encode());
+
+        assertEquals(7L, decoded.getUploadId());
+        assertEquals(100, decoded.getTotalChunks());
+        assertEquals(3, decoded.getReceivedChunks());
+        assertEquals(0xFFFFFFFFL, decoded.getCrc32());
+        assertTrue(decoded.isReceived(16));
+        assertFalse(decoded.isReceived(17));
+        assertTrue(decoded.isReceived(18));
+        assertTrue(decoded.isReceived(39));
+        assertFalse(decoded.isReceived(15));
+        assertFalse(decoded.isReceived(40));
+
+        UploadStatus rejected = UploadStatus.decode(UploadStatus.rejected(9L).encode());
+        assertEquals(UploadStatus.REJECTED, rejected.getState());
+        assertEquals(0, rejected.getBitmap().length);
+    }
+}
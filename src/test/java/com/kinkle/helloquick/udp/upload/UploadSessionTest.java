@@ -0,0 +1,221 @@
+package com.kinkle.helloquick.udp.upload;
+
+import com.kinkle.helloquick.udp.util.Crc32Util;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 文件上传会话测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class UploadSessionTest {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final long OWNER = 42L;
+
+    @TempDir
+    Path directory;
+
+    private static byte[] randomFile(int size) {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+
+    private static UploadInit init(long uploadId, byte[] data, String fileName) {
+        return new UploadInit(uploadId, data.length, CHUNK_SIZE, Crc32Util.calculate(data), fileName);
+    }
+
+    private static UploadSession.WriteResult write(UploadSession session, byte[] data, int chunkIndex) {
+        int offset = chunkIndex * CHUNK_SIZE;
+        return session.writeChunk(chunkIndex, data, offset, Math.min(CHUNK_SIZE, data.length - offset));
+    }
+
+    @Test
+    void testOutOfOrderChunksAssembleFile() throws IOException {
+        byte[] data = randomFile(CHUNK_SIZE * 9 + 123);
+        UploadSession session = UploadSession.open(directory, OWNER, init(1L, data, "a.bin"));
+        assertEquals(10, session.getTotalChunks());
+
+        for (int i = 9; i >= 1; i--) {
+            assertEquals(UploadSession.WriteResult.ACCEPTED, write(session, data, i));
+        }
+        assertEquals(UploadSession.WriteResult.DUPLICATE, write(session, data, 5));
+        assertEquals(UploadSession.WriteResult.COMPLETE, write(session, data, 0));
+
+        UploadStatus status = session.finish();
+        assertEquals(UploadStatus.COMPLETED, status.getState());
+        assertEquals(Crc32Util.calculate(data), status.getCrc32());
+        assertArrayEquals(data, Files.readAllBytes(directory.resolve("a.bin")));
+        assertFalse(Files.exists(directory.resolve(String.format("%016x", 1L) + ".meta")));
+
+        // 完成后的重传分块视为重复
+        assertEquals(UploadSession.WriteResult.DUPLICATE, write(session, data, 3));
+    }
+
+    @Test
+    void testInvalidChunks() throws IOException {
+        byte[] data = randomFile(CHUNK_SIZE * 2 + 10);
+        UploadSession session = UploadSession.open(directory, OWNER, init(2L, data, "b.bin"));
+        try {
+            assertEquals(UploadSession.WriteResult.INVALID, session.writeChunk(-1, data, 0, CHUNK_SIZE));
+            assertEquals(UploadSession.WriteResult.INVALID, session.writeChunk(3, data, 0, CHUNK_SIZE));
+            assertEquals(UploadSession.WriteResult.INVALID, session.writeChunk(0, data, 0, CHUNK_SIZE - 1));
+            // 最后一块必须是剩余长度
+            assertEquals(UploadSession.WriteResult.INVALID, session.writeChunk(2, data, 0, CHUNK_SIZE));
+            assertEquals(UploadSession.WriteResult.ACCEPTED, session.writeChunk(2, data, 2 * CHUNK_SIZE, 10));
+            assertThrows(IllegalStateException.class, session::finish);
+        } finally {
+            session.close();
+        }
+    }
+
+    @Test
+    void testStatusBitmap() throws IOException {
+        byte[] data = randomFile(CHUNK_SIZE * 20);
+        UploadSession session = UploadSession.open(directory, OWNER, init(3L, data, "c.bin"));
+        try {
+            write(session, data, 0);
+            write(session, data, 9);
+            write(session, data, 17);
+
+            UploadStatus status = session.status(0, 1024);
+            assertEquals(UploadStatus.RECEIVING, status.getState());
+            assertEquals(20, status.getTotalChunks());
+            assertEquals(3, status.getReceivedChunks());
+            assertEquals(3, status.getBitmap().length);
+            assertTrue(status.isReceived(0));
+            assertFalse(status.isReceived(1));
+            assertTrue(status.isReceived(9));
+            assertTrue(status.isReceived(17));
+
+            // 起始序号向下对齐到8，位图长度受上限约束
+            UploadStatus partial = session.status(10, 1);
+            assertEquals(8, partial.getFromChunk());
+            assertEquals(1, partial.getBitmap().length);
+            assertTrue(partial.isReceived(9));
+            assertFalse(partial.isReceived(17));
+        } finally {
+            session.close();
+        }
+    }
+
+    @Test
+    void testResumeAfterClose() throws IOException {
+        byte[] data = randomFile(CHUNK_SIZE * 5 + 1);
+        UploadInit init = init(4L, data, "d.bin");
+        UploadSession first = UploadSession.open(directory, OWNER, init);
+        write(first, data, 0);
+        write(first, data, 2);
+        first.close();
+
+        UploadSession resumed = UploadSession.open(directory, OWNER, init);
+        assertEquals(2, resumed.getReceivedChunks());
+        assertEquals(UploadSession.WriteResult.DUPLICATE, write(resumed, data, 2));
+        for (int i : new int[] {1, 3, 4}) {
+            assertEquals(UploadSession.WriteResult.ACCEPTED, write(resumed, data, i));
+        }
+        assertEquals(UploadSession.WriteResult.COMPLETE, write(resumed, data, 5));
+        assertEquals(UploadStatus.COMPLETED, resumed.finish().getState());
+        assertArrayEquals(data, Files.readAllBytes(directory.resolve("d.bin")));
+    }
+
+    @Test
+    void testOtherOwnerRestartsUpload() throws IOException {
+        byte[] data = randomFile(CHUNK_SIZE * 2);
+        UploadInit init = init(9L, data, "h.bin");
+        UploadSession first = UploadSession.open(directory, OWNER, init);
+        write(first, data, 0);
+        first.close();
+        assertFalse(first.matches(OWNER + 1, init));
+
+        UploadSession other = UploadSession.open(directory, OWNER + 1, init);
+        try {
+            assertEquals(0, other.getReceivedChunks());
+            assertEquals(OWNER + 1, other.getOwnerId());
+        } finally {
+            other.close();
+        }
+    }
+
+    @Test
+    void testExistingTargetNotReplaced() throws IOException {
+        byte[] data = randomFile(CHUNK_SIZE);
+        Files.write(directory.resolve("i.bin"), new byte[] {1});
+        assertThrows(FileAlreadyExistsException.class,
+            () -> UploadSession.open(directory, OWNER, init(10L, data, "i.bin")));
+
+        UploadSession session = UploadSession.open(directory, OWNER, init(11L, data, "j.bin"));
+        write(session, data, 0);
+        // 打开会话之后同名文件才出现
+        Files.write(directory.resolve("j.bin"), new byte[] {2});
+        assertEquals(UploadStatus.REJECTED, session.finish().getState());
+        assertArrayEquals(new byte[] {2}, Files.readAllBytes(directory.resolve("j.bin")));
+        assertFalse(Files.exists(directory.resolve(String.format("%016x", 11L) + ".part")));
+        assertFalse(Files.exists(directory.resolve(String.format("%016x", 11L) + ".meta")));
+    }
+
+    @Test
+    void testChangedParametersRestartUpload() throws IOException {
+        byte[] data = randomFile(CHUNK_SIZE * 3);
+        UploadSession first = UploadSession.open(directory, OWNER, init(5L, data, "e.bin"));
+        write(first, data, 0);
+        first.close();
+
+        byte[] other = randomFile(CHUNK_SIZE * 3 + 1);
+        UploadSession restarted = UploadSession.open(directory, OWNER, init(5L, other, "e.bin"));
+        try {
+            assertEquals(0, restarted.getReceivedChunks());
+        } finally {
+            restarted.close();
+        }
+    }
+
+    @Test
+    void testCrcMismatchDeletesFiles() throws IOException {
+        byte[] data = randomFile(CHUNK_SIZE * 2);
+        UploadSession session = UploadSession.open(directory, OWNER,
+            new UploadInit(6L, data.length, CHUNK_SIZE, Crc32Util.calculate(data) ^ 1, "f.bin"));
+        write(session, data, 0);
+        write(session, data, 1);
+
+        UploadStatus status = session.finish();
+        assertEquals(UploadStatus.CRC_MISMATCH, status.getState());
+        assertEquals(Crc32Util.calculate(data), status.getCrc32());
+        assertFalse(Files.exists(directory.resolve("f.bin")));
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void testFailedOpenDeletesCreatedFiles() throws IOException {
+        byte[] data = randomFile(CHUNK_SIZE);
+        // 元数据路径被目录占用，临时文件已创建后打开元数据失败
+        Files.createDirectory(directory.resolve(String.format("%016x", 8L) + ".meta"));
+        assertThrows(IOException.class, () -> UploadSession.open(directory, OWNER, init(8L, data, "g.bin")));
+        assertFalse(Files.exists(directory.resolve(String.format("%016x", 8L) + ".part")));
+    }
+
+    @Test
+    void testRejectsPathTraversal() {
+        byte[] data = randomFile(CHUNK_SIZE);
+        assertThrows(IllegalArgumentException.class,
+            () -> UploadSession.open(directory, OWNER, init(7L, data, "../x.bin")));
+        assertThrows(IllegalArgumentException.class,
+            () -> UploadSession.open(directory, OWNER, init(7L, data, "a/b.bin")));
+        assertThrows(IllegalArgumentException.class, () -> UploadSession.open(directory, OWNER, init(7L, data, "..")));
+    }
+}
@@ -0,0 +1,155 @@
+package com.kinkle.helloquick.udp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 分块写缓冲区测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class BufferWriterTest {
+
+    private static byte[] sequence(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+
+    @Test
+    void testPrimitivesAreBigEndian() {
+        try (BufferWriter writer = new BufferWriter(new BufferWriter.Pool(64, 4, false))) {
+            writer.putByte(0x01).putShort(0x0203).putInt(0x04050607).putLong(0x08090A0B0C0D0E0FL);
+
+            assertEquals(15, writer.size());
+            assertArrayEquals(sequence(16), prepend(writer.toByteArray()));
+        }
+    }
+
+    private static byte[] prepend(byte[] bytes) {
+        byte[] result = new byte[bytes.length + 1];
+        System.arraycopy(bytes, 0, result, 1, bytes.length);
+        return result;
+    }
+
+    @Test
+    void testGrowsAcrossChunksWithoutSplittingFields() {
+        BufferWriter.Pool pool = new BufferWriter.Pool(16, 8, false);
+        try (BufferWriter writer = new BufferWriter(pool)) {
+            writer.putBytes(new byte[13]);
+            writer.putLong(-1L);
+
+            assertEquals(21, writer.size());
+            ByteBuffer[] buffers = writer.toBuffers();
+            assertEquals(2, buffers.length);
+            assertEquals(13, buffers[0].remaining());
+            assertEquals(-1L, buffers[1].getLong());
+        }
+    }
+
+    @Test
+    void testLargeArraySpansChunks() {
+        byte[] body = sequence(1000);
+        try (BufferWriter writer = new BufferWriter(new BufferWriter.Pool(64, 32, true))) {
+            writer.putInt(7).putBytes(body);
+
+            assertEquals(1004, writer.size());
+            byte[] bytes = writer.toByteArray();
+            assertEquals(7, ByteBuffer.wrap(bytes).getInt());
+            assertArrayEquals(body, java.util.Arrays.copyOfRange(bytes, 4, bytes.length));
+        }
+    }
+
+    @Test
+    void testReserveAndBackfillLengthAndCrc() {
+        byte[] body = sequence(300);
+        try (BufferWriter writer = new BufferWriter(new BufferWriter.Pool(32, 32, false))) {
+            int lengthField = writer.reserve(Integer.BYTES);
+            writer.putBytes(body);
+            writer.setInt(lengthField, writer.size() - Integer.BYTES);
+            long crc = writer.crc32(0, writer.size());
+            writer.putInt((int) crc);
+
+            byte[] bytes = writer.toByteArray();
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            assertEquals(300, buffer.getInt());
+            CRC32 expected = new CRC32();
+            expected.update(bytes, 0, bytes.length - 4);
+            assertEquals((int) expected.getValue(), buffer.getInt(bytes.length - 4));
+        }
+    }
+
+    @Test
+    void testCrcOverSubRange() {
+        byte[] data = sequence(100);
+        try (BufferWriter writer = new BufferWriter(new BufferWriter.Pool(16, 16, false))) {
+            writer.putBytes(data);
+
+            CRC32 expected = new CRC32();
+            expected.update(data, 10, 50);
+            assertEquals(expected.getValue(), writer.crc32(10, 50));
+            assertThrows(IndexOutOfBoundsException.class, () -> writer.crc32(90, 20));
+        }
+    }
+
+    @Test
+    void testWritableLargerThanChunk() {
+        try (BufferWriter writer = new BufferWriter(new BufferWriter.Pool(16, 4, false))) {
+            ByteBuffer chunk = writer.writable(40);
+            chunk.put(new byte[40]);
+
+            assertEquals(40, writer.size());
+        }
+    }
+
+    @Test
+    void testChunksReturnToPool() {
+        BufferWriter.Pool pool = new BufferWriter.Pool(16, 4, true);
+        BufferWriter writer = new BufferWriter(pool);
+        writer.putBytes(new byte[40]);
+        writer.close();
+
+        assertEquals(3, pool.getPooledCount());
+        assertThrows(IllegalStateException.class, () -> writer.putByte(1));
+
+        try (BufferWriter reused = new BufferWriter(pool)) {
+            reused.putInt(1);
+            assertEquals(2, pool.getPooledCount());
+        }
+    }
+
+    @Test
+    void testGatheringWrite() throws Exception {
+        byte[] body = sequence(200);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BufferWriter writer = new BufferWriter(new BufferWriter.Pool(64, 8, false));
+             WritableByteChannel sink = Channels.newChannel(out)) {
+            writer.putBytes(body);
+            for (ByteBuffer buffer : writer.toBuffers()) {
+                sink.write(buffer);
+            }
+        }
+
+        assertArrayEquals(body, out.toByteArray());
+    }
+
+    @Test
+    void testSetRejectsUnwrittenOffset() {
+        try (BufferWriter writer = new BufferWriter(new BufferWriter.Pool(16, 4, false))) {
+            writer.putShort(1);
+
+            assertThrows(IndexOutOfBoundsException.class, () -> writer.setInt(0, 1));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.kinkle.helloquick.udp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CRC32拼接工具类测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class Crc32CombinerTest {
+
+    @Test
+    void testStaticCombineMatchesFullCalculation() {
+        byte[] data = new byte[3000];
+        new Random(1).nextBytes(data);
+
+        for (int split : new int[] {1, 7, 1024, 2999}) {
+            long crc1 = Crc32Util.calculate(data, 0, split);
+            long crc2 = Crc32Util.calculate(data, split, data.length - split);
+            assertEquals(Crc32Util.calculate(data), Crc32Combiner.combine(crc1, crc2, data.length - split));
+        }
+    }
+
+    @Test
+    void testFixedLengthCombinerChainsChunks() {
+        int chunkSize = 1000;
+        byte[] data = new byte[chunkSize * 8];
+        new Random(2).nextBytes(data);
+        Crc32Combiner combiner = new Crc32Combiner(chunkSize);
+
+        long crc = Crc32Util.calculate(data, 0, chunkSize);
+        for (int offset = chunkSize; offset < data.length; offset += chunkSize) {
+            crc = combiner.combine(crc, Crc32Util.calculate(data, offset, chunkSize));
+        }
+        assertEquals(Crc32Util.calculate(data), crc);
+        assertEquals(chunkSize, combiner.getLength());
+    }
+
+    @Test
+    void testZeroLength() {
+        assertEquals(0x12345678L, Crc32Combiner.combine(0x12345678L, 0, 0));
+        assertEquals(0x12345678L, new Crc32Combiner(0).combine(0x12345678L, 0));
+        assertThrows(IllegalArgumentException.class, () -> new Crc32Combiner(-1));
+    }
+}
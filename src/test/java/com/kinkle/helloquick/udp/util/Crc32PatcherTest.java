@@ -0,0 +1,75 @@
+package com.kinkle.helloquick.udp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CRC32增量修正工具类测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class Crc32PatcherTest {
+
+    @Test
+    void testPatchLongMatchesFullCalculation() {
+        byte[] data = new byte[40];
+        new Random(42).nextBytes(data);
+        Crc32Patcher patcher = new Crc32Patcher(data.length, 10, 30);
+
+        long oldValue = ByteBuffer.wrap(data).getLong(12);
+        long crc32 = Crc32Util.calculate(data);
+        long newValue = 0x0123456789ABCDEFL;
+        ByteBuffer.wrap(data).putLong(12, newValue);
+
+        assertEquals(Crc32Util.calculate(data), patcher.patchLong(crc32, 12, oldValue, newValue));
+    }
+
+    @Test
+    void testPatchIntMatchesFullCalculation() {
+        byte[] data = new byte[29];
+        new Random(7).nextBytes(data);
+        Crc32Patcher patcher = new Crc32Patcher(data.length, 21, 25);
+
+        int oldValue = ByteBuffer.wrap(data).getInt(21);
+        long crc32 = Crc32Util.calculate(data);
+        ByteBuffer.wrap(data).putInt(21, -1);
+
+        assertEquals(Crc32Util.calculate(data), patcher.patchInt(crc32, 21, oldValue, -1));
+    }
+
+    @Test
+    void testPatchByteMatchesFullCalculation() {
+        byte[] data = "Hello, World!".getBytes();
+        Crc32Patcher patcher = new Crc32Patcher(data.length, 0, data.length);
+
+        for (int offset = 0; offset < data.length; offset++) {
+            long crc32 = Crc32Util.calculate(data);
+            byte oldValue = data[offset];
+            data[offset] = (byte) (oldValue + 31);
+            assertEquals(Crc32Util.calculate(data), patcher.patchByte(crc32, offset, oldValue, data[offset]));
+        }
+    }
+
+    @Test
+    void testPatchSameValueKeepsCrc() {
+        Crc32Patcher patcher = new Crc32Patcher(16, 0, 8);
+        assertEquals(0x12345678L, patcher.patchLong(0x12345678L, 0, 99L, 99L));
+    }
+
+    @Test
+    void testInvalidRange() {
+        assertThrows(IllegalArgumentException.class, () -> new Crc32Patcher(0, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new Crc32Patcher(10, 5, 5));
+        assertThrows(IllegalArgumentException.class, () -> new Crc32Patcher(10, 5, 11));
+
+        Crc32Patcher patcher = new Crc32Patcher(10, 2, 6);
+        assertThrows(IllegalArgumentException.class, () -> patcher.patchInt(0, 3, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> patcher.patchByte(0, 1, (byte) 0, (byte) 1));
+    }
+}
@@ -0,0 +1,66 @@
+package com.kinkle.helloquick.udp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 十六进制转储测试类
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class HexDumpTest {
+
+    @Test
+    void testToHexCoversAllByteValues() {
+        byte[] data = new byte[256];
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+            expected.append(String.format("%02X", i));
+        }
+
+        assertEquals(expected.toString(), HexDump.toHex(data, 0, data.length));
+    }
+
+    @Test
+    void testToHexKeepsPosition() {
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[]{0x01, 0x02, (byte) 0xFE});
+        buffer.position(1);
+
+        assertEquals("02FE", HexDump.toHex(buffer));
+        assertEquals(1, buffer.position());
+        assertEquals("", HexDump.toHex(null));
+    }
+
+    @Test
+    void testDumpRows() {
+        byte[] data = "HQ-0123456789abcdefXYZ".getBytes(StandardCharsets.US_ASCII);
+        data[2] = 0x00;
+
+        String dump = HexDump.dump(ByteBuffer.wrap(data), 64);
+
+        String[] rows = dump.split("\n");
+        assertEquals(2, rows.length);
+        assertEquals("0000: 48 51 00 30 31 32 33 34 35 36 37 38 39 61 62 63 |HQ.0123456789abc|", rows[0]);
+        assertEquals("0010: 64 65 66 58 59 5A                               |defXYZ          |", rows[1]);
+        assertTrue(dump.endsWith("\n"));
+    }
+
+    @Test
+    void testDumpTruncatesToMaxBytes() {
+        byte[] data = new byte[100];
+
+        String dump = HexDump.dump(ByteBuffer.wrap(data), 20);
+
+        assertEquals(2, dump.split("\n").length);
+        assertTrue(dump.contains("0010: 00 00 00 00    "));
+        assertEquals("", HexDump.dump(ByteBuffer.wrap(data), 0));
+        assertEquals("", HexDump.dump(ByteBuffer.allocate(0), 16));
+    }
+}
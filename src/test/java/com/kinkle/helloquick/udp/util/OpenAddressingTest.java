@@ -0,0 +1,114 @@
+package com.kinkle.helloquick.udp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 开放寻址公共算法测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class OpenAddressingTest {
+
+    @Test
+    void testPowerOfTwo() {
+        assertEquals(1, OpenAddressing.powerOfTwo(0));
+        assertEquals(1, OpenAddressing.powerOfTwo(1));
+        assertEquals(4, OpenAddressing.powerOfTwo(3));
+        assertEquals(64, OpenAddressing.powerOfTwo(64));
+        assertEquals(128, OpenAddressing.powerOfTwo(65));
+    }
+
+    @Test
+    void testSegmentIndexUsesHighBits() {
+        assertEquals(0, OpenAddressing.segmentIndex(-1L, OpenAddressing.segmentShift(1)));
+        assertEquals(15, OpenAddressing.segmentIndex(-1L, OpenAddressing.segmentShift(16)));
+        assertEquals(1, OpenAddressing.segmentIndex(1L << 62, OpenAddressing.segmentShift(4)));
+    }
+
+    @Test
+    void testDeleteKeepsProbeChainsIntact() {
+        // 8个槽位，哈希值即为home下标：2、2、3、7、7（环绕到0）
+        LongTable table = new LongTable(8);
+        long[] keys = {2, 10, 3, 7, 15};
+        for (long key : keys) {
+            table.insert(key);
+        }
+        assertArrayEquals(new long[] {15, 0, 2, 10, 3, 0, 0, 7}, table.keys);
+
+        OpenAddressing.delete(table, 2, table.mask);
+        assertArrayEquals(new long[] {15, 0, 10, 3, 0, 0, 0, 7}, table.keys);
+
+        OpenAddressing.delete(table, 7, table.mask);
+        assertArrayEquals(new long[] {0, 0, 10, 3, 0, 0, 0, 15}, table.keys);
+        for (long key : new long[] {10, 3, 15}) {
+            assertTrue(table.contains(key));
+        }
+    }
+
+    @Test
+    void testMixSpreadsSequentialKeys() {
+        int[] buckets = new int[16];
+        for (long key = 1; key <= 16_000; key++) {
+            buckets[(int) OpenAddressing.mix(key * OpenAddressing.GOLDEN_GAMMA) & 15]++;
+        }
+        assertTrue(Arrays.stream(buckets).allMatch(count -> count > 800 && count < 1200));
+    }
+
+    /**
+     * 以键值对8取模为home的最小实现
+     */
+    private static final class LongTable implements OpenAddressing.Table {
+
+        private final long[] keys;
+
+        private final int mask;
+
+        private LongTable(int slots) {
+            this.keys = new long[slots];
+            this.mask = slots - 1;
+        }
+
+        private void insert(long key) {
+            int index = (int) key & mask;
+            while (keys[index] != 0) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+        }
+
+        private boolean contains(long key) {
+            for (int index = (int) key & mask; keys[index] != 0; index = (index + 1) & mask) {
+                if (keys[index] == key) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean isUsed(int index) {
+            return keys[index] != 0;
+        }
+
+        @Override
+        public long hashAt(int index) {
+            return keys[index];
+        }
+
+        @Override
+        public void move(int from, int to) {
+            keys[to] = keys[from];
+        }
+
+        @Override
+        public void clear(int index) {
+            keys[index] = 0;
+        }
+    }
+}
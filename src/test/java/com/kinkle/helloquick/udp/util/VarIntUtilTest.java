@@ -0,0 +1,81 @@
+package com.kinkle.helloquick.udp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 变长整数工具类测试
+ *
+ * @author kinkle
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class VarIntUtilTest {
+
+    @Test
+    void testRoundTrip() {
+        long[] values = {0, 1, 127, 128, 300, 16383, 16384, 0xFFFF, Integer.MAX_VALUE, 0xFFFFFFFFL,
+            Long.MAX_VALUE, -1L};
+        for (long value : values) {
+            ByteBuffer buffer = ByteBuffer.allocate(VarIntUtil.MAX_LONG_LENGTH);
+            VarIntUtil.writeUnsigned(buffer, value);
+            assertEquals(VarIntUtil.sizeOf(value), buffer.position(), "size of " + value);
+            buffer.flip();
+            assertEquals(value, VarIntUtil.readUnsigned(buffer));
+            assertFalse(buffer.hasRemaining());
+        }
+    }
+
+    @Test
+    void testSizeOf() {
+        assertEquals(1, VarIntUtil.sizeOf(0));
+        assertEquals(1, VarIntUtil.sizeOf(127));
+        assertEquals(2, VarIntUtil.sizeOf(128));
+        assertEquals(3, VarIntUtil.sizeOf(0xFFFF));
+        assertEquals(5, VarIntUtil.sizeOf(0xFFFFFFFFL));
+        assertEquals(10, VarIntUtil.sizeOf(-1L));
+    }
+
+    @Test
+    void testKnownEncoding() {
+        ByteBuffer buffer = ByteBuffer.allocate(2);
+        VarIntUtil.writeUnsigned(buffer, 300);
+        assertArrayEquals(new byte[] {(byte) 0xAC, 0x02}, buffer.array());
+    }
+
+    @Test
+    void testTruncated() {
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[] {(byte) 0x80, (byte) 0x80});
+        assertThrows(IllegalArgumentException.class, () -> VarIntUtil.readUnsigned(buffer));
+    }
+
+    @Test
+    void testTooLong() {
+        byte[] data = new byte[11];
+        Arrays.fill(data, (byte) 0x80);
+        assertThrows(IllegalArgumentException.class, () -> VarIntUtil.readUnsigned(ByteBuffer.wrap(data)));
+    }
+
+    @Test
+    void testReadUnsignedIntRange() {
+        ByteBuffer buffer = ByteBuffer.allocate(3);
+        VarIntUtil.writeUnsigned(buffer, 0x10000);
+        buffer.flip();
+        assertThrows(IllegalArgumentException.class, () -> VarIntUtil.readUnsignedInt(buffer, 0xFFFF));
+    }
+
+    @Test
+    void testZigZag() {
+        assertEquals(0, VarIntUtil.zigZagEncode(0));
+        assertEquals(1, VarIntUtil.zigZagEncode(-1));
+        assertEquals(2, VarIntUtil.zigZagEncode(1));
+        assertEquals(3, VarIntUtil.zigZagEncode(-2));
+        for (long value : new long[] {0, 1, -1, 12345, -12345, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            assertEquals(value, VarIntUtil.zigZagDecode(VarIntUtil.zigZagEncode(value)));
+        }
+    }
+}
@@ -2,7 +2,10 @@ package com.kinkle.helloquick.user.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kinkle.helloquick.common.exception.BusinessException;
+import com.kinkle.helloquick.common.exception.GlobalExceptionHandler;
 import com.kinkle.helloquick.common.result.PageResult;
+import com.kinkle.helloquick.udp.presence.PresenceService;
+import com.kinkle.helloquick.udp.presence.UserPresence;
 import com.kinkle.helloquick.user.dto.UserDTO;
 import com.kinkle.helloquick.user.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,10 +13,12 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -43,6 +48,9 @@ class UserControllerTest {
     @MockitoBean
     private UserService userService;
 
+    @MockitoBean
+    private PresenceService presenceService;
+
     private UserDTO testUserDTO;
     private UserDTO.CreateRequest createRequest;
     private UserDTO.UpdateRequest updateRequest;
@@ -465,6 +473,81 @@ class UserControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("在线状态测试")
+    class PresenceTests {
+
+        @Test
+        @DisplayName("获取在线用户状态应该返回最近心跳时间")
+        void shouldReturnPresenceOfOnlineUser() throws Exception {
+            when(presenceService.getPresence(1L)).thenReturn(new UserPresence(1L, true, 1700000000000L));
+
+            mockMvc.perform(get("/api/v1/users/1/presence"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.success").value(true))
+                    .andExpect(jsonPath("$.message").value("用户在线状态获取成功"))
+                    .andExpect(jsonPath("$.data.userId").value(1))
+                    .andExpect(jsonPath("$.data.online").value(true))
+                    .andExpect(jsonPath("$.data.lastSeen").value(1700000000000L));
+
+            verify(presenceService).getPresence(1L);
+        }
+
+        @Test
+        @DisplayName("批量获取在线状态应该按请求顺序返回")
+        void shouldReturnPresenceInRequestOrder() throws Exception {
+            when(presenceService.getPresence(new long[]{3L, 1L})).thenReturn(Arrays.asList(
+                    new UserPresence(3L, false, 0L),
+                    new UserPresence(1L, true, 1700000000000L)));
+
+            mockMvc.perform(post("/api/v1/users/presence")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[3, 1]"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.length()").value(2))
+                    .andExpect(jsonPath("$.data[0].userId").value(3))
+                    .andExpect(jsonPath("$.data[0].online").value(false))
+                    .andExpect(jsonPath("$.data[1].userId").value(1))
+                    .andExpect(jsonPath("$.data[1].online").value(true));
+
+            verify(presenceService).getPresence(new long[]{3L, 1L});
+        }
+
+        @Test
+        @DisplayName("批量查询超过上限应该返回400错误")
+        void shouldReturnBadRequestWhenTooManyIds() throws Exception {
+            when(presenceService.getPresence(any(long[].class)))
+                    .thenThrow(new IllegalArgumentException("At most 1000 user ids per query"));
+
+            mockMvc.perform(post("/api/v1/users/presence")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[1, 2]"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("UDP服务未启用时应该返回503错误")
+        void shouldReturnServiceUnavailableWithoutPresenceService() throws Exception {
+            // 没有PresenceService Bean的上下文
+            MockMvc udpDisabled = MockMvcBuilders
+                    .standaloneSetup(new UserController(userService,
+                            new StaticListableBeanFactory().getBeanProvider(PresenceService.class)))
+                    .setControllerAdvice(new GlobalExceptionHandler())
+                    .build();
+
+            udpDisabled.perform(get("/api/v1/users/1/presence"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(jsonPath("$.success").value(false))
+                    .andExpect(jsonPath("$.code").value(503));
+            udpDisabled.perform(post("/api/v1/users/presence")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[1]"))
+                    .andExpect(status().isServiceUnavailable());
+
+            verifyNoInteractions(presenceService);
+        }
+    }
+
     @Nested
     @DisplayName("参数验证测试")
     class ValidationTests {
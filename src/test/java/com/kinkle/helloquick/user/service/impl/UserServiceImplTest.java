@@ -2,6 +2,8 @@ package com.kinkle.helloquick.user.service.impl;
 
 import com.kinkle.helloquick.common.exception.BusinessException;
 import com.kinkle.helloquick.common.result.PageResult;
+import com.kinkle.helloquick.udp.login.UdpLoginService;
+import com.kinkle.helloquick.udp.sync.DataSyncService;
 import com.kinkle.helloquick.user.dto.UserDTO;
 import com.kinkle.helloquick.user.entity.User;
 import com.kinkle.helloquick.user.repository.UserRepository;
@@ -46,6 +48,12 @@ class UserServiceImplTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private DataSyncService dataSyncService;
+
+    @Mock
+    private UdpLoginService udpLoginService;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -275,6 +283,7 @@ class UserServiceImplTest {
             verify(userRepository).findById(1L);
             verify(userRepository).existsByEmail("updated@example.com");
             verify(userRepository).save(any(User.class));
+            verify(dataSyncService).publishUpsert(UserSyncSource.DATASET_ID, 1L, result);
         }
 
         @Test
@@ -321,6 +330,23 @@ class UserServiceImplTest {
             // Then
             verify(userRepository).existsById(1L);
             verify(userRepository).deleteById(1L);
+            verify(dataSyncService).publishDelete(UserSyncSource.DATASET_ID, 1L);
+            verify(udpLoginService).invalidateUser(1L);
+        }
+
+        @Test
+        @DisplayName("未启用UDP时删除用户")
+        void deleteUser_UdpDisabled() {
+            // Given
+            UserServiceImpl withoutUdp = new UserServiceImpl(userRepository, passwordEncoder, null, null);
+            when(userRepository.existsById(1L)).thenReturn(true);
+
+            // When
+            withoutUdp.deleteUser(1L);
+
+            // Then
+            verify(userRepository).deleteById(1L);
+            verifyNoInteractions(dataSyncService, udpLoginService);
         }
 
         @Test
@@ -378,6 +404,7 @@ class UserServiceImplTest {
             // Then
             verify(userRepository).findById(1L);
             verify(userRepository).save(any(User.class));
+            verify(udpLoginService).invalidateUser(1L);
         }
 
         @Test
@@ -415,6 +442,7 @@ class UserServiceImplTest {
             verify(passwordEncoder).matches("oldPassword", "encodedPassword");
             verify(passwordEncoder).encode("newPassword123");
             verify(userRepository).save(any(User.class));
+            verify(udpLoginService).invalidateUser(1L);
         }
 
         @Test